@@ -0,0 +1,135 @@
+package com.beautysalon.common.cassandra;
+
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
+import com.datastax.oss.driver.api.core.config.ProgrammaticDriverConfigLoaderBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DataStax driver metrics bound to Micrometer.
+ * {@link #configure} turns on the session and node metrics we watch, published through the
+ * Micrometer factory with tagged ids ({@code cassandra.session.*} and {@code cassandra.nodes.*},
+ * tagged by session and node); {@link #snapshot} reads them back for the monitoring endpoint.
+ */
+public final class CassandraDriverMetrics {
+
+    static final String PREFIX = "cassandra";
+    static final String CONNECTED_NODES = PREFIX + ".session.connected-nodes";
+    static final String CQL_REQUESTS = PREFIX + ".session.cql-requests";
+    static final String CQL_CLIENT_TIMEOUTS = PREFIX + ".session.cql-client-timeouts";
+    static final String THROTTLING_DELAY = PREFIX + ".session.throttling.delay";
+    static final String THROTTLING_QUEUE_SIZE = PREFIX + ".session.throttling.queue-size";
+    static final String THROTTLING_ERRORS = PREFIX + ".session.throttling.errors";
+    public static final String POOL_OPEN_CONNECTIONS = PREFIX + ".nodes.pool.open-connections";
+    static final String POOL_IN_FLIGHT = PREFIX + ".nodes.pool.in-flight";
+    static final String POOL_AVAILABLE_STREAMS = PREFIX + ".nodes.pool.available-streams";
+    static final String POOL_ORPHANED_STREAMS = PREFIX + ".nodes.pool.orphaned-streams";
+
+    private static final List<String> SESSION_METRICS = List.of(
+            "connected-nodes", "cql-requests", "cql-client-timeouts",
+            "throttling.delay", "throttling.queue-size", "throttling.errors",
+            "bytes-sent", "bytes-received");
+
+    private static final List<String> NODE_METRICS = List.of(
+            "pool.open-connections", "pool.in-flight", "pool.available-streams", "pool.orphaned-streams",
+            "errors.request.unsent", "errors.request.aborted", "errors.request.write-timeouts",
+            "errors.request.read-timeouts", "errors.request.unavailables", "errors.request.others",
+            "errors.connection.init", "errors.connection.auth",
+            "retries.total", "speculative-executions");
+
+    private static final List<String> ERROR_TYPES = List.of(
+            "unsent", "aborted", "write-timeouts", "read-timeouts", "unavailables", "others");
+
+    private static final List<Double> PUBLISHED_PERCENTILES = List.of(0.5, 0.9, 0.99, 0.999);
+
+    private CassandraDriverMetrics() {
+    }
+
+    /**
+     * Enable the driver's Micrometer metrics on a programmatic config loader.
+     * The session still needs {@code withMetricRegistry} so the driver registers into our registry.
+     */
+    public static ProgrammaticDriverConfigLoaderBuilder configure(ProgrammaticDriverConfigLoaderBuilder builder) {
+        return builder
+                .withString(DefaultDriverOption.METRICS_FACTORY_CLASS, "MicrometerMetricsFactory")
+                .withString(DefaultDriverOption.METRICS_ID_GENERATOR_CLASS, "TaggingMetricIdGenerator")
+                .withString(DefaultDriverOption.METRICS_ID_GENERATOR_PREFIX, PREFIX)
+                .withStringList(DefaultDriverOption.METRICS_SESSION_ENABLED, SESSION_METRICS)
+                .withStringList(DefaultDriverOption.METRICS_NODE_ENABLED, NODE_METRICS)
+                .withDoubleList(DefaultDriverOption.METRICS_SESSION_CQL_REQUESTS_PUBLISH_PERCENTILES,
+                        PUBLISHED_PERCENTILES);
+    }
+
+    /**
+     * Current driver figures: pool gauges and error counters are summed over all nodes.
+     */
+    public static Map<String, Object> snapshot(MeterRegistry registry) {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("connectedNodes", (long) sumGauges(registry, CONNECTED_NODES));
+
+        Map<String, Object> pool = new LinkedHashMap<>();
+        pool.put("openConnections", (long) sumGauges(registry, POOL_OPEN_CONNECTIONS));
+        pool.put("inFlight", (long) sumGauges(registry, POOL_IN_FLIGHT));
+        pool.put("availableStreams", (long) sumGauges(registry, POOL_AVAILABLE_STREAMS));
+        pool.put("orphanedStreams", (long) sumGauges(registry, POOL_ORPHANED_STREAMS));
+        metrics.put("pool", pool);
+
+        metrics.put("cqlRequests", timerSummary(registry.find(CQL_REQUESTS).timer()));
+        metrics.put("clientTimeouts", (long) sumCounters(registry, CQL_CLIENT_TIMEOUTS));
+
+        Map<String, Object> throttling = new LinkedHashMap<>();
+        throttling.put("queueSize", (long) sumGauges(registry, THROTTLING_QUEUE_SIZE));
+        throttling.put("errors", (long) sumCounters(registry, THROTTLING_ERRORS));
+        throttling.put("delay", timerSummary(registry.find(THROTTLING_DELAY).timer()));
+        metrics.put("throttling", throttling);
+
+        Map<String, Object> errors = new LinkedHashMap<>();
+        for (String type : ERROR_TYPES) {
+            errors.put(type, (long) sumCounters(registry, PREFIX + ".nodes.errors.request." + type));
+        }
+        errors.put("connectionInit", (long) sumCounters(registry, PREFIX + ".nodes.errors.connection.init"));
+        errors.put("authentication", (long) sumCounters(registry, PREFIX + ".nodes.errors.connection.auth"));
+        metrics.put("errors", errors);
+        return metrics;
+    }
+
+    public static double sumGauges(MeterRegistry registry, String name) {
+        return registry.find(name).gauges().stream().mapToDouble(Gauge::value).filter(Double::isFinite).sum();
+    }
+
+    private static double sumCounters(MeterRegistry registry, String name) {
+        return registry.find(name).counters().stream().mapToDouble(Counter::count).sum();
+    }
+
+    private static Map<String, Object> timerSummary(Timer timer) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        if (timer == null) {
+            summary.put("count", 0L);
+            return summary;
+        }
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        summary.put("count", snapshot.count());
+        summary.put("mean", snapshot.mean(TimeUnit.MILLISECONDS));
+        summary.put("max", snapshot.max(TimeUnit.MILLISECONDS));
+        for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+            summary.put(percentileKey(percentile.percentile()), percentile.value(TimeUnit.MILLISECONDS));
+        }
+        return summary;
+    }
+
+    private static String percentileKey(double percentile) {
+        // 0.5 -> p50, 0.99 -> p99, 0.999 -> p999
+        return "p" + new BigDecimal(Double.toString(percentile)).movePointRight(2)
+                .stripTrailingZeros().toPlainString().replace(".", "");
+    }
+}
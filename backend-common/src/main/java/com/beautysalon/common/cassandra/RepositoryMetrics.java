@@ -0,0 +1,164 @@
+package com.beautysalon.common.cassandra;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.cassandra.repository.Query;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Timers, row counts and the slow-query log for repository calls, fed by
+ * {@link RepositoryMetricsInterceptor}.
+ *
+ * Every call is timed under {@code beauty_salon.repository.time}, tagged by repository, method and
+ * {@link Outcome}, and the rows of a successful call are recorded under
+ * {@code beauty_salon.repository.rows}. Calls over the
+ * threshold are counted and logged with the CQL and the shapes (types and sizes, never values)
+ * of the bound parameters; the log is sampled to one entry per method per interval, each entry
+ * reporting how many slow calls were skipped since the previous one.
+ *
+ * Shared by both backends; only the reactive one produces {@link Outcome#CANCELLED}, for
+ * subscriptions disposed before they completed. Registered by
+ * {@link RepositoryMetricsAutoConfiguration}.
+ */
+public class RepositoryMetrics {
+
+    private static final Logger slowQueryLogger = LoggerFactory.getLogger("com.beautysalon.repository.SlowQueryLog");
+
+    private final MeterRegistry meterRegistry;
+    private final long thresholdNanos;
+    private final long logIntervalMillis;
+    private final Clock clock;
+
+    public RepositoryMetrics(MeterRegistry meterRegistry, long thresholdMillis, long logIntervalMillis) {
+        this(meterRegistry, thresholdMillis, logIntervalMillis, Clock.systemUTC());
+    }
+
+    public RepositoryMetrics(MeterRegistry meterRegistry, long thresholdMillis, long logIntervalMillis, Clock clock) {
+        this.meterRegistry = meterRegistry;
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.logIntervalMillis = logIntervalMillis;
+        this.clock = clock;
+    }
+
+    public enum Outcome { SUCCESS, ERROR, CANCELLED }
+
+    public MethodMetrics forMethod(String repository, Method method) {
+        return new MethodMetrics(repository, method);
+    }
+
+    /**
+     * CQL of a {@code @Query} method; derived, CRUD and custom methods build theirs at runtime.
+     */
+    static String cqlOf(Method method) {
+        Query query = AnnotatedElementUtils.findMergedAnnotation(method, Query.class);
+        return query != null && !query.value().isEmpty() ? query.value() : "(built by " + method.getName() + ")";
+    }
+
+    static String parameterShapes(Object[] args) {
+        if (args == null || args.length == 0) {
+            return "[]";
+        }
+        return Arrays.stream(args).map(RepositoryMetrics::shapeOf).collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    private static String shapeOf(Object arg) {
+        if (arg == null) {
+            return "null";
+        }
+        if (arg instanceof Collection<?> collection) {
+            String kind = arg instanceof List<?> ? "List" : arg instanceof Set<?> ? "Set" : "Collection";
+            return kind + "[" + collection.size() + "]";
+        }
+        if (arg instanceof Map<?, ?> map) {
+            return "Map[" + map.size() + "]";
+        }
+        if (arg.getClass().isArray()) {
+            return arg.getClass().getComponentType().getSimpleName() + "[" + Array.getLength(arg) + "]";
+        }
+        if (arg instanceof CharSequence text) {
+            return "String(" + text.length() + ")";
+        }
+        if (arg instanceof Optional<?> optional) {
+            return optional.map(value -> "Optional<" + shapeOf(value) + ">").orElse("Optional.empty");
+        }
+        return arg.getClass().getSimpleName();
+    }
+
+    public final class MethodMetrics {
+
+        private final String repository;
+        private final String method;
+        private final String cql;
+        private final Map<Outcome, Timer> timers = new EnumMap<>(Outcome.class);
+        private final DistributionSummary rows;
+        private final Counter slowCalls;
+        private final AtomicLong lastLoggedAt = new AtomicLong(Long.MIN_VALUE);
+        private final AtomicLong skipped = new AtomicLong();
+
+        private MethodMetrics(String repository, Method method) {
+            this.repository = repository;
+            this.method = method.getName();
+            this.cql = cqlOf(method);
+            for (Outcome outcome : Outcome.values()) {
+                timers.put(outcome, timer(outcome.name().toLowerCase()));
+            }
+            this.rows = DistributionSummary.builder("beauty_salon.repository.rows")
+                    .description("Rows returned per repository call")
+                    .tags("repository", repository, "method", this.method)
+                    .register(meterRegistry);
+            this.slowCalls = Counter.builder("beauty_salon.repository.slow")
+                    .description("Repository calls over the slow-query threshold")
+                    .tags("repository", repository, "method", this.method)
+                    .register(meterRegistry);
+        }
+
+        private Timer timer(String outcome) {
+            return Timer.builder("beauty_salon.repository.time")
+                    .description("Repository call latency")
+                    .tags("repository", repository, "method", method, "outcome", outcome)
+                    .register(meterRegistry);
+        }
+
+        public void record(Object[] args, long elapsedNanos, long rowCount, Outcome outcome) {
+            timers.get(outcome).record(elapsedNanos, TimeUnit.NANOSECONDS);
+            if (outcome == Outcome.SUCCESS) {
+                rows.record(rowCount);
+            }
+            if (elapsedNanos >= thresholdNanos) {
+                slowCalls.increment();
+                logIfSampled(args, elapsedNanos, rowCount, outcome);
+            }
+        }
+
+        private void logIfSampled(Object[] args, long elapsedNanos, long rowCount, Outcome outcome) {
+            long now = clock.millis();
+            long last = lastLoggedAt.get();
+            boolean due = last == Long.MIN_VALUE || now - last >= logIntervalMillis;
+            if (!due || !lastLoggedAt.compareAndSet(last, now)) {
+                skipped.incrementAndGet();
+                return;
+            }
+            slowQueryLogger.warn("Slow repository call {}.{} took {} ms ({} rows{}, {} slow calls skipped since last entry) cql=[{}] params={}",
+                    repository, method, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), rowCount,
+                    outcome == Outcome.SUCCESS ? "" : ", " + outcome.name().toLowerCase(), skipped.getAndSet(0), cql, parameterShapes(args));
+        }
+    }
+}
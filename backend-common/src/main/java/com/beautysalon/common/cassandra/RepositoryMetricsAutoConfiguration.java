@@ -0,0 +1,31 @@
+package com.beautysalon.common.cassandra;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Registers the repository metrics in both backends; the reactive backend declares its own
+ * {@link RepositoryMetricsPostProcessor} to time publishers rather than calls.
+ */
+@AutoConfiguration
+public class RepositoryMetricsAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public RepositoryMetrics repositoryMetrics(
+            MeterRegistry meterRegistry,
+            @Value("${repository.slow-query.threshold-ms:200}") long thresholdMillis,
+            @Value("${repository.slow-query.log-interval-ms:10000}") long logIntervalMillis) {
+        return new RepositoryMetrics(meterRegistry, thresholdMillis, logIntervalMillis);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(RepositoryMetricsPostProcessor.class)
+    public static RepositoryMetricsPostProcessor repositoryMetricsPostProcessor(ObjectProvider<RepositoryMetrics> metrics) {
+        return new RepositoryMetricsPostProcessor(metrics);
+    }
+}
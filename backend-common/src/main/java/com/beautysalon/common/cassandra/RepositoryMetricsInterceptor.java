@@ -0,0 +1,77 @@
+package com.beautysalon.common.cassandra;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.data.domain.Slice;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times each call on one repository and counts the rows it returned.
+ *
+ * Subclasses override {@link #record} for return types whose work happens after the call
+ * returns, such as the reactive backend's publishers.
+ */
+public class RepositoryMetricsInterceptor implements MethodInterceptor {
+
+    private final String repository;
+    private final RepositoryMetrics metrics;
+    private final Map<Method, RepositoryMetrics.MethodMetrics> methods = new ConcurrentHashMap<>();
+
+    public RepositoryMetricsInterceptor(String repository, RepositoryMetrics metrics) {
+        this.repository = repository;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        if (method.getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+        RepositoryMetrics.MethodMetrics methodMetrics =
+                methods.computeIfAbsent(method, m -> metrics.forMethod(repository, m));
+        long start = System.nanoTime();
+        try {
+            return record(invocation.proceed(), methodMetrics, invocation.getArguments(), start);
+        } catch (Throwable e) {
+            methodMetrics.record(invocation.getArguments(), System.nanoTime() - start, 0, RepositoryMetrics.Outcome.ERROR);
+            throw e;
+        }
+    }
+
+    /**
+     * Records a call that returned {@code result} and returns what the caller should receive.
+     */
+    protected Object record(Object result, RepositoryMetrics.MethodMetrics methodMetrics, Object[] args, long startNanos) {
+        methodMetrics.record(args, System.nanoTime() - startNanos, rowCount(result), RepositoryMetrics.Outcome.SUCCESS);
+        return result;
+    }
+
+    static long rowCount(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Boolean || result instanceof Number) {
+            // exists/count and conditional updates read no entity rows
+            return 0;
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,76 @@
+package com.beautysalon.common.cassandra;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.lang.NonNull;
+
+/**
+ * Adds {@link RepositoryMetricsInterceptor} to every repository: as a proxy post-processor on
+ * Spring Data repository factories, and as advice on hand-written {@code @Repository} beans.
+ *
+ * Registered by {@link RepositoryMetricsAutoConfiguration} unless a backend declares its own
+ * subclass with a different {@link #interceptorFor interceptor}.
+ */
+public class RepositoryMetricsPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<RepositoryMetrics> metrics;
+
+    public RepositoryMetricsPostProcessor(ObjectProvider<RepositoryMetrics> metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(@NonNull Object bean, @NonNull String beanName) throws BeansException {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, information) -> proxyFactory.addAdvice(interceptorFor(
+                            information.getRepositoryInterface().getSimpleName(), metrics.getObject()))));
+        }
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) throws BeansException {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?>) {
+            return bean;
+        }
+        // Spring Data proxies were instrumented through their factory; their targets carry no @Repository
+        Class<?> targetClass = AopUtils.getTargetClass(bean);
+        if (AnnotationUtils.findAnnotation(targetClass, org.springframework.stereotype.Repository.class) == null) {
+            return bean;
+        }
+        MethodInterceptor interceptor = interceptorFor(repositoryName(targetClass), metrics.getObject());
+        if (bean instanceof Advised advised && !advised.isFrozen()) {
+            advised.addAdvice(interceptor);
+            return bean;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.addAdvice(interceptor);
+        return proxyFactory.getProxy();
+    }
+
+    protected MethodInterceptor interceptorFor(String repository, RepositoryMetrics metrics) {
+        return new RepositoryMetricsInterceptor(repository, metrics);
+    }
+
+    /**
+     * Hand-written implementations of a Spring Data repository interface (the {@code inmem} profile)
+     * are tagged with the interface name, like the generated repositories they replace.
+     */
+    private static String repositoryName(Class<?> targetClass) {
+        for (Class<?> type : targetClass.getInterfaces()) {
+            if (Repository.class.isAssignableFrom(type)) {
+                return type.getSimpleName();
+            }
+        }
+        return targetClass.getSimpleName();
+    }
+}
@@ -0,0 +1,16 @@
+package com.beautysalon.common.monitoring;
+
+/**
+ * Latency percentiles for one route over the monitoring window, in milliseconds.
+ * {@code route} is the HTTP method plus the matched path pattern, e.g. {@code GET /api/customers/{id}}.
+ */
+public record EndpointLatency(
+        String route,
+        long count,
+        double p50,
+        double p90,
+        double p99,
+        double p999,
+        double max,
+        double mean) {
+}
@@ -0,0 +1,90 @@
+package com.beautysalon.common.monitoring;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-route latency histograms, fed by each backend's request timing filter.
+ * The number of routes is capped so unmatched or unexpected paths cannot grow the map without bound;
+ * routes past the cap are counted under {@link #OTHER_ROUTE}.
+ */
+public class EndpointLatencyRegistry {
+
+    public static final String UNMATCHED_ROUTE = "UNMATCHED";
+    public static final String OTHER_ROUTE = "OTHER";
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Map<String, SlidingWindowHistogram> histograms = new ConcurrentHashMap<>();
+    private final long windowMillis;
+    private final int slotCount;
+    private final int maxRoutes;
+    private final LongSupplier clock;
+
+    public EndpointLatencyRegistry(long windowSeconds, int slotCount, int maxRoutes) {
+        this(windowSeconds, slotCount, maxRoutes, System::currentTimeMillis);
+    }
+
+    public EndpointLatencyRegistry(long windowSeconds, int slotCount, int maxRoutes, LongSupplier clock) {
+        this.windowMillis = TimeUnit.SECONDS.toMillis(windowSeconds);
+        this.slotCount = slotCount;
+        this.maxRoutes = maxRoutes;
+        this.clock = clock;
+    }
+
+    public void record(String route, long durationNanos) {
+        histogramFor(route).recordNanos(durationNanos);
+    }
+
+    /**
+     * Percentiles for every route seen in the window, slowest p99 first.
+     */
+    public List<EndpointLatency> snapshot() {
+        List<EndpointLatency> endpoints = new ArrayList<>();
+        histograms.forEach((route, histogram) -> {
+            Histogram window = histogram.snapshot();
+            if (window.getTotalCount() > 0) {
+                endpoints.add(toLatency(route, window));
+            }
+        });
+        endpoints.sort(Comparator.comparingDouble(EndpointLatency::p99).reversed()
+                .thenComparing(EndpointLatency::route));
+        return endpoints;
+    }
+
+    public long getWindowSeconds() {
+        return TimeUnit.MILLISECONDS.toSeconds(windowMillis);
+    }
+
+    private SlidingWindowHistogram histogramFor(String route) {
+        SlidingWindowHistogram histogram = histograms.get(route);
+        if (histogram != null) {
+            return histogram;
+        }
+        String key = histograms.size() < maxRoutes ? route : OTHER_ROUTE;
+        return histograms.computeIfAbsent(key, k -> new SlidingWindowHistogram(windowMillis, slotCount, clock));
+    }
+
+    private static EndpointLatency toLatency(String route, Histogram histogram) {
+        return new EndpointLatency(
+                route,
+                histogram.getTotalCount(),
+                toMillis(histogram.getValueAtPercentile(50.0)),
+                toMillis(histogram.getValueAtPercentile(90.0)),
+                toMillis(histogram.getValueAtPercentile(99.0)),
+                toMillis(histogram.getValueAtPercentile(99.9)),
+                toMillis(histogram.getMaxValue()),
+                Math.round(histogram.getMean()) / MICROS_PER_MILLI);
+    }
+
+    private static double toMillis(long micros) {
+        return micros / MICROS_PER_MILLI;
+    }
+}
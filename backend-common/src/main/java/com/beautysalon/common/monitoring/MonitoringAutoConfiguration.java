@@ -0,0 +1,22 @@
+package com.beautysalon.common.monitoring;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Registers the shared monitoring beans in both backends; a backend replaces one by declaring its own.
+ */
+@AutoConfiguration
+public class MonitoringAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public EndpointLatencyRegistry endpointLatencyRegistry(
+            @Value("${monitoring.latency.window-seconds:60}") long windowSeconds,
+            @Value("${monitoring.latency.slots:6}") int slotCount,
+            @Value("${monitoring.latency.max-routes:200}") int maxRoutes) {
+        return new EndpointLatencyRegistry(windowSeconds, slotCount, maxRoutes);
+    }
+}
@@ -0,0 +1,102 @@
+package com.beautysalon.common.monitoring;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Latency histogram over a sliding time window.
+ * Writers record into a lock-free HdrHistogram {@link Recorder}; the window is a ring of
+ * interval histograms, one per slot, and expired slots are dropped as the window moves.
+ */
+public class SlidingWindowHistogram {
+
+    static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    private final Histogram[] slots;
+    private final long[] slotStarts;
+    private final long slotMillis;
+    private final long windowMillis;
+    private final LongSupplier clock;
+
+    private Histogram recycled;
+    private long currentSlotStart;
+    private volatile long nextRotationAt;
+
+    public SlidingWindowHistogram(long windowMillis, int slotCount, LongSupplier clock) {
+        if (slotCount < 1 || windowMillis < slotCount) {
+            throw new IllegalArgumentException("Window must span at least one millisecond per slot");
+        }
+        this.slotMillis = windowMillis / slotCount;
+        this.windowMillis = slotMillis * slotCount;
+        this.clock = clock;
+        this.slots = new Histogram[slotCount];
+        this.slotStarts = new long[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+            slotStarts[i] = Long.MIN_VALUE;
+        }
+        long now = clock.getAsLong();
+        this.currentSlotStart = now - Math.floorMod(now, slotMillis);
+        this.nextRotationAt = currentSlotStart + slotMillis;
+    }
+
+    /**
+     * Record one latency sample. Values above a minute are clamped so outliers still count.
+     */
+    public void recordNanos(long nanos) {
+        long now = clock.getAsLong();
+        if (now >= nextRotationAt) {
+            rotate(now);
+        }
+        long micros = Math.max(0, Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), HIGHEST_TRACKABLE_MICROS));
+        recorder.recordValue(micros);
+    }
+
+    /**
+     * Merge every slot still inside the window into a fresh histogram, values in microseconds.
+     */
+    public synchronized Histogram snapshot() {
+        long now = clock.getAsLong();
+        rotate(now);
+        Histogram merged = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        long oldestLiveStart = now - windowMillis;
+        for (int i = 0; i < slots.length; i++) {
+            if (slotStarts[i] != Long.MIN_VALUE && slotStarts[i] + slotMillis > oldestLiveStart) {
+                merged.add(slots[i]);
+            }
+        }
+        return merged;
+    }
+
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    /**
+     * Everything in the recorder was written since the last rotation, so it belongs to the
+     * slot that was current then; afterwards the current slot moves to {@code now}.
+     */
+    private synchronized void rotate(long now) {
+        Histogram interval = recorder.getIntervalHistogram(recycled);
+        slotFor(currentSlotStart).add(interval);
+        recycled = interval;
+        if (now >= nextRotationAt) {
+            currentSlotStart = now - Math.floorMod(now, slotMillis);
+            nextRotationAt = currentSlotStart + slotMillis;
+        }
+    }
+
+    private Histogram slotFor(long slotStart) {
+        int index = (int) Math.floorMod(slotStart / slotMillis, (long) slots.length);
+        if (slotStarts[index] != slotStart) {
+            slots[index].reset();
+            slotStarts[index] = slotStart;
+        }
+        return slots[index];
+    }
+}
@@ -0,0 +1,90 @@
+package com.beautysalon.common.cassandra;
+
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
+import com.datastax.oss.driver.api.core.config.DriverConfigLoader;
+import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CassandraDriverMetricsTest {
+
+    private static void nodeGauge(MeterRegistry registry, String name, String node, double value) {
+        Gauge.builder(name, () -> value).tag("session", "s0").tag("node", node).register(registry);
+    }
+
+    @Test
+    void testConfigure_EnablesMicrometerSessionAndNodeMetrics() {
+        // Act
+        try (DriverConfigLoader loader = CassandraDriverMetrics.configure(DriverConfigLoader.programmaticBuilder()).build()) {
+            DriverExecutionProfile profile = loader.getInitialConfig().getDefaultProfile();
+
+            // Assert
+            assertEquals("MicrometerMetricsFactory", profile.getString(DefaultDriverOption.METRICS_FACTORY_CLASS));
+            assertEquals("TaggingMetricIdGenerator", profile.getString(DefaultDriverOption.METRICS_ID_GENERATOR_CLASS));
+            assertEquals("cassandra", profile.getString(DefaultDriverOption.METRICS_ID_GENERATOR_PREFIX));
+            assertTrue(profile.getStringList(DefaultDriverOption.METRICS_SESSION_ENABLED)
+                    .containsAll(List.of("connected-nodes", "cql-requests", "throttling.errors")));
+            assertTrue(profile.getStringList(DefaultDriverOption.METRICS_NODE_ENABLED)
+                    .containsAll(List.of("pool.in-flight", "pool.open-connections", "errors.request.read-timeouts")));
+            assertEquals(List.of(0.5, 0.9, 0.99, 0.999),
+                    profile.getDoubleList(DefaultDriverOption.METRICS_SESSION_CQL_REQUESTS_PUBLISH_PERCENTILES));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSnapshot_SumsNodeMetricsAndSummarizesRequests() {
+        // Arrange: two nodes as the driver would register them
+        MeterRegistry registry = new SimpleMeterRegistry();
+        Gauge.builder(CassandraDriverMetrics.CONNECTED_NODES, () -> 2).tag("session", "s0").register(registry);
+        nodeGauge(registry, CassandraDriverMetrics.POOL_OPEN_CONNECTIONS, "10.0.0.1:9042", 1);
+        nodeGauge(registry, CassandraDriverMetrics.POOL_OPEN_CONNECTIONS, "10.0.0.2:9042", 1);
+        nodeGauge(registry, CassandraDriverMetrics.POOL_IN_FLIGHT, "10.0.0.1:9042", 12);
+        nodeGauge(registry, CassandraDriverMetrics.POOL_IN_FLIGHT, "10.0.0.2:9042", 30);
+        Counter.builder("cassandra.nodes.errors.request.read-timeouts").tag("node", "10.0.0.1:9042")
+                .register(registry).increment(3);
+        Counter.builder("cassandra.nodes.errors.request.read-timeouts").tag("node", "10.0.0.2:9042")
+                .register(registry).increment(1);
+        Timer requests = Timer.builder(CassandraDriverMetrics.CQL_REQUESTS).tag("session", "s0")
+                .publishPercentiles(0.5, 0.99).register(registry);
+        requests.record(Duration.ofMillis(4));
+        requests.record(Duration.ofMillis(6));
+
+        // Act
+        Map<String, Object> metrics = CassandraDriverMetrics.snapshot(registry);
+
+        // Assert
+        assertEquals(2L, metrics.get("connectedNodes"));
+        Map<String, Object> pool = (Map<String, Object>) metrics.get("pool");
+        assertEquals(2L, pool.get("openConnections"));
+        assertEquals(42L, pool.get("inFlight"));
+        Map<String, Object> errors = (Map<String, Object>) metrics.get("errors");
+        assertEquals(4L, errors.get("read-timeouts"));
+        assertEquals(0L, errors.get("unavailables"));
+        Map<String, Object> cqlRequests = (Map<String, Object>) metrics.get("cqlRequests");
+        assertEquals(2L, cqlRequests.get("count"));
+        assertEquals(5.0, (Double) cqlRequests.get("mean"), 0.01);
+        assertTrue(cqlRequests.containsKey("p50"));
+        assertTrue(cqlRequests.containsKey("p99"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSnapshot_BeforeSessionConnects() {
+        Map<String, Object> metrics = CassandraDriverMetrics.snapshot(new SimpleMeterRegistry());
+
+        assertEquals(0L, metrics.get("connectedNodes"));
+        assertEquals(Map.of("count", 0L), metrics.get("cqlRequests"));
+        assertEquals(0L, ((Map<String, Object>) metrics.get("throttling")).get("errors"));
+    }
+}
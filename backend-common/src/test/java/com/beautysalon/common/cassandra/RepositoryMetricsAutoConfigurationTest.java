@@ -0,0 +1,40 @@
+package com.beautysalon.common.cassandra;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RepositoryMetricsAutoConfigurationTest {
+
+    static class CustomPostProcessor extends RepositoryMetricsPostProcessor {
+
+        CustomPostProcessor(ObjectProvider<RepositoryMetrics> metrics) {
+            super(metrics);
+        }
+    }
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(RepositoryMetricsAutoConfiguration.class))
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new);
+
+    @Test
+    void testRegistersMetricsAndPostProcessor() {
+        runner.run(context -> {
+            assertThat(context).hasSingleBean(RepositoryMetrics.class);
+            assertThat(context.getBean(RepositoryMetricsPostProcessor.class))
+                    .isExactlyInstanceOf(RepositoryMetricsPostProcessor.class);
+        });
+    }
+
+    @Test
+    void testBacksOffWhenTheBackendDeclaresItsOwnPostProcessor() {
+        runner.withBean(CustomPostProcessor.class, () -> new CustomPostProcessor(null))
+                .run(context -> assertThat(context.getBean(RepositoryMetricsPostProcessor.class))
+                        .isInstanceOf(CustomPostProcessor.class));
+    }
+}
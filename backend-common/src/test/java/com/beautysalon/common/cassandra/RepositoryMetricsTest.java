@@ -0,0 +1,213 @@
+package com.beautysalon.common.cassandra;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.cassandra.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RepositoryMetricsTest {
+
+    interface BookingRepository {
+
+        @Query("SELECT * FROM bookings WHERE day = ?0 ALLOW FILTERING")
+        List<String> findByDay(LocalDate day);
+
+        Optional<String> findById(UUID id);
+
+        boolean exists(UUID id);
+
+        void fail(String reason);
+    }
+
+    @Repository
+    static class InMemoryBookingRepository implements BookingRepository {
+
+        @Override
+        public List<String> findByDay(LocalDate day) {
+            return List.of("a", "b", "c");
+        }
+
+        @Override
+        public Optional<String> findById(UUID id) {
+            return Optional.empty();
+        }
+
+        @Override
+        public boolean exists(UUID id) {
+            return true;
+        }
+
+        @Override
+        public void fail(String reason) {
+            throw new IllegalStateException(reason);
+        }
+    }
+
+    static class MutableClock extends Clock {
+
+        private final AtomicLong millis = new AtomicLong(1_000_000L);
+
+        void advance(long delta) {
+            millis.addAndGet(delta);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis.get());
+        }
+    }
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final MutableClock clock = new MutableClock();
+    private final ListAppender<ILoggingEvent> slowLog = new ListAppender<>();
+    private final Logger slowLogger = (Logger) LoggerFactory.getLogger("com.beautysalon.repository.SlowQueryLog");
+
+    @BeforeEach
+    void setUp() {
+        slowLog.start();
+        slowLogger.addAppender(slowLog);
+    }
+
+    @AfterEach
+    void tearDown() {
+        slowLogger.detachAppender(slowLog);
+    }
+
+    private BookingRepository instrumented(long thresholdMillis) {
+        RepositoryMetrics metrics = new RepositoryMetrics(registry, thresholdMillis, 10_000, clock);
+        ProxyFactory proxyFactory = new ProxyFactory(new InMemoryBookingRepository());
+        proxyFactory.addAdvice(new RepositoryMetricsInterceptor("BookingRepository", metrics));
+        return (BookingRepository) proxyFactory.getProxy();
+    }
+
+    @Test
+    void testCalls_AreTimedAndRowsCountedPerMethod() {
+        // Arrange
+        BookingRepository repository = instrumented(60_000);
+
+        // Act
+        repository.findByDay(LocalDate.of(2025, 3, 14));
+        repository.findByDay(LocalDate.of(2025, 3, 15));
+        repository.findById(UUID.randomUUID());
+        repository.exists(UUID.randomUUID());
+
+        // Assert
+        assertEquals(2, registry.get("beauty_salon.repository.time")
+                .tags("repository", "BookingRepository", "method", "findByDay", "outcome", "success").timer().count());
+        assertEquals(6.0, registry.get("beauty_salon.repository.rows").tag("method", "findByDay").summary().totalAmount());
+        assertEquals(0.0, registry.get("beauty_salon.repository.rows").tag("method", "findById").summary().totalAmount());
+        assertEquals(0.0, registry.get("beauty_salon.repository.rows").tag("method", "exists").summary().totalAmount());
+        assertEquals(0.0, registry.get("beauty_salon.repository.slow").tag("method", "findByDay").counter().count());
+        assertTrue(slowLog.list.isEmpty());
+    }
+
+    @Test
+    void testFailures_AreTimedUnderErrorOutcomeAndRethrown() {
+        BookingRepository repository = instrumented(60_000);
+
+        assertThrows(IllegalStateException.class, () -> repository.fail("timeout"));
+
+        assertEquals(1, registry.get("beauty_salon.repository.time")
+                .tags("method", "fail", "outcome", "error").timer().count());
+        assertEquals(0, registry.get("beauty_salon.repository.rows").tag("method", "fail").summary().count());
+    }
+
+    @Test
+    void testSlowQueryLog_IncludesCqlAndParameterShapes() {
+        // Arrange: every call is over a zero threshold
+        BookingRepository repository = instrumented(0);
+
+        // Act
+        repository.findByDay(LocalDate.of(2025, 3, 14));
+
+        // Assert
+        assertEquals(1, slowLog.list.size());
+        String entry = slowLog.list.get(0).getFormattedMessage();
+        assertTrue(entry.contains("BookingRepository.findByDay"));
+        assertTrue(entry.contains("cql=[SELECT * FROM bookings WHERE day = ?0 ALLOW FILTERING]"));
+        assertTrue(entry.contains("params=[LocalDate]"));
+        assertTrue(entry.contains("3 rows"));
+    }
+
+    @Test
+    void testSlowQueryLog_IsSampledPerMethodAndReportsSkippedCalls() {
+        BookingRepository repository = instrumented(0);
+
+        repository.findByDay(LocalDate.now());
+        repository.findByDay(LocalDate.now());
+        repository.findByDay(LocalDate.now());
+        repository.findById(UUID.randomUUID());
+        clock.advance(10_000);
+        repository.findByDay(LocalDate.now());
+
+        assertEquals(3, slowLog.list.size());
+        assertTrue(slowLog.list.get(2).getFormattedMessage().contains("2 slow calls skipped"));
+        assertEquals(4.0, registry.get("beauty_salon.repository.slow").tag("method", "findByDay").counter().count());
+    }
+
+    @Test
+    void testParameterShapes_NeverIncludeValues() {
+        String shapes = RepositoryMetrics.parameterShapes(new Object[] {
+                "maria@example.com", List.of(1, 2), Set.of(), new int[4], null, Optional.of("x"), 42L});
+
+        assertEquals("[String(17), List[2], Set[0], int[4], null, Optional<String(1)>, Long]", shapes);
+        assertFalse(shapes.contains("maria"));
+        assertEquals("[]", RepositoryMetrics.parameterShapes(null));
+    }
+
+    @Test
+    void testCqlOf_FallsBackForDerivedMethods() throws Exception {
+        assertEquals("(built by findById)", RepositoryMetrics.cqlOf(BookingRepository.class.getMethod("findById", UUID.class)));
+    }
+
+    @Test
+    void testPostProcessor_WrapsHandWrittenRepositories() {
+        // Arrange
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("repositoryMetrics", new RepositoryMetrics(registry, 60_000, 10_000, clock));
+        RepositoryMetricsPostProcessor postProcessor =
+                new RepositoryMetricsPostProcessor(beanFactory.getBeanProvider(RepositoryMetrics.class));
+
+        // Act
+        Object processed = postProcessor.postProcessAfterInitialization(new InMemoryBookingRepository(), "bookings");
+        ((BookingRepository) processed).findByDay(LocalDate.now());
+
+        // Assert
+        assertEquals(1, registry.get("beauty_salon.repository.time")
+                .tags("repository", "InMemoryBookingRepository", "method", "findByDay").timer().count());
+        Object plain = new Object();
+        assertSame(plain, postProcessor.postProcessAfterInitialization(plain, "plain"));
+    }
+}
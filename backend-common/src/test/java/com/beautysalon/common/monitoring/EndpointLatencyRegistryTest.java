@@ -0,0 +1,133 @@
+package com.beautysalon.common.monitoring;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EndpointLatencyRegistryTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private EndpointLatencyRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        // 60 s window in 6 slots of 10 s
+        registry = new EndpointLatencyRegistry(60, 6, 3, now::get);
+    }
+
+    private void recordMillis(String route, long millis) {
+        registry.record(route, TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    @Test
+    void testSnapshot_ReportsPercentilesInMillis() {
+        // Arrange: 1..1000 ms, one sample each
+        for (long ms = 1; ms <= 1000; ms++) {
+            recordMillis("GET /api/customers", ms);
+        }
+
+        // Act
+        List<EndpointLatency> endpoints = registry.snapshot();
+
+        // Assert: within HdrHistogram's 2 significant digits
+        assertEquals(1, endpoints.size());
+        EndpointLatency latency = endpoints.get(0);
+        assertEquals("GET /api/customers", latency.route());
+        assertEquals(1000, latency.count());
+        assertEquals(500.0, latency.p50(), 5.0);
+        assertEquals(900.0, latency.p90(), 9.0);
+        assertEquals(990.0, latency.p99(), 10.0);
+        assertEquals(999.0, latency.p999(), 10.0);
+        assertEquals(1000.0, latency.max(), 10.0);
+    }
+
+    @Test
+    void testSnapshot_SortsSlowestP99First() {
+        recordMillis("GET /api/services", 5);
+        recordMillis("GET /api/appointments", 250);
+
+        List<EndpointLatency> endpoints = registry.snapshot();
+
+        assertEquals("GET /api/appointments", endpoints.get(0).route());
+        assertEquals("GET /api/services", endpoints.get(1).route());
+    }
+
+    @Test
+    void testSnapshot_DropsSamplesOutsideWindow() {
+        // Arrange: a slow burst, then fast traffic 45 s later
+        recordMillis("GET /api/customers", 800);
+        recordMillis("GET /api/customers", 800);
+        now.addAndGet(45_000);
+        recordMillis("GET /api/customers", 10);
+        assertEquals(3, registry.snapshot().get(0).count());
+
+        // Act: the burst's whole slot falls behind the 60 s window
+        now.addAndGet(30_000);
+        EndpointLatency latency = registry.snapshot().get(0);
+
+        // Assert
+        assertEquals(1, latency.count());
+        assertEquals(10.0, latency.max(), 0.1);
+    }
+
+    @Test
+    void testSnapshot_OmitsRoutesWithNoRecentSamples() {
+        recordMillis("GET /api/staff", 20);
+
+        now.addAndGet(120_000);
+
+        assertTrue(registry.snapshot().isEmpty());
+    }
+
+    @Test
+    void testRecord_SamplesRecordedAcrossSlotsWhileIdleAreKept() {
+        // Arrange: samples in consecutive slots with no read in between
+        for (int i = 0; i < 5; i++) {
+            recordMillis("POST /api/appointments", 40);
+            now.addAndGet(10_000);
+        }
+
+        // Act
+        EndpointLatency latency = registry.snapshot().get(0);
+
+        // Assert
+        assertEquals(5, latency.count());
+    }
+
+    @Test
+    void testRecord_ClampsValuesAboveHighestTrackable() {
+        registry.record("GET /api/slow", TimeUnit.MINUTES.toNanos(5));
+
+        EndpointLatency latency = registry.snapshot().get(0);
+
+        assertEquals(1, latency.count());
+        assertEquals(60_000.0, latency.max(), 600.0);
+    }
+
+    @Test
+    void testRecord_RoutesPastCapShareOtherBucket() {
+        recordMillis("GET /a", 1);
+        recordMillis("GET /b", 1);
+        recordMillis("GET /c", 1);
+        recordMillis("GET /d", 1);
+        recordMillis("GET /e", 1);
+
+        List<String> routes = registry.snapshot().stream().map(EndpointLatency::route).toList();
+
+        assertEquals(4, routes.size());
+        assertTrue(routes.contains(EndpointLatencyRegistry.OTHER_ROUTE));
+        assertEquals(2, registry.snapshot().stream()
+                .filter(e -> e.route().equals(EndpointLatencyRegistry.OTHER_ROUTE))
+                .findFirst().orElseThrow().count());
+    }
+
+    @Test
+    void testWindowSeconds() {
+        assertEquals(60, registry.getWindowSeconds());
+    }
+}
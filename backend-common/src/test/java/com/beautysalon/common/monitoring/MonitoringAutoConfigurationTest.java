@@ -0,0 +1,28 @@
+package com.beautysalon.common.monitoring;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MonitoringAutoConfigurationTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(MonitoringAutoConfiguration.class));
+
+    @Test
+    void testRegistersLatencyRegistryWithConfiguredWindow() {
+        runner.withPropertyValues("monitoring.latency.window-seconds=30")
+                .run(context -> assertThat(context.getBean(EndpointLatencyRegistry.class).getWindowSeconds())
+                        .isEqualTo(30));
+    }
+
+    @Test
+    void testBacksOffWhenTheBackendDeclaresItsOwnRegistry() {
+        EndpointLatencyRegistry own = new EndpointLatencyRegistry(10, 2, 5);
+
+        runner.withBean(EndpointLatencyRegistry.class, () -> own)
+                .run(context -> assertThat(context.getBean(EndpointLatencyRegistry.class)).isSameAs(own));
+    }
+}
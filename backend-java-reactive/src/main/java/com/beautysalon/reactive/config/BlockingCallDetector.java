@@ -0,0 +1,67 @@
+package com.beautysalon.reactive.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.blockhound.BlockHound;
+import reactor.blockhound.BlockingMethod;
+import reactor.blockhound.BlockingOperationError;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Installs BlockHound at runtime in report-only mode: a blocking call on a non-blocking thread
+ * (Reactor schedulers, Undertow I/O threads) is counted under
+ * {@code beauty_salon.reactor.blocking_calls} and logged with its stack trace, at most once per
+ * blocking method per interval, instead of failing the request. Tests install BlockHound through
+ * its JUnit platform listener first, where the same calls throw.
+ *
+ * BlockHound needs {@code -XX:+AllowRedefinitionToAddDeleteMethods} on JDK 13+; without it the
+ * detector logs a warning and stays off.
+ */
+@Component
+public class BlockingCallDetector {
+
+    private static final Logger logger = LoggerFactory.getLogger(BlockingCallDetector.class);
+
+    private final MeterRegistry meterRegistry;
+    private final long logIntervalMillis;
+    private final Map<String, AtomicLong> lastLoggedAt = new ConcurrentHashMap<>();
+
+    @Autowired
+    public BlockingCallDetector(MeterRegistry meterRegistry,
+                                @Value("${monitoring.blocking-detection.enabled:true}") boolean enabled,
+                                @Value("${monitoring.blocking-detection.log-interval-ms:60000}") long logIntervalMillis) {
+        this.meterRegistry = meterRegistry;
+        this.logIntervalMillis = logIntervalMillis;
+        if (enabled) {
+            install();
+        }
+    }
+
+    private void install() {
+        try {
+            BlockHound.install(builder -> builder.blockingMethodCallback(this::onBlockingCall));
+        } catch (Throwable e) {
+            logger.warn("Blocking call detection is off ({}); start the JVM with -XX:+AllowRedefinitionToAddDeleteMethods",
+                    e.toString());
+        }
+    }
+
+    void onBlockingCall(BlockingMethod method) {
+        String name = method.getClassName() + "." + method.getName();
+        meterRegistry.counter("beauty_salon.reactor.blocking_calls", "method", name).increment();
+        long now = System.currentTimeMillis();
+        AtomicLong last = lastLoggedAt.computeIfAbsent(name, k -> new AtomicLong(Long.MIN_VALUE));
+        long previous = last.get();
+        if ((previous == Long.MIN_VALUE || now - previous >= logIntervalMillis) && last.compareAndSet(previous, now)) {
+            logger.warn("Blocking call {} on non-blocking thread {}", name, Thread.currentThread().getName(),
+                    new BlockingOperationError(method));
+        }
+    }
+}
@@ -1,16 +1,31 @@
 package com.beautysalon.reactive.config;
 
+import com.beautysalon.common.cassandra.CassandraDriverMetrics;
+import com.beautysalon.reactive.repository.CustomerRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.cassandra.config.AbstractReactiveCassandraConfiguration;
+import org.springframework.data.cassandra.config.DriverConfigLoaderBuilderConfigurer;
 import org.springframework.data.cassandra.config.SchemaAction;
+import org.springframework.data.cassandra.config.SessionBuilderConfigurer;
 import org.springframework.data.cassandra.core.cql.keyspace.CreateKeyspaceSpecification;
 import org.springframework.data.cassandra.core.cql.keyspace.KeyspaceOption;
+import org.springframework.data.cassandra.repository.config.EnableReactiveCassandraRepositories;
 
 import java.util.Collections;
 import java.util.List;
 
+/**
+ * Cassandra session and Spring Data repositories; the {@code inmem} profile replaces both with the
+ * in-memory repositories.
+ */
 @Configuration
+@Profile("!inmem")
+@EnableReactiveCassandraRepositories(basePackageClasses = CustomerRepository.class)
 public class CassandraConfig extends AbstractReactiveCassandraConfiguration {
 
     @Value("${spring.cassandra.keyspace-name:beauty_salon}")
@@ -25,6 +40,9 @@ public class CassandraConfig extends AbstractReactiveCassandraConfiguration {
     @Value("${spring.cassandra.local-datacenter:datacenter1}")
     private String localDatacenter;
 
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
     @Override
     protected String getKeyspaceName() {
         return keyspaceName;
@@ -45,6 +63,19 @@ public class CassandraConfig extends AbstractReactiveCassandraConfiguration {
         return localDatacenter;
     }
 
+    @Override
+    protected DriverConfigLoaderBuilderConfigurer getDriverConfigLoaderBuilderConfigurer() {
+        return CassandraDriverMetrics::configure;
+    }
+
+    @Override
+    protected SessionBuilderConfigurer getSessionBuilderConfigurer() {
+        return builder -> {
+            meterRegistry.ifAvailable(builder::withMetricRegistry);
+            return builder;
+        };
+    }
+
     @Override
     public SchemaAction getSchemaAction() {
         return SchemaAction.CREATE_IF_NOT_EXISTS;
@@ -0,0 +1,32 @@
+package com.beautysalon.reactive.config;
+
+import reactor.blockhound.BlockHound;
+import reactor.blockhound.integration.BlockHoundIntegration;
+
+/**
+ * What counts as a non-blocking thread in this application, and which blocking calls we accept.
+ * Loaded through {@code ServiceLoader} both by {@link BlockingCallDetector} at runtime and by
+ * BlockHound's JUnit platform listener in tests, so the two apply the same rules; Reactor's own
+ * integration already covers its schedulers.
+ */
+public class ReactiveBlockHoundIntegration implements BlockHoundIntegration {
+
+    @Override
+    public void applyTo(BlockHound.Builder builder) {
+        builder.nonBlockingThreadPredicate(current -> current.or(ReactiveBlockHoundIntegration::isUndertowIoThread));
+        // UUID.randomUUID may read the entropy pool once, when SecureRandom is first seeded
+        builder.allowBlockingCallsInside("java.util.UUID", "randomUUID");
+        // appenders write synchronously; logging from the event loop is an accepted cost
+        builder.allowBlockingCallsInside("ch.qos.logback.core.OutputStreamAppender", "writeBytes");
+        // springdoc scans the classpath for its annotations, reading class files, while it builds /v3/api-docs
+        builder.allowBlockingCallsInside("org.springdoc.api.AbstractOpenApiResource", "getOpenApi");
+        // static resources such as the Swagger UI webjar are looked up in jar files on the classpath
+        builder.allowBlockingCallsInside("org.springframework.web.reactive.resource.PathResourceResolver", "getResource");
+    }
+
+    static boolean isUndertowIoThread(Thread thread) {
+        // Undertow names its XNIO I/O threads "XNIO-<n> I/O-<m>"; worker threads ("XNIO-<n> task-<m>") may block
+        String name = thread.getName();
+        return name.startsWith("XNIO-") && name.contains(" I/O-");
+    }
+}
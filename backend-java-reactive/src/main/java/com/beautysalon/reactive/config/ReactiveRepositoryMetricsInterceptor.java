@@ -0,0 +1,74 @@
+package com.beautysalon.reactive.config;
+
+import com.beautysalon.common.cassandra.RepositoryMetrics;
+import com.beautysalon.common.cassandra.RepositoryMetrics.Outcome;
+import com.beautysalon.common.cassandra.RepositoryMetricsInterceptor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Times reactive repository results from subscription rather than from the call. Each publisher
+ * is wrapped in an operator that starts the clock on subscription and stops it on the terminal
+ * or cancel signal, counting the elements emitted on the way; the publisher is not otherwise
+ * touched. Anything else is recorded as the shared interceptor records it.
+ */
+class ReactiveRepositoryMetricsInterceptor extends RepositoryMetricsInterceptor {
+
+    ReactiveRepositoryMetricsInterceptor(String repository, RepositoryMetrics metrics) {
+        super(repository, metrics);
+    }
+
+    @Override
+    protected Object record(Object result, RepositoryMetrics.MethodMetrics methodMetrics, Object[] args, long startNanos) {
+        if (result instanceof Mono<?> mono) {
+            return timed(mono, methodMetrics, args);
+        }
+        if (result instanceof Flux<?> flux) {
+            return timed(flux, methodMetrics, args);
+        }
+        return super.record(result, methodMetrics, args, startNanos);
+    }
+
+    static <T> Mono<T> timed(Mono<T> source, RepositoryMetrics.MethodMetrics methodMetrics, Object[] args) {
+        return Mono.defer(() -> {
+            Timing timing = new Timing();
+            return source
+                    .doOnNext(timing::onNext)
+                    .doFinally(signal -> timing.record(methodMetrics, args, signal));
+        });
+    }
+
+    static <T> Flux<T> timed(Flux<T> source, RepositoryMetrics.MethodMetrics methodMetrics, Object[] args) {
+        return Flux.defer(() -> {
+            Timing timing = new Timing();
+            return source
+                    .doOnNext(timing::onNext)
+                    .doFinally(signal -> timing.record(methodMetrics, args, signal));
+        });
+    }
+
+    private static final class Timing {
+
+        private final long start = System.nanoTime();
+        private final AtomicLong rows = new AtomicLong();
+
+        void onNext(Object value) {
+            // exists/count and conditional updates emit a flag or number, not entity rows
+            if (!(value instanceof Boolean || value instanceof Number)) {
+                rows.incrementAndGet();
+            }
+        }
+
+        void record(RepositoryMetrics.MethodMetrics methodMetrics, Object[] args, SignalType signal) {
+            Outcome outcome = switch (signal) {
+                case ON_ERROR -> Outcome.ERROR;
+                case CANCEL -> Outcome.CANCELLED;
+                default -> Outcome.SUCCESS;
+            };
+            methodMetrics.record(args, System.nanoTime() - start, rows.get(), outcome);
+        }
+    }
+}
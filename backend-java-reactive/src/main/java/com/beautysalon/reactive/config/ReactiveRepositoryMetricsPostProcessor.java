@@ -0,0 +1,24 @@
+package com.beautysalon.reactive.config;
+
+import com.beautysalon.common.cassandra.RepositoryMetrics;
+import com.beautysalon.common.cassandra.RepositoryMetricsPostProcessor;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Instruments repositories with {@link ReactiveRepositoryMetricsInterceptor}; the shared
+ * auto-configuration backs off its own post-processor when this one is present.
+ */
+@Component
+public class ReactiveRepositoryMetricsPostProcessor extends RepositoryMetricsPostProcessor {
+
+    public ReactiveRepositoryMetricsPostProcessor(ObjectProvider<RepositoryMetrics> metrics) {
+        super(metrics);
+    }
+
+    @Override
+    protected MethodInterceptor interceptorFor(String repository, RepositoryMetrics metrics) {
+        return new ReactiveRepositoryMetricsInterceptor(repository, metrics);
+    }
+}
@@ -0,0 +1,50 @@
+package com.beautysalon.reactive.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import reactor.core.observability.micrometer.Micrometer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Names, tags and taps every Mono or Flux returned by one controller or service bean.
+ * Reactor's Micrometer listener then publishes, under {@value #SEQUENCE_NAME}:
+ * {@code .flow.duration} (subscription to terminal signal, tagged by status), {@code .onNext.delay}
+ * (whose count is the number of elements emitted), {@code .subscribed} and {@code .requested}.
+ * Inside a sampled exchange, the signals are also charged to its request cost ({@link SignalCostAccounting}).
+ */
+class ReactorMetricsInterceptor implements MethodInterceptor {
+
+    static final String SEQUENCE_NAME = "beauty_salon.reactor";
+
+    private final String layer;
+    private final String component;
+    private final MeterRegistry meterRegistry;
+
+    ReactorMetricsInterceptor(String layer, String component, MeterRegistry meterRegistry) {
+        this.layer = layer;
+        this.component = component;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+        if (result instanceof Mono<?> mono) {
+            return SignalCostAccounting.mono(mono.name(SEQUENCE_NAME)
+                    .tag("layer", layer)
+                    .tag("component", component)
+                    .tag("method", invocation.getMethod().getName())
+                    .tap(Micrometer.metrics(meterRegistry)));
+        }
+        if (result instanceof Flux<?> flux) {
+            return SignalCostAccounting.flux(flux.name(SEQUENCE_NAME)
+                    .tag("layer", layer)
+                    .tag("component", component)
+                    .tag("method", invocation.getMethod().getName())
+                    .tap(Micrometer.metrics(meterRegistry)));
+        }
+        return result;
+    }
+}
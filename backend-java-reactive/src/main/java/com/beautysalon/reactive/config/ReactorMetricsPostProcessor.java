@@ -0,0 +1,64 @@
+package com.beautysalon.reactive.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Service;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Adds {@link ReactorMetricsInterceptor} to the application's controllers and services so every
+ * publisher they return is measured without touching each method.
+ */
+@Component
+@ConditionalOnProperty(name = "monitoring.reactor-metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class ReactorMetricsPostProcessor implements BeanPostProcessor {
+
+    private static final String APPLICATION_PACKAGE = "com.beautysalon.reactive.";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public ReactorMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) throws BeansException {
+        Class<?> targetClass = AopUtils.getTargetClass(bean);
+        if (!targetClass.getName().startsWith(APPLICATION_PACKAGE)) {
+            return bean;
+        }
+        String layer = layerOf(targetClass);
+        if (layer == null) {
+            return bean;
+        }
+        ReactorMetricsInterceptor interceptor =
+                new ReactorMetricsInterceptor(layer, targetClass.getSimpleName(), meterRegistry.getObject());
+        if (bean instanceof Advised advised && !advised.isFrozen()) {
+            advised.addAdvice(interceptor);
+            return bean;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(interceptor);
+        return proxyFactory.getProxy(targetClass.getClassLoader());
+    }
+
+    static String layerOf(Class<?> type) {
+        if (AnnotatedElementUtils.hasAnnotation(type, RestController.class)) {
+            return "controller";
+        }
+        if (AnnotatedElementUtils.hasAnnotation(type, Service.class)) {
+            return "service";
+        }
+        return null;
+    }
+}
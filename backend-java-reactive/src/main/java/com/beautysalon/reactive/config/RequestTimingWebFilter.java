@@ -0,0 +1,71 @@
+package com.beautysalon.reactive.config;
+
+import com.beautysalon.common.monitoring.EndpointLatencyRegistry;
+import com.beautysalon.reactive.service.RequestCostRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import reactor.core.publisher.Mono;
+
+/**
+ * Times every exchange, from the filter chain's subscription to its completion, error or
+ * cancellation, and records it per route into {@link EndpointLatencyRegistry}.
+ * Sampled exchanges also have their allocation and CPU time, summed over every signal delivered on
+ * their behalf, recorded in {@link RequestCostRegistry} (see {@link SignalCostAccounting}).
+ * Server-sent event streams are skipped: their duration is the subscriber's session, not a latency.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestTimingWebFilter implements WebFilter {
+
+    private final EndpointLatencyRegistry latencyRegistry;
+    private final RequestCostRegistry costRegistry;
+
+    @Autowired
+    public RequestTimingWebFilter(EndpointLatencyRegistry latencyRegistry, RequestCostRegistry costRegistry) {
+        this.latencyRegistry = latencyRegistry;
+        this.costRegistry = costRegistry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        Mono<Void> timed = Mono.defer(() -> {
+            long start = System.nanoTime();
+            return chain.filter(exchange)
+                .doFinally(signal -> {
+                    if (!isEventStream(exchange)) {
+                        latencyRegistry.record(routeOf(exchange), System.nanoTime() - start);
+                    }
+                });
+        });
+        RequestCostRegistry.Tally tally = costRegistry.newTally();
+        if (tally == null) {
+            return timed;
+        }
+        return SignalCostAccounting.exchange(timed, tally, () -> {
+            if (!isEventStream(exchange)) {
+                costRegistry.record(routeOf(exchange), tally);
+            }
+        });
+    }
+
+    static String routeOf(ServerWebExchange exchange) {
+        PathPattern pattern = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) {
+            return EndpointLatencyRegistry.UNMATCHED_ROUTE;
+        }
+        return exchange.getRequest().getMethod().name() + " " + pattern.getPatternString();
+    }
+
+    private static boolean isEventStream(ServerWebExchange exchange) {
+        MediaType contentType = exchange.getResponse().getHeaders().getContentType();
+        return contentType != null && MediaType.TEXT_EVENT_STREAM.isCompatibleWith(contentType);
+    }
+}
@@ -0,0 +1,187 @@
+package com.beautysalon.reactive.config;
+
+import com.beautysalon.reactive.service.RequestCostRegistry;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxOperator;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoOperator;
+import reactor.util.context.Context;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Charges the work done while delivering each signal of a publisher to the {@link RequestCostRegistry.Tally}
+ * of the exchange it belongs to. The exchange's own publisher is wrapped by {@link RequestTimingWebFilter};
+ * controller and service publishers are wrapped by {@link ReactorMetricsInterceptor} and find the tally in the
+ * subscriber context, so work that resumes on another thread (a driver callback emitting rows) is still
+ * charged from the point the signal reaches them. Publishers subscribed outside a sampled exchange pass
+ * through with a single context lookup.
+ */
+final class SignalCostAccounting {
+
+    private SignalCostAccounting() {
+    }
+
+    /**
+     * Account the whole exchange to {@code tally}, publish it to the publishers upstream and run
+     * {@code onTerminate} once the exchange completes, fails or is cancelled.
+     */
+    static Mono<Void> exchange(Mono<Void> source, RequestCostRegistry.Tally tally, Runnable onTerminate) {
+        return new AccountedMono<>(source, tally, onTerminate)
+                .contextWrite(Context.of(RequestCostRegistry.Tally.class, tally));
+    }
+
+    static <T> Mono<T> mono(Mono<T> source) {
+        return new AccountedMono<>(source, null, null);
+    }
+
+    static <T> Flux<T> flux(Flux<T> source) {
+        return new AccountedFlux<>(source);
+    }
+
+    private static RequestCostRegistry.Tally tallyOf(CoreSubscriber<?> subscriber) {
+        return subscriber.currentContext().getOrDefault(RequestCostRegistry.Tally.class, null);
+    }
+
+    private static final class AccountedMono<T> extends MonoOperator<T, T> {
+
+        private final RequestCostRegistry.Tally tally;
+        private final Runnable onTerminate;
+
+        private AccountedMono(Mono<? extends T> source, RequestCostRegistry.Tally tally, Runnable onTerminate) {
+            super(source);
+            this.tally = tally;
+            this.onTerminate = onTerminate;
+        }
+
+        @Override
+        public void subscribe(CoreSubscriber<? super T> actual) {
+            RequestCostRegistry.Tally target = tally != null ? tally : tallyOf(actual);
+            if (target == null) {
+                source.subscribe(actual);
+                return;
+            }
+            target.enter();
+            try {
+                source.subscribe(new SignalCostSubscriber<>(actual, target, onTerminate));
+            } finally {
+                target.exit();
+            }
+        }
+    }
+
+    private static final class AccountedFlux<T> extends FluxOperator<T, T> {
+
+        private AccountedFlux(Flux<? extends T> source) {
+            super(source);
+        }
+
+        @Override
+        public void subscribe(CoreSubscriber<? super T> actual) {
+            RequestCostRegistry.Tally tally = tallyOf(actual);
+            if (tally == null) {
+                source.subscribe(actual);
+                return;
+            }
+            tally.enter();
+            try {
+                source.subscribe(new SignalCostSubscriber<>(actual, tally, null));
+            } finally {
+                tally.exit();
+            }
+        }
+    }
+
+    private static final class SignalCostSubscriber<T> implements CoreSubscriber<T>, Subscription {
+
+        private final CoreSubscriber<? super T> actual;
+        private final RequestCostRegistry.Tally tally;
+        private final Runnable onTerminate;
+        private final AtomicBoolean terminated = new AtomicBoolean();
+        private Subscription upstream;
+
+        private SignalCostSubscriber(CoreSubscriber<? super T> actual, RequestCostRegistry.Tally tally,
+                                     Runnable onTerminate) {
+            this.actual = actual;
+            this.tally = tally;
+            this.onTerminate = onTerminate;
+        }
+
+        @Override
+        public Context currentContext() {
+            return actual.currentContext();
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            upstream = subscription;
+            tally.enter();
+            try {
+                actual.onSubscribe(this);
+            } finally {
+                tally.exit();
+            }
+        }
+
+        @Override
+        public void onNext(T value) {
+            tally.enter();
+            try {
+                actual.onNext(value);
+            } finally {
+                tally.exit();
+            }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            tally.enter();
+            try {
+                actual.onError(error);
+            } finally {
+                tally.exit();
+                terminate();
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            tally.enter();
+            try {
+                actual.onComplete();
+            } finally {
+                tally.exit();
+                terminate();
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            tally.enter();
+            try {
+                upstream.request(n);
+            } finally {
+                tally.exit();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            tally.enter();
+            try {
+                upstream.cancel();
+            } finally {
+                tally.exit();
+                terminate();
+            }
+        }
+
+        private void terminate() {
+            if (onTerminate != null && terminated.compareAndSet(false, true)) {
+                tally.afterSegment(onTerminate);
+            }
+        }
+    }
+}
@@ -1,18 +1,26 @@
 package com.beautysalon.reactive.controller;
 
+import com.beautysalon.reactive.dto.AppointmentEvent;
+import com.beautysalon.reactive.dto.StatusTransitionRequest;
+import com.beautysalon.reactive.dto.StatusTransitionResult;
 import com.beautysalon.reactive.model.Appointment;
 import com.beautysalon.reactive.service.AppointmentService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import jakarta.validation.Valid;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Locale;
 import java.util.UUID;
 
 @RestController
@@ -20,6 +28,8 @@ import java.util.UUID;
 @Validated
 public class AppointmentController {
 
+    private static final Duration FEED_HEARTBEAT_INTERVAL = Duration.ofSeconds(15);
+
     private final AppointmentService appointmentService;
 
     @Autowired
@@ -53,6 +63,17 @@ public class AppointmentController {
             .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 
+    @PostMapping("/{id}/transitions")
+    public Mono<ResponseEntity<StatusTransitionResult>> transitionStatus(@PathVariable UUID id,
+                                                                        @Valid @RequestBody StatusTransitionRequest request) {
+        return appointmentService.transitionStatus(id, request)
+            .map(result -> switch (result.outcome()) {
+                case APPLIED -> ResponseEntity.ok(result);
+                case CONFLICT -> ResponseEntity.status(HttpStatus.CONFLICT).body(result);
+                case NOT_FOUND -> ResponseEntity.notFound().<StatusTransitionResult>build();
+            });
+    }
+
     @DeleteMapping("/{id}")
     public Mono<ResponseEntity<Void>> deleteAppointment(@PathVariable UUID id) {
         return appointmentService.getAppointmentById(id)
@@ -81,6 +102,23 @@ public class AppointmentController {
         return appointmentService.getAppointmentsByStatus(status);
     }
 
+    /**
+     * Server-Sent Events feed of today's appointments: a snapshot, then live changes.
+     * Heartbeat comments keep idle connections open through proxies.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<AppointmentEvent>> streamAppointments() {
+        Flux<ServerSentEvent<AppointmentEvent>> events = appointmentService.getAppointmentFeed()
+            .map(event -> ServerSentEvent.builder(event)
+                .id(Long.toString(event.sequence()))
+                .event(event.type().name().toLowerCase(Locale.ROOT))
+                .build());
+        Flux<ServerSentEvent<AppointmentEvent>> heartbeats = Flux.interval(FEED_HEARTBEAT_INTERVAL)
+            .onBackpressureDrop()
+            .map(tick -> ServerSentEvent.<AppointmentEvent>builder().comment("heartbeat").build());
+        return Flux.merge(events, heartbeats);
+    }
+
     @GetMapping("/today")
     public Flux<Appointment> getTodayAppointments() {
         return appointmentService.getTodayAppointments();
@@ -98,4 +136,26 @@ public class AppointmentController {
             @PathVariable UUID staffId) {
         return appointmentService.getAppointmentsByDateAndStaff(date, staffId);
     }
+
+    @GetMapping("/range")
+    public Flux<Appointment> getAppointmentsInRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) UUID staffId) {
+        return appointmentService.getAppointmentsInRange(from, to, staffId);
+    }
+
+    @GetMapping("/week/{date}")
+    public Flux<Appointment> getAppointmentsForWeek(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) UUID staffId) {
+        return appointmentService.getAppointmentsForWeek(date, staffId);
+    }
+
+    @GetMapping("/month/{month}")
+    public Flux<Appointment> getAppointmentsForMonth(
+            @PathVariable @DateTimeFormat(pattern = "yyyy-MM") YearMonth month,
+            @RequestParam(required = false) UUID staffId) {
+        return appointmentService.getAppointmentsForMonth(month, staffId);
+    }
 }
@@ -0,0 +1,35 @@
+package com.beautysalon.reactive.controller;
+
+import com.beautysalon.reactive.service.AppointmentService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Operator endpoint that re-populates the {@code appointments_by_day} query table from
+ * {@code appointments}. It scans the whole appointments table, so it only exists with
+ * {@code appointments.day-index.rebuild.enabled=true}; enable it on one instance while backfilling.
+ */
+@RestController
+@RequestMapping("/api/appointments/day-index")
+@ConditionalOnProperty(name = "appointments.day-index.rebuild.enabled", havingValue = "true")
+public class AppointmentDayIndexController {
+
+    private final AppointmentService appointmentService;
+
+    @Autowired
+    public AppointmentDayIndexController(AppointmentService appointmentService) {
+        this.appointmentService = appointmentService;
+    }
+
+    @PostMapping("/rebuild")
+    public Mono<Map<String, Long>> rebuildDayIndex() {
+        return appointmentService.rebuildDayIndex()
+            .map(indexed -> Map.of("indexed", indexed));
+    }
+}
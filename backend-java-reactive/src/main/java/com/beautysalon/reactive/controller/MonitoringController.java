@@ -0,0 +1,51 @@
+package com.beautysalon.reactive.controller;
+
+import com.beautysalon.common.cassandra.CassandraDriverMetrics;
+import com.beautysalon.common.monitoring.EndpointLatencyRegistry;
+import com.beautysalon.reactive.service.RequestCostRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/monitoring")
+public class MonitoringController {
+
+    private final EndpointLatencyRegistry latencyRegistry;
+    private final RequestCostRegistry costRegistry;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public MonitoringController(EndpointLatencyRegistry latencyRegistry, RequestCostRegistry costRegistry,
+                                MeterRegistry meterRegistry) {
+        this.latencyRegistry = latencyRegistry;
+        this.costRegistry = costRegistry;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Per-endpoint latency percentiles (ms) over the sliding window, slowest p99 first, allocation and
+     * CPU time per request from sampled exchanges, and the Cassandra driver's pool, request latency and
+     * error metrics.
+     */
+    @GetMapping("/performance")
+    public Mono<Map<String, Object>> getPerformanceStatistics() {
+        return Mono.fromSupplier(() -> {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("timestamp", LocalDateTime.now());
+            stats.put("latencyWindowSeconds", latencyRegistry.getWindowSeconds());
+            stats.put("endpoints", latencyRegistry.snapshot());
+            stats.put("requestCostSampleRate", costRegistry.getSampleRate());
+            stats.put("requestCost", costRegistry.snapshot());
+            stats.put("cassandra", CassandraDriverMetrics.snapshot(meterRegistry));
+            return stats;
+        });
+    }
+}
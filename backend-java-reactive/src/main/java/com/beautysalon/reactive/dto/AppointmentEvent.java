@@ -0,0 +1,15 @@
+package com.beautysalon.reactive.dto;
+
+import com.beautysalon.reactive.model.Appointment;
+
+/**
+ * One entry of the live appointment feed. {@code sequence} increases monotonically across
+ * the feed; a client that sees {@code SNAPSHOT} entries should replace its list with them
+ * and then apply the following changes in order.
+ */
+public record AppointmentEvent(long sequence, Type type, Appointment appointment) {
+
+    public enum Type {
+        SNAPSHOT, CREATED, UPDATED, DELETED
+    }
+}
@@ -0,0 +1,17 @@
+package com.beautysalon.reactive.dto;
+
+/**
+ * Heap allocation and CPU time per request for one route, over the sampled requests.
+ * Bytes are per request; CPU time is in milliseconds. {@code samples} counts every sampled request
+ * since startup, while the mean and percentiles decay over the meter's rolling window.
+ */
+public record EndpointCost(
+        String route,
+        long samples,
+        double allocatedBytesMean,
+        double allocatedBytesP50,
+        double allocatedBytesP99,
+        double cpuMillisMean,
+        double cpuMillisP50,
+        double cpuMillisP99) {
+}
@@ -0,0 +1,13 @@
+package com.beautysalon.reactive.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Body of {@code POST /api/appointments/{id}/transitions}. {@code expectedStatus} is optional;
+ * when given, the transition only applies if the appointment is still in that status.
+ */
+public record StatusTransitionRequest(
+    @NotBlank(message = "Status is required") String status,
+    String expectedStatus
+) {
+}
@@ -0,0 +1,29 @@
+package com.beautysalon.reactive.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Outcome of a status transition. On {@code CONFLICT}, {@code status} is the appointment's current status.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record StatusTransitionResult(UUID id, Outcome outcome, String status, LocalDateTime updatedAt) {
+
+    public enum Outcome {
+        APPLIED, CONFLICT, NOT_FOUND
+    }
+
+    public static StatusTransitionResult applied(UUID id, String status, LocalDateTime updatedAt) {
+        return new StatusTransitionResult(id, Outcome.APPLIED, status, updatedAt);
+    }
+
+    public static StatusTransitionResult conflict(UUID id, String currentStatus) {
+        return new StatusTransitionResult(id, Outcome.CONFLICT, currentStatus, null);
+    }
+
+    public static StatusTransitionResult notFound(UUID id) {
+        return new StatusTransitionResult(id, Outcome.NOT_FOUND, null, null);
+    }
+}
@@ -6,6 +6,9 @@ import org.springframework.data.cassandra.core.mapping.Table;
 
 import jakarta.validation.constraints.NotNull;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
 import java.util.UUID;
 
 @Table("appointments")
@@ -55,6 +58,40 @@ public record Appointment(
     }
 
     public enum Status {
-        SCHEDULED, CONFIRMED, IN_PROGRESS, COMPLETED, CANCELLED, NO_SHOW
+        SCHEDULED, CONFIRMED, IN_PROGRESS, COMPLETED, CANCELLED, NO_SHOW;
+
+        /**
+         * Statuses this one may be entered from: scheduled -> confirmed -> in_progress -> completed,
+         * cancelled from any active status, no_show before the appointment has started.
+         */
+        public Set<Status> allowedSources() {
+            return switch (this) {
+                case SCHEDULED -> EnumSet.noneOf(Status.class);
+                case CONFIRMED -> EnumSet.of(SCHEDULED);
+                case IN_PROGRESS -> EnumSet.of(CONFIRMED);
+                case COMPLETED -> EnumSet.of(IN_PROGRESS);
+                case CANCELLED -> EnumSet.of(SCHEDULED, CONFIRMED, IN_PROGRESS);
+                case NO_SHOW -> EnumSet.of(SCHEDULED, CONFIRMED);
+            };
+        }
+
+        public boolean canTransitionTo(Status target) {
+            return target.allowedSources().contains(this);
+        }
+
+        public boolean isTerminal() {
+            return this == COMPLETED || this == CANCELLED || this == NO_SHOW;
+        }
+
+        public static Status from(String value) {
+            if (value == null || value.isBlank()) {
+                throw new IllegalArgumentException("Status is required");
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown appointment status: " + value);
+            }
+        }
     }
 }
@@ -0,0 +1,49 @@
+package com.beautysalon.reactive.model;
+
+import org.springframework.data.cassandra.core.cql.Ordering;
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Query table for calendar views: one partition per day, rows clustered by start time,
+ * so a day is a single ordered partition read instead of a scan of {@code appointments}.
+ */
+@Table("appointments_by_day")
+public record AppointmentByDay(
+    @PrimaryKeyColumn(name = "day", type = PrimaryKeyType.PARTITIONED) LocalDate day,
+    @PrimaryKeyColumn(name = "appointment_date", ordinal = 0, type = PrimaryKeyType.CLUSTERED,
+        ordering = Ordering.ASCENDING) LocalDateTime appointmentDate,
+    @PrimaryKeyColumn(name = "id", ordinal = 1, type = PrimaryKeyType.CLUSTERED) UUID id,
+    @Column("customer_id") UUID customerId,
+    @Column("service_id") UUID serviceId,
+    @Column("staff_id") UUID staffId,
+    String status,
+    String notes,
+    @Column("created_at") LocalDateTime createdAt,
+    @Column("updated_at") LocalDateTime updatedAt
+) {
+    public static AppointmentByDay from(Appointment appointment) {
+        return new AppointmentByDay(
+            appointment.appointmentDate().toLocalDate(),
+            appointment.appointmentDate(),
+            appointment.id(),
+            appointment.customerId(),
+            appointment.serviceId(),
+            appointment.staffId(),
+            appointment.status(),
+            appointment.notes(),
+            appointment.createdAt(),
+            appointment.updatedAt()
+        );
+    }
+
+    public Appointment toAppointment() {
+        return new Appointment(id, customerId, serviceId, staffId, appointmentDate, status, notes, createdAt, updatedAt);
+    }
+}
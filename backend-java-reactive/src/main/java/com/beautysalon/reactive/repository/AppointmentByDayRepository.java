@@ -0,0 +1,19 @@
+package com.beautysalon.reactive.repository;
+
+import com.beautysalon.reactive.model.AppointmentByDay;
+import org.springframework.data.cassandra.core.mapping.MapId;
+import org.springframework.data.cassandra.repository.Query;
+import org.springframework.data.cassandra.repository.ReactiveCassandraRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Repository
+public interface AppointmentByDayRepository extends ReactiveCassandraRepository<AppointmentByDay, MapId>,
+        AppointmentByDayRepositoryCustom {
+
+    @Query("SELECT * FROM appointments_by_day WHERE day = ?0 AND appointment_date >= ?1 AND appointment_date <= ?2")
+    Flux<AppointmentByDay> findByDayAndAppointmentDateBetween(LocalDate day, LocalDateTime start, LocalDateTime end);
+}
@@ -0,0 +1,19 @@
+package com.beautysalon.reactive.repository;
+
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface AppointmentByDayRepositoryCustom {
+
+    /**
+     * Copies a status change into the query row with a single lightweight transaction
+     * ({@code UPDATE appointments_by_day SET status = ?, updated_at = ? WHERE day = ? AND appointment_date = ?
+     * AND id = ? IF updated_at < ?}), so a late copy of an older status cannot overwrite a newer one.
+     * Emits {@code true} if the row existed and was older.
+     */
+    Mono<Boolean> updateStatusIfNewer(LocalDate day, LocalDateTime appointmentDate, UUID id, String status,
+                                      LocalDateTime updatedAt);
+}
@@ -0,0 +1,40 @@
+package com.beautysalon.reactive.repository;
+
+import com.beautysalon.reactive.model.AppointmentByDay;
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import org.springframework.data.cassandra.core.UpdateOptions;
+import org.springframework.data.cassandra.core.query.Criteria;
+import org.springframework.data.cassandra.core.query.Query;
+import org.springframework.data.cassandra.core.query.Update;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class AppointmentByDayRepositoryCustomImpl implements AppointmentByDayRepositoryCustom {
+
+    private final ReactiveCassandraOperations cassandraOperations;
+
+    public AppointmentByDayRepositoryCustomImpl(ReactiveCassandraOperations cassandraOperations) {
+        this.cassandraOperations = cassandraOperations;
+    }
+
+    @Override
+    public Mono<Boolean> updateStatusIfNewer(LocalDate day, LocalDateTime appointmentDate, UUID id, String status,
+                                             LocalDateTime updatedAt) {
+        Query query = Query.query(
+                Criteria.where("day").is(day),
+                Criteria.where("appointmentDate").is(appointmentDate),
+                Criteria.where("id").is(id))
+            .queryOptions(UpdateOptions.builder()
+                // conditions are neither mapped to columns nor converted like the rest of the statement
+                .ifCondition(Criteria.where("updated_at")
+                    .lt(cassandraOperations.getConverter().convertToColumnType(updatedAt)))
+                .build());
+        Update update = Update.empty()
+            .set("status", status)
+            .set("updatedAt", updatedAt);
+        return cassandraOperations.update(query, update, AppointmentByDay.class);
+    }
+}
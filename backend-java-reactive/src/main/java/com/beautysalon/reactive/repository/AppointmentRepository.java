@@ -9,7 +9,7 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Repository
-public interface AppointmentRepository extends ReactiveCassandraRepository<Appointment, UUID> {
+public interface AppointmentRepository extends ReactiveCassandraRepository<Appointment, UUID>, AppointmentRepositoryCustom {
     
     Flux<Appointment> findByCustomerId(UUID customerId);
     
@@ -0,0 +1,17 @@
+package com.beautysalon.reactive.repository;
+
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.UUID;
+
+public interface AppointmentRepositoryCustom {
+
+    /**
+     * Sets the status with a single lightweight transaction
+     * ({@code UPDATE appointments SET status = ?, updatedAt = ? WHERE id = ? IF status IN ?}).
+     * Emits {@code true} if the row existed and its status was one of {@code expectedStatuses}.
+     */
+    Mono<Boolean> updateStatusIf(UUID id, Collection<String> expectedStatuses, String newStatus, LocalDateTime updatedAt);
+}
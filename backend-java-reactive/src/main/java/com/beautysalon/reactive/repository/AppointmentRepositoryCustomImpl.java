@@ -0,0 +1,36 @@
+package com.beautysalon.reactive.repository;
+
+import com.beautysalon.reactive.model.Appointment;
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import org.springframework.data.cassandra.core.UpdateOptions;
+import org.springframework.data.cassandra.core.query.Criteria;
+import org.springframework.data.cassandra.core.query.Query;
+import org.springframework.data.cassandra.core.query.Update;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public class AppointmentRepositoryCustomImpl implements AppointmentRepositoryCustom {
+
+    private final ReactiveCassandraOperations cassandraOperations;
+
+    public AppointmentRepositoryCustomImpl(ReactiveCassandraOperations cassandraOperations) {
+        this.cassandraOperations = cassandraOperations;
+    }
+
+    @Override
+    public Mono<Boolean> updateStatusIf(UUID id, Collection<String> expectedStatuses, String newStatus,
+                                        LocalDateTime updatedAt) {
+        Query query = Query.query(Criteria.where("id").is(id))
+            .queryOptions(UpdateOptions.builder()
+                .ifCondition(Criteria.where("status").in(List.copyOf(expectedStatuses)))
+                .build());
+        Update update = Update.empty()
+            .set("status", newStatus)
+            .set("updatedAt", updatedAt);
+        return cassandraOperations.update(query, update, Appointment.class);
+    }
+}
@@ -0,0 +1,52 @@
+package com.beautysalon.reactive.repository;
+
+import com.beautysalon.reactive.model.AppointmentByDay;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.cassandra.core.mapping.BasicMapId;
+import org.springframework.data.cassandra.core.mapping.MapId;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * {@link AppointmentByDayRepository} for the {@code inmem} profile. Rows are sorted by start time,
+ * so a day's range read walks only that slice, in clustering order.
+ */
+@Repository
+@Profile("inmem")
+public class InMemoryAppointmentByDayRepository extends InMemoryReactiveRepository<AppointmentByDay, MapId>
+        implements AppointmentByDayRepository {
+
+    private final InMemoryIndex<AppointmentByDay, MapId, LocalDateTime> byStart;
+
+    public InMemoryAppointmentByDayRepository() {
+        this(InMemoryIndex.sorted(AppointmentByDay::appointmentDate));
+    }
+
+    private InMemoryAppointmentByDayRepository(InMemoryIndex<AppointmentByDay, MapId, LocalDateTime> byStart) {
+        super(InMemoryAppointmentByDayRepository::idOf, byStart);
+        this.byStart = byStart;
+    }
+
+    @Override
+    public Flux<AppointmentByDay> findByDayAndAppointmentDateBetween(LocalDate day, LocalDateTime start, LocalDateTime end) {
+        return findInRange(byStart, start, true, end, true, row -> day.equals(row.day()));
+    }
+
+    @Override
+    public Mono<Boolean> updateStatusIfNewer(LocalDate day, LocalDateTime appointmentDate, UUID id, String status,
+                                             LocalDateTime updatedAt) {
+        MapId key = BasicMapId.id("day", day).with("appointmentDate", appointmentDate).with("id", id);
+        return updateIf(key, row -> row.updatedAt().isBefore(updatedAt),
+            row -> new AppointmentByDay(row.day(), row.appointmentDate(), row.id(), row.customerId(), row.serviceId(),
+                row.staffId(), status, row.notes(), row.createdAt(), updatedAt));
+    }
+
+    private static MapId idOf(AppointmentByDay row) {
+        return BasicMapId.id("day", row.day()).with("appointmentDate", row.appointmentDate()).with("id", row.id());
+    }
+}
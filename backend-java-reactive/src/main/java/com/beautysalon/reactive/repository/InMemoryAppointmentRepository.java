@@ -0,0 +1,92 @@
+package com.beautysalon.reactive.repository;
+
+import com.beautysalon.reactive.model.Appointment;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * {@link AppointmentRepository} for the {@code inmem} profile, with appointments indexed by customer,
+ * staff member, service and status, and sorted by start time for the range and ordered reads.
+ * {@code Between} is exclusive at both ends, as in the derived Cassandra query.
+ */
+@Repository
+@Profile("inmem")
+public class InMemoryAppointmentRepository extends InMemoryReactiveRepository<Appointment, UUID> implements AppointmentRepository {
+
+    private final InMemoryIndex<Appointment, UUID, UUID> byCustomer;
+    private final InMemoryIndex<Appointment, UUID, UUID> byStaff;
+    private final InMemoryIndex<Appointment, UUID, UUID> byService;
+    private final InMemoryIndex<Appointment, UUID, String> byStatus;
+    private final InMemoryIndex<Appointment, UUID, LocalDateTime> byStart;
+
+    public InMemoryAppointmentRepository() {
+        this(InMemoryIndex.hashed(Appointment::customerId),
+                InMemoryIndex.hashed(Appointment::staffId),
+                InMemoryIndex.hashed(Appointment::serviceId),
+                InMemoryIndex.hashed(Appointment::status),
+                InMemoryIndex.sorted(Appointment::appointmentDate));
+    }
+
+    private InMemoryAppointmentRepository(InMemoryIndex<Appointment, UUID, UUID> byCustomer,
+                                          InMemoryIndex<Appointment, UUID, UUID> byStaff,
+                                          InMemoryIndex<Appointment, UUID, UUID> byService,
+                                          InMemoryIndex<Appointment, UUID, String> byStatus,
+                                          InMemoryIndex<Appointment, UUID, LocalDateTime> byStart) {
+        super(Appointment::id, byCustomer, byStaff, byService, byStatus, byStart);
+        this.byCustomer = byCustomer;
+        this.byStaff = byStaff;
+        this.byService = byService;
+        this.byStatus = byStatus;
+        this.byStart = byStart;
+    }
+
+    @Override
+    public Flux<Appointment> findByCustomerId(UUID customerId) {
+        return findByIndex(byCustomer, customerId);
+    }
+
+    @Override
+    public Flux<Appointment> findByStaffId(UUID staffId) {
+        return findByIndex(byStaff, staffId);
+    }
+
+    @Override
+    public Flux<Appointment> findByServiceId(UUID serviceId) {
+        return findByIndex(byService, serviceId);
+    }
+
+    @Override
+    public Flux<Appointment> findByStatus(String status) {
+        return findByIndex(byStatus, status);
+    }
+
+    @Override
+    public Flux<Appointment> findByAppointmentDateBetween(LocalDateTime start, LocalDateTime end) {
+        return findInRange(byStart, start, false, end, false, appointment -> true);
+    }
+
+    @Override
+    public Flux<Appointment> findByStaffIdAndAppointmentDateBetween(UUID staffId, LocalDateTime start, LocalDateTime end) {
+        return findInRange(byStart, start, false, end, false, appointment -> staffId.equals(appointment.staffId()));
+    }
+
+    @Override
+    public Flux<Appointment> findAllByOrderByAppointmentDateDesc() {
+        return findAllOrdered(byStart, true);
+    }
+
+    @Override
+    public Mono<Boolean> updateStatusIf(UUID id, Collection<String> expectedStatuses, String newStatus,
+                                        LocalDateTime updatedAt) {
+        return updateIf(id, appointment -> expectedStatuses.contains(appointment.status()),
+            appointment -> new Appointment(appointment.id(), appointment.customerId(), appointment.serviceId(),
+                appointment.staffId(), appointment.appointmentDate(), newStatus, appointment.notes(),
+                appointment.createdAt(), updatedAt));
+    }
+}
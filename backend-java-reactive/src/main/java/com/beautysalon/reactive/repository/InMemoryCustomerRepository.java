@@ -0,0 +1,46 @@
+package com.beautysalon.reactive.repository;
+
+import com.beautysalon.reactive.model.Customer;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * {@link CustomerRepository} for the {@code inmem} profile, with customers indexed by email.
+ */
+@Repository
+@Profile("inmem")
+public class InMemoryCustomerRepository extends InMemoryReactiveRepository<Customer, UUID> implements CustomerRepository {
+
+    private final InMemoryIndex<Customer, UUID, String> byEmail;
+
+    public InMemoryCustomerRepository() {
+        this(InMemoryIndex.hashed(Customer::email));
+    }
+
+    private InMemoryCustomerRepository(InMemoryIndex<Customer, UUID, String> byEmail) {
+        super(Customer::id, byEmail);
+        this.byEmail = byEmail;
+    }
+
+    @Override
+    public Flux<Customer> findByNameContainingIgnoreCase(String name) {
+        String needle = name.toLowerCase(Locale.ROOT);
+        return findWhere(customer -> customer.name() != null && customer.name().toLowerCase(Locale.ROOT).contains(needle));
+    }
+
+    @Override
+    public Mono<Customer> findByEmail(String email) {
+        return findByIndex(byEmail, email).next();
+    }
+
+    @Override
+    public Flux<Customer> findAllByOrderByCreatedAtDesc() {
+        return findAllSorted(Comparator.comparing(Customer::createdAt, Comparator.nullsLast(Comparator.reverseOrder())));
+    }
+}
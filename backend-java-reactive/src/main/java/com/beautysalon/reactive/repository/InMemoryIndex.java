@@ -0,0 +1,103 @@
+package com.beautysalon.reactive.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+
+/**
+ * Secondary index of an {@link InMemoryReactiveRepository}: row ids by the value of one column (or a
+ * composite of columns). Entries are maintained atomically per key and empty keys are dropped, but
+ * the index and the rows are separate maps, so an index hit is only a candidate and the repository
+ * checks it against the current row. A {@link #sorted} index also answers range and ordered reads,
+ * like a clustering column.
+ */
+final class InMemoryIndex<T, ID, K> {
+
+    private final Function<T, K> keyOf;
+    private final ConcurrentMap<K, Set<ID>> ids;
+
+    private InMemoryIndex(Function<T, K> keyOf, ConcurrentMap<K, Set<ID>> ids) {
+        this.keyOf = keyOf;
+        this.ids = ids;
+    }
+
+    static <T, ID, K> InMemoryIndex<T, ID, K> hashed(Function<T, K> keyOf) {
+        return new InMemoryIndex<>(keyOf, new ConcurrentHashMap<>());
+    }
+
+    static <T, ID, K extends Comparable<? super K>> InMemoryIndex<T, ID, K> sorted(Function<T, K> keyOf) {
+        return new InMemoryIndex<>(keyOf, new ConcurrentSkipListMap<>());
+    }
+
+    /**
+     * Move {@code id} from the key of {@code previous} to the key of {@code current}; either may be
+     * {@code null} for an insert or a delete. Rows whose key is {@code null} are not indexed.
+     */
+    void update(ID id, T previous, T current) {
+        K oldKey = previous == null ? null : keyOf.apply(previous);
+        K newKey = current == null ? null : keyOf.apply(current);
+        if (Objects.equals(oldKey, newKey)) {
+            return;
+        }
+        if (newKey != null) {
+            ids.compute(newKey, (key, set) -> {
+                Set<ID> updated = set == null ? ConcurrentHashMap.newKeySet() : set;
+                updated.add(id);
+                return updated;
+            });
+        }
+        if (oldKey != null) {
+            ids.computeIfPresent(oldKey, (key, set) -> {
+                set.remove(id);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+
+    Set<ID> get(K key) {
+        return key == null ? Set.of() : ids.getOrDefault(key, Set.of());
+    }
+
+    /**
+     * Ids with a key between {@code from} and {@code to}, in key order.
+     */
+    List<ID> range(K from, boolean fromInclusive, K to, boolean toInclusive) {
+        return flatten(navigable().subMap(from, fromInclusive, to, toInclusive).values());
+    }
+
+    /**
+     * All indexed ids in key order.
+     */
+    List<ID> ordered(boolean descending) {
+        NavigableMap<K, Set<ID>> map = navigable();
+        return flatten((descending ? map.descendingMap() : map).values());
+    }
+
+    boolean matches(T row, K key) {
+        return Objects.equals(keyOf.apply(row), key);
+    }
+
+    K keyOf(T row) {
+        return keyOf.apply(row);
+    }
+
+    private NavigableMap<K, Set<ID>> navigable() {
+        if (!(ids instanceof NavigableMap<K, Set<ID>> map)) {
+            throw new IllegalStateException("Range reads need a sorted index");
+        }
+        return map;
+    }
+
+    private static <ID> List<ID> flatten(Collection<Set<ID>> sets) {
+        List<ID> result = new ArrayList<>();
+        sets.forEach(result::addAll);
+        return result;
+    }
+}
@@ -0,0 +1,248 @@
+package com.beautysalon.reactive.repository;
+
+import org.reactivestreams.Publisher;
+import org.springframework.data.cassandra.repository.ReactiveCassandraRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Base of the {@code inmem} profile repositories: rows in a {@link ConcurrentHashMap} keyed by id,
+ * plus {@link InMemoryIndex secondary indexes} updated in the same atomic step as the row. The
+ * records are immutable, so rows are stored and returned as they are. Every operation is deferred
+ * to subscription, like a driver call.
+ */
+public abstract class InMemoryReactiveRepository<T, ID> implements ReactiveCassandraRepository<T, ID> {
+
+    private final Map<ID, T> rows = new ConcurrentHashMap<>();
+    private final Function<T, ID> idOf;
+    private final List<InMemoryIndex<T, ID, ?>> indexes;
+
+    @SafeVarargs
+    protected InMemoryReactiveRepository(Function<T, ID> idOf, InMemoryIndex<T, ID, ?>... indexes) {
+        this.idOf = idOf;
+        this.indexes = List.of(indexes);
+    }
+
+    /**
+     * Rows whose indexed value equals {@code key}.
+     */
+    protected <K> Flux<T> findByIndex(InMemoryIndex<T, ID, K> index, K key) {
+        return findByIndex(index, key, row -> true);
+    }
+
+    /**
+     * Rows whose indexed value equals {@code key} and that pass {@code filter}.
+     */
+    protected <K> Flux<T> findByIndex(InMemoryIndex<T, ID, K> index, K key, Predicate<T> filter) {
+        return Flux.defer(() -> Flux.fromIterable(rowsOf(index.get(key), row -> index.matches(row, key) && filter.test(row))));
+    }
+
+    /**
+     * Rows with a sorted-index value between {@code from} and {@code to} that pass {@code filter}, in index order.
+     */
+    protected <K extends Comparable<? super K>> Flux<T> findInRange(InMemoryIndex<T, ID, K> index,
+                                                                     K from, boolean fromInclusive,
+                                                                     K to, boolean toInclusive,
+                                                                     Predicate<T> filter) {
+        if (from.compareTo(to) > 0) {
+            return Flux.empty();
+        }
+        return Flux.defer(() -> Flux.fromIterable(rowsOf(index.range(from, fromInclusive, to, toInclusive), row -> {
+            K key = index.keyOf(row);
+            int lower = key == null ? -1 : key.compareTo(from);
+            int upper = key == null ? 1 : key.compareTo(to);
+            return (fromInclusive ? lower >= 0 : lower > 0) && (toInclusive ? upper <= 0 : upper < 0) && filter.test(row);
+        })));
+    }
+
+    /**
+     * All rows in sorted-index order.
+     */
+    protected Flux<T> findAllOrdered(InMemoryIndex<T, ID, ?> index, boolean descending) {
+        return Flux.defer(() -> Flux.fromIterable(rowsOf(index.ordered(descending), row -> true)));
+    }
+
+    /**
+     * Full scan, for the queries Cassandra also answers by filtering every row.
+     */
+    protected Flux<T> findWhere(Predicate<T> filter) {
+        return Flux.defer(() -> Flux.fromIterable(rows.values().stream().filter(filter).toList()));
+    }
+
+    /**
+     * Full scan sorted by {@code order}, for the derived {@code OrderBy} queries on unindexed columns.
+     */
+    protected Flux<T> findAllSorted(Comparator<T> order) {
+        return Flux.defer(() -> {
+            List<T> all = new ArrayList<>(rows.values());
+            all.sort(order);
+            return Flux.fromIterable(all);
+        });
+    }
+
+    /**
+     * Replace the row with {@code change} applied if it exists and passes {@code condition},
+     * atomically, like a lightweight transaction. Emits whether the row was changed.
+     */
+    protected Mono<Boolean> updateIf(ID id, Predicate<T> condition, UnaryOperator<T> change) {
+        return Mono.fromSupplier(() -> {
+            boolean[] applied = new boolean[1];
+            rows.computeIfPresent(id, (key, previous) -> {
+                if (!condition.test(previous)) {
+                    return previous;
+                }
+                T updated = change.apply(previous);
+                reindex(key, previous, updated);
+                applied[0] = true;
+                return updated;
+            });
+            return applied[0];
+        });
+    }
+
+    @Override
+    public <S extends T> Mono<S> save(S entity) {
+        return Mono.fromSupplier(() -> store(entity));
+    }
+
+    @Override
+    public <S extends T> Flux<S> saveAll(Iterable<S> entities) {
+        return Flux.defer(() -> Flux.fromIterable(entities).map(this::store));
+    }
+
+    @Override
+    public <S extends T> Flux<S> saveAll(Publisher<S> entityStream) {
+        return Flux.from(entityStream).map(this::store);
+    }
+
+    @Override
+    public <S extends T> Mono<S> insert(S entity) {
+        return save(entity);
+    }
+
+    @Override
+    public <S extends T> Flux<S> insert(Iterable<S> entities) {
+        return saveAll(entities);
+    }
+
+    @Override
+    public <S extends T> Flux<S> insert(Publisher<S> entities) {
+        return saveAll(entities);
+    }
+
+    @Override
+    public Mono<T> findById(ID id) {
+        return Mono.fromSupplier(() -> rows.get(id));
+    }
+
+    @Override
+    public Mono<T> findById(Publisher<ID> id) {
+        return Mono.from(id).flatMap(this::findById);
+    }
+
+    @Override
+    public Mono<Boolean> existsById(ID id) {
+        return Mono.fromSupplier(() -> rows.containsKey(id));
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Publisher<ID> id) {
+        return Mono.from(id).flatMap(this::existsById);
+    }
+
+    @Override
+    public Flux<T> findAll() {
+        return findWhere(row -> true);
+    }
+
+    @Override
+    public Flux<T> findAllById(Iterable<ID> ids) {
+        return Flux.defer(() -> Flux.fromIterable(ids).mapNotNull(rows::get));
+    }
+
+    @Override
+    public Flux<T> findAllById(Publisher<ID> idStream) {
+        return Flux.from(idStream).mapNotNull(rows::get);
+    }
+
+    @Override
+    public Mono<Long> count() {
+        return Mono.fromSupplier(() -> (long) rows.size());
+    }
+
+    @Override
+    public Mono<Void> deleteById(ID id) {
+        return Mono.fromRunnable(() -> remove(id));
+    }
+
+    @Override
+    public Mono<Void> deleteById(Publisher<ID> id) {
+        return Mono.from(id).flatMap(this::deleteById);
+    }
+
+    @Override
+    public Mono<Void> delete(T entity) {
+        return deleteById(idOf.apply(entity));
+    }
+
+    @Override
+    public Mono<Void> deleteAllById(Iterable<? extends ID> ids) {
+        return Mono.fromRunnable(() -> ids.forEach(this::remove));
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Iterable<? extends T> entities) {
+        return Mono.fromRunnable(() -> entities.forEach(entity -> remove(idOf.apply(entity))));
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Publisher<? extends T> entityStream) {
+        return Flux.from(entityStream).doOnNext(entity -> remove(idOf.apply(entity))).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return Mono.fromRunnable(() -> rows.keySet().forEach(this::remove));
+    }
+
+    private <S extends T> S store(S entity) {
+        rows.compute(idOf.apply(entity), (id, previous) -> {
+            reindex(id, previous, entity);
+            return entity;
+        });
+        return entity;
+    }
+
+    private void remove(ID id) {
+        rows.computeIfPresent(id, (key, previous) -> {
+            reindex(key, previous, null);
+            return null;
+        });
+    }
+
+    private List<T> rowsOf(Iterable<ID> ids, Predicate<T> filter) {
+        List<T> result = new ArrayList<>();
+        for (ID id : ids) {
+            T row = rows.get(id);
+            if (row != null && filter.test(row)) {
+                result.add(row);
+            }
+        }
+        return result;
+    }
+
+    private void reindex(ID id, T previous, T current) {
+        for (InMemoryIndex<T, ID, ?> index : indexes) {
+            index.update(id, previous, current);
+        }
+    }
+}
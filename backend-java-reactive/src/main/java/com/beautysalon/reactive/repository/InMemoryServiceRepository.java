@@ -0,0 +1,58 @@
+package com.beautysalon.reactive.repository;
+
+import com.beautysalon.reactive.model.Service;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * {@link ServiceRepository} for the {@code inmem} profile, with services indexed by category and by active flag.
+ */
+@Repository
+@Profile("inmem")
+public class InMemoryServiceRepository extends InMemoryReactiveRepository<Service, UUID> implements ServiceRepository {
+
+    private final InMemoryIndex<Service, UUID, String> byCategory;
+    private final InMemoryIndex<Service, UUID, Boolean> byActive;
+
+    public InMemoryServiceRepository() {
+        this(InMemoryIndex.hashed(Service::category), InMemoryIndex.hashed(Service::active));
+    }
+
+    private InMemoryServiceRepository(InMemoryIndex<Service, UUID, String> byCategory,
+                                      InMemoryIndex<Service, UUID, Boolean> byActive) {
+        super(Service::id, byCategory, byActive);
+        this.byCategory = byCategory;
+        this.byActive = byActive;
+    }
+
+    @Override
+    public Flux<Service> findByActiveTrue() {
+        return findByIndex(byActive, Boolean.TRUE);
+    }
+
+    @Override
+    public Flux<Service> findByCategoryAndActiveTrue(String category) {
+        return findByIndex(byCategory, category, service -> Boolean.TRUE.equals(service.active()));
+    }
+
+    @Override
+    public Flux<Service> findByCategory(String category) {
+        return findByIndex(byCategory, category);
+    }
+
+    @Override
+    public Flux<Service> findByNameContainingIgnoreCase(String name) {
+        String needle = name.toLowerCase(Locale.ROOT);
+        return findWhere(service -> service.name() != null && service.name().toLowerCase(Locale.ROOT).contains(needle));
+    }
+
+    @Override
+    public Flux<Service> findAllByOrderByCreatedAtDesc() {
+        return findAllSorted(Comparator.comparing(Service::createdAt, Comparator.nullsLast(Comparator.reverseOrder())));
+    }
+}
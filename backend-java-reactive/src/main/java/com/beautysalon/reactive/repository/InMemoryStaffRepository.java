@@ -0,0 +1,67 @@
+package com.beautysalon.reactive.repository;
+
+import com.beautysalon.reactive.model.Staff;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * {@link StaffRepository} for the {@code inmem} profile, with staff indexed by role, by active flag and by email.
+ */
+@Repository
+@Profile("inmem")
+public class InMemoryStaffRepository extends InMemoryReactiveRepository<Staff, UUID> implements StaffRepository {
+
+    private final InMemoryIndex<Staff, UUID, String> byRole;
+    private final InMemoryIndex<Staff, UUID, Boolean> byActive;
+    private final InMemoryIndex<Staff, UUID, String> byEmail;
+
+    public InMemoryStaffRepository() {
+        this(InMemoryIndex.hashed(Staff::role), InMemoryIndex.hashed(Staff::active), InMemoryIndex.hashed(Staff::email));
+    }
+
+    private InMemoryStaffRepository(InMemoryIndex<Staff, UUID, String> byRole,
+                                    InMemoryIndex<Staff, UUID, Boolean> byActive,
+                                    InMemoryIndex<Staff, UUID, String> byEmail) {
+        super(Staff::id, byRole, byActive, byEmail);
+        this.byRole = byRole;
+        this.byActive = byActive;
+        this.byEmail = byEmail;
+    }
+
+    @Override
+    public Flux<Staff> findByActiveTrue() {
+        return findByIndex(byActive, Boolean.TRUE);
+    }
+
+    @Override
+    public Flux<Staff> findByRole(String role) {
+        return findByIndex(byRole, role);
+    }
+
+    @Override
+    public Flux<Staff> findByRoleAndActiveTrue(String role) {
+        return findByIndex(byRole, role, staff -> Boolean.TRUE.equals(staff.active()));
+    }
+
+    @Override
+    public Mono<Staff> findByEmail(String email) {
+        return findByIndex(byEmail, email).next();
+    }
+
+    @Override
+    public Flux<Staff> findByNameContainingIgnoreCase(String name) {
+        String needle = name.toLowerCase(Locale.ROOT);
+        return findWhere(staff -> staff.name() != null && staff.name().toLowerCase(Locale.ROOT).contains(needle));
+    }
+
+    @Override
+    public Flux<Staff> findAllByOrderByCreatedAtDesc() {
+        return findAllSorted(Comparator.comparing(Staff::createdAt, Comparator.nullsLast(Comparator.reverseOrder())));
+    }
+}
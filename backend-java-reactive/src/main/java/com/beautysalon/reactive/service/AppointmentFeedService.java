@@ -0,0 +1,183 @@
+package com.beautysalon.reactive.service;
+
+import com.beautysalon.reactive.dto.AppointmentEvent;
+import com.beautysalon.reactive.model.Appointment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Live feed of today's appointments, shared by every subscriber.
+ *
+ * Changes are published by {@link AppointmentService} into one multicast replay sink, and
+ * applied to an in-memory view of today's appointments that is loaded once per day. A new
+ * subscriber receives the view as a snapshot followed by the changes published after it;
+ * the short replay history covers the instant between taking the snapshot and attaching to
+ * the sink. Each subscriber gets a bounded buffer: a consumer that falls further behind is
+ * terminated with an overflow error instead of holding memory for everybody else.
+ */
+@Service
+public class AppointmentFeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AppointmentFeedService.class);
+
+    private final AppointmentRangeQueryService rangeQueryService;
+    private final int subscriberBufferSize;
+    private final Clock clock;
+    private final Sinks.Many<AppointmentEvent> sink;
+
+    private long sequence;
+    private volatile TodayView todayView;
+
+    @Autowired
+    public AppointmentFeedService(AppointmentRangeQueryService rangeQueryService,
+                                  @Value("${appointments.feed.replay-size:256}") int replaySize,
+                                  @Value("${appointments.feed.subscriber-buffer-size:512}") int subscriberBufferSize) {
+        this(rangeQueryService, replaySize, subscriberBufferSize, Clock.systemDefaultZone());
+    }
+
+    AppointmentFeedService(AppointmentRangeQueryService rangeQueryService, int replaySize,
+                           int subscriberBufferSize, Clock clock) {
+        this.rangeQueryService = rangeQueryService;
+        this.subscriberBufferSize = subscriberBufferSize;
+        this.clock = clock;
+        this.sink = Sinks.many().replay().limit(replaySize);
+    }
+
+    public void publishCreated(Appointment appointment) {
+        publish(AppointmentEvent.Type.CREATED, null, appointment);
+    }
+
+    public void publishUpdated(Appointment before, Appointment after) {
+        publish(AppointmentEvent.Type.UPDATED, before, after);
+    }
+
+    public void publishDeleted(Appointment appointment) {
+        publish(AppointmentEvent.Type.DELETED, appointment, null);
+    }
+
+    /**
+     * Publishes a status change that was applied with a conditional write, from the row as read
+     * back after it. The previous version is taken from today's view when it has it; while the
+     * view is missing or still loading, the change is published all the same and recorded so
+     * the load cannot overwrite it.
+     */
+    public void publishStatusChanged(Appointment current) {
+        TodayView view = todayView;
+        Appointment before = view != null ? view.entries.get(current.id()) : null;
+        publish(AppointmentEvent.Type.UPDATED, before, current);
+    }
+
+    /**
+     * Today's appointments as {@code SNAPSHOT} events in start-time order, then every
+     * subsequent change to an appointment scheduled today.
+     */
+    public Flux<AppointmentEvent> stream() {
+        return currentView().flatMapMany(view -> {
+            Snapshot snapshot = snapshot(view);
+            Flux<AppointmentEvent> changes = sink.asFlux()
+                .filter(event -> event.sequence() > snapshot.sequence())
+                .onBackpressureBuffer(subscriberBufferSize,
+                    dropped -> logger.warn("Dropping slow appointment feed subscriber at sequence {}", dropped.sequence()),
+                    BufferOverflowStrategy.ERROR);
+            return Flux.mergeSequential(Flux.fromIterable(snapshot.events()), changes);
+        });
+    }
+
+    private synchronized void publish(AppointmentEvent.Type type, Appointment before, Appointment after) {
+        LocalDate today = LocalDate.now(clock);
+        if (!isOn(before, today) && !isOn(after, today)) {
+            return;
+        }
+        TodayView view = todayView;
+        if (view != null && view.date.equals(today)) {
+            view.apply(before, after);
+        }
+        Appointment payload = after != null ? after : before;
+        Sinks.EmitResult result = sink.tryEmitNext(new AppointmentEvent(++sequence, type, payload));
+        if (result.isFailure()) {
+            logger.warn("Failed to publish appointment {} event for {}: {}", type, payload.id(), result);
+        }
+    }
+
+    private synchronized Snapshot snapshot(TodayView view) {
+        List<AppointmentEvent> events = view.entries.values().stream()
+            .sorted(AppointmentRangeQueryService.START_TIME_ORDER)
+            .map(appointment -> new AppointmentEvent(sequence, AppointmentEvent.Type.SNAPSHOT, appointment))
+            .toList();
+        return new Snapshot(sequence, events);
+    }
+
+    private Mono<TodayView> currentView() {
+        LocalDate today = LocalDate.now(clock);
+        TodayView view = todayView;
+        if (view == null || !view.date.equals(today)) {
+            synchronized (this) {
+                view = todayView;
+                if (view == null || !view.date.equals(today)) {
+                    view = new TodayView(today);
+                    todayView = view;
+                }
+            }
+        }
+        return view.loaded;
+    }
+
+    private static boolean isOn(Appointment appointment, LocalDate day) {
+        return appointment != null && appointment.appointmentDate() != null
+            && appointment.appointmentDate().toLocalDate().equals(day);
+    }
+
+    private record Snapshot(long sequence, List<AppointmentEvent> events) {
+    }
+
+    /**
+     * Today's appointments. Changes published while the initial load is still running are
+     * applied first and win over the loaded rows.
+     */
+    private final class TodayView {
+
+        private final LocalDate date;
+        private final Map<UUID, Appointment> entries = new ConcurrentHashMap<>();
+        private final Set<UUID> changedDuringLoad = ConcurrentHashMap.newKeySet();
+        private final Mono<TodayView> loaded;
+
+        private TodayView(LocalDate date) {
+            this.date = date;
+            this.loaded = rangeQueryService.findBetween(date.atStartOfDay(), date.atTime(LocalTime.MAX))
+                .doOnNext(appointment -> {
+                    if (!changedDuringLoad.contains(appointment.id())) {
+                        entries.putIfAbsent(appointment.id(), appointment);
+                    }
+                })
+                .then(Mono.just(this))
+                .cache(ignored -> Duration.ofMillis(Long.MAX_VALUE), error -> Duration.ZERO, () -> Duration.ZERO);
+        }
+
+        private void apply(Appointment before, Appointment after) {
+            UUID id = after != null ? after.id() : before.id();
+            changedDuringLoad.add(id);
+            if (isOn(after, date)) {
+                entries.put(id, after);
+            } else {
+                entries.remove(id);
+            }
+        }
+    }
+}
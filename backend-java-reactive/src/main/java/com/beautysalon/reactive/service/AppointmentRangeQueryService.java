@@ -0,0 +1,126 @@
+package com.beautysalon.reactive.service;
+
+import com.beautysalon.reactive.model.Appointment;
+import com.beautysalon.reactive.model.AppointmentByDay;
+import com.beautysalon.reactive.repository.AppointmentByDayRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * Serves multi-day ranges from the {@code appointments_by_day} query table.
+ *
+ * The range is split into day buckets, each a single partition read. Buckets are queried
+ * in windows of {@code concurrency} consecutive days; the buckets of a window are read in
+ * parallel and merged in start-time order with {@link Flux#mergeComparing}, and the next
+ * window is only started once the previous one is drained. The result is therefore ordered,
+ * keeps at most {@code concurrency} partition reads in flight, and stops querying as soon
+ * as the subscriber cancels (e.g. {@code take(n)} or a closed HTTP connection).
+ */
+@Service
+public class AppointmentRangeQueryService {
+
+    static final Comparator<Appointment> START_TIME_ORDER =
+        Comparator.comparing(Appointment::appointmentDate).thenComparing(Appointment::id);
+
+    private static final int BUCKET_PREFETCH = 32;
+
+    private final AppointmentByDayRepository appointmentByDayRepository;
+    private final int concurrency;
+    private final long maxDays;
+
+    @Autowired
+    public AppointmentRangeQueryService(AppointmentByDayRepository appointmentByDayRepository,
+                                        @Value("${appointments.range.concurrency:4}") int concurrency,
+                                        @Value("${appointments.range.max-days:62}") long maxDays) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("appointments.range.concurrency must be at least 1");
+        }
+        this.appointmentByDayRepository = appointmentByDayRepository;
+        this.concurrency = concurrency;
+        this.maxDays = maxDays;
+    }
+
+    public Flux<Appointment> findBetween(LocalDateTime start, LocalDateTime end) {
+        return query(start, end, row -> true);
+    }
+
+    public Flux<Appointment> findByStaffBetween(UUID staffId, LocalDateTime start, LocalDateTime end) {
+        Objects.requireNonNull(staffId, "staffId");
+        return query(start, end, row -> staffId.equals(row.staffId()));
+    }
+
+    public Mono<Void> index(Appointment appointment) {
+        if (appointment.appointmentDate() == null) {
+            return Mono.empty();
+        }
+        return appointmentByDayRepository.save(AppointmentByDay.from(appointment)).then();
+    }
+
+    /**
+     * Keeps the query table in step with an update. The start time is part of the row key,
+     * so a rescheduled appointment is removed from its old bucket before being re-inserted.
+     */
+    public Mono<Void> reindex(Appointment before, Appointment after) {
+        Mono<Void> removeOld = before.appointmentDate() != null
+                && !before.appointmentDate().equals(after.appointmentDate())
+            ? unindex(before)
+            : Mono.empty();
+        return removeOld.then(index(after));
+    }
+
+    /**
+     * Copies the status of a conditional transition into the query table. The row is keyed by the
+     * start time, so this takes the appointment as read back after the transition; the copy only
+     * applies over an older one, so concurrent transitions settle on the newest status.
+     */
+    public Mono<Void> updateStatus(Appointment appointment) {
+        if (appointment.appointmentDate() == null) {
+            return Mono.empty();
+        }
+        return appointmentByDayRepository.updateStatusIfNewer(appointment.appointmentDate().toLocalDate(),
+            appointment.appointmentDate(), appointment.id(), appointment.status(), appointment.updatedAt()).then();
+    }
+
+    public Mono<Void> unindex(Appointment appointment) {
+        if (appointment.appointmentDate() == null) {
+            return Mono.empty();
+        }
+        return appointmentByDayRepository.delete(AppointmentByDay.from(appointment));
+    }
+
+    private Flux<Appointment> query(LocalDateTime start, LocalDateTime end, Predicate<AppointmentByDay> filter) {
+        if (start == null || end == null || end.isBefore(start)) {
+            return Flux.error(new IllegalArgumentException("Invalid date range"));
+        }
+        long days = ChronoUnit.DAYS.between(start.toLocalDate(), end.toLocalDate()) + 1;
+        if (days > maxDays) {
+            return Flux.error(new IllegalArgumentException("Date range exceeds " + maxDays + " days"));
+        }
+        return Flux.fromStream(() -> start.toLocalDate().datesUntil(end.toLocalDate().plusDays(1)))
+            .buffer(concurrency)
+            .concatMap(window -> mergeWindow(window, start, end, filter));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Flux<Appointment> mergeWindow(List<LocalDate> window, LocalDateTime start, LocalDateTime end,
+                                          Predicate<AppointmentByDay> filter) {
+        Flux<Appointment>[] buckets = window.stream()
+            .map(day -> appointmentByDayRepository.findByDayAndAppointmentDateBetween(day, start, end)
+                .filter(filter)
+                .map(AppointmentByDay::toAppointment))
+            .toArray(Flux[]::new);
+        return Flux.mergeComparing(BUCKET_PREFETCH, START_TIME_ORDER, buckets);
+    }
+}
@@ -1,5 +1,8 @@
 package com.beautysalon.reactive.service;
 
+import com.beautysalon.reactive.dto.AppointmentEvent;
+import com.beautysalon.reactive.dto.StatusTransitionRequest;
+import com.beautysalon.reactive.dto.StatusTransitionResult;
 import com.beautysalon.reactive.model.Appointment;
 import com.beautysalon.reactive.repository.AppointmentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -7,19 +10,30 @@ import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 public class AppointmentService {
 
     private final AppointmentRepository appointmentRepository;
+    private final AppointmentRangeQueryService rangeQueryService;
+    private final AppointmentFeedService feedService;
 
     @Autowired
-    public AppointmentService(AppointmentRepository appointmentRepository) {
+    public AppointmentService(AppointmentRepository appointmentRepository,
+                              AppointmentRangeQueryService rangeQueryService,
+                              AppointmentFeedService feedService) {
         this.appointmentRepository = appointmentRepository;
+        this.rangeQueryService = rangeQueryService;
+        this.feedService = feedService;
     }
 
     public Flux<Appointment> getAllAppointments() {
@@ -37,7 +51,9 @@ public class AppointmentService {
             appointment.staffId(),
             appointment.appointmentDate(),
             appointment.notes()
-        ));
+        ))
+            .flatMap(saved -> rangeQueryService.index(saved).thenReturn(saved))
+            .doOnNext(feedService::publishCreated);
     }
 
     public Mono<Appointment> updateAppointment(UUID id, Appointment appointment) {
@@ -48,12 +64,59 @@ public class AppointmentService {
                     appointment.status(),
                     appointment.notes()
                 );
-                return appointmentRepository.save(updatedAppointment);
+                return appointmentRepository.save(updatedAppointment)
+                    .flatMap(saved -> rangeQueryService.reindex(existingAppointment, saved).thenReturn(saved))
+                    .doOnNext(saved -> feedService.publishUpdated(existingAppointment, saved));
             });
     }
 
+    /**
+     * Moves an appointment to another status with one conditional write instead of
+     * findById + save. When the write was rejected, the row is read to tell a conflicting
+     * status from a missing appointment; when it was applied, it is read for the start time
+     * that keys its day-bucket row, which gets the new status too, and for the feed event.
+     */
+    public Mono<StatusTransitionResult> transitionStatus(UUID id, StatusTransitionRequest request) {
+        return Mono.fromCallable(() -> Appointment.Status.from(request.status()))
+            .flatMap(target -> {
+                Set<String> expectedStatuses = expectedStatuses(target, request.expectedStatus());
+                LocalDateTime updatedAt = LocalDateTime.now();
+                return appointmentRepository.updateStatusIf(id, expectedStatuses, target.name(), updatedAt)
+                    .flatMap(applied -> applied
+                        ? appointmentRepository.findById(id)
+                            .flatMap(current -> rangeQueryService.updateStatus(current).thenReturn(current))
+                            .doOnNext(feedService::publishStatusChanged)
+                            .then(Mono.fromSupplier(() -> StatusTransitionResult.applied(id, target.name(), updatedAt)))
+                        : appointmentRepository.findById(id)
+                            .map(current -> StatusTransitionResult.conflict(id, current.status()))
+                            .defaultIfEmpty(StatusTransitionResult.notFound(id)));
+            });
+    }
+
+    private static Set<String> expectedStatuses(Appointment.Status target, String expectedStatus) {
+        Set<Appointment.Status> sources = target.allowedSources();
+        if (expectedStatus != null) {
+            Appointment.Status expected = Appointment.Status.from(expectedStatus);
+            if (!expected.canTransitionTo(target)) {
+                throw new IllegalArgumentException("Cannot transition from " + expected + " to " + target);
+            }
+            sources = Set.of(expected);
+        }
+        if (sources.isEmpty()) {
+            throw new IllegalArgumentException("No transition leads to " + target);
+        }
+        return sources.stream().map(Appointment.Status::name).collect(Collectors.toSet());
+    }
+
     public Mono<Void> deleteAppointment(UUID id) {
-        return appointmentRepository.deleteById(id);
+        return appointmentRepository.findById(id)
+            .flatMap(existingAppointment -> appointmentRepository.deleteById(id)
+                .then(rangeQueryService.unindex(existingAppointment))
+                .doOnSuccess(done -> feedService.publishDeleted(existingAppointment)));
+    }
+
+    public Flux<AppointmentEvent> getAppointmentFeed() {
+        return feedService.stream();
     }
 
     public Flux<Appointment> getAppointmentsByCustomer(UUID customerId) {
@@ -90,4 +153,31 @@ public class AppointmentService {
         LocalDateTime endOfDay = date.atTime(LocalTime.MAX);
         return appointmentRepository.findByStaffIdAndAppointmentDateBetween(staffId, startOfDay, endOfDay);
     }
+
+    public Flux<Appointment> getAppointmentsInRange(LocalDate from, LocalDate to, UUID staffId) {
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.atTime(LocalTime.MAX);
+        return staffId == null
+            ? rangeQueryService.findBetween(start, end)
+            : rangeQueryService.findByStaffBetween(staffId, start, end);
+    }
+
+    public Flux<Appointment> getAppointmentsForWeek(LocalDate date, UUID staffId) {
+        LocalDate monday = date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        return getAppointmentsInRange(monday, monday.plusDays(6), staffId);
+    }
+
+    public Flux<Appointment> getAppointmentsForMonth(YearMonth month, UUID staffId) {
+        return getAppointmentsInRange(month.atDay(1), month.atEndOfMonth(), staffId);
+    }
+
+    /**
+     * Re-populates the day-bucket query table from {@code appointments}, for rows written
+     * before the table existed. Emits the number of appointments indexed.
+     */
+    public Mono<Long> rebuildDayIndex() {
+        return appointmentRepository.findAll()
+            .flatMap(appointment -> rangeQueryService.index(appointment).thenReturn(appointment), 8)
+            .count();
+    }
 }
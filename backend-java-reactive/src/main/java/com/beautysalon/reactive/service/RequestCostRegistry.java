@@ -0,0 +1,224 @@
+package com.beautysalon.reactive.service;
+
+import com.beautysalon.common.monitoring.EndpointLatencyRegistry;
+import com.beautysalon.reactive.dto.EndpointCost;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-route heap allocation and CPU time of sampled exchanges.
+ * A reactive request has no thread of its own, so its cost is a {@link Tally} of segments: each signal
+ * (subscribe, request, onNext, onComplete, ...) delivered on the request's behalf adds what the delivering
+ * thread allocated and spent on CPU meanwhile, read from its {@code ThreadMXBean} counters.
+ * {@link com.beautysalon.reactive.config.RequestTimingWebFilter} opens the tally and records it once the
+ * exchange terminates. Only a fraction of exchanges is sampled ({@code monitoring.request-cost.sample-rate}).
+ */
+@Component
+public class RequestCostRegistry {
+
+    static final String ALLOCATED_BYTES = "beauty_salon.request.allocated_bytes";
+    static final String CPU_TIME = "beauty_salon.request.cpu_time";
+
+    private static final double[] PERCENTILES = {0.5, 0.99};
+
+    /**
+     * Cost accumulated by one exchange. Segments nest: a signal delivered synchronously inside another
+     * segment on the same thread is already counted by the outer one.
+     */
+    public static final class Tally {
+
+        private static final ThreadLocal<Segment> SEGMENT = ThreadLocal.withInitial(Segment::new);
+
+        private final com.sun.management.ThreadMXBean threads;
+        private final LongAdder allocatedBytes = new LongAdder();
+        private final LongAdder cpuNanos = new LongAdder();
+        private final LongAdder segments = new LongAdder();
+
+        Tally(com.sun.management.ThreadMXBean threads) {
+            this.threads = threads;
+        }
+
+        public void enter() {
+            Segment segment = SEGMENT.get();
+            if (segment.depth++ == 0) {
+                segment.allocatedBytes = threads.getCurrentThreadAllocatedBytes();
+                segment.cpuNanos = threads.getCurrentThreadCpuTime();
+            }
+        }
+
+        public void exit() {
+            Segment segment = SEGMENT.get();
+            if (--segment.depth > 0) {
+                return;
+            }
+            if (segment.allocatedBytes >= 0) {
+                allocatedBytes.add(Math.max(0, threads.getCurrentThreadAllocatedBytes() - segment.allocatedBytes));
+            }
+            if (segment.cpuNanos >= 0) {
+                cpuNanos.add(Math.max(0, threads.getCurrentThreadCpuTime() - segment.cpuNanos));
+            }
+            segments.increment();
+            Runnable pending = segment.pending;
+            if (pending != null) {
+                segment.pending = null;
+                pending.run();
+            }
+        }
+
+        /**
+         * Run {@code action} once the current thread's outermost segment has been added to the tally,
+         * or right away outside any segment.
+         */
+        public void afterSegment(Runnable action) {
+            Segment segment = SEGMENT.get();
+            if (segment.depth == 0) {
+                action.run();
+            } else if (segment.pending == null) {
+                segment.pending = action;
+            } else {
+                Runnable earlier = segment.pending;
+                segment.pending = () -> {
+                    earlier.run();
+                    action.run();
+                };
+            }
+        }
+
+        public long getAllocatedBytes() {
+            return allocatedBytes.sum();
+        }
+
+        public long getCpuNanos() {
+            return cpuNanos.sum();
+        }
+
+        public long getSegments() {
+            return segments.sum();
+        }
+    }
+
+    private static final class Segment {
+        private int depth;
+        private long allocatedBytes;
+        private long cpuNanos;
+        private Runnable pending;
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final com.sun.management.ThreadMXBean threads;
+    private final boolean enabled;
+    private final double sampleRate;
+    private final int maxRoutes;
+    private final Map<String, DistributionSummary> allocations = new ConcurrentHashMap<>();
+    private final Map<String, Timer> cpuTimes = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RequestCostRegistry(MeterRegistry meterRegistry,
+                               @Value("${monitoring.request-cost.enabled:true}") boolean enabled,
+                               @Value("${monitoring.request-cost.sample-rate:0.1}") double sampleRate,
+                               @Value("${monitoring.latency.max-routes:200}") int maxRoutes) {
+        this.meterRegistry = meterRegistry;
+        this.threads = ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                ? bean : null;
+        this.enabled = enabled && threads != null;
+        this.sampleRate = sampleRate;
+        this.maxRoutes = maxRoutes;
+    }
+
+    /**
+     * A fresh tally if this exchange is sampled, or {@code null} to skip it.
+     */
+    public Tally newTally() {
+        if (!enabled || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return null;
+        }
+        return new Tally(threads);
+    }
+
+    public void record(String route, Tally tally) {
+        if (tally == null || tally.getSegments() == 0) {
+            return;
+        }
+        String key = routeKey(route);
+        allocations.computeIfAbsent(key, this::allocationSummary).record(tally.getAllocatedBytes());
+        cpuTimes.computeIfAbsent(key, this::cpuTimer).record(tally.getCpuNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    public double getSampleRate() {
+        return enabled ? sampleRate : 0.0;
+    }
+
+    /**
+     * Cost per route, highest mean CPU time first.
+     */
+    public List<EndpointCost> snapshot() {
+        List<EndpointCost> endpoints = new ArrayList<>();
+        allocations.forEach((route, allocation) -> {
+            HistogramSnapshot bytes = allocation.takeSnapshot();
+            HistogramSnapshot cpuTime = cpuTimes.get(route).takeSnapshot();
+            endpoints.add(new EndpointCost(
+                    route,
+                    bytes.count(),
+                    bytes.mean(),
+                    percentile(bytes, 0.5, null),
+                    percentile(bytes, 0.99, null),
+                    cpuTime.mean(TimeUnit.MILLISECONDS),
+                    percentile(cpuTime, 0.5, TimeUnit.MILLISECONDS),
+                    percentile(cpuTime, 0.99, TimeUnit.MILLISECONDS)));
+        });
+        endpoints.sort(Comparator.comparingDouble(EndpointCost::cpuMillisMean).reversed()
+                .thenComparing(EndpointCost::route));
+        return endpoints;
+    }
+
+    private String routeKey(String route) {
+        if (allocations.containsKey(route)) {
+            return route;
+        }
+        return allocations.size() < maxRoutes ? route : EndpointLatencyRegistry.OTHER_ROUTE;
+    }
+
+    private DistributionSummary allocationSummary(String route) {
+        // registered together so snapshot() always finds both meters for a route
+        cpuTimes.computeIfAbsent(route, this::cpuTimer);
+        return DistributionSummary.builder(ALLOCATED_BYTES)
+                .description("Heap bytes allocated on behalf of the exchange, sampled exchanges only")
+                .baseUnit("bytes")
+                .tag("route", route)
+                .publishPercentiles(PERCENTILES)
+                .register(meterRegistry);
+    }
+
+    private Timer cpuTimer(String route) {
+        return Timer.builder(CPU_TIME)
+                .description("CPU time spent on behalf of the exchange, sampled exchanges only")
+                .tag("route", route)
+                .publishPercentiles(PERCENTILES)
+                .register(meterRegistry);
+    }
+
+    private static double percentile(HistogramSnapshot snapshot, double percentile, TimeUnit unit) {
+        for (ValueAtPercentile value : snapshot.percentileValues()) {
+            if (value.percentile() == percentile) {
+                return unit == null ? value.value() : value.value(unit);
+            }
+        }
+        return 0.0;
+    }
+}
@@ -0,0 +1,95 @@
+package com.beautysalon.reactive.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.blockhound.BlockingMethod;
+import reactor.blockhound.BlockingOperationError;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.lang.reflect.Modifier;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * BlockHound is installed for the whole test run by its JUnit platform listener, in failing mode.
+ */
+class BlockingCallDetectorTest {
+
+    private static Throwable runOnThread(String name, Runnable task) throws InterruptedException {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread thread = new Thread(() -> {
+            try {
+                task.run();
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        }, name);
+        thread.start();
+        thread.join();
+        return failure.get();
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void blockingOnReactorThread_ShouldFailInTests() {
+        StepVerifier.create(Mono.delay(Duration.ofMillis(1)).doOnNext(tick -> sleep()))
+            .expectError(BlockingOperationError.class)
+            .verify();
+    }
+
+    @Test
+    void blockingOnUndertowIoThread_ShouldFailInTests() throws InterruptedException {
+        Throwable failure = runOnThread("XNIO-1 I/O-2", BlockingCallDetectorTest::sleep);
+
+        assertInstanceOf(BlockingOperationError.class, failure);
+    }
+
+    @Test
+    void blockingOnUndertowWorkerThread_ShouldBeAllowed() throws InterruptedException {
+        assertNull(runOnThread("XNIO-1 task-4", BlockingCallDetectorTest::sleep));
+    }
+
+    @Test
+    void randomUuidOnReactorThread_ShouldBeAllowed() {
+        StepVerifier.create(Mono.fromSupplier(UUID::randomUUID).subscribeOn(Schedulers.parallel()))
+            .expectNextCount(1)
+            .verifyComplete();
+    }
+
+    @Test
+    void undertowThreadNames_ShouldBeRecognised() {
+        assertTrue(ReactiveBlockHoundIntegration.isUndertowIoThread(new Thread("XNIO-1 I/O-1")));
+        assertFalse(ReactiveBlockHoundIntegration.isUndertowIoThread(new Thread("XNIO-1 task-1")));
+        assertFalse(ReactiveBlockHoundIntegration.isUndertowIoThread(new Thread("main")));
+    }
+
+    @Test
+    void onBlockingCall_ShouldCountPerMethod() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        BlockingCallDetector detector = new BlockingCallDetector(registry, false, 60_000);
+        BlockingMethod sleepMethod = new BlockingMethod("java/lang/Thread", "sleep", Modifier.STATIC);
+
+        detector.onBlockingCall(sleepMethod);
+        detector.onBlockingCall(sleepMethod);
+
+        assertEquals(2.0, registry.get("beauty_salon.reactor.blocking_calls")
+            .tag("method", sleepMethod.getClassName() + ".sleep")
+            .counter().count());
+    }
+}
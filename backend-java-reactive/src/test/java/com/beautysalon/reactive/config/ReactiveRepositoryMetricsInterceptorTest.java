@@ -0,0 +1,163 @@
+package com.beautysalon.reactive.config;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.beautysalon.common.cassandra.RepositoryMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.cassandra.repository.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReactiveRepositoryMetricsInterceptorTest {
+
+    interface BookingRepository {
+
+        @Query("SELECT * FROM bookings WHERE day = ?0")
+        Flux<String> findByDay(LocalDate day);
+
+        Mono<String> findById(UUID id);
+
+        Mono<Boolean> existsById(UUID id);
+
+        Flux<String> findAll();
+    }
+
+    static class InMemoryBookingRepository implements BookingRepository {
+
+        @Override
+        public Flux<String> findByDay(LocalDate day) {
+            return Flux.just("a", "b", "c");
+        }
+
+        @Override
+        public Mono<String> findById(UUID id) {
+            return Mono.error(new IllegalStateException("node down"));
+        }
+
+        @Override
+        public Mono<Boolean> existsById(UUID id) {
+            return Mono.just(true);
+        }
+
+        @Override
+        public Flux<String> findAll() {
+            return Flux.interval(Duration.ofMillis(1)).map(String::valueOf);
+        }
+    }
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final ListAppender<ILoggingEvent> slowLog = new ListAppender<>();
+    private final Logger slowLogger = (Logger) LoggerFactory.getLogger("com.beautysalon.repository.SlowQueryLog");
+
+    @BeforeEach
+    void setUp() {
+        slowLog.start();
+        slowLogger.addAppender(slowLog);
+    }
+
+    @AfterEach
+    void tearDown() {
+        slowLogger.detachAppender(slowLog);
+    }
+
+    private BookingRepository instrumented(long thresholdMillis) {
+        RepositoryMetrics metrics = new RepositoryMetrics(registry, thresholdMillis, 10_000,
+            Clock.fixed(Instant.parse("2025-03-14T10:00:00Z"), ZoneOffset.UTC));
+        ProxyFactory proxyFactory = new ProxyFactory(new InMemoryBookingRepository());
+        proxyFactory.addAdvice(new ReactiveRepositoryMetricsInterceptor("BookingRepository", metrics));
+        return (BookingRepository) proxyFactory.getProxy();
+    }
+
+    private double timerCount(String method, String outcome) {
+        return registry.get("beauty_salon.repository.time").tags("method", method, "outcome", outcome).timer().count();
+    }
+
+    @Test
+    void flux_ShouldBeTimedOnCompletionAndCountRows() {
+        BookingRepository repository = instrumented(60_000);
+        Flux<String> bookings = repository.findByDay(LocalDate.of(2025, 3, 14));
+
+        assertEquals(0, timerCount("findByDay", "success"));
+        StepVerifier.create(bookings).expectNextCount(3).verifyComplete();
+
+        assertEquals(1, timerCount("findByDay", "success"));
+        assertEquals(3.0, registry.get("beauty_salon.repository.rows").tag("method", "findByDay").summary().totalAmount());
+    }
+
+    @Test
+    void eachSubscription_ShouldBeTimedSeparately() {
+        Flux<String> bookings = instrumented(60_000).findByDay(LocalDate.of(2025, 3, 14));
+
+        StepVerifier.create(bookings).expectNextCount(3).verifyComplete();
+        StepVerifier.create(bookings).expectNextCount(3).verifyComplete();
+
+        assertEquals(2, timerCount("findByDay", "success"));
+    }
+
+    @Test
+    void mono_ShouldRecordErrorsAndFlagsWithoutRows() {
+        BookingRepository repository = instrumented(60_000);
+
+        StepVerifier.create(repository.findById(UUID.randomUUID())).expectError(IllegalStateException.class).verify();
+        StepVerifier.create(repository.existsById(UUID.randomUUID())).expectNext(true).verifyComplete();
+
+        assertEquals(1, timerCount("findById", "error"));
+        assertEquals(1, timerCount("existsById", "success"));
+        assertEquals(0.0, registry.get("beauty_salon.repository.rows").tag("method", "existsById").summary().totalAmount());
+    }
+
+    @Test
+    void cancellation_ShouldBeRecordedAsCancelled() {
+        StepVerifier.create(instrumented(60_000).findAll().take(2))
+            .expectNextCount(2)
+            .verifyComplete();
+
+        assertEquals(1, timerCount("findAll", "cancelled"));
+    }
+
+    @Test
+    void slowCalls_ShouldBeLoggedWithCqlAndSampled() {
+        BookingRepository repository = instrumented(0);
+
+        StepVerifier.create(repository.findByDay(LocalDate.of(2025, 3, 14))).expectNextCount(3).verifyComplete();
+        StepVerifier.create(repository.findByDay(LocalDate.of(2025, 3, 15))).expectNextCount(3).verifyComplete();
+
+        assertEquals(1, slowLog.list.size());
+        String entry = slowLog.list.get(0).getFormattedMessage();
+        assertTrue(entry.contains("BookingRepository.findByDay"));
+        assertTrue(entry.contains("cql=[SELECT * FROM bookings WHERE day = ?0]"));
+        assertTrue(entry.contains("params=[LocalDate]"));
+        assertEquals(2.0, registry.get("beauty_salon.repository.slow").tag("method", "findByDay").counter().count());
+    }
+
+    @Test
+    void postProcessor_ShouldInstrumentWithTheReactiveInterceptor() {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("repositoryMetrics", new RepositoryMetrics(registry, 60_000, 10_000));
+        ReactiveRepositoryMetricsPostProcessor postProcessor =
+            new ReactiveRepositoryMetricsPostProcessor(beanFactory.getBeanProvider(RepositoryMetrics.class));
+
+        assertInstanceOf(ReactiveRepositoryMetricsInterceptor.class,
+            postProcessor.interceptorFor("BookingRepository", beanFactory.getBean(RepositoryMetrics.class)));
+    }
+}
@@ -0,0 +1,108 @@
+package com.beautysalon.reactive.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ReactorMetricsPostProcessorTest {
+
+    @Service
+    static class BookingService {
+
+        public Flux<String> findAll() {
+            return Flux.just("a", "b", "c");
+        }
+
+        public Mono<String> findOne() {
+            return Mono.error(new IllegalStateException("not found"));
+        }
+
+        public String describe() {
+            return "plain";
+        }
+    }
+
+    @RestController
+    static class BookingController {
+
+        public Mono<String> hello() {
+            return Mono.just("hello");
+        }
+    }
+
+    private MeterRegistry registry;
+    private ReactorMetricsPostProcessor postProcessor;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", registry);
+        postProcessor = new ReactorMetricsPostProcessor(beanFactory.getBeanProvider(MeterRegistry.class));
+    }
+
+    @Test
+    void servicePublishers_ShouldRecordDurationAndElementCount() {
+        BookingService service = (BookingService) postProcessor.postProcessAfterInitialization(new BookingService(), "bookingService");
+
+        StepVerifier.create(service.findAll()).expectNextCount(3).verifyComplete();
+
+        assertEquals(1, registry.get("beauty_salon.reactor.flow.duration")
+            .tags("layer", "service", "component", "BookingService", "method", "findAll", "status", "completed")
+            .timer().count());
+        assertEquals(3, registry.get("beauty_salon.reactor.onNext.delay")
+            .tags("component", "BookingService", "method", "findAll")
+            .timer().count());
+    }
+
+    @Test
+    void failedPublishers_ShouldBeTaggedWithErrorStatus() {
+        BookingService service = (BookingService) postProcessor.postProcessAfterInitialization(new BookingService(), "bookingService");
+
+        StepVerifier.create(service.findOne()).expectError(IllegalStateException.class).verify();
+
+        assertEquals(1, registry.get("beauty_salon.reactor.flow.duration")
+            .tags("method", "findOne", "status", "error")
+            .timer().count());
+    }
+
+    @Test
+    void controllerPublishers_ShouldBeTaggedAsControllerLayer() {
+        BookingController controller =
+            (BookingController) postProcessor.postProcessAfterInitialization(new BookingController(), "bookingController");
+
+        StepVerifier.create(controller.hello()).expectNext("hello").verifyComplete();
+
+        assertEquals(1, registry.get("beauty_salon.reactor.flow.duration")
+            .tags("layer", "controller", "component", "BookingController", "method", "hello")
+            .timer().count());
+    }
+
+    @Test
+    void nonReactiveResults_ShouldPassThrough() {
+        BookingService service = (BookingService) postProcessor.postProcessAfterInitialization(new BookingService(), "bookingService");
+
+        assertEquals("plain", service.describe());
+        assertNull(registry.find("beauty_salon.reactor.flow.duration").tag("method", "describe").timer());
+    }
+
+    @Test
+    void otherBeans_ShouldNotBeProxied() {
+        Object plain = new Object();
+        String frameworkBean = "not ours";
+
+        assertSame(plain, postProcessor.postProcessAfterInitialization(plain, "plain"));
+        assertSame(frameworkBean, postProcessor.postProcessAfterInitialization(frameworkBean, "frameworkBean"));
+    }
+}
@@ -0,0 +1,125 @@
+package com.beautysalon.reactive.config;
+
+import com.beautysalon.common.monitoring.EndpointLatencyRegistry;
+import com.beautysalon.reactive.service.RequestCostRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class RequestTimingWebFilterTest {
+
+    @Mock
+    private EndpointLatencyRegistry latencyRegistry;
+
+    @Mock
+    private RequestCostRegistry costRegistry;
+
+    private RequestTimingWebFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new RequestTimingWebFilter(latencyRegistry, costRegistry);
+    }
+
+    private static WebFilterChain matching(String pattern) {
+        return exchange -> {
+            exchange.getAttributes().put(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE,
+                PathPatternParser.defaultInstance.parse(pattern));
+            return Mono.empty();
+        };
+    }
+
+    @Test
+    void filter_ShouldRecordMatchedRoutePattern() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/customers/42"));
+
+        StepVerifier.create(filter.filter(exchange, matching("/api/customers/{id}")))
+            .verifyComplete();
+
+        verify(latencyRegistry).record(eq("GET /api/customers/{id}"), anyLong());
+    }
+
+    @Test
+    void filter_ShouldRecordUnmatchedRequests() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/nope"));
+
+        StepVerifier.create(filter.filter(exchange, ex -> Mono.empty()))
+            .verifyComplete();
+
+        verify(latencyRegistry).record(eq(EndpointLatencyRegistry.UNMATCHED_ROUTE), anyLong());
+    }
+
+    @Test
+    void filter_ShouldRecordFailedExchanges() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/appointments"));
+        WebFilterChain failing = ex -> matching("/api/appointments").filter(ex)
+            .then(Mono.error(new IllegalStateException("boom")));
+
+        StepVerifier.create(filter.filter(exchange, failing))
+            .expectError(IllegalStateException.class)
+            .verify();
+
+        verify(latencyRegistry).record(eq("POST /api/appointments"), anyLong());
+    }
+
+    @Test
+    void filter_ShouldSkipEventStreams() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/appointments/stream"));
+        exchange.getResponse().getHeaders().setContentType(MediaType.TEXT_EVENT_STREAM);
+
+        StepVerifier.create(filter.filter(exchange, matching("/api/appointments/stream")))
+            .verifyComplete();
+
+        verify(latencyRegistry, never()).record(anyString(), anyLong());
+    }
+
+    @Test
+    void filter_ShouldRecordCostOfSampledExchanges() {
+        RequestCostRegistry sampling = new RequestCostRegistry(new SimpleMeterRegistry(), true, 1.0, 10);
+        filter = new RequestTimingWebFilter(latencyRegistry, sampling);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/customers"));
+        WebFilterChain allocating = ex -> matching("/api/customers").filter(ex)
+            .then(Mono.fromSupplier(() -> new byte[256 * 1024]))
+            .then();
+
+        StepVerifier.create(filter.filter(exchange, allocating))
+            .verifyComplete();
+
+        assertEquals(1, sampling.snapshot().size());
+        assertEquals("GET /api/customers", sampling.snapshot().get(0).route());
+        assertTrue(sampling.snapshot().get(0).allocatedBytesMean() >= 256 * 1024);
+    }
+
+    @Test
+    void filter_ShouldNotRecordCostOfEventStreams() {
+        RequestCostRegistry sampling = new RequestCostRegistry(new SimpleMeterRegistry(), true, 1.0, 10);
+        filter = new RequestTimingWebFilter(latencyRegistry, sampling);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/appointments/stream"));
+        exchange.getResponse().getHeaders().setContentType(MediaType.TEXT_EVENT_STREAM);
+
+        StepVerifier.create(filter.filter(exchange, matching("/api/appointments/stream")))
+            .verifyComplete();
+
+        assertTrue(sampling.snapshot().isEmpty());
+    }
+}
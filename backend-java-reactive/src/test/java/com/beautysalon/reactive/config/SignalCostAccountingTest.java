@@ -0,0 +1,65 @@
+package com.beautysalon.reactive.config;
+
+import com.beautysalon.reactive.service.RequestCostRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SignalCostAccountingTest {
+
+    private RequestCostRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new RequestCostRegistry(new SimpleMeterRegistry(), true, 1.0, 10);
+    }
+
+    @Test
+    void exchange_ShouldChargeSignalsDeliveredOnOtherThreads() {
+        RequestCostRegistry.Tally tally = registry.newTally();
+        AtomicLong allocatedAtTermination = new AtomicLong(-1);
+        // the allocation happens on a parallel worker, after the subscribing thread has left the chain
+        Mono<Void> work = SignalCostAccounting.mono(Mono.just(1).publishOn(Schedulers.parallel()))
+            .map(i -> new byte[256 * 1024])
+            .then();
+
+        StepVerifier.create(SignalCostAccounting.exchange(work, tally,
+                () -> allocatedAtTermination.set(tally.getAllocatedBytes())))
+            .verifyComplete();
+
+        assertTrue(tally.getSegments() >= 2);
+        assertTrue(allocatedAtTermination.get() >= 256 * 1024);
+    }
+
+    @Test
+    void exchange_ShouldRunTerminationOnceAfterSynchronousCompletion() {
+        RequestCostRegistry.Tally tally = registry.newTally();
+        AtomicLong terminations = new AtomicLong();
+        AtomicLong segmentsAtTermination = new AtomicLong();
+
+        StepVerifier.create(SignalCostAccounting.exchange(Mono.empty(), tally, () -> {
+                terminations.incrementAndGet();
+                segmentsAtTermination.set(tally.getSegments());
+            }))
+            .verifyComplete();
+
+        assertEquals(1, terminations.get());
+        assertEquals(1, segmentsAtTermination.get());
+    }
+
+    @Test
+    void flux_ShouldPassThroughOutsideSampledExchanges() {
+        StepVerifier.create(SignalCostAccounting.flux(Flux.just("a", "b")))
+            .expectNext("a", "b")
+            .verifyComplete();
+    }
+}
@@ -8,6 +8,7 @@ import com.beautysalon.reactive.repository.CustomerRepository;
 import com.beautysalon.reactive.repository.ServiceRepository;
 import com.beautysalon.reactive.repository.StaffRepository;
 import com.beautysalon.reactive.repository.AppointmentRepository;
+import com.beautysalon.reactive.repository.AppointmentByDayRepository;
 import org.mockito.Mockito;
 
 @TestConfiguration
@@ -37,4 +38,10 @@ public class TestConfig {
     public AppointmentRepository appointmentRepository() {
         return Mockito.mock(AppointmentRepository.class);
     }
+
+    @Bean
+    @Primary
+    public AppointmentByDayRepository appointmentByDayRepository() {
+        return Mockito.mock(AppointmentByDayRepository.class);
+    }
 }
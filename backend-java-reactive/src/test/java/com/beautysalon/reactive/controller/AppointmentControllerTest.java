@@ -1,5 +1,9 @@
 package com.beautysalon.reactive.controller;
 
+import com.beautysalon.reactive.dto.AppointmentEvent;
+import com.beautysalon.reactive.dto.StatusTransitionRequest;
+import com.beautysalon.reactive.dto.StatusTransitionResult;
+import com.beautysalon.reactive.exception.GlobalExceptionHandler;
 import com.beautysalon.reactive.model.Appointment;
 import com.beautysalon.reactive.service.AppointmentService;
 import org.junit.jupiter.api.BeforeEach;
@@ -7,7 +11,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.web.reactive.server.FluxExchangeResult;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -15,8 +22,10 @@ import reactor.test.StepVerifier;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
@@ -270,4 +279,142 @@ class AppointmentControllerTest {
             .expectNext(testAppointment)
             .verifyComplete();
     }
+
+    @Test
+    void transitionStatus_WhenApplied_ShouldReturnOk() {
+        UUID id = testAppointment.id();
+        StatusTransitionRequest request = new StatusTransitionRequest("CONFIRMED", null);
+        when(appointmentService.transitionStatus(eq(id), eq(request)))
+            .thenReturn(Mono.just(StatusTransitionResult.applied(id, "CONFIRMED", LocalDateTime.now())));
+
+        webTestClient.post()
+            .uri("/api/appointments/{id}/transitions", id)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(request)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.outcome").isEqualTo("APPLIED")
+            .jsonPath("$.status").isEqualTo("CONFIRMED");
+    }
+
+    @Test
+    void transitionStatus_WhenConflicting_ShouldReturnConflictWithCurrentStatus() {
+        UUID id = testAppointment.id();
+        StatusTransitionRequest request = new StatusTransitionRequest("CONFIRMED", null);
+        when(appointmentService.transitionStatus(eq(id), eq(request)))
+            .thenReturn(Mono.just(StatusTransitionResult.conflict(id, "CANCELLED")));
+
+        webTestClient.post()
+            .uri("/api/appointments/{id}/transitions", id)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(request)
+            .exchange()
+            .expectStatus().isEqualTo(409)
+            .expectBody()
+            .jsonPath("$.status").isEqualTo("CANCELLED");
+    }
+
+    @Test
+    void transitionStatus_WhenMissing_ShouldReturnNotFound() {
+        UUID id = UUID.randomUUID();
+        StatusTransitionRequest request = new StatusTransitionRequest("CONFIRMED", null);
+        when(appointmentService.transitionStatus(eq(id), eq(request)))
+            .thenReturn(Mono.just(StatusTransitionResult.notFound(id)));
+
+        webTestClient.post()
+            .uri("/api/appointments/{id}/transitions", id)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(request)
+            .exchange()
+            .expectStatus().isNotFound();
+    }
+
+    @Test
+    void transitionStatus_WithInvalidTransition_ShouldReturnBadRequest() {
+        WebTestClient client = WebTestClient.bindToController(new AppointmentController(appointmentService))
+            .controllerAdvice(new GlobalExceptionHandler())
+            .build();
+        UUID id = testAppointment.id();
+        StatusTransitionRequest request = new StatusTransitionRequest("COMPLETED", "SCHEDULED");
+        when(appointmentService.transitionStatus(eq(id), eq(request)))
+            .thenReturn(Mono.error(new IllegalArgumentException("Cannot transition from SCHEDULED to COMPLETED")));
+
+        client.post()
+            .uri("/api/appointments/{id}/transitions", id)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(request)
+            .exchange()
+            .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void getAppointmentsInRange_ShouldReturnAppointments() {
+        LocalDate from = LocalDate.of(2025, 8, 4);
+        LocalDate to = LocalDate.of(2025, 8, 10);
+        when(appointmentService.getAppointmentsInRange(from, to, staffId)).thenReturn(Flux.just(testAppointment));
+
+        webTestClient.get()
+            .uri("/api/appointments/range?from=2025-08-04&to=2025-08-10&staffId={staffId}", staffId)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBodyList(Appointment.class)
+            .hasSize(1);
+    }
+
+    @Test
+    void getAppointmentsForWeek_ShouldReturnAppointments() {
+        when(appointmentService.getAppointmentsForWeek(LocalDate.of(2025, 8, 6), null))
+            .thenReturn(Flux.just(testAppointment));
+
+        webTestClient.get()
+            .uri("/api/appointments/week/2025-08-06")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBodyList(Appointment.class)
+            .hasSize(1);
+    }
+
+    @Test
+    void getAppointmentsForMonth_ShouldReturnAppointments() {
+        when(appointmentService.getAppointmentsForMonth(YearMonth.of(2025, 8), null))
+            .thenReturn(Flux.just(testAppointment));
+
+        webTestClient.get()
+            .uri("/api/appointments/month/2025-08")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBodyList(Appointment.class)
+            .hasSize(1);
+    }
+
+    @Test
+    void streamAppointments_ShouldEmitServerSentEvents() {
+        Appointment walkIn = Appointment.create(customerId, serviceId, staffId, LocalDateTime.now(), null);
+        when(appointmentService.getAppointmentFeed()).thenReturn(Flux.just(
+                new AppointmentEvent(3, AppointmentEvent.Type.SNAPSHOT, testAppointment),
+                new AppointmentEvent(4, AppointmentEvent.Type.CREATED, walkIn))
+            .concatWith(Flux.never()));
+
+        FluxExchangeResult<ServerSentEvent<AppointmentEvent>> result = webTestClient.get()
+            .uri("/api/appointments/stream")
+            .accept(MediaType.TEXT_EVENT_STREAM)
+            .exchange()
+            .expectStatus().isOk()
+            .returnResult(new ParameterizedTypeReference<ServerSentEvent<AppointmentEvent>>() { });
+
+        StepVerifier.create(result.getResponseBody())
+            .assertNext(event -> {
+                assertEquals("3", event.id());
+                assertEquals("snapshot", event.event());
+                assertEquals(testAppointment.id(), event.data().appointment().id());
+            })
+            .assertNext(event -> {
+                assertEquals("4", event.id());
+                assertEquals("created", event.event());
+                assertEquals(walkIn.id(), event.data().appointment().id());
+            })
+            .thenCancel()
+            .verify();
+    }
 }
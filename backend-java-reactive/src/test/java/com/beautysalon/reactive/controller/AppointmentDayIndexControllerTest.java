@@ -0,0 +1,52 @@
+package com.beautysalon.reactive.controller;
+
+import com.beautysalon.reactive.service.AppointmentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AppointmentDayIndexControllerTest {
+
+    private WebTestClient webTestClient;
+
+    @Mock
+    private AppointmentService appointmentService;
+
+    @BeforeEach
+    void setUp() {
+        webTestClient = WebTestClient.bindToController(new AppointmentDayIndexController(appointmentService)).build();
+    }
+
+    @Test
+    void rebuildDayIndex_ShouldReturnIndexedCount() {
+        when(appointmentService.rebuildDayIndex()).thenReturn(Mono.just(42L));
+
+        webTestClient.post()
+            .uri("/api/appointments/day-index/rebuild")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.indexed").isEqualTo(42);
+    }
+
+    @Test
+    void controller_ShouldOnlyBeRegisteredWhenRebuildIsEnabled() {
+        ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withBean(AppointmentService.class, () -> mock(AppointmentService.class))
+            .withUserConfiguration(AppointmentDayIndexController.class);
+
+        runner.run(context -> assertThat(context).doesNotHaveBean(AppointmentDayIndexController.class));
+        runner.withPropertyValues("appointments.day-index.rebuild.enabled=true")
+            .run(context -> assertThat(context).hasSingleBean(AppointmentDayIndexController.class));
+    }
+}
@@ -0,0 +1,91 @@
+package com.beautysalon.reactive.controller;
+
+import com.beautysalon.common.monitoring.EndpointLatency;
+import com.beautysalon.common.monitoring.EndpointLatencyRegistry;
+import com.beautysalon.reactive.dto.EndpointCost;
+import com.beautysalon.reactive.service.RequestCostRegistry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MonitoringControllerTest {
+
+    private WebTestClient webTestClient;
+
+    @Mock
+    private EndpointLatencyRegistry latencyRegistry;
+
+    @Mock
+    private RequestCostRegistry costRegistry;
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        webTestClient = WebTestClient.bindToController(new MonitoringController(latencyRegistry, costRegistry, meterRegistry)).build();
+    }
+
+    @Test
+    void getPerformanceStatistics_ShouldReturnEndpointPercentiles() {
+        when(latencyRegistry.getWindowSeconds()).thenReturn(60L);
+        when(latencyRegistry.snapshot()).thenReturn(List.of(
+            new EndpointLatency("GET /api/appointments/range", 240, 8.5, 21.0, 64.2, 97.0, 101.3, 11.4)));
+
+        webTestClient.get()
+            .uri("/api/monitoring/performance")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.latencyWindowSeconds").isEqualTo(60)
+            .jsonPath("$.endpoints[0].route").isEqualTo("GET /api/appointments/range")
+            .jsonPath("$.endpoints[0].count").isEqualTo(240)
+            .jsonPath("$.endpoints[0].p99").isEqualTo(64.2)
+            .jsonPath("$.endpoints[0].p999").isEqualTo(97.0);
+    }
+
+    @Test
+    void getPerformanceStatistics_ShouldReturnDriverPoolMetrics() {
+        when(latencyRegistry.snapshot()).thenReturn(List.of());
+        Gauge.builder("cassandra.nodes.pool.in-flight", () -> 17).tag("node", "10.0.0.1:9042").register(meterRegistry);
+        Gauge.builder("cassandra.session.connected-nodes", () -> 1).register(meterRegistry);
+
+        webTestClient.get()
+            .uri("/api/monitoring/performance")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.cassandra.connectedNodes").isEqualTo(1)
+            .jsonPath("$.cassandra.pool.inFlight").isEqualTo(17)
+            .jsonPath("$.cassandra.cqlRequests.count").isEqualTo(0);
+    }
+
+    @Test
+    void getPerformanceStatistics_ShouldReturnRequestCost() {
+        when(latencyRegistry.snapshot()).thenReturn(List.of());
+        when(costRegistry.getSampleRate()).thenReturn(0.1);
+        when(costRegistry.snapshot()).thenReturn(List.of(
+            new EndpointCost("GET /api/appointments/range", 24, 96_000.0, 88_000.0, 240_000.0, 0.9, 0.7, 3.1)));
+
+        webTestClient.get()
+            .uri("/api/monitoring/performance")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.requestCostSampleRate").isEqualTo(0.1)
+            .jsonPath("$.requestCost[0].route").isEqualTo("GET /api/appointments/range")
+            .jsonPath("$.requestCost[0].allocatedBytesP99").isEqualTo(240_000.0)
+            .jsonPath("$.requestCost[0].cpuMillisMean").isEqualTo(0.9);
+    }
+}
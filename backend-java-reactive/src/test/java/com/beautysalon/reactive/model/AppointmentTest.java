@@ -3,6 +3,7 @@ package com.beautysalon.reactive.model;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -261,4 +262,32 @@ class AppointmentTest {
         assertEquals(futureDate, appointment.appointmentDate());
         assertTrue(appointment.appointmentDate().isAfter(LocalDateTime.now()));
     }
+
+    @Test
+    void statusTransitions_ShouldFollowLifecycle() {
+        assertTrue(Appointment.Status.SCHEDULED.canTransitionTo(Appointment.Status.CONFIRMED));
+        assertTrue(Appointment.Status.CONFIRMED.canTransitionTo(Appointment.Status.IN_PROGRESS));
+        assertTrue(Appointment.Status.IN_PROGRESS.canTransitionTo(Appointment.Status.COMPLETED));
+        assertTrue(Appointment.Status.IN_PROGRESS.canTransitionTo(Appointment.Status.CANCELLED));
+        assertTrue(Appointment.Status.SCHEDULED.canTransitionTo(Appointment.Status.NO_SHOW));
+
+        assertFalse(Appointment.Status.SCHEDULED.canTransitionTo(Appointment.Status.COMPLETED));
+        assertFalse(Appointment.Status.IN_PROGRESS.canTransitionTo(Appointment.Status.NO_SHOW));
+        assertFalse(Appointment.Status.COMPLETED.canTransitionTo(Appointment.Status.CANCELLED));
+    }
+
+    @Test
+    void statusTransitions_TerminalStatusesShouldHaveNoOutgoingTransitions() {
+        for (Appointment.Status from : Appointment.Status.values()) {
+            boolean hasOutgoing = Arrays.stream(Appointment.Status.values()).anyMatch(from::canTransitionTo);
+            assertEquals(!from.isTerminal(), hasOutgoing, from.name());
+        }
+    }
+
+    @Test
+    void statusFrom_ShouldParseCaseInsensitivelyAndRejectUnknown() {
+        assertEquals(Appointment.Status.IN_PROGRESS, Appointment.Status.from("in_progress"));
+        assertThrows(IllegalArgumentException.class, () -> Appointment.Status.from("ARCHIVED"));
+        assertThrows(IllegalArgumentException.class, () -> Appointment.Status.from(null));
+    }
 }
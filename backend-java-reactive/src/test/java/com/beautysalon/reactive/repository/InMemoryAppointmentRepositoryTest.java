@@ -0,0 +1,122 @@
+package com.beautysalon.reactive.repository;
+
+import com.beautysalon.reactive.model.Appointment;
+import com.beautysalon.reactive.model.AppointmentByDay;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+class InMemoryAppointmentRepositoryTest {
+
+    private static final LocalDateTime NINE = LocalDateTime.of(2025, 3, 10, 9, 0);
+
+    private InMemoryAppointmentRepository appointmentRepository;
+    private UUID staffId;
+    private Appointment early;
+    private Appointment middle;
+    private Appointment late;
+
+    @BeforeEach
+    void setUp() {
+        appointmentRepository = new InMemoryAppointmentRepository();
+        staffId = UUID.randomUUID();
+        early = appointment(NINE, staffId);
+        middle = appointment(NINE.plusHours(2), UUID.randomUUID());
+        late = appointment(NINE.plusHours(4), staffId);
+        StepVerifier.create(appointmentRepository.saveAll(List.of(middle, late, early)).then())
+            .verifyComplete();
+    }
+
+    @Test
+    void findByAppointmentDateBetween_ShouldBeExclusiveAndOrdered() {
+        StepVerifier.create(appointmentRepository.findByAppointmentDateBetween(NINE, NINE.plusHours(5)))
+            .expectNext(middle, late)
+            .verifyComplete();
+        StepVerifier.create(appointmentRepository.findByAppointmentDateBetween(NINE.plusHours(5), NINE))
+            .verifyComplete();
+    }
+
+    @Test
+    void findByStaffIdAndAppointmentDateBetween_ShouldFilterByStaff() {
+        StepVerifier.create(appointmentRepository.findByStaffIdAndAppointmentDateBetween(
+                staffId, NINE.minusMinutes(1), NINE.plusHours(5)))
+            .expectNext(early, late)
+            .verifyComplete();
+    }
+
+    @Test
+    void findAllByOrderByAppointmentDateDesc_ShouldWalkTheSortedIndex() {
+        StepVerifier.create(appointmentRepository.findAllByOrderByAppointmentDateDesc())
+            .expectNext(late, middle, early)
+            .verifyComplete();
+    }
+
+    @Test
+    void updateStatusIf_ShouldApplyOnlyFromExpectedStatusAndReindex() {
+        LocalDateTime updatedAt = NINE.minusDays(1);
+
+        StepVerifier.create(appointmentRepository.updateStatusIf(early.id(), Set.of("SCHEDULED"), "CONFIRMED", updatedAt))
+            .expectNext(true)
+            .verifyComplete();
+        StepVerifier.create(appointmentRepository.updateStatusIf(early.id(), Set.of("SCHEDULED"), "CANCELLED", updatedAt))
+            .expectNext(false)
+            .verifyComplete();
+        StepVerifier.create(appointmentRepository.findByStatus("CONFIRMED"))
+            .expectNextMatches(appointment -> appointment.id().equals(early.id()) && appointment.updatedAt().equals(updatedAt))
+            .verifyComplete();
+        StepVerifier.create(appointmentRepository.findByStatus("SCHEDULED").count())
+            .expectNext(2L)
+            .verifyComplete();
+    }
+
+    @Test
+    void findByDayAndAppointmentDateBetween_ShouldReadOneDayInclusively() {
+        InMemoryAppointmentByDayRepository byDay = new InMemoryAppointmentByDayRepository();
+        Appointment nextDay = appointment(NINE.plusDays(1), staffId);
+
+        StepVerifier.create(byDay.saveAll(List.of(AppointmentByDay.from(late), AppointmentByDay.from(early),
+                AppointmentByDay.from(nextDay))).then())
+            .verifyComplete();
+
+        StepVerifier.create(byDay.findByDayAndAppointmentDateBetween(LocalDate.of(2025, 3, 10), NINE, NINE.plusDays(1))
+                .map(AppointmentByDay::id))
+            .expectNext(early.id(), late.id())
+            .verifyComplete();
+        StepVerifier.create(byDay.delete(AppointmentByDay.from(early))
+                .thenMany(byDay.findByDayAndAppointmentDateBetween(LocalDate.of(2025, 3, 10), NINE, NINE))
+                .count())
+            .expectNext(0L)
+            .verifyComplete();
+    }
+
+    @Test
+    void updateStatusIfNewer_ShouldKeepTheNewestStatusAndSkipMissingRows() {
+        InMemoryAppointmentByDayRepository byDay = new InMemoryAppointmentByDayRepository();
+        LocalDate day = NINE.toLocalDate();
+        LocalDateTime confirmedAt = early.updatedAt().plusMinutes(1);
+        StepVerifier.create(byDay.save(AppointmentByDay.from(early)).then()).verifyComplete();
+
+        StepVerifier.create(byDay.updateStatusIfNewer(day, NINE, early.id(), "CONFIRMED", confirmedAt))
+            .expectNext(true)
+            .verifyComplete();
+        StepVerifier.create(byDay.updateStatusIfNewer(day, NINE, early.id(), "SCHEDULED", early.updatedAt()))
+            .expectNext(false)
+            .verifyComplete();
+        StepVerifier.create(byDay.updateStatusIfNewer(day, NINE.plusHours(4), late.id(), "CONFIRMED", confirmedAt))
+            .expectNext(false)
+            .verifyComplete();
+        StepVerifier.create(byDay.findByDayAndAppointmentDateBetween(day, NINE, NINE.plusDays(1)).map(AppointmentByDay::status))
+            .expectNext("CONFIRMED")
+            .verifyComplete();
+    }
+
+    private static Appointment appointment(LocalDateTime start, UUID staffId) {
+        return Appointment.create(UUID.randomUUID(), UUID.randomUUID(), staffId, start, null);
+    }
+}
@@ -0,0 +1,103 @@
+package com.beautysalon.reactive.repository;
+
+import com.beautysalon.reactive.model.Customer;
+import com.beautysalon.reactive.model.Service;
+import com.beautysalon.reactive.model.Staff;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+class InMemoryRepositoriesTest {
+
+    private InMemoryCustomerRepository customerRepository;
+    private InMemoryStaffRepository staffRepository;
+    private InMemoryServiceRepository serviceRepository;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository = new InMemoryCustomerRepository();
+        staffRepository = new InMemoryStaffRepository();
+        serviceRepository = new InMemoryServiceRepository();
+    }
+
+    @Test
+    void save_ShouldDoNothingUntilSubscribed() {
+        Customer customer = Customer.create("John Doe", "john@example.com", "+1234567890", "123 Main St");
+
+        customerRepository.save(customer);
+
+        StepVerifier.create(customerRepository.count())
+            .expectNext(0L)
+            .verifyComplete();
+    }
+
+    @Test
+    void findByEmail_ShouldFollowUpdatesAndDeletes() {
+        Customer customer = Customer.create("John Doe", "john@example.com", "+1234567890", "123 Main St");
+        Customer updated = customer.withUpdatedFields(null, "johnny@example.com", null, null);
+
+        StepVerifier.create(customerRepository.save(customer)
+                .then(customerRepository.save(updated))
+                .then(customerRepository.findByEmail("john@example.com")))
+            .verifyComplete();
+        StepVerifier.create(customerRepository.findByEmail("johnny@example.com"))
+            .expectNext(updated)
+            .verifyComplete();
+        StepVerifier.create(customerRepository.delete(updated)
+                .then(customerRepository.findByEmail("johnny@example.com")))
+            .verifyComplete();
+    }
+
+    @Test
+    void findByNameContainingIgnoreCase_ShouldMatchAnyCase() {
+        Customer john = Customer.create("John Doe", "john@example.com", "+1234567890", "123 Main St");
+        Customer jane = Customer.create("Jane Roe", "jane@example.com", "+1234567891", "124 Main St");
+
+        StepVerifier.create(customerRepository.saveAll(List.of(john, jane))
+                .thenMany(customerRepository.findByNameContainingIgnoreCase("doe")))
+            .expectNext(john)
+            .verifyComplete();
+    }
+
+    @Test
+    void staffQueries_ShouldUseRoleActiveAndEmailIndexes() {
+        Staff stylist = Staff.create("Ann", "ann@example.com", "+1234567890", "stylist", List.of("hair"));
+        Staff retired = Staff.create("Bea", "bea@example.com", "+1234567891", "stylist", List.of("hair"))
+            .withUpdatedFields(null, null, null, null, null, false);
+        Staff manicurist = Staff.create("Cat", "cat@example.com", "+1234567892", "manicurist", List.of("nails"));
+
+        StepVerifier.create(staffRepository.saveAll(List.of(stylist, retired, manicurist)).then())
+            .verifyComplete();
+
+        StepVerifier.create(staffRepository.findByRole("stylist").count())
+            .expectNext(2L)
+            .verifyComplete();
+        StepVerifier.create(staffRepository.findByRoleAndActiveTrue("stylist"))
+            .expectNext(stylist)
+            .verifyComplete();
+        StepVerifier.create(staffRepository.findByActiveTrue().count())
+            .expectNext(2L)
+            .verifyComplete();
+        StepVerifier.create(staffRepository.findByEmail("cat@example.com"))
+            .expectNext(manicurist)
+            .verifyComplete();
+    }
+
+    @Test
+    void serviceQueries_ShouldUseCategoryAndActiveIndexes() {
+        Service haircut = Service.create("Haircut", "Cut", new BigDecimal("30.00"), 30, "hair");
+        Service coloring = Service.create("Coloring", "Color", new BigDecimal("80.00"), 90, "hair")
+            .withUpdatedFields(null, null, null, null, null, false);
+
+        StepVerifier.create(serviceRepository.saveAll(List.of(haircut, coloring))
+                .thenMany(serviceRepository.findByCategoryAndActiveTrue("hair")))
+            .expectNext(haircut)
+            .verifyComplete();
+        StepVerifier.create(serviceRepository.findByCategory("hair").count())
+            .expectNext(2L)
+            .verifyComplete();
+    }
+}
@@ -0,0 +1,202 @@
+package com.beautysalon.reactive.service;
+
+import com.beautysalon.reactive.dto.AppointmentEvent;
+import com.beautysalon.reactive.model.Appointment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AppointmentFeedServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 8, 15);
+    private static final Clock CLOCK = Clock.fixed(TODAY.atTime(8, 0).toInstant(ZoneOffset.UTC), ZoneId.of("UTC"));
+
+    @Mock
+    private AppointmentRangeQueryService rangeQueryService;
+
+    private AppointmentFeedService feedService;
+
+    @BeforeEach
+    void setUp() {
+        feedService = new AppointmentFeedService(rangeQueryService, 16, 4, CLOCK);
+    }
+
+    private Appointment appointmentAt(LocalDateTime start) {
+        return Appointment.create(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), start, null);
+    }
+
+    @Test
+    void stream_ShouldEmitSnapshotThenLiveChanges() {
+        Appointment morning = appointmentAt(TODAY.atTime(9, 0));
+        Appointment afternoon = appointmentAt(TODAY.atTime(14, 0));
+        Appointment walkIn = appointmentAt(TODAY.atTime(11, 0));
+        when(rangeQueryService.findBetween(any(), any())).thenReturn(Flux.just(afternoon, morning));
+
+        StepVerifier.create(feedService.stream())
+            .expectNext(new AppointmentEvent(0, AppointmentEvent.Type.SNAPSHOT, morning))
+            .expectNext(new AppointmentEvent(0, AppointmentEvent.Type.SNAPSHOT, afternoon))
+            .then(() -> feedService.publishCreated(walkIn))
+            .expectNext(new AppointmentEvent(1, AppointmentEvent.Type.CREATED, walkIn))
+            .then(() -> feedService.publishDeleted(morning))
+            .expectNext(new AppointmentEvent(2, AppointmentEvent.Type.DELETED, morning))
+            .thenCancel()
+            .verify();
+    }
+
+    @Test
+    void stream_NewSubscriberShouldSeeChangesInSnapshotWithoutReplayingThem() {
+        Appointment morning = appointmentAt(TODAY.atTime(9, 0));
+        Appointment walkIn = appointmentAt(TODAY.atTime(11, 0));
+        when(rangeQueryService.findBetween(any(), any())).thenReturn(Flux.just(morning));
+        StepVerifier.create(feedService.stream()).expectNextCount(1).thenCancel().verify();
+
+        feedService.publishCreated(walkIn);
+        feedService.publishDeleted(morning);
+
+        StepVerifier.create(feedService.stream())
+            .expectNext(new AppointmentEvent(2, AppointmentEvent.Type.SNAPSHOT, walkIn))
+            .expectNoEvent(Duration.ofMillis(50))
+            .thenCancel()
+            .verify();
+        // the view is loaded once per day, not once per subscriber
+        verify(rangeQueryService, times(1)).findBetween(any(), any());
+    }
+
+    @Test
+    void publish_ShouldIgnoreChangesOutsideToday() {
+        Appointment tomorrow = appointmentAt(TODAY.plusDays(1).atTime(9, 0));
+        when(rangeQueryService.findBetween(any(), any())).thenReturn(Flux.empty());
+
+        StepVerifier.create(feedService.stream())
+            .expectSubscription()
+            .then(() -> feedService.publishCreated(tomorrow))
+            .expectNoEvent(Duration.ofMillis(50))
+            .thenCancel()
+            .verify();
+    }
+
+    @Test
+    void publishUpdated_RescheduledAwayFromToday_ShouldStillBeAnnounced() {
+        Appointment today = appointmentAt(TODAY.atTime(9, 0));
+        Appointment moved = today.withUpdatedFields(TODAY.plusDays(2).atTime(9, 0), null, null);
+        when(rangeQueryService.findBetween(any(), any())).thenReturn(Flux.just(today));
+
+        StepVerifier.create(feedService.stream())
+            .expectNextCount(1)
+            .then(() -> feedService.publishUpdated(today, moved))
+            .expectNext(new AppointmentEvent(1, AppointmentEvent.Type.UPDATED, moved))
+            .thenCancel()
+            .verify();
+        StepVerifier.create(feedService.stream())
+            .expectSubscription()
+            .expectNoEvent(Duration.ofMillis(50))
+            .thenCancel()
+            .verify();
+    }
+
+    @Test
+    void publishStatusChanged_ShouldPublishRowAsReadBack() {
+        Appointment morning = appointmentAt(TODAY.atTime(9, 0));
+        Appointment confirmed = morning.withUpdatedFields(null, "CONFIRMED", null);
+        when(rangeQueryService.findBetween(any(), any())).thenReturn(Flux.just(morning));
+
+        StepVerifier.create(feedService.stream())
+            .expectNextCount(1)
+            .then(() -> feedService.publishStatusChanged(confirmed))
+            .expectNext(new AppointmentEvent(1, AppointmentEvent.Type.UPDATED, confirmed))
+            .thenCancel()
+            .verify();
+    }
+
+    @Test
+    void publishStatusChanged_WhileViewIsLoading_ShouldWinOverLoadedRow() {
+        Appointment morning = appointmentAt(TODAY.atTime(9, 0));
+        Appointment confirmed = morning.withUpdatedFields(null, "CONFIRMED", null);
+        Sinks.Many<Appointment> load = Sinks.many().unicast().onBackpressureBuffer();
+        when(rangeQueryService.findBetween(any(), any())).thenReturn(load.asFlux());
+
+        StepVerifier.create(feedService.stream())
+            .expectSubscription()
+            .then(() -> {
+                feedService.publishStatusChanged(confirmed);
+                load.tryEmitNext(morning);
+                load.tryEmitComplete();
+            })
+            .expectNext(new AppointmentEvent(1, AppointmentEvent.Type.SNAPSHOT, confirmed))
+            .thenCancel()
+            .verify();
+    }
+
+    @Test
+    void publishStatusChanged_BeforeFirstSubscriber_ShouldReachLaterSubscribersThroughTheirSnapshot() {
+        Appointment morning = appointmentAt(TODAY.atTime(9, 0));
+        Appointment confirmed = morning.withUpdatedFields(null, "CONFIRMED", null);
+        feedService.publishStatusChanged(confirmed);
+        // the day-bucket table has the transition by the time the view loads
+        when(rangeQueryService.findBetween(any(), any())).thenReturn(Flux.just(confirmed));
+
+        StepVerifier.create(feedService.stream())
+            .expectNext(new AppointmentEvent(1, AppointmentEvent.Type.SNAPSHOT, confirmed))
+            .expectNoEvent(Duration.ofMillis(50))
+            .thenCancel()
+            .verify();
+    }
+
+    @Test
+    void stream_SlowSubscriberShouldBeDroppedWhenBufferOverflows() {
+        when(rangeQueryService.findBetween(any(), any())).thenReturn(Flux.empty());
+
+        StepVerifier.create(feedService.stream(), 0)
+            .then(() -> {
+                for (int i = 0; i < 64; i++) {
+                    feedService.publishCreated(appointmentAt(TODAY.atTime(10, 0)));
+                }
+            })
+            .thenRequest(Long.MAX_VALUE)
+            .thenConsumeWhile(event -> event.type() == AppointmentEvent.Type.CREATED)
+            .expectErrorMatches(Exceptions::isOverflow)
+            .verify();
+    }
+
+    @Test
+    void stream_OtherSubscribersShouldKeepReceivingAfterSlowOneIsDropped() {
+        when(rangeQueryService.findBetween(any(), any())).thenReturn(Flux.empty());
+        StepVerifier.create(feedService.stream(), 0)
+            .then(() -> {
+                for (int i = 0; i < 64; i++) {
+                    feedService.publishCreated(appointmentAt(TODAY.atTime(10, 0)));
+                }
+            })
+            .thenRequest(Long.MAX_VALUE)
+            .thenConsumeWhile(event -> true)
+            .expectErrorMatches(Exceptions::isOverflow)
+            .verify();
+
+        Appointment next = appointmentAt(TODAY.atTime(12, 0));
+        StepVerifier.create(feedService.stream().filter(event -> event.type() != AppointmentEvent.Type.SNAPSHOT))
+            .then(() -> feedService.publishCreated(next))
+            .expectNext(new AppointmentEvent(65, AppointmentEvent.Type.CREATED, next))
+            .thenCancel()
+            .verify();
+    }
+}
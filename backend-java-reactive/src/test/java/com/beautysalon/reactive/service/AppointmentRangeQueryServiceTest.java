@@ -0,0 +1,168 @@
+package com.beautysalon.reactive.service;
+
+import com.beautysalon.reactive.model.Appointment;
+import com.beautysalon.reactive.model.AppointmentByDay;
+import com.beautysalon.reactive.repository.AppointmentByDayRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AppointmentRangeQueryServiceTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2025, 8, 4);
+
+    @Mock
+    private AppointmentByDayRepository appointmentByDayRepository;
+
+    private AppointmentRangeQueryService rangeQueryService;
+    private UUID staffId;
+
+    @BeforeEach
+    void setUp() {
+        rangeQueryService = new AppointmentRangeQueryService(appointmentByDayRepository, 2, 62);
+        staffId = UUID.randomUUID();
+    }
+
+    private AppointmentByDay row(LocalDate day, int hour, UUID staff) {
+        Appointment appointment = Appointment.create(UUID.randomUUID(), UUID.randomUUID(), staff,
+            day.atTime(hour, 0), null);
+        return AppointmentByDay.from(appointment);
+    }
+
+    private void stubDay(LocalDate day, AppointmentByDay... rows) {
+        when(appointmentByDayRepository.findByDayAndAppointmentDateBetween(eq(day), any(), any()))
+            .thenReturn(Flux.just(rows));
+    }
+
+    @Test
+    void findBetween_ShouldMergeDayBucketsInStartTimeOrder() {
+        LocalDate tuesday = MONDAY.plusDays(1);
+        LocalDate wednesday = MONDAY.plusDays(2);
+        AppointmentByDay mon9 = row(MONDAY, 9, staffId);
+        AppointmentByDay mon15 = row(MONDAY, 15, staffId);
+        AppointmentByDay tue10 = row(tuesday, 10, staffId);
+        AppointmentByDay wed8 = row(wednesday, 8, staffId);
+        stubDay(MONDAY, mon9, mon15);
+        stubDay(tuesday, tue10);
+        stubDay(wednesday, wed8);
+
+        StepVerifier.create(rangeQueryService.findBetween(MONDAY.atStartOfDay(), wednesday.atTime(LocalTime.MAX)))
+            .expectNext(mon9.toAppointment(), mon15.toAppointment(), tue10.toAppointment(), wed8.toAppointment())
+            .verifyComplete();
+    }
+
+    @Test
+    void findBetween_ShouldPassRangeBoundsToEveryBucket() {
+        LocalDateTime start = MONDAY.atTime(12, 0);
+        LocalDateTime end = MONDAY.plusDays(1).atTime(12, 0);
+        when(appointmentByDayRepository.findByDayAndAppointmentDateBetween(any(), eq(start), eq(end)))
+            .thenReturn(Flux.empty());
+
+        StepVerifier.create(rangeQueryService.findBetween(start, end))
+            .verifyComplete();
+
+        verify(appointmentByDayRepository).findByDayAndAppointmentDateBetween(MONDAY, start, end);
+        verify(appointmentByDayRepository).findByDayAndAppointmentDateBetween(MONDAY.plusDays(1), start, end);
+    }
+
+    @Test
+    void findBetween_ShouldNotQueryLaterWindowsWhenSubscriberStopsEarly() {
+        AtomicInteger subscribedBuckets = new AtomicInteger();
+        when(appointmentByDayRepository.findByDayAndAppointmentDateBetween(any(), any(), any()))
+            .thenAnswer(invocation -> {
+                LocalDate day = invocation.getArgument(0);
+                return Flux.just(row(day, 9, staffId), row(day, 10, staffId))
+                    .doOnSubscribe(subscription -> subscribedBuckets.incrementAndGet());
+            });
+
+        StepVerifier.create(rangeQueryService.findBetween(MONDAY.atStartOfDay(), MONDAY.plusDays(6).atTime(LocalTime.MAX))
+                .take(3))
+            .expectNextCount(3)
+            .verifyComplete();
+
+        // concurrency is 2: only the first window (Monday, Tuesday) is ever subscribed
+        assertEquals(2, subscribedBuckets.get());
+    }
+
+    @Test
+    void findBetween_ShouldHonourDownstreamDemand() {
+        stubDay(MONDAY, row(MONDAY, 9, staffId), row(MONDAY, 10, staffId), row(MONDAY, 11, staffId));
+
+        StepVerifier.create(rangeQueryService.findBetween(MONDAY.atStartOfDay(), MONDAY.atTime(LocalTime.MAX)), 1)
+            .expectNextCount(1)
+            .thenRequest(2)
+            .expectNextCount(2)
+            .verifyComplete();
+    }
+
+    @Test
+    void findByStaffBetween_ShouldFilterRowsOfOtherStaff() {
+        AppointmentByDay own = row(MONDAY, 9, staffId);
+        stubDay(MONDAY, own, row(MONDAY, 10, UUID.randomUUID()));
+
+        StepVerifier.create(rangeQueryService.findByStaffBetween(staffId, MONDAY.atStartOfDay(), MONDAY.atTime(LocalTime.MAX)))
+            .expectNext(own.toAppointment())
+            .verifyComplete();
+    }
+
+    @Test
+    void findBetween_WithInvalidRange_ShouldError() {
+        StepVerifier.create(rangeQueryService.findBetween(MONDAY.atStartOfDay(), MONDAY.minusDays(1).atStartOfDay()))
+            .expectError(IllegalArgumentException.class)
+            .verify();
+        StepVerifier.create(rangeQueryService.findBetween(MONDAY.atStartOfDay(), MONDAY.plusDays(62).atStartOfDay()))
+            .expectError(IllegalArgumentException.class)
+            .verify();
+
+        verify(appointmentByDayRepository, never()).findByDayAndAppointmentDateBetween(any(), any(), any());
+    }
+
+    @Test
+    void reindex_WhenRescheduled_ShouldMoveRowToNewBucket() {
+        Appointment before = Appointment.create(UUID.randomUUID(), UUID.randomUUID(), staffId, MONDAY.atTime(9, 0), null);
+        Appointment after = before.withUpdatedFields(MONDAY.plusDays(3).atTime(11, 0), null, null);
+        when(appointmentByDayRepository.delete(any(AppointmentByDay.class))).thenReturn(Mono.empty());
+        when(appointmentByDayRepository.save(any(AppointmentByDay.class)))
+            .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(rangeQueryService.reindex(before, after))
+            .verifyComplete();
+
+        verify(appointmentByDayRepository).delete(AppointmentByDay.from(before));
+        verify(appointmentByDayRepository).save(AppointmentByDay.from(after));
+    }
+
+    @Test
+    void reindex_WhenStartTimeUnchanged_ShouldOverwriteRowInPlace() {
+        Appointment before = Appointment.create(UUID.randomUUID(), UUID.randomUUID(), staffId, MONDAY.atTime(9, 0), null);
+        Appointment after = before.withUpdatedFields(null, "CONFIRMED", "Window seat");
+        when(appointmentByDayRepository.save(any(AppointmentByDay.class)))
+            .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(rangeQueryService.reindex(before, after))
+            .verifyComplete();
+
+        verify(appointmentByDayRepository, never()).delete(any(AppointmentByDay.class));
+        verify(appointmentByDayRepository, times(1)).save(AppointmentByDay.from(after));
+    }
+}
@@ -1,7 +1,11 @@
 package com.beautysalon.reactive.service;
 
+import com.beautysalon.reactive.dto.StatusTransitionRequest;
+import com.beautysalon.reactive.dto.StatusTransitionResult;
 import com.beautysalon.reactive.model.Appointment;
 import com.beautysalon.reactive.repository.AppointmentRepository;
+import com.beautysalon.reactive.repository.InMemoryAppointmentByDayRepository;
+import com.beautysalon.reactive.repository.InMemoryAppointmentRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,9 +18,15 @@ import reactor.test.StepVerifier;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,6 +35,12 @@ class AppointmentServiceTest {
     @Mock
     private AppointmentRepository appointmentRepository;
 
+    @Mock
+    private AppointmentRangeQueryService rangeQueryService;
+
+    @Mock
+    private AppointmentFeedService feedService;
+
     private AppointmentService appointmentService;
     private Appointment testAppointment;
     private UUID customerId;
@@ -33,7 +49,7 @@ class AppointmentServiceTest {
 
     @BeforeEach
     void setUp() {
-        appointmentService = new AppointmentService(appointmentRepository);
+        appointmentService = new AppointmentService(appointmentRepository, rangeQueryService, feedService);
         
         customerId = UUID.randomUUID();
         serviceId = UUID.randomUUID();
@@ -85,12 +101,15 @@ class AppointmentServiceTest {
     @Test
     void createAppointment_ShouldReturnCreatedAppointment() {
         when(appointmentRepository.save(any(Appointment.class))).thenReturn(Mono.just(testAppointment));
+        when(rangeQueryService.index(testAppointment)).thenReturn(Mono.empty());
 
         Mono<Appointment> result = appointmentService.createAppointment(testAppointment);
 
         StepVerifier.create(result)
             .expectNext(testAppointment)
             .verifyComplete();
+        verify(rangeQueryService).index(testAppointment);
+        verify(feedService).publishCreated(testAppointment);
     }
 
     @Test
@@ -106,12 +125,15 @@ class AppointmentServiceTest {
         
         when(appointmentRepository.findById(id)).thenReturn(Mono.just(testAppointment));
         when(appointmentRepository.save(any(Appointment.class))).thenReturn(Mono.just(updatedAppointment));
+        when(rangeQueryService.reindex(testAppointment, updatedAppointment)).thenReturn(Mono.empty());
 
         Mono<Appointment> result = appointmentService.updateAppointment(id, updatedAppointment);
 
         StepVerifier.create(result)
             .expectNext(updatedAppointment)
             .verifyComplete();
+        verify(rangeQueryService).reindex(testAppointment, updatedAppointment);
+        verify(feedService).publishUpdated(testAppointment, updatedAppointment);
     }
 
     @Test
@@ -128,23 +150,29 @@ class AppointmentServiceTest {
     @Test
     void deleteAppointment_WhenExists_ShouldComplete() {
         UUID id = UUID.randomUUID();
+        when(appointmentRepository.findById(id)).thenReturn(Mono.just(testAppointment));
         when(appointmentRepository.deleteById(id)).thenReturn(Mono.empty());
+        when(rangeQueryService.unindex(testAppointment)).thenReturn(Mono.empty());
 
         Mono<Void> result = appointmentService.deleteAppointment(id);
 
         StepVerifier.create(result)
             .verifyComplete();
+        verify(rangeQueryService).unindex(testAppointment);
+        verify(feedService).publishDeleted(testAppointment);
     }
 
     @Test
     void deleteAppointment_WhenNotExists_ShouldComplete() {
         UUID id = UUID.randomUUID();
-        when(appointmentRepository.deleteById(id)).thenReturn(Mono.empty());
+        when(appointmentRepository.findById(id)).thenReturn(Mono.empty());
 
         Mono<Void> result = appointmentService.deleteAppointment(id);
 
         StepVerifier.create(result)
             .verifyComplete();
+        verify(appointmentRepository, never()).deleteById(id);
+        verifyNoInteractions(rangeQueryService, feedService);
     }
 
 
@@ -259,4 +287,142 @@ class AppointmentServiceTest {
             .expectError(RuntimeException.class)
             .verify();
     }
+
+    @Test
+    void transitionStatus_ShouldApplyConditionalUpdateAndCopyStatusToDayBucket() {
+        UUID id = testAppointment.id();
+        Appointment confirmed = testAppointment.withUpdatedFields(null, "CONFIRMED", null);
+        when(appointmentRepository.updateStatusIf(eq(id), eq(Set.of("SCHEDULED")), eq("CONFIRMED"), any()))
+            .thenReturn(Mono.just(true));
+        when(appointmentRepository.findById(id)).thenReturn(Mono.just(confirmed));
+        when(rangeQueryService.updateStatus(confirmed)).thenReturn(Mono.empty());
+
+        StepVerifier.create(appointmentService.transitionStatus(id, new StatusTransitionRequest("confirmed", null)))
+            .expectNextMatches(result -> result.outcome() == StatusTransitionResult.Outcome.APPLIED
+                && "CONFIRMED".equals(result.status())
+                && result.updatedAt() != null)
+            .verifyComplete();
+
+        verify(appointmentRepository, never()).save(any());
+        verify(rangeQueryService).updateStatus(confirmed);
+        verify(feedService).publishStatusChanged(confirmed);
+    }
+
+    @Test
+    void transitionStatus_ShouldBeVisibleInRangeQueries() {
+        InMemoryAppointmentRepository appointments = new InMemoryAppointmentRepository();
+        AppointmentRangeQueryService rangeQueries =
+            new AppointmentRangeQueryService(new InMemoryAppointmentByDayRepository(), 4, 62);
+        AppointmentService service = new AppointmentService(appointments, rangeQueries, feedService);
+        LocalDate day = testAppointment.appointmentDate().toLocalDate();
+        Appointment created = service.createAppointment(testAppointment).block();
+
+        StepVerifier.create(service.transitionStatus(created.id(), new StatusTransitionRequest("CONFIRMED", "SCHEDULED")))
+            .expectNextMatches(result -> result.outcome() == StatusTransitionResult.Outcome.APPLIED)
+            .verifyComplete();
+
+        StepVerifier.create(service.getAppointmentsInRange(day, day, null))
+            .expectNextMatches(appointment -> appointment.id().equals(created.id())
+                && "CONFIRMED".equals(appointment.status()))
+            .verifyComplete();
+        StepVerifier.create(service.getAppointmentsForWeek(day, created.staffId()).map(Appointment::status))
+            .expectNext("CONFIRMED")
+            .verifyComplete();
+    }
+
+    @Test
+    void transitionStatus_CancelShouldAcceptEveryActiveStatus() {
+        UUID id = testAppointment.id();
+        when(appointmentRepository.updateStatusIf(eq(id), eq(Set.of("SCHEDULED", "CONFIRMED", "IN_PROGRESS")),
+                eq("CANCELLED"), any()))
+            .thenReturn(Mono.just(true));
+        when(appointmentRepository.findById(id)).thenReturn(Mono.empty());
+
+        StepVerifier.create(appointmentService.transitionStatus(id, new StatusTransitionRequest("CANCELLED", null)))
+            .expectNextMatches(result -> result.outcome() == StatusTransitionResult.Outcome.APPLIED)
+            .verifyComplete();
+    }
+
+    @Test
+    void transitionStatus_WhenRejected_ShouldReportCurrentStatus() {
+        UUID id = testAppointment.id();
+        Appointment cancelled = testAppointment.withUpdatedFields(null, "CANCELLED", null);
+        when(appointmentRepository.updateStatusIf(eq(id), any(), eq("CONFIRMED"), any())).thenReturn(Mono.just(false));
+        when(appointmentRepository.findById(id)).thenReturn(Mono.just(cancelled));
+
+        StepVerifier.create(appointmentService.transitionStatus(id, new StatusTransitionRequest("CONFIRMED", null)))
+            .expectNext(StatusTransitionResult.conflict(id, "CANCELLED"))
+            .verifyComplete();
+        verifyNoInteractions(feedService);
+    }
+
+    @Test
+    void transitionStatus_WhenMissing_ShouldReportNotFound() {
+        UUID id = UUID.randomUUID();
+        when(appointmentRepository.updateStatusIf(eq(id), any(), eq("CONFIRMED"), any())).thenReturn(Mono.just(false));
+        when(appointmentRepository.findById(id)).thenReturn(Mono.empty());
+
+        StepVerifier.create(appointmentService.transitionStatus(id, new StatusTransitionRequest("CONFIRMED", null)))
+            .expectNext(StatusTransitionResult.notFound(id))
+            .verifyComplete();
+    }
+
+    @Test
+    void transitionStatus_InvalidTransition_ShouldErrorWithoutWriting() {
+        UUID id = testAppointment.id();
+
+        StepVerifier.create(appointmentService.transitionStatus(id, new StatusTransitionRequest("COMPLETED", "SCHEDULED")))
+            .expectError(IllegalArgumentException.class)
+            .verify();
+        StepVerifier.create(appointmentService.transitionStatus(id, new StatusTransitionRequest("ARCHIVED", null)))
+            .expectError(IllegalArgumentException.class)
+            .verify();
+
+        verifyNoInteractions(appointmentRepository);
+    }
+
+    @Test
+    void getAppointmentsInRange_ShouldQueryWholeDays() {
+        LocalDate from = LocalDate.of(2025, 8, 4);
+        LocalDate to = LocalDate.of(2025, 8, 10);
+        when(rangeQueryService.findBetween(from.atStartOfDay(), to.atTime(LocalTime.MAX)))
+            .thenReturn(Flux.just(testAppointment));
+
+        StepVerifier.create(appointmentService.getAppointmentsInRange(from, to, null))
+            .expectNext(testAppointment)
+            .verifyComplete();
+    }
+
+    @Test
+    void getAppointmentsForWeek_ShouldQueryMondayToSundayForStaff() {
+        LocalDate wednesday = LocalDate.of(2025, 8, 6);
+        when(rangeQueryService.findByStaffBetween(staffId, LocalDate.of(2025, 8, 4).atStartOfDay(),
+                LocalDate.of(2025, 8, 10).atTime(LocalTime.MAX)))
+            .thenReturn(Flux.just(testAppointment));
+
+        StepVerifier.create(appointmentService.getAppointmentsForWeek(wednesday, staffId))
+            .expectNext(testAppointment)
+            .verifyComplete();
+    }
+
+    @Test
+    void getAppointmentsForMonth_ShouldQueryWholeMonth() {
+        when(rangeQueryService.findBetween(LocalDate.of(2024, 2, 1).atStartOfDay(),
+                LocalDate.of(2024, 2, 29).atTime(LocalTime.MAX)))
+            .thenReturn(Flux.empty());
+
+        StepVerifier.create(appointmentService.getAppointmentsForMonth(YearMonth.of(2024, 2), null))
+            .verifyComplete();
+    }
+
+    @Test
+    void rebuildDayIndex_ShouldIndexEveryAppointment() {
+        Appointment other = Appointment.create(customerId, serviceId, staffId, LocalDateTime.now(), null);
+        when(appointmentRepository.findAll()).thenReturn(Flux.just(testAppointment, other));
+        when(rangeQueryService.index(any(Appointment.class))).thenReturn(Mono.empty());
+
+        StepVerifier.create(appointmentService.rebuildDayIndex())
+            .expectNext(2L)
+            .verifyComplete();
+    }
 }
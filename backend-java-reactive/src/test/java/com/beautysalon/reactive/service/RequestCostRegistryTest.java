@@ -0,0 +1,103 @@
+package com.beautysalon.reactive.service;
+
+import com.beautysalon.common.monitoring.EndpointLatencyRegistry;
+import com.beautysalon.reactive.dto.EndpointCost;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestCostRegistryTest {
+
+    private MeterRegistry meterRegistry;
+    private RequestCostRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        registry = new RequestCostRegistry(meterRegistry, true, 1.0, 2);
+    }
+
+    @Test
+    void testTally_CountsNestedSegmentsOnce() {
+        // Arrange
+        RequestCostRegistry.Tally tally = registry.newTally();
+
+        // Act
+        tally.enter();
+        byte[] outer = new byte[64 * 1024];
+        tally.enter();
+        byte[] inner = new byte[64 * 1024];
+        tally.exit();
+        tally.exit();
+
+        // Assert
+        assertEquals(1, tally.getSegments());
+        assertTrue(tally.getAllocatedBytes() >= outer.length + inner.length);
+    }
+
+    @Test
+    void testAfterSegment_RunsOnceTheOutermostSegmentIsCounted() {
+        RequestCostRegistry.Tally tally = registry.newTally();
+        List<Long> segmentsSeen = new ArrayList<>();
+
+        tally.enter();
+        tally.afterSegment(() -> segmentsSeen.add(tally.getSegments()));
+        assertTrue(segmentsSeen.isEmpty());
+        tally.exit();
+
+        assertEquals(List.of(1L), segmentsSeen);
+        tally.afterSegment(() -> segmentsSeen.add(-1L));
+        assertEquals(List.of(1L, -1L), segmentsSeen);
+    }
+
+    @Test
+    void testRecord_PublishesPerRouteMetersAndSnapshot() {
+        // Arrange
+        RequestCostRegistry.Tally tally = registry.newTally();
+        tally.enter();
+        byte[] allocated = new byte[512 * 1024];
+        tally.exit();
+
+        // Act
+        registry.record("GET /api/staff", tally);
+
+        // Assert
+        assertEquals(1, meterRegistry.get(RequestCostRegistry.ALLOCATED_BYTES).tag("route", "GET /api/staff")
+            .summary().count());
+        assertEquals(1, meterRegistry.get(RequestCostRegistry.CPU_TIME).tag("route", "GET /api/staff")
+            .timer().count());
+        EndpointCost cost = registry.snapshot().get(0);
+        assertEquals("GET /api/staff", cost.route());
+        assertEquals(1, cost.samples());
+        assertTrue(cost.allocatedBytesMean() >= allocated.length);
+    }
+
+    @Test
+    void testRecord_SkipsEmptyTalliesAndUnsampledExchanges() {
+        registry.record("GET /api/staff", registry.newTally());
+        registry.record("GET /api/staff", null);
+
+        assertTrue(registry.snapshot().isEmpty());
+        assertNull(new RequestCostRegistry(meterRegistry, true, 0.0, 2).newTally());
+        assertNull(new RequestCostRegistry(meterRegistry, false, 1.0, 2).newTally());
+    }
+
+    @Test
+    void testRecord_FoldsRoutesPastTheCapIntoOther() {
+        for (String route : List.of("GET /a", "GET /b", "GET /c")) {
+            RequestCostRegistry.Tally tally = registry.newTally();
+            tally.enter();
+            tally.exit();
+            registry.record(route, tally);
+        }
+
+        assertEquals(List.of("GET /a", "GET /b", EndpointLatencyRegistry.OTHER_ROUTE),
+            registry.snapshot().stream().map(EndpointCost::route).sorted().toList());
+    }
+}
@@ -1,14 +1,19 @@
 package com.beautysalon;
 
+import com.beautysalon.config.ClassLoadingApplicationStartup;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableCaching
+@EnableScheduling
 public class BeautySalonApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(BeautySalonApplication.class, args);
+        SpringApplication application = new SpringApplication(BeautySalonApplication.class);
+        application.setApplicationStartup(new ClassLoadingApplicationStartup(ClassLoadingApplicationStartup.DEFAULT_CAPACITY));
+        application.run(args);
     }
 }
@@ -0,0 +1,126 @@
+package com.beautysalon.config;
+
+import brave.sampler.Sampler;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.lang.NonNull;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Head sampler that aims for a fixed number of exported spans per second instead of a fixed probability.
+ * Once per second the sampling probability is re-derived from the traces seen in the previous second and
+ * the average spans per trace (reported by {@link TailSamplingSpanHandler}); within a second, a hard cap
+ * stops sampling once the budget is spent, so a burst cannot overshoot it.
+ */
+public class AdaptiveTraceSampler extends Sampler implements MeterBinder {
+
+    static final String METRIC_PREFIX = "beauty_salon.tracing.sampler";
+
+    private static final long WINDOW_MILLIS = 1000;
+    private static final double SPANS_PER_TRACE_SMOOTHING = 0.1;
+
+    private final double spansPerSecond;
+    private final double minProbability;
+    private final LongSupplier clock;
+
+    private final AtomicLong windowStart;
+    private final LongAdder tracesInWindow = new LongAdder();
+    private final AtomicLong sampledInWindow = new AtomicLong();
+    private final LongAdder sampledTotal = new LongAdder();
+    private final LongAdder droppedTotal = new LongAdder();
+    private volatile double probability = 1.0;
+    private volatile double spansPerTrace = 1.0;
+
+    public AdaptiveTraceSampler(double spansPerSecond, double minProbability) {
+        this(spansPerSecond, minProbability, System::currentTimeMillis);
+    }
+
+    AdaptiveTraceSampler(double spansPerSecond, double minProbability, LongSupplier clock) {
+        if (spansPerSecond <= 0) {
+            throw new IllegalArgumentException("Span budget must be positive");
+        }
+        this.spansPerSecond = spansPerSecond;
+        this.minProbability = minProbability;
+        this.clock = clock;
+        this.windowStart = new AtomicLong(clock.getAsLong());
+    }
+
+    @Override
+    public boolean isSampled(long traceId) {
+        rollWindow(clock.getAsLong());
+        tracesInWindow.increment();
+        boolean sampled = withinBudget() && ThreadLocalRandom.current().nextDouble() < probability;
+        if (sampled) {
+            sampledInWindow.incrementAndGet();
+            sampledTotal.increment();
+        } else {
+            droppedTotal.increment();
+        }
+        return sampled;
+    }
+
+    /**
+     * Feed the size of a finished local trace into the spans-per-trace average.
+     */
+    public void recordTraceSize(int spans) {
+        double current = spansPerTrace;
+        spansPerTrace = current + SPANS_PER_TRACE_SMOOTHING * (spans - current);
+    }
+
+    public double getProbability() {
+        return probability;
+    }
+
+    public double getSpansPerTrace() {
+        return spansPerTrace;
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        Gauge.builder(METRIC_PREFIX + ".probability", this, AdaptiveTraceSampler::getProbability)
+                .description("Current head sampling probability")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".spans_per_trace", this, AdaptiveTraceSampler::getSpansPerTrace)
+                .description("Smoothed number of spans per local trace")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".budget", this, s -> s.spansPerSecond)
+                .description("Target exported spans per second")
+                .baseUnit("spans")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".traces", sampledTotal, LongAdder::sum)
+                .tag("decision", "sampled")
+                .description("Head sampling decisions")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".traces", droppedTotal, LongAdder::sum)
+                .tag("decision", "dropped")
+                .description("Head sampling decisions")
+                .register(registry);
+    }
+
+    private boolean withinBudget() {
+        // the first trace of a second is always affordable, even when one trace exceeds the budget
+        long sampled = sampledInWindow.get();
+        return sampled == 0 || (sampled + 1) * spansPerTrace <= spansPerSecond;
+    }
+
+    private void rollWindow(long now) {
+        long start = windowStart.get();
+        if (now - start < WINDOW_MILLIS || !windowStart.compareAndSet(start, now)) {
+            return;
+        }
+        // traces seen per second over the window that just closed
+        double elapsedSeconds = (now - start) / 1000.0;
+        double tracesPerSecond = tracesInWindow.sumThenReset() / elapsedSeconds;
+        sampledInWindow.set(0);
+        double affordable = spansPerSecond / Math.max(1.0, spansPerTrace);
+        probability = tracesPerSecond <= affordable
+                ? 1.0
+                : Math.max(minProbability, affordable / tracesPerSecond);
+    }
+}
@@ -0,0 +1,21 @@
+package com.beautysalon.config;
+
+import com.beautysalon.service.AlertRule;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * Alert rules from {@code monitoring.alerts.rules}; the built-in {@link AlertRule#defaults()} apply
+ * when none are configured. {@code adHocCooldownSeconds} throttles alerts raised directly by services.
+ */
+@ConfigurationProperties(prefix = "monitoring.alerts")
+public record AlertProperties(
+        List<AlertRule> rules,
+        @DefaultValue("60") long adHocCooldownSeconds) {
+
+    public List<AlertRule> effectiveRules() {
+        return rules == null || rules.isEmpty() ? AlertRule.defaults() : List.copyOf(rules);
+    }
+}
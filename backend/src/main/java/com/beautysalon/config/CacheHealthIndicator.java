@@ -0,0 +1,69 @@
+package com.beautysalon.config;
+
+import com.beautysalon.service.CacheStatistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache hit rate over the {@link CacheStatistics} window, recomputed on a schedule. The cache is
+ * {@link HealthConfiguration#DEGRADED} while the hit rate is below {@code min-hit-rate}, judged only once
+ * the window holds {@code min-lookups} lookups so a quiet or freshly started instance is not flagged.
+ */
+@Component
+public class CacheHealthIndicator implements HealthIndicator {
+
+    private final CacheStatistics statistics;
+    private final double minHitRate;
+    private final long minLookups;
+
+    private volatile Health health;
+    private volatile double hitRate;
+    private volatile boolean belowTarget;
+
+    @Autowired
+    public CacheHealthIndicator(CacheStatistics statistics,
+                                @Value("${monitoring.health.cache.min-hit-rate:80}") double minHitRate,
+                                @Value("${monitoring.health.cache.min-lookups:100}") long minLookups) {
+        this.statistics = statistics;
+        this.minHitRate = minHitRate;
+        this.minLookups = minLookups;
+        refresh();
+    }
+
+    @Override
+    public Health health() {
+        return health;
+    }
+
+    @Scheduled(fixedDelayString = "${monitoring.health.refresh-interval-ms:5000}")
+    public void refresh() {
+        long hits = statistics.getHits();
+        long lookups = hits + statistics.getMisses();
+        double rate = lookups == 0 ? 0.0 : (double) hits / lookups * 100.0;
+        boolean below = lookups >= minLookups && rate < minHitRate;
+        hitRate = rate;
+        belowTarget = below;
+        health = (below ? Health.status(HealthConfiguration.DEGRADED) : Health.up())
+                .withDetail("hitRate", rate)
+                .withDetail("lookups", lookups)
+                .withDetail("windowSeconds", statistics.getWindowSeconds())
+                .withDetail("minHitRate", minHitRate)
+                .withDetail("caches", statistics.getHitRates())
+                .build();
+    }
+
+    /**
+     * Hit rate in percent as of the last refresh.
+     */
+    public double getHitRate() {
+        return hitRate;
+    }
+
+    public boolean isBelowTarget() {
+        return belowTarget;
+    }
+}
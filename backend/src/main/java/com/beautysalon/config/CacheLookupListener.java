@@ -0,0 +1,12 @@
+package com.beautysalon.config;
+
+/**
+ * Told about every lookup through an {@link ObservedCacheManager}. Called on the request thread, so
+ * implementations must be cheap and must not throw.
+ */
+public interface CacheLookupListener {
+
+    void onHit(String cacheName);
+
+    void onMiss(String cacheName);
+}
@@ -0,0 +1,29 @@
+package com.beautysalon.config;
+
+import brave.Tracer;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Tags the current span with {@link TailSamplingSpanHandler#CACHE_MISS_TAG} (value: the cache name)
+ * whenever a lookup misses, so the tail sampler keeps traces that went to Cassandra.
+ */
+public class CacheMissSpanTagger implements CacheLookupListener {
+
+    private final ObjectProvider<Tracer> tracerProvider;
+
+    public CacheMissSpanTagger(ObjectProvider<Tracer> tracerProvider) {
+        this.tracerProvider = tracerProvider;
+    }
+
+    @Override
+    public void onHit(String cacheName) {
+    }
+
+    @Override
+    public void onMiss(String cacheName) {
+        Tracer tracer = tracerProvider.getIfAvailable();
+        if (tracer != null) {
+            tracer.currentSpanCustomizer().tag(TailSamplingSpanHandler.CACHE_MISS_TAG, cacheName);
+        }
+    }
+}
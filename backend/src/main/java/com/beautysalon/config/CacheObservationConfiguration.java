@@ -0,0 +1,29 @@
+package com.beautysalon.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+
+/**
+ * Wraps the cache manager in an {@link ObservedCacheManager} so every {@link CacheLookupListener} bean
+ * sees cache hits and misses.
+ */
+@Configuration
+public class CacheObservationConfiguration {
+
+    @Bean
+    public static BeanPostProcessor observedCacheManagerPostProcessor(ObjectProvider<CacheLookupListener> listeners) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+                if (bean instanceof CacheManager cacheManager && !(bean instanceof ObservedCacheManager)) {
+                    return new ObservedCacheManager(cacheManager, listeners);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -1,12 +1,16 @@
 package com.beautysalon.config;
 
+import com.beautysalon.common.cassandra.CassandraDriverMetrics;
 import com.datastax.oss.driver.api.core.CqlSession;
 import com.datastax.oss.driver.api.core.CqlSessionBuilder;
+import com.datastax.oss.driver.api.core.config.DriverConfigLoader;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
 
 import java.net.InetSocketAddress;
 
@@ -14,6 +18,7 @@ import java.net.InetSocketAddress;
  * Custom Cassandra configuration that creates a session without specifying a keyspace initially.
  * This allows the migration runner to create the keyspace before the session is used.
  */
+@Profile("!inmem")
 @Configuration
 public class CassandraConfig {
 
@@ -29,14 +34,17 @@ public class CassandraConfig {
     /**
      * Creates a CqlSession without specifying a keyspace initially.
      * The migration runner will handle keyspace creation and switching.
+     * Driver session and node metrics are registered into the application's MeterRegistry.
      */
     @Bean
     @Primary
     @ConditionalOnMissingBean
-    public CqlSession cqlSession() {
+    public CqlSession cqlSession(MeterRegistry meterRegistry) {
         CqlSessionBuilder builder = CqlSession.builder()
                 .addContactPoint(new InetSocketAddress(contactPoints, port))
-                .withLocalDatacenter(localDatacenter);
+                .withLocalDatacenter(localDatacenter)
+                .withConfigLoader(CassandraDriverMetrics.configure(DriverConfigLoader.programmaticBuilder()).build())
+                .withMetricRegistry(meterRegistry);
 
         // Note: Advanced timeout configuration would require DriverConfigLoader setup
         // For now, using default timeouts from the driver
@@ -7,7 +7,10 @@ import org.slf4j.LoggerFactory;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
 import org.springframework.core.env.Environment;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.stereotype.Component;
@@ -23,7 +26,9 @@ import java.util.stream.Collectors;
  * classpath: db/migration (e.g., V1__create_keyspace.cql, V2__create_tables.cql ...)
  *
  * This runner maintains a schema_migrations table to ensure idempotency.
+ * The run is recorded as the beautysalon.cassandra.migrations startup step, tagged with the number applied.
  */
+@Profile("!inmem")
 @Component
 @ConditionalOnProperty(name = "migrations.enabled", havingValue = "true", matchIfMissing = true)
 public class CassandraMigrationRunner implements ApplicationRunner {
@@ -32,17 +37,29 @@ public class CassandraMigrationRunner implements ApplicationRunner {
 
     private static final String MIGRATIONS_LOCATION = "classpath:/db/migration/V*.cql";
     private static final String MIGRATIONS_TABLE = "schema_migrations";
+    private static final String STARTUP_STEP = "beautysalon.cassandra.migrations";
 
     private final CqlSession session;
     private final Environment env;
+    private final ApplicationStartup applicationStartup;
 
-    public CassandraMigrationRunner(CqlSession session, Environment env) {
+    public CassandraMigrationRunner(CqlSession session, Environment env, ApplicationStartup applicationStartup) {
         this.session = session;
         this.env = env;
+        this.applicationStartup = applicationStartup;
     }
 
     @Override
     public void run(ApplicationArguments args) throws Exception {
+        StartupStep step = applicationStartup.start(STARTUP_STEP);
+        try {
+            step.tag("applied", String.valueOf(migrate()));
+        } finally {
+            step.end();
+        }
+    }
+
+    private int migrate() throws Exception {
         log.info("[MIGRATIONS] Starting Cassandra migrations from {}", MIGRATIONS_LOCATION);
         
         // Load migration resources
@@ -50,7 +67,7 @@ public class CassandraMigrationRunner implements ApplicationRunner {
         Resource[] resources = resolver.getResources(MIGRATIONS_LOCATION);
         if (resources.length == 0) {
             log.info("[MIGRATIONS] No migration files found. Skipping.");
-            return;
+            return 0;
         }
 
         // Sort by filename ascending (V1..Vn)
@@ -84,6 +101,7 @@ public class CassandraMigrationRunner implements ApplicationRunner {
 
         // Load already applied versions
         Set<String> applied = fetchAppliedVersions();
+        int appliedNow = 0;
 
         // If we ran the keyspace migration early, switch to the keyspace and mark it as applied
         if (ranEarlyKeyspace && earlyVersion != null && !applied.contains(earlyVersion)) {
@@ -92,6 +110,7 @@ public class CassandraMigrationRunner implements ApplicationRunner {
                     "INSERT INTO " + qualifiedMigrationsTable() + " (version, description, script, installed_on) VALUES (?, ?, ?, toTimestamp(now()))",
                     earlyVersion, earlyDescription, sorted.get(0).getFilename()));
             applied.add(earlyVersion);
+            appliedNow++;
             log.info("[MIGRATIONS] Early keyspace migration V{} recorded as applied.", earlyVersion);
         }
 
@@ -114,10 +133,12 @@ public class CassandraMigrationRunner implements ApplicationRunner {
                     "INSERT INTO " + qualifiedMigrationsTable() + " (version, description, script, installed_on) VALUES (?, ?, ?, toTimestamp(now()))",
                     version, description, filename));
         
+            appliedNow++;
             log.info("[MIGRATIONS] Migration V{} applied successfully.", version);
         }
 
         log.info("[MIGRATIONS] All migrations completed.");
+        return appliedNow;
     }
 
     private void createMigrationsTableIfNotExists() {
@@ -0,0 +1,84 @@
+package com.beautysalon.config;
+
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+/**
+ * Buffers the startup steps Spring records (bean instantiation, configuration class parsing, context
+ * refresh, ...) and tags each with the number of classes the JVM loaded while it was open, under
+ * {@link #CLASSES_LOADED_TAG}. Like step durations, the count includes nested steps. Installed by
+ * {@code BeautySalonApplication.main}; read back through {@code /actuator/startupprofile}.
+ */
+public class ClassLoadingApplicationStartup extends BufferingApplicationStartup {
+
+    public static final String CLASSES_LOADED_TAG = "classes.loaded";
+
+    /** Enough for every bean of the context with room for steps recorded after startup. */
+    public static final int DEFAULT_CAPACITY = 10_000;
+
+    private final ClassLoadingMXBean classLoading = ManagementFactory.getClassLoadingMXBean();
+
+    public ClassLoadingApplicationStartup(int capacity) {
+        super(capacity);
+    }
+
+    @Override
+    public StartupStep start(String name) {
+        return new ClassCountingStep(super.start(name), classLoading);
+    }
+
+    private static final class ClassCountingStep implements StartupStep {
+
+        private final StartupStep delegate;
+        private final ClassLoadingMXBean classLoading;
+        private final long loadedAtStart;
+
+        private ClassCountingStep(StartupStep delegate, ClassLoadingMXBean classLoading) {
+            this.delegate = delegate;
+            this.classLoading = classLoading;
+            this.loadedAtStart = classLoading.getTotalLoadedClassCount();
+        }
+
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+
+        @Override
+        public long getId() {
+            return delegate.getId();
+        }
+
+        @Override
+        public Long getParentId() {
+            return delegate.getParentId();
+        }
+
+        @Override
+        public StartupStep tag(String key, String value) {
+            delegate.tag(key, value);
+            return this;
+        }
+
+        @Override
+        public StartupStep tag(String key, Supplier<String> value) {
+            delegate.tag(key, value);
+            return this;
+        }
+
+        @Override
+        public Tags getTags() {
+            return delegate.getTags();
+        }
+
+        @Override
+        public void end() {
+            delegate.tag(CLASSES_LOADED_TAG, String.valueOf(classLoading.getTotalLoadedClassCount() - loadedAtStart));
+            delegate.end();
+        }
+    }
+}
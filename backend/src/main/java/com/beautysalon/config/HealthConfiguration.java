@@ -0,0 +1,26 @@
+package com.beautysalon.config;
+
+import org.springframework.boot.actuate.health.SimpleStatusAggregator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.actuate.health.StatusAggregator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Health statuses shared by the actuator health endpoint and {@code /api/monitoring/health}.
+ * {@link #DEGRADED} means still serving, but worse than it should (low cache hit rate, heap filling up
+ * after GC); it ranks between DOWN and UP and, like UP, answers 200.
+ */
+@Configuration
+public class HealthConfiguration {
+
+    public static final Status DEGRADED = new Status("DEGRADED");
+
+    public static final StatusAggregator STATUS_AGGREGATOR = new SimpleStatusAggregator(
+            Status.DOWN, Status.OUT_OF_SERVICE, DEGRADED, Status.UP, Status.UNKNOWN);
+
+    @Bean
+    public StatusAggregator statusAggregator() {
+        return STATUS_AGGREGATOR;
+    }
+}
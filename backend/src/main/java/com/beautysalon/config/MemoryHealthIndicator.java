@@ -0,0 +1,190 @@
+package com.beautysalon.config;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Heap occupancy after garbage collection, for the {@code liveness} group. Heap in use right now is
+ * mostly garbage waiting to be collected; what survives a collection in the long-lived pools is the
+ * live set, and a live set close to the maximum means the JVM is heading for back-to-back collections
+ * and OutOfMemoryError. The result is recomputed from the completion notification of each collection
+ * that covers the old generation, so {@link #health()} only returns it. Young collections are skipped:
+ * they only promote into the old generation, so between major collections it holds garbage as well.
+ */
+@Component
+public class MemoryHealthIndicator implements HealthIndicator {
+
+    private static final Logger logger = LoggerFactory.getLogger(MemoryHealthIndicator.class);
+
+    private final double degradedOccupancy;
+    private final double downOccupancy;
+    private final List<String> pools;
+    private final List<NotificationEmitter> emitters = new ArrayList<>();
+    private final NotificationListener listener = (notification, handback) -> onNotification(notification);
+
+    private volatile Health health;
+    private volatile double occupancy;
+
+    @Autowired
+    public MemoryHealthIndicator(@Value("${monitoring.health.memory.degraded-occupancy:0.85}") double degradedOccupancy,
+                                 @Value("${monitoring.health.memory.down-occupancy:0.95}") double downOccupancy) {
+        this.degradedOccupancy = degradedOccupancy;
+        this.downOccupancy = downOccupancy;
+        this.pools = longLivedHeapPools();
+        seedFromLastCollection();
+    }
+
+    @PostConstruct
+    public void start() {
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener(listener, null, null);
+                emitters.add(emitter);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        for (NotificationEmitter emitter : emitters) {
+            try {
+                emitter.removeNotificationListener(listener);
+            } catch (ListenerNotFoundException e) {
+                logger.debug("GC listener was already removed", e);
+            }
+        }
+        emitters.clear();
+    }
+
+    @Override
+    public Health health() {
+        return health;
+    }
+
+    /**
+     * Live set over the maximum of the long-lived heap pools, 0..1, as of the last collection.
+     */
+    public double getOccupancy() {
+        return occupancy;
+    }
+
+    void recordAfterGc(long usedBytes, long maxBytes, String collector) {
+        double ratio = maxBytes <= 0 ? 0.0 : (double) usedBytes / maxBytes;
+        Health.Builder builder;
+        if (ratio >= downOccupancy) {
+            builder = Health.down();
+        } else if (ratio >= degradedOccupancy) {
+            builder = Health.status(HealthConfiguration.DEGRADED);
+        } else {
+            builder = Health.up();
+        }
+        occupancy = ratio;
+        health = builder
+                .withDetail("occupancyAfterGc", ratio)
+                .withDetail("usedAfterGcBytes", usedBytes)
+                .withDetail("maxBytes", maxBytes)
+                .withDetail("collector", collector)
+                .withDetail("pools", pools)
+                .build();
+    }
+
+    private void onNotification(Notification notification) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        if (!measuresLiveSet(info.getGcName(), info.getGcAction())) {
+            return;
+        }
+        Map<String, MemoryUsage> afterGc = info.getGcInfo().getMemoryUsageAfterGc();
+        long used = 0;
+        long max = 0;
+        for (String pool : pools) {
+            MemoryUsage usage = afterGc.get(pool);
+            if (usage != null) {
+                used += usage.getUsed();
+                max += maxOf(usage);
+            }
+        }
+        if (max > 0) {
+            recordAfterGc(used, max, info.getGcName());
+        }
+    }
+
+    /**
+     * Whether a collection leaves only live objects in the long-lived pools: a full collection
+     * ({@code end of major GC}), the end of G1's concurrent marking cycle, or a cycle of a
+     * single-generation collector such as Shenandoah or non-generational ZGC. Young and mixed pauses,
+     * and generational ZGC's minor cycles, are not.
+     */
+    static boolean measuresLiveSet(String gcName, String gcAction) {
+        if (gcAction.contains("major")) {
+            return true;
+        }
+        if (gcName.equals("G1 Concurrent GC")) {
+            return true;
+        }
+        return gcAction.equals("end of GC cycle") && !gcName.contains("Minor");
+    }
+
+    /**
+     * Until the first notification, start from the pools' own usage after their last collection, if any.
+     */
+    private void seedFromLastCollection() {
+        long used = 0;
+        long max = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            MemoryUsage usage = pools.contains(pool.getName()) ? pool.getCollectionUsage() : null;
+            if (usage != null) {
+                used += usage.getUsed();
+                max += maxOf(usage);
+            }
+        }
+        recordAfterGc(used, max, "none");
+    }
+
+    private static long maxOf(MemoryUsage usage) {
+        return usage.getMax() < 0 ? usage.getCommitted() : usage.getMax();
+    }
+
+    /**
+     * The old generation of generational collectors; for single-generation collectors such as ZGC
+     * or Shenandoah, the one heap pool.
+     */
+    private static List<String> longLivedHeapPools() {
+        List<String> heap = new ArrayList<>();
+        List<String> old = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() != MemoryType.HEAP || !pool.isCollectionUsageThresholdSupported()) {
+                continue;
+            }
+            heap.add(pool.getName());
+            if (pool.getName().contains("Old") || pool.getName().contains("Tenured")) {
+                old.add(pool.getName());
+            }
+        }
+        return List.copyOf(old.isEmpty() ? heap : old);
+    }
+}
@@ -1,14 +1,18 @@
 package com.beautysalon.config;
 
+import com.beautysalon.common.cassandra.CassandraDriverMetrics;
+import com.beautysalon.service.AlertSignals;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.cache.CacheManager;
 
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -16,10 +20,12 @@ import java.util.concurrent.atomic.AtomicLong;
  * Configures custom metrics for performance monitoring, alerting, and dashboards
  */
 @Configuration
+@EnableConfigurationProperties(AlertProperties.class)
 public class MetricsConfiguration {
 
     private final MeterRegistry meterRegistry;
     private final CacheManager cacheManager;
+    private final AlertSignals alertSignals;
     
     // Custom metrics counters
     private final AtomicLong cacheHitCount = new AtomicLong(0);
@@ -28,9 +34,10 @@ public class MetricsConfiguration {
     private final AtomicLong errorCount = new AtomicLong(0);
 
     @Autowired
-    public MetricsConfiguration(MeterRegistry meterRegistry, CacheManager cacheManager) {
+    public MetricsConfiguration(MeterRegistry meterRegistry, CacheManager cacheManager, AlertSignals alertSignals) {
         this.meterRegistry = meterRegistry;
         this.cacheManager = cacheManager;
+        this.alertSignals = alertSignals;
         initializeCustomMetrics();
     }
 
@@ -68,7 +75,7 @@ public class MetricsConfiguration {
 
         // Connection Pool Gauge
         Gauge.builder("beauty_salon.cassandra.connections.active", this, MetricsConfiguration::getActiveCassandraConnections)
-                .description("Active Cassandra connections")
+                .description("Open Cassandra connections across all nodes, from the driver pool metrics")
                 .register(meterRegistry);
     }
 
@@ -80,9 +87,7 @@ public class MetricsConfiguration {
     }
 
     private double getActiveCassandraConnections() {
-        // This would typically integrate with Cassandra driver metrics
-        // For now, return a simulated value
-        return 8.0; // Based on our connection pool configuration
+        return CassandraDriverMetrics.sumGauges(meterRegistry, CassandraDriverMetrics.POOL_OPEN_CONNECTIONS);
     }
 
     // Utility methods for incrementing counters
@@ -104,6 +109,7 @@ public class MetricsConfiguration {
     public void incrementError(String errorType) {
         errorCount.incrementAndGet();
         meterRegistry.counter("beauty_salon.errors", "type", errorType).increment();
+        alertSignals.recordError(errorType);
     }
 
     public Timer.Sample startTimer() {
@@ -114,5 +120,9 @@ public class MetricsConfiguration {
         sample.stop(meterRegistry.timer("beauty_salon.response.time"));
     }
 
+    public Map<String, Object> getCassandraDriverMetrics() {
+        return CassandraDriverMetrics.snapshot(meterRegistry);
+    }
+
     // Removed circular bean dependency - this class is already a @Configuration
 }
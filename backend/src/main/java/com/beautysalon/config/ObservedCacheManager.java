@@ -0,0 +1,160 @@
+package com.beautysalon.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Cache manager decorator that reports every lookup's hit or miss to the {@link CacheLookupListener} beans,
+ * e.g. {@link CacheMissSpanTagger} for the tail sampler and the cache statistics behind the cache health check.
+ * Listeners are resolved on the first lookup, since the cache manager is created before most of them.
+ */
+public class ObservedCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final ObjectProvider<CacheLookupListener> listenerProvider;
+    private final Map<Cache, Cache> decorated = new ConcurrentHashMap<>();
+    private volatile List<CacheLookupListener> listeners;
+
+    public ObservedCacheManager(CacheManager delegate, ObjectProvider<CacheLookupListener> listenerProvider) {
+        this.delegate = delegate;
+        this.listenerProvider = listenerProvider;
+    }
+
+    @Override
+    @Nullable
+    public Cache getCache(@NonNull String name) {
+        Cache cache = delegate.getCache(name);
+        return cache == null ? null : decorated.computeIfAbsent(cache, ObservedCache::new);
+    }
+
+    @Override
+    @NonNull
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    private List<CacheLookupListener> listeners() {
+        List<CacheLookupListener> resolved = listeners;
+        if (resolved == null) {
+            resolved = listenerProvider.orderedStream().toList();
+            listeners = resolved;
+        }
+        return resolved;
+    }
+
+    private void lookedUp(String cacheName, boolean hit) {
+        for (CacheLookupListener listener : listeners()) {
+            if (hit) {
+                listener.onHit(cacheName);
+            } else {
+                listener.onMiss(cacheName);
+            }
+        }
+    }
+
+    private final class ObservedCache implements Cache {
+
+        private final Cache cache;
+
+        private ObservedCache(Cache cache) {
+            this.cache = cache;
+        }
+
+        @Override
+        @NonNull
+        public String getName() {
+            return cache.getName();
+        }
+
+        @Override
+        @NonNull
+        public Object getNativeCache() {
+            return cache.getNativeCache();
+        }
+
+        @Override
+        @Nullable
+        public ValueWrapper get(@NonNull Object key) {
+            ValueWrapper value = cache.get(key);
+            lookedUp(cache.getName(), value != null);
+            return value;
+        }
+
+        @Override
+        @Nullable
+        public <T> T get(@NonNull Object key, @Nullable Class<T> type) {
+            T value = cache.get(key, type);
+            lookedUp(cache.getName(), value != null);
+            return value;
+        }
+
+        @Override
+        @Nullable
+        public <T> T get(@NonNull Object key, @NonNull Callable<T> valueLoader) {
+            boolean[] loaded = new boolean[1];
+            T value = cache.get(key, () -> {
+                loaded[0] = true;
+                lookedUp(cache.getName(), false);
+                return valueLoader.call();
+            });
+            if (!loaded[0]) {
+                lookedUp(cache.getName(), true);
+            }
+            return value;
+        }
+
+        @Override
+        @Nullable
+        public CompletableFuture<?> retrieve(@NonNull Object key) {
+            return cache.retrieve(key);
+        }
+
+        @Override
+        @NonNull
+        public <T> CompletableFuture<T> retrieve(@NonNull Object key, @NonNull Supplier<CompletableFuture<T>> valueLoader) {
+            return cache.retrieve(key, valueLoader);
+        }
+
+        @Override
+        public void put(@NonNull Object key, @Nullable Object value) {
+            cache.put(key, value);
+        }
+
+        @Override
+        @Nullable
+        public ValueWrapper putIfAbsent(@NonNull Object key, @Nullable Object value) {
+            return cache.putIfAbsent(key, value);
+        }
+
+        @Override
+        public void evict(@NonNull Object key) {
+            cache.evict(key);
+        }
+
+        @Override
+        public boolean evictIfPresent(@NonNull Object key) {
+            return cache.evictIfPresent(key);
+        }
+
+        @Override
+        public void clear() {
+            cache.clear();
+        }
+
+        @Override
+        public boolean invalidate() {
+            return cache.invalidate();
+        }
+    }
+}
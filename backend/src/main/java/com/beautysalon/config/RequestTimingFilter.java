@@ -0,0 +1,79 @@
+package com.beautysalon.config;
+
+import com.beautysalon.common.monitoring.EndpointLatencyRegistry;
+import com.beautysalon.service.AlertSignals;
+import com.beautysalon.service.RequestCostRegistry;
+import com.beautysalon.service.StartupProfiler;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Times every request and records it per route: into the endpoint latency histograms behind
+ * {@code /api/monitoring/performance} and into the {@code beauty_salon.response.time} timer.
+ * Each request is also counted for the alert rules, as failed when it ends in a 5xx or an exception,
+ * and sampled requests have their allocation and CPU time recorded in {@link RequestCostRegistry}.
+ * Until the first API request has completed, requests are also reported to {@link StartupProfiler}.
+ * Routes are keyed by the matched path pattern, not the raw URI, to keep cardinality bounded.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestTimingFilter extends OncePerRequestFilter {
+
+    private final EndpointLatencyRegistry latencyRegistry;
+    private final MetricsConfiguration metricsConfig;
+    private final AlertSignals alertSignals;
+    private final RequestCostRegistry costRegistry;
+    private final StartupProfiler startupProfiler;
+
+    @Autowired
+    public RequestTimingFilter(EndpointLatencyRegistry latencyRegistry, MetricsConfiguration metricsConfig,
+                               AlertSignals alertSignals, RequestCostRegistry costRegistry,
+                               StartupProfiler startupProfiler) {
+        this.latencyRegistry = latencyRegistry;
+        this.metricsConfig = metricsConfig;
+        this.alertSignals = alertSignals;
+        this.costRegistry = costRegistry;
+        this.startupProfiler = startupProfiler;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        RequestCostRegistry.Sample cost = costRegistry.start();
+        long start = System.nanoTime();
+        Timer.Sample sample = metricsConfig.startTimer();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = response.getStatus() >= HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        } finally {
+            String route = routeOf(request);
+            long elapsed = System.nanoTime() - start;
+            latencyRegistry.record(route, elapsed);
+            alertSignals.recordRequest(route, failed);
+            metricsConfig.recordResponseTime(sample);
+            costRegistry.stop(cost, route);
+            startupProfiler.recordRequest(request.getRequestURI(), elapsed);
+        }
+    }
+
+    static String routeOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) {
+            return EndpointLatencyRegistry.UNMATCHED_ROUTE;
+        }
+        return request.getMethod() + " " + pattern;
+    }
+}
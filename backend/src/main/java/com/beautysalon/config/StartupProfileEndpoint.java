@@ -0,0 +1,33 @@
+package com.beautysalon.config;
+
+import com.beautysalon.dto.StartupProfile;
+import com.beautysalon.service.StartupProfiler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/startupprofile[?top=N]}: the {@link StartupProfiler} summary of the last cold start, with the
+ * N slowest beans. Unlike Spring's {@code startup} endpoint, which serves the raw step timeline and drains it on
+ * POST, it can be read any number of times; that endpoint is therefore not exposed.
+ */
+@Component
+@Endpoint(id = "startupprofile")
+public class StartupProfileEndpoint {
+
+    private final StartupProfiler profiler;
+    private final int defaultTopBeans;
+
+    public StartupProfileEndpoint(StartupProfiler profiler,
+                                  @Value("${monitoring.startup.top-beans:20}") int defaultTopBeans) {
+        this.profiler = profiler;
+        this.defaultTopBeans = defaultTopBeans;
+    }
+
+    @ReadOperation
+    public StartupProfile startupProfile(@Nullable Integer top) {
+        return profiler.profile(top != null ? top : defaultTopBeans);
+    }
+}
@@ -0,0 +1,253 @@
+package com.beautysalon.config;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.core.Ordered;
+import org.springframework.lang.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Tail-based half of trace sampling. Runs first in Brave's handler chain with every span recorded locally:
+ * spans of head-sampled traces pass straight through, while spans of the other traces are held in a short
+ * buffer until their local root finishes. The trace is then exported anyway if it was slow, errored or hit
+ * a cache miss (a {@value #CACHE_MISS_TAG} tag, see {@link CacheMissSpanTagger}), and dropped otherwise.
+ * Traces whose root never finishes in time, or that arrive while the buffer is full, are dropped. Head-sampled
+ * traces are only counted, for the sampler's spans-per-trace estimate, and never take room in the buffer.
+ */
+public class TailSamplingSpanHandler extends SpanHandler implements Ordered, MeterBinder {
+
+    public static final String CACHE_MISS_TAG = "cache.miss";
+
+    static final String METRIC_PREFIX = "beauty_salon.tracing.tail";
+
+    private static final class PendingTrace {
+        private final long createdAt;
+        private final List<TraceContext> contexts = new ArrayList<>();
+        private final List<MutableSpan> spans = new ArrayList<>();
+        private int spanCount;
+
+        private PendingTrace(long createdAt) {
+            this.createdAt = createdAt;
+        }
+    }
+
+    private static final class SampledTrace {
+        private final long createdAt;
+        private final LongAdder spanCount = new LongAdder();
+
+        private SampledTrace(long createdAt) {
+            this.createdAt = createdAt;
+        }
+    }
+
+    private final AdaptiveTraceSampler headSampler;
+    private final Supplier<List<SpanHandler>> downstream;
+    private final long slowThresholdMicros;
+    private final int maxTraces;
+    private final int maxSpansPerTrace;
+    private final long maxAgeMillis;
+    private final LongSupplier clock;
+
+    private final Map<Long, PendingTrace> pending = new ConcurrentHashMap<>();
+    private final Map<Long, SampledTrace> sampled = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> kept = Map.of(
+            "slow", new LongAdder(), "error", new LongAdder(), "cache_miss", new LongAdder());
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private volatile List<SpanHandler> downstreamHandlers;
+
+    /**
+     * @param downstream the handlers after this one in the chain; rescued spans are replayed to them
+     */
+    public TailSamplingSpanHandler(AdaptiveTraceSampler headSampler, Supplier<List<SpanHandler>> downstream,
+                                   long slowThresholdMillis, int maxTraces, int maxSpansPerTrace, long maxAgeMillis) {
+        this(headSampler, downstream, slowThresholdMillis, maxTraces, maxSpansPerTrace, maxAgeMillis,
+                System::currentTimeMillis);
+    }
+
+    TailSamplingSpanHandler(AdaptiveTraceSampler headSampler, Supplier<List<SpanHandler>> downstream,
+                            long slowThresholdMillis, int maxTraces, int maxSpansPerTrace, long maxAgeMillis,
+                            LongSupplier clock) {
+        this.headSampler = headSampler;
+        this.downstream = downstream;
+        this.slowThresholdMicros = TimeUnit.MILLISECONDS.toMicros(slowThresholdMillis);
+        this.maxTraces = maxTraces;
+        this.maxSpansPerTrace = maxSpansPerTrace;
+        this.maxAgeMillis = maxAgeMillis;
+        this.clock = clock;
+    }
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (cause != Cause.FINISHED) {
+            return true;
+        }
+        boolean localRoot = context.spanId() == context.localRootId();
+        if (Boolean.TRUE.equals(context.sampled())) {
+            countSampled(context.localRootId(), localRoot);
+            return true;
+        }
+        PendingTrace trace = pendingFor(context.localRootId());
+
+        if (trace != null) {
+            synchronized (trace) {
+                trace.spanCount++;
+                if (trace.spans.size() < maxSpansPerTrace) {
+                    trace.contexts.add(context);
+                    trace.spans.add(span);
+                }
+            }
+        }
+        if (localRoot) {
+            PendingTrace finished = pending.remove(context.localRootId());
+            if (finished != null) {
+                headSampler.recordTraceSize(finished.spanCount);
+                decide(finished, span);
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    int getPendingTraces() {
+        return pending.size();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        kept.forEach((reason, count) -> FunctionCounter.builder(METRIC_PREFIX + ".traces", count, LongAdder::sum)
+                .tag("decision", "kept")
+                .tag("reason", reason)
+                .description("Traces outside the head sample that the tail sampler exported or dropped")
+                .register(registry));
+        FunctionCounter.builder(METRIC_PREFIX + ".traces", dropped, LongAdder::sum)
+                .tag("decision", "dropped")
+                .tag("reason", "none")
+                .description("Traces outside the head sample that the tail sampler exported or dropped")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".evicted", evicted, LongAdder::sum)
+                .description("Buffered traces dropped because their root did not finish in time or the buffer was full")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".buffered", this, TailSamplingSpanHandler::getPendingTraces)
+                .description("Traces waiting for their local root span to finish")
+                .register(registry);
+    }
+
+    /**
+     * Counts the spans of a head-sampled trace until its local root finishes. Bounded like the buffer; a trace
+     * that finds the counters full only goes unmeasured.
+     */
+    private void countSampled(long localRootId, boolean localRoot) {
+        SampledTrace trace = sampled.get(localRootId);
+        if (trace == null) {
+            if (sampled.size() >= maxTraces) {
+                long oldest = clock.getAsLong() - maxAgeMillis;
+                sampled.values().removeIf(stale -> stale.createdAt < oldest);
+            }
+            if (sampled.size() < maxTraces) {
+                trace = sampled.computeIfAbsent(localRootId, id -> new SampledTrace(clock.getAsLong()));
+            }
+        }
+        if (trace != null) {
+            trace.spanCount.increment();
+        }
+        if (localRoot) {
+            SampledTrace finished = sampled.remove(localRootId);
+            if (finished != null) {
+                headSampler.recordTraceSize(finished.spanCount.intValue());
+            }
+        }
+    }
+
+    private PendingTrace pendingFor(long localRootId) {
+        PendingTrace trace = pending.get(localRootId);
+        if (trace != null) {
+            return trace;
+        }
+        if (pending.size() >= maxTraces) {
+            evictExpired();
+            if (pending.size() >= maxTraces) {
+                evicted.increment();
+                return null;
+            }
+        }
+        return pending.computeIfAbsent(localRootId, id -> new PendingTrace(clock.getAsLong()));
+    }
+
+    private void evictExpired() {
+        long oldest = clock.getAsLong() - maxAgeMillis;
+        pending.values().removeIf(trace -> {
+            boolean expired = trace.createdAt < oldest;
+            if (expired) {
+                evicted.increment();
+            }
+            return expired;
+        });
+    }
+
+    private void decide(PendingTrace trace, MutableSpan root) {
+        List<TraceContext> contexts;
+        List<MutableSpan> spans;
+        synchronized (trace) {
+            contexts = List.copyOf(trace.contexts);
+            spans = List.copyOf(trace.spans);
+        }
+        String reason = keepReason(root, spans);
+        if (reason == null) {
+            dropped.increment();
+            return;
+        }
+        kept.get(reason).increment();
+        List<SpanHandler> handlers = downstreamHandlers;
+        if (handlers == null) {
+            handlers = downstream.get();
+            downstreamHandlers = handlers;
+        }
+        for (int i = 0; i < spans.size(); i++) {
+            TraceContext sampled = contexts.get(i).toBuilder().sampled(true).build();
+            for (SpanHandler handler : handlers) {
+                if (!handler.end(sampled, spans.get(i), Cause.FINISHED)) {
+                    break;
+                }
+            }
+        }
+    }
+
+    private String keepReason(MutableSpan root, List<MutableSpan> spans) {
+        for (MutableSpan span : spans) {
+            if (isError(span)) {
+                return "error";
+            }
+        }
+        if (root.finishTimestamp() - root.startTimestamp() >= slowThresholdMicros) {
+            return "slow";
+        }
+        for (MutableSpan span : spans) {
+            if (span.tag(CACHE_MISS_TAG) != null) {
+                return "cache_miss";
+            }
+        }
+        return null;
+    }
+
+    private static boolean isError(MutableSpan span) {
+        return span.error() != null || span.tag("error") != null || "SERVER_ERROR".equals(span.tag("outcome"));
+    }
+}
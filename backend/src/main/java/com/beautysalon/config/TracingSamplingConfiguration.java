@@ -0,0 +1,52 @@
+package com.beautysalon.config;
+
+import brave.Tracer;
+import brave.Tracing;
+import brave.TracingCustomizer;
+import brave.handler.SpanHandler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Adaptive head sampling plus tail-based rescue of slow, failed and cache-missing traces.
+ * The {@link AdaptiveTraceSampler} replaces the fixed {@code management.tracing.sampling.probability};
+ * every span is still recorded locally so {@link TailSamplingSpanHandler} can decide after the fact.
+ * Set {@code monitoring.tracing.adaptive.enabled=false} to go back to the fixed probability.
+ */
+@Configuration
+@ConditionalOnProperty(name = "monitoring.tracing.adaptive.enabled", havingValue = "true", matchIfMissing = true)
+public class TracingSamplingConfiguration {
+
+    @Bean
+    public AdaptiveTraceSampler adaptiveTraceSampler(
+            @Value("${monitoring.tracing.spans-per-second:200}") double spansPerSecond,
+            @Value("${monitoring.tracing.min-probability:0.001}") double minProbability) {
+        return new AdaptiveTraceSampler(spansPerSecond, minProbability);
+    }
+
+    @Bean
+    public TracingCustomizer alwaysSampleLocalTracingCustomizer() {
+        return Tracing.Builder::alwaysSampleLocal;
+    }
+
+    @Bean
+    public TailSamplingSpanHandler tailSamplingSpanHandler(
+            AdaptiveTraceSampler adaptiveTraceSampler,
+            ObjectProvider<SpanHandler> spanHandlers,
+            @Value("${monitoring.tracing.tail.slow-threshold-ms:500}") long slowThresholdMs,
+            @Value("${monitoring.tracing.tail.max-buffered-traces:2000}") int maxBufferedTraces,
+            @Value("${monitoring.tracing.tail.max-spans-per-trace:256}") int maxSpansPerTrace,
+            @Value("${monitoring.tracing.tail.max-age-ms:10000}") long maxAgeMs) {
+        return new TailSamplingSpanHandler(adaptiveTraceSampler,
+                () -> spanHandlers.orderedStream().filter(h -> !(h instanceof TailSamplingSpanHandler)).toList(),
+                slowThresholdMs, maxBufferedTraces, maxSpansPerTrace, maxAgeMs);
+    }
+
+    @Bean
+    public CacheMissSpanTagger cacheMissSpanTagger(ObjectProvider<Tracer> tracer) {
+        return new CacheMissSpanTagger(tracer);
+    }
+}
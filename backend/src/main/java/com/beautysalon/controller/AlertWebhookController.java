@@ -0,0 +1,49 @@
+package com.beautysalon.controller;
+
+import com.beautysalon.dto.Alert;
+import com.beautysalon.service.AlertWebhookInbox;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Stand-in receiver for the webhook alert sink, for trying the sink out without an external service.
+ * It accepts alerts from anyone, so it only exists with {@code monitoring.alerts.webhook-receiver.enabled=true};
+ * leave it off wherever a real receiver is configured.
+ */
+@RestController
+@RequestMapping("/api/monitoring/alerts/webhook")
+@ConditionalOnProperty(name = "monitoring.alerts.webhook-receiver.enabled", havingValue = "true")
+public class AlertWebhookController {
+
+    private final AlertWebhookInbox alertWebhookInbox;
+
+    @Autowired
+    public AlertWebhookController(AlertWebhookInbox alertWebhookInbox) {
+        this.alertWebhookInbox = alertWebhookInbox;
+    }
+
+    /**
+     * Store an alert posted by the webhook sink
+     */
+    @PostMapping
+    public ResponseEntity<Void> receiveAlertWebhook(@RequestBody Alert alert) {
+        alertWebhookInbox.receive(alert);
+        return ResponseEntity.accepted().build();
+    }
+
+    /**
+     * Get the alerts received so far, newest first
+     */
+    @GetMapping
+    public ResponseEntity<List<Alert>> getReceivedAlerts() {
+        return ResponseEntity.ok(alertWebhookInbox.getReceived());
+    }
+}
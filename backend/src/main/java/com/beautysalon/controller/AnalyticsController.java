@@ -0,0 +1,78 @@
+package com.beautysalon.controller;
+
+import com.beautysalon.dto.AppointmentStats;
+import com.beautysalon.service.AppointmentAnalyticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Dashboard figures answered from the pre-aggregated appointment rollups.
+ * Every endpoint takes an inclusive {@code from}/{@code to} date range.
+ */
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+    
+    @Autowired
+    private AppointmentAnalyticsService appointmentAnalyticsService;
+    
+    @GetMapping("/summary")
+    public ResponseEntity<AppointmentStats> getSummary(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return respond(() -> appointmentAnalyticsService.getSummary(from, to));
+    }
+    
+    @GetMapping("/daily")
+    public ResponseEntity<List<AppointmentStats>> getDailyTotals(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return respond(() -> appointmentAnalyticsService.getDailyTotals(from, to));
+    }
+    
+    @GetMapping("/staff")
+    public ResponseEntity<List<AppointmentStats>> getStaffStats(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return respond(() -> appointmentAnalyticsService.getStaffStats(from, to));
+    }
+    
+    @GetMapping("/staff/{staffId}/daily")
+    public ResponseEntity<List<AppointmentStats>> getStaffDailyStats(
+            @PathVariable UUID staffId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return respond(() -> appointmentAnalyticsService.getStaffDailyStats(staffId, from, to));
+    }
+    
+    @GetMapping("/services")
+    public ResponseEntity<List<AppointmentStats>> getServiceStats(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return respond(() -> appointmentAnalyticsService.getServiceStats(from, to));
+    }
+    
+    @GetMapping("/services/{serviceId}/daily")
+    public ResponseEntity<List<AppointmentStats>> getServiceDailyStats(
+            @PathVariable UUID serviceId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return respond(() -> appointmentAnalyticsService.getServiceDailyStats(serviceId, from, to));
+    }
+    
+    private <T> ResponseEntity<T> respond(Supplier<T> query) {
+        try {
+            return ResponseEntity.ok(query.get());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+}
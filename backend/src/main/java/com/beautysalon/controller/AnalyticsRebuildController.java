@@ -0,0 +1,44 @@
+package com.beautysalon.controller;
+
+import com.beautysalon.service.AppointmentAnalyticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Operator endpoint that recounts the appointment rollups of a date range from the appointments
+ * themselves. It reads every appointment of every day in the range, so it only exists with
+ * {@code analytics.rebuild.enabled=true}; enable it on one instance while backfilling.
+ */
+@RestController
+@RequestMapping("/api/analytics")
+@ConditionalOnProperty(name = "analytics.rebuild.enabled", havingValue = "true")
+public class AnalyticsRebuildController {
+
+    private final AppointmentAnalyticsService appointmentAnalyticsService;
+
+    @Autowired
+    public AnalyticsRebuildController(AppointmentAnalyticsService appointmentAnalyticsService) {
+        this.appointmentAnalyticsService = appointmentAnalyticsService;
+    }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuild(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return ResponseEntity.ok(Map.of("corrected", appointmentAnalyticsService.rebuild(from, to)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.beautysalon.controller;
 
+import com.beautysalon.dto.StatusTransitionRequest;
+import com.beautysalon.dto.StatusTransitionResult;
 import com.beautysalon.model.Appointment;
 import com.beautysalon.service.AppointmentService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -85,6 +87,21 @@ public class AppointmentController {
         return ResponseEntity.notFound().build();
     }
     
+    @PostMapping("/{id}/transitions")
+    public ResponseEntity<StatusTransitionResult> transitionStatus(@PathVariable UUID id,
+                                                                   @RequestBody StatusTransitionRequest request) {
+        try {
+            StatusTransitionResult result = appointmentService.transitionStatus(id, request);
+            return switch (result.outcome()) {
+                case APPLIED -> ResponseEntity.ok(result);
+                case CONFLICT -> ResponseEntity.status(HttpStatus.CONFLICT).body(result);
+                case NOT_FOUND -> ResponseEntity.notFound().build();
+            };
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteAppointment(@PathVariable UUID id) {
         boolean deleted = appointmentService.deleteAppointment(id);
@@ -0,0 +1,134 @@
+package com.beautysalon.controller;
+
+import com.beautysalon.dto.FlightRecordingInfo;
+import com.beautysalon.dto.FlightRecordingSummary;
+import com.beautysalon.service.FlightRecorderService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * On-demand Java Flight Recorder endpoints. Recordings and the continuous sampling behind the
+ * summary cost CPU and disk, and dumps expose stack traces, so the endpoints only exist with
+ * {@code monitoring.jfr.enabled=true}; enable them on an instance that is being investigated.
+ * They live apart from {@link MonitoringController} because {@code @ConditionalOnProperty}
+ * switches a whole bean on or off, not individual handler methods.
+ */
+@RestController
+@RequestMapping("/api/monitoring/jfr")
+@ConditionalOnProperty(name = "monitoring.jfr.enabled", havingValue = "true")
+public class FlightRecorderController {
+
+    private final FlightRecorderService flightRecorderService;
+
+    @Autowired
+    public FlightRecorderController(FlightRecorderService flightRecorderService) {
+        this.flightRecorderService = flightRecorderService;
+    }
+
+    /**
+     * List the available JFR profiles and the open recordings
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> listRecordings() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("profiles", Arrays.stream(FlightRecorderService.Profile.values())
+                .map(FlightRecorderService.Profile::key)
+                .toList());
+        body.put("recordings", flightRecorderService.list());
+        return ResponseEntity.ok(body);
+    }
+
+    /**
+     * Start a JFR recording with a preset profile; it stops itself after maxDurationSeconds
+     */
+    @PostMapping
+    public ResponseEntity<FlightRecordingInfo> startRecording(
+            @RequestParam String profile,
+            @RequestParam(required = false) Long maxDurationSeconds) {
+        FlightRecorderService.Profile preset;
+        try {
+            preset = FlightRecorderService.Profile.fromKey(profile);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(flightRecorderService.start(preset, maxDurationSeconds));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    /**
+     * Stop a running JFR recording, keeping its data for dumping
+     */
+    @PostMapping("/{id}/stop")
+    public ResponseEntity<FlightRecordingInfo> stopRecording(@PathVariable long id) {
+        return flightRecorderService.stop(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Download the recording's data so far as a .jfr file
+     */
+    @GetMapping("/{id}/dump")
+    public ResponseEntity<Resource> dumpRecording(@PathVariable long id) throws IOException {
+        Optional<Path> dump = flightRecorderService.dump(id);
+        if (dump.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        Path file = dump.get();
+        long size = Files.size(file);
+        // the temp file goes away once the response stream is closed
+        Resource body = new InputStreamResource(Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE));
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"recording-" + id + ".jfr\"")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(size)
+                .body(body);
+    }
+
+    /**
+     * Close a JFR recording and discard its data
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> closeRecording(@PathVariable long id) {
+        if (flightRecorderService.close(id)) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Report the hottest methods and top allocation sites over the last given number of seconds
+     * of continuous sampling, up to monitoring.jfr.max-summary-seconds
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<FlightRecordingSummary> summarizeRecording(
+            @RequestParam(defaultValue = "10") int seconds,
+            @RequestParam(defaultValue = "10") int top) {
+        return ResponseEntity.ok(flightRecorderService.summarize(seconds, top));
+    }
+}
@@ -1,12 +1,17 @@
 package com.beautysalon.controller;
 
+import com.beautysalon.dto.VirtualThreadStats;
+import com.beautysalon.service.AlertEngine;
 import com.beautysalon.service.PerformanceMonitoringService;
+import com.beautysalon.service.VirtualThreadMonitor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -18,10 +23,16 @@ import java.util.Map;
 public class MonitoringController {
 
     private final PerformanceMonitoringService performanceMonitoringService;
+    private final AlertEngine alertEngine;
+    private final VirtualThreadMonitor virtualThreadMonitor;
 
     @Autowired
-    public MonitoringController(PerformanceMonitoringService performanceMonitoringService) {
+    public MonitoringController(PerformanceMonitoringService performanceMonitoringService,
+                                AlertEngine alertEngine,
+                                VirtualThreadMonitor virtualThreadMonitor) {
         this.performanceMonitoringService = performanceMonitoringService;
+        this.alertEngine = alertEngine;
+        this.virtualThreadMonitor = virtualThreadMonitor;
     }
 
     /**
@@ -68,4 +79,25 @@ public class MonitoringController {
         performanceMonitoringService.monitorCachePerformance();
         return ResponseEntity.ok("Cache performance monitoring triggered");
     }
+
+    /**
+     * Get the alert rules, the alerts currently firing and the most recent notifications
+     */
+    @GetMapping("/alerts")
+    public ResponseEntity<Map<String, Object>> getAlerts() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("rules", alertEngine.getRules());
+        body.put("active", alertEngine.getActiveAlerts());
+        body.put("recent", alertEngine.getRecentAlerts());
+        return ResponseEntity.ok(body);
+    }
+
+    /**
+     * Virtual thread pinning by stack and carrier pool utilization; {@code enabled} is false unless
+     * virtual threads are on
+     */
+    @GetMapping("/virtual-threads")
+    public ResponseEntity<VirtualThreadStats> getVirtualThreadStats(@RequestParam(defaultValue = "20") int top) {
+        return ResponseEntity.ok(virtualThreadMonitor.snapshot(top));
+    }
 }
@@ -1,5 +1,7 @@
 package com.beautysalon.controller;
 
+import com.beautysalon.dto.ServiceSearchCriteria;
+import com.beautysalon.dto.ServiceSearchResult;
 import com.beautysalon.model.Service;
 import com.beautysalon.service.ServiceService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -7,8 +9,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @RestController
@@ -30,6 +34,24 @@ public class ServiceController {
         return ResponseEntity.ok(services);
     }
     
+    @GetMapping("/search")
+    public ResponseEntity<ServiceSearchResult> searchServices(
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) Integer minDuration,
+            @RequestParam(required = false) Integer maxDuration,
+            @RequestParam(name = "category", required = false) Set<String> categories,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) ServiceSearchCriteria.SortOrder sort) {
+        try {
+            ServiceSearchCriteria criteria = new ServiceSearchCriteria(
+                    minPrice, maxPrice, minDuration, maxDuration, categories, active, sort);
+            return ResponseEntity.ok(serviceService.searchServices(criteria));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<Service> getServiceById(@PathVariable UUID id) {
         Optional<Service> service = serviceService.getServiceById(id);
@@ -0,0 +1,22 @@
+package com.beautysalon.dto;
+
+import java.time.Instant;
+
+/**
+ * One alert notification sent to the sinks.
+ * {@code subject} is the error type or route the rule fired for; {@code suppressed} counts the
+ * repeats de-duplicated since the previous notification for the same rule and subject.
+ */
+public record Alert(
+        String rule,
+        String subject,
+        String severity,
+        Status status,
+        double value,
+        double threshold,
+        String message,
+        Instant timestamp,
+        long suppressed) {
+
+    public enum Status { FIRING, RESOLVED }
+}
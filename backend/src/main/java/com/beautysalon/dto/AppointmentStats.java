@@ -0,0 +1,21 @@
+package com.beautysalon.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Booking, completion and revenue figures read from the appointment rollups.
+ * {@code date} is omitted when the figures cover a whole range and {@code key}
+ * (staff or service id) is omitted for salon-wide totals.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AppointmentStats(
+        LocalDate date,
+        UUID key,
+        long bookings,
+        long completions,
+        BigDecimal revenue) {
+}
@@ -0,0 +1,17 @@
+package com.beautysalon.dto;
+
+import java.time.Instant;
+
+/**
+ * State of one on-demand JFR recording.
+ * {@code maxDurationSeconds} is the point at which the recording stops on its own if nobody stops it.
+ */
+public record FlightRecordingInfo(
+        long id,
+        String name,
+        String profile,
+        String state,
+        Instant startTime,
+        Instant stopTime,
+        long maxDurationSeconds) {
+}
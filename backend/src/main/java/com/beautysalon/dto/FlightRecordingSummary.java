@@ -0,0 +1,21 @@
+package com.beautysalon.dto;
+
+import java.util.List;
+
+/**
+ * Hottest methods and top allocation sites seen by the continuous JFR sampling stream over the last {@code seconds}.
+ * Method percentages are shares of all execution samples; allocation bytes are JFR's sampled weights.
+ */
+public record FlightRecordingSummary(
+        int seconds,
+        long executionSamples,
+        List<HotMethod> hottestMethods,
+        long allocationSamples,
+        List<AllocationSite> topAllocationSites) {
+
+    public record HotMethod(String method, long samples, double percent) {
+    }
+
+    public record AllocationSite(String site, String objectClass, long bytes, long samples) {
+    }
+}
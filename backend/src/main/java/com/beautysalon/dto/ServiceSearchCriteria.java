@@ -0,0 +1,40 @@
+package com.beautysalon.dto;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+/**
+ * Filters for the service catalog search. Every filter is optional; ranges are inclusive.
+ */
+public record ServiceSearchCriteria(
+        BigDecimal minPrice,
+        BigDecimal maxPrice,
+        Integer minDuration,
+        Integer maxDuration,
+        Set<String> categories,
+        Boolean active,
+        SortOrder sort) {
+
+    public enum SortOrder {
+        NAME, PRICE, DURATION
+    }
+
+    public ServiceSearchCriteria {
+        categories = categories == null ? Set.of() : Set.copyOf(categories);
+        sort = sort == null ? SortOrder.NAME : sort;
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            throw new IllegalArgumentException("minPrice must not be greater than maxPrice");
+        }
+        if (minDuration != null && maxDuration != null && minDuration > maxDuration) {
+            throw new IllegalArgumentException("minDuration must not be greater than maxDuration");
+        }
+    }
+
+    public boolean hasPriceFilter() {
+        return minPrice != null || maxPrice != null;
+    }
+
+    public boolean hasDurationFilter() {
+        return minDuration != null || maxDuration != null;
+    }
+}
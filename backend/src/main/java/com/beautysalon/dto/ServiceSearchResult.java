@@ -0,0 +1,19 @@
+package com.beautysalon.dto;
+
+import com.beautysalon.model.Service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Matching services plus facet counts. Each facet is counted with every filter applied
+ * except its own, so clients can show how many services another choice would return.
+ */
+public record ServiceSearchResult(
+        List<Service> services,
+        int total,
+        Map<String, Integer> categories,
+        Map<String, Integer> priceBands,
+        Map<String, Integer> durationBands,
+        Map<String, Integer> active) {
+}
@@ -0,0 +1,43 @@
+package com.beautysalon.dto;
+
+import java.util.List;
+
+/**
+ * Where the last cold start went. Times marked {@code sinceJvmStartMs} count from JVM start, so they include
+ * JVM boot and class loading before {@code main}; {@code timeTakenMs} counts from {@code SpringApplication.run}.
+ * {@code started} is the end of the context refresh, {@code ready} follows the application runners (Cassandra
+ * migrations among them). Phases and beans come from the buffered startup timeline and are empty when the
+ * application was not launched through {@code BeautySalonApplication.main}, as in tests. Self times and class
+ * counts exclude nested steps, so they add up instead of double counting.
+ */
+public record StartupProfile(
+        boolean timelineRecorded,
+        int steps,
+        Milestone started,
+        Milestone ready,
+        FirstRequest firstRequest,
+        FirstRequest firstApiRequest,
+        ClassLoading classLoading,
+        List<Phase> phases,
+        List<Bean> slowestBeans) {
+
+    public record Milestone(double sinceJvmStartMs, double timeTakenMs, long classesLoaded) {
+    }
+
+    /**
+     * The first request to complete; {@code classesLoaded} is the JVM's total after it, so the difference
+     * to {@code ready} is what lazily initialized on the request path.
+     */
+    public record FirstRequest(String path, double arrivedSinceJvmStartMs, double durationMs, long classesLoaded) {
+    }
+
+    public record ClassLoading(long loaded, long unloaded, long current) {
+    }
+
+    /** All steps of one name, e.g. {@code spring.beans.instantiate} or {@code beautysalon.cassandra.migrations}. */
+    public record Phase(String name, int steps, double selfMs, long classesLoaded) {
+    }
+
+    public record Bean(String name, String type, double totalMs, double selfMs, long classesLoaded) {
+    }
+}
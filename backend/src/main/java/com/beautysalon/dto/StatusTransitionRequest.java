@@ -0,0 +1,8 @@
+package com.beautysalon.dto;
+
+/**
+ * Body of {@code POST /api/appointments/{id}/transitions}. {@code expectedStatus} is optional;
+ * when given, the transition only applies if the appointment is still in that status.
+ */
+public record StatusTransitionRequest(String status, String expectedStatus) {
+}
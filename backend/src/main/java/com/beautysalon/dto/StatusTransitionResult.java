@@ -0,0 +1,31 @@
+package com.beautysalon.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Outcome of a status transition. On {@code CONFLICT}, {@code status} is the appointment's current status.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record StatusTransitionResult(UUID id, Outcome outcome, String status, Instant updatedAt) {
+
+    public enum Outcome {
+        APPLIED,
+        CONFLICT,
+        NOT_FOUND
+    }
+
+    public static StatusTransitionResult applied(UUID id, String status, Instant updatedAt) {
+        return new StatusTransitionResult(id, Outcome.APPLIED, status, updatedAt);
+    }
+
+    public static StatusTransitionResult conflict(UUID id, String currentStatus) {
+        return new StatusTransitionResult(id, Outcome.CONFLICT, currentStatus, null);
+    }
+
+    public static StatusTransitionResult notFound(UUID id) {
+        return new StatusTransitionResult(id, Outcome.NOT_FOUND, null, null);
+    }
+}
@@ -0,0 +1,29 @@
+package com.beautysalon.dto;
+
+import java.util.List;
+
+/**
+ * Virtual-thread pinning seen by the JFR stream since startup, and the carrier pool as of the last sample.
+ * {@code carrierUtilization} is mounted carriers over the scheduler's parallelism; a carrier counts as
+ * blocked when its mounted virtual thread is waiting while pinned, so the carrier cannot run anything else.
+ */
+public record VirtualThreadStats(
+        boolean enabled,
+        long pinnedThresholdMs,
+        long pinnedEvents,
+        double pinnedTotalMs,
+        long submitFailed,
+        int parallelism,
+        int carriers,
+        int mountedCarriers,
+        int blockedCarriers,
+        double carrierUtilization,
+        List<PinnedStack> pinnedStacks) {
+
+    /**
+     * Pinning events sharing the same top frames. {@code site} is the first frame outside the JDK,
+     * usually the code holding the monitor or calling native code.
+     */
+    public record PinnedStack(String site, List<String> frames, long events, double totalMs, double maxMs) {
+    }
+}
@@ -31,7 +31,7 @@ public class Appointment {
     @Column("appointment_time")
     private LocalTime appointmentTime;
     
-    private String status; // scheduled, confirmed, completed, cancelled
+    private String status; // see AppointmentStatus
     private String notes;
     
     @Column("total_price")
@@ -0,0 +1,59 @@
+package com.beautysalon.model;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Appointment lifecycle. Statuses are stored in lowercase ({@link #value()}); a status can
+ * only be entered from the statuses listed in {@link #allowedSources()}.
+ *
+ * <pre>
+ * scheduled -> confirmed -> in_progress -> completed
+ *     |            |             |
+ *     +------------+-------------+--> cancelled
+ *     +------------+--> no_show
+ * </pre>
+ */
+public enum AppointmentStatus {
+    SCHEDULED,
+    CONFIRMED,
+    IN_PROGRESS,
+    COMPLETED,
+    CANCELLED,
+    NO_SHOW;
+
+    public String value() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public Set<AppointmentStatus> allowedSources() {
+        return switch (this) {
+            case SCHEDULED -> EnumSet.noneOf(AppointmentStatus.class);
+            case CONFIRMED -> EnumSet.of(SCHEDULED);
+            case IN_PROGRESS -> EnumSet.of(CONFIRMED);
+            case COMPLETED -> EnumSet.of(IN_PROGRESS);
+            case CANCELLED -> EnumSet.of(SCHEDULED, CONFIRMED, IN_PROGRESS);
+            case NO_SHOW -> EnumSet.of(SCHEDULED, CONFIRMED);
+        };
+    }
+
+    public boolean canTransitionTo(AppointmentStatus target) {
+        return target.allowedSources().contains(this);
+    }
+
+    public boolean isTerminal() {
+        return this == COMPLETED || this == CANCELLED || this == NO_SHOW;
+    }
+
+    public static AppointmentStatus fromValue(String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Status is required");
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown appointment status: " + value);
+        }
+    }
+}
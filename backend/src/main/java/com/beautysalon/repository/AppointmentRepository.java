@@ -10,7 +10,7 @@ import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface AppointmentRepository extends CassandraRepository<Appointment, UUID> {
+public interface AppointmentRepository extends CassandraRepository<Appointment, UUID>, AppointmentRepositoryCustom {
     
     @Query("SELECT * FROM appointments WHERE appointment_date = ?0 ALLOW FILTERING")
     List<Appointment> findByAppointmentDate(LocalDate date);
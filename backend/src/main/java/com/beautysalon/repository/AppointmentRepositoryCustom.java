@@ -0,0 +1,16 @@
+package com.beautysalon.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.UUID;
+
+public interface AppointmentRepositoryCustom {
+
+    /**
+     * Sets the status with a single lightweight transaction
+     * ({@code UPDATE appointments SET status = ?, updated_at = ? WHERE id = ? IF status IN ?}).
+     *
+     * @return {@code true} if the row existed and its status was one of {@code expectedStatuses}
+     */
+    boolean updateStatusIf(UUID id, Collection<String> expectedStatuses, String newStatus, Instant updatedAt);
+}
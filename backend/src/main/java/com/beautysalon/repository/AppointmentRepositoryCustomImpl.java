@@ -0,0 +1,34 @@
+package com.beautysalon.repository;
+
+import com.beautysalon.model.Appointment;
+import org.springframework.data.cassandra.core.CassandraOperations;
+import org.springframework.data.cassandra.core.UpdateOptions;
+import org.springframework.data.cassandra.core.query.Criteria;
+import org.springframework.data.cassandra.core.query.Query;
+import org.springframework.data.cassandra.core.query.Update;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public class AppointmentRepositoryCustomImpl implements AppointmentRepositoryCustom {
+
+    private final CassandraOperations cassandraOperations;
+
+    public AppointmentRepositoryCustomImpl(CassandraOperations cassandraOperations) {
+        this.cassandraOperations = cassandraOperations;
+    }
+
+    @Override
+    public boolean updateStatusIf(UUID id, Collection<String> expectedStatuses, String newStatus, Instant updatedAt) {
+        Query query = Query.query(Criteria.where("id").is(id))
+                .queryOptions(UpdateOptions.builder()
+                        .ifCondition(Criteria.where("status").in(List.copyOf(expectedStatuses)))
+                        .build());
+        Update update = Update.empty()
+                .set("status", newStatus)
+                .set("updatedAt", updatedAt);
+        return cassandraOperations.update(query, update, Appointment.class);
+    }
+}
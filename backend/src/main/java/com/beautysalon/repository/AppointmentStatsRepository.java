@@ -0,0 +1,57 @@
+package com.beautysalon.repository;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Storage for the per-day appointment counters maintained by
+ * {@link com.beautysalon.service.AppointmentAnalyticsService}.
+ */
+public interface AppointmentStatsRepository {
+
+    /**
+     * Rollup dimensions. Totals use {@link #TOTAL_KEY} as their key.
+     */
+    enum Dimension {
+        TOTAL, STAFF, SERVICE;
+
+        public String value() {
+            return name().toLowerCase();
+        }
+    }
+
+    UUID TOTAL_KEY = new UUID(0L, 0L);
+
+    record Key(LocalDate day, Dimension dimension, UUID key) {
+    }
+
+    record Counters(long bookings, long completions, long revenueCents) {
+
+        public static final Counters ZERO = new Counters(0, 0, 0);
+
+        public Counters plus(Counters other) {
+            return new Counters(bookings + other.bookings,
+                    completions + other.completions,
+                    revenueCents + other.revenueCents);
+        }
+
+        public Counters negate() {
+            return new Counters(-bookings, -completions, -revenueCents);
+        }
+
+        public boolean isZero() {
+            return bookings == 0 && completions == 0 && revenueCents == 0;
+        }
+    }
+
+    /**
+     * Adds the given delta to the counters of each key.
+     */
+    void increment(Map<Key, Counters> deltas);
+
+    /**
+     * Reads the stored counters of one dimension, one partition per day in the range (inclusive).
+     */
+    Map<Key, Counters> findByDayRange(Dimension dimension, LocalDate from, LocalDate to);
+}
@@ -0,0 +1,95 @@
+package com.beautysalon.repository;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.Row;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Keeps the appointment rollups in the {@code appointment_daily_stats} counter table.
+ * Statements are prepared lazily because the keyspace only exists once the migrations have run.
+ */
+@Repository
+@Profile("!inmem")
+public class CassandraAppointmentStatsRepository implements AppointmentStatsRepository {
+
+    private static final String INCREMENT_CQL =
+            "UPDATE appointment_daily_stats SET bookings = bookings + ?, completions = completions + ?, " +
+            "revenue_cents = revenue_cents + ? WHERE day = ? AND dimension = ? AND dimension_id = ?";
+
+    private static final String SELECT_DAY_CQL =
+            "SELECT dimension_id, bookings, completions, revenue_cents FROM appointment_daily_stats " +
+            "WHERE day = ? AND dimension = ?";
+
+    private final CqlSession session;
+
+    private volatile PreparedStatement incrementStatement;
+    private volatile PreparedStatement selectDayStatement;
+
+    public CassandraAppointmentStatsRepository(CqlSession session) {
+        this.session = session;
+    }
+
+    @Override
+    public void increment(Map<Key, Counters> deltas) {
+        PreparedStatement statement = incrementStatement();
+        List<CompletableFuture<AsyncResultSet>> writes = new ArrayList<>(deltas.size());
+        deltas.forEach((key, delta) -> writes.add(session.executeAsync(statement.bind(
+                delta.bookings(), delta.completions(), delta.revenueCents(),
+                key.day(), key.dimension().value(), key.key())).toCompletableFuture()));
+        CompletableFuture.allOf(writes.toArray(CompletableFuture[]::new)).join();
+    }
+
+    @Override
+    public Map<Key, Counters> findByDayRange(Dimension dimension, LocalDate from, LocalDate to) {
+        PreparedStatement statement = selectDayStatement();
+        Map<LocalDate, CompletableFuture<List<Row>>> reads = new HashMap<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            reads.put(day, session.executeAsync(statement.bind(day, dimension.value()))
+                    .thenCompose(rs -> collectRows(rs, new ArrayList<>()))
+                    .toCompletableFuture());
+        }
+
+        Map<Key, Counters> result = new HashMap<>();
+        reads.forEach((day, rows) -> rows.join().forEach(row -> result.put(
+                new Key(day, dimension, row.getUuid("dimension_id")),
+                new Counters(row.getLong("bookings"), row.getLong("completions"), row.getLong("revenue_cents")))));
+        return result;
+    }
+
+    private static CompletionStage<List<Row>> collectRows(AsyncResultSet resultSet, List<Row> rows) {
+        resultSet.currentPage().forEach(rows::add);
+        if (resultSet.hasMorePages()) {
+            return resultSet.fetchNextPage().thenCompose(next -> collectRows(next, rows));
+        }
+        return CompletableFuture.completedFuture(rows);
+    }
+
+    private PreparedStatement incrementStatement() {
+        PreparedStatement statement = incrementStatement;
+        if (statement == null) {
+            statement = session.prepare(INCREMENT_CQL);
+            incrementStatement = statement;
+        }
+        return statement;
+    }
+
+    private PreparedStatement selectDayStatement() {
+        PreparedStatement statement = selectDayStatement;
+        if (statement == null) {
+            statement = session.prepare(SELECT_DAY_CQL);
+            selectDayStatement = statement;
+        }
+        return statement;
+    }
+}
@@ -0,0 +1,106 @@
+package com.beautysalon.repository;
+
+import com.beautysalon.model.Appointment;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * {@link AppointmentRepository} for the {@code inmem} profile, with appointments indexed by day,
+ * by staff member and day, by customer, by staff member and by status.
+ */
+@Repository
+@Profile("inmem")
+public class InMemoryAppointmentRepository extends InMemoryRepository<Appointment> implements AppointmentRepository {
+
+    private record StaffDay(LocalDate date, UUID staffId) {
+    }
+
+    private final InMemoryIndex<Appointment, LocalDate> byDate;
+    private final InMemoryIndex<Appointment, StaffDay> byStaffDay;
+    private final InMemoryIndex<Appointment, UUID> byCustomer;
+    private final InMemoryIndex<Appointment, UUID> byStaff;
+    private final InMemoryIndex<Appointment, String> byStatus;
+
+    public InMemoryAppointmentRepository() {
+        this(InMemoryIndex.on(Appointment::getAppointmentDate),
+                InMemoryIndex.on(InMemoryAppointmentRepository::staffDayOf),
+                InMemoryIndex.on(Appointment::getCustomerId),
+                InMemoryIndex.on(Appointment::getStaffId),
+                InMemoryIndex.on(Appointment::getStatus));
+    }
+
+    private InMemoryAppointmentRepository(InMemoryIndex<Appointment, LocalDate> byDate,
+                                          InMemoryIndex<Appointment, StaffDay> byStaffDay,
+                                          InMemoryIndex<Appointment, UUID> byCustomer,
+                                          InMemoryIndex<Appointment, UUID> byStaff,
+                                          InMemoryIndex<Appointment, String> byStatus) {
+        super(Appointment::getId, InMemoryAppointmentRepository::copy, byDate, byStaffDay, byCustomer, byStaff, byStatus);
+        this.byDate = byDate;
+        this.byStaffDay = byStaffDay;
+        this.byCustomer = byCustomer;
+        this.byStaff = byStaff;
+        this.byStatus = byStatus;
+    }
+
+    @Override
+    public List<Appointment> findByAppointmentDate(LocalDate date) {
+        return findByIndex(byDate, date);
+    }
+
+    @Override
+    public List<Appointment> findByCustomerId(UUID customerId) {
+        return findByIndex(byCustomer, customerId);
+    }
+
+    @Override
+    public List<Appointment> findByStaffId(UUID staffId) {
+        return findByIndex(byStaff, staffId);
+    }
+
+    @Override
+    public List<Appointment> findByStatus(String status) {
+        return findByIndex(byStatus, status);
+    }
+
+    @Override
+    public List<Appointment> findByDateAndStaff(LocalDate date, UUID staffId) {
+        return findByIndex(byStaffDay, new StaffDay(date, staffId));
+    }
+
+    @Override
+    public boolean updateStatusIf(UUID id, Collection<String> expectedStatuses, String newStatus, Instant updatedAt) {
+        return updateIf(id, appointment -> expectedStatuses.contains(appointment.getStatus()), appointment -> {
+            appointment.setStatus(newStatus);
+            appointment.setUpdatedAt(updatedAt);
+        });
+    }
+
+    private static StaffDay staffDayOf(Appointment appointment) {
+        if (appointment.getAppointmentDate() == null || appointment.getStaffId() == null) {
+            return null;
+        }
+        return new StaffDay(appointment.getAppointmentDate(), appointment.getStaffId());
+    }
+
+    private static Appointment copy(Appointment source) {
+        Appointment appointment = new Appointment();
+        appointment.setId(source.getId());
+        appointment.setCustomerId(source.getCustomerId());
+        appointment.setStaffId(source.getStaffId());
+        appointment.setServiceId(source.getServiceId());
+        appointment.setAppointmentDate(source.getAppointmentDate());
+        appointment.setAppointmentTime(source.getAppointmentTime());
+        appointment.setStatus(source.getStatus());
+        appointment.setNotes(source.getNotes());
+        appointment.setTotalPrice(source.getTotalPrice());
+        appointment.setCreatedAt(source.getCreatedAt());
+        appointment.setUpdatedAt(source.getUpdatedAt());
+        return appointment;
+    }
+}
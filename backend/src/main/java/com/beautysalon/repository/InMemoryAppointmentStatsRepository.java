@@ -0,0 +1,44 @@
+package com.beautysalon.repository;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link AppointmentStatsRepository} for the {@code inmem} profile. Counters are kept per
+ * (day, dimension) partition, like the counter table, so a range read touches one map per day.
+ */
+@Repository
+@Profile("inmem")
+public class InMemoryAppointmentStatsRepository implements AppointmentStatsRepository {
+
+    private record Partition(LocalDate day, Dimension dimension) {
+    }
+
+    private final Map<Partition, Map<UUID, Counters>> partitions = new ConcurrentHashMap<>();
+
+    @Override
+    public void increment(Map<Key, Counters> deltas) {
+        deltas.forEach((key, delta) -> partitions
+                .computeIfAbsent(new Partition(key.day(), key.dimension()), partition -> new ConcurrentHashMap<>())
+                .merge(key.key(), delta, Counters::plus));
+    }
+
+    @Override
+    public Map<Key, Counters> findByDayRange(Dimension dimension, LocalDate from, LocalDate to) {
+        Map<Key, Counters> result = new HashMap<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            LocalDate partitionDay = day;
+            Map<UUID, Counters> rows = partitions.get(new Partition(day, dimension));
+            if (rows != null) {
+                rows.forEach((id, counters) -> result.put(new Key(partitionDay, dimension, id), counters));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,53 @@
+package com.beautysalon.repository;
+
+import com.beautysalon.model.Customer;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@link CustomerRepository} for the {@code inmem} profile, with customers indexed by email.
+ */
+@Repository
+@Profile("inmem")
+public class InMemoryCustomerRepository extends InMemoryRepository<Customer> implements CustomerRepository {
+
+    private final InMemoryIndex<Customer, String> byEmail;
+
+    public InMemoryCustomerRepository() {
+        this(InMemoryIndex.on(Customer::getEmail));
+    }
+
+    private InMemoryCustomerRepository(InMemoryIndex<Customer, String> byEmail) {
+        super(Customer::getId, InMemoryCustomerRepository::copy, byEmail);
+        this.byEmail = byEmail;
+    }
+
+    @Override
+    public Optional<Customer> findByEmail(String email) {
+        return findByIndex(byEmail, email).stream().findFirst();
+    }
+
+    /**
+     * Scans, like the {@code LIKE} query; {@code pattern} is {@code %name%}.
+     */
+    @Override
+    public List<Customer> findByNameContaining(String pattern) {
+        String name = pattern.replace("%", "");
+        return findWhere(customer -> customer.getName() != null && customer.getName().contains(name));
+    }
+
+    private static Customer copy(Customer source) {
+        Customer customer = new Customer();
+        customer.setId(source.getId());
+        customer.setName(source.getName());
+        customer.setEmail(source.getEmail());
+        customer.setPhone(source.getPhone());
+        customer.setAddress(source.getAddress());
+        customer.setCreatedAt(source.getCreatedAt());
+        customer.setUpdatedAt(source.getUpdatedAt());
+        return customer;
+    }
+}
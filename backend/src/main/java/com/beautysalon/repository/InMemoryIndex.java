@@ -0,0 +1,61 @@
+package com.beautysalon.repository;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Secondary index of an {@link InMemoryRepository}: row ids by the value of one column (or a
+ * composite of columns). Entries are maintained atomically per key and empty keys are dropped, but
+ * the index and the rows are separate maps, so an index hit is only a candidate and the repository
+ * checks it against the current row.
+ */
+final class InMemoryIndex<T, K> {
+
+    private final Function<T, K> keyOf;
+    private final Map<K, Set<UUID>> ids = new ConcurrentHashMap<>();
+
+    private InMemoryIndex(Function<T, K> keyOf) {
+        this.keyOf = keyOf;
+    }
+
+    static <T, K> InMemoryIndex<T, K> on(Function<T, K> keyOf) {
+        return new InMemoryIndex<>(keyOf);
+    }
+
+    /**
+     * Move {@code id} from the key of {@code previous} to the key of {@code current}; either may be
+     * {@code null} for an insert or a delete. Rows whose key is {@code null} are not indexed.
+     */
+    void update(UUID id, T previous, T current) {
+        K oldKey = previous == null ? null : keyOf.apply(previous);
+        K newKey = current == null ? null : keyOf.apply(current);
+        if (Objects.equals(oldKey, newKey)) {
+            return;
+        }
+        if (newKey != null) {
+            ids.compute(newKey, (key, set) -> {
+                Set<UUID> updated = set == null ? ConcurrentHashMap.newKeySet() : set;
+                updated.add(id);
+                return updated;
+            });
+        }
+        if (oldKey != null) {
+            ids.computeIfPresent(oldKey, (key, set) -> {
+                set.remove(id);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+
+    Set<UUID> get(K key) {
+        return key == null ? Set.of() : ids.getOrDefault(key, Set.of());
+    }
+
+    boolean matches(T row, K key) {
+        return Objects.equals(keyOf.apply(row), key);
+    }
+}
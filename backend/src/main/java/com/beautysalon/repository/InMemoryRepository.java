@@ -0,0 +1,192 @@
+package com.beautysalon.repository;
+
+import org.springframework.data.cassandra.repository.CassandraRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Base of the {@code inmem} profile repositories: rows in a {@link ConcurrentHashMap} keyed by id,
+ * plus {@link InMemoryIndex secondary indexes} updated in the same atomic step as the row. Entities
+ * are copied on the way in and out, as the driver maps a fresh object per read, so callers mutating
+ * a returned entity do not change the stored row or leave the indexes stale.
+ */
+public abstract class InMemoryRepository<T> implements CassandraRepository<T, UUID> {
+
+    private final Map<UUID, T> rows = new ConcurrentHashMap<>();
+    private final Function<T, UUID> idOf;
+    private final UnaryOperator<T> copy;
+    private final List<InMemoryIndex<T, ?>> indexes;
+
+    @SafeVarargs
+    protected InMemoryRepository(Function<T, UUID> idOf, UnaryOperator<T> copy, InMemoryIndex<T, ?>... indexes) {
+        this.idOf = idOf;
+        this.copy = copy;
+        this.indexes = List.of(indexes);
+    }
+
+    /**
+     * Rows whose indexed value equals {@code key}.
+     */
+    protected <K> List<T> findByIndex(InMemoryIndex<T, K> index, K key) {
+        return findByIndex(index, key, row -> true);
+    }
+
+    /**
+     * Rows whose indexed value equals {@code key} and that pass {@code filter}.
+     */
+    protected <K> List<T> findByIndex(InMemoryIndex<T, K> index, K key, Predicate<T> filter) {
+        List<T> result = new ArrayList<>();
+        for (UUID id : index.get(key)) {
+            T row = rows.get(id);
+            if (row != null && index.matches(row, key) && filter.test(row)) {
+                result.add(copy.apply(row));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Full scan, for the queries Cassandra also answers by filtering every row.
+     */
+    protected List<T> findWhere(Predicate<T> filter) {
+        List<T> result = new ArrayList<>();
+        for (T row : rows.values()) {
+            if (filter.test(row)) {
+                result.add(copy.apply(row));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Apply {@code change} to the row if it exists and passes {@code condition}, atomically, like a
+     * lightweight transaction.
+     *
+     * @return whether the row was changed
+     */
+    protected boolean updateIf(UUID id, Predicate<T> condition, Consumer<T> change) {
+        boolean[] applied = new boolean[1];
+        rows.computeIfPresent(id, (key, previous) -> {
+            if (!condition.test(previous)) {
+                return previous;
+            }
+            T updated = copy.apply(previous);
+            change.accept(updated);
+            reindex(key, previous, updated);
+            applied[0] = true;
+            return updated;
+        });
+        return applied[0];
+    }
+
+    @Override
+    public <S extends T> S save(S entity) {
+        T stored = copy.apply(entity);
+        rows.compute(idOf.apply(stored), (id, previous) -> {
+            reindex(id, previous, stored);
+            return stored;
+        });
+        return entity;
+    }
+
+    @Override
+    public <S extends T> List<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        entities.forEach(entity -> saved.add(save(entity)));
+        return saved;
+    }
+
+    @Override
+    public <S extends T> S insert(S entity) {
+        return save(entity);
+    }
+
+    @Override
+    public <S extends T> List<S> insert(Iterable<S> entities) {
+        return saveAll(entities);
+    }
+
+    @Override
+    public Optional<T> findById(UUID id) {
+        return Optional.ofNullable(rows.get(id)).map(copy);
+    }
+
+    @Override
+    public boolean existsById(UUID id) {
+        return rows.containsKey(id);
+    }
+
+    @Override
+    public List<T> findAll() {
+        return findWhere(row -> true);
+    }
+
+    @Override
+    public List<T> findAllById(Iterable<UUID> ids) {
+        List<T> result = new ArrayList<>();
+        ids.forEach(id -> findById(id).ifPresent(result::add));
+        return result;
+    }
+
+    @Override
+    public Slice<T> findAll(Pageable pageable) {
+        List<T> all = findAll();
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(all);
+        }
+        int from = (int) Math.min(pageable.getOffset(), all.size());
+        int to = Math.min(from + pageable.getPageSize(), all.size());
+        return new SliceImpl<>(all.subList(from, to), pageable, to < all.size());
+    }
+
+    @Override
+    public long count() {
+        return rows.size();
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        rows.computeIfPresent(id, (key, previous) -> {
+            reindex(key, previous, null);
+            return null;
+        });
+    }
+
+    @Override
+    public void delete(T entity) {
+        deleteById(idOf.apply(entity));
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends UUID> ids) {
+        ids.forEach(this::deleteById);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends T> entities) {
+        entities.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll() {
+        rows.keySet().forEach(this::deleteById);
+    }
+
+    private void reindex(UUID id, T previous, T current) {
+        for (InMemoryIndex<T, ?> index : indexes) {
+            index.update(id, previous, current);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.beautysalon.repository;
+
+import com.beautysalon.model.Service;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * {@link ServiceRepository} for the {@code inmem} profile, with services indexed by category and by active flag.
+ */
+@Repository
+@Profile("inmem")
+public class InMemoryServiceRepository extends InMemoryRepository<Service> implements ServiceRepository {
+
+    private final InMemoryIndex<Service, String> byCategory;
+    private final InMemoryIndex<Service, Boolean> byActive;
+
+    public InMemoryServiceRepository() {
+        this(InMemoryIndex.on(Service::getCategory), InMemoryIndex.on(Service::getIsActive));
+    }
+
+    private InMemoryServiceRepository(InMemoryIndex<Service, String> byCategory, InMemoryIndex<Service, Boolean> byActive) {
+        super(Service::getId, InMemoryServiceRepository::copy, byCategory, byActive);
+        this.byCategory = byCategory;
+        this.byActive = byActive;
+    }
+
+    @Override
+    public List<Service> findActiveServices() {
+        return findByIndex(byActive, Boolean.TRUE);
+    }
+
+    @Override
+    public List<Service> findByCategory(String category) {
+        return findByIndex(byCategory, category);
+    }
+
+    @Override
+    public List<Service> findActiveByCategoryServices(String category) {
+        return findByIndex(byCategory, category, service -> Boolean.TRUE.equals(service.getIsActive()));
+    }
+
+    private static Service copy(Service source) {
+        Service service = new Service();
+        service.setId(source.getId());
+        service.setName(source.getName());
+        service.setDescription(source.getDescription());
+        service.setDuration(source.getDuration());
+        service.setPrice(source.getPrice());
+        service.setCategory(source.getCategory());
+        service.setIsActive(source.getIsActive());
+        service.setCreatedAt(source.getCreatedAt());
+        service.setUpdatedAt(source.getUpdatedAt());
+        return service;
+    }
+}
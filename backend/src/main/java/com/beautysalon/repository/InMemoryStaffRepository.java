@@ -0,0 +1,58 @@
+package com.beautysalon.repository;
+
+import com.beautysalon.model.Staff;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * {@link StaffRepository} for the {@code inmem} profile, with staff indexed by role and by active flag.
+ */
+@Repository
+@Profile("inmem")
+public class InMemoryStaffRepository extends InMemoryRepository<Staff> implements StaffRepository {
+
+    private final InMemoryIndex<Staff, String> byRole;
+    private final InMemoryIndex<Staff, Boolean> byActive;
+
+    public InMemoryStaffRepository() {
+        this(InMemoryIndex.on(Staff::getRole), InMemoryIndex.on(Staff::getIsActive));
+    }
+
+    private InMemoryStaffRepository(InMemoryIndex<Staff, String> byRole, InMemoryIndex<Staff, Boolean> byActive) {
+        super(Staff::getId, InMemoryStaffRepository::copy, byRole, byActive);
+        this.byRole = byRole;
+        this.byActive = byActive;
+    }
+
+    @Override
+    public List<Staff> findActiveStaff() {
+        return findByIndex(byActive, Boolean.TRUE);
+    }
+
+    @Override
+    public List<Staff> findByRole(String role) {
+        return findByIndex(byRole, role);
+    }
+
+    @Override
+    public List<Staff> findActiveByRole(String role) {
+        return findByIndex(byRole, role, staff -> Boolean.TRUE.equals(staff.getIsActive()));
+    }
+
+    private static Staff copy(Staff source) {
+        Staff staff = new Staff();
+        staff.setId(source.getId());
+        staff.setName(source.getName());
+        staff.setEmail(source.getEmail());
+        staff.setPhone(source.getPhone());
+        staff.setRole(source.getRole());
+        staff.setSpecialties(source.getSpecialties() == null ? null : new HashSet<>(source.getSpecialties()));
+        staff.setIsActive(source.getIsActive());
+        staff.setCreatedAt(source.getCreatedAt());
+        staff.setUpdatedAt(source.getUpdatedAt());
+        return staff;
+    }
+}
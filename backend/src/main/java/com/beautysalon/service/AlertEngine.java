@@ -0,0 +1,333 @@
+package com.beautysalon.service;
+
+import com.beautysalon.common.monitoring.EndpointLatency;
+import com.beautysalon.common.monitoring.EndpointLatencyRegistry;
+import com.beautysalon.config.AlertProperties;
+import com.beautysalon.config.MetricsConfiguration;
+import com.beautysalon.dto.Alert;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Evaluates the alert rules on a scheduler and notifies every {@link AlertSink}.
+ * Each rule fires per subject (error type or route); a subject that stays in breach is re-notified at most
+ * once per rule cooldown, with the repeats in between counted as suppressed, and a RESOLVED notification
+ * follows once it recovers. Services raise ad-hoc alerts through {@link #raise}, which only queues them,
+ * so neither evaluation nor sink I/O ever runs on a request thread.
+ *
+ * Evaluation holds the engine's lock but sink I/O does not: the notifications are collected under it and handed,
+ * in order, to a dedicated dispatch thread, so a slow webhook delays neither the scheduler nor the next evaluation.
+ * The active and recent alerts are published as immutable snapshots at the end of each evaluation and read without
+ * the lock.
+ */
+@Service
+public class AlertEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(AlertEngine.class);
+
+    private static final int RECENT_CAPACITY = 100;
+
+    private record RaisedAlert(String type, String message) {
+    }
+
+    private static final class AlertState {
+        private final String rule;
+        private final String subject;
+        private final String severity;
+        private boolean active;
+        private boolean firingSent;
+        private long lastNotifiedAt = Long.MIN_VALUE;
+        private long suppressed;
+        private double value;
+        private double threshold;
+        private String message;
+
+        private AlertState(String rule, String subject, String severity) {
+            this.rule = rule;
+            this.subject = subject;
+            this.severity = severity;
+        }
+    }
+
+    private final List<AlertRule> rules;
+    private final long adHocCooldownMillis;
+    private final AlertSignals signals;
+    private final EndpointLatencyRegistry latencyRegistry;
+    private final List<AlertSink> sinks;
+    private final MetricsConfiguration metricsConfig;
+    private final LongSupplier clock;
+    private final Executor dispatcher;
+
+    private final Queue<RaisedAlert> raised = new ConcurrentLinkedQueue<>();
+    private final Map<String, AlertState> states = new HashMap<>();
+    private final Deque<Alert> recent = new ArrayDeque<>();
+    /** Notifications of the evaluation in progress, sent once it releases the lock. */
+    private final List<Alert> outgoing = new ArrayList<>();
+
+    private volatile List<Alert> activeAlerts = List.of();
+    private volatile List<Alert> recentAlerts = List.of();
+
+    @Autowired
+    public AlertEngine(AlertProperties properties, AlertSignals signals, EndpointLatencyRegistry latencyRegistry,
+                       List<AlertSink> sinks, MetricsConfiguration metricsConfig) {
+        this(properties.effectiveRules(), properties.adHocCooldownSeconds(), signals, latencyRegistry, sinks,
+                metricsConfig, System::currentTimeMillis,
+                Executors.newSingleThreadExecutor(Thread.ofPlatform().name("alert-dispatch").daemon().factory()));
+    }
+
+    AlertEngine(List<AlertRule> rules, long adHocCooldownSeconds, AlertSignals signals,
+                EndpointLatencyRegistry latencyRegistry, List<AlertSink> sinks,
+                MetricsConfiguration metricsConfig, LongSupplier clock, Executor dispatcher) {
+        this.rules = List.copyOf(rules);
+        this.adHocCooldownMillis = TimeUnit.SECONDS.toMillis(adHocCooldownSeconds);
+        this.signals = signals;
+        this.latencyRegistry = latencyRegistry;
+        this.sinks = List.copyOf(sinks);
+        this.metricsConfig = metricsConfig;
+        this.clock = clock;
+        this.dispatcher = dispatcher;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (dispatcher instanceof ExecutorService executor) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Queue an alert of the given type; it is de-duplicated and dispatched on the next evaluation.
+     */
+    public void raise(String alertType, String message) {
+        raised.add(new RaisedAlert(alertType, message));
+    }
+
+    @Scheduled(fixedDelayString = "${monitoring.alerts.evaluation-interval-ms:15000}")
+    public void scheduledEvaluation() {
+        try {
+            evaluate();
+        } catch (Exception e) {
+            logger.error("Error evaluating alert rules", e);
+            metricsConfig.incrementError("alert_evaluation");
+        }
+    }
+
+    /**
+     * Dispatch queued ad-hoc alerts, then evaluate every rule once. Returns once the notifications are
+     * queued for the sinks, not once they are sent.
+     */
+    public void evaluate() {
+        List<Alert> notifications;
+        synchronized (this) {
+            try {
+                evaluateRules();
+            } finally {
+                publish();
+                notifications = List.copyOf(outgoing);
+                outgoing.clear();
+            }
+        }
+        if (!notifications.isEmpty()) {
+            dispatcher.execute(() -> notifications.forEach(this::send));
+        }
+    }
+
+    private void evaluateRules() {
+        long now = clock.getAsLong();
+        for (RaisedAlert adHoc = raised.poll(); adHoc != null; adHoc = raised.poll()) {
+            String type = adHoc.type();
+            AlertState state = states.computeIfAbsent(key(type, ""), k -> new AlertState(type, "", "WARNING"));
+            state.message = adHoc.message();
+            if (cooledDown(state, now, adHocCooldownMillis)) {
+                notify(state, Alert.Status.FIRING, now);
+            } else {
+                state.suppressed++;
+            }
+        }
+
+        for (AlertRule rule : rules) {
+            Map<String, Double> breaches = evaluate(rule);
+            breaches.forEach((subject, value) -> onBreach(rule, subject, value, now));
+            for (AlertState state : states.values()) {
+                if (state.active && state.rule.equals(rule.name()) && !breaches.containsKey(state.subject)) {
+                    onRecovered(state, now);
+                }
+            }
+        }
+    }
+
+    public List<AlertRule> getRules() {
+        return rules;
+    }
+
+    /**
+     * Rule alerts currently in breach, as of the last evaluation.
+     */
+    public List<Alert> getActiveAlerts() {
+        return activeAlerts;
+    }
+
+    /**
+     * Notifications handed to the sinks, newest first.
+     */
+    public List<Alert> getRecentAlerts() {
+        return recentAlerts;
+    }
+
+    private void publish() {
+        List<Alert> active = new ArrayList<>();
+        for (AlertState state : states.values()) {
+            if (state.active) {
+                active.add(toAlert(state, Alert.Status.FIRING, state.lastNotifiedAt));
+            }
+        }
+        List<Alert> latest = new ArrayList<>(recent);
+        Collections.reverse(latest);
+        activeAlerts = List.copyOf(active);
+        recentAlerts = List.copyOf(latest);
+    }
+
+    /**
+     * Current value per breaching subject.
+     */
+    private Map<String, Double> evaluate(AlertRule rule) {
+        Map<String, Double> breaches = new LinkedHashMap<>();
+        switch (rule.kind()) {
+            case RATE -> signals.errorCounts(rule.windowSeconds()).forEach((type, count) -> {
+                if (rule.matches(type) && count > rule.threshold()) {
+                    breaches.put(type, count.doubleValue());
+                }
+            });
+            case PERCENTILE -> {
+                for (EndpointLatency endpoint : latencyRegistry.snapshot()) {
+                    double value = percentileOf(endpoint, rule.percentile());
+                    if (rule.matches(endpoint.route()) && endpoint.count() >= rule.minSamples()
+                            && value > rule.threshold()) {
+                        breaches.put(endpoint.route(), value);
+                    }
+                }
+            }
+            case RATIO -> signals.requestCounts(rule.windowSeconds()).forEach((route, total) -> {
+                if (rule.matches(route) && total >= Math.max(1, rule.minSamples())) {
+                    double ratio = (double) signals.failureCount(route, rule.windowSeconds()) / total;
+                    if (ratio > rule.threshold()) {
+                        breaches.put(route, ratio);
+                    }
+                }
+            });
+        }
+        return breaches;
+    }
+
+    private void onBreach(AlertRule rule, String subject, double value, long now) {
+        AlertState state = states.computeIfAbsent(key(rule.name(), subject),
+                k -> new AlertState(rule.name(), subject, rule.severity()));
+        state.active = true;
+        state.value = value;
+        state.threshold = rule.threshold();
+        state.message = describe(rule, subject, value);
+        if (cooledDown(state, now, TimeUnit.SECONDS.toMillis(rule.cooldownSeconds()))) {
+            notify(state, Alert.Status.FIRING, now);
+            state.firingSent = true;
+        } else {
+            state.suppressed++;
+        }
+    }
+
+    private void onRecovered(AlertState state, long now) {
+        state.active = false;
+        if (state.firingSent) {
+            state.firingSent = false;
+            state.message = state.subject + " is back under the " + state.rule + " threshold";
+            dispatch(toAlert(state, Alert.Status.RESOLVED, now));
+        }
+    }
+
+    private static boolean cooledDown(AlertState state, long now, long cooldownMillis) {
+        return state.lastNotifiedAt == Long.MIN_VALUE || now - state.lastNotifiedAt >= cooldownMillis;
+    }
+
+    private void notify(AlertState state, Alert.Status status, long now) {
+        Alert alert = toAlert(state, status, now);
+        state.lastNotifiedAt = now;
+        state.suppressed = 0;
+        dispatch(alert);
+    }
+
+    private void dispatch(Alert alert) {
+        if (recent.size() == RECENT_CAPACITY) {
+            recent.removeFirst();
+        }
+        recent.addLast(alert);
+        outgoing.add(alert);
+    }
+
+    private void send(Alert alert) {
+        for (AlertSink sink : sinks) {
+            try {
+                sink.send(alert);
+            } catch (Exception e) {
+                logger.warn("Alert sink {} failed for {}: {}", sink.name(), alert.rule(), e.getMessage());
+                metricsConfig.incrementError("alert_sink");
+            }
+        }
+    }
+
+    private Alert toAlert(AlertState state, Alert.Status status, long at) {
+        return new Alert(state.rule, state.subject, state.severity, status, state.value, state.threshold,
+                state.message, Instant.ofEpochMilli(at), state.suppressed);
+    }
+
+    private String describe(AlertRule rule, String subject, double value) {
+        return switch (rule.kind()) {
+            case RATE -> String.format("%.0f %s errors in the last %d s, above threshold of %.0f",
+                    value, subject, rule.windowSeconds(), rule.threshold());
+            case PERCENTILE -> String.format("p%s response time of %s is %.1f ms over the last %d s, above threshold of %.0f ms",
+                    percentileLabel(rule.percentile()), subject, value, latencyRegistry.getWindowSeconds(), rule.threshold());
+            case RATIO -> String.format("%.1f%% of %s requests failed in the last %d s, above threshold of %.1f%%",
+                    value * 100, subject, rule.windowSeconds(), rule.threshold() * 100);
+        };
+    }
+
+    private static double percentileOf(EndpointLatency endpoint, double percentile) {
+        if (percentile >= 99.9) {
+            return endpoint.p999();
+        }
+        if (percentile >= 99.0) {
+            return endpoint.p99();
+        }
+        if (percentile >= 90.0) {
+            return endpoint.p90();
+        }
+        return endpoint.p50();
+    }
+
+    private static String percentileLabel(double percentile) {
+        return percentile >= 99.9 ? "999" : percentile >= 99.0 ? "99" : percentile >= 90.0 ? "90" : "50";
+    }
+
+    private static String key(String rule, String subject) {
+        return rule + "|" + subject;
+    }
+}
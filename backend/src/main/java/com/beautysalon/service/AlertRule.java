@@ -0,0 +1,64 @@
+package com.beautysalon.service;
+
+import java.util.List;
+
+/**
+ * Declarative alert rule, bound from {@code monitoring.alerts.rules} or taken from {@link #defaults()}.
+ * <ul>
+ *   <li>{@code RATE}: errors of a type within {@code windowSeconds} above {@code threshold}</li>
+ *   <li>{@code PERCENTILE}: a route's latency {@code percentile} (ms) above {@code threshold}, over the
+ *       endpoint latency window, once the route has {@code minSamples} requests</li>
+ *   <li>{@code RATIO}: a route's share of 5xx responses within {@code windowSeconds} above
+ *       {@code threshold} (0..1), once the route has {@code minSamples} requests</li>
+ * </ul>
+ * {@code target} is an error type or route, {@code *} for all, or a prefix ending in {@code *}.
+ */
+public record AlertRule(
+        String name,
+        Kind kind,
+        String target,
+        double threshold,
+        double percentile,
+        long windowSeconds,
+        long minSamples,
+        long cooldownSeconds,
+        String severity) {
+
+    public enum Kind { RATE, PERCENTILE, RATIO }
+
+    public static final String ANY = "*";
+
+    public AlertRule {
+        if (name == null || name.isBlank() || kind == null) {
+            throw new IllegalArgumentException("Alert rules need a name and a kind");
+        }
+        target = target == null || target.isBlank() ? ANY : target;
+        percentile = percentile <= 0 ? 99.0 : percentile;
+        windowSeconds = windowSeconds <= 0 ? 60 : windowSeconds;
+        cooldownSeconds = cooldownSeconds <= 0 ? 300 : cooldownSeconds;
+        severity = severity == null || severity.isBlank() ? "WARNING" : severity;
+    }
+
+    public boolean matches(String subject) {
+        if (ANY.equals(target)) {
+            return true;
+        }
+        if (target.endsWith(ANY)) {
+            return subject.startsWith(target.substring(0, target.length() - 1));
+        }
+        return target.equals(subject);
+    }
+
+    /**
+     * Used when no rules are configured: the thresholds {@link PerformanceMonitoringService} reports.
+     */
+    public static List<AlertRule> defaults() {
+        return List.of(
+                new AlertRule("error-rate", Kind.RATE, ANY,
+                        PerformanceMonitoringService.ERROR_RATE_THRESHOLD, 0, 60, 0, 300, "WARNING"),
+                new AlertRule("latency-p99", Kind.PERCENTILE, ANY,
+                        PerformanceMonitoringService.RESPONSE_TIME_THRESHOLD_MS, 99.0, 0, 20, 300, "WARNING"),
+                new AlertRule("server-error-ratio", Kind.RATIO, ANY,
+                        0.05, 0, 60, 20, 300, "CRITICAL"));
+    }
+}
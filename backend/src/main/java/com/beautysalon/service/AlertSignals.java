@@ -0,0 +1,96 @@
+package com.beautysalon.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Rolling-window counts the alert rules are evaluated against: errors per error type (fed by
+ * {@link com.beautysalon.config.MetricsConfiguration#incrementError}) and requests and server
+ * failures per route (fed by {@link com.beautysalon.config.RequestTimingFilter}).
+ * Writers only touch lock-free counters; keys past the cap are counted under {@link #OTHER}.
+ */
+@Component
+public class AlertSignals {
+
+    public static final String OTHER = "OTHER";
+
+    private final Map<String, RollingWindowCounter> errors = new ConcurrentHashMap<>();
+    private final Map<String, RollingWindowCounter> requests = new ConcurrentHashMap<>();
+    private final Map<String, RollingWindowCounter> failures = new ConcurrentHashMap<>();
+    private final long horizonMillis;
+    private final long bucketMillis;
+    private final int maxKeys;
+    private final LongSupplier clock;
+
+    @Autowired
+    public AlertSignals(@Value("${monitoring.alerts.signal-horizon-seconds:300}") long horizonSeconds,
+                        @Value("${monitoring.alerts.signal-bucket-seconds:5}") long bucketSeconds,
+                        @Value("${monitoring.alerts.max-keys:200}") int maxKeys) {
+        this(horizonSeconds, bucketSeconds, maxKeys, System::currentTimeMillis);
+    }
+
+    AlertSignals(long horizonSeconds, long bucketSeconds, int maxKeys, LongSupplier clock) {
+        this.horizonMillis = TimeUnit.SECONDS.toMillis(horizonSeconds);
+        this.bucketMillis = TimeUnit.SECONDS.toMillis(bucketSeconds);
+        this.maxKeys = maxKeys;
+        this.clock = clock;
+    }
+
+    public void recordError(String errorType) {
+        counterFor(errors, errorType).increment();
+    }
+
+    public void recordRequest(String route, boolean failed) {
+        counterFor(requests, route).increment();
+        if (failed) {
+            counterFor(failures, route).increment();
+        }
+    }
+
+    /**
+     * Errors per type over the last {@code windowSeconds}, omitting types with none.
+     */
+    public Map<String, Long> errorCounts(long windowSeconds) {
+        return sums(errors, windowSeconds);
+    }
+
+    /**
+     * Requests per route over the last {@code windowSeconds}, omitting routes with none.
+     */
+    public Map<String, Long> requestCounts(long windowSeconds) {
+        return sums(requests, windowSeconds);
+    }
+
+    public long failureCount(String route, long windowSeconds) {
+        RollingWindowCounter counter = failures.get(route);
+        return counter == null ? 0 : counter.sum(TimeUnit.SECONDS.toMillis(windowSeconds));
+    }
+
+    private Map<String, Long> sums(Map<String, RollingWindowCounter> counters, long windowSeconds) {
+        long windowMillis = TimeUnit.SECONDS.toMillis(windowSeconds);
+        Map<String, Long> sums = new HashMap<>();
+        counters.forEach((key, counter) -> {
+            long sum = counter.sum(windowMillis);
+            if (sum > 0) {
+                sums.put(key, sum);
+            }
+        });
+        return sums;
+    }
+
+    private RollingWindowCounter counterFor(Map<String, RollingWindowCounter> counters, String key) {
+        RollingWindowCounter counter = counters.get(key);
+        if (counter != null) {
+            return counter;
+        }
+        String bounded = counters.size() < maxKeys ? key : OTHER;
+        return counters.computeIfAbsent(bounded, k -> new RollingWindowCounter(horizonMillis, bucketMillis, clock));
+    }
+}
@@ -0,0 +1,14 @@
+package com.beautysalon.service;
+
+import com.beautysalon.dto.Alert;
+
+/**
+ * Destination for alert notifications. Every sink bean receives every alert; sinks are called from
+ * the alert scheduler, and a failing sink does not stop the others.
+ */
+public interface AlertSink {
+
+    String name();
+
+    void send(Alert alert) throws Exception;
+}
@@ -0,0 +1,40 @@
+package com.beautysalon.service;
+
+import com.beautysalon.dto.Alert;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Stand-in webhook receiver: keeps the most recent alerts posted to
+ * {@code /api/monitoring/alerts/webhook}, so the webhook sink can be exercised without an external service.
+ */
+@Component
+@ConditionalOnProperty(name = "monitoring.alerts.webhook-receiver.enabled", havingValue = "true")
+public class AlertWebhookInbox {
+
+    private static final int CAPACITY = 100;
+
+    private final Deque<Alert> received = new ArrayDeque<>();
+
+    public synchronized void receive(Alert alert) {
+        if (received.size() == CAPACITY) {
+            received.removeFirst();
+        }
+        received.addLast(alert);
+    }
+
+    /**
+     * Received alerts, newest first.
+     */
+    public synchronized List<Alert> getReceived() {
+        List<Alert> alerts = new ArrayList<>(received);
+        Collections.reverse(alerts);
+        return alerts;
+    }
+}
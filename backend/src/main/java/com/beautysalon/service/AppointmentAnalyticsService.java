@@ -0,0 +1,315 @@
+package com.beautysalon.service;
+
+import com.beautysalon.dto.AppointmentStats;
+import com.beautysalon.model.Appointment;
+import com.beautysalon.repository.AppointmentRepository;
+import com.beautysalon.repository.AppointmentStatsRepository;
+import com.beautysalon.repository.AppointmentStatsRepository.Counters;
+import com.beautysalon.repository.AppointmentStatsRepository.Dimension;
+import com.beautysalon.repository.AppointmentStatsRepository.Key;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Maintains pre-aggregated booking, completion and revenue counters per day, per
+ * day x staff and per day x service, so dashboards read O(days) rollup rows instead
+ * of summing every appointment.
+ *
+ * Changes are accumulated in memory and flushed to the counter table on a schedule;
+ * reads merge the stored counters with the not-yet-flushed deltas and with the batch
+ * whose write is still in flight. A read and a flush's write exclude each other, so a
+ * read sees the batch either stored or in flight, never both and never neither.
+ *
+ * Only changes made while the service runs are counted; {@link #rebuild} brings a range of
+ * days in line with the appointments themselves, e.g. for appointments that predate the
+ * counter table.
+ */
+@Service
+public class AppointmentAnalyticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AppointmentAnalyticsService.class);
+
+    static final long MAX_RANGE_DAYS = 366;
+
+    private static final String COMPLETED = "completed";
+
+    private final AppointmentStatsRepository statsRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final Map<Key, Counters> pending = new ConcurrentHashMap<>();
+    /** The batch being written; guarded by itself, as is its hand-over from {@link #pending}. */
+    private final Map<Key, Counters> inFlight = new HashMap<>();
+    /** Write side held from a batch's counter write until it leaves {@link #inFlight}; read side over a read. */
+    private final ReadWriteLock storeLock = new ReentrantReadWriteLock();
+
+    @Autowired
+    public AppointmentAnalyticsService(AppointmentStatsRepository statsRepository,
+                                       AppointmentRepository appointmentRepository) {
+        this.statsRepository = statsRepository;
+        this.appointmentRepository = appointmentRepository;
+    }
+
+    /**
+     * What an appointment contributes to the rollups, captured before it is mutated.
+     */
+    public record Contribution(LocalDate day, UUID staffId, UUID serviceId, boolean completed, long revenueCents) {
+    }
+
+    public Contribution contributionOf(Appointment appointment) {
+        if (appointment == null || appointment.getAppointmentDate() == null) {
+            return null;
+        }
+        boolean completed = COMPLETED.equalsIgnoreCase(appointment.getStatus());
+        long revenueCents = completed && appointment.getTotalPrice() != null
+                ? appointment.getTotalPrice().movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact()
+                : 0L;
+        return new Contribution(appointment.getAppointmentDate(), appointment.getStaffId(),
+                appointment.getServiceId(), completed, revenueCents);
+    }
+
+    public void recordCreated(Appointment appointment) {
+        apply(null, contributionOf(appointment));
+    }
+
+    public void recordUpdated(Contribution before, Appointment after) {
+        apply(before, contributionOf(after));
+    }
+
+    public void recordDeleted(Appointment appointment) {
+        apply(contributionOf(appointment), null);
+    }
+
+    /**
+     * Accounts for a status-only transition into "completed". Completion is terminal, so the
+     * appointment was counted as a plain booking before this change.
+     */
+    public void recordCompleted(Appointment appointment) {
+        Contribution after = contributionOf(appointment);
+        if (after != null && after.completed()) {
+            apply(new Contribution(after.day(), after.staffId(), after.serviceId(), false, 0L), after);
+        }
+    }
+
+    /**
+     * Pushes the accumulated deltas to the counter table. Each key is moved atomically
+     * from the pending deltas to the in-flight batch before writing, so concurrent changes
+     * simply start a new delta for the next flush and reads keep seeing the batch until it
+     * is stored; reads wait while the batch is being written. Counter writes are not idempotent: a failed flush is re-queued, which may
+     * over-count if Cassandra applied part of it before failing.
+     */
+    @Scheduled(fixedDelayString = "${analytics.flush-interval-ms:5000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<Key, Counters> batch;
+        synchronized (inFlight) {
+            if (!inFlight.isEmpty()) {
+                // another flush is still writing; these deltas go with the next one
+                return;
+            }
+            for (Key key : pending.keySet()) {
+                Counters delta = pending.remove(key);
+                if (delta != null && !delta.isZero()) {
+                    inFlight.put(key, delta);
+                }
+            }
+            batch = Map.copyOf(inFlight);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        storeLock.writeLock().lock();
+        try {
+            statsRepository.increment(batch);
+            synchronized (inFlight) {
+                inFlight.clear();
+            }
+            logger.debug("Flushed {} appointment rollup deltas", batch.size());
+        } catch (RuntimeException e) {
+            logger.warn("Failed to flush {} appointment rollup deltas, re-queueing: {}", batch.size(), e.getMessage());
+            synchronized (inFlight) {
+                batch.forEach((key, delta) -> pending.merge(key, delta, Counters::plus));
+                inFlight.clear();
+            }
+        } finally {
+            storeLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Recounts every appointment dated within the range and queues the difference to the
+     * current rollups as deltas for the next flush. Counter columns can only be incremented,
+     * so the correction is applied the same way as any other change. Appointments changed in
+     * the range while it runs may be counted twice or not at all; run it while those days are quiet.
+     *
+     * @return the number of rollup rows corrected
+     */
+    public int rebuild(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        Map<Key, Counters> expected = new HashMap<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            for (Appointment appointment : appointmentRepository.findByAppointmentDate(day)) {
+                Contribution contribution = contributionOf(appointment);
+                if (contribution != null) {
+                    add(expected, contribution, false);
+                }
+            }
+        }
+
+        int corrected = 0;
+        for (Dimension dimension : Dimension.values()) {
+            Map<Key, Counters> current = read(dimension, from, to);
+            Set<Key> keys = new HashSet<>(current.keySet());
+            expected.keySet().stream().filter(key -> key.dimension() == dimension).forEach(keys::add);
+            for (Key key : keys) {
+                Counters delta = expected.getOrDefault(key, Counters.ZERO)
+                        .plus(current.getOrDefault(key, Counters.ZERO).negate());
+                if (!delta.isZero()) {
+                    pending.merge(key, delta, Counters::plus);
+                    corrected++;
+                }
+            }
+        }
+        logger.info("Rebuilt appointment rollups from {} to {}: {} rows corrected", from, to, corrected);
+        return corrected;
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    public AppointmentStats getSummary(LocalDate from, LocalDate to) {
+        Counters total = read(Dimension.TOTAL, from, to).values().stream()
+                .reduce(Counters.ZERO, Counters::plus);
+        return toStats(null, null, total);
+    }
+
+    public List<AppointmentStats> getDailyTotals(LocalDate from, LocalDate to) {
+        Map<LocalDate, Counters> byDay = new HashMap<>();
+        read(Dimension.TOTAL, from, to).forEach((key, counters) -> byDay.merge(key.day(), counters, Counters::plus));
+
+        List<AppointmentStats> days = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            days.add(toStats(day, null, byDay.getOrDefault(day, Counters.ZERO)));
+        }
+        return days;
+    }
+
+    public List<AppointmentStats> getStaffStats(LocalDate from, LocalDate to) {
+        return summarizeByKey(read(Dimension.STAFF, from, to));
+    }
+
+    public List<AppointmentStats> getStaffDailyStats(UUID staffId, LocalDate from, LocalDate to) {
+        return dailyForKey(Dimension.STAFF, staffId, from, to);
+    }
+
+    public List<AppointmentStats> getServiceStats(LocalDate from, LocalDate to) {
+        return summarizeByKey(read(Dimension.SERVICE, from, to));
+    }
+
+    public List<AppointmentStats> getServiceDailyStats(UUID serviceId, LocalDate from, LocalDate to) {
+        return dailyForKey(Dimension.SERVICE, serviceId, from, to);
+    }
+
+    private void apply(Contribution before, Contribution after) {
+        if (before != null) {
+            add(pending, before, true);
+        }
+        if (after != null) {
+            add(pending, after, false);
+        }
+    }
+
+    private static void add(Map<Key, Counters> deltas, Contribution contribution, boolean negate) {
+        Counters counters = new Counters(1, contribution.completed() ? 1 : 0, contribution.revenueCents());
+        if (negate) {
+            counters = counters.negate();
+        }
+        LocalDate day = contribution.day();
+        deltas.merge(new Key(day, Dimension.TOTAL, AppointmentStatsRepository.TOTAL_KEY), counters, Counters::plus);
+        if (contribution.staffId() != null) {
+            deltas.merge(new Key(day, Dimension.STAFF, contribution.staffId()), counters, Counters::plus);
+        }
+        if (contribution.serviceId() != null) {
+            deltas.merge(new Key(day, Dimension.SERVICE, contribution.serviceId()), counters, Counters::plus);
+        }
+    }
+
+    private Map<Key, Counters> read(Dimension dimension, LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        storeLock.readLock().lock();
+        try {
+            Map<Key, Counters> counters = new HashMap<>(statsRepository.findByDayRange(dimension, from, to));
+            synchronized (inFlight) {
+                mergeInRange(inFlight, counters, dimension, from, to);
+                mergeInRange(pending, counters, dimension, from, to);
+            }
+            return counters;
+        } finally {
+            storeLock.readLock().unlock();
+        }
+    }
+
+    private static void mergeInRange(Map<Key, Counters> deltas, Map<Key, Counters> counters, Dimension dimension,
+                                     LocalDate from, LocalDate to) {
+        deltas.forEach((key, delta) -> {
+            if (key.dimension() == dimension && !key.day().isBefore(from) && !key.day().isAfter(to)) {
+                counters.merge(key, delta, Counters::plus);
+            }
+        });
+    }
+
+    private List<AppointmentStats> summarizeByKey(Map<Key, Counters> counters) {
+        Map<UUID, Counters> byKey = new HashMap<>();
+        counters.forEach((key, value) -> byKey.merge(key.key(), value, Counters::plus));
+        return byKey.entrySet().stream()
+                .map(entry -> toStats(null, entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparing(AppointmentStats::revenue).reversed()
+                        .thenComparing(Comparator.comparingLong(AppointmentStats::bookings).reversed()))
+                .toList();
+    }
+
+    private List<AppointmentStats> dailyForKey(Dimension dimension, UUID key, LocalDate from, LocalDate to) {
+        Map<Key, Counters> counters = read(dimension, from, to);
+        List<AppointmentStats> days = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            days.add(toStats(day, key, counters.getOrDefault(new Key(day, dimension, key), Counters.ZERO)));
+        }
+        return days;
+    }
+
+    private static void validateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new IllegalArgumentException("Invalid date range: from must be on or before to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Date range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+    }
+
+    private static AppointmentStats toStats(LocalDate day, UUID key, Counters counters) {
+        return new AppointmentStats(day, key, counters.bookings(), counters.completions(),
+                BigDecimal.valueOf(counters.revenueCents(), 2));
+    }
+}
@@ -1,6 +1,9 @@
 package com.beautysalon.service;
 
+import com.beautysalon.dto.StatusTransitionRequest;
+import com.beautysalon.dto.StatusTransitionResult;
 import com.beautysalon.model.Appointment;
+import com.beautysalon.model.AppointmentStatus;
 import com.beautysalon.repository.AppointmentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -9,7 +12,9 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 public class AppointmentService {
@@ -17,6 +22,9 @@ public class AppointmentService {
     @Autowired
     private AppointmentRepository appointmentRepository;
     
+    @Autowired
+    private AppointmentAnalyticsService appointmentAnalyticsService;
+    
     public List<Appointment> getAllAppointments() {
         return appointmentRepository.findAll();
     }
@@ -48,13 +56,16 @@ public class AppointmentService {
     public Appointment createAppointment(Appointment appointment) {
         appointment.setCreatedAt(Instant.now());
         appointment.setUpdatedAt(Instant.now());
-        return appointmentRepository.save(appointment);
+        Appointment savedAppointment = appointmentRepository.save(appointment);
+        appointmentAnalyticsService.recordCreated(savedAppointment);
+        return savedAppointment;
     }
     
     public Appointment updateAppointment(UUID id, Appointment appointmentDetails) {
         Optional<Appointment> optionalAppointment = appointmentRepository.findById(id);
         if (optionalAppointment.isPresent()) {
             Appointment appointment = optionalAppointment.get();
+            AppointmentAnalyticsService.Contribution before = appointmentAnalyticsService.contributionOf(appointment);
             appointment.setCustomerId(appointmentDetails.getCustomerId());
             appointment.setStaffId(appointmentDetails.getStaffId());
             appointment.setServiceId(appointmentDetails.getServiceId());
@@ -64,16 +75,54 @@ public class AppointmentService {
             appointment.setNotes(appointmentDetails.getNotes());
             appointment.setTotalPrice(appointmentDetails.getTotalPrice());
             appointment.setUpdatedAt(Instant.now());
-            return appointmentRepository.save(appointment);
+            Appointment savedAppointment = appointmentRepository.save(appointment);
+            appointmentAnalyticsService.recordUpdated(before, savedAppointment);
+            return savedAppointment;
         }
         return null;
     }
     
     public boolean deleteAppointment(UUID id) {
-        if (appointmentRepository.existsById(id)) {
+        Optional<Appointment> optionalAppointment = appointmentRepository.findById(id);
+        if (optionalAppointment.isPresent()) {
             appointmentRepository.deleteById(id);
+            appointmentAnalyticsService.recordDeleted(optionalAppointment.get());
             return true;
         }
         return false;
     }
+    
+    /**
+     * Moves an appointment to another status with one conditional write instead of
+     * read-modify-write, so concurrent transitions cannot overwrite each other. The row is
+     * only read afterwards when the write was rejected (to tell a conflict from a missing
+     * appointment) or when it completed the appointment (to attribute its revenue).
+     */
+    public StatusTransitionResult transitionStatus(UUID id, StatusTransitionRequest request) {
+        AppointmentStatus target = AppointmentStatus.fromValue(request.status());
+        Set<AppointmentStatus> sources = target.allowedSources();
+        if (request.expectedStatus() != null) {
+            AppointmentStatus expected = AppointmentStatus.fromValue(request.expectedStatus());
+            if (!expected.canTransitionTo(target)) {
+                throw new IllegalArgumentException(
+                        "Cannot transition from " + expected.value() + " to " + target.value());
+            }
+            sources = Set.of(expected);
+        }
+        if (sources.isEmpty()) {
+            throw new IllegalArgumentException("No transition leads to " + target.value());
+        }
+        
+        Set<String> expectedStatuses = sources.stream().map(AppointmentStatus::value).collect(Collectors.toSet());
+        Instant updatedAt = Instant.now();
+        if (appointmentRepository.updateStatusIf(id, expectedStatuses, target.value(), updatedAt)) {
+            if (target == AppointmentStatus.COMPLETED) {
+                appointmentRepository.findById(id).ifPresent(appointmentAnalyticsService::recordCompleted);
+            }
+            return StatusTransitionResult.applied(id, target.value(), updatedAt);
+        }
+        return appointmentRepository.findById(id)
+                .map(current -> StatusTransitionResult.conflict(id, current.getStatus()))
+                .orElseGet(() -> StatusTransitionResult.notFound(id));
+    }
 }
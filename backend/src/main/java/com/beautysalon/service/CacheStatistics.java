@@ -0,0 +1,100 @@
+package com.beautysalon.service;
+
+import com.beautysalon.config.CacheLookupListener;
+import com.beautysalon.config.MetricsConfiguration;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache hits and misses per cache over a rolling window, fed by every lookup through the cache manager.
+ * The windowed hit rate is what the cache health check judges, so a cold start or an old burst of
+ * misses stops counting once it leaves the window. Lifetime totals go to the {@code beauty_salon.cache.*} meters.
+ */
+@Component
+public class CacheStatistics implements CacheLookupListener {
+
+    private static final int BUCKETS = 30;
+
+    private record Counters(RollingWindowCounter hits, RollingWindowCounter misses) {
+    }
+
+    private final MetricsConfiguration metricsConfig;
+    private final long windowMillis;
+    private final LongSupplier clock;
+    private final Map<String, Counters> caches = new ConcurrentHashMap<>();
+
+    @Autowired
+    public CacheStatistics(MetricsConfiguration metricsConfig,
+                           @Value("${monitoring.health.cache.window-seconds:300}") long windowSeconds) {
+        this(metricsConfig, windowSeconds, System::currentTimeMillis);
+    }
+
+    CacheStatistics(MetricsConfiguration metricsConfig, long windowSeconds, LongSupplier clock) {
+        this.metricsConfig = metricsConfig;
+        this.windowMillis = TimeUnit.SECONDS.toMillis(windowSeconds);
+        this.clock = clock;
+    }
+
+    @Override
+    public void onHit(String cacheName) {
+        counters(cacheName).hits().increment();
+        metricsConfig.incrementCacheHit();
+    }
+
+    @Override
+    public void onMiss(String cacheName) {
+        counters(cacheName).misses().increment();
+        metricsConfig.incrementCacheMiss();
+    }
+
+    public long getWindowSeconds() {
+        return TimeUnit.MILLISECONDS.toSeconds(windowMillis);
+    }
+
+    public long getHits() {
+        return caches.values().stream().mapToLong(c -> c.hits().sum(windowMillis)).sum();
+    }
+
+    public long getMisses() {
+        return caches.values().stream().mapToLong(c -> c.misses().sum(windowMillis)).sum();
+    }
+
+    /**
+     * Hit rate in percent across all caches over the window, 0 when nothing was looked up.
+     */
+    public double getHitRate() {
+        return hitRate(getHits(), getMisses());
+    }
+
+    /**
+     * Windowed hit rate in percent for each cache looked up so far.
+     */
+    public Map<String, Double> getHitRates() {
+        Map<String, Double> hitRates = new TreeMap<>();
+        caches.forEach((name, c) -> hitRates.put(name, hitRate(c.hits().sum(windowMillis), c.misses().sum(windowMillis))));
+        return hitRates;
+    }
+
+    private Counters counters(String cacheName) {
+        Counters counters = caches.get(cacheName);
+        if (counters == null) {
+            long bucketMillis = Math.max(1, windowMillis / BUCKETS);
+            counters = caches.computeIfAbsent(cacheName, name -> new Counters(
+                    new RollingWindowCounter(windowMillis, bucketMillis, clock),
+                    new RollingWindowCounter(windowMillis, bucketMillis, clock)));
+        }
+        return counters;
+    }
+
+    private static double hitRate(long hits, long misses) {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups * 100.0;
+    }
+}
@@ -0,0 +1,410 @@
+package com.beautysalon.service;
+
+import com.beautysalon.dto.FlightRecordingInfo;
+import com.beautysalon.dto.FlightRecordingSummary;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * On-demand Java Flight Recorder sessions, so a profile can be captured through the monitoring API
+ * instead of a shell and {@code jcmd}.
+ * Recordings use one of the {@link Profile} presets and stop on their own after a bounded duration.
+ * With {@code monitoring.jfr.enabled=true} a {@link RecordingStream} also samples execution and
+ * allocation continuously, folding events into per-second buckets that are kept for
+ * {@code max-summary-seconds}, so {@link #summarize} reports on the seconds that just passed and
+ * returns at once.
+ */
+@Service
+public class FlightRecorderService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecorderService.class);
+
+    private static final String EXECUTION_SAMPLE = "jdk.ExecutionSample";
+    private static final String ALLOCATION_SAMPLE = "jdk.ObjectAllocationSample";
+    private static final Duration SUMMARY_SAMPLING_PERIOD = Duration.ofMillis(10);
+    private static final String SUMMARY_ALLOCATION_THROTTLE = "300/s";
+
+    /**
+     * Preset event selections. Each enables only the events needed to answer one question,
+     * with thresholds high enough to keep overhead low on a production instance.
+     */
+    public enum Profile {
+        ALLOCATION(Map.of(
+                "jdk.ObjectAllocationSample#enabled", "true",
+                "jdk.ObjectAllocationSample#throttle", "150/s",
+                "jdk.ObjectAllocationSample#stackTrace", "true",
+                "jdk.GarbageCollection#enabled", "true",
+                "jdk.GCHeapSummary#enabled", "true")),
+        LOCK_CONTENTION(Map.of(
+                "jdk.JavaMonitorEnter#enabled", "true",
+                "jdk.JavaMonitorEnter#threshold", "10 ms",
+                "jdk.JavaMonitorEnter#stackTrace", "true",
+                "jdk.JavaMonitorWait#enabled", "true",
+                "jdk.JavaMonitorWait#threshold", "10 ms",
+                "jdk.JavaMonitorWait#stackTrace", "true",
+                "jdk.ThreadPark#enabled", "true",
+                "jdk.ThreadPark#threshold", "10 ms",
+                "jdk.ThreadPark#stackTrace", "true")),
+        SOCKET_IO(Map.of(
+                "jdk.SocketRead#enabled", "true",
+                "jdk.SocketRead#threshold", "10 ms",
+                "jdk.SocketRead#stackTrace", "true",
+                "jdk.SocketWrite#enabled", "true",
+                "jdk.SocketWrite#threshold", "10 ms",
+                "jdk.SocketWrite#stackTrace", "true")),
+        VIRTUAL_THREAD_PINNING(Map.of(
+                "jdk.VirtualThreadPinned#enabled", "true",
+                "jdk.VirtualThreadPinned#threshold", "20 ms",
+                "jdk.VirtualThreadPinned#stackTrace", "true",
+                "jdk.VirtualThreadSubmitFailed#enabled", "true",
+                "jdk.VirtualThreadSubmitFailed#stackTrace", "true"));
+
+        private final Map<String, String> settings;
+
+        Profile(Map<String, String> settings) {
+            this.settings = settings;
+        }
+
+        public Map<String, String> getSettings() {
+            return settings;
+        }
+
+        /**
+         * API name of the profile, e.g. {@code lock-contention}.
+         */
+        public String key() {
+            return name().toLowerCase(Locale.ROOT).replace('_', '-');
+        }
+
+        public static Profile fromKey(String key) {
+            for (Profile profile : values()) {
+                if (profile.key().equalsIgnoreCase(key) || profile.name().equalsIgnoreCase(key)) {
+                    return profile;
+                }
+            }
+            throw new IllegalArgumentException("Unknown JFR profile: " + key);
+        }
+    }
+
+    private record ActiveRecording(Recording recording, Profile profile, long maxDurationSeconds) {
+    }
+
+    private final Map<Long, ActiveRecording> recordings = new ConcurrentHashMap<>();
+    private final int maxRecordings;
+    private final long maxDurationSeconds;
+    private final int maxSummarySeconds;
+    private final boolean sampling;
+    // indexed by epoch second modulo the length; a slot is reused once its second falls out of retention
+    private final SampleBucket[] buckets;
+    private RecordingStream sampleStream;
+
+    @Autowired
+    public FlightRecorderService(@Value("${monitoring.jfr.max-recordings:4}") int maxRecordings,
+                                 @Value("${monitoring.jfr.max-duration-seconds:600}") long maxDurationSeconds,
+                                 @Value("${monitoring.jfr.max-summary-seconds:60}") int maxSummarySeconds,
+                                 @Value("${monitoring.jfr.enabled:false}") boolean sampling) {
+        this.maxRecordings = maxRecordings;
+        this.maxDurationSeconds = maxDurationSeconds;
+        this.maxSummarySeconds = Math.max(1, maxSummarySeconds);
+        this.sampling = sampling;
+        this.buckets = new SampleBucket[this.maxSummarySeconds + 1];
+    }
+
+    /**
+     * Start the continuous sampling stream when JFR is enabled. The stream keeps at most
+     * {@code max-summary-seconds} of its own data and the buckets hold the same span, so memory and
+     * disk use stay bounded however long the instance runs.
+     */
+    @PostConstruct
+    public synchronized void startSampling() {
+        if (!sampling || sampleStream != null) {
+            return;
+        }
+        RecordingStream stream = new RecordingStream();
+        stream.setMaxAge(Duration.ofSeconds(maxSummarySeconds + 1L));
+        stream.enable(EXECUTION_SAMPLE).withPeriod(SUMMARY_SAMPLING_PERIOD);
+        stream.enable(ALLOCATION_SAMPLE).with("throttle", SUMMARY_ALLOCATION_THROTTLE).withStackTrace();
+        stream.onEvent(EXECUTION_SAMPLE, event -> {
+            String method = topMethod(event.getStackTrace());
+            if (method != null) {
+                recordExecutionSample(event.getStartTime().getEpochSecond(), method);
+            }
+        });
+        stream.onEvent(ALLOCATION_SAMPLE, event -> {
+            String site = allocationSite(event.getStackTrace());
+            if (site != null) {
+                recordAllocationSample(event.getStartTime().getEpochSecond(), site, objectClass(event), event.getLong("weight"));
+            }
+        });
+        stream.startAsync();
+        sampleStream = stream;
+        logger.info("Started continuous JFR sampling, keeping the last {}s", maxSummarySeconds);
+    }
+
+    /**
+     * Start a recording with the given preset. The duration is capped at the configured maximum,
+     * after which JFR stops the recording itself; it stays available for dumping until closed, or until
+     * its slot is needed for a new recording.
+     *
+     * @throws IllegalStateException when the configured number of recordings is running
+     */
+    public synchronized FlightRecordingInfo start(Profile profile, Long durationSeconds) {
+        if (recordings.size() >= maxRecordings && !closeOldestStopped()) {
+            throw new IllegalStateException("At most " + maxRecordings + " JFR recordings may be running");
+        }
+        long duration = durationSeconds == null || durationSeconds <= 0
+                ? maxDurationSeconds
+                : Math.min(durationSeconds, maxDurationSeconds);
+
+        Recording recording = new Recording(profile.getSettings());
+        recording.setName("beauty-salon-" + profile.key());
+        recording.setToDisk(true);
+        recording.setDuration(Duration.ofSeconds(duration));
+        recording.start();
+        recordings.put(recording.getId(), new ActiveRecording(recording, profile, duration));
+        logger.info("Started JFR recording {} with profile {} for up to {}s", recording.getId(), profile.key(), duration);
+        return toInfo(recordings.get(recording.getId()));
+    }
+
+    public List<FlightRecordingInfo> list() {
+        return recordings.values().stream()
+                .map(this::toInfo)
+                .sorted(Comparator.comparingLong(FlightRecordingInfo::id))
+                .toList();
+    }
+
+    public Optional<FlightRecordingInfo> stop(long id) {
+        ActiveRecording active = recordings.get(id);
+        if (active == null) {
+            return Optional.empty();
+        }
+        if (active.recording().getState() == RecordingState.RUNNING) {
+            active.recording().stop();
+            logger.info("Stopped JFR recording {}", id);
+        }
+        return Optional.of(toInfo(active));
+    }
+
+    /**
+     * Write the recording's data so far to a temporary {@code .jfr} file. Works on running and stopped
+     * recordings; the caller owns the file and should delete it once it has been sent.
+     */
+    public Optional<Path> dump(long id) throws IOException {
+        ActiveRecording active = recordings.get(id);
+        if (active == null) {
+            return Optional.empty();
+        }
+        Path file = Files.createTempFile("beauty-salon-" + active.profile().key() + "-" + id + "-", ".jfr");
+        try {
+            active.recording().dump(file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return Optional.of(file);
+    }
+
+    /**
+     * Stop if needed and discard the recording's data.
+     */
+    public boolean close(long id) {
+        ActiveRecording active = recordings.remove(id);
+        if (active == null) {
+            return false;
+        }
+        active.recording().close();
+        logger.info("Closed JFR recording {}", id);
+        return true;
+    }
+
+    /**
+     * Report where CPU time and allocated bytes went over the last {@code seconds} seconds of the
+     * continuous sampling stream, capped at {@code max-summary-seconds}. Returns at once; the
+     * summary is empty while sampling is off, and covers only the time since it started.
+     */
+    public FlightRecordingSummary summarize(int seconds, int top) {
+        return summarize(seconds, top, Instant.now().getEpochSecond());
+    }
+
+    FlightRecordingSummary summarize(int seconds, int top, long nowEpochSecond) {
+        int window = Math.max(1, Math.min(seconds, maxSummarySeconds));
+        int limit = Math.max(1, top);
+        Map<String, Long> methodSamples = new HashMap<>();
+        Map<AllocationKey, long[]> allocations = new HashMap<>();
+        long totalSamples = 0;
+        long allocationSamples = 0;
+        synchronized (buckets) {
+            for (SampleBucket bucket : buckets) {
+                if (bucket == null || bucket.epochSecond <= nowEpochSecond - window || bucket.epochSecond > nowEpochSecond) {
+                    continue;
+                }
+                totalSamples += bucket.executionSamples;
+                allocationSamples += bucket.allocationSamples;
+                bucket.methodSamples.forEach((method, count) -> methodSamples.merge(method, count, Long::sum));
+                bucket.allocations.forEach((key, totals) -> {
+                    long[] merged = allocations.computeIfAbsent(key, k -> new long[2]);
+                    merged[0] += totals[0];
+                    merged[1] += totals[1];
+                });
+            }
+        }
+
+        long executionSamples = totalSamples;
+        List<FlightRecordingSummary.HotMethod> hottest = methodSamples.entrySet().stream()
+                .map(e -> new FlightRecordingSummary.HotMethod(e.getKey(), e.getValue(),
+                        executionSamples == 0 ? 0.0 : Math.round(e.getValue() * 10000.0 / executionSamples) / 100.0))
+                .sorted(Comparator.comparingLong(FlightRecordingSummary.HotMethod::samples).reversed()
+                        .thenComparing(FlightRecordingSummary.HotMethod::method))
+                .limit(limit)
+                .toList();
+        List<FlightRecordingSummary.AllocationSite> sites = allocations.entrySet().stream()
+                .map(e -> new FlightRecordingSummary.AllocationSite(e.getKey().site(), e.getKey().objectClass(),
+                        e.getValue()[0], e.getValue()[1]))
+                .sorted(Comparator.comparingLong(FlightRecordingSummary.AllocationSite::bytes).reversed()
+                        .thenComparing(FlightRecordingSummary.AllocationSite::site))
+                .limit(limit)
+                .toList();
+        return new FlightRecordingSummary(window, executionSamples, hottest, allocationSamples, sites);
+    }
+
+    void recordExecutionSample(long epochSecond, String method) {
+        synchronized (buckets) {
+            SampleBucket bucket = bucketFor(epochSecond);
+            bucket.executionSamples++;
+            bucket.methodSamples.merge(method, 1L, Long::sum);
+        }
+    }
+
+    void recordAllocationSample(long epochSecond, String site, String objectClass, long weight) {
+        synchronized (buckets) {
+            SampleBucket bucket = bucketFor(epochSecond);
+            bucket.allocationSamples++;
+            long[] totals = bucket.allocations.computeIfAbsent(new AllocationKey(site, objectClass), k -> new long[2]);
+            totals[0] += weight;
+            totals[1]++;
+        }
+    }
+
+    private SampleBucket bucketFor(long epochSecond) {
+        int slot = (int) Math.floorMod(epochSecond, (long) buckets.length);
+        SampleBucket bucket = buckets[slot];
+        if (bucket == null || bucket.epochSecond != epochSecond) {
+            bucket = new SampleBucket(epochSecond);
+            buckets[slot] = bucket;
+        }
+        return bucket;
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        recordings.keySet().forEach(this::close);
+        synchronized (this) {
+            if (sampleStream != null) {
+                sampleStream.close();
+                sampleStream = null;
+            }
+        }
+    }
+
+    private record AllocationKey(String site, String objectClass) {
+    }
+
+    /**
+     * Samples seen during one second; guarded by the bucket array.
+     */
+    private static final class SampleBucket {
+
+        private final long epochSecond;
+        private final Map<String, Long> methodSamples = new HashMap<>();
+        private final Map<AllocationKey, long[]> allocations = new HashMap<>();
+        private long executionSamples;
+        private long allocationSamples;
+
+        private SampleBucket(long epochSecond) {
+            this.epochSecond = epochSecond;
+        }
+    }
+
+    /**
+     * Frees the slot of the recording that stopped first, whether it ran out its duration or was stopped
+     * through the API, so finished recordings do not block new ones.
+     */
+    private boolean closeOldestStopped() {
+        return recordings.values().stream()
+                .filter(active -> active.recording().getState() == RecordingState.STOPPED)
+                .min(Comparator.comparing(active -> active.recording().getStopTime()))
+                .map(active -> close(active.recording().getId()))
+                .orElse(false);
+    }
+
+    private FlightRecordingInfo toInfo(ActiveRecording active) {
+        Recording recording = active.recording();
+        return new FlightRecordingInfo(
+                recording.getId(),
+                recording.getName(),
+                active.profile().key(),
+                recording.getState().name(),
+                recording.getStartTime(),
+                recording.getStopTime(),
+                active.maxDurationSeconds());
+    }
+
+    static String topMethod(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return null;
+        }
+        return methodName(stackTrace.getFrames().get(0));
+    }
+
+    /**
+     * The first frame outside the JDK, so an allocation in {@code Arrays.copyOf} is charged to the
+     * code that grew the collection. Falls back to the top frame for purely JDK stacks.
+     */
+    static String allocationSite(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return null;
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (frame.isJavaFrame() && !isJdkType(frame.getMethod().getType().getName())) {
+                return methodName(frame);
+            }
+        }
+        return methodName(stackTrace.getFrames().get(0));
+    }
+
+    private static String objectClass(RecordedEvent event) {
+        return event.getClass("objectClass") == null ? "unknown" : event.getClass("objectClass").getName();
+    }
+
+    static String methodName(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+    }
+
+    static boolean isJdkType(String typeName) {
+        return typeName.startsWith("java.") || typeName.startsWith("jdk.") || typeName.startsWith("sun.");
+    }
+}
@@ -0,0 +1,30 @@
+package com.beautysalon.service;
+
+import com.beautysalon.dto.Alert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes alerts to the application log, firing alerts at WARN and resolutions at INFO.
+ */
+@Component
+public class LogAlertSink implements AlertSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogAlertSink.class);
+
+    @Override
+    public String name() {
+        return "log";
+    }
+
+    @Override
+    public void send(Alert alert) {
+        String suppressed = alert.suppressed() > 0 ? " (" + alert.suppressed() + " repeats suppressed)" : "";
+        if (alert.status() == Alert.Status.FIRING) {
+            logger.warn("PERFORMANCE ALERT [{}] {}: {}{}", alert.rule(), alert.severity(), alert.message(), suppressed);
+        } else {
+            logger.info("PERFORMANCE ALERT RESOLVED [{}]: {}", alert.rule(), alert.message());
+        }
+    }
+}
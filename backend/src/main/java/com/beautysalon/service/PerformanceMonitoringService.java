@@ -1,18 +1,24 @@
 package com.beautysalon.service;
 
+import com.beautysalon.common.monitoring.EndpointLatencyRegistry;
+import com.beautysalon.config.CacheHealthIndicator;
+import com.beautysalon.config.CassandraHealthIndicator;
+import com.beautysalon.config.HealthConfiguration;
+import com.beautysalon.config.MemoryHealthIndicator;
 import com.beautysalon.config.MetricsConfiguration;
-import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 
+import java.lang.management.ManagementFactory;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Phase 3: Performance Monitoring Service
@@ -25,20 +31,31 @@ public class PerformanceMonitoringService {
     
     private final MetricsConfiguration metricsConfig;
     private final CacheManager cacheManager;
+    private final EndpointLatencyRegistry latencyRegistry;
+    private final AlertEngine alertEngine;
+    private final RequestCostRegistry costRegistry;
+    private final CassandraHealthIndicator cassandraHealth;
+    private final CacheHealthIndicator cacheHealth;
+    private final MemoryHealthIndicator memoryHealth;
     
     // Performance thresholds for alerting
     private static final double CACHE_HIT_RATE_THRESHOLD = 80.0; // 80%
-    private static final long RESPONSE_TIME_THRESHOLD_MS = 500; // 500ms
-    private static final long ERROR_RATE_THRESHOLD = 10; // 10 errors per minute
-    
-    // Tracking variables
-    private final AtomicLong lastAlertTime = new AtomicLong(0);
-    private final AtomicLong alertCooldownMs = new AtomicLong(60000); // 1 minute cooldown
+    static final long RESPONSE_TIME_THRESHOLD_MS = 500; // 500ms, default p99 alert rule
+    static final long ERROR_RATE_THRESHOLD = 10; // 10 errors per minute, default error-rate alert rule
 
     @Autowired
-    public PerformanceMonitoringService(MetricsConfiguration metricsConfig, CacheManager cacheManager) {
+    public PerformanceMonitoringService(MetricsConfiguration metricsConfig, CacheManager cacheManager,
+                                        EndpointLatencyRegistry latencyRegistry, AlertEngine alertEngine,
+                                        RequestCostRegistry costRegistry, CassandraHealthIndicator cassandraHealth,
+                                        CacheHealthIndicator cacheHealth, MemoryHealthIndicator memoryHealth) {
         this.metricsConfig = metricsConfig;
         this.cacheManager = cacheManager;
+        this.latencyRegistry = latencyRegistry;
+        this.alertEngine = alertEngine;
+        this.costRegistry = costRegistry;
+        this.cassandraHealth = cassandraHealth;
+        this.cacheHealth = cacheHealth;
+        this.memoryHealth = memoryHealth;
     }
 
     /**
@@ -49,7 +66,8 @@ public class PerformanceMonitoringService {
             Map<String, Object> cacheStats = getCacheStatistics();
             double hitRate = (Double) cacheStats.get("hitRate");
             
-            if (hitRate < CACHE_HIT_RATE_THRESHOLD) {
+            // WARNING only once the window holds enough lookups to judge the hit rate
+            if ("WARNING".equals(cacheStats.get("hitRateStatus"))) {
                 triggerAlert("CACHE_HIT_RATE_LOW", 
                     String.format("Cache hit rate is %.2f%%, below threshold of %.2f%%", 
                         hitRate, CACHE_HIT_RATE_THRESHOLD));
@@ -88,6 +106,20 @@ public class PerformanceMonitoringService {
             stats.put("uptime", getUptimeMs());
             stats.put("memoryUsage", getMemoryUsage());
             
+            // Endpoint latency percentiles (ms) over the sliding window
+            stats.put("latencyWindowSeconds", latencyRegistry.getWindowSeconds());
+            stats.put("endpoints", latencyRegistry.snapshot());
+            
+            // Allocation and CPU time per request, from sampled requests
+            stats.put("requestCostSampleRate", costRegistry.getSampleRate());
+            stats.put("requestCost", costRegistry.snapshot());
+            
+            // Cassandra driver pool, request latency and error metrics
+            stats.put("cassandra", metricsConfig.getCassandraDriverMetrics());
+            
+            // Alert rules currently in breach
+            stats.put("activeAlerts", alertEngine.getActiveAlerts());
+            
             // Performance thresholds
             stats.put("thresholds", getPerformanceThresholds());
             
@@ -117,10 +149,9 @@ public class PerformanceMonitoringService {
                 }
             }
             
-            // Calculate overall hit rate (simulated for now)
-            double hitRate = calculateOverallCacheHitRate();
-            cacheStats.put("hitRate", hitRate);
-            cacheStats.put("hitRateStatus", hitRate >= CACHE_HIT_RATE_THRESHOLD ? "HEALTHY" : "WARNING");
+            // Overall hit rate over the cache statistics window, as of the cache health check's last refresh
+            cacheStats.put("hitRate", cacheHealth.getHitRate());
+            cacheStats.put("hitRateStatus", cacheHealth.isBelowTarget() ? "WARNING" : "HEALTHY");
             
         } catch (Exception e) {
             logger.error("Error collecting cache statistics", e);
@@ -131,27 +162,35 @@ public class PerformanceMonitoringService {
     }
 
     /**
-     * Health check for performance monitoring
+     * Health check for performance monitoring, composed from the health indicators' precomputed results,
+     * so it costs no I/O. Component states map onto the legacy values: DEGRADED becomes WARNING
+     * (DOWN for the cache), OUT_OF_SERVICE becomes DOWN.
      */
     public Map<String, Object> performHealthCheck() {
         Map<String, Object> healthCheck = new HashMap<>();
         
         try {
+            Health cassandra = cassandraHealth.health();
+            Health cache = cacheHealth.health();
+            Health memory = memoryHealth.health();
+            
+            // Cassandra reachability from the last scheduled probe
+            healthCheck.put("cassandraHealth", cassandra.getStatus().getCode());
+            healthCheck.put("cassandra", cassandra.getDetails());
+            
             // Cache health
-            double cacheHitRate = calculateOverallCacheHitRate();
-            healthCheck.put("cacheHealth", cacheHitRate >= CACHE_HIT_RATE_THRESHOLD ? "UP" : "DOWN");
-            healthCheck.put("cacheHitRate", cacheHitRate);
+            healthCheck.put("cacheHealth", Status.UP.equals(cache.getStatus()) ? "UP" : "DOWN");
+            healthCheck.put("cacheHitRate", cacheHealth.getHitRate());
             
-            // Memory health
-            Map<String, Object> memoryUsage = getMemoryUsage();
-            long usedMemoryPercent = (Long) memoryUsage.get("usedPercent");
-            healthCheck.put("memoryHealth", usedMemoryPercent < 80 ? "UP" : "WARNING");
-            healthCheck.put("memoryUsage", memoryUsage);
+            // Memory health: heap occupancy after the last GC
+            healthCheck.put("memoryHealth", legacyStatus(memory.getStatus()));
+            healthCheck.put("memoryUsage", memory.getDetails());
             
             // Overall status
-            boolean allHealthy = "UP".equals(healthCheck.get("cacheHealth")) && 
-                               "UP".equals(healthCheck.get("memoryHealth"));
-            healthCheck.put("status", allHealthy ? "UP" : "WARNING");
+            Status overall = HealthConfiguration.STATUS_AGGREGATOR.getAggregateStatus(
+                    cassandra.getStatus(), cache.getStatus(), memory.getStatus());
+            healthCheck.put("status", legacyStatus(overall));
+            healthCheck.put("uptime", getUptimeMs());
             healthCheck.put("timestamp", LocalDateTime.now());
             
         } catch (Exception e) {
@@ -165,39 +204,27 @@ public class PerformanceMonitoringService {
     }
 
     /**
-     * Trigger performance alert with cooldown
+     * Hand the alert to the alert engine, which de-duplicates it per type and notifies the sinks
+     * from its scheduler
      */
     private void triggerAlert(String alertType, String message) {
-        long currentTime = System.currentTimeMillis();
-        long lastAlert = lastAlertTime.get();
-        
-        if (currentTime - lastAlert > alertCooldownMs.get()) {
-            logger.warn("PERFORMANCE ALERT [{}]: {}", alertType, message);
-            lastAlertTime.set(currentTime);
-            
-            // In a real implementation, this would send notifications
-            // (email, Slack, PagerDuty, etc.)
-        }
+        alertEngine.raise(alertType, message);
     }
 
-    private double calculateOverallCacheHitRate() {
-        // Simulated cache hit rate calculation
-        // In a real implementation, this would aggregate from actual cache metrics
-        return Math.random() * 20 + 80; // Simulate 80-100% hit rate
+    private static String legacyStatus(Status status) {
+        if (Status.UP.equals(status) || Status.UNKNOWN.equals(status)) {
+            return "UP";
+        }
+        return HealthConfiguration.DEGRADED.equals(status) ? "WARNING" : "DOWN";
     }
 
     private int getCacheSize(Cache cache) {
-        // Simplified cache size calculation
-        return 100; // Simulated value
+        // Entry count for map-backed caches; other providers do not expose one cheaply
+        return cache.getNativeCache() instanceof Map<?, ?> map ? map.size() : -1;
     }
 
     private long getUptimeMs() {
-        return System.currentTimeMillis() - getStartTime();
-    }
-
-    private long getStartTime() {
-        // Simplified - in real implementation, track actual start time
-        return System.currentTimeMillis() - 3600000; // 1 hour ago
+        return ManagementFactory.getRuntimeMXBean().getUptime();
     }
 
     private Map<String, Object> getMemoryUsage() {
@@ -0,0 +1,170 @@
+package com.beautysalon.service;
+
+import com.beautysalon.common.monitoring.EndpointLatencyRegistry;
+import com.beautysalon.dto.EndpointCost;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-route heap allocation and CPU time of sampled requests, measured by
+ * {@link com.beautysalon.config.RequestTimingFilter} as the difference between the request thread's
+ * {@code ThreadMXBean} counters before and after the filter chain. Only a fraction of requests is
+ * sampled ({@code monitoring.request-cost.sample-rate}); two counter reads per sampled request is cheap
+ * enough to leave on.
+ *
+ * The JDK reports neither counter for virtual threads (JDK 21 returns -1), so with
+ * {@code spring.threads.virtual.enabled} requests are counted under {@value #UNMEASURED} instead;
+ * carrier threads cannot stand in, as a virtual thread may move between carriers mid-request.
+ */
+@Component
+public class RequestCostRegistry {
+
+    static final String ALLOCATED_BYTES = "beauty_salon.request.allocated_bytes";
+    static final String CPU_TIME = "beauty_salon.request.cpu_time";
+    static final String UNMEASURED = "beauty_salon.request.cost.unmeasured";
+
+    private static final double[] PERCENTILES = {0.5, 0.99};
+
+    /**
+     * The request thread's counters when the request started; -1 where the JDK does not report one.
+     */
+    public record Sample(long allocatedBytes, long cpuNanos) {
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final com.sun.management.ThreadMXBean threads;
+    private final boolean enabled;
+    private final double sampleRate;
+    private final int maxRoutes;
+    private final Map<String, DistributionSummary> allocations = new ConcurrentHashMap<>();
+    private final Map<String, Timer> cpuTimes = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RequestCostRegistry(MeterRegistry meterRegistry,
+                               @Value("${monitoring.request-cost.enabled:true}") boolean enabled,
+                               @Value("${monitoring.request-cost.sample-rate:0.1}") double sampleRate,
+                               @Value("${monitoring.latency.max-routes:200}") int maxRoutes) {
+        this.meterRegistry = meterRegistry;
+        this.threads = ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                ? bean : null;
+        this.enabled = enabled && threads != null;
+        this.sampleRate = sampleRate;
+        this.maxRoutes = maxRoutes;
+    }
+
+    /**
+     * Read the current thread's counters if this request is sampled, or return {@code null} to skip it.
+     */
+    public Sample start() {
+        if (!enabled || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return null;
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes();
+        long cpu = threads.getCurrentThreadCpuTime();
+        if (allocated < 0 && cpu < 0) {
+            meterRegistry.counter(UNMEASURED, "thread", Thread.currentThread().isVirtual() ? "virtual" : "platform")
+                    .increment();
+            return null;
+        }
+        return new Sample(allocated, cpu);
+    }
+
+    /**
+     * Record what the current thread allocated and spent on CPU since {@link #start()}.
+     * Must run on the thread that started the sample.
+     */
+    public void stop(Sample sample, String route) {
+        if (sample == null) {
+            return;
+        }
+        String key = routeKey(route);
+        if (sample.allocatedBytes() >= 0) {
+            long allocated = threads.getCurrentThreadAllocatedBytes() - sample.allocatedBytes();
+            allocations.computeIfAbsent(key, this::allocationSummary).record(Math.max(0, allocated));
+        }
+        if (sample.cpuNanos() >= 0) {
+            long cpu = threads.getCurrentThreadCpuTime() - sample.cpuNanos();
+            cpuTimes.computeIfAbsent(key, this::cpuTimer).record(Math.max(0, cpu), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public double getSampleRate() {
+        return enabled ? sampleRate : 0.0;
+    }
+
+    /**
+     * Cost per route, highest mean CPU time first.
+     */
+    public List<EndpointCost> snapshot() {
+        List<String> routes = new ArrayList<>(allocations.keySet());
+        cpuTimes.keySet().stream().filter(route -> !allocations.containsKey(route)).forEach(routes::add);
+        List<EndpointCost> endpoints = new ArrayList<>();
+        for (String route : routes) {
+            DistributionSummary allocation = allocations.get(route);
+            Timer cpu = cpuTimes.get(route);
+            HistogramSnapshot bytes = allocation == null ? HistogramSnapshot.empty(0, 0, 0) : allocation.takeSnapshot();
+            HistogramSnapshot cpuTime = cpu == null ? HistogramSnapshot.empty(0, 0, 0) : cpu.takeSnapshot();
+            endpoints.add(new EndpointCost(
+                    route,
+                    Math.max(bytes.count(), cpuTime.count()),
+                    bytes.mean(),
+                    percentile(bytes, 0.5, null),
+                    percentile(bytes, 0.99, null),
+                    cpuTime.mean(TimeUnit.MILLISECONDS),
+                    percentile(cpuTime, 0.5, TimeUnit.MILLISECONDS),
+                    percentile(cpuTime, 0.99, TimeUnit.MILLISECONDS)));
+        }
+        endpoints.sort(Comparator.comparingDouble(EndpointCost::cpuMillisMean).reversed()
+                .thenComparing(EndpointCost::route));
+        return endpoints;
+    }
+
+    private String routeKey(String route) {
+        if (allocations.containsKey(route) || cpuTimes.containsKey(route)) {
+            return route;
+        }
+        return Math.max(allocations.size(), cpuTimes.size()) < maxRoutes ? route : EndpointLatencyRegistry.OTHER_ROUTE;
+    }
+
+    private DistributionSummary allocationSummary(String route) {
+        return DistributionSummary.builder(ALLOCATED_BYTES)
+                .description("Heap bytes allocated by the request thread, sampled requests only")
+                .baseUnit("bytes")
+                .tag("route", route)
+                .publishPercentiles(PERCENTILES)
+                .register(meterRegistry);
+    }
+
+    private Timer cpuTimer(String route) {
+        return Timer.builder(CPU_TIME)
+                .description("CPU time spent by the request thread, sampled requests only")
+                .tag("route", route)
+                .publishPercentiles(PERCENTILES)
+                .register(meterRegistry);
+    }
+
+    private static double percentile(HistogramSnapshot snapshot, double percentile, TimeUnit unit) {
+        for (ValueAtPercentile value : snapshot.percentileValues()) {
+            if (value.percentile() == percentile) {
+                return unit == null ? value.value() : value.value(unit);
+            }
+        }
+        return 0.0;
+    }
+}
@@ -0,0 +1,70 @@
+package com.beautysalon.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Event counter over a rolling time horizon, split into fixed buckets.
+ * Each bucket packs its epoch (high 32 bits) and count (low 32 bits) into one long, so a writer
+ * that lands in a stale bucket resets and increments it in a single CAS and no update is lost.
+ */
+public class RollingWindowCounter {
+
+    private static final long COUNT_MASK = 0xFFFF_FFFFL;
+
+    private final AtomicLongArray buckets;
+    private final long bucketMillis;
+    private final LongSupplier clock;
+
+    public RollingWindowCounter(long horizonMillis, long bucketMillis, LongSupplier clock) {
+        if (bucketMillis < 1 || horizonMillis < bucketMillis) {
+            throw new IllegalArgumentException("Horizon must span at least one bucket");
+        }
+        this.bucketMillis = bucketMillis;
+        this.buckets = new AtomicLongArray((int) (horizonMillis / bucketMillis));
+        this.clock = clock;
+    }
+
+    public void increment() {
+        long epoch = clock.getAsLong() / bucketMillis;
+        int index = indexOf(epoch);
+        long current;
+        long next;
+        do {
+            current = buckets.get(index);
+            next = sameEpoch(current, epoch) ? current + 1 : pack(epoch, 1);
+        } while (!buckets.compareAndSet(index, current, next));
+    }
+
+    /**
+     * Events in the most recent {@code windowMillis}, rounded up to whole buckets and capped at the horizon.
+     */
+    public long sum(long windowMillis) {
+        long epoch = clock.getAsLong() / bucketMillis;
+        long bucketsInWindow = Math.min(buckets.length(), Math.max(1, (windowMillis + bucketMillis - 1) / bucketMillis));
+        long total = 0;
+        for (long e = epoch; e > epoch - bucketsInWindow; e--) {
+            long value = buckets.get(indexOf(e));
+            if (sameEpoch(value, e)) {
+                total += value & COUNT_MASK;
+            }
+        }
+        return total;
+    }
+
+    public long getHorizonMillis() {
+        return bucketMillis * buckets.length();
+    }
+
+    private int indexOf(long epoch) {
+        return (int) Math.floorMod(epoch, (long) buckets.length());
+    }
+
+    private static boolean sameEpoch(long value, long epoch) {
+        return (int) (value >>> 32) == (int) epoch;
+    }
+
+    private static long pack(long epoch, long count) {
+        return (epoch << 32) | count;
+    }
+}
@@ -0,0 +1,264 @@
+package com.beautysalon.service;
+
+import com.beautysalon.dto.ServiceSearchCriteria;
+import com.beautysalon.dto.ServiceSearchResult;
+import com.beautysalon.model.Service;
+import com.beautysalon.repository.ServiceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * In-memory index of the service catalog for faceted search.
+ *
+ * Services are numbered by position in an immutable snapshot; price and duration are kept in
+ * sorted maps from value to the set of positions, and category and active flag as one bitset
+ * each, so a search is a few range unions and bitset intersections. The snapshot is replaced
+ * (copy-on-write) when this instance changes a service and refreshed periodically to pick up
+ * changes made elsewhere.
+ */
+@Component
+public class ServiceCatalogIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ServiceCatalogIndex.class);
+
+    static final List<BigDecimal> PRICE_BAND_BOUNDS =
+            List.of(new BigDecimal("50"), new BigDecimal("100"), new BigDecimal("200"));
+    static final List<Integer> DURATION_BAND_BOUNDS = List.of(30, 60, 120);
+
+    private static final Comparator<Service> BY_NAME =
+            Comparator.comparing(Service::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+    private static final Comparator<Service> BY_PRICE =
+            Comparator.comparing(Service::getPrice, Comparator.nullsLast(Comparator.naturalOrder()));
+    private static final Comparator<Service> BY_DURATION =
+            Comparator.comparing(Service::getDuration, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final ServiceRepository serviceRepository;
+
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    public ServiceCatalogIndex(ServiceRepository serviceRepository) {
+        this.serviceRepository = serviceRepository;
+    }
+
+    public ServiceSearchResult search(ServiceSearchCriteria criteria) {
+        return snapshot().search(criteria);
+    }
+
+    public synchronized void upsert(Service service) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        List<Service> services = new ArrayList<>(current.services.length + 1);
+        for (Service existing : current.services) {
+            if (!existing.getId().equals(service.getId())) {
+                services.add(existing);
+            }
+        }
+        services.add(service);
+        snapshot = new Snapshot(services);
+    }
+
+    public synchronized void remove(UUID id) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        List<Service> services = new ArrayList<>(current.services.length);
+        for (Service existing : current.services) {
+            if (!existing.getId().equals(id)) {
+                services.add(existing);
+            }
+        }
+        snapshot = new Snapshot(services);
+    }
+
+    /**
+     * Reloads the catalog if it has been loaded at all, so an idle instance does not scan it.
+     */
+    @Scheduled(fixedDelayString = "${services.index.refresh-interval-ms:300000}")
+    public void refresh() {
+        if (snapshot == null) {
+            return;
+        }
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to refresh service catalog index, keeping previous snapshot: {}", e.getMessage());
+        }
+    }
+
+    private synchronized Snapshot reload() {
+        Snapshot loaded = new Snapshot(serviceRepository.findAll());
+        snapshot = loaded;
+        logger.debug("Indexed {} services", loaded.services.length);
+        return loaded;
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            return snapshot != null ? snapshot : reload();
+        }
+    }
+
+    private static final class Snapshot {
+
+        private final Service[] services;
+        private final BitSet all;
+        private final NavigableMap<BigDecimal, BitSet> byPrice = new TreeMap<>();
+        private final NavigableMap<Integer, BitSet> byDuration = new TreeMap<>();
+        private final Map<String, BitSet> byCategory = new TreeMap<>();
+        private final BitSet active;
+
+        private Snapshot(Collection<Service> catalog) {
+            services = catalog.toArray(Service[]::new);
+            all = new BitSet(services.length);
+            all.set(0, services.length);
+            active = new BitSet(services.length);
+            for (int i = 0; i < services.length; i++) {
+                Service service = services[i];
+                if (service.getPrice() != null) {
+                    byPrice.computeIfAbsent(service.getPrice(), price -> new BitSet()).set(i);
+                }
+                if (service.getDuration() != null) {
+                    byDuration.computeIfAbsent(service.getDuration(), duration -> new BitSet()).set(i);
+                }
+                if (service.getCategory() != null) {
+                    byCategory.computeIfAbsent(service.getCategory(), category -> new BitSet()).set(i);
+                }
+                if (Boolean.TRUE.equals(service.getIsActive())) {
+                    active.set(i);
+                }
+            }
+        }
+
+        private ServiceSearchResult search(ServiceSearchCriteria criteria) {
+            BitSet price = criteria.hasPriceFilter()
+                    ? union(range(byPrice, criteria.minPrice(), criteria.maxPrice()))
+                    : all;
+            BitSet duration = criteria.hasDurationFilter()
+                    ? union(range(byDuration, criteria.minDuration(), criteria.maxDuration()))
+                    : all;
+            BitSet category = criteria.categories().isEmpty()
+                    ? all
+                    : union(criteria.categories().stream().map(byCategory::get).filter(Objects::nonNull).toList());
+            BitSet activeFilter = activeFilter(criteria.active());
+
+            BitSet matches = intersect(price, duration, category, activeFilter);
+            List<Service> results = new ArrayList<>(matches.cardinality());
+            matches.stream().forEach(i -> results.add(services[i]));
+            results.sort(comparator(criteria.sort()));
+
+            Map<String, Integer> categoryFacets = new LinkedHashMap<>();
+            BitSet withoutCategory = intersect(price, duration, activeFilter);
+            byCategory.forEach((name, bits) -> categoryFacets.put(name, countBoth(bits, withoutCategory)));
+
+            Map<String, Integer> priceFacets = bandFacets(byPrice, PRICE_BAND_BOUNDS,
+                    intersect(duration, category, activeFilter), BigDecimal::toPlainString);
+            Map<String, Integer> durationFacets = bandFacets(byDuration, DURATION_BAND_BOUNDS,
+                    intersect(price, category, activeFilter), String::valueOf);
+
+            BitSet withoutActive = intersect(price, duration, category);
+            Map<String, Integer> activeFacets = new LinkedHashMap<>();
+            activeFacets.put("true", countBoth(active, withoutActive));
+            activeFacets.put("false", withoutActive.cardinality() - countBoth(active, withoutActive));
+
+            return new ServiceSearchResult(results, results.size(), categoryFacets, priceFacets,
+                    durationFacets, activeFacets);
+        }
+
+        private BitSet activeFilter(Boolean wanted) {
+            if (wanted == null) {
+                return all;
+            }
+            if (wanted) {
+                return active;
+            }
+            BitSet inactive = (BitSet) all.clone();
+            inactive.andNot(active);
+            return inactive;
+        }
+
+        private static <K extends Comparable<K>> Collection<BitSet> range(NavigableMap<K, BitSet> index, K min, K max) {
+            if (min == null && max == null) {
+                return index.values();
+            }
+            if (min == null) {
+                return index.headMap(max, true).values();
+            }
+            if (max == null) {
+                return index.tailMap(min, true).values();
+            }
+            return index.subMap(min, true, max, true).values();
+        }
+
+        /**
+         * Counts per band [bound(i-1), bound(i)), with an open-ended last band labelled "bound+".
+         */
+        private static <K extends Comparable<K>> Map<String, Integer> bandFacets(NavigableMap<K, BitSet> index,
+                List<K> bounds, BitSet filter, Function<K, String> label) {
+            Map<String, Integer> facets = new LinkedHashMap<>();
+            K lower = null;
+            for (K upper : bounds) {
+                NavigableMap<K, BitSet> band = lower == null
+                        ? index.headMap(upper, false)
+                        : index.subMap(lower, true, upper, false);
+                facets.put((lower == null ? "0" : label.apply(lower)) + "-" + label.apply(upper),
+                        countBoth(union(band.values()), filter));
+                lower = upper;
+            }
+            facets.put(label.apply(lower) + "+", countBoth(union(index.tailMap(lower, true).values()), filter));
+            return facets;
+        }
+
+        private Comparator<Service> comparator(ServiceSearchCriteria.SortOrder sort) {
+            return switch (sort) {
+                case PRICE -> BY_PRICE.thenComparing(BY_NAME);
+                case DURATION -> BY_DURATION.thenComparing(BY_NAME);
+                case NAME -> BY_NAME;
+            };
+        }
+
+        private static BitSet union(Collection<BitSet> sets) {
+            BitSet result = new BitSet();
+            sets.forEach(result::or);
+            return result;
+        }
+
+        private static BitSet intersect(BitSet first, BitSet... others) {
+            BitSet result = (BitSet) first.clone();
+            for (BitSet other : others) {
+                result.and(other);
+            }
+            return result;
+        }
+
+        private static int countBoth(BitSet a, BitSet b) {
+            BitSet both = (BitSet) a.clone();
+            both.and(b);
+            return both.cardinality();
+        }
+    }
+}
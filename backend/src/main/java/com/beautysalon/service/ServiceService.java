@@ -1,5 +1,7 @@
 package com.beautysalon.service;
 
+import com.beautysalon.dto.ServiceSearchCriteria;
+import com.beautysalon.dto.ServiceSearchResult;
 import com.beautysalon.model.Service;
 import com.beautysalon.repository.ServiceRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,6 +17,9 @@ public class ServiceService {
     @Autowired
     private ServiceRepository serviceRepository;
     
+    @Autowired
+    private ServiceCatalogIndex serviceCatalogIndex;
+    
     public List<Service> getAllServices() {
         return serviceRepository.findAll();
     }
@@ -35,10 +40,16 @@ public class ServiceService {
         return serviceRepository.findActiveByCategoryServices(category);
     }
     
+    public ServiceSearchResult searchServices(ServiceSearchCriteria criteria) {
+        return serviceCatalogIndex.search(criteria);
+    }
+    
     public Service createService(Service service) {
         service.setCreatedAt(Instant.now());
         service.setUpdatedAt(Instant.now());
-        return serviceRepository.save(service);
+        Service savedService = serviceRepository.save(service);
+        serviceCatalogIndex.upsert(savedService);
+        return savedService;
     }
     
     public Service updateService(UUID id, Service serviceDetails) {
@@ -52,7 +63,9 @@ public class ServiceService {
             service.setCategory(serviceDetails.getCategory());
             service.setIsActive(serviceDetails.getIsActive());
             service.setUpdatedAt(Instant.now());
-            return serviceRepository.save(service);
+            Service savedService = serviceRepository.save(service);
+            serviceCatalogIndex.upsert(savedService);
+            return savedService;
         }
         return null;
     }
@@ -60,6 +73,7 @@ public class ServiceService {
     public boolean deleteService(UUID id) {
         if (serviceRepository.existsById(id)) {
             serviceRepository.deleteById(id);
+            serviceCatalogIndex.remove(id);
             return true;
         }
         return false;
@@ -0,0 +1,168 @@
+package com.beautysalon.service;
+
+import com.beautysalon.config.ClassLoadingApplicationStartup;
+import com.beautysalon.dto.StartupProfile;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.RuntimeMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Measures cold start: time and loaded classes at the started and ready events, the first request and the
+ * first {@code /api} request to complete (readiness probes usually come first), and, when the buffered
+ * startup timeline is available, self time and class loads per startup phase and the slowest beans to
+ * initialize. Served by {@code /actuator/startupprofile}; the first API request is also exported as
+ * {@code beauty_salon.startup.first_api_request.time}. The timeline is copied when the application is ready,
+ * so the profile does not depend on the startup buffer, which Spring's {@code startup} endpoint drains.
+ */
+@Service
+public class StartupProfiler {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupProfiler.class);
+
+    static final String INSTANTIATE_STEP = "spring.beans.instantiate";
+    static final String API_PREFIX = "/api/";
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final ApplicationStartup applicationStartup;
+    private final RuntimeMXBean runtime = ManagementFactory.getRuntimeMXBean();
+    private final ClassLoadingMXBean classLoading = ManagementFactory.getClassLoadingMXBean();
+    private final AtomicReference<StartupProfile.FirstRequest> firstRequest = new AtomicReference<>();
+    private final AtomicReference<StartupProfile.FirstRequest> firstApiRequest = new AtomicReference<>();
+
+    private volatile StartupProfile.Milestone started;
+    private volatile StartupProfile.Milestone ready;
+    private volatile List<StartupTimeline.TimelineEvent> timeline;
+
+    @Autowired
+    public StartupProfiler(ApplicationStartup applicationStartup, MeterRegistry meterRegistry) {
+        this.applicationStartup = applicationStartup;
+        TimeGauge.builder("beauty_salon.startup.first_api_request.time", firstApiRequest, TimeUnit.MILLISECONDS,
+                        request -> request.get() == null ? Double.NaN : request.get().arrivedSinceJvmStartMs())
+                .description("Time from JVM start until the first API request arrived")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void onStarted(ApplicationStartedEvent event) {
+        started = milestone(event.getTimeTaken());
+    }
+
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        ready = milestone(event.getTimeTaken());
+        if (applicationStartup instanceof BufferingApplicationStartup buffering) {
+            timeline = buffering.getBufferedTimeline().getEvents();
+        }
+        logger.info("Ready {} ms after JVM start ({} ms in SpringApplication.run), {} classes loaded",
+                Math.round(ready.sinceJvmStartMs()), Math.round(ready.timeTakenMs()), ready.classesLoaded());
+    }
+
+    /**
+     * Called for every completed request; after the first API request this is a single volatile read.
+     */
+    public void recordRequest(String path, long durationNanos) {
+        if (firstApiRequest.get() != null) {
+            return;
+        }
+        double durationMs = durationNanos / NANOS_PER_MILLI;
+        StartupProfile.FirstRequest request = new StartupProfile.FirstRequest(path,
+                runtime.getUptime() - durationMs, durationMs, classLoading.getTotalLoadedClassCount());
+        firstRequest.compareAndSet(null, request);
+        if (path.startsWith(API_PREFIX) && firstApiRequest.compareAndSet(null, request)) {
+            logger.info("First API request {} arrived {} ms after JVM start and took {} ms",
+                    path, Math.round(request.arrivedSinceJvmStartMs()), Math.round(durationMs));
+        }
+    }
+
+    public StartupProfile profile(int topBeans) {
+        StartupProfile.ClassLoading classes = new StartupProfile.ClassLoading(classLoading.getTotalLoadedClassCount(),
+                classLoading.getUnloadedClassCount(), classLoading.getLoadedClassCount());
+        if (!(applicationStartup instanceof BufferingApplicationStartup buffering)) {
+            return new StartupProfile(false, 0, started, ready, firstRequest.get(), firstApiRequest.get(),
+                    classes, List.of(), List.of());
+        }
+        List<StartupTimeline.TimelineEvent> events = timeline != null ? timeline : buffering.getBufferedTimeline().getEvents();
+        Map<Long, StepTotals> steps = new LinkedHashMap<>();
+        for (StartupTimeline.TimelineEvent entry : events) {
+            StartupStep step = entry.getStartupStep();
+            steps.put(step.getId(), new StepTotals(step, entry.getDuration()));
+        }
+        for (StepTotals step : steps.values()) {
+            StepTotals parent = step.parentId == null ? null : steps.get(step.parentId);
+            if (parent != null) {
+                parent.selfNanos -= step.totalNanos;
+                parent.selfClasses -= step.totalClasses;
+            }
+        }
+
+        Map<String, StartupProfile.Phase> phases = new HashMap<>();
+        List<StartupProfile.Bean> beans = new ArrayList<>();
+        for (StepTotals step : steps.values()) {
+            phases.merge(step.name, new StartupProfile.Phase(step.name, 1, step.selfNanos / NANOS_PER_MILLI,
+                    step.selfClasses), (a, b) -> new StartupProfile.Phase(a.name(), a.steps() + b.steps(),
+                    a.selfMs() + b.selfMs(), a.classesLoaded() + b.classesLoaded()));
+            if (INSTANTIATE_STEP.equals(step.name)) {
+                beans.add(new StartupProfile.Bean(step.beanName, step.beanType, step.totalNanos / NANOS_PER_MILLI,
+                        step.selfNanos / NANOS_PER_MILLI, step.selfClasses));
+            }
+        }
+        return new StartupProfile(true, steps.size(), started, ready, firstRequest.get(), firstApiRequest.get(),
+                classes,
+                phases.values().stream().sorted(Comparator.comparingDouble(StartupProfile.Phase::selfMs).reversed())
+                        .toList(),
+                beans.stream().sorted(Comparator.comparingDouble(StartupProfile.Bean::selfMs).reversed())
+                        .limit(Math.max(0, topBeans)).toList());
+    }
+
+    private StartupProfile.Milestone milestone(Duration timeTaken) {
+        return new StartupProfile.Milestone(runtime.getUptime(), timeTaken.toNanos() / NANOS_PER_MILLI,
+                classLoading.getTotalLoadedClassCount());
+    }
+
+    private static final class StepTotals {
+        private final String name;
+        private final Long parentId;
+        private final String beanName;
+        private final String beanType;
+        private final long totalNanos;
+        private final long totalClasses;
+        private long selfNanos;
+        private long selfClasses;
+
+        private StepTotals(StartupStep step, Duration duration) {
+            this.name = step.getName();
+            this.parentId = step.getParentId();
+            Map<String, String> tags = new HashMap<>();
+            step.getTags().forEach(tag -> tags.put(tag.getKey(), tag.getValue()));
+            this.beanName = tags.get("beanName");
+            this.beanType = tags.get("beanType");
+            this.totalNanos = duration.toNanos();
+            this.totalClasses = Long.parseLong(tags.getOrDefault(ClassLoadingApplicationStartup.CLASSES_LOADED_TAG, "0"));
+            this.selfNanos = totalNanos;
+            this.selfClasses = totalClasses;
+        }
+    }
+}
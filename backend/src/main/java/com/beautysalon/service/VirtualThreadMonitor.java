@@ -0,0 +1,283 @@
+package com.beautysalon.service;
+
+import com.beautysalon.dto.VirtualThreadStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Watches virtual threads while the {@code virtual-threads} profiles are active. A JFR stream picks up
+ * {@code jdk.VirtualThreadPinned} (a virtual thread that blocked while holding a monitor or inside native code,
+ * keeping its carrier) and {@code jdk.VirtualThreadSubmitFailed}; pinning is aggregated by stack so the
+ * monitors to replace can be found. A scheduled sampler counts busy carrier threads, which shows whether
+ * pinning actually starves the carrier pool.
+ */
+@Service
+public class VirtualThreadMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadMonitor.class);
+
+    static final String METRIC_PREFIX = "beauty_salon.virtual_threads";
+    static final String OTHER_SITE = "OTHER";
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String SUBMIT_FAILED_EVENT = "jdk.VirtualThreadSubmitFailed";
+    private static final String CARRIER_THREAD_CLASS = "jdk.internal.misc.CarrierThread";
+    private static final String VIRTUAL_THREAD_CLASS = "java.lang.VirtualThread";
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private static final class PinnedStackStats {
+        private final String site;
+        private final List<String> frames;
+        private final LongAdder events = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+
+        private PinnedStackStats(String site, List<String> frames) {
+            this.site = site;
+            this.frames = frames;
+        }
+    }
+
+    private final boolean enabled;
+    private final Duration pinnedThreshold;
+    private final int stackDepth;
+    private final int maxStacks;
+    private final int parallelism;
+    private final Timer pinnedTimer;
+    private final Counter submitFailed;
+    private final Map<List<String>, PinnedStackStats> pinnedStacks = new ConcurrentHashMap<>();
+
+    private volatile RecordingStream stream;
+    private volatile int carriers;
+    private volatile int mountedCarriers;
+    private volatile int blockedCarriers;
+
+    @Autowired
+    public VirtualThreadMonitor(MeterRegistry meterRegistry,
+                                @Value("${monitoring.virtual-threads.enabled:${spring.threads.virtual.enabled:false}}") boolean enabled,
+                                @Value("${monitoring.virtual-threads.pinned-threshold-ms:20}") long pinnedThresholdMs,
+                                @Value("${monitoring.virtual-threads.stack-depth:8}") int stackDepth,
+                                @Value("${monitoring.virtual-threads.max-stacks:100}") int maxStacks) {
+        this.enabled = enabled;
+        this.pinnedThreshold = Duration.ofMillis(pinnedThresholdMs);
+        this.stackDepth = stackDepth;
+        this.maxStacks = maxStacks;
+        // the default scheduler sizes itself from this property, falling back to the core count
+        this.parallelism = Integer.getInteger("jdk.virtualThreadScheduler.parallelism",
+                Runtime.getRuntime().availableProcessors());
+
+        this.pinnedTimer = Timer.builder(METRIC_PREFIX + ".pinned")
+                .description("Time virtual threads spent blocked while pinned to their carrier")
+                .publishPercentiles(0.5, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.submitFailed = Counter.builder(METRIC_PREFIX + ".submit_failed")
+                .description("Virtual threads the scheduler failed to start or unpark")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".carriers", this, m -> m.mountedCarriers)
+                .tag("state", "mounted")
+                .description("Carrier threads, by whether they run a virtual thread")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".carriers", this, m -> m.blockedCarriers)
+                .tag("state", "blocked")
+                .description("Carrier threads, by whether they run a virtual thread")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".carriers", this, m -> m.carriers - m.mountedCarriers)
+                .tag("state", "idle")
+                .description("Carrier threads, by whether they run a virtual thread")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".carrier_utilization", this, VirtualThreadMonitor::getCarrierUtilization)
+                .description("Mounted carrier threads over the virtual thread scheduler's parallelism")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".parallelism", this, m -> m.parallelism)
+                .description("Target number of carrier threads")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            RecordingStream recording = new RecordingStream();
+            recording.enable(PINNED_EVENT).withThreshold(pinnedThreshold).withStackTrace();
+            recording.enable(SUBMIT_FAILED_EVENT).withStackTrace();
+            recording.onEvent(PINNED_EVENT, event -> recordPinned(event.getDuration(), event.getStackTrace()));
+            recording.onEvent(SUBMIT_FAILED_EVENT, event -> submitFailed.increment());
+            recording.startAsync();
+            stream = recording;
+            logger.info("Monitoring virtual thread pinning above {} ms", pinnedThreshold.toMillis());
+        } catch (Exception e) {
+            logger.warn("Virtual thread pinning monitor is off: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        RecordingStream recording = stream;
+        if (recording != null) {
+            stream = null;
+            recording.close();
+        }
+    }
+
+    /**
+     * Count carrier threads and how many currently run a virtual thread. Carriers are found through
+     * the thread groups rather than a thread dump, so only their own stacks are walked.
+     */
+    @Scheduled(fixedDelayString = "${monitoring.virtual-threads.carrier-sample-interval-ms:1000}")
+    public void sampleCarriers() {
+        if (!enabled) {
+            return;
+        }
+        int total = 0;
+        int mounted = 0;
+        int blocked = 0;
+        for (Thread thread : allThreads()) {
+            if (!CARRIER_THREAD_CLASS.equals(thread.getClass().getName())) {
+                continue;
+            }
+            total++;
+            if (isMounted(thread)) {
+                mounted++;
+                // a mounted virtual thread that is waiting keeps its carrier: it is pinned
+                if (thread.getState() != Thread.State.RUNNABLE) {
+                    blocked++;
+                }
+            }
+        }
+        carriers = total;
+        mountedCarriers = mounted;
+        blockedCarriers = blocked;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public double getCarrierUtilization() {
+        return parallelism == 0 ? 0.0 : (double) mountedCarriers / parallelism;
+    }
+
+    /**
+     * Pinning totals and the {@code top} stacks with the most time pinned.
+     */
+    public VirtualThreadStats snapshot(int top) {
+        List<VirtualThreadStats.PinnedStack> stacks = new ArrayList<>();
+        for (PinnedStackStats stats : pinnedStacks.values()) {
+            stacks.add(new VirtualThreadStats.PinnedStack(stats.site, stats.frames, stats.events.sum(),
+                    stats.totalNanos.sum() / NANOS_PER_MILLI, stats.maxNanos.get() / NANOS_PER_MILLI));
+        }
+        stacks.sort(Comparator.comparingDouble(VirtualThreadStats.PinnedStack::totalMs).reversed()
+                .thenComparing(VirtualThreadStats.PinnedStack::site));
+        return new VirtualThreadStats(
+                enabled,
+                pinnedThreshold.toMillis(),
+                pinnedTimer.count(),
+                pinnedTimer.totalTime(TimeUnit.MILLISECONDS),
+                (long) submitFailed.count(),
+                parallelism,
+                carriers,
+                mountedCarriers,
+                blockedCarriers,
+                getCarrierUtilization(),
+                stacks.subList(0, Math.min(Math.max(1, top), stacks.size())));
+    }
+
+    void recordPinned(Duration duration, RecordedStackTrace stackTrace) {
+        List<String> frames = new ArrayList<>();
+        if (stackTrace != null) {
+            for (RecordedFrame frame : stackTrace.getFrames()) {
+                if (frame.isJavaFrame()) {
+                    frames.add(FlightRecorderService.methodName(frame));
+                }
+            }
+        }
+        recordPinned(duration.toNanos(), frames);
+    }
+
+    /**
+     * @param frames top of the pinned thread's stack, innermost first, as {@code type.method}
+     */
+    void recordPinned(long durationNanos, List<String> frames) {
+        pinnedTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+        List<String> key = stackKey(frames);
+        PinnedStackStats stats = pinnedStacks.get(key);
+        if (stats == null) {
+            List<String> bucket = pinnedStacks.size() < maxStacks ? key : List.of(OTHER_SITE);
+            stats = pinnedStacks.computeIfAbsent(bucket, k -> new PinnedStackStats(siteOf(k), k));
+        }
+        stats.events.increment();
+        stats.totalNanos.add(durationNanos);
+        stats.maxNanos.accumulate(durationNanos);
+    }
+
+    /**
+     * Drop the scheduler's own frames from the top, which every pinned stack shares, and keep the
+     * next {@code stackDepth} frames: the blocking call and the code that made it while pinned.
+     */
+    private List<String> stackKey(List<String> frames) {
+        int from = 0;
+        while (from < frames.size() && isSchedulerFrame(frames.get(from))) {
+            from++;
+        }
+        return List.copyOf(frames.subList(from, Math.min(frames.size(), from + stackDepth)));
+    }
+
+    private static boolean isSchedulerFrame(String frame) {
+        return frame.startsWith(VIRTUAL_THREAD_CLASS + ".") || frame.startsWith("jdk.internal.");
+    }
+
+    private static String siteOf(List<String> frames) {
+        for (String frame : frames) {
+            if (!FlightRecorderService.isJdkType(frame)) {
+                return frame;
+            }
+        }
+        return frames.isEmpty() ? "unknown" : frames.get(0);
+    }
+
+    private static boolean isMounted(Thread carrier) {
+        for (StackTraceElement frame : carrier.getStackTrace()) {
+            if (VIRTUAL_THREAD_CLASS.equals(frame.getClassName()) && "runContinuation".equals(frame.getMethodName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Thread> allThreads() {
+        ThreadGroup root = Thread.currentThread().getThreadGroup();
+        while (root.getParent() != null) {
+            root = root.getParent();
+        }
+        Thread[] threads = new Thread[root.activeCount() * 2 + 16];
+        int count = root.enumerate(threads, true);
+        return Arrays.asList(threads).subList(0, count);
+    }
+}
@@ -0,0 +1,59 @@
+package com.beautysalon.service;
+
+import com.beautysalon.dto.Alert;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+
+/**
+ * Posts each alert as JSON to {@code monitoring.alerts.webhook.url}. Only created when the URL is set;
+ * pointing it at {@code /api/monitoring/alerts/webhook} on a local instance with
+ * {@code monitoring.alerts.webhook-receiver.enabled=true} gives a stand-in receiver.
+ */
+@Component
+@ConditionalOnProperty(name = "monitoring.alerts.webhook.url")
+public class WebhookAlertSink implements AlertSink {
+
+    private final RestClient restClient;
+    private final String url;
+
+    @Autowired
+    public WebhookAlertSink(RestClient.Builder restClientBuilder,
+                            @Value("${monitoring.alerts.webhook.url}") String url,
+                            @Value("${monitoring.alerts.webhook.timeout-ms:2000}") long timeoutMs) {
+        this(restClientBuilder.requestFactory(requestFactory(timeoutMs)).build(), url);
+    }
+
+    WebhookAlertSink(RestClient restClient, String url) {
+        this.restClient = restClient;
+        this.url = url;
+    }
+
+    private static SimpleClientHttpRequestFactory requestFactory(long timeoutMs) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(Duration.ofMillis(timeoutMs));
+        requestFactory.setReadTimeout(Duration.ofMillis(timeoutMs));
+        return requestFactory;
+    }
+
+    @Override
+    public String name() {
+        return "webhook";
+    }
+
+    @Override
+    public void send(Alert alert) {
+        restClient.post()
+                .uri(url)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(alert)
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
@@ -0,0 +1,105 @@
+package com.beautysalon.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveTraceSamplerSimpleTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+
+    private int sampledOutOf(AdaptiveTraceSampler sampler, int traces) {
+        int sampled = 0;
+        for (int i = 0; i < traces; i++) {
+            if (sampler.isSampled(i)) {
+                sampled++;
+            }
+        }
+        return sampled;
+    }
+
+    @Test
+    void testIsSampled_KeepsEverythingUnderBudget() {
+        AdaptiveTraceSampler sampler = new AdaptiveTraceSampler(100, 0.001, now::get);
+
+        assertEquals(50, sampledOutOf(sampler, 50));
+        assertEquals(1.0, sampler.getProbability());
+    }
+
+    @Test
+    void testIsSampled_CapsSpansWithinTheSecond() {
+        // Arrange: 4 spans per trace against a 100 spans/s budget allows 25 traces
+        AdaptiveTraceSampler sampler = new AdaptiveTraceSampler(100, 0.001, now::get);
+        for (int i = 0; i < 1_000; i++) {
+            sampler.recordTraceSize(4);
+        }
+
+        // Act & Assert
+        assertEquals(25, sampledOutOf(sampler, 1_000));
+    }
+
+    @Test
+    void testRollWindow_LowersProbabilityToMatchTraffic() {
+        // Arrange: one spans-per-trace, 1,000 traces in the first second against a 100 spans/s budget
+        AdaptiveTraceSampler sampler = new AdaptiveTraceSampler(100, 0.001, now::get);
+        sampledOutOf(sampler, 1_000);
+
+        // Act
+        now.addAndGet(1_000);
+        sampler.isSampled(1);
+
+        // Assert
+        assertEquals(0.1, sampler.getProbability(), 1e-9);
+
+        // a quiet second brings it back up
+        now.addAndGet(1_000);
+        sampler.isSampled(2);
+        assertEquals(1.0, sampler.getProbability());
+    }
+
+    @Test
+    void testRollWindow_NeverGoesBelowMinimumProbability() {
+        AdaptiveTraceSampler sampler = new AdaptiveTraceSampler(1, 0.01, now::get);
+        sampledOutOf(sampler, 100_000);
+
+        now.addAndGet(1_000);
+        sampler.isSampled(1);
+
+        assertEquals(0.01, sampler.getProbability(), 1e-9);
+    }
+
+    @Test
+    void testRecordTraceSize_SmoothsTowardsObservedSize() {
+        AdaptiveTraceSampler sampler = new AdaptiveTraceSampler(100, 0.001, now::get);
+
+        sampler.recordTraceSize(11);
+
+        assertEquals(2.0, sampler.getSpansPerTrace(), 1e-9);
+    }
+
+    @Test
+    void testBindTo_ExposesSamplerState() {
+        // Arrange
+        MeterRegistry registry = new SimpleMeterRegistry();
+        AdaptiveTraceSampler sampler = new AdaptiveTraceSampler(1, 0.001, now::get);
+        sampler.bindTo(registry);
+
+        // Act
+        sampledOutOf(sampler, 3);
+
+        // Assert
+        assertEquals(1.0, registry.get("beauty_salon.tracing.sampler.probability").gauge().value());
+        assertEquals(1.0, registry.get("beauty_salon.tracing.sampler.budget").gauge().value());
+        assertEquals(1.0, registry.get("beauty_salon.tracing.sampler.traces").tag("decision", "sampled").functionCounter().count());
+        assertEquals(2.0, registry.get("beauty_salon.tracing.sampler.traces").tag("decision", "dropped").functionCounter().count());
+    }
+
+    @Test
+    void testConstructor_RejectsNonPositiveBudget() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveTraceSampler(0, 0.1, now::get));
+    }
+}
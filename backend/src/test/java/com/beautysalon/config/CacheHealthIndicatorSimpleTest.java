@@ -0,0 +1,77 @@
+package com.beautysalon.config;
+
+import com.beautysalon.service.CacheStatistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class CacheHealthIndicatorSimpleTest {
+
+    private MetricsConfiguration metricsConfig;
+    private CacheStatistics statistics;
+    private CacheHealthIndicator indicator;
+
+    @BeforeEach
+    void setUp() {
+        metricsConfig = mock(MetricsConfiguration.class);
+        statistics = new CacheStatistics(metricsConfig, 60);
+        indicator = new CacheHealthIndicator(statistics, 80.0, 10);
+    }
+
+    private void lookups(String cache, int hits, int misses) {
+        for (int i = 0; i < hits; i++) {
+            statistics.onHit(cache);
+        }
+        for (int i = 0; i < misses; i++) {
+            statistics.onMiss(cache);
+        }
+    }
+
+    @Test
+    void testRefresh_DegradedBelowMinimumHitRate() {
+        // Arrange
+        lookups("customers", 6, 4);
+
+        // Act
+        indicator.refresh();
+
+        // Assert
+        Health health = indicator.health();
+        assertEquals(HealthConfiguration.DEGRADED, health.getStatus());
+        assertEquals(60.0, (Double) health.getDetails().get("hitRate"), 0.001);
+        assertEquals(10L, health.getDetails().get("lookups"));
+        assertEquals(Map.of("customers", 60.0), health.getDetails().get("caches"));
+        assertTrue(indicator.isBelowTarget());
+        verify(metricsConfig, times(6)).incrementCacheHit();
+        verify(metricsConfig, times(4)).incrementCacheMiss();
+    }
+
+    @Test
+    void testRefresh_UpUntilEnoughLookups() {
+        lookups("staff", 0, 9);
+
+        indicator.refresh();
+
+        assertEquals(Status.UP, indicator.health().getStatus());
+        assertEquals(0.0, indicator.getHitRate(), 0.001);
+        assertFalse(indicator.isBelowTarget());
+    }
+
+    @Test
+    void testHealth_ReturnsTheLastRefreshWithoutRecomputing() {
+        Health before = indicator.health();
+        lookups("customers", 0, 20);
+
+        assertSame(before, indicator.health());
+        indicator.refresh();
+        assertEquals(HealthConfiguration.DEGRADED, indicator.health().getStatus());
+    }
+}
@@ -0,0 +1,91 @@
+package com.beautysalon.config;
+
+import com.datastax.oss.driver.api.core.AllNodesFailedException;
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.boot.actuate.health.Status;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CassandraHealthIndicatorSimpleTest {
+
+    private CqlSession session;
+    private CassandraHealthIndicator indicator;
+
+    @BeforeEach
+    void setUp() {
+        session = mock(CqlSession.class);
+        indicator = new CassandraHealthIndicator(session, 250);
+    }
+
+    @Test
+    void testProbe_UpWithReleaseVersion() {
+        // Arrange
+        AsyncResultSet resultSet = mock(AsyncResultSet.class);
+        Row row = mock(Row.class);
+        when(row.getString("release_version")).thenReturn("4.1.3");
+        when(resultSet.one()).thenReturn(row);
+        when(session.executeAsync(any(SimpleStatement.class))).thenReturn(CompletableFuture.completedFuture(resultSet));
+
+        // Act
+        indicator.probe();
+
+        // Assert
+        assertEquals(Status.UP, indicator.health().getStatus());
+        assertEquals("4.1.3", indicator.health().getDetails().get("releaseVersion"));
+        ArgumentCaptor<SimpleStatement> statement = ArgumentCaptor.forClass(SimpleStatement.class);
+        verify(session).executeAsync(statement.capture());
+        assertEquals(CassandraHealthIndicator.PROBE_QUERY, statement.getValue().getQuery());
+        assertEquals(Duration.ofMillis(250), statement.getValue().getTimeout());
+    }
+
+    @Test
+    void testProbe_DownWhenTheQueryFails() {
+        when(session.executeAsync(any(SimpleStatement.class))).thenReturn(CompletableFuture.failedFuture(
+                AllNodesFailedException.fromErrors(List.of())));
+
+        indicator.probe();
+        indicator.probe();
+
+        assertEquals(Status.DOWN, indicator.health().getStatus());
+        assertEquals(2, indicator.health().getDetails().get("consecutiveFailures"));
+    }
+
+    @Test
+    void testProbe_SkipsWhileThePreviousProbeIsOutstanding() {
+        // Arrange
+        CompletableFuture<AsyncResultSet> pending = new CompletableFuture<>();
+        when(session.executeAsync(any(SimpleStatement.class))).thenReturn(pending);
+
+        // Act
+        indicator.probe();
+        indicator.probe();
+
+        // Assert: one query, and health stays as it was until it answers
+        verify(session, times(1)).executeAsync(any(SimpleStatement.class));
+        assertEquals(Status.UNKNOWN, indicator.health().getStatus());
+        pending.completeExceptionally(new IllegalStateException("Session is closed"));
+        assertEquals(Status.DOWN, indicator.health().getStatus());
+    }
+
+    @Test
+    void testProbe_UnknownWithoutASession() {
+        CassandraHealthIndicator inMemory = new CassandraHealthIndicator((CqlSession) null, 250);
+
+        inMemory.probe();
+
+        assertEquals(Status.UNKNOWN, inMemory.health().getStatus());
+        assertTrue(inMemory.health().getDetails().get("reason").toString().contains("in memory"));
+    }
+}
@@ -0,0 +1,77 @@
+package com.beautysalon.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemoryHealthIndicatorSimpleTest {
+
+    private MemoryHealthIndicator indicator;
+
+    @BeforeEach
+    void setUp() {
+        indicator = new MemoryHealthIndicator(0.85, 0.95);
+    }
+
+    @AfterEach
+    void tearDown() {
+        indicator.stop();
+    }
+
+    @Test
+    void testRecordAfterGc_StatusFollowsOccupancy() {
+        indicator.recordAfterGc(500, 1000, "G1 Young Generation");
+        assertEquals(Status.UP, indicator.health().getStatus());
+
+        indicator.recordAfterGc(900, 1000, "G1 Old Generation");
+        assertEquals(HealthConfiguration.DEGRADED, indicator.health().getStatus());
+        assertEquals(0.9, indicator.getOccupancy(), 0.001);
+
+        indicator.recordAfterGc(960, 1000, "G1 Old Generation");
+        Health health = indicator.health();
+        assertEquals(Status.DOWN, health.getStatus());
+        assertEquals(960L, health.getDetails().get("usedAfterGcBytes"));
+        assertEquals("G1 Old Generation", health.getDetails().get("collector"));
+    }
+
+    @Test
+    void testMeasuresLiveSet_OnlyForCollectionsOfTheOldGeneration() {
+        assertTrue(MemoryHealthIndicator.measuresLiveSet("G1 Old Generation", "end of major GC"));
+        assertTrue(MemoryHealthIndicator.measuresLiveSet("G1 Concurrent GC", "end of concurrent GC pause"));
+        assertTrue(MemoryHealthIndicator.measuresLiveSet("PS MarkSweep", "end of major GC"));
+        assertTrue(MemoryHealthIndicator.measuresLiveSet("ZGC Major Cycles", "end of GC cycle"));
+        assertTrue(MemoryHealthIndicator.measuresLiveSet("Shenandoah Cycles", "end of GC cycle"));
+
+        assertFalse(MemoryHealthIndicator.measuresLiveSet("G1 Young Generation", "end of minor GC"));
+        assertFalse(MemoryHealthIndicator.measuresLiveSet("PS Scavenge", "end of minor GC"));
+        assertFalse(MemoryHealthIndicator.measuresLiveSet("ZGC Minor Cycles", "end of GC cycle"));
+        assertFalse(MemoryHealthIndicator.measuresLiveSet("ZGC Major Pauses", "end of GC pause"));
+    }
+
+    @Test
+    void testStart_UpdatesFromGarbageCollectionNotifications() throws Exception {
+        // Arrange
+        indicator.start();
+        indicator.recordAfterGc(0, 0, "none");
+
+        // Act: notifications arrive asynchronously after the collection
+        System.gc();
+        long deadline = System.currentTimeMillis() + 10_000;
+        while ("none".equals(indicator.health().getDetails().get("collector")) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        // Assert
+        Health health = indicator.health();
+        assertNotEquals("none", health.getDetails().get("collector"));
+        assertTrue((Long) health.getDetails().get("maxBytes") > 0);
+        assertFalse(((List<?>) health.getDetails().get("pools")).isEmpty());
+        assertEquals(Status.UP, health.getStatus());
+    }
+}
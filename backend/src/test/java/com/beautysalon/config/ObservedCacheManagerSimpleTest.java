@@ -0,0 +1,125 @@
+package com.beautysalon.config;
+
+import brave.Span;
+import brave.Tracer;
+import brave.Tracing;
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ObservedCacheManagerSimpleTest {
+
+    private final List<MutableSpan> finished = new ArrayList<>();
+    private final List<String> lookups = new ArrayList<>();
+    private Tracing tracing;
+    private ObservedCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        tracing = Tracing.newBuilder()
+                .addSpanHandler(new SpanHandler() {
+                    @Override
+                    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+                        finished.add(span);
+                        return true;
+                    }
+                })
+                .build();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("tracer", tracing.tracer());
+        beanFactory.addBean("cacheMissSpanTagger", new CacheMissSpanTagger(beanFactory.getBeanProvider(Tracer.class)));
+        beanFactory.addBean("recordingListener", new CacheLookupListener() {
+            @Override
+            public void onHit(String cacheName) {
+                lookups.add("hit:" + cacheName);
+            }
+
+            @Override
+            public void onMiss(String cacheName) {
+                lookups.add("miss:" + cacheName);
+            }
+        });
+        cacheManager = new ObservedCacheManager(new ConcurrentMapCacheManager("customers"),
+                beanFactory.getBeanProvider(CacheLookupListener.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracing.close();
+    }
+
+    private MutableSpan inSpan(Runnable action) {
+        Span span = tracing.tracer().newTrace().start();
+        try (Tracer.SpanInScope ignored = tracing.tracer().withSpanInScope(span)) {
+            action.run();
+        } finally {
+            span.finish();
+        }
+        return finished.get(finished.size() - 1);
+    }
+
+    @Test
+    void testGet_TagsCurrentSpanOnMiss() {
+        Cache cache = cacheManager.getCache("customers");
+
+        MutableSpan span = inSpan(() -> assertNull(cache.get("42")));
+
+        assertEquals("customers", span.tag(TailSamplingSpanHandler.CACHE_MISS_TAG));
+    }
+
+    @Test
+    void testGet_DoesNotTagOnHit() {
+        Cache cache = cacheManager.getCache("customers");
+        cache.put("42", "Maria");
+
+        MutableSpan span = inSpan(() -> assertEquals("Maria", cache.get("42", String.class)));
+
+        assertNull(span.tag(TailSamplingSpanHandler.CACHE_MISS_TAG));
+    }
+
+    @Test
+    void testGetWithLoader_TagsOnlyWhenLoading() {
+        Cache cache = cacheManager.getCache("customers");
+
+        MutableSpan miss = inSpan(() -> cache.get("7", () -> "Ana"));
+        MutableSpan hit = inSpan(() -> cache.get("7", () -> "unused"));
+
+        assertEquals("customers", miss.tag(TailSamplingSpanHandler.CACHE_MISS_TAG));
+        assertNull(hit.tag(TailSamplingSpanHandler.CACHE_MISS_TAG));
+        assertEquals("Ana", cache.get("7").get());
+    }
+
+    @Test
+    void testGet_ReportsEachLookupToListeners() {
+        Cache cache = cacheManager.getCache("customers");
+
+        cache.get("7");
+        cache.get("7", () -> "Ana");
+        cache.get("7", () -> "unused");
+        cache.get("7", String.class);
+
+        assertEquals(List.of("miss:customers", "miss:customers", "hit:customers", "hit:customers"), lookups);
+    }
+
+    @Test
+    void testGetCache_ReturnsSameDecoratorAndDelegatesNames() {
+        assertSame(cacheManager.getCache("customers"), cacheManager.getCache("customers"));
+        assertEquals(List.of("customers"), List.copyOf(cacheManager.getCacheNames()));
+    }
+
+    @Test
+    void testGet_WithoutSpanIsHarmless() {
+        assertNull(cacheManager.getCache("customers").get("missing"));
+    }
+}
@@ -0,0 +1,124 @@
+package com.beautysalon.config;
+
+import com.beautysalon.common.monitoring.EndpointLatencyRegistry;
+import com.beautysalon.service.AlertSignals;
+import com.beautysalon.service.RequestCostRegistry;
+import com.beautysalon.service.StartupProfiler;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RequestTimingFilterSimpleTest {
+
+    @Mock
+    private EndpointLatencyRegistry latencyRegistry;
+
+    @Mock
+    private MetricsConfiguration metricsConfig;
+
+    @Mock
+    private AlertSignals alertSignals;
+
+    @Mock
+    private RequestCostRegistry costRegistry;
+
+    @Mock
+    private StartupProfiler startupProfiler;
+
+    @Mock
+    private Timer.Sample sample;
+
+    @InjectMocks
+    private RequestTimingFilter filter;
+
+    @Test
+    void testDoFilter_RecordsMatchedRoutePattern() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/customers/42");
+        when(metricsConfig.startTimer()).thenReturn(sample);
+        FilterChain chain = (req, res) ->
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/customers/{id}");
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Assert
+        verify(latencyRegistry).record(eq("GET /api/customers/{id}"), anyLong());
+        verify(alertSignals).recordRequest("GET /api/customers/{id}", false);
+        verify(metricsConfig).recordResponseTime(sample);
+    }
+
+    @Test
+    void testDoFilter_RecordsRequestCostForSampledRequests() throws Exception {
+        // Arrange
+        RequestCostRegistry.Sample cost = new RequestCostRegistry.Sample(1024, 5_000);
+        when(costRegistry.start()).thenReturn(cost);
+        FilterChain chain = (req, res) ->
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/staff");
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/staff"), new MockHttpServletResponse(), chain);
+
+        // Assert
+        verify(costRegistry).stop(cost, "GET /api/staff");
+    }
+
+    @Test
+    void testDoFilter_ReportsRequestToStartupProfiler() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/services"), new MockHttpServletResponse(),
+                (req, res) -> { });
+
+        verify(startupProfiler).recordRequest(eq("/api/services"), anyLong());
+    }
+
+    @Test
+    void testDoFilter_CountsServerErrorsAsFailed() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/services");
+        FilterChain chain = (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/services");
+            ((MockHttpServletResponse) res).setStatus(503);
+        };
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        verify(alertSignals).recordRequest("GET /api/services", true);
+    }
+
+    @Test
+    void testDoFilter_UnmatchedRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/nope");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> { });
+
+        verify(latencyRegistry).record(eq(EndpointLatencyRegistry.UNMATCHED_ROUTE), anyLong());
+    }
+
+    @Test
+    void testDoFilter_RecordsWhenHandlerFails() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/appointments");
+        FilterChain chain = (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/appointments");
+            throw new IOException("broken pipe");
+        };
+
+        assertThrows(IOException.class, () -> filter.doFilter(request, new MockHttpServletResponse(), chain));
+
+        verify(latencyRegistry).record(eq("POST /api/appointments"), anyLong());
+        verify(alertSignals).recordRequest("POST /api/appointments", true);
+    }
+}
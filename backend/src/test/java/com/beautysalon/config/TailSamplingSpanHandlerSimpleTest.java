@@ -0,0 +1,188 @@
+package com.beautysalon.config;
+
+import brave.Span;
+import brave.Tracer;
+import brave.Tracing;
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TailSamplingSpanHandlerSimpleTest {
+
+    private static final long START_MICROS = 1_000_000_000L;
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private final List<MutableSpan> exported = new ArrayList<>();
+    private final SpanHandler exporter = new SpanHandler() {
+        @Override
+        public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+            // like the Zipkin handler, only sampled spans are reported
+            if (Boolean.TRUE.equals(context.sampled())) {
+                exported.add(span);
+            }
+            return true;
+        }
+    };
+
+    private AdaptiveTraceSampler sampler;
+    private TailSamplingSpanHandler handler;
+    private Tracing tracing;
+    private Tracer tracer;
+
+    @BeforeEach
+    void setUp() {
+        // a 1 span/s budget: the first trace in the second is head-sampled, the rest are not
+        sampler = new AdaptiveTraceSampler(1, 0.001, now::get);
+        handler = new TailSamplingSpanHandler(sampler, () -> List.of(exporter), 500, 2, 10, 10_000, now::get);
+        tracing = Tracing.newBuilder()
+                .sampler(sampler)
+                .alwaysSampleLocal()
+                .addSpanHandler(handler)
+                .addSpanHandler(exporter)
+                .build();
+        tracer = tracing.tracer();
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracing.close();
+    }
+
+    /**
+     * Root plus one child; the child optionally gets a tag, the root lasts {@code rootMillis}.
+     */
+    private void trace(String name, long rootMillis, String tagKey, String tagValue) {
+        Span root = tracer.newTrace().name(name).start(START_MICROS);
+        Span child = tracer.newChild(root.context()).name(name + "-child").start(START_MICROS + 10);
+        if (tagKey != null) {
+            child.tag(tagKey, tagValue);
+        }
+        child.finish(START_MICROS + 20);
+        root.finish(START_MICROS + rootMillis * 1000);
+    }
+
+    private List<String> exportedNames() {
+        return exported.stream().map(MutableSpan::name).toList();
+    }
+
+    @Test
+    void testHeadSampledTrace_PassesThrough() {
+        trace("sampled", 5, null, null);
+
+        assertEquals(List.of("sampled-child", "sampled"), exportedNames());
+    }
+
+    @Test
+    void testUnsampledFastTrace_IsDropped() {
+        trace("sampled", 5, null, null);
+        exported.clear();
+
+        trace("fast", 5, null, null);
+
+        assertTrue(exported.isEmpty());
+        assertEquals(0, handler.getPendingTraces());
+    }
+
+    @Test
+    void testUnsampledSlowTrace_IsKept() {
+        trace("sampled", 5, null, null);
+        exported.clear();
+
+        trace("slow", 800, null, null);
+
+        assertEquals(List.of("slow-child", "slow"), exportedNames());
+    }
+
+    @Test
+    void testUnsampledErroredTrace_IsKept() {
+        trace("sampled", 5, null, null);
+        exported.clear();
+
+        trace("failed", 5, "error", "Connection refused");
+
+        assertEquals(List.of("failed-child", "failed"), exportedNames());
+    }
+
+    @Test
+    void testUnsampledCacheMissTrace_IsKept() {
+        trace("sampled", 5, null, null);
+        exported.clear();
+
+        trace("miss", 5, TailSamplingSpanHandler.CACHE_MISS_TAG, "customers");
+
+        assertEquals(List.of("miss-child", "miss"), exportedNames());
+    }
+
+    @Test
+    void testBuffer_IsBoundedAndEvictsStaleTraces() {
+        // Arrange: two unfinished roots fill the two-trace buffer
+        trace("sampled", 5, null, null);
+        for (int i = 0; i < 2; i++) {
+            Span root = tracer.newTrace().start(START_MICROS);
+            tracer.newChild(root.context()).start(START_MICROS).finish(START_MICROS + 1);
+        }
+        assertEquals(2, handler.getPendingTraces());
+
+        // Act: a third trace while full is not buffered, so even a slow one cannot be rescued
+        exported.clear();
+        trace("overflow", 800, null, null);
+        assertTrue(exported.isEmpty());
+
+        // once the stale traces age out there is room again
+        now.addAndGet(20_000);
+        trace("later", 800, null, null);
+
+        // Assert
+        assertEquals(List.of("later-child", "later"), exportedNames());
+    }
+
+    @Test
+    void testBuffer_HoldsOnlyUnsampledTraces() {
+        // Arrange: a head-sampled and an unsampled trace, both with their root still open
+        Span sampledRoot = tracer.newTrace().name("open").start(START_MICROS);
+        tracer.newChild(sampledRoot.context()).start(START_MICROS).finish(START_MICROS + 1);
+        Span unsampledRoot = tracer.newTrace().start(START_MICROS);
+        tracer.newChild(unsampledRoot.context()).start(START_MICROS).finish(START_MICROS + 1);
+        assertEquals(1, handler.getPendingTraces());
+
+        // Act: the two-trace buffer still has room for a slow trace
+        exported.clear();
+        trace("slow", 800, null, null);
+        sampledRoot.finish(START_MICROS + 2);
+
+        // Assert: and the sampled trace's two spans still reach the spans-per-trace estimate
+        assertEquals(List.of("slow-child", "slow", "open"), exportedNames());
+        assertTrue(sampler.getSpansPerTrace() > 1.0);
+    }
+
+    @Test
+    void testBindTo_CountsDecisionsAndFeedsTraceSize() {
+        // Arrange
+        MeterRegistry registry = new SimpleMeterRegistry();
+        handler.bindTo(registry);
+
+        // Act
+        trace("sampled", 5, null, null);
+        trace("fast", 5, null, null);
+        trace("slow", 800, null, null);
+
+        // Assert
+        assertEquals(1.0, registry.get("beauty_salon.tracing.tail.traces")
+                .tags("decision", "dropped").functionCounter().count());
+        assertEquals(1.0, registry.get("beauty_salon.tracing.tail.traces")
+                .tags("decision", "kept", "reason", "slow").functionCounter().count());
+        assertEquals(0.0, registry.get("beauty_salon.tracing.tail.buffered").gauge().value());
+        assertTrue(sampler.getSpansPerTrace() > 1.0);
+    }
+}
@@ -0,0 +1,59 @@
+package com.beautysalon.controller;
+
+import com.beautysalon.dto.Alert;
+import com.beautysalon.service.AlertWebhookInbox;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class AlertWebhookControllerTest {
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new AlertWebhookController(new AlertWebhookInbox())).build();
+    }
+
+    @Test
+    void testReceiveAlertWebhook_StoresAlertNewestFirst() throws Exception {
+        // Act
+        postAlert("cache_stats", "FIRING");
+        postAlert("cache_stats", "RESOLVED");
+
+        // Assert
+        mockMvc.perform(get("/api/monitoring/alerts/webhook"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].subject").value("cache_stats"))
+                .andExpect(jsonPath("$[0].status").value(Alert.Status.RESOLVED.name()));
+    }
+
+    @Test
+    void testController_OnlyRegisteredWhenReceiverIsEnabled() {
+        ApplicationContextRunner runner = new ApplicationContextRunner()
+                .withUserConfiguration(AlertWebhookInbox.class, AlertWebhookController.class);
+
+        runner.run(context -> assertThat(context)
+                .doesNotHaveBean(AlertWebhookController.class)
+                .doesNotHaveBean(AlertWebhookInbox.class));
+        runner.withPropertyValues("monitoring.alerts.webhook-receiver.enabled=true")
+                .run(context -> assertThat(context).hasSingleBean(AlertWebhookController.class));
+    }
+
+    private void postAlert(String subject, String status) throws Exception {
+        mockMvc.perform(post("/api/monitoring/alerts/webhook")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rule\":\"errors\",\"subject\":\"" + subject + "\",\"severity\":\"WARNING\","
+                                + "\"status\":\"" + status + "\",\"value\":0,\"threshold\":10,\"message\":\"ok\",\"suppressed\":0}"))
+                .andExpect(status().isAccepted());
+    }
+}
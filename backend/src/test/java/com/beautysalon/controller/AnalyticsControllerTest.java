@@ -0,0 +1,103 @@
+package com.beautysalon.controller;
+
+import com.beautysalon.dto.AppointmentStats;
+import com.beautysalon.service.AppointmentAnalyticsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class AnalyticsControllerTest {
+
+    private static final LocalDate FROM = LocalDate.of(2025, 8, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 8, 31);
+
+    @Mock
+    private AppointmentAnalyticsService appointmentAnalyticsService;
+
+    @InjectMocks
+    private AnalyticsController analyticsController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(analyticsController).build();
+    }
+
+    @Test
+    void testGetSummary() throws Exception {
+        when(appointmentAnalyticsService.getSummary(FROM, TO))
+                .thenReturn(new AppointmentStats(null, null, 120, 95, new BigDecimal("5230.00")));
+
+        mockMvc.perform(get("/api/analytics/summary").param("from", "2025-08-01").param("to", "2025-08-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookings").value(120))
+                .andExpect(jsonPath("$.completions").value(95))
+                .andExpect(jsonPath("$.revenue").value(5230.00))
+                .andExpect(jsonPath("$.date").doesNotExist())
+                .andExpect(jsonPath("$.key").doesNotExist());
+    }
+
+    @Test
+    void testGetDailyTotals() throws Exception {
+        when(appointmentAnalyticsService.getDailyTotals(FROM, TO))
+                .thenReturn(List.of(new AppointmentStats(FROM, null, 4, 3, new BigDecimal("150.00"))));
+
+        mockMvc.perform(get("/api/analytics/daily").param("from", "2025-08-01").param("to", "2025-08-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].bookings").value(4));
+    }
+
+    @Test
+    void testGetStaffDailyStats() throws Exception {
+        UUID staffId = UUID.randomUUID();
+        when(appointmentAnalyticsService.getStaffDailyStats(staffId, FROM, TO))
+                .thenReturn(List.of(new AppointmentStats(FROM, staffId, 2, 2, new BigDecimal("100.00"))));
+
+        mockMvc.perform(get("/api/analytics/staff/{staffId}/daily", staffId)
+                        .param("from", "2025-08-01").param("to", "2025-08-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].key").value(staffId.toString()));
+    }
+
+    @Test
+    void testGetServiceStats() throws Exception {
+        UUID serviceId = UUID.randomUUID();
+        when(appointmentAnalyticsService.getServiceStats(FROM, TO))
+                .thenReturn(List.of(new AppointmentStats(null, serviceId, 10, 8, new BigDecimal("400.00"))));
+
+        mockMvc.perform(get("/api/analytics/services").param("from", "2025-08-01").param("to", "2025-08-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].key").value(serviceId.toString()));
+    }
+
+    @Test
+    void testInvalidRange_ReturnsBadRequest() throws Exception {
+        when(appointmentAnalyticsService.getStaffStats(TO, FROM))
+                .thenThrow(new IllegalArgumentException("Invalid date range"));
+
+        mockMvc.perform(get("/api/analytics/staff").param("from", "2025-08-31").param("to", "2025-08-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testMissingRange_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/analytics/daily").param("from", "2025-08-01"))
+                .andExpect(status().isBadRequest());
+    }
+}
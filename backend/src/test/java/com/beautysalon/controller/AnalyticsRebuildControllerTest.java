@@ -0,0 +1,69 @@
+package com.beautysalon.controller;
+
+import com.beautysalon.service.AppointmentAnalyticsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class AnalyticsRebuildControllerTest {
+
+    private static final LocalDate FROM = LocalDate.of(2025, 8, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 8, 31);
+
+    @Mock
+    private AppointmentAnalyticsService appointmentAnalyticsService;
+
+    @InjectMocks
+    private AnalyticsRebuildController analyticsRebuildController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(analyticsRebuildController).build();
+    }
+
+    @Test
+    void testRebuild_ReturnsCorrectedRows() throws Exception {
+        when(appointmentAnalyticsService.rebuild(FROM, TO)).thenReturn(42);
+
+        mockMvc.perform(post("/api/analytics/rebuild").param("from", "2025-08-01").param("to", "2025-08-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.corrected").value(42));
+    }
+
+    @Test
+    void testRebuild_InvalidRangeReturnsBadRequest() throws Exception {
+        when(appointmentAnalyticsService.rebuild(TO, FROM))
+                .thenThrow(new IllegalArgumentException("Invalid date range"));
+
+        mockMvc.perform(post("/api/analytics/rebuild").param("from", "2025-08-31").param("to", "2025-08-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testController_OnlyRegisteredWhenRebuildIsEnabled() {
+        ApplicationContextRunner runner = new ApplicationContextRunner()
+                .withBean(AppointmentAnalyticsService.class, () -> mock(AppointmentAnalyticsService.class))
+                .withUserConfiguration(AnalyticsRebuildController.class);
+
+        runner.run(context -> assertThat(context).doesNotHaveBean(AnalyticsRebuildController.class));
+        runner.withPropertyValues("analytics.rebuild.enabled=true")
+                .run(context -> assertThat(context).hasSingleBean(AnalyticsRebuildController.class));
+    }
+}
@@ -1,5 +1,7 @@
 package com.beautysalon.controller;
 
+import com.beautysalon.dto.StatusTransitionRequest;
+import com.beautysalon.dto.StatusTransitionResult;
 import com.beautysalon.model.Appointment;
 import com.beautysalon.service.AppointmentService;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,6 +14,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.Arrays;
@@ -259,4 +262,62 @@ class AppointmentControllerTest {
         // Assert
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
     }
+
+    @Test
+    void testTransitionStatus_Applied() {
+        // Arrange
+        StatusTransitionRequest request = new StatusTransitionRequest("confirmed", null);
+        StatusTransitionResult applied = StatusTransitionResult.applied(appointmentId, "confirmed", Instant.now());
+        when(appointmentService.transitionStatus(appointmentId, request)).thenReturn(applied);
+
+        // Act
+        ResponseEntity<StatusTransitionResult> response = appointmentController.transitionStatus(appointmentId, request);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(applied, response.getBody());
+    }
+
+    @Test
+    void testTransitionStatus_Conflict() {
+        // Arrange
+        StatusTransitionRequest request = new StatusTransitionRequest("confirmed", null);
+        StatusTransitionResult conflict = StatusTransitionResult.conflict(appointmentId, "cancelled");
+        when(appointmentService.transitionStatus(appointmentId, request)).thenReturn(conflict);
+
+        // Act
+        ResponseEntity<StatusTransitionResult> response = appointmentController.transitionStatus(appointmentId, request);
+
+        // Assert
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals("cancelled", response.getBody().status());
+    }
+
+    @Test
+    void testTransitionStatus_NotFound() {
+        // Arrange
+        StatusTransitionRequest request = new StatusTransitionRequest("confirmed", null);
+        when(appointmentService.transitionStatus(appointmentId, request))
+                .thenReturn(StatusTransitionResult.notFound(appointmentId));
+
+        // Act
+        ResponseEntity<StatusTransitionResult> response = appointmentController.transitionStatus(appointmentId, request);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    void testTransitionStatus_InvalidStatus() {
+        // Arrange
+        StatusTransitionRequest request = new StatusTransitionRequest("archived", null);
+        when(appointmentService.transitionStatus(appointmentId, request))
+                .thenThrow(new IllegalArgumentException("Unknown appointment status: archived"));
+
+        // Act
+        ResponseEntity<StatusTransitionResult> response = appointmentController.transitionStatus(appointmentId, request);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
 }
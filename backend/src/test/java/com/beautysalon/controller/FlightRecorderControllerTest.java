@@ -0,0 +1,191 @@
+package com.beautysalon.controller;
+
+import com.beautysalon.dto.FlightRecordingInfo;
+import com.beautysalon.dto.FlightRecordingSummary;
+import com.beautysalon.service.FlightRecorderService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class FlightRecorderControllerTest {
+
+    @Mock
+    private FlightRecorderService flightRecorderService;
+
+    @InjectMocks
+    private FlightRecorderController flightRecorderController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(flightRecorderController).build();
+    }
+
+    @Test
+    void testListRecordings_ReturnsProfilesAndRecordings() throws Exception {
+        // Arrange
+        when(flightRecorderService.list()).thenReturn(List.of(recordingInfo(7L, "RUNNING")));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/monitoring/jfr"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.profiles.length()").value(4))
+                .andExpect(jsonPath("$.profiles[0]").value("allocation"))
+                .andExpect(jsonPath("$.recordings[0].id").value(7))
+                .andExpect(jsonPath("$.recordings[0].state").value("RUNNING"));
+    }
+
+    @Test
+    void testStartRecording_Created() throws Exception {
+        // Arrange
+        when(flightRecorderService.start(FlightRecorderService.Profile.LOCK_CONTENTION, 120L))
+                .thenReturn(recordingInfo(3L, "RUNNING"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/monitoring/jfr")
+                .param("profile", "lock-contention")
+                .param("maxDurationSeconds", "120"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(3));
+    }
+
+    @Test
+    void testStartRecording_UnknownProfile() throws Exception {
+        mockMvc.perform(post("/api/monitoring/jfr").param("profile", "cpu"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(flightRecorderService);
+    }
+
+    @Test
+    void testStartRecording_TooManyRecordings() throws Exception {
+        // Arrange
+        when(flightRecorderService.start(FlightRecorderService.Profile.ALLOCATION, null))
+                .thenThrow(new IllegalStateException("At most 4 JFR recordings may be open"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/monitoring/jfr").param("profile", "allocation"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void testStopRecording() throws Exception {
+        // Arrange
+        when(flightRecorderService.stop(3L)).thenReturn(Optional.of(recordingInfo(3L, "STOPPED")));
+        when(flightRecorderService.stop(4L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/monitoring/jfr/3/stop"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("STOPPED"));
+        mockMvc.perform(post("/api/monitoring/jfr/4/stop"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testDumpRecording_StreamsFileAndDeletesIt() throws Exception {
+        // Arrange
+        Path dump = Files.createTempFile("monitoring-controller-test", ".jfr");
+        Files.write(dump, new byte[] {1, 2, 3});
+        when(flightRecorderService.dump(3L)).thenReturn(Optional.of(dump));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/monitoring/jfr/3/dump"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"recording-3.jfr\""))
+                .andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM))
+                .andExpect(content().bytes(new byte[] {1, 2, 3}));
+        assertFalse(Files.exists(dump));
+    }
+
+    @Test
+    void testDumpRecording_NotFound() throws Exception {
+        when(flightRecorderService.dump(9L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/monitoring/jfr/9/dump"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testCloseRecording() throws Exception {
+        // Arrange
+        when(flightRecorderService.close(3L)).thenReturn(true);
+        when(flightRecorderService.close(4L)).thenReturn(false);
+
+        // Act & Assert
+        mockMvc.perform(delete("/api/monitoring/jfr/3"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(delete("/api/monitoring/jfr/4"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testSummarizeRecording() throws Exception {
+        // Arrange
+        FlightRecordingSummary summary = new FlightRecordingSummary(5, 200,
+                List.of(new FlightRecordingSummary.HotMethod("com.beautysalon.service.ServiceService.search", 120, 60.0)),
+                40,
+                List.of(new FlightRecordingSummary.AllocationSite("com.beautysalon.service.ServiceCatalogIndex.search",
+                        "java.util.ArrayList", 1_048_576, 25)));
+        when(flightRecorderService.summarize(5, 3)).thenReturn(summary);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/monitoring/jfr/summary").param("seconds", "5").param("top", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.executionSamples").value(200))
+                .andExpect(jsonPath("$.hottestMethods[0].percent").value(60.0))
+                .andExpect(jsonPath("$.topAllocationSites[0].objectClass").value("java.util.ArrayList"));
+    }
+
+    @Test
+    void testSummarizeRecording_DefaultsToLastTenSeconds() throws Exception {
+        when(flightRecorderService.summarize(10, 10))
+                .thenReturn(new FlightRecordingSummary(10, 0, List.of(), 0, List.of()));
+
+        mockMvc.perform(get("/api/monitoring/jfr/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.seconds").value(10));
+    }
+
+    @Test
+    void testEndpoints_OnlyRegisteredWhenEnabled() {
+        ApplicationContextRunner runner = new ApplicationContextRunner()
+                .withBean(FlightRecorderService.class, () -> mock(FlightRecorderService.class))
+                .withUserConfiguration(FlightRecorderController.class);
+
+        runner.run(context -> assertThat(context).doesNotHaveBean(FlightRecorderController.class));
+        runner.withPropertyValues("monitoring.jfr.enabled=true")
+                .run(context -> assertThat(context).hasSingleBean(FlightRecorderController.class));
+    }
+
+    private FlightRecordingInfo recordingInfo(long id, String state) {
+        return new FlightRecordingInfo(id, "beauty-salon-allocation", "allocation", state,
+                Instant.parse("2024-01-01T10:00:00Z"), null, 600);
+    }
+}
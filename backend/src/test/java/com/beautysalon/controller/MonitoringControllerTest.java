@@ -1,6 +1,11 @@
 package com.beautysalon.controller;
 
+import com.beautysalon.dto.Alert;
+import com.beautysalon.dto.VirtualThreadStats;
+import com.beautysalon.service.AlertEngine;
+import com.beautysalon.service.AlertRule;
 import com.beautysalon.service.PerformanceMonitoringService;
+import com.beautysalon.service.VirtualThreadMonitor;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,8 +17,10 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -32,6 +39,12 @@ class MonitoringControllerTest {
     @Mock
     private PerformanceMonitoringService performanceMonitoringService;
 
+    @Mock
+    private AlertEngine alertEngine;
+
+    @Mock
+    private VirtualThreadMonitor virtualThreadMonitor;
+
     @InjectMocks
     private MonitoringController monitoringController;
 
@@ -303,6 +316,42 @@ class MonitoringControllerTest {
 
     // Helper methods to create mock data
 
+    @Test
+    void testGetAlerts_ReturnsRulesActiveAndRecent() throws Exception {
+        // Arrange
+        Alert alert = new Alert("latency-p99", "GET /api/services", "WARNING", Alert.Status.FIRING,
+                850.0, 500.0, "p99 response time is 850.0 ms", Instant.parse("2024-01-01T10:00:00Z"), 0);
+        when(alertEngine.getRules()).thenReturn(AlertRule.defaults());
+        when(alertEngine.getActiveAlerts()).thenReturn(List.of(alert));
+        when(alertEngine.getRecentAlerts()).thenReturn(List.of(alert));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/monitoring/alerts"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rules.length()").value(3))
+                .andExpect(jsonPath("$.rules[0].kind").value("RATE"))
+                .andExpect(jsonPath("$.active[0].subject").value("GET /api/services"))
+                .andExpect(jsonPath("$.recent[0].status").value("FIRING"));
+    }
+
+    @Test
+    void testGetVirtualThreadStats() throws Exception {
+        // Arrange
+        VirtualThreadStats stats = new VirtualThreadStats(true, 20, 12, 840.0, 0, 8, 8, 6, 2, 0.75,
+                List.of(new VirtualThreadStats.PinnedStack("com.datastax.oss.driver.internal.core.util.Loggers.warn",
+                        List.of("java.lang.Thread.sleep", "com.datastax.oss.driver.internal.core.util.Loggers.warn"),
+                        12, 840.0, 110.0)));
+        when(virtualThreadMonitor.snapshot(5)).thenReturn(stats);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/monitoring/virtual-threads").param("top", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.carrierUtilization").value(0.75))
+                .andExpect(jsonPath("$.blockedCarriers").value(2))
+                .andExpect(jsonPath("$.pinnedStacks[0].events").value(12))
+                .andExpect(jsonPath("$.pinnedStacks[0].frames[0]").value("java.lang.Thread.sleep"));
+    }
+
     private Map<String, Object> createMockPerformanceStats() {
         Map<String, Object> stats = new HashMap<>();
         stats.put("timestamp", LocalDateTime.now().toString());
@@ -1,5 +1,7 @@
 package com.beautysalon.controller;
 
+import com.beautysalon.dto.ServiceSearchCriteria;
+import com.beautysalon.dto.ServiceSearchResult;
 import com.beautysalon.model.Service;
 import com.beautysalon.service.ServiceService;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,6 +16,8 @@ import org.springframework.http.ResponseEntity;
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -217,4 +221,32 @@ class ServiceControllerTest {
         // Assert
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
     }
+
+    @Test
+    void testSearchServices() {
+        // Arrange
+        ServiceSearchCriteria criteria = new ServiceSearchCriteria(new BigDecimal("20.00"), new BigDecimal("80.00"),
+                null, 60, Set.of("Cabelo"), true, ServiceSearchCriteria.SortOrder.PRICE);
+        ServiceSearchResult expected = new ServiceSearchResult(List.of(testService), 1,
+                Map.of("Cabelo", 1), Map.of(), Map.of(), Map.of("true", 1, "false", 0));
+        when(serviceService.searchServices(criteria)).thenReturn(expected);
+
+        // Act
+        ResponseEntity<ServiceSearchResult> response = serviceController.searchServices(new BigDecimal("20.00"),
+                new BigDecimal("80.00"), null, 60, Set.of("Cabelo"), true, ServiceSearchCriteria.SortOrder.PRICE);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(expected, response.getBody());
+    }
+
+    @Test
+    void testSearchServices_InvalidRange() {
+        // Act
+        ResponseEntity<ServiceSearchResult> response = serviceController.searchServices(new BigDecimal("80.00"),
+                new BigDecimal("20.00"), null, null, null, null, null);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
 }
@@ -0,0 +1,49 @@
+package com.beautysalon.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AppointmentStatusTest {
+
+    @Test
+    void value_ShouldBeLowercaseName() {
+        assertEquals("in_progress", AppointmentStatus.IN_PROGRESS.value());
+        assertEquals("no_show", AppointmentStatus.NO_SHOW.value());
+    }
+
+    @Test
+    void fromValue_ShouldBeCaseInsensitive() {
+        assertEquals(AppointmentStatus.CONFIRMED, AppointmentStatus.fromValue("confirmed"));
+        assertEquals(AppointmentStatus.NO_SHOW, AppointmentStatus.fromValue(" NO_SHOW "));
+    }
+
+    @Test
+    void fromValue_ShouldRejectUnknownOrMissingStatus() {
+        assertThrows(IllegalArgumentException.class, () -> AppointmentStatus.fromValue("archived"));
+        assertThrows(IllegalArgumentException.class, () -> AppointmentStatus.fromValue(null));
+        assertThrows(IllegalArgumentException.class, () -> AppointmentStatus.fromValue(""));
+    }
+
+    @Test
+    void canTransitionTo_ShouldFollowLifecycle() {
+        assertTrue(AppointmentStatus.SCHEDULED.canTransitionTo(AppointmentStatus.CONFIRMED));
+        assertTrue(AppointmentStatus.CONFIRMED.canTransitionTo(AppointmentStatus.IN_PROGRESS));
+        assertTrue(AppointmentStatus.IN_PROGRESS.canTransitionTo(AppointmentStatus.COMPLETED));
+        assertTrue(AppointmentStatus.CONFIRMED.canTransitionTo(AppointmentStatus.NO_SHOW));
+
+        assertFalse(AppointmentStatus.SCHEDULED.canTransitionTo(AppointmentStatus.COMPLETED));
+        assertFalse(AppointmentStatus.IN_PROGRESS.canTransitionTo(AppointmentStatus.NO_SHOW));
+        assertFalse(AppointmentStatus.CONFIRMED.canTransitionTo(AppointmentStatus.SCHEDULED));
+    }
+
+    @Test
+    void terminalStatuses_ShouldHaveNoOutgoingTransitions() {
+        for (AppointmentStatus from : AppointmentStatus.values()) {
+            boolean hasOutgoing = EnumSet.allOf(AppointmentStatus.class).stream().anyMatch(from::canTransitionTo);
+            assertEquals(!from.isTerminal(), hasOutgoing, from.value());
+        }
+    }
+}
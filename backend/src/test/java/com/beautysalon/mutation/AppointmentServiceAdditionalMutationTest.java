@@ -2,6 +2,7 @@ package com.beautysalon.mutation;
 
 import com.beautysalon.model.Appointment;
 import com.beautysalon.repository.AppointmentRepository;
+import com.beautysalon.service.AppointmentAnalyticsService;
 import com.beautysalon.service.AppointmentService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -29,6 +30,9 @@ public class AppointmentServiceAdditionalMutationTest {
     @Mock
     private AppointmentRepository appointmentRepository;
 
+    @Mock
+    private AppointmentAnalyticsService appointmentAnalyticsService;
+
     @InjectMocks
     private AppointmentService appointmentService;
 
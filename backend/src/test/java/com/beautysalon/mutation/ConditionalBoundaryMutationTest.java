@@ -1,6 +1,12 @@
 package com.beautysalon.mutation;
 
+import com.beautysalon.common.monitoring.EndpointLatencyRegistry;
+import com.beautysalon.config.CacheHealthIndicator;
+import com.beautysalon.config.CassandraHealthIndicator;
+import com.beautysalon.config.MemoryHealthIndicator;
+import com.beautysalon.service.AlertEngine;
 import com.beautysalon.service.PerformanceMonitoringService;
+import com.beautysalon.service.RequestCostRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -24,6 +30,24 @@ public class ConditionalBoundaryMutationTest {
     @Mock
     private CacheManager cacheManager;
     
+    @Mock
+    private EndpointLatencyRegistry latencyRegistry;
+
+    @Mock
+    private AlertEngine alertEngine;
+
+    @Mock
+    private RequestCostRegistry costRegistry;
+
+    @Mock
+    private CassandraHealthIndicator cassandraHealthIndicator;
+
+    @Mock
+    private CacheHealthIndicator cacheHealthIndicator;
+
+    @Mock
+    private MemoryHealthIndicator memoryHealthIndicator;
+    
     @Mock
     private Cache cache;
     
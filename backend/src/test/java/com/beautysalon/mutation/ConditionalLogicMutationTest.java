@@ -1,9 +1,15 @@
 package com.beautysalon.mutation;
 
+import com.beautysalon.common.monitoring.EndpointLatencyRegistry;
+import com.beautysalon.config.CacheHealthIndicator;
+import com.beautysalon.config.CassandraHealthIndicator;
+import com.beautysalon.config.MemoryHealthIndicator;
 import com.beautysalon.model.Customer;
 import com.beautysalon.repository.CustomerRepository;
 import com.beautysalon.service.CustomerService;
+import com.beautysalon.service.AlertEngine;
 import com.beautysalon.service.PerformanceMonitoringService;
+import com.beautysalon.service.RequestCostRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,6 +18,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Health;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 
@@ -35,6 +42,24 @@ class ConditionalLogicMutationTest {
     @Mock
     private CacheManager cacheManager;
 
+    @Mock
+    private EndpointLatencyRegistry latencyRegistry;
+
+    @Mock
+    private AlertEngine alertEngine;
+
+    @Mock
+    private RequestCostRegistry costRegistry;
+
+    @Mock
+    private CassandraHealthIndicator cassandraHealthIndicator;
+
+    @Mock
+    private CacheHealthIndicator cacheHealthIndicator;
+
+    @Mock
+    private MemoryHealthIndicator memoryHealthIndicator;
+
     @InjectMocks
     private CustomerService customerService;
 
@@ -46,6 +71,10 @@ class ConditionalLogicMutationTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(cassandraHealthIndicator.health()).thenReturn(Health.up().build());
+        lenient().when(cacheHealthIndicator.health()).thenReturn(Health.up().build());
+        lenient().when(cacheHealthIndicator.getHitRate()).thenReturn(92.5);
+        lenient().when(memoryHealthIndicator.health()).thenReturn(Health.up().build());
         reset(customerRepository, cacheManager, mockCache);
     }
 
@@ -1,7 +1,13 @@
 package com.beautysalon.mutation;
 
+import com.beautysalon.common.monitoring.EndpointLatencyRegistry;
+import com.beautysalon.config.CacheHealthIndicator;
+import com.beautysalon.config.CassandraHealthIndicator;
+import com.beautysalon.config.MemoryHealthIndicator;
 import com.beautysalon.config.MetricsConfiguration;
+import com.beautysalon.service.AlertEngine;
 import com.beautysalon.service.PerformanceMonitoringService;
+import com.beautysalon.service.RequestCostRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -9,6 +15,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Health;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 
@@ -28,6 +35,24 @@ class PerformanceMonitoringMutationTest {
     @Mock
     private CacheManager cacheManager;
 
+    @Mock
+    private EndpointLatencyRegistry latencyRegistry;
+
+    @Mock
+    private AlertEngine alertEngine;
+
+    @Mock
+    private RequestCostRegistry costRegistry;
+
+    @Mock
+    private CassandraHealthIndicator cassandraHealthIndicator;
+
+    @Mock
+    private CacheHealthIndicator cacheHealthIndicator;
+
+    @Mock
+    private MemoryHealthIndicator memoryHealthIndicator;
+
     @Mock
     private MetricsConfiguration metricsConfiguration;
 
@@ -39,6 +64,10 @@ class PerformanceMonitoringMutationTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(cassandraHealthIndicator.health()).thenReturn(Health.up().build());
+        lenient().when(cacheHealthIndicator.health()).thenReturn(Health.up().build());
+        lenient().when(cacheHealthIndicator.getHitRate()).thenReturn(92.5);
+        lenient().when(memoryHealthIndicator.health()).thenReturn(Health.up().build());
         reset(cacheManager, metricsConfiguration, mockCache);
         lenient().when(cacheManager.getCacheNames()).thenReturn(java.util.Set.of());
         lenient().when(cacheManager.getCache(anyString())).thenReturn(null);
@@ -1,13 +1,20 @@
 package com.beautysalon.mutation;
 
+import com.beautysalon.common.monitoring.EndpointLatencyRegistry;
+import com.beautysalon.config.CacheHealthIndicator;
+import com.beautysalon.config.CassandraHealthIndicator;
+import com.beautysalon.config.MemoryHealthIndicator;
 import com.beautysalon.config.MetricsConfiguration;
+import com.beautysalon.service.AlertEngine;
 import com.beautysalon.service.PerformanceMonitoringService;
+import com.beautysalon.service.RequestCostRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Health;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 
@@ -32,6 +39,24 @@ class PerformanceMonitoringServiceMutationTest {
     @Mock
     private CacheManager cacheManager;
     
+    @Mock
+    private EndpointLatencyRegistry latencyRegistry;
+
+    @Mock
+    private AlertEngine alertEngine;
+
+    @Mock
+    private RequestCostRegistry costRegistry;
+
+    @Mock
+    private CassandraHealthIndicator cassandraHealthIndicator;
+
+    @Mock
+    private CacheHealthIndicator cacheHealthIndicator;
+
+    @Mock
+    private MemoryHealthIndicator memoryHealthIndicator;
+    
     @Mock
     private Cache mockCache;
     
@@ -40,6 +65,10 @@ class PerformanceMonitoringServiceMutationTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(cassandraHealthIndicator.health()).thenReturn(Health.up().build());
+        lenient().when(cacheHealthIndicator.health()).thenReturn(Health.up().build());
+        lenient().when(cacheHealthIndicator.getHitRate()).thenReturn(92.5);
+        lenient().when(memoryHealthIndicator.health()).thenReturn(Health.up().build());
         // Reset any static state if needed
     }
 
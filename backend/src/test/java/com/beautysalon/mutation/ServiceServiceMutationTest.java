@@ -2,6 +2,7 @@ package com.beautysalon.mutation;
 
 import com.beautysalon.model.Service;
 import com.beautysalon.repository.ServiceRepository;
+import com.beautysalon.service.ServiceCatalogIndex;
 import com.beautysalon.service.ServiceService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -27,6 +28,9 @@ public class ServiceServiceMutationTest {
     @Mock
     private ServiceRepository serviceRepository;
 
+    @Mock
+    private ServiceCatalogIndex serviceCatalogIndex;
+
     @InjectMocks
     private ServiceService serviceService;
 
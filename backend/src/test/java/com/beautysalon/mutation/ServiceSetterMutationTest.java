@@ -6,7 +6,9 @@ import com.beautysalon.model.Staff;
 import com.beautysalon.repository.AppointmentRepository;
 import com.beautysalon.repository.ServiceRepository;
 import com.beautysalon.repository.StaffRepository;
+import com.beautysalon.service.AppointmentAnalyticsService;
 import com.beautysalon.service.AppointmentService;
+import com.beautysalon.service.ServiceCatalogIndex;
 import com.beautysalon.service.ServiceService;
 import com.beautysalon.service.StaffService;
 import org.junit.jupiter.api.BeforeEach;
@@ -37,9 +39,15 @@ class ServiceSetterMutationTest {
 
     @Mock
     private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private AppointmentAnalyticsService appointmentAnalyticsService;
     
     @Mock
     private ServiceRepository serviceRepository;
+
+    @Mock
+    private ServiceCatalogIndex serviceCatalogIndex;
     
     @Mock
     private StaffRepository staffRepository;
@@ -1,5 +1,9 @@
 package com.beautysalon.mutation;
 
+import com.beautysalon.common.monitoring.EndpointLatencyRegistry;
+import com.beautysalon.config.CacheHealthIndicator;
+import com.beautysalon.config.CassandraHealthIndicator;
+import com.beautysalon.config.MemoryHealthIndicator;
 import com.beautysalon.model.Customer;
 import com.beautysalon.model.Service;
 import com.beautysalon.model.Staff;
@@ -7,7 +11,10 @@ import com.beautysalon.repository.CustomerRepository;
 import com.beautysalon.repository.ServiceRepository;
 import com.beautysalon.repository.StaffRepository;
 import com.beautysalon.service.CustomerService;
+import com.beautysalon.service.AlertEngine;
 import com.beautysalon.service.PerformanceMonitoringService;
+import com.beautysalon.service.RequestCostRegistry;
+import com.beautysalon.service.ServiceCatalogIndex;
 import com.beautysalon.service.ServiceService;
 import com.beautysalon.service.StaffService;
 import org.junit.jupiter.api.BeforeEach;
@@ -44,6 +51,9 @@ public class VoidMethodCallMutationTest {
     
     @Mock
     private ServiceRepository serviceRepository;
+
+    @Mock
+    private ServiceCatalogIndex serviceCatalogIndex;
     
     @Mock
     private StaffRepository staffRepository;
@@ -51,6 +61,24 @@ public class VoidMethodCallMutationTest {
     @Mock
     private CacheManager cacheManager;
     
+    @Mock
+    private EndpointLatencyRegistry latencyRegistry;
+
+    @Mock
+    private AlertEngine alertEngine;
+
+    @Mock
+    private RequestCostRegistry costRegistry;
+
+    @Mock
+    private CassandraHealthIndicator cassandraHealthIndicator;
+
+    @Mock
+    private CacheHealthIndicator cacheHealthIndicator;
+
+    @Mock
+    private MemoryHealthIndicator memoryHealthIndicator;
+    
     @Mock
     private Cache cache;
     
@@ -0,0 +1,115 @@
+package com.beautysalon.repository;
+
+import com.beautysalon.model.Appointment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryAppointmentRepositorySimpleTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    private InMemoryAppointmentRepository appointments;
+    private UUID staffId;
+
+    @BeforeEach
+    void setUp() {
+        appointments = new InMemoryAppointmentRepository();
+        staffId = UUID.randomUUID();
+    }
+
+    @Test
+    void testSecondaryLookups_UseDayStaffAndStatus() {
+        // Arrange
+        Appointment mine = appointment(DAY, staffId);
+        appointments.save(mine);
+        appointments.save(appointment(DAY, UUID.randomUUID()));
+        appointments.save(appointment(DAY.plusDays(1), staffId));
+
+        // Act & Assert
+        assertEquals(2, appointments.findByAppointmentDate(DAY).size());
+        assertEquals(2, appointments.findByStaffId(staffId).size());
+        List<Appointment> staffDay = appointments.findByDateAndStaff(DAY, staffId);
+        assertEquals(1, staffDay.size());
+        assertEquals(mine.getId(), staffDay.get(0).getId());
+        assertEquals(1, appointments.findByCustomerId(mine.getCustomerId()).size());
+        assertEquals(3, appointments.findByStatus("scheduled").size());
+    }
+
+    @Test
+    void testSave_MovesRescheduledAppointmentBetweenIndexEntries() {
+        // Arrange
+        Appointment appointment = appointment(DAY, staffId);
+        appointments.save(appointment);
+
+        // Act
+        Appointment moved = appointments.findById(appointment.getId()).orElseThrow();
+        moved.setAppointmentDate(DAY.plusDays(2));
+        appointments.save(moved);
+
+        // Assert
+        assertTrue(appointments.findByAppointmentDate(DAY).isEmpty());
+        assertTrue(appointments.findByDateAndStaff(DAY, staffId).isEmpty());
+        assertEquals(1, appointments.findByDateAndStaff(DAY.plusDays(2), staffId).size());
+    }
+
+    @Test
+    void testUpdateStatusIf_AppliesOnlyFromExpectedStatus() {
+        // Arrange
+        Appointment appointment = appointment(DAY, staffId);
+        appointments.save(appointment);
+        Instant updatedAt = Instant.parse("2025-03-09T12:00:00Z");
+
+        // Act
+        boolean applied = appointments.updateStatusIf(appointment.getId(), Set.of("scheduled"), "confirmed", updatedAt);
+        boolean conflict = appointments.updateStatusIf(appointment.getId(), Set.of("scheduled"), "cancelled", updatedAt);
+        boolean missing = appointments.updateStatusIf(UUID.randomUUID(), Set.of("scheduled"), "confirmed", updatedAt);
+
+        // Assert
+        assertTrue(applied);
+        assertFalse(conflict);
+        assertFalse(missing);
+        Appointment stored = appointments.findById(appointment.getId()).orElseThrow();
+        assertEquals("confirmed", stored.getStatus());
+        assertEquals(updatedAt, stored.getUpdatedAt());
+        assertTrue(appointments.findByStatus("scheduled").isEmpty());
+        assertEquals(1, appointments.findByStatus("confirmed").size());
+    }
+
+    @Test
+    void testStatsRepository_ReadsCountersByDayRange() {
+        InMemoryAppointmentStatsRepository stats = new InMemoryAppointmentStatsRepository();
+        AppointmentStatsRepository.Key monday = new AppointmentStatsRepository.Key(
+                DAY, AppointmentStatsRepository.Dimension.STAFF, staffId);
+        AppointmentStatsRepository.Key friday = new AppointmentStatsRepository.Key(
+                DAY.plusDays(4), AppointmentStatsRepository.Dimension.STAFF, staffId);
+
+        stats.increment(Map.of(monday, new AppointmentStatsRepository.Counters(1, 0, 0)));
+        stats.increment(Map.of(monday, new AppointmentStatsRepository.Counters(1, 1, 5000),
+                friday, new AppointmentStatsRepository.Counters(1, 0, 0)));
+
+        Map<AppointmentStatsRepository.Key, AppointmentStatsRepository.Counters> range =
+                stats.findByDayRange(AppointmentStatsRepository.Dimension.STAFF, DAY, DAY.plusDays(1));
+        assertEquals(Map.of(monday, new AppointmentStatsRepository.Counters(2, 1, 5000)), range);
+        assertTrue(stats.findByDayRange(AppointmentStatsRepository.Dimension.TOTAL, DAY, DAY.plusDays(7)).isEmpty());
+    }
+
+    private static Appointment appointment(LocalDate date, UUID staffId) {
+        Appointment appointment = new Appointment();
+        appointment.setCustomerId(UUID.randomUUID());
+        appointment.setStaffId(staffId);
+        appointment.setServiceId(UUID.randomUUID());
+        appointment.setAppointmentDate(date);
+        appointment.setAppointmentTime(LocalTime.of(10, 0));
+        return appointment;
+    }
+}
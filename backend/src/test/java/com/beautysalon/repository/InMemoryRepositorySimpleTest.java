@@ -0,0 +1,179 @@
+package com.beautysalon.repository;
+
+import com.beautysalon.model.Customer;
+import com.beautysalon.model.Staff;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryRepositorySimpleTest {
+
+    private InMemoryCustomerRepository customers;
+
+    @BeforeEach
+    void setUp() {
+        customers = new InMemoryCustomerRepository();
+    }
+
+    @Test
+    void testSave_StoresACopySoCallerMutationsDoNotLeak() {
+        // Arrange
+        Customer customer = customer("Anna Ivanova", "anna@example.com");
+        customers.save(customer);
+
+        // Act
+        customer.setEmail("changed@example.com");
+        Customer read = customers.findById(customer.getId()).orElseThrow();
+        read.setName("Changed");
+
+        // Assert
+        Customer stored = customers.findById(customer.getId()).orElseThrow();
+        assertEquals("anna@example.com", stored.getEmail());
+        assertEquals("Anna Ivanova", stored.getName());
+        assertNotSame(read, stored);
+        assertTrue(customers.findByEmail("changed@example.com").isEmpty());
+    }
+
+    @Test
+    void testFindByEmail_FollowsUpdatesAndDeletes() {
+        // Arrange
+        Customer customer = customer("Anna Ivanova", "anna@example.com");
+        customers.save(customer);
+
+        // Act
+        Customer update = customers.findById(customer.getId()).orElseThrow();
+        update.setEmail("anna.petrova@example.com");
+        customers.save(update);
+
+        // Assert
+        assertTrue(customers.findByEmail("anna@example.com").isEmpty());
+        assertEquals(customer.getId(), customers.findByEmail("anna.petrova@example.com").orElseThrow().getId());
+
+        customers.deleteById(customer.getId());
+        assertTrue(customers.findByEmail("anna.petrova@example.com").isEmpty());
+        assertEquals(0, customers.count());
+    }
+
+    @Test
+    void testFindByNameContaining_StripsLikeWildcards() {
+        customers.save(customer("Anna Ivanova", "anna@example.com"));
+        customers.save(customer("Maria Petrova", "maria@example.com"));
+
+        List<Customer> found = customers.findByNameContaining("%Ivan%");
+
+        assertEquals(1, found.size());
+        assertEquals("Anna Ivanova", found.get(0).getName());
+    }
+
+    @Test
+    void testFindAllPageable_ReturnsSlices() {
+        for (int i = 0; i < 5; i++) {
+            customers.save(customer("Customer " + i, "c" + i + "@example.com"));
+        }
+
+        Slice<Customer> first = customers.findAll(PageRequest.of(0, 2));
+        Slice<Customer> last = customers.findAll(PageRequest.of(2, 2));
+
+        assertEquals(2, first.getNumberOfElements());
+        assertTrue(first.hasNext());
+        assertEquals(1, last.getNumberOfElements());
+        assertFalse(last.hasNext());
+    }
+
+    @Test
+    void testStaffIndexes_AnswerRoleAndActiveQueries() {
+        // Arrange
+        InMemoryStaffRepository staff = new InMemoryStaffRepository();
+        Staff stylist = staff("stylist", true);
+        staff.save(stylist);
+        staff.save(staff("stylist", false));
+        staff.save(staff("manicurist", true));
+
+        // Act
+        Staff retired = staff.findById(stylist.getId()).orElseThrow();
+        retired.setIsActive(false);
+        staff.save(retired);
+
+        // Assert
+        assertEquals(2, staff.findByRole("stylist").size());
+        assertEquals(0, staff.findActiveByRole("stylist").size());
+        assertEquals(1, staff.findActiveStaff().size());
+    }
+
+    @Test
+    void testConcurrentSaves_KeepIndexConsistentWithRows() throws Exception {
+        // Arrange: every thread keeps moving the same customers between two emails
+        int threads = 8;
+        List<Customer> rows = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Customer customer = customer("Customer " + i, "a" + i + "@example.com");
+            customers.save(customer);
+            rows.add(customer);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Act
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int round = 0; round < 200; round++) {
+                    for (int i = 0; i < rows.size(); i++) {
+                        Customer update = customers.findById(rows.get(i).getId()).orElseThrow();
+                        update.setEmail(((round + thread) % 2 == 0 ? "a" : "b") + i + "@example.com");
+                        customers.save(update);
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert: each customer is found under exactly its stored email
+        for (int i = 0; i < rows.size(); i++) {
+            UUID id = rows.get(i).getId();
+            String email = customers.findById(id).orElseThrow().getEmail();
+            String other = (email.startsWith("a") ? "b" : "a") + i + "@example.com";
+            assertEquals(id, customers.findByEmail(email).orElseThrow().getId());
+            assertTrue(customers.findByEmail(other).isEmpty());
+        }
+    }
+
+    private static Customer customer(String name, String email) {
+        Customer customer = new Customer();
+        customer.setName(name);
+        customer.setEmail(email);
+        customer.setPhone("11999999999");
+        customer.setAddress("1 Main Street");
+        return customer;
+    }
+
+    private static Staff staff(String role, boolean active) {
+        Staff staff = new Staff();
+        staff.setName("Staff " + role);
+        staff.setEmail(role + "@example.com");
+        staff.setRole(role);
+        staff.setSpecialties(Set.of("hair"));
+        staff.setIsActive(active);
+        return staff;
+    }
+}
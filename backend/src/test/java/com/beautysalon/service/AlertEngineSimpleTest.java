@@ -0,0 +1,304 @@
+package com.beautysalon.service;
+
+import com.beautysalon.common.monitoring.EndpointLatency;
+import com.beautysalon.common.monitoring.EndpointLatencyRegistry;
+import com.beautysalon.config.MetricsConfiguration;
+import com.beautysalon.dto.Alert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AlertEngineSimpleTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private final List<Alert> sent = new ArrayList<>();
+    private final AlertSink recordingSink = new AlertSink() {
+        @Override
+        public String name() {
+            return "recording";
+        }
+
+        @Override
+        public void send(Alert alert) {
+            sent.add(alert);
+        }
+    };
+
+    private AlertSignals signals;
+    private EndpointLatencyRegistry latencyRegistry;
+    private MetricsConfiguration metricsConfig;
+
+    @BeforeEach
+    void setUp() {
+        signals = new AlertSignals(300, 5, 50, now::get);
+        latencyRegistry = mock(EndpointLatencyRegistry.class);
+        metricsConfig = mock(MetricsConfiguration.class);
+        when(latencyRegistry.getWindowSeconds()).thenReturn(60L);
+    }
+
+    private AlertEngine engine(List<AlertRule> rules, AlertSink... sinks) {
+        return new AlertEngine(rules, 60, signals, latencyRegistry, List.of(sinks), metricsConfig, now::get, Runnable::run);
+    }
+
+    private static AlertRule rateRule(String target, double threshold, long cooldownSeconds) {
+        return new AlertRule("errors", AlertRule.Kind.RATE, target, threshold, 0, 60, 0, cooldownSeconds, "WARNING");
+    }
+
+    private void recordErrors(String type, int count) {
+        for (int i = 0; i < count; i++) {
+            signals.recordError(type);
+        }
+    }
+
+    @Test
+    void testRateRule_FiresPerErrorTypeAboveThreshold() {
+        // Arrange
+        AlertEngine engine = engine(List.of(rateRule("*", 10, 300)), recordingSink);
+        recordErrors("cache_stats", 11);
+        recordErrors("health_check", 10);
+
+        // Act
+        engine.evaluate();
+
+        // Assert: only the type above the threshold fires
+        assertEquals(1, sent.size());
+        Alert alert = sent.get(0);
+        assertEquals("errors", alert.rule());
+        assertEquals("cache_stats", alert.subject());
+        assertEquals(Alert.Status.FIRING, alert.status());
+        assertEquals(11.0, alert.value());
+        assertEquals(1, engine.getActiveAlerts().size());
+    }
+
+    @Test
+    void testRateRule_CountsOnlyTheRuleWindow() {
+        AlertEngine engine = engine(List.of(rateRule("cache_stats", 10, 300)), recordingSink);
+        recordErrors("cache_stats", 8);
+        now.addAndGet(120_000);
+        recordErrors("cache_stats", 8);
+
+        engine.evaluate();
+
+        assertTrue(sent.isEmpty());
+    }
+
+    @Test
+    void testCooldown_DeduplicatesRepeatsUntilItExpires() {
+        // Arrange
+        AlertEngine engine = engine(List.of(rateRule("*", 0, 120)), recordingSink);
+        recordErrors("cache_stats", 1);
+
+        // Act: errors keep coming; three evaluations inside the cooldown, one after
+        engine.evaluate();
+        for (int i = 0; i < 4; i++) {
+            now.addAndGet(30_000);
+            recordErrors("cache_stats", 1);
+            engine.evaluate();
+        }
+
+        // Assert: the reminder reports the repeats it replaced
+        assertEquals(2, sent.size());
+        assertEquals(0, sent.get(0).suppressed());
+        assertEquals(3, sent.get(1).suppressed());
+    }
+
+    @Test
+    void testRecovery_SendsResolvedOnce() {
+        // Arrange
+        AlertEngine engine = engine(List.of(rateRule("*", 0, 300)), recordingSink);
+        recordErrors("cache_stats", 1);
+        engine.evaluate();
+
+        // Act: the error ages out of the 60 s window
+        now.addAndGet(120_000);
+        engine.evaluate();
+        engine.evaluate();
+
+        // Assert
+        assertEquals(2, sent.size());
+        assertEquals(Alert.Status.RESOLVED, sent.get(1).status());
+        assertEquals("cache_stats", sent.get(1).subject());
+        assertTrue(engine.getActiveAlerts().isEmpty());
+    }
+
+    @Test
+    void testPercentileRule_ChecksPercentilesNotSingleSamples() {
+        // Arrange
+        AlertRule rule = new AlertRule("latency-p99", AlertRule.Kind.PERCENTILE, "*", 500, 99, 0, 20, 300, "WARNING");
+        when(latencyRegistry.snapshot()).thenReturn(List.of(
+                new EndpointLatency("GET /api/appointments", 500, 120.0, 400.0, 850.0, 1200.0, 1300.0, 150.0),
+                new EndpointLatency("GET /api/services", 5, 900.0, 900.0, 900.0, 900.0, 900.0, 900.0),
+                new EndpointLatency("GET /api/customers", 500, 20.0, 40.0, 80.0, 900.0, 1000.0, 25.0)));
+
+        // Act
+        engine(List.of(rule), recordingSink).evaluate();
+
+        // Assert: the low-traffic route and the route with only a slow p999 do not fire
+        assertEquals(1, sent.size());
+        assertEquals("GET /api/appointments", sent.get(0).subject());
+        assertEquals(850.0, sent.get(0).value());
+        assertTrue(sent.get(0).message().contains("p99"));
+    }
+
+    @Test
+    void testRatioRule_FiresOnServerErrorShare() {
+        // Arrange
+        AlertRule rule = new AlertRule("5xx", AlertRule.Kind.RATIO, "GET /api/*", 0.05, 0, 60, 20, 300, "CRITICAL");
+        for (int i = 0; i < 40; i++) {
+            signals.recordRequest("GET /api/services", i < 4);
+            signals.recordRequest("GET /api/staff", i < 1);
+            signals.recordRequest("POST /admin/reindex", true);
+        }
+        for (int i = 0; i < 10; i++) {
+            signals.recordRequest("GET /api/customers", true);
+        }
+
+        // Act
+        engine(List.of(rule), recordingSink).evaluate();
+
+        // Assert: 10% on services fires; 2.5% on staff, the non-matching route and the under-sampled route do not
+        assertEquals(1, sent.size());
+        assertEquals("GET /api/services", sent.get(0).subject());
+        assertEquals(0.1, sent.get(0).value(), 1e-9);
+        assertEquals("CRITICAL", sent.get(0).severity());
+    }
+
+    @Test
+    void testRaise_IsQueuedUntilEvaluationAndThrottledPerType() {
+        // Arrange
+        AlertEngine engine = engine(List.of(), recordingSink);
+
+        // Act
+        engine.raise("RESPONSE_TIME_HIGH", "slow");
+        engine.raise("CACHE_HIT_RATE_LOW", "cold cache");
+
+        // Assert: nothing reaches the sinks on the caller's thread
+        assertTrue(sent.isEmpty());
+
+        engine.evaluate();
+        assertEquals(2, sent.size());
+
+        // one type no longer silences the other, but repeats of a type are throttled
+        engine.raise("RESPONSE_TIME_HIGH", "slow again");
+        engine.evaluate();
+        assertEquals(2, sent.size());
+
+        now.addAndGet(61_000);
+        engine.raise("RESPONSE_TIME_HIGH", "still slow");
+        engine.evaluate();
+        assertEquals(3, sent.size());
+        assertEquals(1, sent.get(2).suppressed());
+    }
+
+    @Test
+    void testFailingSink_DoesNotStopOtherSinks() {
+        // Arrange
+        AlertSink failing = new AlertSink() {
+            @Override
+            public String name() {
+                return "failing";
+            }
+
+            @Override
+            public void send(Alert alert) {
+                throw new IllegalStateException("webhook down");
+            }
+        };
+        AlertEngine engine = engine(List.of(), failing, recordingSink);
+
+        // Act
+        engine.raise("RESPONSE_TIME_HIGH", "slow");
+        engine.evaluate();
+
+        // Assert
+        assertEquals(1, sent.size());
+        assertEquals(1, engine.getRecentAlerts().size());
+        verify(metricsConfig).incrementError("alert_sink");
+    }
+
+    @Test
+    void testSlowSink_DoesNotHoldUpEvaluationOrReads() throws Exception {
+        // Arrange
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AlertSink slow = new AlertSink() {
+            @Override
+            public String name() {
+                return "slow";
+            }
+
+            @Override
+            public void send(Alert alert) {
+                sending.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                sent.add(alert);
+            }
+        };
+        ExecutorService dispatcher = Executors.newSingleThreadExecutor();
+        AlertEngine engine = new AlertEngine(List.of(rateRule("*", 10, 1)), 60, signals, latencyRegistry,
+                List.of(slow), metricsConfig, now::get, dispatcher);
+        recordErrors("cache_stats", 11);
+
+        try {
+            // Act: the first notification is stuck in the sink
+            engine.evaluate();
+            assertTrue(sending.await(5, TimeUnit.SECONDS));
+            now.addAndGet(1_000);
+            CompletableFuture<Void> second = CompletableFuture.runAsync(engine::evaluate);
+
+            // Assert
+            second.get(5, TimeUnit.SECONDS);
+            assertEquals(1, engine.getActiveAlerts().size());
+            assertEquals(2, engine.getRecentAlerts().size());
+            assertTrue(sent.isEmpty());
+        } finally {
+            release.countDown();
+            dispatcher.shutdown();
+        }
+        assertTrue(dispatcher.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(2, sent.size());
+    }
+
+    @Test
+    void testScheduledEvaluation_CountsEvaluationErrors() {
+        AlertRule rule = new AlertRule("latency-p99", AlertRule.Kind.PERCENTILE, "*", 500, 99, 0, 20, 300, "WARNING");
+        when(latencyRegistry.snapshot()).thenThrow(new RuntimeException("Histogram error"));
+
+        engine(List.of(rule), recordingSink).scheduledEvaluation();
+
+        verify(metricsConfig).incrementError("alert_evaluation");
+    }
+
+    @Test
+    void testDefaults_UseMonitoringThresholds() {
+        List<AlertRule> defaults = AlertRule.defaults();
+
+        assertEquals(3, defaults.size());
+        assertEquals(PerformanceMonitoringService.ERROR_RATE_THRESHOLD, defaults.get(0).threshold());
+        assertEquals(PerformanceMonitoringService.RESPONSE_TIME_THRESHOLD_MS, defaults.get(1).threshold());
+    }
+
+    @Test
+    void testRuleTargets() {
+        assertTrue(rateRule("*", 1, 1).matches("anything"));
+        assertTrue(rateRule("GET /api/*", 1, 1).matches("GET /api/services"));
+        assertFalse(rateRule("GET /api/*", 1, 1).matches("POST /api/services"));
+        assertTrue(rateRule("cache_stats", 1, 1).matches("cache_stats"));
+        assertFalse(rateRule("cache_stats", 1, 1).matches("cache_monitoring"));
+    }
+}
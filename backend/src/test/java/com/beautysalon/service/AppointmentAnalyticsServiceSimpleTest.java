@@ -0,0 +1,313 @@
+package com.beautysalon.service;
+
+import com.beautysalon.dto.AppointmentStats;
+import com.beautysalon.model.Appointment;
+import com.beautysalon.repository.AppointmentRepository;
+import com.beautysalon.repository.AppointmentStatsRepository;
+import com.beautysalon.repository.AppointmentStatsRepository.Counters;
+import com.beautysalon.repository.AppointmentStatsRepository.Dimension;
+import com.beautysalon.repository.AppointmentStatsRepository.Key;
+import com.beautysalon.repository.InMemoryAppointmentStatsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AppointmentAnalyticsServiceSimpleTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 8, 15);
+
+    @Mock
+    private AppointmentStatsRepository statsRepository;
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    private AppointmentAnalyticsService analyticsService;
+    private UUID staffId;
+    private UUID serviceId;
+
+    @BeforeEach
+    void setUp() {
+        analyticsService = new AppointmentAnalyticsService(statsRepository, appointmentRepository);
+        staffId = UUID.randomUUID();
+        serviceId = UUID.randomUUID();
+    }
+
+    private Appointment appointment(String status, String price) {
+        Appointment appointment = new Appointment();
+        appointment.setStaffId(staffId);
+        appointment.setServiceId(serviceId);
+        appointment.setAppointmentDate(DAY);
+        appointment.setStatus(status);
+        appointment.setTotalPrice(new BigDecimal(price));
+        return appointment;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Key, Counters> flushAndCapture() {
+        ArgumentCaptor<Map<Key, Counters>> captor = ArgumentCaptor.forClass(Map.class);
+        analyticsService.flush();
+        verify(statsRepository).increment(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    void testRecordCreated_CountsBookingForEveryDimension() {
+        analyticsService.recordCreated(appointment("scheduled", "75.00"));
+
+        Map<Key, Counters> flushed = flushAndCapture();
+
+        Counters booking = new Counters(1, 0, 0);
+        assertEquals(3, flushed.size());
+        assertEquals(booking, flushed.get(new Key(DAY, Dimension.TOTAL, AppointmentStatsRepository.TOTAL_KEY)));
+        assertEquals(booking, flushed.get(new Key(DAY, Dimension.STAFF, staffId)));
+        assertEquals(booking, flushed.get(new Key(DAY, Dimension.SERVICE, serviceId)));
+    }
+
+    @Test
+    void testRecordUpdated_CompletionAddsRevenueOnly() {
+        Appointment appointment = appointment("in_progress", "75.50");
+        AppointmentAnalyticsService.Contribution before = analyticsService.contributionOf(appointment);
+        appointment.setStatus("completed");
+
+        analyticsService.recordUpdated(before, appointment);
+
+        Map<Key, Counters> flushed = flushAndCapture();
+        assertEquals(new Counters(0, 1, 7550), flushed.get(new Key(DAY, Dimension.STAFF, staffId)));
+    }
+
+    @Test
+    void testRecordUpdated_StaffChangeMovesBooking() {
+        Appointment appointment = appointment("scheduled", "50.00");
+        AppointmentAnalyticsService.Contribution before = analyticsService.contributionOf(appointment);
+        UUID newStaffId = UUID.randomUUID();
+        appointment.setStaffId(newStaffId);
+
+        analyticsService.recordUpdated(before, appointment);
+
+        Map<Key, Counters> flushed = flushAndCapture();
+        assertEquals(new Counters(-1, 0, 0), flushed.get(new Key(DAY, Dimension.STAFF, staffId)));
+        assertEquals(new Counters(1, 0, 0), flushed.get(new Key(DAY, Dimension.STAFF, newStaffId)));
+        assertFalse(flushed.containsKey(new Key(DAY, Dimension.TOTAL, AppointmentStatsRepository.TOTAL_KEY)));
+    }
+
+    @Test
+    void testRecordDeleted_ReversesCompletedAppointment() {
+        analyticsService.recordDeleted(appointment("completed", "40.00"));
+
+        Map<Key, Counters> flushed = flushAndCapture();
+        assertEquals(new Counters(-1, -1, -4000), flushed.get(new Key(DAY, Dimension.SERVICE, serviceId)));
+    }
+
+    @Test
+    void testRecordCompleted_AddsCompletionAndRevenueWithoutNewBooking() {
+        analyticsService.recordCompleted(appointment("completed", "60.00"));
+
+        Map<Key, Counters> flushed = flushAndCapture();
+        assertEquals(new Counters(0, 1, 6000), flushed.get(new Key(DAY, Dimension.TOTAL, AppointmentStatsRepository.TOTAL_KEY)));
+    }
+
+    @Test
+    void testRecordCompleted_IgnoresAppointmentNotCompleted() {
+        analyticsService.recordCompleted(appointment("cancelled", "60.00"));
+        analyticsService.flush();
+
+        verifyNoInteractions(statsRepository);
+    }
+
+    @Test
+    void testRecord_AppointmentWithoutDateIsIgnored() {
+        Appointment appointment = appointment("scheduled", "10.00");
+        appointment.setAppointmentDate(null);
+
+        analyticsService.recordCreated(appointment);
+        analyticsService.flush();
+
+        verifyNoInteractions(statsRepository);
+    }
+
+    @Test
+    void testFlush_FailureRequeuesDeltas() {
+        analyticsService.recordCreated(appointment("scheduled", "10.00"));
+        doThrow(new RuntimeException("Cassandra unavailable"))
+                .doNothing()
+                .when(statsRepository).increment(any());
+
+        analyticsService.flush();
+        analyticsService.flush();
+
+        verify(statsRepository, times(2)).increment(any());
+    }
+
+    @Test
+    void testGetSummary_CountsBatchWhileItsWriteIsInFlight() {
+        analyticsService.recordCreated(appointment("completed", "20.00"));
+        AppointmentStats[] duringWrite = new AppointmentStats[1];
+        doAnswer(invocation -> {
+            duringWrite[0] = analyticsService.getSummary(DAY, DAY);
+            throw new RuntimeException("Cassandra unavailable");
+        }).when(statsRepository).increment(any());
+
+        analyticsService.flush();
+
+        assertEquals(1, duringWrite[0].bookings());
+        assertEquals(new BigDecimal("20.00"), duringWrite[0].revenue());
+        // re-queued, not counted twice
+        assertEquals(1, analyticsService.getSummary(DAY, DAY).bookings());
+    }
+
+    @Test
+    void testGetSummary_DoesNotCountBatchTwiceWhenItsWriteLandsDuringTheRead() throws Exception {
+        // Arrange: the write has reached the store but the batch has not left the in-flight map yet
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AppointmentStatsRepository store = new InMemoryAppointmentStatsRepository() {
+            @Override
+            public void increment(Map<Key, Counters> deltas) {
+                super.increment(deltas);
+                written.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        AppointmentAnalyticsService service = new AppointmentAnalyticsService(store, appointmentRepository);
+        service.recordCreated(appointment("scheduled", "10.00"));
+        Thread flusher = new Thread(service::flush);
+        flusher.start();
+        assertTrue(written.await(5, TimeUnit.SECONDS));
+
+        // Act
+        CompletableFuture<AppointmentStats> read = CompletableFuture.supplyAsync(() -> service.getSummary(DAY, DAY));
+        Thread.sleep(100);
+        boolean waitedForTheWrite = !read.isDone();
+        release.countDown();
+        flusher.join();
+
+        // Assert
+        assertTrue(waitedForTheWrite);
+        assertEquals(1, read.get(5, TimeUnit.SECONDS).bookings());
+    }
+
+    @Test
+    void testRebuild_CountsAppointmentsThatPredateTheRollups() {
+        // Arrange
+        Appointment existing = appointment("completed", "30.00");
+        when(appointmentRepository.findByAppointmentDate(any())).thenReturn(List.of());
+        when(appointmentRepository.findByAppointmentDate(DAY)).thenReturn(List.of(existing));
+
+        // Act
+        int corrected = analyticsService.rebuild(DAY, DAY.plusDays(1));
+        analyticsService.recordDeleted(existing);
+
+        // Assert
+        assertEquals(3, corrected);
+        assertEquals(0, analyticsService.getSummary(DAY, DAY).bookings());
+        assertEquals(new BigDecimal("0.00"), analyticsService.getSummary(DAY, DAY).revenue());
+    }
+
+    @Test
+    void testRebuild_CorrectsStoredCountersToTheAppointments() {
+        // Arrange
+        UUID staleStaff = UUID.randomUUID();
+        when(statsRepository.findByDayRange(Dimension.TOTAL, DAY, DAY)).thenReturn(Map.of(
+                new Key(DAY, Dimension.TOTAL, AppointmentStatsRepository.TOTAL_KEY), new Counters(3, 1, 5000)));
+        when(statsRepository.findByDayRange(Dimension.STAFF, DAY, DAY)).thenReturn(Map.of(
+                new Key(DAY, Dimension.STAFF, staffId), new Counters(1, 0, 0),
+                new Key(DAY, Dimension.STAFF, staleStaff), new Counters(2, 1, 5000)));
+        when(appointmentRepository.findByAppointmentDate(DAY)).thenReturn(List.of(appointment("scheduled", "10.00")));
+
+        // Act
+        int corrected = analyticsService.rebuild(DAY, DAY);
+        Map<Key, Counters> flushed = flushAndCapture();
+
+        // Assert
+        assertEquals(3, corrected);
+        assertEquals(new Counters(-2, -1, -5000),
+                flushed.get(new Key(DAY, Dimension.TOTAL, AppointmentStatsRepository.TOTAL_KEY)));
+        assertEquals(new Counters(-2, -1, -5000), flushed.get(new Key(DAY, Dimension.STAFF, staleStaff)));
+        assertEquals(new Counters(1, 0, 0), flushed.get(new Key(DAY, Dimension.SERVICE, serviceId)));
+        assertFalse(flushed.containsKey(new Key(DAY, Dimension.STAFF, staffId)));
+    }
+
+    @Test
+    void testRebuild_RejectsRangeLongerThanAYear() {
+        assertThrows(IllegalArgumentException.class, () -> analyticsService.rebuild(DAY, DAY.plusDays(400)));
+        verifyNoInteractions(appointmentRepository);
+    }
+
+    @Test
+    void testGetDailyTotals_MergesStoredAndPendingAndFillsEmptyDays() {
+        Key storedKey = new Key(DAY, Dimension.TOTAL, AppointmentStatsRepository.TOTAL_KEY);
+        when(statsRepository.findByDayRange(Dimension.TOTAL, DAY, DAY.plusDays(1)))
+                .thenReturn(Map.of(storedKey, new Counters(4, 2, 15000)));
+        analyticsService.recordCreated(appointment("completed", "50.00"));
+
+        List<AppointmentStats> days = analyticsService.getDailyTotals(DAY, DAY.plusDays(1));
+
+        assertEquals(2, days.size());
+        assertEquals(DAY, days.get(0).date());
+        assertEquals(5, days.get(0).bookings());
+        assertEquals(3, days.get(0).completions());
+        assertEquals(new BigDecimal("200.00"), days.get(0).revenue());
+        assertEquals(0, days.get(1).bookings());
+    }
+
+    @Test
+    void testGetStaffStats_SummarizesRangeSortedByRevenue() {
+        UUID otherStaff = UUID.randomUUID();
+        when(statsRepository.findByDayRange(Dimension.STAFF, DAY, DAY.plusDays(1))).thenReturn(Map.of(
+                new Key(DAY, Dimension.STAFF, staffId), new Counters(1, 1, 1000),
+                new Key(DAY.plusDays(1), Dimension.STAFF, staffId), new Counters(1, 1, 1000),
+                new Key(DAY, Dimension.STAFF, otherStaff), new Counters(3, 3, 9000)));
+
+        List<AppointmentStats> stats = analyticsService.getStaffStats(DAY, DAY.plusDays(1));
+
+        assertEquals(2, stats.size());
+        assertEquals(otherStaff, stats.get(0).key());
+        assertNull(stats.get(0).date());
+        assertEquals(staffId, stats.get(1).key());
+        assertEquals(2, stats.get(1).bookings());
+        assertEquals(new BigDecimal("20.00"), stats.get(1).revenue());
+    }
+
+    @Test
+    void testGetServiceDailyStats_ReturnsOneEntryPerDay() {
+        when(statsRepository.findByDayRange(eq(Dimension.SERVICE), any(), any())).thenReturn(Map.of(
+                new Key(DAY, Dimension.SERVICE, serviceId), new Counters(2, 1, 3000)));
+
+        List<AppointmentStats> stats = analyticsService.getServiceDailyStats(serviceId, DAY.minusDays(1), DAY);
+
+        assertEquals(2, stats.size());
+        assertEquals(0, stats.get(0).bookings());
+        assertEquals(2, stats.get(1).bookings());
+        assertEquals(serviceId, stats.get(1).key());
+    }
+
+    @Test
+    void testGetSummary_InvalidRangeRejected() {
+        assertThrows(IllegalArgumentException.class, () -> analyticsService.getSummary(DAY, DAY.minusDays(1)));
+        assertThrows(IllegalArgumentException.class, () -> analyticsService.getSummary(DAY, DAY.plusDays(400)));
+        verifyNoInteractions(statsRepository);
+    }
+}
@@ -1,5 +1,7 @@
 package com.beautysalon.service;
 
+import com.beautysalon.dto.StatusTransitionRequest;
+import com.beautysalon.dto.StatusTransitionResult;
 import com.beautysalon.model.Appointment;
 import com.beautysalon.repository.AppointmentRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,10 +17,12 @@ import java.time.LocalTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,6 +31,9 @@ class AppointmentServiceSimpleTest {
     @Mock
     private AppointmentRepository appointmentRepository;
 
+    @Mock
+    private AppointmentAnalyticsService appointmentAnalyticsService;
+
     @InjectMocks
     private AppointmentService appointmentService;
 
@@ -195,6 +202,7 @@ class AppointmentServiceSimpleTest {
         assertEquals(testAppointment.getCustomerId(), result.getCustomerId());
         assertEquals(testAppointment.getTotalPrice(), result.getTotalPrice());
         verify(appointmentRepository).save(testAppointment);
+        verify(appointmentAnalyticsService).recordCreated(testAppointment);
     }
 
     @Test
@@ -214,6 +222,29 @@ class AppointmentServiceSimpleTest {
         assertNotNull(result);
         verify(appointmentRepository).findById(appointmentId);
         verify(appointmentRepository).save(any(Appointment.class));
+        verify(appointmentAnalyticsService).contributionOf(testAppointment);
+        verify(appointmentAnalyticsService).recordUpdated(any(), eq(testAppointment));
+    }
+
+    @Test
+    void testUpdateAppointment_CapturesContributionBeforeMutation() {
+        // Arrange
+        AppointmentAnalyticsService.Contribution before = new AppointmentAnalyticsService.Contribution(
+                testAppointment.getAppointmentDate(), staffId, serviceId, false, 0L);
+        Appointment updatedAppointment = new Appointment();
+        updatedAppointment.setStatus("completed");
+        when(appointmentRepository.findById(appointmentId)).thenReturn(Optional.of(testAppointment));
+        when(appointmentAnalyticsService.contributionOf(testAppointment)).thenAnswer(invocation -> {
+            assertEquals("scheduled", testAppointment.getStatus());
+            return before;
+        });
+        when(appointmentRepository.save(any(Appointment.class))).thenReturn(testAppointment);
+
+        // Act
+        appointmentService.updateAppointment(appointmentId, updatedAppointment);
+
+        // Assert
+        verify(appointmentAnalyticsService).recordUpdated(before, testAppointment);
     }
 
     @Test
@@ -229,12 +260,13 @@ class AppointmentServiceSimpleTest {
         assertNull(result);
         verify(appointmentRepository).findById(appointmentId);
         verify(appointmentRepository, never()).save(any(Appointment.class));
+        verifyNoInteractions(appointmentAnalyticsService);
     }
 
     @Test
     void testDeleteAppointment_AppointmentExists() {
         // Arrange
-        when(appointmentRepository.existsById(appointmentId)).thenReturn(true);
+        when(appointmentRepository.findById(appointmentId)).thenReturn(Optional.of(testAppointment));
         doNothing().when(appointmentRepository).deleteById(appointmentId);
 
         // Act
@@ -242,21 +274,132 @@ class AppointmentServiceSimpleTest {
 
         // Assert
         assertTrue(result);
-        verify(appointmentRepository).existsById(appointmentId);
+        verify(appointmentRepository).findById(appointmentId);
         verify(appointmentRepository).deleteById(appointmentId);
+        verify(appointmentAnalyticsService).recordDeleted(testAppointment);
     }
 
     @Test
     void testDeleteAppointment_AppointmentNotExists() {
         // Arrange
-        when(appointmentRepository.existsById(appointmentId)).thenReturn(false);
+        when(appointmentRepository.findById(appointmentId)).thenReturn(Optional.empty());
 
         // Act
         boolean result = appointmentService.deleteAppointment(appointmentId);
 
         // Assert
         assertFalse(result);
-        verify(appointmentRepository).existsById(appointmentId);
+        verify(appointmentRepository).findById(appointmentId);
         verify(appointmentRepository, never()).deleteById(appointmentId);
+        verifyNoInteractions(appointmentAnalyticsService);
+    }
+
+    @Test
+    void testTransitionStatus_Applied() {
+        // Arrange
+        when(appointmentRepository.updateStatusIf(eq(appointmentId), eq(Set.of("scheduled")), eq("confirmed"), any()))
+                .thenReturn(true);
+
+        // Act
+        StatusTransitionResult result = appointmentService.transitionStatus(
+                appointmentId, new StatusTransitionRequest("confirmed", null));
+
+        // Assert
+        assertEquals(StatusTransitionResult.Outcome.APPLIED, result.outcome());
+        assertEquals("confirmed", result.status());
+        assertNotNull(result.updatedAt());
+        verify(appointmentRepository, never()).findById(any());
+        verify(appointmentRepository, never()).save(any());
+        verifyNoInteractions(appointmentAnalyticsService);
+    }
+
+    @Test
+    void testTransitionStatus_CancelAcceptsEveryActiveStatus() {
+        // Arrange
+        when(appointmentRepository.updateStatusIf(eq(appointmentId),
+                eq(Set.of("scheduled", "confirmed", "in_progress")), eq("cancelled"), any()))
+                .thenReturn(true);
+
+        // Act
+        StatusTransitionResult result = appointmentService.transitionStatus(
+                appointmentId, new StatusTransitionRequest("CANCELLED", null));
+
+        // Assert
+        assertEquals(StatusTransitionResult.Outcome.APPLIED, result.outcome());
+        assertEquals("cancelled", result.status());
+    }
+
+    @Test
+    void testTransitionStatus_ExpectedStatusNarrowsCondition() {
+        // Arrange
+        when(appointmentRepository.updateStatusIf(eq(appointmentId), eq(Set.of("confirmed")), eq("cancelled"), any()))
+                .thenReturn(true);
+
+        // Act
+        StatusTransitionResult result = appointmentService.transitionStatus(
+                appointmentId, new StatusTransitionRequest("cancelled", "confirmed"));
+
+        // Assert
+        assertEquals(StatusTransitionResult.Outcome.APPLIED, result.outcome());
+    }
+
+    @Test
+    void testTransitionStatus_CompletionUpdatesAnalytics() {
+        // Arrange
+        testAppointment.setStatus("completed");
+        when(appointmentRepository.updateStatusIf(eq(appointmentId), eq(Set.of("in_progress")), eq("completed"), any()))
+                .thenReturn(true);
+        when(appointmentRepository.findById(appointmentId)).thenReturn(Optional.of(testAppointment));
+
+        // Act
+        StatusTransitionResult result = appointmentService.transitionStatus(
+                appointmentId, new StatusTransitionRequest("completed", null));
+
+        // Assert
+        assertEquals(StatusTransitionResult.Outcome.APPLIED, result.outcome());
+        verify(appointmentAnalyticsService).recordCompleted(testAppointment);
+    }
+
+    @Test
+    void testTransitionStatus_ConflictReportsCurrentStatus() {
+        // Arrange
+        testAppointment.setStatus("completed");
+        when(appointmentRepository.updateStatusIf(eq(appointmentId), any(), eq("confirmed"), any())).thenReturn(false);
+        when(appointmentRepository.findById(appointmentId)).thenReturn(Optional.of(testAppointment));
+
+        // Act
+        StatusTransitionResult result = appointmentService.transitionStatus(
+                appointmentId, new StatusTransitionRequest("confirmed", null));
+
+        // Assert
+        assertEquals(StatusTransitionResult.Outcome.CONFLICT, result.outcome());
+        assertEquals("completed", result.status());
+        verifyNoInteractions(appointmentAnalyticsService);
+    }
+
+    @Test
+    void testTransitionStatus_NotFound() {
+        // Arrange
+        when(appointmentRepository.updateStatusIf(eq(appointmentId), any(), eq("confirmed"), any())).thenReturn(false);
+        when(appointmentRepository.findById(appointmentId)).thenReturn(Optional.empty());
+
+        // Act
+        StatusTransitionResult result = appointmentService.transitionStatus(
+                appointmentId, new StatusTransitionRequest("confirmed", null));
+
+        // Assert
+        assertEquals(StatusTransitionResult.Outcome.NOT_FOUND, result.outcome());
+    }
+
+    @Test
+    void testTransitionStatus_InvalidRequestsRejectedWithoutWriting() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> appointmentService.transitionStatus(
+                appointmentId, new StatusTransitionRequest("archived", null)));
+        assertThrows(IllegalArgumentException.class, () -> appointmentService.transitionStatus(
+                appointmentId, new StatusTransitionRequest("scheduled", null)));
+        assertThrows(IllegalArgumentException.class, () -> appointmentService.transitionStatus(
+                appointmentId, new StatusTransitionRequest("confirmed", "completed")));
+        verifyNoInteractions(appointmentRepository);
     }
 }
@@ -0,0 +1,61 @@
+package com.beautysalon.service;
+
+import com.beautysalon.config.MetricsConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class CacheStatisticsSimpleTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private CacheStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = new CacheStatistics(mock(MetricsConfiguration.class), 60, now::get);
+    }
+
+    @Test
+    void testHitRate_PerCacheAndOverall() {
+        // Arrange
+        statistics.onHit("customers");
+        statistics.onHit("customers");
+        statistics.onHit("customers");
+        statistics.onMiss("customers");
+        statistics.onMiss("staff");
+
+        // Act & Assert
+        assertEquals(3, statistics.getHits());
+        assertEquals(2, statistics.getMisses());
+        assertEquals(60.0, statistics.getHitRate(), 0.001);
+        assertEquals(Map.of("customers", 75.0, "staff", 0.0), statistics.getHitRates());
+    }
+
+    @Test
+    void testHitRate_MissesAgeOutOfTheWindow() {
+        // Arrange: a cold start full of misses, then a minute later mostly hits
+        for (int i = 0; i < 50; i++) {
+            statistics.onMiss("services");
+        }
+        now.addAndGet(61_000);
+        for (int i = 0; i < 19; i++) {
+            statistics.onHit("services");
+        }
+        statistics.onMiss("services");
+
+        // Act & Assert
+        assertEquals(95.0, statistics.getHitRate(), 0.001);
+        assertEquals(60, statistics.getWindowSeconds());
+    }
+
+    @Test
+    void testHitRate_ZeroWithoutLookups() {
+        assertEquals(0.0, statistics.getHitRate());
+        assertTrue(statistics.getHitRates().isEmpty());
+    }
+}
@@ -0,0 +1,210 @@
+package com.beautysalon.service;
+
+import com.beautysalon.dto.FlightRecordingInfo;
+import com.beautysalon.dto.FlightRecordingSummary;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecorderServiceSimpleTest {
+
+    private FlightRecorderService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new FlightRecorderService(2, 60, 5, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.closeAll();
+    }
+
+    @Test
+    void testProfileFromKey_AcceptsApiAndEnumNames() {
+        assertEquals(FlightRecorderService.Profile.LOCK_CONTENTION, FlightRecorderService.Profile.fromKey("lock-contention"));
+        assertEquals(FlightRecorderService.Profile.SOCKET_IO, FlightRecorderService.Profile.fromKey("SOCKET_IO"));
+        assertEquals("virtual-thread-pinning", FlightRecorderService.Profile.VIRTUAL_THREAD_PINNING.key());
+        assertThrows(IllegalArgumentException.class, () -> FlightRecorderService.Profile.fromKey("cpu"));
+    }
+
+    @Test
+    void testStartStopDumpClose_Lifecycle() throws Exception {
+        // Act
+        FlightRecordingInfo started = service.start(FlightRecorderService.Profile.ALLOCATION, 30L);
+
+        // Assert
+        assertEquals("allocation", started.profile());
+        assertEquals("RUNNING", started.state());
+        assertEquals(30, started.maxDurationSeconds());
+        assertEquals(1, service.list().size());
+
+        FlightRecordingInfo stopped = service.stop(started.id()).orElseThrow();
+        assertEquals("STOPPED", stopped.state());
+        assertNotNull(stopped.stopTime());
+
+        Path dump = service.dump(started.id()).orElseThrow();
+        try {
+            assertTrue(Files.size(dump) > 0);
+            assertDoesNotThrow(() -> RecordingFile.readAllEvents(dump));
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+
+        assertTrue(service.close(started.id()));
+        assertTrue(service.list().isEmpty());
+        assertFalse(service.close(started.id()));
+    }
+
+    @Test
+    void testStart_CapsDurationAtConfiguredMaximum() {
+        FlightRecordingInfo info = service.start(FlightRecorderService.Profile.SOCKET_IO, 3600L);
+
+        assertEquals(60, info.maxDurationSeconds());
+    }
+
+    @Test
+    void testStart_RejectsWhenTooManyRecordingsAreOpen() {
+        // Arrange
+        service.start(FlightRecorderService.Profile.ALLOCATION, null);
+        service.start(FlightRecorderService.Profile.LOCK_CONTENTION, null);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class,
+                () -> service.start(FlightRecorderService.Profile.VIRTUAL_THREAD_PINNING, null));
+    }
+
+    @Test
+    void testStart_ReusesSlotOfRecordingThatStoppedItself() throws Exception {
+        // Arrange: the first recording runs out its one second
+        FlightRecordingInfo expired = service.start(FlightRecorderService.Profile.ALLOCATION, 1L);
+        FlightRecordingInfo running = service.start(FlightRecorderService.Profile.LOCK_CONTENTION, null);
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (!stateOf(expired.id()).equals("STOPPED") && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+
+        // Act
+        FlightRecordingInfo started = service.start(FlightRecorderService.Profile.SOCKET_IO, null);
+
+        // Assert
+        assertEquals(List.of(running.id(), started.id()),
+                service.list().stream().map(FlightRecordingInfo::id).toList());
+    }
+
+    @Test
+    void testUnknownRecording_ReturnsEmpty() throws Exception {
+        assertTrue(service.stop(12345L).isEmpty());
+        assertTrue(service.dump(12345L).isEmpty());
+    }
+
+    @Test
+    void testSummarize_ReportsHotMethodsAndAllocationSitesFromContinuousSampling() throws Exception {
+        // Arrange: keep one thread busy allocating so both event types fire while the stream samples
+        FlightRecorderService sampling = new FlightRecorderService(2, 60, 5, true);
+        sampling.startSampling();
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread worker = new Thread(() -> {
+            while (running.get()) {
+                allocateAndSpin();
+            }
+        });
+        worker.start();
+
+        // Act: events reach the stream about a second after they happen
+        FlightRecordingSummary summary;
+        try {
+            long deadline = System.nanoTime() + 15_000_000_000L;
+            do {
+                Thread.sleep(500);
+                summary = sampling.summarize(5, 5);
+            } while ((summary.executionSamples() == 0 || summary.allocationSamples() == 0) && System.nanoTime() < deadline);
+        } finally {
+            running.set(false);
+            worker.join();
+            sampling.closeAll();
+        }
+
+        // Assert
+        assertEquals(5, summary.seconds());
+        assertTrue(summary.executionSamples() > 0);
+        assertFalse(summary.hottestMethods().isEmpty());
+        assertTrue(summary.hottestMethods().size() <= 5);
+        assertTrue(summary.allocationSamples() > 0);
+        assertTrue(summary.topAllocationSites().stream()
+                .anyMatch(site -> site.site().endsWith("FlightRecorderServiceSimpleTest.allocateAndSpin")));
+    }
+
+    @Test
+    void testSummarize_CoversOnlyTheLastSeconds() {
+        // Arrange: one sample in each of seconds 100..104
+        for (long second = 100; second <= 104; second++) {
+            service.recordExecutionSample(second, "Hot.method" + second);
+            service.recordAllocationSample(second, "Alloc.site", "java.lang.String", 100);
+        }
+
+        // Act
+        FlightRecordingSummary summary = service.summarize(2, 10, 104);
+
+        // Assert
+        assertEquals(2, summary.seconds());
+        assertEquals(2, summary.executionSamples());
+        assertEquals(List.of("Hot.method103", "Hot.method104"),
+                summary.hottestMethods().stream().map(FlightRecordingSummary.HotMethod::method).sorted().toList());
+        assertEquals(50.0, summary.hottestMethods().get(0).percent());
+        assertEquals(200, summary.topAllocationSites().get(0).bytes());
+        assertEquals(2, summary.topAllocationSites().get(0).samples());
+    }
+
+    @Test
+    void testSummarize_DropsSecondsOlderThanRetention() {
+        // Arrange: retention is five seconds, so second 100 shares its slot with 106
+        service.recordExecutionSample(100, "Old.method");
+        service.recordExecutionSample(106, "New.method");
+
+        // Act: even the widest window no longer reaches second 100
+        FlightRecordingSummary summary = service.summarize(3600, 10, 106);
+
+        // Assert
+        assertEquals(5, summary.seconds());
+        assertEquals(List.of("New.method"),
+                summary.hottestMethods().stream().map(FlightRecordingSummary.HotMethod::method).toList());
+    }
+
+    @Test
+    void testSummarize_RaisesWindowToAtLeastOneSecond() {
+        // a negative window is raised to one second rather than rejected
+        FlightRecordingSummary summary = service.summarize(-3, 0);
+
+        assertEquals(1, summary.seconds());
+    }
+
+    @Test
+    void testSummarize_IsEmptyWhileSamplingIsOff() {
+        FlightRecordingSummary summary = service.summarize(5, 5);
+
+        assertEquals(0, summary.executionSamples());
+        assertTrue(summary.hottestMethods().isEmpty());
+    }
+
+    private String stateOf(long id) {
+        return service.list().stream().filter(info -> info.id() == id).findFirst().orElseThrow().state();
+    }
+
+    private static long allocateAndSpin() {
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            values.add("value-" + i);
+        }
+        return values.size();
+    }
+}
@@ -1,22 +1,33 @@
 package com.beautysalon.service;
 
+import com.beautysalon.common.monitoring.EndpointLatency;
+import com.beautysalon.common.monitoring.EndpointLatencyRegistry;
+import com.beautysalon.config.CacheHealthIndicator;
+import com.beautysalon.config.CassandraHealthIndicator;
+import com.beautysalon.config.HealthConfiguration;
+import com.beautysalon.config.MemoryHealthIndicator;
 import com.beautysalon.config.MetricsConfiguration;
+import com.beautysalon.dto.EndpointCost;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Health;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -31,6 +42,24 @@ class PerformanceMonitoringServiceTest {
     @Mock
     private CacheManager cacheManager;
 
+    @Mock
+    private EndpointLatencyRegistry latencyRegistry;
+
+    @Mock
+    private AlertEngine alertEngine;
+
+    @Mock
+    private RequestCostRegistry costRegistry;
+
+    @Mock
+    private CassandraHealthIndicator cassandraHealthIndicator;
+
+    @Mock
+    private CacheHealthIndicator cacheHealthIndicator;
+
+    @Mock
+    private MemoryHealthIndicator memoryHealthIndicator;
+
     @Mock
     private Cache mockCache;
 
@@ -39,6 +68,10 @@ class PerformanceMonitoringServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(cassandraHealthIndicator.health()).thenReturn(Health.up().build());
+        lenient().when(cacheHealthIndicator.health()).thenReturn(Health.up().build());
+        lenient().when(cacheHealthIndicator.getHitRate()).thenReturn(92.5);
+        lenient().when(memoryHealthIndicator.health()).thenReturn(Health.up().build());
         // Setup mock cache manager
         lenient().when(cacheManager.getCacheNames()).thenReturn(Set.of("customers", "services", "staff"));
         lenient().when(cacheManager.getCache(anyString())).thenReturn(mockCache);
@@ -116,6 +149,44 @@ class PerformanceMonitoringServiceTest {
         assertTrue(thresholds.containsKey("errorRate"));
     }
 
+    @Test
+    void testGetPerformanceStatistics_IncludesEndpointLatencyAndDriverMetrics() {
+        // Test endpoint percentiles and Cassandra driver metrics are exposed alongside the other statistics
+        EndpointLatency latency = new EndpointLatency("GET /api/customers", 120, 4.2, 9.8, 31.5, 48.0, 52.1, 5.3);
+        when(latencyRegistry.snapshot()).thenReturn(List.of(latency));
+        when(latencyRegistry.getWindowSeconds()).thenReturn(60L);
+        Map<String, Object> cassandra = Map.of("connectedNodes", 1L);
+        when(metricsConfig.getCassandraDriverMetrics()).thenReturn(cassandra);
+        
+        Map<String, Object> stats = performanceMonitoringService.getPerformanceStatistics();
+        
+        assertEquals(List.of(latency), stats.get("endpoints"));
+        assertEquals(60L, stats.get("latencyWindowSeconds"));
+        assertEquals(cassandra, stats.get("cassandra"));
+    }
+
+    @Test
+    void testGetPerformanceStatistics_IncludesRequestCost() {
+        // Sampled allocation and CPU time per route are exposed with the sample rate they came from
+        EndpointCost cost = new EndpointCost("GET /api/appointments", 40, 182_000.0, 150_000.0, 410_000.0, 1.8, 1.2, 6.4);
+        when(costRegistry.snapshot()).thenReturn(List.of(cost));
+        when(costRegistry.getSampleRate()).thenReturn(0.1);
+        
+        Map<String, Object> stats = performanceMonitoringService.getPerformanceStatistics();
+        
+        assertEquals(List.of(cost), stats.get("requestCost"));
+        assertEquals(0.1, stats.get("requestCostSampleRate"));
+    }
+
+    @Test
+    void testMonitorResponseTime_RaisesAlertThroughEngine() {
+        // Slow responses are queued on the alert engine rather than logged on the caller's thread
+        performanceMonitoringService.monitorResponseTime(1200L);
+        performanceMonitoringService.monitorResponseTime(100L);
+        
+        verify(alertEngine, times(1)).raise(eq("RESPONSE_TIME_HIGH"), contains("1200 ms"));
+    }
+
     @Test
     void testGetPerformanceStatistics_ExceptionHandling() {
         // Mock cache manager to throw exception during getCacheStatistics call
@@ -339,78 +410,70 @@ class PerformanceMonitoringServiceTest {
 
     @Test
     void testMonitorCachePerformance_LowHitRate_TriggersAlert() {
-        // Test cache monitoring with low hit rate that triggers alert
-        // Mock a low hit rate scenario by manipulating the random calculation
-        // Since calculateOverallCacheHitRate() returns random values, we need multiple attempts
-        
-        boolean alertTriggered = false;
-        for (int i = 0; i < 50; i++) { // Try multiple times to get a low hit rate
-            Map<String, Object> cacheStats = performanceMonitoringService.getCacheStatistics();
-            double hitRate = (Double) cacheStats.get("hitRate");
-            
-            if (hitRate < 80.0) { // Below threshold
-                performanceMonitoringService.monitorCachePerformance();
-                alertTriggered = true;
-                break;
-            }
-        }
-        
-        // If we couldn't trigger naturally, we still test the method execution
+        // Arrange
+        when(cacheHealthIndicator.getHitRate()).thenReturn(42.0);
+        when(cacheHealthIndicator.isBelowTarget()).thenReturn(true);
+
+        // Act
         performanceMonitoringService.monitorCachePerformance();
-        
-        // Verify no error metrics were incremented (successful execution)
+
+        // Assert
+        verify(alertEngine).raise(eq("CACHE_HIT_RATE_LOW"), contains("42.00%"));
         verify(metricsConfig, never()).incrementError("cache_monitoring");
     }
 
     @Test
     void testPerformHealthCheck_LowCacheHitRate_CacheHealthDown() {
-        // Test health check with low cache hit rate
-        // Since calculateOverallCacheHitRate() is random, we test multiple times
-        
-        boolean lowHitRateFound = false;
-        for (int i = 0; i < 100; i++) { // Try multiple times to get a low hit rate
-            Map<String, Object> healthCheck = performanceMonitoringService.performHealthCheck();
-            
-            assertNotNull(healthCheck);
-            assertTrue(healthCheck.containsKey("cacheHealth"));
-            assertTrue(healthCheck.containsKey("cacheHitRate"));
-            assertTrue(healthCheck.containsKey("memoryHealth"));
-            assertTrue(healthCheck.containsKey("status"));
-            
-            Double cacheHitRate = (Double) healthCheck.get("cacheHitRate");
-            String cacheHealth = (String) healthCheck.get("cacheHealth");
-            
-            if (cacheHitRate < 80.0) {
-                assertEquals("DOWN", cacheHealth);
-                lowHitRateFound = true;
-                break;
-            }
-        }
-        
-        // Even if we don't find low hit rate, the test validates structure
-        assertTrue(true); // Test passes for structure validation
+        // Arrange
+        when(cacheHealthIndicator.health()).thenReturn(Health.status(HealthConfiguration.DEGRADED).build());
+        when(cacheHealthIndicator.getHitRate()).thenReturn(42.0);
+
+        // Act
+        Map<String, Object> healthCheck = performanceMonitoringService.performHealthCheck();
+
+        // Assert
+        assertEquals("DOWN", healthCheck.get("cacheHealth"));
+        assertEquals(42.0, healthCheck.get("cacheHitRate"));
+        assertEquals("WARNING", healthCheck.get("status"));
     }
 
     @Test
     void testPerformHealthCheck_HighMemoryUsage_MemoryHealthWarning() {
-        // Test health check - since memory usage is based on actual JVM memory,
-        // we test the structure and logic
+        // Arrange
+        when(memoryHealthIndicator.health()).thenReturn(Health.status(HealthConfiguration.DEGRADED)
+                .withDetail("occupancyAfterGc", 0.9).build());
+
+        // Act
         Map<String, Object> healthCheck = performanceMonitoringService.performHealthCheck();
-        
-        assertNotNull(healthCheck);
-        assertTrue(healthCheck.containsKey("memoryHealth"));
-        assertTrue(healthCheck.containsKey("memoryUsage"));
-        
-        String memoryHealth = (String) healthCheck.get("memoryHealth");
-        Map<String, Object> memoryUsage = (Map<String, Object>) healthCheck.get("memoryUsage");
-        Long usedPercent = (Long) memoryUsage.get("usedPercent");
-        
-        // Verify logic consistency
-        if (usedPercent >= 80) {
-            assertEquals("WARNING", memoryHealth);
-        } else {
-            assertEquals("UP", memoryHealth);
-        }
+
+        // Assert
+        assertEquals("WARNING", healthCheck.get("memoryHealth"));
+        assertEquals(Map.of("occupancyAfterGc", 0.9), healthCheck.get("memoryUsage"));
+        assertEquals("WARNING", healthCheck.get("status"));
+    }
+
+    @Test
+    void testPerformHealthCheck_CassandraUnreachable_StatusDown() {
+        // Arrange
+        when(cassandraHealthIndicator.health()).thenReturn(Health.down().withDetail("error", "timeout").build());
+
+        // Act
+        Map<String, Object> healthCheck = performanceMonitoringService.performHealthCheck();
+
+        // Assert
+        assertEquals("DOWN", healthCheck.get("cassandraHealth"));
+        assertEquals("DOWN", healthCheck.get("status"));
+        assertEquals("UP", healthCheck.get("cacheHealth"));
+    }
+
+    @Test
+    void testPerformHealthCheck_CassandraNotProbedYet_DoesNotDegrade() {
+        when(cassandraHealthIndicator.health()).thenReturn(Health.unknown().build());
+
+        Map<String, Object> healthCheck = performanceMonitoringService.performHealthCheck();
+
+        assertEquals("UNKNOWN", healthCheck.get("cassandraHealth"));
+        assertEquals("UP", healthCheck.get("status"));
     }
 
     @Test
@@ -0,0 +1,102 @@
+package com.beautysalon.service;
+
+import com.beautysalon.common.monitoring.EndpointLatencyRegistry;
+import com.beautysalon.dto.EndpointCost;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestCostRegistrySimpleTest {
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testStartStop_RecordsAllocationAndCpuPerRoute() {
+        // Arrange
+        RequestCostRegistry registry = new RequestCostRegistry(meterRegistry, true, 1.0, 10);
+
+        // Act
+        RequestCostRegistry.Sample sample = registry.start();
+        byte[][] allocated = new byte[64][];
+        for (int i = 0; i < allocated.length; i++) {
+            allocated[i] = new byte[16 * 1024];
+        }
+        registry.stop(sample, "GET /api/customers");
+
+        // Assert
+        assertNotNull(sample);
+        DistributionSummary bytes = meterRegistry.get(RequestCostRegistry.ALLOCATED_BYTES)
+                .tag("route", "GET /api/customers").summary();
+        assertEquals(1, bytes.count());
+        assertTrue(bytes.totalAmount() >= allocated.length * 16 * 1024);
+        Timer cpu = meterRegistry.get(RequestCostRegistry.CPU_TIME).tag("route", "GET /api/customers").timer();
+        assertEquals(1, cpu.count());
+
+        List<EndpointCost> snapshot = registry.snapshot();
+        assertEquals(1, snapshot.size());
+        assertEquals("GET /api/customers", snapshot.get(0).route());
+        assertEquals(1, snapshot.get(0).samples());
+        assertTrue(snapshot.get(0).allocatedBytesMean() >= allocated.length * 16 * 1024);
+    }
+
+    @Test
+    void testStart_SkipsUnsampledAndDisabled() {
+        assertNull(new RequestCostRegistry(meterRegistry, true, 0.0, 10).start());
+        assertNull(new RequestCostRegistry(meterRegistry, false, 1.0, 10).start());
+        assertEquals(0.0, new RequestCostRegistry(meterRegistry, false, 1.0, 10).getSampleRate());
+    }
+
+    @Test
+    void testStop_IgnoresSkippedRequests() {
+        RequestCostRegistry registry = new RequestCostRegistry(meterRegistry, true, 1.0, 10);
+
+        registry.stop(null, "GET /api/staff");
+
+        assertTrue(registry.snapshot().isEmpty());
+        assertNull(meterRegistry.find(RequestCostRegistry.ALLOCATED_BYTES).summary());
+    }
+
+    @Test
+    void testStart_CountsVirtualThreadsAsUnmeasured() throws Exception {
+        // Arrange
+        RequestCostRegistry registry = new RequestCostRegistry(meterRegistry, true, 1.0, 10);
+        AtomicReference<RequestCostRegistry.Sample> sample = new AtomicReference<>();
+
+        // Act
+        Thread.ofVirtual().start(() -> sample.set(registry.start())).join();
+
+        // Assert: the JDK reports no thread counters for virtual threads
+        assertNull(sample.get());
+        assertEquals(1.0, meterRegistry.get(RequestCostRegistry.UNMEASURED).tag("thread", "virtual").counter().count());
+    }
+
+    @Test
+    void testRouteCap_FoldsExtraRoutesIntoOther() {
+        // Arrange
+        RequestCostRegistry registry = new RequestCostRegistry(meterRegistry, true, 1.0, 2);
+
+        // Act
+        for (String route : List.of("GET /a", "GET /b", "GET /c", "GET /d")) {
+            registry.stop(registry.start(), route);
+        }
+
+        // Assert
+        assertEquals(List.of("GET /a", "GET /b", EndpointLatencyRegistry.OTHER_ROUTE),
+                registry.snapshot().stream().map(EndpointCost::route).sorted().toList());
+        assertEquals(2, meterRegistry.get(RequestCostRegistry.ALLOCATED_BYTES)
+                .tag("route", EndpointLatencyRegistry.OTHER_ROUTE).summary().count());
+    }
+}
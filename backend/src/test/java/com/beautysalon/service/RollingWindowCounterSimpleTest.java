@@ -0,0 +1,81 @@
+package com.beautysalon.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RollingWindowCounterSimpleTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+
+    // 60 s horizon in 5 s buckets
+    private final RollingWindowCounter counter = new RollingWindowCounter(60_000, 5_000, now::get);
+
+    @Test
+    void testSum_CountsOnlyBucketsInsideTheWindow() {
+        // Arrange: 3 events now, 2 events 20 s later
+        for (int i = 0; i < 3; i++) {
+            counter.increment();
+        }
+        now.addAndGet(20_000);
+        counter.increment();
+        counter.increment();
+
+        // Act & Assert
+        assertEquals(2, counter.sum(10_000));
+        assertEquals(5, counter.sum(30_000));
+    }
+
+    @Test
+    void testSum_ExpiredBucketsAreReusedFromZero() {
+        // Arrange
+        counter.increment();
+        counter.increment();
+
+        // Act: a full horizon later the same bucket slot comes round again
+        now.addAndGet(60_000);
+        counter.increment();
+
+        // Assert
+        assertEquals(1, counter.sum(60_000));
+    }
+
+    @Test
+    void testSum_WindowIsCappedAtHorizon() {
+        counter.increment();
+
+        assertEquals(1, counter.sum(Long.MAX_VALUE / 2));
+        assertEquals(60_000, counter.getHorizonMillis());
+    }
+
+    @Test
+    void testIncrement_ConcurrentWritersLoseNothing() throws Exception {
+        // Arrange
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            writers.add(new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    counter.increment();
+                }
+            }));
+        }
+
+        // Act
+        writers.forEach(Thread::start);
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        // Assert
+        assertEquals(80_000, counter.sum(5_000));
+    }
+
+    @Test
+    void testConstructor_RejectsHorizonShorterThanBucket() {
+        assertThrows(IllegalArgumentException.class, () -> new RollingWindowCounter(1_000, 5_000, now::get));
+    }
+}
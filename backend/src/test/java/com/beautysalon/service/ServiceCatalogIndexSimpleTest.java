@@ -0,0 +1,192 @@
+package com.beautysalon.service;
+
+import com.beautysalon.dto.ServiceSearchCriteria;
+import com.beautysalon.dto.ServiceSearchCriteria.SortOrder;
+import com.beautysalon.dto.ServiceSearchResult;
+import com.beautysalon.model.Service;
+import com.beautysalon.repository.ServiceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ServiceCatalogIndexSimpleTest {
+
+    @Mock
+    private ServiceRepository serviceRepository;
+
+    private ServiceCatalogIndex index;
+    private Service haircut;
+    private Service coloring;
+    private Service manicure;
+    private Service massage;
+    private Service retiredFacial;
+
+    @BeforeEach
+    void setUp() {
+        index = new ServiceCatalogIndex(serviceRepository);
+        haircut = service("Corte", "Cabelo", "45.00", 30, true);
+        coloring = service("Coloração", "Cabelo", "150.00", 120, true);
+        manicure = service("Manicure", "Unhas", "35.00", 45, true);
+        massage = service("Massagem", "Estética", "99.90", 60, true);
+        retiredFacial = service("Limpeza de pele", "Estética", "80.00", 60, false);
+    }
+
+    private static Service service(String name, String category, String price, int duration, boolean active) {
+        Service service = new Service();
+        service.setName(name);
+        service.setCategory(category);
+        service.setPrice(new BigDecimal(price));
+        service.setDuration(duration);
+        service.setIsActive(active);
+        return service;
+    }
+
+    private void givenCatalog(Service... services) {
+        when(serviceRepository.findAll()).thenReturn(List.of(services));
+    }
+
+    private static ServiceSearchCriteria criteria(String minPrice, String maxPrice, Integer minDuration,
+                                                  Integer maxDuration, Set<String> categories, Boolean active,
+                                                  SortOrder sort) {
+        return new ServiceSearchCriteria(minPrice == null ? null : new BigDecimal(minPrice),
+                maxPrice == null ? null : new BigDecimal(maxPrice), minDuration, maxDuration, categories, active, sort);
+    }
+
+    @Test
+    void testSearch_NoFiltersReturnsCatalogSortedByName() {
+        givenCatalog(massage, haircut, retiredFacial, manicure, coloring);
+
+        ServiceSearchResult result = index.search(criteria(null, null, null, null, null, null, null));
+
+        assertEquals(5, result.total());
+        assertEquals(List.of(coloring, haircut, retiredFacial, manicure, massage), result.services());
+    }
+
+    @Test
+    void testSearch_PriceRangeIsInclusiveAndSortable() {
+        givenCatalog(massage, haircut, retiredFacial, manicure, coloring);
+
+        ServiceSearchResult result = index.search(criteria("45", "99.90", null, null, null, null, SortOrder.PRICE));
+
+        assertEquals(List.of(haircut, retiredFacial, massage), result.services());
+    }
+
+    @Test
+    void testSearch_CombinesDurationCategoryAndActiveFilters() {
+        givenCatalog(massage, haircut, retiredFacial, manicure, coloring);
+
+        ServiceSearchResult result = index.search(
+                criteria(null, null, 45, 120, Set.of("Estética", "Cabelo"), true, SortOrder.DURATION));
+
+        assertEquals(List.of(massage, coloring), result.services());
+    }
+
+    @Test
+    void testSearch_FacetsIgnoreTheirOwnFilter() {
+        givenCatalog(massage, haircut, retiredFacial, manicure, coloring);
+
+        ServiceSearchResult result = index.search(criteria(null, "100", null, null, Set.of("Cabelo"), true, null));
+
+        assertEquals(List.of(haircut), result.services());
+        // categories counted with price <= 100 and active only
+        assertEquals(Map.of("Cabelo", 1, "Estética", 1, "Unhas", 1), result.categories());
+        // price bands counted for active "Cabelo" services regardless of the price filter
+        assertEquals(1, result.priceBands().get("0-50"));
+        assertEquals(1, result.priceBands().get("100-200"));
+        assertEquals(0, result.priceBands().get("200+"));
+        assertEquals(1, result.durationBands().get("30-60"));
+        assertEquals(0, result.durationBands().get("60-120"));
+        // active flag counted for "Cabelo" services up to 100
+        assertEquals(Map.of("true", 1, "false", 0), result.active());
+    }
+
+    @Test
+    void testSearch_UnknownCategoryMatchesNothing() {
+        givenCatalog(massage, haircut);
+
+        ServiceSearchResult result = index.search(criteria(null, null, null, null, Set.of("Barba"), null, null));
+
+        assertEquals(0, result.total());
+        assertTrue(result.services().isEmpty());
+    }
+
+    @Test
+    void testSearch_InactiveOnly() {
+        givenCatalog(massage, retiredFacial);
+
+        ServiceSearchResult result = index.search(criteria(null, null, null, null, null, false, null));
+
+        assertEquals(List.of(retiredFacial), result.services());
+        assertEquals(Map.of("true", 1, "false", 1), result.active());
+    }
+
+    @Test
+    void testSearch_LoadsCatalogOnce() {
+        givenCatalog(massage, haircut);
+
+        index.search(criteria(null, null, null, null, null, null, null));
+        index.search(criteria("10", null, null, null, null, null, null));
+
+        verify(serviceRepository, times(1)).findAll();
+    }
+
+    @Test
+    void testUpsertAndRemove_ReplaceSnapshotWithoutReloading() {
+        givenCatalog(massage, haircut);
+        index.search(criteria(null, null, null, null, null, null, null));
+
+        haircut.setPrice(new BigDecimal("55.00"));
+        index.upsert(haircut);
+        index.upsert(manicure);
+        index.remove(massage.getId());
+        ServiceSearchResult result = index.search(criteria("50", null, null, null, null, null, null));
+
+        assertEquals(List.of(haircut), result.services());
+        assertEquals(2, index.search(criteria(null, null, null, null, null, null, null)).total());
+        verify(serviceRepository, times(1)).findAll();
+    }
+
+    @Test
+    void testUpsert_BeforeFirstLoadIsDeferredToLoad() {
+        index.upsert(haircut);
+
+        verifyNoInteractions(serviceRepository);
+    }
+
+    @Test
+    void testRefresh_KeepsPreviousSnapshotOnFailure() {
+        givenCatalog(massage, haircut);
+        index.search(criteria(null, null, null, null, null, null, null));
+        when(serviceRepository.findAll()).thenThrow(new RuntimeException("Cassandra unavailable"));
+
+        index.refresh();
+
+        assertEquals(2, index.search(criteria(null, null, null, null, null, null, null)).total());
+    }
+
+    @Test
+    void testRefresh_SkippedUntilFirstSearch() {
+        index.refresh();
+
+        verifyNoInteractions(serviceRepository);
+    }
+
+    @Test
+    void testCriteria_RejectsInvertedRanges() {
+        assertThrows(IllegalArgumentException.class,
+                () -> criteria("100", "50", null, null, null, null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> criteria(null, null, 90, 30, null, null, null));
+    }
+}
@@ -1,5 +1,7 @@
 package com.beautysalon.service;
 
+import com.beautysalon.dto.ServiceSearchCriteria;
+import com.beautysalon.dto.ServiceSearchResult;
 import com.beautysalon.model.Service;
 import com.beautysalon.repository.ServiceRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,6 +14,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -25,6 +28,9 @@ class ServiceServiceSimpleTest {
     @Mock
     private ServiceRepository serviceRepository;
 
+    @Mock
+    private ServiceCatalogIndex serviceCatalogIndex;
+
     @InjectMocks
     private ServiceService serviceService;
 
@@ -150,6 +156,7 @@ class ServiceServiceSimpleTest {
         assertEquals(testService.getName(), result.getName());
         assertEquals(testService.getPrice(), result.getPrice());
         verify(serviceRepository).save(testService);
+        verify(serviceCatalogIndex).upsert(testService);
     }
 
     @Test
@@ -169,6 +176,7 @@ class ServiceServiceSimpleTest {
         assertNotNull(result);
         verify(serviceRepository).findById(serviceId);
         verify(serviceRepository).save(any(Service.class));
+        verify(serviceCatalogIndex).upsert(any(Service.class));
     }
 
     @Test
@@ -184,6 +192,7 @@ class ServiceServiceSimpleTest {
         assertNull(result);
         verify(serviceRepository).findById(serviceId);
         verify(serviceRepository, never()).save(any(Service.class));
+        verifyNoInteractions(serviceCatalogIndex);
     }
 
     @Test
@@ -199,6 +208,7 @@ class ServiceServiceSimpleTest {
         assertTrue(result);
         verify(serviceRepository).existsById(serviceId);
         verify(serviceRepository).deleteById(serviceId);
+        verify(serviceCatalogIndex).remove(serviceId);
     }
 
     @Test
@@ -213,5 +223,23 @@ class ServiceServiceSimpleTest {
         assertFalse(result);
         verify(serviceRepository).existsById(serviceId);
         verify(serviceRepository, never()).deleteById(serviceId);
+        verifyNoInteractions(serviceCatalogIndex);
+    }
+
+    @Test
+    void testSearchServices_DelegatesToIndex() {
+        // Arrange
+        ServiceSearchCriteria criteria = new ServiceSearchCriteria(
+                null, new BigDecimal("100.00"), null, null, null, true, null);
+        ServiceSearchResult expected = new ServiceSearchResult(
+                List.of(testService), 1, Map.of(), Map.of(), Map.of(), Map.of());
+        when(serviceCatalogIndex.search(criteria)).thenReturn(expected);
+
+        // Act
+        ServiceSearchResult result = serviceService.searchServices(criteria);
+
+        // Assert
+        assertSame(expected, result);
+        verifyNoInteractions(serviceRepository);
     }
 }
@@ -0,0 +1,147 @@
+package com.beautysalon.service;
+
+import com.beautysalon.config.ClassLoadingApplicationStartup;
+import com.beautysalon.dto.StartupProfile;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StartupProfilerSimpleTest {
+
+    private MeterRegistry meterRegistry;
+    private ClassLoadingApplicationStartup applicationStartup;
+    private StartupProfiler profiler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        applicationStartup = new ClassLoadingApplicationStartup(100);
+        profiler = new StartupProfiler(applicationStartup, meterRegistry);
+    }
+
+    @Test
+    void testProfile_SubtractsNestedBeansFromSelfTime() throws Exception {
+        // Arrange
+        StartupStep outer = applicationStartup.start(StartupProfiler.INSTANTIATE_STEP).tag("beanName", "cassandraSession");
+        Thread.sleep(20);
+        StartupStep inner = applicationStartup.start(StartupProfiler.INSTANTIATE_STEP).tag("beanName", "driverConfig");
+        Thread.sleep(30);
+        inner.end();
+        outer.end();
+
+        // Act
+        StartupProfile profile = profiler.profile(10);
+
+        // Assert
+        assertTrue(profile.timelineRecorded());
+        assertEquals(2, profile.steps());
+        assertEquals("driverConfig", profile.slowestBeans().get(0).name(), "ordered by self time");
+        StartupProfile.Bean session = profile.slowestBeans().get(1);
+        assertEquals("cassandraSession", session.name());
+        assertTrue(session.totalMs() >= 50, "total includes the nested bean");
+        assertTrue(session.selfMs() < session.totalMs() - 25, "self time excludes the nested bean");
+        StartupProfile.Phase phase = profile.phases().get(0);
+        assertEquals(StartupProfiler.INSTANTIATE_STEP, phase.name());
+        assertEquals(2, phase.steps());
+        assertEquals(session.totalMs(), phase.selfMs(), 0.001);
+    }
+
+    @Test
+    void testProfile_CountsClassesLoadedPerStep() throws Exception {
+        // Arrange
+        URL classes = NeverLoaded.class.getProtectionDomain().getCodeSource().getLocation();
+        StartupStep step = applicationStartup.start("beautysalon.cassandra.migrations");
+        try (URLClassLoader isolated = new URLClassLoader(new URL[]{classes}, null)) {
+            Class.forName(NeverLoaded.class.getName(), true, isolated);
+        }
+        step.end();
+
+        // Act
+        StartupProfile profile = profiler.profile(10);
+
+        // Assert
+        assertTrue(profile.phases().get(0).classesLoaded() >= 1);
+        assertTrue(profile.classLoading().loaded() >= profile.classLoading().current());
+    }
+
+    @Test
+    void testProfile_LimitsSlowestBeans() {
+        for (int i = 0; i < 5; i++) {
+            applicationStartup.start(StartupProfiler.INSTANTIATE_STEP).tag("beanName", "bean" + i).end();
+        }
+
+        assertEquals(3, profiler.profile(3).slowestBeans().size());
+    }
+
+    @Test
+    void testProfile_WithoutBufferedTimeline() {
+        StartupProfiler unbuffered = new StartupProfiler(ApplicationStartup.DEFAULT, meterRegistry);
+
+        StartupProfile profile = unbuffered.profile(10);
+
+        assertFalse(profile.timelineRecorded());
+        assertTrue(profile.phases().isEmpty());
+        assertTrue(profile.slowestBeans().isEmpty());
+        assertNull(profile.ready());
+    }
+
+    @Test
+    void testRecordRequest_KeepsFirstRequestAndFirstApiRequest() {
+        // Act
+        profiler.recordRequest("/actuator/health", TimeUnit.MILLISECONDS.toNanos(5));
+        profiler.recordRequest("/api/services", TimeUnit.MILLISECONDS.toNanos(120));
+        profiler.recordRequest("/api/customers", TimeUnit.MILLISECONDS.toNanos(2));
+
+        // Assert
+        StartupProfile profile = profiler.profile(10);
+        assertEquals("/actuator/health", profile.firstRequest().path());
+        assertEquals("/api/services", profile.firstApiRequest().path());
+        assertEquals(120.0, profile.firstApiRequest().durationMs(), 0.001);
+        assertTrue(profile.firstApiRequest().arrivedSinceJvmStartMs() > 0);
+        double gauge = meterRegistry.get("beauty_salon.startup.first_api_request.time").timeGauge()
+                .value(TimeUnit.MILLISECONDS);
+        assertEquals(profile.firstApiRequest().arrivedSinceJvmStartMs(), gauge, 0.001);
+    }
+
+    @Test
+    void testOnReady_RecordsTimeTakenAndUptime() {
+        profiler.onReady(new ApplicationReadyEvent(new SpringApplication(), new String[0], null,
+                Duration.ofMillis(1500)));
+
+        StartupProfile.Milestone ready = profiler.profile(10).ready();
+        assertEquals(1500.0, ready.timeTakenMs(), 0.001);
+        assertTrue(ready.sinceJvmStartMs() > 0);
+        assertTrue(ready.classesLoaded() > 0);
+    }
+
+    @Test
+    void testProfile_KeepsTimelineCopiedWhenReadyAfterTheBufferIsDrained() {
+        // Arrange
+        applicationStartup.start(StartupProfiler.INSTANTIATE_STEP).tag("beanName", "cassandraSession").end();
+        profiler.onReady(new ApplicationReadyEvent(new SpringApplication(), new String[0], null,
+                Duration.ofMillis(1500)));
+
+        // Act: what a POST to the startup endpoint does
+        applicationStartup.drainBufferedTimeline();
+
+        // Assert
+        StartupProfile profile = profiler.profile(10);
+        assertEquals(1, profile.steps());
+        assertEquals("cassandraSession", profile.slowestBeans().get(0).name());
+    }
+
+    private static final class NeverLoaded {
+    }
+}
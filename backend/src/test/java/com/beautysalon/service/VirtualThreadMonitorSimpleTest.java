@@ -0,0 +1,151 @@
+package com.beautysalon.service;
+
+import com.beautysalon.dto.VirtualThreadStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadMonitorSimpleTest {
+
+    private static final Object LOCK = new Object();
+
+    private MeterRegistry meterRegistry;
+    private VirtualThreadMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        monitor = new VirtualThreadMonitor(meterRegistry, true, 5, 4, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+    }
+
+    @Test
+    void testRecordPinned_AggregatesByStackBelowSchedulerFrames() {
+        // Arrange
+        List<String> frames = List.of(
+                "java.lang.VirtualThread.parkOnCarrierThread",
+                "jdk.internal.misc.Blocker.begin",
+                "java.lang.Thread.sleep",
+                "com.datastax.oss.driver.Pool.acquire",
+                "com.beautysalon.service.CustomerService.findById");
+
+        // Act
+        monitor.recordPinned(TimeUnit.MILLISECONDS.toNanos(30), frames);
+        monitor.recordPinned(TimeUnit.MILLISECONDS.toNanos(50), frames);
+
+        // Assert
+        VirtualThreadStats stats = monitor.snapshot(10);
+        assertEquals(2, stats.pinnedEvents());
+        assertEquals(80.0, stats.pinnedTotalMs(), 0.001);
+        assertEquals(1, stats.pinnedStacks().size());
+        VirtualThreadStats.PinnedStack stack = stats.pinnedStacks().get(0);
+        assertEquals("com.datastax.oss.driver.Pool.acquire", stack.site());
+        assertEquals(List.of("java.lang.Thread.sleep", "com.datastax.oss.driver.Pool.acquire",
+                "com.beautysalon.service.CustomerService.findById"), stack.frames());
+        assertEquals(2, stack.events());
+        assertEquals(50.0, stack.maxMs(), 0.001);
+        assertEquals(2, meterRegistry.get(VirtualThreadMonitor.METRIC_PREFIX + ".pinned").timer().count());
+    }
+
+    @Test
+    void testRecordPinned_FoldsStacksPastTheCapIntoOther() {
+        monitor.recordPinned(1_000_000, List.of("com.a.A.run"));
+        monitor.recordPinned(2_000_000, List.of("com.b.B.run"));
+        monitor.recordPinned(3_000_000, List.of("com.c.C.run"));
+
+        VirtualThreadStats stats = monitor.snapshot(10);
+
+        assertEquals(List.of(VirtualThreadMonitor.OTHER_SITE, "com.b.B.run", "com.a.A.run"),
+                stats.pinnedStacks().stream().map(VirtualThreadStats.PinnedStack::site).toList());
+        assertEquals(2, monitor.snapshot(2).pinnedStacks().size());
+    }
+
+    @Test
+    void testStart_StreamsPinningFromSynchronizedBlocks() throws Exception {
+        // Arrange
+        monitor.start();
+
+        // Act: sleeping inside synchronized pins the carrier on JDK 21
+        Thread.ofVirtual().start(VirtualThreadMonitorSimpleTest::sleepWhileHoldingMonitor).join();
+
+        // Assert: the stream delivers events about once a second
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (monitor.snapshot(10).pinnedEvents() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        VirtualThreadStats stats = monitor.snapshot(10);
+        assertTrue(stats.pinnedEvents() > 0);
+        assertTrue(stats.pinnedStacks().stream()
+                .anyMatch(stack -> stack.site().endsWith("VirtualThreadMonitorSimpleTest.sleepWhileHoldingMonitor")));
+    }
+
+    @Test
+    void testSampleCarriers_CountsPinnedCarrierAsMountedAndBlocked() throws Exception {
+        // Arrange
+        CountDownLatch pinned = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread virtual = Thread.ofVirtual().start(() -> {
+            synchronized (LOCK) {
+                pinned.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        assertTrue(pinned.await(5, TimeUnit.SECONDS));
+        Thread.sleep(50);
+
+        // Act
+        try {
+            monitor.sampleCarriers();
+        } finally {
+            release.countDown();
+            virtual.join();
+        }
+
+        // Assert
+        VirtualThreadStats stats = monitor.snapshot(10);
+        assertTrue(stats.carriers() >= 1);
+        assertTrue(stats.mountedCarriers() >= 1);
+        assertTrue(stats.blockedCarriers() >= 1);
+        assertTrue(stats.carrierUtilization() > 0.0);
+        assertEquals((double) stats.mountedCarriers() / stats.parallelism(), monitor.getCarrierUtilization(), 0.001);
+    }
+
+    @Test
+    void testDisabled_DoesNotStreamOrSample() {
+        VirtualThreadMonitor disabled = new VirtualThreadMonitor(new SimpleMeterRegistry(), false, 20, 8, 100);
+
+        disabled.start();
+        disabled.sampleCarriers();
+
+        VirtualThreadStats stats = disabled.snapshot(10);
+        assertFalse(stats.enabled());
+        assertEquals(0, stats.carriers());
+        disabled.stop();
+    }
+
+    private static void sleepWhileHoldingMonitor() {
+        synchronized (LOCK) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
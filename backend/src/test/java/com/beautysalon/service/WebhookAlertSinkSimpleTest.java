@@ -0,0 +1,39 @@
+package com.beautysalon.service;
+
+import com.beautysalon.dto.Alert;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import java.time.Instant;
+
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class WebhookAlertSinkSimpleTest {
+
+    @Test
+    void testSend_PostsAlertAsJson() {
+        // Arrange
+        RestClient.Builder builder = RestClient.builder();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(builder).build();
+        WebhookAlertSink sink = new WebhookAlertSink(builder.build(), "http://localhost:8080/api/monitoring/alerts/webhook");
+        Alert alert = new Alert("latency-p99", "GET /api/services", "WARNING", Alert.Status.FIRING,
+                850.0, 500.0, "p99 response time is 850.0 ms", Instant.parse("2024-01-01T10:00:00Z"), 2);
+        server.expect(requestTo("http://localhost:8080/api/monitoring/alerts/webhook"))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.rule").value("latency-p99"))
+                .andExpect(jsonPath("$.status").value("FIRING"))
+                .andExpect(jsonPath("$.suppressed").value(2))
+                .andRespond(withSuccess());
+
+        // Act
+        sink.send(alert);
+
+        // Assert
+        server.verify();
+    }
+}
@@ -0,0 +1,111 @@
+package com.beautysalon.datagen;
+
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The blocking backend's schema from its Flyway migrations: snake_case columns, a separate date and time
+ * per appointment, lowercase statuses, and the {@code appointment_daily_stats} counters the backend keeps
+ * next to its appointments. The counters are summed while appointments are generated and written once at
+ * the end, one update per day and dimension; like any counter update they add to what is there, so load a
+ * dataset into empty tables.
+ */
+final class BlockingSchema extends CassandraSchema {
+
+    private static final UUID TOTAL_KEY = new UUID(0L, 0L);
+
+    private record StatsKey(LocalDate day, String dimension, UUID key) {
+    }
+
+    private record Counters(long bookings, long completions, long revenueCents) {
+
+        Counters plus(Counters other) {
+            return new Counters(bookings + other.bookings, completions + other.completions,
+                    revenueCents + other.revenueCents);
+        }
+    }
+
+    private final Map<StatsKey, Counters> stats = new ConcurrentHashMap<>();
+
+    @Override
+    String name() {
+        return "blocking";
+    }
+
+    @Override
+    Map<String, Cql> statements() {
+        Map<String, Cql> statements = new LinkedHashMap<>();
+        statements.put("customer", Cql.insert("customers",
+                "id", "name", "email", "phone", "address", "created_at", "updated_at"));
+        statements.put("staff", Cql.insert("staff",
+                "id", "name", "email", "phone", "role", "specialties", "is_active", "created_at", "updated_at"));
+        statements.put("service", Cql.insert("services",
+                "id", "name", "description", "duration", "price", "category", "is_active", "created_at", "updated_at"));
+        statements.put("appointment", Cql.insert("appointments",
+                "id", "customer_id", "staff_id", "service_id", "appointment_date", "appointment_time",
+                "status", "notes", "total_price", "created_at", "updated_at"));
+        statements.put("stats", new Cql("appointment_daily_stats",
+                List.of("day", "dimension", "dimension_id", "bookings", "completions", "revenue_cents"),
+                "UPDATE appointment_daily_stats SET bookings = bookings + ?, completions = completions + ?, "
+                        + "revenue_cents = revenue_cents + ? WHERE day = ? AND dimension = ? AND dimension_id = ?"));
+        return statements;
+    }
+
+    @Override
+    List<BoundStatement> customer(SyntheticData.Customer customer) {
+        return List.of(insert("customer", customer.id(), customer.name(), customer.email(), customer.phone(),
+                customer.address(), customer.createdAt(), customer.createdAt()));
+    }
+
+    @Override
+    List<BoundStatement> staff(SyntheticData.Staff staff) {
+        return List.of(insert("staff", staff.id(), staff.name(), staff.email(), staff.phone(), staff.role(),
+                new LinkedHashSet<>(staff.specialties()), staff.active(), staff.createdAt(), staff.createdAt()));
+    }
+
+    @Override
+    List<BoundStatement> service(SyntheticData.Service service) {
+        return List.of(insert("service", service.id(), service.name(), service.description(),
+                service.durationMinutes(), service.price(), service.category(), service.active(),
+                service.createdAt(), service.createdAt()));
+    }
+
+    /**
+     * Counted like the backend counts: every appointment is a booking, completed ones also count as a
+     * completion and add their price to the revenue.
+     */
+    @Override
+    List<BoundStatement> appointment(SyntheticData.Appointment appointment) {
+        boolean completed = appointment.status() == SyntheticData.Status.COMPLETED;
+        Counters counters = new Counters(1, completed ? 1 : 0, completed
+                ? appointment.totalPrice().movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact()
+                : 0L);
+        stats.merge(new StatsKey(appointment.date(), "total", TOTAL_KEY), counters, Counters::plus);
+        stats.merge(new StatsKey(appointment.date(), "staff", appointment.staffId()), counters, Counters::plus);
+        stats.merge(new StatsKey(appointment.date(), "service", appointment.serviceId()), counters, Counters::plus);
+
+        return List.of(insert("appointment", appointment.id(), appointment.customerId(), appointment.staffId(),
+                appointment.serviceId(), appointment.date(), appointment.time(),
+                appointment.status().name().toLowerCase(Locale.ROOT), appointment.notes(),
+                appointment.totalPrice(), appointment.createdAt(), appointment.updatedAt()));
+    }
+
+    @Override
+    List<BoundStatement> finish() {
+        List<BoundStatement> updates = new ArrayList<>(stats.size());
+        stats.forEach((key, counters) -> updates.add(update("stats", counters.bookings(), counters.completions(),
+                counters.revenueCents(), key.day(), key.dimension(), key.key())));
+        stats.clear();
+        return updates;
+    }
+}
@@ -0,0 +1,83 @@
+package com.beautysalon.datagen;
+
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Runs asynchronous writes with at most {@code maxInFlight} outstanding. Generator threads block in
+ * {@link #submit} while the limit is reached, so they never outrun the cluster and the driver's request
+ * queue never grows without bound. The first failure is kept and fails every later submission, which stops
+ * the load instead of piling up errors.
+ */
+final class BoundedExecutor {
+
+    private final int maxInFlight;
+    private final Semaphore permits;
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    BoundedExecutor(int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be at least 1");
+        }
+        this.maxInFlight = maxInFlight;
+        this.permits = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * Start {@code write} once a slot is free.
+     *
+     * @throws IllegalStateException when an earlier write failed
+     */
+    void submit(Supplier<? extends CompletionStage<?>> write) throws InterruptedException {
+        permits.acquire();
+        if (failure.get() != null) {
+            permits.release();
+            rethrowFailure();
+        }
+        CompletionStage<?> stage;
+        try {
+            stage = write.get();
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        stage.whenComplete((result, error) -> {
+            if (error != null) {
+                failure.compareAndSet(null, error);
+            } else {
+                completed.incrementAndGet();
+            }
+            permits.release();
+        });
+    }
+
+    /**
+     * Wait for every submitted write to finish.
+     *
+     * @throws IllegalStateException when a write failed
+     */
+    void await() throws InterruptedException {
+        permits.acquire(maxInFlight);
+        permits.release(maxInFlight);
+        rethrowFailure();
+    }
+
+    long completed() {
+        return completed.get();
+    }
+
+    int inFlight() {
+        return maxInFlight - permits.availablePermits();
+    }
+
+    private void rethrowFailure() {
+        Throwable error = failure.get();
+        if (error != null) {
+            throw new IllegalStateException("Write failed: " + error.getMessage(), error);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.beautysalon.datagen;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
+
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * How one backend stores the synthetic rows. The two backends share table names but not columns, so
+ * each target checks that its backend created the tables it writes, then binds every row to prepared
+ * statements. Neither target creates tables: start the backend once against the cluster first, and its
+ * migrations or schema action create exactly the schema it reads.
+ */
+abstract class CassandraSchema {
+
+    /**
+     * A statement to prepare, with the table and columns it needs.
+     */
+    record Cql(String table, List<String> columns, String text) {
+
+        static Cql insert(String table, String... columns) {
+            String values = String.join(", ", Collections.nCopies(columns.length, "?"));
+            return new Cql(table, List.of(columns),
+                    "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES (" + values + ")");
+        }
+    }
+
+    private final Map<String, PreparedStatement> prepared = new HashMap<>();
+
+    /**
+     * @param zone where the reactive backend runs; the blocking backend stores dates and times without one
+     */
+    static CassandraSchema of(String target, ZoneId zone) {
+        return switch (target.toLowerCase(Locale.ROOT)) {
+            case "blocking" -> new BlockingSchema();
+            case "reactive" -> new ReactiveSchema(zone);
+            default -> throw new IllegalArgumentException("Unknown target '" + target + "'; use blocking or reactive");
+        };
+    }
+
+    abstract String name();
+
+    /**
+     * The statements of this target by key.
+     */
+    abstract Map<String, Cql> statements();
+
+    abstract List<BoundStatement> customer(SyntheticData.Customer customer);
+
+    abstract List<BoundStatement> staff(SyntheticData.Staff staff);
+
+    abstract List<BoundStatement> service(SyntheticData.Service service);
+
+    abstract List<BoundStatement> appointment(SyntheticData.Appointment appointment);
+
+    /**
+     * Statements to run once every appointment is written, e.g. rollups accumulated along the way.
+     */
+    List<BoundStatement> finish() {
+        return List.of();
+    }
+
+    /**
+     * Check the session keyspace's tables and prepare every statement.
+     *
+     * @throws IllegalStateException when a table or column is missing
+     */
+    void prepare(CqlSession session) {
+        CqlIdentifier keyspace = session.getKeyspace()
+                .orElseThrow(() -> new IllegalStateException("The session has no keyspace"));
+        for (Map.Entry<String, Cql> entry : statements().entrySet()) {
+            Cql cql = entry.getValue();
+            String qualified = keyspace.asInternal() + "." + cql.table();
+            TableMetadata table = session.getMetadata().getKeyspace(keyspace)
+                    .flatMap(metadata -> metadata.getTable(cql.table()))
+                    .orElseThrow(() -> new IllegalStateException("Table " + qualified + " does not exist; start the "
+                            + name() + " backend once against this cluster to create it"));
+            for (String column : cql.columns()) {
+                if (table.getColumn(CqlIdentifier.fromCql(column)).isEmpty()) {
+                    throw new IllegalStateException("Table " + qualified + " has no column " + column
+                            + "; it belongs to the other backend, load into a keyspace of the " + name() + " backend");
+                }
+            }
+            prepared.put(entry.getKey(), session.prepare(cql.text()));
+        }
+    }
+
+    /**
+     * Bind an insert. Inserts are idempotent, so the driver may retry them.
+     */
+    protected BoundStatement insert(String key, Object... values) {
+        return statement(key).bind(values).setIdempotent(true);
+    }
+
+    /**
+     * Bind a statement that must not be retried, such as a counter update.
+     */
+    protected BoundStatement update(String key, Object... values) {
+        return statement(key).bind(values).setIdempotent(false);
+    }
+
+    private PreparedStatement statement(String key) {
+        PreparedStatement statement = prepared.get(key);
+        if (statement == null) {
+            throw new IllegalStateException("Statement " + key + " is not prepared");
+        }
+        return statement;
+    }
+}
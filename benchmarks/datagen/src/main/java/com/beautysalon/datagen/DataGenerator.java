@@ -0,0 +1,142 @@
+package com.beautysalon.datagen;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
+import com.datastax.oss.driver.api.core.config.DriverConfigLoader;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Entry point of {@code datagen.jar}:
+ * <pre>
+ * java -jar datagen.jar --target blocking|reactive [--scale F] [--contact-points HOST:PORT,...]
+ *                       [--keyspace NAME] [--datacenter NAME] [--max-in-flight N] [--threads N]
+ *                       [--pools FILE] [--pool-size N] [--seed N] [--customers N] [--appointments N]
+ *                       [--staff N] [--services N] [--days N] [--as-of DATE] [--zone ZONE]
+ *                       [--visit-skew S] [--staff-skew S] [--service-skew S]
+ * java -jar datagen.jar --dry-run [same dataset options]
+ * </pre>
+ * Without size options the dataset is production-sized (3M customers, 40M appointments); {@code --scale}
+ * multiplies it. {@code --dry-run} prints the dataset's profile and writes the pools without connecting.
+ */
+public final class DataGenerator {
+
+    static final int DEFAULT_POOL_SIZE = 10_000;
+    static final int DEFAULT_MAX_IN_FLIGHT = 256;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+    private static final int PROFILE_SAMPLE = 200_000;
+    private static final Set<String> FLAGS = Set.of("help", "dry-run");
+
+    private DataGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, String> options = parse(args);
+        boolean dryRun = options.containsKey("dry-run");
+        if (options.containsKey("help") || !(dryRun || options.containsKey("target"))) {
+            System.out.println("Usage: java -jar datagen.jar --target blocking|reactive [--scale F]"
+                    + " [--contact-points HOST:PORT,...] [--keyspace NAME] [--datacenter NAME]"
+                    + " [--max-in-flight N] [--threads N] [--pools FILE] [--pool-size N] [--seed N]");
+            System.out.println("       java -jar datagen.jar --dry-run [--scale F] [--pools FILE]");
+            System.exit(options.containsKey("help") ? 0 : 2);
+        }
+        DatasetSpec spec = spec(options);
+        System.out.printf("Generating %,d customers, %,d staff, %,d services and %,d appointments from %s to %s (seed %d)%n",
+                spec.customers(), spec.staff(), spec.services(), spec.appointments(), spec.firstDay(),
+                spec.firstDay().plusDays(spec.days() - 1), spec.seed());
+        SyntheticData data = new SyntheticData(spec);
+
+        if (dryRun) {
+            DatasetProfile.of(data, PROFILE_SAMPLE).print(System.out);
+        } else {
+            CassandraSchema schema = CassandraSchema.of(options.get("target"), spec.zone());
+            int maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", String.valueOf(DEFAULT_MAX_IN_FLIGHT)));
+            int threads = Integer.parseInt(options.getOrDefault("threads",
+                    String.valueOf(Runtime.getRuntime().availableProcessors())));
+            try (CqlSession session = session(options)) {
+                System.out.printf("Loading into %s for the %s backend, %d threads, %d requests in flight%n",
+                        session.getKeyspace().map(Object::toString).orElse("?"), schema.name(), threads, maxInFlight);
+                DataLoader.Summary summary = new DataLoader(data, schema, session, maxInFlight, threads, System.out).load();
+                System.out.printf("Wrote %,d statements in %s (%,.0f/s)%n", summary.statements(),
+                        summary.elapsed(), summary.statementsPerSecond());
+            }
+        }
+
+        if (options.containsKey("pools")) {
+            Path pools = Path.of(options.get("pools"));
+            new PoolExporter().write(data,
+                    Integer.parseInt(options.getOrDefault("pool-size", String.valueOf(DEFAULT_POOL_SIZE))), pools);
+            System.out.println("Pools written to " + pools);
+        }
+    }
+
+    static DatasetSpec spec(Map<String, String> options) {
+        LocalDate today = options.containsKey("as-of") ? LocalDate.parse(options.get("as-of")) : LocalDate.now();
+        DatasetSpec production = DatasetSpec.production(today, Long.parseLong(options.getOrDefault("seed", "42")));
+        DatasetSpec scaled = production.scaled(Double.parseDouble(options.getOrDefault("scale", "1")));
+        int days = options.containsKey("days") ? Integer.parseInt(options.get("days")) : scaled.days();
+        return new DatasetSpec(
+                longOption(options, "customers", scaled.customers()),
+                (int) longOption(options, "staff", scaled.staff()),
+                (int) longOption(options, "services", scaled.services()),
+                longOption(options, "appointments", scaled.appointments()),
+                today.minusDays(Math.max(0, days - DatasetSpec.FUTURE_DAYS)),
+                days,
+                today,
+                doubleOption(options, "visit-skew", scaled.visitSkew()),
+                scaled.maxVisits(),
+                doubleOption(options, "staff-skew", scaled.staffSkew()),
+                doubleOption(options, "service-skew", scaled.serviceSkew()),
+                scaled.seed(),
+                options.containsKey("zone") ? ZoneId.of(options.get("zone")) : scaled.zone());
+    }
+
+    private static CqlSession session(Map<String, String> options) {
+        var builder = CqlSession.builder()
+                .withKeyspace(options.getOrDefault("keyspace", "beauty_salon"))
+                .withLocalDatacenter(options.getOrDefault("datacenter", "datacenter1"))
+                .withConfigLoader(DriverConfigLoader.programmaticBuilder()
+                        .withDuration(DefaultDriverOption.REQUEST_TIMEOUT, REQUEST_TIMEOUT)
+                        .build());
+        for (String contactPoint : options.getOrDefault("contact-points", "localhost:9042").split(",")) {
+            String[] hostAndPort = contactPoint.trim().split(":");
+            builder.addContactPoint(new InetSocketAddress(hostAndPort[0],
+                    hostAndPort.length > 1 ? Integer.parseInt(hostAndPort[1]) : 9042));
+        }
+        return builder.build();
+    }
+
+    private static long longOption(Map<String, String> options, String name, long fallback) {
+        return options.containsKey(name) ? Long.parseLong(options.get(name)) : fallback;
+    }
+
+    private static double doubleOption(Map<String, String> options, String name, double fallback) {
+        return options.containsKey(name) ? Double.parseDouble(options.get(name)) : fallback;
+    }
+
+    static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+            String name = args[i].substring(2);
+            if (FLAGS.contains(name)) {
+                options.put(name, "");
+            } else if (i + 1 < args.length) {
+                options.put(name, args[++i]);
+            } else {
+                throw new IllegalArgumentException("Missing value for --" + name);
+            }
+        }
+        return options;
+    }
+}
@@ -0,0 +1,126 @@
+package com.beautysalon.datagen;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongFunction;
+
+/**
+ * Writes a {@link SyntheticData} set through one target's prepared statements. Services and staff go
+ * first, then customers, then appointments, so a backend serving reads during the load never sees an
+ * appointment whose customer is missing. Within a phase, generator threads claim chunks of row indexes
+ * and submit asynchronously through one {@link BoundedExecutor}, which keeps the cluster busy without
+ * letting the request queue grow; progress is printed every few seconds.
+ */
+final class DataLoader {
+
+    static final int CHUNK = 1_000;
+    private static final long PROGRESS_SECONDS = 5;
+
+    record Summary(long customers, long staff, long services, long appointments, long statements, Duration elapsed) {
+
+        double statementsPerSecond() {
+            return statements / Math.max(0.001, elapsed.toMillis() / 1000.0);
+        }
+    }
+
+    private final SyntheticData data;
+    private final CassandraSchema schema;
+    private final CqlSession session;
+    private final int threads;
+    private final BoundedExecutor executor;
+    private final PrintStream out;
+
+    DataLoader(SyntheticData data, CassandraSchema schema, CqlSession session, int maxInFlight, int threads,
+               PrintStream out) {
+        this.data = data;
+        this.schema = schema;
+        this.session = session;
+        this.threads = threads;
+        this.executor = new BoundedExecutor(maxInFlight);
+        this.out = out;
+    }
+
+    Summary load() throws InterruptedException {
+        DatasetSpec spec = data.spec();
+        long started = System.nanoTime();
+        schema.prepare(session);
+        run("services", spec.services(), index -> schema.service(data.service((int) index)));
+        run("staff", spec.staff(), index -> schema.staff(data.staff((int) index)));
+        run("customers", spec.customers(), index -> schema.customer(data.customer(index)));
+        run("appointments", spec.appointments(), index -> schema.appointment(data.appointment(index)));
+        List<BoundStatement> finish = schema.finish();
+        if (!finish.isEmpty()) {
+            run("rollups", finish.size(), index -> List.of(finish.get((int) index)));
+        }
+        return new Summary(spec.customers(), spec.staff(), spec.services(), spec.appointments(), executor.completed(),
+                Duration.ofNanos(System.nanoTime() - started));
+    }
+
+    private void run(String phase, long rows, LongFunction<List<BoundStatement>> statements)
+            throws InterruptedException {
+        AtomicLong next = new AtomicLong();
+        AtomicLong done = new AtomicLong();
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        long started = System.nanoTime();
+        long completedBefore = executor.completed();
+
+        ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "datagen-progress");
+            thread.setDaemon(true);
+            return thread;
+        });
+        progress.scheduleAtFixedRate(() -> report(phase, done.get(), rows, executor.completed() - completedBefore,
+                started), PROGRESS_SECONDS, PROGRESS_SECONDS, TimeUnit.SECONDS);
+
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, threads); i++) {
+            workers.add(Thread.ofPlatform().name("datagen-" + phase + "-" + i).start(() -> {
+                try {
+                    for (long from = next.getAndAdd(CHUNK); from < rows && failure.get() == null;
+                         from = next.getAndAdd(CHUNK)) {
+                        long to = Math.min(rows, from + CHUNK);
+                        for (long index = from; index < to; index++) {
+                            for (BoundStatement statement : statements.apply(index)) {
+                                executor.submit(() -> session.executeAsync(statement));
+                            }
+                        }
+                        done.addAndGet(to - from);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    failure.compareAndSet(null, new IllegalStateException("Interrupted while loading " + phase));
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                }
+            }));
+        }
+        try {
+            for (Thread worker : workers) {
+                worker.join();
+            }
+            if (failure.get() != null) {
+                throw failure.get();
+            }
+            executor.await();
+        } finally {
+            progress.shutdownNow();
+        }
+        report(phase, done.get(), rows, executor.completed() - completedBefore, started);
+    }
+
+    private void report(String phase, long done, long rows, long statements, long startedNanos) {
+        double seconds = Math.max(0.001, (System.nanoTime() - startedNanos) / 1e9);
+        out.printf("%-12s %,d/%,d rows (%.1f%%), %,.0f statements/s, %d in flight%n", phase, done, rows,
+                rows == 0 ? 100.0 : 100.0 * done / rows, statements / seconds, executor.inFlight());
+    }
+}
@@ -0,0 +1,100 @@
+package com.beautysalon.datagen;
+
+import java.io.PrintStream;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * The shape of a dataset, measured on a sample of its appointments: how concentrated visits and bookings
+ * are, and how they spread over statuses, weekdays and months. Printed by {@code --dry-run} so the skew
+ * parameters can be tuned without a cluster.
+ *
+ * @param topCustomerShare     share of all visits made by the busiest 1% of customers
+ * @param returningShare       share of customers expected to have more than one visit
+ * @param topStaffShare        share of bookings taken by the busiest 10% of staff
+ * @param busiestDayBookings   bookings on the busiest day, extrapolated from the sample
+ */
+public record DatasetProfile(
+        int sampled,
+        double topCustomerShare,
+        double returningShare,
+        double topStaffShare,
+        Map<SyntheticData.Status, Double> statuses,
+        Map<DayOfWeek, Double> weekdays,
+        Map<Month, Double> months,
+        LocalDate busiestDay,
+        long busiestDayBookings) {
+
+    public static DatasetProfile of(SyntheticData data, int sampleSize) {
+        DatasetSpec spec = data.spec();
+        int customers = (int) spec.customers();
+        long[] weights = new long[customers];
+        double visitsPerWeight = (double) spec.appointments() / data.totalVisitWeight();
+        int returning = 0;
+        for (int i = 0; i < customers; i++) {
+            weights[i] = data.visitWeight(i);
+            if (weights[i] * visitsPerWeight > 1.0) {
+                returning++;
+            }
+        }
+        Arrays.sort(weights);
+        long top = 0;
+        int topCount = Math.max(1, customers / 100);
+        for (int i = customers - topCount; i < customers; i++) {
+            top += weights[i];
+        }
+
+        int sampled = (int) Math.min(sampleSize, spec.appointments());
+        SplittableRandom random = new SplittableRandom(spec.seed());
+        Map<String, Integer> byStaff = new HashMap<>();
+        Map<LocalDate, Integer> byDay = new HashMap<>();
+        Map<SyntheticData.Status, Double> statuses = new EnumMap<>(SyntheticData.Status.class);
+        Map<DayOfWeek, Double> weekdays = new EnumMap<>(DayOfWeek.class);
+        Map<Month, Double> months = new EnumMap<>(Month.class);
+        for (int i = 0; i < sampled; i++) {
+            SyntheticData.Appointment appointment = data.appointment(random.nextLong(spec.appointments()));
+            byStaff.merge(appointment.staffId().toString(), 1, Integer::sum);
+            byDay.merge(appointment.date(), 1, Integer::sum);
+            statuses.merge(appointment.status(), 1.0 / sampled, Double::sum);
+            weekdays.merge(appointment.date().getDayOfWeek(), 1.0 / sampled, Double::sum);
+            months.merge(appointment.date().getMonth(), 1.0 / sampled, Double::sum);
+        }
+
+        int[] staffCounts = byStaff.values().stream().mapToInt(Integer::intValue).sorted().toArray();
+        int topStaff = Math.max(1, spec.staff() / 10);
+        long topStaffBookings = 0;
+        for (int i = Math.max(0, staffCounts.length - topStaff); i < staffCounts.length; i++) {
+            topStaffBookings += staffCounts[i];
+        }
+        Map.Entry<LocalDate, Integer> busiest = byDay.entrySet().stream()
+                .max(Map.Entry.comparingByValue()).orElse(Map.entry(spec.firstDay(), 0));
+
+        return new DatasetProfile(sampled, (double) top / data.totalVisitWeight(), (double) returning / customers,
+                sampled == 0 ? 0.0 : (double) topStaffBookings / sampled, statuses, weekdays, months,
+                busiest.getKey(), sampled == 0 ? 0 : Math.round((double) busiest.getValue() * spec.appointments() / sampled));
+    }
+
+    public void print(PrintStream out) {
+        out.printf("Busiest 1%% of customers:  %.1f%% of visits%n", 100 * topCustomerShare);
+        out.printf("Returning customers:      %.1f%%%n", 100 * returningShare);
+        out.printf("Busiest 10%% of staff:     %.1f%% of bookings%n", 100 * topStaffShare);
+        out.printf("Busiest day:              %s, about %,d bookings%n", busiestDay, busiestDayBookings);
+        out.println("Statuses:                 " + percentages(statuses));
+        out.println("Weekdays:                 " + percentages(weekdays));
+        out.println("Months:                   " + percentages(months));
+        out.printf("(sampled %,d appointments)%n", sampled);
+    }
+
+    private static String percentages(Map<?, Double> shares) {
+        StringBuilder line = new StringBuilder();
+        shares.forEach((key, share) -> line.append(line.isEmpty() ? "" : ", ")
+                .append(key).append(' ').append(String.format("%.1f%%", 100 * share)));
+        return line.toString();
+    }
+}
@@ -0,0 +1,80 @@
+package com.beautysalon.datagen;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * Size and shape of a synthetic dataset. The same spec and seed always produce the same rows, ids
+ * included, so a dataset can be reloaded or regenerated on another machine and the pools exported for the
+ * load generator still match it.
+ *
+ * @param firstDay     first day with appointments; the last is {@code firstDay + days - 1}
+ * @param asOf         the dataset's today: appointments before it are finished, the others still open
+ * @param visitSkew    Zipf exponent of the customers' visit counts; higher means fewer regulars with more visits
+ * @param maxVisits    largest relative visit weight of a customer
+ * @param staffSkew    Zipf exponent of staff popularity
+ * @param serviceSkew  Zipf exponent of service popularity within a staff member's category
+ * @param zone         zone of the reactive backend, whose {@code LocalDateTime} columns are stored as instants
+ */
+public record DatasetSpec(
+        long customers,
+        int staff,
+        int services,
+        long appointments,
+        LocalDate firstDay,
+        int days,
+        LocalDate asOf,
+        double visitSkew,
+        int maxVisits,
+        double staffSkew,
+        double serviceSkew,
+        long seed,
+        ZoneId zone) {
+
+    /** Production sizes: about 3M customers and 40M appointments over two years. */
+    public static final long PRODUCTION_CUSTOMERS = 3_000_000;
+    public static final long PRODUCTION_APPOINTMENTS = 40_000_000;
+    public static final int PRODUCTION_STAFF = 400;
+    public static final int PRODUCTION_SERVICES = 60;
+    public static final int HISTORY_DAYS = 730;
+    public static final int FUTURE_DAYS = 60;
+
+    public DatasetSpec {
+        if (customers < 1 || staff < 1 || services < 1 || appointments < 0) {
+            throw new IllegalArgumentException("A dataset needs customers, staff and services");
+        }
+        if (days < 1) {
+            throw new IllegalArgumentException("days must be at least 1");
+        }
+        if (maxVisits < 1) {
+            throw new IllegalArgumentException("maxVisits must be at least 1");
+        }
+        if (customers > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("At most " + Integer.MAX_VALUE + " customers");
+        }
+    }
+
+    /**
+     * Production-sized dataset spanning the last two years and the next two months.
+     */
+    public static DatasetSpec production(LocalDate today, long seed) {
+        return new DatasetSpec(PRODUCTION_CUSTOMERS, PRODUCTION_STAFF, PRODUCTION_SERVICES, PRODUCTION_APPOINTMENTS,
+                today.minusDays(HISTORY_DAYS), HISTORY_DAYS + FUTURE_DAYS, today, 1.6, 1000, 1.0, 0.8, seed,
+                ZoneId.systemDefault());
+    }
+
+    /**
+     * This spec with customer and appointment counts multiplied by {@code factor}. Staff and services
+     * shrink with its square root and never grow, so a small dataset still has busy stylists.
+     */
+    public DatasetSpec scaled(double factor) {
+        if (factor <= 0) {
+            throw new IllegalArgumentException("scale must be positive");
+        }
+        return new DatasetSpec(Math.max(1, Math.round(customers * factor)),
+                (int) Math.max(1, Math.round(staff * Math.sqrt(Math.min(factor, 1.0)))),
+                (int) Math.max(1, Math.round(services * Math.sqrt(Math.min(factor, 1.0)))),
+                Math.round(appointments * factor), firstDay, days, asOf, visitSkew, maxVisits, staffSkew, serviceSkew,
+                seed, zone);
+    }
+}
@@ -0,0 +1,71 @@
+package com.beautysalon.datagen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Writes ids and keys of a dataset as the load generator's variable pools ({@code --pools}, or
+ * {@code pools} of a parity backend), so its scenarios can address the loaded rows without setup steps.
+ * Pool names match the ones the bundled scenarios capture. Customers are sampled through their
+ * appointments, so busy customers show up in the pools as often as they show up in production traffic.
+ */
+final class PoolExporter {
+
+    private final ObjectMapper json = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    Map<String, List<String>> pools(SyntheticData data, int size) {
+        DatasetSpec spec = data.spec();
+        SplittableRandom random = new SplittableRandom(spec.seed());
+        Set<String> customers = new LinkedHashSet<>();
+        Set<String> emails = new LinkedHashSet<>();
+        Set<String> appointments = new LinkedHashSet<>();
+        for (int i = 0; i < size && spec.appointments() > 0; i++) {
+            long index = random.nextLong(spec.appointments());
+            SyntheticData.Customer customer = data.customer(data.customerOf(index));
+            customers.add(customer.id().toString());
+            emails.add(customer.email());
+            appointments.add(data.appointment(index).id().toString());
+        }
+        List<String> staff = new ArrayList<>();
+        for (int i = 0; i < spec.staff(); i++) {
+            SyntheticData.Staff member = data.staff(i);
+            if (member.active()) {
+                staff.add(member.id().toString());
+            }
+        }
+        List<String> services = new ArrayList<>();
+        for (int i = 0; i < spec.services(); i++) {
+            SyntheticData.Service service = data.service(i);
+            if (service.active()) {
+                services.add(service.id().toString());
+            }
+        }
+
+        Map<String, List<String>> pools = new LinkedHashMap<>();
+        pools.put("customers", new ArrayList<>(customers));
+        pools.put("customerEmails", new ArrayList<>(emails));
+        pools.put("staff", staff);
+        pools.put("services", services);
+        pools.put("appointments", new ArrayList<>(appointments));
+        return pools;
+    }
+
+    void write(SyntheticData data, int size, Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        json.writeValue(file.toFile(), pools(data, size));
+    }
+}
@@ -0,0 +1,81 @@
+package com.beautysalon.datagen;
+
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The reactive backend's schema as Spring Data creates it from the entity records: camelCase properties
+ * become lowercase columns ({@code customerId} is {@code customerid}), an appointment's date and time are one
+ * timestamp, statuses are uppercase, and every appointment also has its row in the
+ * {@code appointments_by_day} query table, as the backend writes both on create.
+ */
+final class ReactiveSchema extends CassandraSchema {
+
+    private final ZoneId zone;
+
+    /**
+     * @param zone the backend's default zone, in which Spring Data turns {@code LocalDateTime} into timestamps
+     */
+    ReactiveSchema(ZoneId zone) {
+        this.zone = zone;
+    }
+
+    @Override
+    String name() {
+        return "reactive";
+    }
+
+    @Override
+    Map<String, Cql> statements() {
+        Map<String, Cql> statements = new LinkedHashMap<>();
+        statements.put("customer", Cql.insert("customers",
+                "id", "name", "email", "phone", "address", "createdat", "updatedat"));
+        statements.put("staff", Cql.insert("staff",
+                "id", "name", "email", "phone", "role", "specialties", "active", "createdat", "updatedat"));
+        statements.put("service", Cql.insert("services",
+                "id", "name", "description", "price", "durationminutes", "category", "active", "createdat", "updatedat"));
+        statements.put("appointment", Cql.insert("appointments",
+                "id", "customerid", "serviceid", "staffid", "appointmentdate", "status", "notes", "createdat", "updatedat"));
+        statements.put("appointmentByDay", Cql.insert("appointments_by_day",
+                "day", "appointment_date", "id", "customer_id", "service_id", "staff_id", "status", "notes",
+                "created_at", "updated_at"));
+        return statements;
+    }
+
+    @Override
+    List<BoundStatement> customer(SyntheticData.Customer customer) {
+        return List.of(insert("customer", customer.id(), customer.name(), customer.email(), customer.phone(),
+                customer.address(), customer.createdAt(), customer.createdAt()));
+    }
+
+    @Override
+    List<BoundStatement> staff(SyntheticData.Staff staff) {
+        return List.of(insert("staff", staff.id(), staff.name(), staff.email(), staff.phone(), staff.role(),
+                staff.specialties(), staff.active(), staff.createdAt(), staff.createdAt()));
+    }
+
+    @Override
+    List<BoundStatement> service(SyntheticData.Service service) {
+        return List.of(insert("service", service.id(), service.name(), service.description(), service.price(),
+                service.durationMinutes(), service.category(), service.active(), service.createdAt(),
+                service.createdAt()));
+    }
+
+    @Override
+    List<BoundStatement> appointment(SyntheticData.Appointment appointment) {
+        Instant start = appointment.start().atZone(zone).toInstant();
+        String status = appointment.status().name();
+        return List.of(
+                insert("appointment", appointment.id(), appointment.customerId(), appointment.serviceId(),
+                        appointment.staffId(), start, status, appointment.notes(), appointment.createdAt(),
+                        appointment.updatedAt()),
+                insert("appointmentByDay", appointment.date(), start, appointment.id(), appointment.customerId(),
+                        appointment.serviceId(), appointment.staffId(), status, appointment.notes(),
+                        appointment.createdAt(), appointment.updatedAt()));
+    }
+}
@@ -0,0 +1,108 @@
+package com.beautysalon.datagen;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.MonthDay;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * When appointments happen. A day's share of the bookings is the product of a weekday factor (Friday and
+ * Saturday are busiest, Sunday nearly closed), a month factor (December and November peak, the Carnival and
+ * Mother's Day months are busy, January and July are quiet) and a bump before a few holidays. Within a day,
+ * quarter-hour slots between opening and closing are weighted toward late morning and after work.
+ */
+final class Seasonality {
+
+    static final int OPENING_HOUR = 9;
+    static final int CLOSING_HOUR = 18;
+    static final int SLOT_MINUTES = 15;
+
+    private static final Map<DayOfWeek, Double> WEEKDAY = Map.of(
+            DayOfWeek.MONDAY, 0.5,
+            DayOfWeek.TUESDAY, 0.9,
+            DayOfWeek.WEDNESDAY, 1.0,
+            DayOfWeek.THURSDAY, 1.1,
+            DayOfWeek.FRIDAY, 1.5,
+            DayOfWeek.SATURDAY, 1.8,
+            DayOfWeek.SUNDAY, 0.1);
+
+    private static final double[] MONTH = {
+            0.75, 1.05, 0.9, 0.9, 1.15, 0.95, 0.8, 0.9, 0.95, 1.0, 1.1, 1.45};
+
+    /** The week up to these days books twice as much: Dia dos Namorados and New Year's Eve. */
+    private static final MonthDay[] HOLIDAYS = {MonthDay.of(Month.JUNE, 12), MonthDay.of(Month.DECEMBER, 31)};
+    private static final int HOLIDAY_LEAD_DAYS = 7;
+    private static final double HOLIDAY_FACTOR = 2.0;
+
+    private final LocalDate firstDay;
+    private final double[] dayCumulative;
+    private final double[] slotCumulative;
+
+    Seasonality(LocalDate firstDay, int days) {
+        if (days < 1) {
+            throw new IllegalArgumentException("days must be at least 1");
+        }
+        this.firstDay = firstDay;
+        double[] dayWeights = new double[days];
+        for (int i = 0; i < days; i++) {
+            dayWeights[i] = dayWeight(firstDay.plusDays(i));
+        }
+        this.dayCumulative = cumulative(dayWeights);
+
+        int slots = (CLOSING_HOUR - OPENING_HOUR) * 60 / SLOT_MINUTES;
+        double[] slotWeights = new double[slots];
+        for (int i = 0; i < slots; i++) {
+            slotWeights[i] = slotWeight(OPENING_HOUR + i * SLOT_MINUTES / 60.0);
+        }
+        this.slotCumulative = cumulative(slotWeights);
+    }
+
+    static double dayWeight(LocalDate day) {
+        double weight = WEEKDAY.get(day.getDayOfWeek()) * MONTH[day.getMonthValue() - 1];
+        for (MonthDay holiday : HOLIDAYS) {
+            LocalDate date = holiday.atYear(day.getYear());
+            if (!day.isAfter(date) && day.isAfter(date.minusDays(HOLIDAY_LEAD_DAYS + 1))) {
+                weight *= HOLIDAY_FACTOR;
+            }
+        }
+        return weight;
+    }
+
+    /**
+     * Two bumps over a flat base: late morning around 10:30 and after work around 16:30.
+     */
+    static double slotWeight(double hour) {
+        return 0.4 + Math.exp(-Math.pow(hour - 10.5, 2) / 2) + 1.2 * Math.exp(-Math.pow(hour - 16.5, 2) / 2);
+    }
+
+    LocalDate day(double uniform) {
+        return firstDay.plusDays(index(dayCumulative, uniform));
+    }
+
+    LocalTime time(double uniform) {
+        int slot = index(slotCumulative, uniform);
+        return LocalTime.of(OPENING_HOUR, 0).plusMinutes((long) slot * SLOT_MINUTES);
+    }
+
+    private static double[] cumulative(double[] weights) {
+        double[] cumulative = new double[weights.length];
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i];
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < cumulative.length; i++) {
+            cumulative[i] /= sum;
+        }
+        cumulative[cumulative.length - 1] = 1.0;
+        return cumulative;
+    }
+
+    private static int index(double[] cumulative, double uniform) {
+        int index = Arrays.binarySearch(cumulative, uniform);
+        return Math.min(index >= 0 ? index + 1 : -index - 1, cumulative.length - 1);
+    }
+}
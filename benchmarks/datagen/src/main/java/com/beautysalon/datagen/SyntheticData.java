@@ -0,0 +1,293 @@
+package com.beautysalon.datagen;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Rows of a {@link DatasetSpec}, computed from their index alone: every row draws from its own random
+ * stream seeded by the spec's seed, the row kind and the index, so any range of rows can be generated on
+ * any thread, in any order, and comes out the same.
+ * <p>
+ * The skew lives in three places. Customers get a Zipf-distributed visit weight and appointments are
+ * dealt out in proportion to it, so a few regulars have hundreds of visits while most customers have one
+ * or none. Staff are picked by a Zipf distribution over their popularity rank, and services by another
+ * within the stylist's category. Dates and times follow {@link Seasonality}.
+ */
+public final class SyntheticData {
+
+    public enum Status {
+        SCHEDULED, CONFIRMED, COMPLETED, CANCELLED, NO_SHOW
+    }
+
+    public record Customer(UUID id, String name, String email, String phone, String address, Instant createdAt) {
+    }
+
+    public record Staff(UUID id, String name, String email, String phone, String role, String category,
+                        List<String> specialties, boolean active, Instant createdAt) {
+    }
+
+    public record Service(UUID id, String name, String description, int durationMinutes, BigDecimal price,
+                          String category, boolean active, Instant createdAt) {
+    }
+
+    public record Appointment(UUID id, UUID customerId, UUID staffId, UUID serviceId, LocalDate date,
+                              LocalTime time, Status status, String notes, BigDecimal totalPrice,
+                              Instant createdAt, Instant updatedAt) {
+
+        public LocalDateTime start() {
+            return date.atTime(time);
+        }
+    }
+
+    private record CatalogEntry(String name, String description, int durationMinutes, String price) {
+    }
+
+    static final String[] CATEGORIES = {"hair", "nails", "skin"};
+    private static final String[] ROLES = {"stylist", "manicurist", "esthetician"};
+    private static final CatalogEntry[][] CATALOG = {
+            {
+                    new CatalogEntry("Haircut", "Wash, cut and finish", 45, "60.00"),
+                    new CatalogEntry("Blow dry", "Blow dry and styling", 45, "45.00"),
+                    new CatalogEntry("Coloring", "Full color", 120, "180.00"),
+                    new CatalogEntry("Highlights", "Foil highlights", 150, "240.00"),
+                    new CatalogEntry("Hydration", "Deep conditioning treatment", 60, "90.00"),
+                    new CatalogEntry("Keratin treatment", "Smoothing keratin treatment", 180, "300.00")
+            },
+            {
+                    new CatalogEntry("Manicure", "Complete manicure", 45, "35.00"),
+                    new CatalogEntry("Pedicure", "Complete pedicure", 60, "45.00"),
+                    new CatalogEntry("Gel nails", "Gel extension", 90, "120.00"),
+                    new CatalogEntry("Nail art", "Hand-painted nail art", 60, "70.00")
+            },
+            {
+                    new CatalogEntry("Facial cleansing", "Deep facial cleansing", 90, "150.00"),
+                    new CatalogEntry("Eyebrow design", "Eyebrow shaping", 30, "50.00"),
+                    new CatalogEntry("Waxing", "Body waxing", 45, "80.00"),
+                    new CatalogEntry("Peeling", "Chemical peel", 60, "200.00"),
+                    new CatalogEntry("Makeup", "Event makeup", 60, "150.00")
+            }
+    };
+    private static final String[] FIRST_NAMES = {
+            "Ana", "Beatriz", "Bruno", "Camila", "Carla", "Carlos", "Daniela", "Diego", "Eduarda", "Elisa",
+            "Fabio", "Fernanda", "Gabriel", "Gabriela", "Helena", "Igor", "Isabela", "Joana", "Julia", "Larissa",
+            "Leticia", "Lucas", "Luiza", "Marcela", "Maria", "Mariana", "Natalia", "Patricia", "Paula", "Pedro",
+            "Rafaela", "Renata", "Rodrigo", "Sofia", "Tatiana", "Thiago", "Valentina", "Vanessa", "Vitoria", "Yasmin"};
+    private static final String[] LAST_NAMES = {
+            "Almeida", "Alves", "Araujo", "Barbosa", "Barros", "Cardoso", "Carvalho", "Castro", "Costa", "Dias",
+            "Fernandes", "Ferreira", "Gomes", "Lima", "Martins", "Melo", "Mendes", "Moreira", "Nascimento", "Oliveira",
+            "Pereira", "Ribeiro", "Rocha", "Rodrigues", "Santos", "Silva", "Soares", "Souza", "Teixeira", "Vieira"};
+    private static final String[] STREETS = {
+            "Rua das Flores", "Rua Augusta", "Avenida Paulista", "Rua Oscar Freire", "Rua da Consolacao",
+            "Avenida Brasil", "Rua Harmonia", "Rua Girassol", "Alameda Santos", "Rua Bela Cintra"};
+    private static final String[] NOTES = {
+            "First visit", "Allergic to ammonia", "Prefers morning slots", "Bring reference photo",
+            "Rescheduled by phone", "Gift voucher"};
+
+    private static final double NOTES_SHARE = 0.15;
+    private static final double INACTIVE_STAFF_SHARE = 0.05;
+    private static final double INACTIVE_SERVICE_SHARE = 0.05;
+    private static final int MAX_LEAD_DAYS = 30;
+    private static final int EARLIEST_REGISTRATION_DAYS = 365;
+
+    private static final long CUSTOMER = 1;
+    private static final long STAFF = 2;
+    private static final long SERVICE = 3;
+    private static final long APPOINTMENT = 4;
+    private static final long VISITS = 5;
+
+    private final DatasetSpec spec;
+    private final Seasonality seasonality;
+    private final Zipf staffPopularity;
+    private final Zipf[] servicePopularity;
+    private final int categories;
+    private final Service[] services;
+    /** Cumulative visit weights: customer {@code i} owns the positions {@code [visits[i-1], visits[i])}. */
+    private final long[] visits;
+
+    public SyntheticData(DatasetSpec spec) {
+        this.spec = spec;
+        this.seasonality = new Seasonality(spec.firstDay(), spec.days());
+        this.staffPopularity = new Zipf(spec.staff(), spec.staffSkew());
+        this.categories = Math.min(CATEGORIES.length, spec.services());
+        this.servicePopularity = new Zipf[categories];
+        for (int category = 0; category < categories; category++) {
+            int count = (spec.services() - category + categories - 1) / categories;
+            servicePopularity[category] = new Zipf(count, spec.serviceSkew());
+        }
+        this.services = new Service[spec.services()];
+        for (int i = 0; i < services.length; i++) {
+            services[i] = service(i);
+        }
+
+        Zipf visitWeights = new Zipf(spec.maxVisits(), spec.visitSkew());
+        this.visits = new long[(int) spec.customers()];
+        long total = 0;
+        for (int i = 0; i < visits.length; i++) {
+            total += visitWeights.rank(random(VISITS, i).nextDouble());
+            visits[i] = total;
+        }
+    }
+
+    public DatasetSpec spec() {
+        return spec;
+    }
+
+    public Customer customer(long index) {
+        SplittableRandom random = random(CUSTOMER, index);
+        String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        String email = (first + "." + last + "." + index + "@datagen.test").toLowerCase(Locale.ROOT);
+        String address = STREETS[random.nextInt(STREETS.length)] + ", " + (1 + random.nextInt(3000));
+        LocalDate registered = spec.firstDay().plusDays(random.nextInt(-EARLIEST_REGISTRATION_DAYS, spec.days()));
+        return new Customer(id(CUSTOMER, index), first + " " + last, email, phone(index), address,
+                instant(registered.atTime(Seasonality.OPENING_HOUR, 0)));
+    }
+
+    public Staff staff(int index) {
+        SplittableRandom random = random(STAFF, index);
+        int category = categoryOfStaff(index);
+        String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        CatalogEntry[] catalog = CATALOG[category];
+        int offset = random.nextInt(catalog.length);
+        List<String> specialties = new ArrayList<>();
+        for (int i = 0; i < Math.min(3, catalog.length); i++) {
+            specialties.add(catalog[(offset + i) % catalog.length].name());
+        }
+        String email = (first + "." + last + ".staff" + index + "@datagen.test").toLowerCase(Locale.ROOT);
+        return new Staff(id(STAFF, index), first + " " + last, email, phone(1_000_000L + index), ROLES[category],
+                CATEGORIES[category], specialties, random.nextDouble() >= INACTIVE_STAFF_SHARE,
+                instant(spec.firstDay().minusDays(random.nextInt(1, 365)).atTime(Seasonality.OPENING_HOUR, 0)));
+    }
+
+    /**
+     * Services cycle through the categories, each category through its catalog; later rounds are variants
+     * of the same service at a slightly different price.
+     */
+    public Service service(int index) {
+        SplittableRandom random = random(SERVICE, index);
+        int category = index % categories;
+        int position = index / categories;
+        CatalogEntry[] catalog = CATALOG[category];
+        CatalogEntry entry = catalog[position % catalog.length];
+        int round = position / catalog.length;
+        String name = round == 0 ? entry.name() : entry.name() + " " + (round + 1);
+        BigDecimal price = new BigDecimal(entry.price())
+                .multiply(BigDecimal.valueOf(1.0 + 0.1 * round))
+                .setScale(2, RoundingMode.HALF_UP);
+        return new Service(id(SERVICE, index), name, entry.description(), entry.durationMinutes(), price,
+                CATEGORIES[category], index < categories || random.nextDouble() >= INACTIVE_SERVICE_SHARE,
+                instant(spec.firstDay().minusDays(365).atTime(Seasonality.OPENING_HOUR, 0)));
+    }
+
+    public Appointment appointment(long index) {
+        SplittableRandom random = random(APPOINTMENT, index);
+        long customer = customerOf(index);
+        int staff = staffPopularity.rank(random.nextDouble()) - 1;
+        int category = categoryOfStaff(staff);
+        int service = category + (servicePopularity[category].rank(random.nextDouble()) - 1) * categories;
+        Service booked = services[service];
+
+        LocalDate date = seasonality.day(random.nextDouble());
+        LocalTime time = seasonality.time(random.nextDouble());
+        LocalDateTime start = date.atTime(time);
+        Status status = status(date, random.nextDouble());
+        String notes = random.nextDouble() < NOTES_SHARE ? NOTES[random.nextInt(NOTES.length)] : null;
+
+        // Most bookings are made a few days ahead; some weeks ahead.
+        double lead = random.nextDouble();
+        LocalDateTime bookedAt = start.minusDays((long) (MAX_LEAD_DAYS * lead * lead)).minusHours(random.nextInt(1, 12));
+        LocalDateTime updated = switch (status) {
+            case SCHEDULED -> bookedAt;
+            case CONFIRMED -> start.minusDays(1);
+            case COMPLETED, NO_SHOW -> start.plusMinutes(booked.durationMinutes());
+            case CANCELLED -> bookedAt.plusHours(random.nextInt(1, 48));
+        };
+        return new Appointment(id(APPOINTMENT, index), id(CUSTOMER, customer), id(STAFF, staff), booked.id(),
+                date, time, status, notes, booked.price(), instant(bookedAt), instant(updated));
+    }
+
+    /**
+     * The customer of appointment {@code index}: appointments are spread evenly over the customers'
+     * cumulative visit weights, so each customer gets a share proportional to its weight.
+     */
+    long customerOf(long index) {
+        double position = (index + 0.5) * ((double) visits[visits.length - 1] / spec.appointments());
+        int found = Arrays.binarySearch(visits, (long) position);
+        int customer = found >= 0 ? found + 1 : -found - 1;
+        return Math.min(customer, visits.length - 1);
+    }
+
+    /**
+     * Relative visit weight of customer {@code index}; its expected visits are
+     * {@code weight * appointments / totalVisitWeight()}.
+     */
+    long visitWeight(int index) {
+        return index == 0 ? visits[0] : visits[index] - visits[index - 1];
+    }
+
+    long totalVisitWeight() {
+        return visits[visits.length - 1];
+    }
+
+    int categoryOfStaff(int index) {
+        return index % categories;
+    }
+
+    private Status status(LocalDate date, double uniform) {
+        if (date.isBefore(spec.asOf())) {
+            if (uniform < 0.86) {
+                return Status.COMPLETED;
+            }
+            return uniform < 0.94 ? Status.CANCELLED : Status.NO_SHOW;
+        }
+        if (uniform < 0.6) {
+            return Status.SCHEDULED;
+        }
+        return uniform < 0.95 ? Status.CONFIRMED : Status.CANCELLED;
+    }
+
+    /**
+     * 11-digit mobile number in area code 11, unique per {@code index}; valid for both backends.
+     */
+    private static String phone(long index) {
+        return String.format(Locale.ROOT, "119%08d", index % 100_000_000L);
+    }
+
+    private Instant instant(LocalDateTime time) {
+        return time.atZone(spec.zone()).toInstant();
+    }
+
+    private SplittableRandom random(long kind, long index) {
+        return new SplittableRandom(mix(spec.seed() ^ mix(kind * 0x9E3779B97F4A7C15L + index)));
+    }
+
+    /**
+     * A random-looking version 4 UUID determined by the seed, row kind and index.
+     */
+    UUID id(long kind, long index) {
+        long high = mix(spec.seed() + mix(kind) + index * 0xBF58476D1CE4E5B9L);
+        long low = mix(high ^ index);
+        return new UUID((high & ~0xF000L) | 0x4000L, (low & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L);
+    }
+
+    /**
+     * The SplitMix64 finalizer.
+     */
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,66 @@
+package com.beautysalon.datagen;
+
+import java.util.Arrays;
+
+/**
+ * Zipf distribution over the ranks {@code 1..n}: rank {@code k} has probability proportional to
+ * {@code 1 / k^exponent}. The cumulative table is computed once, so sampling is a binary search;
+ * the generator only needs it for small {@code n} (staff, services, visit counts).
+ */
+final class Zipf {
+
+    private final double exponent;
+    private final double[] cumulative;
+
+    Zipf(int n, double exponent) {
+        if (n < 1) {
+            throw new IllegalArgumentException("n must be at least 1");
+        }
+        if (exponent < 0) {
+            throw new IllegalArgumentException("exponent must not be negative");
+        }
+        this.exponent = exponent;
+        this.cumulative = new double[n];
+        double sum = 0;
+        for (int k = 1; k <= n; k++) {
+            sum += Math.pow(k, -exponent);
+            cumulative[k - 1] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cumulative[i] /= sum;
+        }
+        cumulative[n - 1] = 1.0;
+    }
+
+    int size() {
+        return cumulative.length;
+    }
+
+    double exponent() {
+        return exponent;
+    }
+
+    /**
+     * The rank, from 1, whose cumulative probability interval contains {@code uniform} in {@code [0, 1)}.
+     */
+    int rank(double uniform) {
+        int index = Arrays.binarySearch(cumulative, uniform);
+        int rank = index >= 0 ? index + 2 : -index;
+        return Math.min(rank, cumulative.length);
+    }
+
+    double probability(int rank) {
+        return rank == 1 ? cumulative[0] : cumulative[rank - 1] - cumulative[rank - 2];
+    }
+
+    /**
+     * Expected rank, i.e. the mean of the distribution.
+     */
+    double mean() {
+        double mean = 0;
+        for (int rank = 1; rank <= cumulative.length; rank++) {
+            mean += rank * probability(rank);
+        }
+        return mean;
+    }
+}
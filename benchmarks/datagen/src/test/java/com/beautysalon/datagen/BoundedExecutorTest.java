@@ -0,0 +1,73 @@
+package com.beautysalon.datagen;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedExecutorTest {
+
+    @Test
+    void submit_ShouldNeverExceedMaxInFlight() throws InterruptedException {
+        BoundedExecutor executor = new BoundedExecutor(4);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        ScheduledExecutorService completer = Executors.newScheduledThreadPool(2);
+        try {
+            for (int i = 0; i < 200; i++) {
+                executor.submit(() -> {
+                    peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    CompletableFuture<Void> write = new CompletableFuture<>();
+                    completer.schedule(() -> {
+                        inFlight.decrementAndGet();
+                        write.complete(null);
+                    }, 1, TimeUnit.MILLISECONDS);
+                    return write;
+                });
+            }
+            executor.await();
+        } finally {
+            completer.shutdownNow();
+        }
+
+        assertEquals(200, executor.completed());
+        assertEquals(0, executor.inFlight());
+        assertTrue(peak.get() <= 4, "peak in flight " + peak.get());
+    }
+
+    @Test
+    void submit_ShouldFailAfterAWriteFailed() throws InterruptedException {
+        BoundedExecutor executor = new BoundedExecutor(2);
+        executor.submit(() -> CompletableFuture.failedFuture(new RuntimeException("node down")));
+
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> executor.submit(() -> CompletableFuture.completedFuture(null)));
+        assertTrue(error.getMessage().contains("node down"));
+        assertThrows(IllegalStateException.class, executor::await);
+        assertEquals(0, executor.inFlight());
+    }
+
+    @Test
+    void await_ShouldWaitForOutstandingWrites() throws InterruptedException {
+        BoundedExecutor executor = new BoundedExecutor(8);
+        List<CompletableFuture<Void>> writes = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            CompletableFuture<Void> write = new CompletableFuture<>();
+            writes.add(write);
+            executor.submit(() -> write);
+        }
+        assertEquals(3, executor.inFlight());
+
+        Thread.ofVirtual().start(() -> writes.forEach(write -> write.complete(null)));
+        executor.await();
+
+        assertEquals(3, executor.completed());
+    }
+}
@@ -0,0 +1,137 @@
+package com.beautysalon.datagen;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyntheticDataTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 6, 1);
+
+    private static DatasetSpec spec(long seed) {
+        return new DatasetSpec(5_000, 40, 30, 50_000, TODAY.minusDays(365), 425, TODAY,
+                1.6, 1000, 1.0, 0.8, seed, ZoneId.of("America/Sao_Paulo"));
+    }
+
+    @Test
+    void rows_ShouldBeDeterministicPerSeedAndIndex() {
+        SyntheticData first = new SyntheticData(spec(42));
+        SyntheticData second = new SyntheticData(spec(42));
+        SyntheticData other = new SyntheticData(spec(43));
+
+        assertEquals(first.appointment(12_345), second.appointment(12_345));
+        assertEquals(first.customer(77), second.customer(77));
+        assertNotEquals(first.appointment(12_345).id(), other.appointment(12_345).id());
+    }
+
+    @Test
+    void ids_ShouldBeUniqueVersion4Uuids() {
+        SyntheticData data = new SyntheticData(spec(42));
+        Set<UUID> ids = new HashSet<>();
+        for (long i = 0; i < 50_000; i++) {
+            UUID id = data.appointment(i).id();
+            assertEquals(4, id.version());
+            assertEquals(2, id.variant());
+            assertTrue(ids.add(id));
+        }
+        for (long i = 0; i < 5_000; i++) {
+            assertTrue(ids.add(data.customer(i).id()));
+        }
+    }
+
+    @Test
+    void customers_ShouldBeValidForBothBackends() {
+        SyntheticData data = new SyntheticData(spec(42));
+        Set<String> emails = new HashSet<>();
+        for (long i = 0; i < 5_000; i++) {
+            SyntheticData.Customer customer = data.customer(i);
+            assertTrue(customer.phone().matches("\\d{10,11}"), customer.phone());
+            assertTrue(customer.phone().matches("\\+?[1-9]\\d{1,14}"), customer.phone());
+            assertTrue(emails.add(customer.email()));
+        }
+    }
+
+    @Test
+    void appointments_ShouldReferenceGeneratedRowsWithinTheWindow() {
+        SyntheticData data = new SyntheticData(spec(42));
+        Set<UUID> staff = new HashSet<>();
+        Set<UUID> services = new HashSet<>();
+        for (int i = 0; i < 40; i++) {
+            staff.add(data.staff(i).id());
+        }
+        for (int i = 0; i < 30; i++) {
+            services.add(data.service(i).id());
+        }
+        for (long i = 0; i < 10_000; i++) {
+            SyntheticData.Appointment appointment = data.appointment(i);
+            assertEquals(data.customer(data.customerOf(i)).id(), appointment.customerId());
+            assertTrue(staff.contains(appointment.staffId()));
+            assertTrue(services.contains(appointment.serviceId()));
+            assertFalse(appointment.date().isBefore(TODAY.minusDays(365)));
+            assertTrue(appointment.date().isBefore(TODAY.plusDays(60)));
+            assertFalse(appointment.time().isBefore(LocalTime.of(Seasonality.OPENING_HOUR, 0)));
+            assertTrue(appointment.time().isBefore(LocalTime.of(Seasonality.CLOSING_HOUR, 0)));
+            assertTrue(appointment.createdAt().isBefore(appointment.start().atZone(ZoneId.of("America/Sao_Paulo")).toInstant()));
+            Set<SyntheticData.Status> expected = appointment.date().isBefore(TODAY)
+                    ? EnumSet.of(SyntheticData.Status.COMPLETED, SyntheticData.Status.CANCELLED, SyntheticData.Status.NO_SHOW)
+                    : EnumSet.of(SyntheticData.Status.SCHEDULED, SyntheticData.Status.CONFIRMED, SyntheticData.Status.CANCELLED);
+            assertTrue(expected.contains(appointment.status()), appointment.toString());
+        }
+    }
+
+    @Test
+    void appointments_ShouldBeSkewedTowardRegularsPopularStaffAndBusyDays() {
+        SyntheticData data = new SyntheticData(spec(42));
+        Map<Long, Integer> visits = new HashMap<>();
+        Map<UUID, Integer> bookings = new HashMap<>();
+        Map<DayOfWeek, Integer> weekdays = new HashMap<>();
+        for (long i = 0; i < 50_000; i++) {
+            SyntheticData.Appointment appointment = data.appointment(i);
+            visits.merge(data.customerOf(i), 1, Integer::sum);
+            bookings.merge(appointment.staffId(), 1, Integer::sum);
+            weekdays.merge(appointment.date().getDayOfWeek(), 1, Integer::sum);
+        }
+
+        int busiestCustomer = visits.values().stream().max(Integer::compare).orElseThrow();
+        assertTrue(busiestCustomer > 20 * 50_000 / 5_000, "busiest customer has " + busiestCustomer + " visits");
+        assertTrue(visits.size() < 5_000, "some customers never visit");
+        assertEquals(bookings.get(data.staff(0).id()), bookings.values().stream().max(Integer::compare).orElseThrow());
+        assertTrue(bookings.get(data.staff(0).id()) > 5 * bookings.get(data.staff(39).id()));
+        assertTrue(weekdays.get(DayOfWeek.SATURDAY) > 5 * weekdays.get(DayOfWeek.SUNDAY));
+    }
+
+    @Test
+    void customerOf_ShouldDealOutEveryAppointmentInOrder() {
+        SyntheticData data = new SyntheticData(spec(42));
+        long previous = 0;
+        for (long i = 0; i < 50_000; i++) {
+            long customer = data.customerOf(i);
+            assertTrue(customer >= previous && customer < 5_000);
+            previous = customer;
+        }
+    }
+
+    @Test
+    void pools_ShouldHoldLoadedIdsUnderTheScenarioPoolNames() {
+        SyntheticData data = new SyntheticData(spec(42));
+        Map<String, List<String>> pools = new PoolExporter().pools(data, 500);
+
+        assertEquals(Set.of("customers", "customerEmails", "staff", "services", "appointments"), pools.keySet());
+        assertFalse(pools.get("customers").isEmpty());
+        assertTrue(pools.get("customers").size() < 500, "regulars are sampled repeatedly");
+        assertTrue(pools.get("staff").size() > 30);
+        assertTrue(pools.get("staff").contains(data.staff(0).id().toString()) || !data.staff(0).active());
+    }
+}
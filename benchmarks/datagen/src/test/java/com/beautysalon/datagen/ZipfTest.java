@@ -0,0 +1,46 @@
+package com.beautysalon.datagen;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZipfTest {
+
+    @Test
+    void rank_ShouldCoverAllRanksAtTheEdges() {
+        Zipf zipf = new Zipf(10, 1.0);
+
+        assertEquals(1, zipf.rank(0.0));
+        assertEquals(10, zipf.rank(0.999999999));
+        assertEquals(1.0, IntStream.rangeClosed(1, 10).mapToDouble(zipf::probability).sum(), 1e-9);
+    }
+
+    @Test
+    void rank_ShouldFollowInversePowerFrequencies() {
+        Zipf zipf = new Zipf(100, 1.0);
+        SplittableRandom random = new SplittableRandom(7);
+        int[] counts = new int[101];
+        int samples = 200_000;
+        for (int i = 0; i < samples; i++) {
+            counts[zipf.rank(random.nextDouble())]++;
+        }
+
+        // rank 1 is twice as likely as rank 2 and ten times as likely as rank 10
+        assertEquals(2.0, (double) counts[1] / counts[2], 0.1);
+        assertEquals(10.0, (double) counts[1] / counts[10], 1.0);
+        assertEquals(zipf.probability(1), (double) counts[1] / samples, 0.005);
+    }
+
+    @Test
+    void exponentZero_ShouldBeUniform() {
+        Zipf zipf = new Zipf(4, 0.0);
+
+        for (int rank = 1; rank <= 4; rank++) {
+            assertEquals(0.25, zipf.probability(rank), 1e-12);
+        }
+        assertEquals(2.5, zipf.mean(), 1e-12);
+    }
+}
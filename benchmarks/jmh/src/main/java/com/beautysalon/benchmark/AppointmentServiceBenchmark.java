@@ -0,0 +1,109 @@
+package com.beautysalon.benchmark;
+
+import com.beautysalon.dto.StatusTransitionRequest;
+import com.beautysalon.dto.StatusTransitionResult;
+import com.beautysalon.model.Appointment;
+import com.beautysalon.repository.InMemoryAppointmentRepository;
+import com.beautysalon.service.AppointmentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AppointmentService} over in-memory appointment and counter repositories, including the
+ * analytics bookkeeping every write does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class AppointmentServiceBenchmark {
+
+    private static final int CUSTOMERS = 1000;
+    private static final int STAFF = 20;
+    private static final StatusTransitionRequest CONFIRM = new StatusTransitionRequest("confirmed", null);
+
+    @Param({"1000", "10000"})
+    int appointments;
+
+    private InMemoryAppointmentRepository repository;
+    private AppointmentService service;
+    private List<Appointment> dataset;
+    private Random random;
+    private int created;
+
+    @Setup
+    public void setUp() {
+        repository = new InMemoryAppointmentRepository();
+        dataset = Fixtures.appointments(appointments, CUSTOMERS, STAFF);
+        repository.saveAll(dataset);
+        service = Fixtures.appointmentService(repository);
+        random = new Random(Fixtures.SEED);
+    }
+
+    @Benchmark
+    public List<Appointment> getByDate() {
+        return service.getAppointmentsByDate(existing().getAppointmentDate());
+    }
+
+    @Benchmark
+    public List<Appointment> getByDateAndStaff() {
+        Appointment appointment = existing();
+        return service.getAppointmentsByDateAndStaff(appointment.getAppointmentDate(), appointment.getStaffId());
+    }
+
+    @Benchmark
+    public List<Appointment> getByCustomer() {
+        return service.getAppointmentsByCustomer(existing().getCustomerId());
+    }
+
+    @Benchmark
+    public Appointment create() {
+        // reuse a bounded id range so the repository does not grow across iterations
+        Appointment appointment = Fixtures.appointments(1, CUSTOMERS, STAFF).get(0);
+        appointment.setId(new UUID(Fixtures.SEED + 9, created++ % appointments));
+        return service.createAppointment(appointment);
+    }
+
+    @Benchmark
+    public Appointment update() {
+        Appointment current = existing();
+        Appointment details = new Appointment();
+        details.setCustomerId(current.getCustomerId());
+        details.setStaffId(current.getStaffId());
+        details.setServiceId(current.getServiceId());
+        details.setAppointmentDate(current.getAppointmentDate());
+        details.setAppointmentTime(current.getAppointmentTime());
+        details.setStatus(current.getStatus());
+        details.setTotalPrice(current.getTotalPrice());
+        return service.updateAppointment(current.getId(), details);
+    }
+
+    @Benchmark
+    public StatusTransitionResult transitionStatus() {
+        Appointment appointment = existing();
+        // put the row back so every call is an applied transition rather than a conflict; includes that save
+        appointment.setStatus("scheduled");
+        repository.save(appointment);
+        return service.transitionStatus(appointment.getId(), CONFIRM);
+    }
+
+    private Appointment existing() {
+        return dataset.get(random.nextInt(dataset.size()));
+    }
+}
@@ -0,0 +1,92 @@
+package com.beautysalon.benchmark;
+
+import com.beautysalon.model.Customer;
+import com.beautysalon.repository.InMemoryCustomerRepository;
+import com.beautysalon.service.CustomerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CustomerService} over an in-memory repository. The service is constructed directly, without
+ * the caching proxy, so every call measures the cache-miss path: the service logic plus the
+ * repository scan or lookup it triggers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class CustomerServiceBenchmark {
+
+    @Param({"1000", "10000"})
+    int customers;
+
+    private CustomerService service;
+    private List<Customer> dataset;
+    private Random random;
+    private int created;
+
+    @Setup
+    public void setUp() {
+        InMemoryCustomerRepository repository = new InMemoryCustomerRepository();
+        dataset = Fixtures.customers(customers);
+        repository.saveAll(dataset);
+        service = Fixtures.customerService(repository);
+        random = new Random(Fixtures.SEED);
+    }
+
+    @Benchmark
+    public Optional<Customer> getById() {
+        return service.getCustomerById(existing().getId());
+    }
+
+    @Benchmark
+    public Optional<Customer> getByEmail() {
+        return service.getCustomerByEmail(existing().getEmail());
+    }
+
+    @Benchmark
+    public List<Customer> searchByName() {
+        return service.searchCustomersByName(existing().getName().substring(0, 4));
+    }
+
+    @Benchmark
+    public Customer create() {
+        // reuse a bounded id range so the repository does not grow across iterations
+        int n = created++ % customers;
+        Customer customer = Fixtures.customer(random, n);
+        customer.setId(new UUID(Fixtures.SEED + 9, n));
+        return service.createCustomer(customer);
+    }
+
+    @Benchmark
+    public Customer update() {
+        Customer current = existing();
+        Customer details = new Customer();
+        details.setName(current.getName());
+        details.setEmail(current.getEmail());
+        details.setPhone(current.getPhone());
+        details.setAddress(current.getAddress());
+        return service.updateCustomer(current.getId(), details);
+    }
+
+    private Customer existing() {
+        return dataset.get(random.nextInt(dataset.size()));
+    }
+}
@@ -0,0 +1,125 @@
+package com.beautysalon.benchmark;
+
+import com.beautysalon.model.Appointment;
+import com.beautysalon.model.Customer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jol.info.ClassLayout;
+import org.openjdk.jol.info.GraphLayout;
+import org.openjdk.jol.vm.VM;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Heap footprint of the entities the backends keep in memory, measured with JOL on the running JVM rather
+ * than estimated. For each entity class it reports the object layout (header, fields, alignment loss), the
+ * deep size of one instance with everything it references, and what one more entry costs in the blocking
+ * backend's {@code simple} cache: a {@link ConcurrentMapCache} keyed by id, the way
+ * {@code @Cacheable(key = "#id")} stores it. Objects shared between entries, such as the status literals,
+ * are counted once, as they are on the real heap.
+ * <pre>
+ * java -Djdk.attach.allowAttachSelf -cp benchmarks.jar com.beautysalon.benchmark.EntityFootprint [--entries N]
+ *      [--result FILE]
+ * </pre>
+ * Sizes depend on the JVM's pointer compression and alignment, so compare results of the same JVM and
+ * heap settings only.
+ */
+public final class EntityFootprint {
+
+    static final int DEFAULT_ENTRIES = 10_000;
+    static final String DEFAULT_RESULT_FILE = "footprint-entities.json";
+
+    /**
+     * @param deepBytes       mean size of one instance and everything it references
+     * @param cacheEntryBytes mean growth of the cache per entry, including the map node and the key
+     * @param lossBytes       bytes lost to field alignment and padding inside one instance
+     */
+    public record EntityResult(
+            String name,
+            String className,
+            long shallowBytes,
+            long headerBytes,
+            long lossBytes,
+            double deepBytes,
+            double cacheEntryBytes) {
+    }
+
+    /**
+     * @param referenceBytes 4 with compressed references, 8 without
+     */
+    public record FootprintReport(
+            String vm,
+            long referenceBytes,
+            int objectAlignment,
+            int entries,
+            Instant measuredAt,
+            List<EntityResult> entities) {
+    }
+
+    private EntityFootprint() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        // Unsafe refuses field offsets of records; JOL can find them by probing instead
+        System.setProperty("jol.magicFieldOffset", "true");
+        int entries = DEFAULT_ENTRIES;
+        Path result = Path.of(DEFAULT_RESULT_FILE);
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--entries" -> entries = Integer.parseInt(args[i + 1]);
+                case "--result" -> result = Path.of(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        List<EntityResult> entities = new ArrayList<>();
+        entities.add(measure("blocking Customer", Fixtures.customers(entries), Customer::getId));
+        entities.add(measure("blocking Appointment",
+                Fixtures.appointments(entries, Math.max(1, entries / 10), 20), Appointment::getId));
+        entities.add(measure("reactive Customer", Fixtures.reactiveCustomers(entries),
+                com.beautysalon.reactive.model.Customer::id));
+        entities.add(measure("reactive Appointment", Fixtures.reactiveAppointments(entries),
+                com.beautysalon.reactive.model.Appointment::id));
+
+        FootprintReport report = new FootprintReport(
+                System.getProperty("java.vm.name") + " " + Runtime.version(),
+                VM.current().sizeOfField("java.lang.Object"), VM.current().objectAlignment(), entries, Instant.now(),
+                entities);
+        new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(result.toFile(), report);
+        System.out.println(VM.current().details());
+        System.out.printf(Locale.ROOT, "%-22s %9s %9s %9s %11s%n", "", "shallow", "loss", "deep", "cache entry");
+        for (EntityResult entity : entities) {
+            System.out.printf(Locale.ROOT, "%-22s %9d %9d %9.1f %11.1f%n", entity.name(), entity.shallowBytes(),
+                    entity.lossBytes(), entity.deepBytes(), entity.cacheEntryBytes());
+        }
+        System.out.println();
+        System.out.println(ClassLayout.parseClass(Customer.class).toPrintable());
+        System.out.println(ClassLayout.parseClass(Appointment.class).toPrintable());
+        System.out.println("Result written to " + result);
+    }
+
+    static <T> EntityResult measure(String name, List<T> instances, Function<T, UUID> id) {
+        ClassLayout layout = ClassLayout.parseClass(instances.get(0).getClass());
+        double deep = instances.stream()
+                .mapToLong(instance -> GraphLayout.parseInstance(instance).totalSize())
+                .average()
+                .orElse(0);
+        ConcurrentMapCache cache = new ConcurrentMapCache(name);
+        long empty = GraphLayout.parseInstance(cache.getNativeCache()).totalSize();
+        instances.forEach(instance -> cache.put(id.apply(instance), instance));
+        long full = GraphLayout.parseInstance(cache.getNativeCache()).totalSize();
+        return new EntityResult(name, instances.get(0).getClass().getName(), layout.instanceSize(),
+                layout.headerSize(), layout.getLossesTotal(), deep, (double) (full - empty) / instances.size());
+    }
+}
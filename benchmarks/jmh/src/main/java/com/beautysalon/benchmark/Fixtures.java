@@ -0,0 +1,220 @@
+package com.beautysalon.benchmark;
+
+import com.beautysalon.model.Appointment;
+import com.beautysalon.model.Customer;
+import com.beautysalon.model.Service;
+import com.beautysalon.model.Staff;
+import com.beautysalon.repository.InMemoryAppointmentRepository;
+import com.beautysalon.repository.InMemoryAppointmentStatsRepository;
+import com.beautysalon.repository.InMemoryCustomerRepository;
+import com.beautysalon.service.AppointmentAnalyticsService;
+import com.beautysalon.service.AppointmentService;
+import com.beautysalon.service.CustomerService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Deterministic test data and service wiring shared by the benchmarks, over the {@code inmem} profile
+ * repositories. Data comes from a seeded {@link Random} so every fork and every run measures the
+ * same dataset.
+ */
+final class Fixtures {
+
+    static final long SEED = 42L;
+    static final LocalDate FIRST_DAY = LocalDate.of(2025, 1, 6);
+    static final int DAYS = 30;
+
+    private static final String[] FIRST_NAMES = {"Anna", "Maria", "Elena", "Sofia", "Julia", "Olga", "Irina", "Daria"};
+    private static final String[] LAST_NAMES = {"Ivanova", "Petrova", "Smirnova", "Kuznetsova", "Popova", "Novikova"};
+    private static final String[] CATEGORIES = {"hair", "nails", "skin", "massage", "makeup"};
+    private static final String[] ROLES = {"stylist", "manicurist", "cosmetologist", "masseur"};
+    private static final String[] STATUSES = {"scheduled", "confirmed", "in_progress", "completed", "cancelled"};
+
+    private Fixtures() {
+    }
+
+    /**
+     * The mapper the applications configure: ISO-8601 dates instead of timestamps.
+     */
+    static ObjectMapper objectMapper() {
+        return new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    static CustomerService customerService(InMemoryCustomerRepository repository) {
+        CustomerService service = new CustomerService();
+        inject(service, "customerRepository", repository);
+        return service;
+    }
+
+    static AppointmentService appointmentService(InMemoryAppointmentRepository repository) {
+        AppointmentService service = new AppointmentService();
+        inject(service, "appointmentRepository", repository);
+        inject(service, "appointmentAnalyticsService",
+                new AppointmentAnalyticsService(new InMemoryAppointmentStatsRepository()));
+        return service;
+    }
+
+    static List<Customer> customers(int count) {
+        Random random = new Random(SEED);
+        List<Customer> customers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            customers.add(customer(random, i));
+        }
+        return customers;
+    }
+
+    static Customer customer(Random random, int i) {
+        Customer customer = new Customer();
+        customer.setId(new UUID(SEED, i));
+        customer.setName(name(random));
+        customer.setEmail("customer" + i + "@example.com");
+        customer.setPhone(phone(random));
+        customer.setAddress((random.nextInt(200) + 1) + " Main Street");
+        return customer;
+    }
+
+    static List<Staff> staff(int count) {
+        Random random = new Random(SEED);
+        List<Staff> staff = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Staff member = new Staff();
+            member.setId(new UUID(SEED + 1, i));
+            member.setName(name(random));
+            member.setEmail("staff" + i + "@example.com");
+            member.setPhone(phone(random));
+            member.setRole(ROLES[random.nextInt(ROLES.length)]);
+            member.setSpecialties(Set.of(CATEGORIES[random.nextInt(CATEGORIES.length)]));
+            member.setIsActive(random.nextInt(10) > 0);
+            staff.add(member);
+        }
+        return staff;
+    }
+
+    static List<Service> services(int count) {
+        Random random = new Random(SEED);
+        List<Service> services = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+            Service service = new Service();
+            service.setId(new UUID(SEED + 2, i));
+            service.setName(category + " service " + i);
+            service.setDescription("Standard " + category + " treatment");
+            service.setDuration(30 + 15 * random.nextInt(6));
+            service.setPrice(price(random));
+            service.setCategory(category);
+            service.setIsActive(random.nextInt(10) > 0);
+            services.add(service);
+        }
+        return services;
+    }
+
+    /**
+     * Appointments spread over {@link #DAYS} days, referencing {@code customers} customers and
+     * {@code staff} staff members by the ids the other generators assign.
+     */
+    static List<Appointment> appointments(int count, int customers, int staff) {
+        Random random = new Random(SEED);
+        List<Appointment> appointments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Appointment appointment = new Appointment();
+            appointment.setId(new UUID(SEED + 3, i));
+            appointment.setCustomerId(new UUID(SEED, random.nextInt(customers)));
+            appointment.setStaffId(new UUID(SEED + 1, random.nextInt(staff)));
+            appointment.setServiceId(new UUID(SEED + 2, random.nextInt(50)));
+            appointment.setAppointmentDate(FIRST_DAY.plusDays(random.nextInt(DAYS)));
+            appointment.setAppointmentTime(LocalTime.of(9 + random.nextInt(10), 15 * random.nextInt(4)));
+            appointment.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+            appointment.setNotes(random.nextInt(3) == 0 ? "Prefers the window seat" : null);
+            appointment.setTotalPrice(price(random));
+            appointments.add(appointment);
+        }
+        return appointments;
+    }
+
+    static List<com.beautysalon.reactive.model.Customer> reactiveCustomers(int count) {
+        Random random = new Random(SEED);
+        List<com.beautysalon.reactive.model.Customer> customers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            customers.add(com.beautysalon.reactive.model.Customer.create(
+                    name(random), "customer" + i + "@example.com", phone(random),
+                    (random.nextInt(200) + 1) + " Main Street"));
+        }
+        return customers;
+    }
+
+    static List<com.beautysalon.reactive.model.Staff> reactiveStaff(int count) {
+        Random random = new Random(SEED);
+        List<com.beautysalon.reactive.model.Staff> staff = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            staff.add(com.beautysalon.reactive.model.Staff.create(
+                    name(random), "staff" + i + "@example.com", phone(random),
+                    ROLES[random.nextInt(ROLES.length)], List.of(CATEGORIES[random.nextInt(CATEGORIES.length)])));
+        }
+        return staff;
+    }
+
+    static List<com.beautysalon.reactive.model.Service> reactiveServices(int count) {
+        Random random = new Random(SEED);
+        List<com.beautysalon.reactive.model.Service> services = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+            services.add(com.beautysalon.reactive.model.Service.create(
+                    category + " service " + i, "Standard " + category + " treatment", price(random),
+                    30 + 15 * random.nextInt(6), category));
+        }
+        return services;
+    }
+
+    static List<com.beautysalon.reactive.model.Appointment> reactiveAppointments(int count) {
+        Random random = new Random(SEED);
+        List<com.beautysalon.reactive.model.Appointment> appointments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            appointments.add(com.beautysalon.reactive.model.Appointment.create(
+                    new UUID(SEED, random.nextInt(1000)), new UUID(SEED + 2, random.nextInt(50)),
+                    new UUID(SEED + 1, random.nextInt(20)),
+                    LocalDateTime.of(FIRST_DAY.plusDays(random.nextInt(DAYS)),
+                            LocalTime.of(9 + random.nextInt(10), 15 * random.nextInt(4))),
+                    random.nextInt(3) == 0 ? "Prefers the window seat" : null));
+        }
+        return appointments;
+    }
+
+    static String name(Random random) {
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+    }
+
+    private static String phone(Random random) {
+        return String.format("+7-9%02d-%03d-%04d", random.nextInt(100), random.nextInt(1000), random.nextInt(10000));
+    }
+
+    private static BigDecimal price(Random random) {
+        return BigDecimal.valueOf(1000 + random.nextInt(9000), 2);
+    }
+
+    /**
+     * The services use field injection, so outside a container the repositories are set reflectively.
+     */
+    private static void inject(Object target, String fieldName, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot inject " + fieldName + " into " + target.getClass().getSimpleName(), e);
+        }
+    }
+}
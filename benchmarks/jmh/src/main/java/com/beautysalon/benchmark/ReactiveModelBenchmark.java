@@ -0,0 +1,97 @@
+package com.beautysalon.benchmark;
+
+import com.beautysalon.reactive.model.Appointment;
+import com.beautysalon.reactive.model.Customer;
+import com.beautysalon.reactive.model.Service;
+import com.beautysalon.reactive.model.Staff;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construction and copy-on-update of the reactive records. Every update allocates a new record and
+ * reads the clock, which these measure against a plain constructor call's cost per request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ReactiveModelBenchmark {
+
+    private static final BigDecimal PRICE = new BigDecimal("45.00");
+    private static final List<String> SPECIALTIES = List.of("hair", "color");
+
+    private final UUID customerId = new UUID(Fixtures.SEED, 1);
+    private final UUID serviceId = new UUID(Fixtures.SEED + 2, 1);
+    private final UUID staffId = new UUID(Fixtures.SEED + 1, 1);
+    private final LocalDateTime start = Fixtures.FIRST_DAY.atTime(10, 30);
+
+    private Customer customer;
+    private Staff staff;
+    private Service service;
+    private Appointment appointment;
+
+    @Setup
+    public void setUp() {
+        customer = createCustomer();
+        staff = createStaff();
+        service = createService();
+        appointment = createAppointment();
+    }
+
+    @Benchmark
+    public Customer createCustomer() {
+        return Customer.create("Anna Ivanova", "anna@example.com", "+7-900-000-0000", "1 Main Street");
+    }
+
+    @Benchmark
+    public Customer updateCustomer() {
+        return customer.withUpdatedFields("Anna Petrova", "anna@example.com", "+7-900-000-0001", "2 Main Street");
+    }
+
+    @Benchmark
+    public Staff createStaff() {
+        return Staff.create("Maria Smirnova", "maria@example.com", "+7-900-000-0002", "stylist", SPECIALTIES);
+    }
+
+    @Benchmark
+    public Staff updateStaff() {
+        return staff.withUpdatedFields("Maria Smirnova", "maria@example.com", "+7-900-000-0002", "colorist",
+                SPECIALTIES, true);
+    }
+
+    @Benchmark
+    public Service createService() {
+        return Service.create("Haircut", "Cut and style", PRICE, 45, "hair");
+    }
+
+    @Benchmark
+    public Service updateService() {
+        return service.withUpdatedFields("Haircut", "Cut, wash and style", PRICE, 60, "hair", true);
+    }
+
+    @Benchmark
+    public Appointment createAppointment() {
+        return Appointment.create(customerId, serviceId, staffId, start, null);
+    }
+
+    @Benchmark
+    public Appointment updateAppointment() {
+        return appointment.withUpdatedFields(start.plusHours(1), "confirmed", "Moved by phone");
+    }
+}
@@ -0,0 +1,80 @@
+package com.beautysalon.benchmark;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson round trips of entity lists as the controllers return them, for the blocking POJOs and the
+ * reactive records side by side. Readers and writers are resolved once in setup, as Spring's
+ * message converters cache them, so only the (de)serialization itself is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"customer", "appointment", "staff", "service"})
+    String entity;
+
+    @Param({"blocking", "reactive"})
+    String model;
+
+    @Param({"1", "100", "1000"})
+    int size;
+
+    private List<?> values;
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper mapper = Fixtures.objectMapper();
+        values = dataset();
+        JavaType type = mapper.getTypeFactory().constructCollectionType(List.class, values.get(0).getClass());
+        writer = mapper.writerFor(type);
+        reader = mapper.readerFor(type);
+        json = writer.writeValueAsBytes(values);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return writer.writeValueAsBytes(values);
+    }
+
+    @Benchmark
+    public List<?> deserialize() throws IOException {
+        return reader.readValue(json);
+    }
+
+    private List<?> dataset() {
+        boolean blocking = "blocking".equals(model);
+        return switch (entity) {
+            case "customer" -> blocking ? Fixtures.customers(size) : Fixtures.reactiveCustomers(size);
+            case "appointment" -> blocking ? Fixtures.appointments(size, 1000, 20) : Fixtures.reactiveAppointments(size);
+            case "staff" -> blocking ? Fixtures.staff(size) : Fixtures.reactiveStaff(size);
+            case "service" -> blocking ? Fixtures.services(size) : Fixtures.reactiveServices(size);
+            default -> throw new IllegalArgumentException("Unknown entity: " + entity);
+        };
+    }
+}
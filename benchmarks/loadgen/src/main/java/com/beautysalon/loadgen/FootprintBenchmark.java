@@ -0,0 +1,416 @@
+package com.beautysalon.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures what connections cost a backend. The heap is measured live, after a full GC, from
+ * {@code jcmd GC.class_histogram}, so garbage does not count; direct buffers come from the backend's
+ * {@code jvm.buffer.memory.used} metric, RSS and thread counts from {@code /proc}.
+ * <ul>
+ *   <li>Idle: open {@code connections} keep-alive connections, send one request on each and leave them
+ *       open. The growth divided by the number of connections is what an idle connection costs. Repeated
+ *       {@code rounds} times for samples; each round also checks how many connections the server kept.</li>
+ *   <li>Active: for each concurrency level, that many connections send requests back to back. Throughput,
+ *       RSS over the window, and live heap, direct memory and threads at its end are recorded.</li>
+ * </ul>
+ * The backend is started by the benchmark, so its pid is known, and stopped at the end.
+ */
+public final class FootprintBenchmark {
+
+    static final int DEFAULT_CONNECTIONS = 1000;
+    static final int DEFAULT_ROUNDS = 3;
+    static final List<Integer> DEFAULT_LEVELS = List.of(1, 16, 64, 256);
+    static final int DEFAULT_LEVEL_SECONDS = 10;
+    static final String DIRECT_MEMORY_METRIC = "/actuator/metrics/jvm.buffer.memory.used?tag=id:direct";
+    private static final int WARMUP_CONNECTIONS = 8;
+    private static final int WARMUP_REQUESTS = 500;
+    private static final int TOP_CLASSES = 10;
+    private static final double BYTES_PER_MB = 1024.0 * 1024.0;
+
+    /**
+     * Process memory at one moment. {@code directBytes} is {@code null} when the backend does not expose the
+     * metric, {@code rssBytes} and {@code threads} are -1 off Linux.
+     *
+     * @param heapLiveBytes heap of the objects that survive a full GC
+     */
+    public record Snapshot(long heapLiveBytes, Long directBytes, long rssBytes, long threads) {
+    }
+
+    /**
+     * One round of idle connections; the per-connection values are the growth over the round's baseline
+     * divided by the connections opened.
+     *
+     * @param keptOpen   connections that still answered after the measurement
+     * @param topClasses the classes whose live bytes grew the most, per connection
+     */
+    public record IdleRound(
+            int round,
+            int connections,
+            int keptOpen,
+            double heapBytesPerConnection,
+            Double directBytesPerConnection,
+            Double rssBytesPerConnection,
+            double threadsPerConnection,
+            Map<String, Double> topClasses) {
+    }
+
+    /**
+     * @param atStart                taken right before the connections opened
+     * @param heapBytesPerConnection live heap growth from {@code atStart} to {@code atEnd}, divided by the
+     *                               concurrency
+     */
+    public record Level(
+            int concurrency,
+            double throughput,
+            long errors,
+            Double rssMeanMb,
+            Double rssPeakMb,
+            Snapshot atStart,
+            Snapshot atEnd,
+            double heapBytesPerConnection) {
+    }
+
+    public record FootprintReport(
+            String name,
+            List<String> command,
+            String baseUrl,
+            String path,
+            Instant startedAt,
+            Snapshot baseline,
+            List<IdleRound> idle,
+            List<Level> levels) {
+
+        public void write(Path file) throws IOException {
+            new ObjectMapper()
+                    .findAndRegisterModules()
+                    .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                    .enable(SerializationFeature.INDENT_OUTPUT)
+                    .writeValue(file.toFile(), this);
+        }
+
+        public void print(PrintStream out) {
+            out.printf(Locale.ROOT, "%s at rest: %.1f MB live heap, %s direct, %s RSS, %d threads%n", name,
+                    baseline.heapLiveBytes() / BYTES_PER_MB, mb(baseline.directBytes()),
+                    mb(baseline.rssBytes() < 0 ? null : baseline.rssBytes()), baseline.threads());
+            if (!idle.isEmpty()) {
+                out.println("  per idle connection (mean of rounds):");
+                out.printf(Locale.ROOT, "    heap %.0f B, direct %s, RSS %s, threads %.3f, kept open %d of %d%n",
+                        mean(idle, IdleRound::heapBytesPerConnection),
+                        bytes(meanOrNull(idle, IdleRound::directBytesPerConnection)),
+                        bytes(meanOrNull(idle, IdleRound::rssBytesPerConnection)),
+                        mean(idle, IdleRound::threadsPerConnection),
+                        idle.get(idle.size() - 1).keptOpen(), idle.get(idle.size() - 1).connections());
+                idle.get(idle.size() - 1).topClasses().forEach((type, perConnection) ->
+                        out.printf(Locale.ROOT, "      %-60s %8.0f B%n", type, perConnection));
+            }
+            if (!levels.isEmpty()) {
+                out.printf(Locale.ROOT, "  %11s %10s %9s %9s %10s %10s %8s %12s%n", "concurrency", "req/s",
+                        "RSS MB", "peak MB", "heap MB", "direct MB", "threads", "heap/conn B");
+                for (Level level : levels) {
+                    out.printf(Locale.ROOT, "  %11d %10.0f %9s %9s %10.1f %10s %8d %12.0f%n", level.concurrency(),
+                            level.throughput(), decimal(level.rssMeanMb()), decimal(level.rssPeakMb()),
+                            level.atEnd().heapLiveBytes() / BYTES_PER_MB, mb(level.atEnd().directBytes()),
+                            level.atEnd().threads(), level.heapBytesPerConnection());
+                }
+            }
+        }
+
+        private static double mean(List<IdleRound> rounds, java.util.function.ToDoubleFunction<IdleRound> value) {
+            return rounds.stream().mapToDouble(value).average().orElse(0);
+        }
+
+        private static Double meanOrNull(List<IdleRound> rounds, java.util.function.Function<IdleRound, Double> value) {
+            List<Double> values = rounds.stream().map(value).filter(v -> v != null).toList();
+            return values.isEmpty() ? null : values.stream().mapToDouble(Double::doubleValue).average().orElse(0);
+        }
+
+        private static String mb(Long bytes) {
+            return bytes == null ? "n/a" : String.format(Locale.ROOT, "%.1f MB", bytes / BYTES_PER_MB);
+        }
+
+        private static String bytes(Double bytes) {
+            return bytes == null ? "n/a" : String.format(Locale.ROOT, "%.0f B", bytes);
+        }
+
+        private static String decimal(Double value) {
+            return value == null ? "n/a" : String.format(Locale.ROOT, "%.1f", value);
+        }
+    }
+
+    private final String name;
+    private final List<String> command;
+    private final URI baseUrl;
+    private final URI managementUrl;
+    private final String path;
+    private final Path reportDir;
+    private final String baseName;
+    private final ObjectMapper json = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+    private long pid;
+
+    /**
+     * @param managementUrl where the actuator endpoints are served, if on a port of their own
+     */
+    public FootprintBenchmark(String name, List<String> command, String baseUrl, String managementUrl, String path,
+                              Path reportDir, String baseName) {
+        this.name = name;
+        this.command = List.copyOf(command);
+        this.baseUrl = URI.create(baseUrl);
+        this.managementUrl = URI.create(managementUrl);
+        this.path = path;
+        this.reportDir = reportDir;
+        this.baseName = baseName;
+    }
+
+    public FootprintReport run(int connections, int rounds, List<Integer> levels, int levelSeconds)
+            throws IOException, InterruptedException {
+        Instant startedAt = Instant.now();
+        System.out.printf("Starting %s: %s%n", name, String.join(" ", command));
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(reportDir.resolve(baseName + ".log").toFile())
+                .start();
+        pid = process.pid();
+        try {
+            awaitReady(process);
+            warmUp();
+            Snapshot baseline = snapshot(null);
+            List<IdleRound> idle = new ArrayList<>();
+            for (int round = 1; round <= rounds; round++) {
+                System.out.printf("Idle round %d of %d: %d connections%n", round, rounds, connections);
+                idle.add(idleRound(round, connections));
+            }
+            List<Level> results = new ArrayList<>();
+            for (int concurrency : levels) {
+                System.out.printf("%d active connections for %d s%n", concurrency, levelSeconds);
+                results.add(level(concurrency, levelSeconds));
+            }
+            return new FootprintReport(name, command, baseUrl.toString(), path, startedAt, baseline, idle, results);
+        } finally {
+            ParityRunner.stop(process);
+        }
+    }
+
+    private IdleRound idleRound(int round, int connections) throws IOException, InterruptedException {
+        Map<String, Long> before = new HashMap<>();
+        Snapshot baseline = snapshot(before);
+        List<RawHttpConnection> open = new ArrayList<>(connections);
+        try {
+            for (int i = 0; i < connections; i++) {
+                RawHttpConnection connection = new RawHttpConnection(baseUrl);
+                open.add(connection);
+                connection.get(path);
+            }
+            Map<String, Long> after = new HashMap<>();
+            Snapshot idle = snapshot(after);
+            int keptOpen = 0;
+            for (RawHttpConnection connection : open) {
+                try {
+                    connection.get(path);
+                    keptOpen++;
+                } catch (IOException e) {
+                    // closed by the server while idle
+                }
+            }
+            return new IdleRound(round, connections, keptOpen,
+                    (double) (idle.heapLiveBytes() - baseline.heapLiveBytes()) / connections,
+                    baseline.directBytes() == null || idle.directBytes() == null ? null
+                            : (double) (idle.directBytes() - baseline.directBytes()) / connections,
+                    baseline.rssBytes() < 0 || idle.rssBytes() < 0 ? null
+                            : (double) (idle.rssBytes() - baseline.rssBytes()) / connections,
+                    (double) (idle.threads() - baseline.threads()) / connections,
+                    topGrowth(before, after, connections, TOP_CLASSES));
+        } finally {
+            for (RawHttpConnection connection : open) {
+                connection.close();
+            }
+            // let the server notice the closed connections before the next round's baseline
+            Thread.sleep(1000);
+        }
+    }
+
+    private Level level(int concurrency, int seconds) throws InterruptedException, IOException {
+        Snapshot atStart = snapshot(null);
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder completed = new LongAdder();
+        LongAdder errors = new LongAdder();
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            workers.add(Thread.ofVirtual().name("footprint-" + i).start(() -> {
+                RawHttpConnection connection = null;
+                while (running.get()) {
+                    try {
+                        if (connection == null || !connection.isOpen()) {
+                            connection = new RawHttpConnection(baseUrl);
+                        }
+                        int status = connection.get(path);
+                        if (status >= 400) {
+                            errors.increment();
+                        }
+                        completed.increment();
+                    } catch (IOException e) {
+                        errors.increment();
+                        connection = null;
+                    }
+                }
+                try {
+                    if (connection != null) {
+                        connection.close();
+                    }
+                } catch (IOException e) {
+                    // closing anyway
+                }
+            }));
+        }
+        try (ProcessSampler sampler = new ProcessSampler(pid)) {
+            Thread.sleep(1000);
+            long from = System.currentTimeMillis();
+            long before = completed.sum();
+            Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+            long to = System.currentTimeMillis();
+            long requests = completed.sum() - before;
+            Snapshot atEnd = snapshot(null);
+            ProcessSampler.Usage usage = sampler.usage(from, to, requests).orElse(null);
+            return new Level(concurrency, requests * 1000.0 / (to - from), errors.sum(),
+                    usage == null ? null : usage.rssMeanMb(), usage == null ? null : usage.rssPeakMb(), atStart,
+                    atEnd, (double) (atEnd.heapLiveBytes() - atStart.heapLiveBytes()) / concurrency);
+        } finally {
+            running.set(false);
+            for (Thread worker : workers) {
+                worker.join();
+            }
+        }
+    }
+
+    private void warmUp() throws InterruptedException {
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < WARMUP_CONNECTIONS; i++) {
+            workers.add(Thread.ofVirtual().start(() -> {
+                try (RawHttpConnection connection = new RawHttpConnection(baseUrl)) {
+                    for (int r = 0; r < WARMUP_REQUESTS && connection.isOpen(); r++) {
+                        connection.get(path);
+                    }
+                } catch (IOException e) {
+                    // the measurement will fail loudly enough if the backend is broken
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+
+    /**
+     * @param classes receives the live bytes per class, when not {@code null}
+     */
+    private Snapshot snapshot(Map<String, Long> classes) throws IOException, InterruptedException {
+        Process jcmd = new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "jcmd").toString(),
+                Long.toString(pid), "GC.class_histogram")
+                .redirectErrorStream(true)
+                .start();
+        String histogram = new String(jcmd.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        if (jcmd.waitFor() != 0) {
+            throw new IOException("jcmd " + pid + " GC.class_histogram failed: " + histogram);
+        }
+        long heap = parseHistogram(histogram, classes == null ? new HashMap<>() : classes);
+        return new Snapshot(heap, directBytes(), ProcessSampler.rss(pid), ProcessSampler.threads(pid));
+    }
+
+    private Long directBytes() throws InterruptedException {
+        try {
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(managementUrl.resolve(DIRECT_MEMORY_METRIC))
+                    .timeout(Duration.ofSeconds(5))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                return null;
+            }
+            JsonNode value = json.readTree(response.body()).path("measurements").path(0).path("value");
+            return value.isNumber() ? value.asLong() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void awaitReady(Process process) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(baseUrl.resolve(path)).timeout(Duration.ofSeconds(5)).build();
+        long deadline = System.nanoTime() + ParityRunner.READY_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(name + " exited with " + process.exitValue()
+                        + " before it was ready; see its log in " + reportDir);
+            }
+            try {
+                client.send(request, HttpResponse.BodyHandlers.discarding());
+                return;
+            } catch (IOException e) {
+                Thread.sleep(200);
+            }
+        }
+        throw new IllegalStateException(name + " not ready at " + request.uri() + " after " + ParityRunner.READY_TIMEOUT);
+    }
+
+    /**
+     * Reads the output of {@code jcmd <pid> GC.class_histogram}: lines of
+     * {@code <rank>: <instances> <bytes> <class> [(<module>)]} and a final {@code Total <instances> <bytes>}.
+     *
+     * @return the total live bytes
+     */
+    static long parseHistogram(String histogram, Map<String, Long> classes) throws IOException {
+        for (String line : histogram.lines().toList()) {
+            String[] fields = line.trim().split("\\s+");
+            if (fields.length >= 3 && fields[0].equals("Total")) {
+                return Long.parseLong(fields[2]);
+            }
+            if (fields.length >= 4 && fields[0].endsWith(":")) {
+                classes.merge(fields[3], Long.parseLong(fields[2]), Long::sum);
+            }
+        }
+        throw new IOException("No total in the class histogram: " + histogram.lines().limit(5).toList());
+    }
+
+    /**
+     * The {@code limit} classes whose live bytes grew the most, divided by {@code connections}.
+     */
+    static Map<String, Double> topGrowth(Map<String, Long> before, Map<String, Long> after, int connections,
+                                         int limit) {
+        Map<String, Double> top = new LinkedHashMap<>();
+        after.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue() - before.getOrDefault(entry.getKey(), 0L)))
+                .filter(entry -> entry.getValue() > 0)
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .forEach(entry -> top.put(entry.getKey(), (double) entry.getValue() / connections));
+        return top;
+    }
+
+    static List<Integer> levels(String levels) {
+        return Arrays.stream(levels.split(",")).map(String::trim).map(Integer::valueOf).toList();
+    }
+}
@@ -0,0 +1,186 @@
+package com.beautysalon.loadgen;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies of the measured run, in microseconds, per endpoint and overall. Two histograms are kept
+ * for every request:
+ * <ul>
+ *   <li><b>response time</b>, from when the request was <em>scheduled</em> to start until its response
+ *       arrived. A stalled server delays the requests queued behind it, and that wait is counted, which is
+ *       the coordinated-omission correction: a closed-loop tool simply stops sending while it waits.</li>
+ *   <li><b>service time</b>, from when the request was actually sent; what closed-loop tools report.</li>
+ * </ul>
+ * Recording is lock free ({@link Recorder}); {@link #interval(long)} swaps out the interval histograms
+ * once a second, adds them to the totals and appends them to the timeline and the histogram log. It also
+ * adds them to a window that {@link #takeWindow()} hands out and restarts, for percentiles over spans
+ * longer than a second.
+ */
+public final class LatencyRecorder {
+
+    static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+    static final int SIGNIFICANT_DIGITS = 3;
+
+    /**
+     * One second of the run: its request count, errors and response-time percentiles in milliseconds.
+     */
+    public record TimelinePoint(long second, long requests, long errors, double p50Ms, double p99Ms, double maxMs) {
+    }
+
+    /**
+     * The response times and errors of the whole seconds since the previous {@link #takeWindow()}.
+     */
+    public record Window(Histogram responseTime, long errors) {
+    }
+
+    static final class Endpoint {
+        final String name;
+        final Recorder responseRecorder = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        final Recorder serviceRecorder = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        final Histogram responseTotal = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        final Histogram serviceTotal = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        final LongAdder errors = new LongAdder();
+        final LongAdder intervalErrors = new LongAdder();
+        Histogram responseInterval;
+        Histogram serviceInterval;
+
+        Endpoint(String name) {
+            this.name = name;
+        }
+    }
+
+    private final Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+    private final Map<String, LongAdder> errorsByCause = new ConcurrentHashMap<>();
+    private final List<TimelinePoint> timeline = new ArrayList<>();
+    private final Histogram responseTotal = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    private final Histogram serviceTotal = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    private final Histogram window = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    private long windowErrors;
+    private final HistogramLogWriter log;
+    private long startMillis;
+
+    /**
+     * @param endpointNames every endpoint that will be recorded, in report order
+     * @param log           receives the overall response-time histogram of each interval, may be {@code null}
+     */
+    public LatencyRecorder(List<String> endpointNames, HistogramLogWriter log) {
+        for (String name : endpointNames) {
+            endpoints.putIfAbsent(name, new Endpoint(name));
+        }
+        this.log = log;
+    }
+
+    public void start(long startMillis) {
+        this.startMillis = startMillis;
+        if (log != null) {
+            log.outputLogFormatVersion();
+            log.outputStartTime(startMillis);
+            log.setBaseTime(startMillis);
+            log.outputLegend();
+        }
+    }
+
+    /**
+     * @param intendedNanos when the request was scheduled to start
+     * @param sentNanos     when it was handed to the HTTP client
+     * @param doneNanos     when its response, or its failure, arrived
+     * @param errorCause    {@code null} for a success, else the status code or exception name
+     */
+    public void record(String endpoint, long intendedNanos, long sentNanos, long doneNanos, String errorCause) {
+        Endpoint target = endpoints.get(endpoint);
+        target.responseRecorder.recordValue(micros(doneNanos - intendedNanos));
+        target.serviceRecorder.recordValue(micros(doneNanos - sentNanos));
+        if (errorCause != null) {
+            target.errors.increment();
+            target.intervalErrors.increment();
+            errorsByCause.computeIfAbsent(errorCause, cause -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Close the current interval: fold it into the totals, the timeline and the log.
+     *
+     * @param second seconds since the measured run started
+     */
+    public synchronized void interval(long second) {
+        Histogram intervalResponse = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        long intervalErrors = 0;
+        for (Endpoint endpoint : endpoints.values()) {
+            endpoint.responseInterval = endpoint.responseRecorder.getIntervalHistogram(endpoint.responseInterval);
+            endpoint.serviceInterval = endpoint.serviceRecorder.getIntervalHistogram(endpoint.serviceInterval);
+            endpoint.responseTotal.add(endpoint.responseInterval);
+            endpoint.serviceTotal.add(endpoint.serviceInterval);
+            intervalResponse.add(endpoint.responseInterval);
+            serviceTotal.add(endpoint.serviceInterval);
+            intervalErrors += endpoint.intervalErrors.sumThenReset();
+        }
+        responseTotal.add(intervalResponse);
+        window.add(intervalResponse);
+        windowErrors += intervalErrors;
+        timeline.add(new TimelinePoint(second, intervalResponse.getTotalCount(), intervalErrors,
+                millis(intervalResponse.getValueAtPercentile(50)), millis(intervalResponse.getValueAtPercentile(99)),
+                millis(intervalResponse.getMaxValue())));
+        if (log != null) {
+            long now = System.currentTimeMillis();
+            intervalResponse.setStartTimeStamp(now - TimeUnit.SECONDS.toMillis(1));
+            intervalResponse.setEndTimeStamp(now);
+            log.outputIntervalHistogram(intervalResponse);
+        }
+    }
+
+    public synchronized Window takeWindow() {
+        Window taken = new Window(window.copy(), windowErrors);
+        window.reset();
+        windowErrors = 0;
+        return taken;
+    }
+
+    public Histogram responseTotal() {
+        return responseTotal;
+    }
+
+    public Histogram serviceTotal() {
+        return serviceTotal;
+    }
+
+    public long errors() {
+        return endpoints.values().stream().mapToLong(e -> e.errors.sum()).sum();
+    }
+
+    public Map<String, Long> errorsByCause() {
+        Map<String, Long> causes = new TreeMap<>();
+        errorsByCause.forEach((cause, count) -> causes.put(cause, count.sum()));
+        return causes;
+    }
+
+    public List<TimelinePoint> timeline() {
+        return List.copyOf(timeline);
+    }
+
+    public long startMillis() {
+        return startMillis;
+    }
+
+    Iterable<Endpoint> endpoints() {
+        return endpoints.values();
+    }
+
+    static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static long micros(long nanos) {
+        return Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+}
@@ -0,0 +1,216 @@
+package com.beautysalon.loadgen;
+
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Entry point of {@code loadgen.jar}:
+ * <pre>
+ * java -jar loadgen.jar --scenario scenarios/blocking-mixed.yml [--base-url URL] [--rate N]
+ *                       [--duration SECONDS] [--warmup SECONDS] [--pools FILE] [--report-dir DIR]
+ * java -jar loadgen.jar --scenario scenarios/blocking-mixed.yml --soak [--duration SECONDS] [--sample-seconds N]
+ *                       [--settle SECONDS] [--management-url URL] [--pid PID] [--max-growth PCT]
+ *                       [--max-latency-drift PCT] [--alpha P] [...]
+ * java -jar loadgen.jar --suite scenarios/parity.yml [--report-dir DIR]
+ * java -jar loadgen.jar --startup "java -jar backend.jar" [--name NAME] [--base-url URL] [--runs N]
+ *                       [--api-path PATH] [--report-dir DIR]
+ * java -jar loadgen.jar --footprint "java -jar backend.jar" [--name NAME] [--base-url URL]
+ *                       [--management-url URL] [--path PATH] [--connections N] [--rounds N] [--levels 1,16,64,256] [--level-seconds N]
+ *                       [--report-dir DIR]
+ * </pre>
+ * A scenario run writes {@code <scenario>-<timestamp>.json} and the matching {@code .hlog} histogram log
+ * to the report directory ({@code loadgen-results} by default) and prints a summary. A parity suite run
+ * writes {@code <suite>-<timestamp>.json} and {@code .md} with the backends side by side, plus a histogram
+ * log per workload and backend. {@code --pools} preloads the variable pools from a file, such as the one
+ * the data generator writes for the dataset it loaded, before the scenario's setup steps run.
+ * {@code --soak} runs the scenario for hours (4 by default) while a {@link SoakMonitor} samples the backend
+ * every {@code --sample-seconds}, and also writes {@code soak-<scenario>-<timestamp>.json}; it exits with 1
+ * when heap after GC, meter series, threads, direct buffers or RSS ({@code --pid}) grew steadily by more
+ * than {@code --max-growth} percent, or p50 or p99 by more than {@code --max-latency-drift} percent, after
+ * the first {@code --settle} seconds (the warmup and a tenth of the duration by default).
+ * {@code --startup} cold-starts the given command {@code --runs} times (5 by default) and writes
+ * {@code startup-<name>-<timestamp>.json} with the time to ready, to the first API response and the
+ * backend's startup profile of every run. {@code --footprint} starts the given command once and writes
+ * {@code footprint-<name>-<timestamp>.json} with the memory per idle connection and the footprint at each
+ * concurrency level; it needs {@code jcmd}, so run it with a JDK.
+ */
+public final class LoadGenerator {
+
+    static final String DEFAULT_REPORT_DIR = "loadgen-results";
+    static final int DEFAULT_STARTUP_RUNS = 5;
+    static final int DEFAULT_SOAK_SECONDS = 4 * 3600;
+    static final int DEFAULT_SOAK_SAMPLE_SECONDS = 60;
+    static final double DEFAULT_MAX_GROWTH_PERCENT = 10;
+    static final double DEFAULT_MAX_LATENCY_DRIFT_PERCENT = 20;
+    static final double DEFAULT_TREND_ALPHA = 0.01;
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+
+    private LoadGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, String> options = parse(args);
+        if (options.containsKey("help") || !(options.containsKey("scenario") || options.containsKey("suite")
+                || options.containsKey("startup") || options.containsKey("footprint"))) {
+            System.out.println("Usage: java -jar loadgen.jar --scenario FILE [--base-url URL] [--rate N]"
+                    + " [--duration SECONDS] [--warmup SECONDS] [--pools FILE] [--report-dir DIR]");
+            System.out.println("       java -jar loadgen.jar --scenario FILE --soak [--duration SECONDS]"
+                    + " [--sample-seconds N] [--settle SECONDS] [--management-url URL] [--pid PID]"
+                    + " [--max-growth PCT] [--max-latency-drift PCT] [--alpha P] [...]");
+            System.out.println("       java -jar loadgen.jar --suite FILE [--report-dir DIR]");
+            System.out.println("       java -jar loadgen.jar --startup COMMAND [--name NAME] [--base-url URL] [--runs N]"
+                    + " [--api-path PATH] [--report-dir DIR]");
+            System.out.println("       java -jar loadgen.jar --footprint COMMAND [--name NAME] [--base-url URL]"
+                    + " [--management-url URL] [--path PATH] [--connections N] [--rounds N] [--levels 1,16,64,256] [--level-seconds N] [--report-dir DIR]");
+            System.exit(options.containsKey("help") ? 0 : 2);
+        }
+        Path reportDir = Path.of(options.getOrDefault("report-dir", DEFAULT_REPORT_DIR));
+        Files.createDirectories(reportDir);
+        if (options.containsKey("suite")) {
+            runSuite(ParitySuite.load(Path.of(options.get("suite"))), reportDir);
+            return;
+        }
+        if (options.containsKey("startup")) {
+            runStartup(options, reportDir);
+            return;
+        }
+        if (options.containsKey("footprint")) {
+            runFootprint(options, reportDir);
+            return;
+        }
+        boolean soak = options.containsKey("soak");
+        Integer duration = options.containsKey("duration") ? Integer.valueOf(options.get("duration"))
+                : soak ? DEFAULT_SOAK_SECONDS : null;
+        Scenario scenario = Scenario.load(Path.of(options.get("scenario"))).withOverrides(
+                options.get("base-url"),
+                options.containsKey("rate") ? Double.valueOf(options.get("rate")) : null,
+                duration,
+                options.containsKey("warmup") ? Integer.valueOf(options.get("warmup")) : null);
+        String baseName = scenario.name() + "-" + LocalDateTime.now().format(TIMESTAMP);
+
+        HttpClient client = OpenLoopRunner.newClient(scenario);
+        VariablePools pools = new VariablePools();
+        if (options.containsKey("pools")) {
+            pools.addAll(Path.of(options.get("pools")));
+        }
+        OpenLoopRunner runner = new OpenLoopRunner(scenario, client, pools);
+        System.out.printf("Setting up %s against %s%n", scenario.name(), scenario.baseUrl());
+        runner.setup();
+        System.out.printf("Running %.0f req/s for %d s after %d s of warmup%n",
+                scenario.rate(), scenario.durationSeconds(), scenario.warmupSeconds());
+
+        HistogramLogWriter log = new HistogramLogWriter(reportDir.resolve(baseName + ".hlog").toFile());
+        LatencyRecorder recorder = runner.newRecorder(log);
+        Instant startedAt = Instant.now();
+        SoakMonitor monitor = soak ? new SoakMonitor(recorder,
+                options.getOrDefault("management-url", scenario.baseUrl()),
+                options.containsKey("pid") ? Long.valueOf(options.get("pid")) : null, sampleSeconds(options)) : null;
+        OpenLoopRunner.Result result;
+        try {
+            result = runner.runWith(recorder);
+        } finally {
+            log.close();
+            if (monitor != null) {
+                monitor.close();
+            }
+        }
+        Report report = Report.of(result);
+        Path reportFile = reportDir.resolve(baseName + ".json");
+        report.write(reportFile);
+        report.print(System.out);
+        System.out.println("Report written to " + reportFile);
+        if (monitor != null) {
+            long settleSeconds = options.containsKey("settle") ? Long.parseLong(options.get("settle"))
+                    : scenario.warmupSeconds() + scenario.durationSeconds() / 10;
+            SoakReport soakReport = SoakReport.of(scenario, startedAt, sampleSeconds(options), settleSeconds,
+                    new SoakAnalyzer.Thresholds(
+                            Double.parseDouble(options.getOrDefault("max-growth",
+                                    String.valueOf(DEFAULT_MAX_GROWTH_PERCENT))),
+                            Double.parseDouble(options.getOrDefault("max-latency-drift",
+                                    String.valueOf(DEFAULT_MAX_LATENCY_DRIFT_PERCENT))),
+                            Double.parseDouble(options.getOrDefault("alpha", String.valueOf(DEFAULT_TREND_ALPHA)))),
+                    monitor.samples());
+            Path soakFile = reportDir.resolve("soak-" + baseName + ".json");
+            soakReport.write(soakFile);
+            soakReport.print(System.out);
+            System.out.println("Report written to " + soakFile);
+            if (!soakReport.passed()) {
+                System.exit(1);
+            }
+        }
+    }
+
+    private static int sampleSeconds(Map<String, String> options) {
+        return Integer.parseInt(options.getOrDefault("sample-seconds", String.valueOf(DEFAULT_SOAK_SAMPLE_SECONDS)));
+    }
+
+    private static void runSuite(ParitySuite suite, Path reportDir) throws IOException, InterruptedException {
+        String baseName = suite.name() + "-" + LocalDateTime.now().format(TIMESTAMP);
+        ParityReport report = new ParityRunner(suite, reportDir, baseName).run();
+        Path json = reportDir.resolve(baseName + ".json");
+        report.write(json, reportDir.resolve(baseName + ".md"));
+        report.print(System.out);
+        System.out.println("Report written to " + json);
+    }
+
+    private static void runStartup(Map<String, String> options, Path reportDir) throws IOException, InterruptedException {
+        String name = options.getOrDefault("name", "backend");
+        String baseName = "startup-" + name + "-" + LocalDateTime.now().format(TIMESTAMP);
+        StartupBenchmark benchmark = new StartupBenchmark(name, StartupBenchmark.split(options.get("startup")),
+                options.getOrDefault("base-url", "http://localhost:8080"),
+                options.getOrDefault("api-path", "/api/services"), reportDir, baseName);
+        StartupBenchmark.StartupReport report = benchmark.run(
+                Integer.parseInt(options.getOrDefault("runs", String.valueOf(DEFAULT_STARTUP_RUNS))));
+        Path json = reportDir.resolve(baseName + ".json");
+        report.write(json);
+        report.print(System.out);
+        System.out.println("Report written to " + json);
+    }
+
+    private static void runFootprint(Map<String, String> options, Path reportDir) throws IOException, InterruptedException {
+        String name = options.getOrDefault("name", "backend");
+        String baseName = "footprint-" + name + "-" + LocalDateTime.now().format(TIMESTAMP);
+        FootprintBenchmark benchmark = new FootprintBenchmark(name, StartupBenchmark.split(options.get("footprint")),
+                options.getOrDefault("base-url", "http://localhost:8080"),
+                options.getOrDefault("management-url", options.getOrDefault("base-url", "http://localhost:8080")),
+                options.getOrDefault("path", "/api/services"), reportDir, baseName);
+        FootprintBenchmark.FootprintReport report = benchmark.run(
+                Integer.parseInt(options.getOrDefault("connections", String.valueOf(FootprintBenchmark.DEFAULT_CONNECTIONS))),
+                Integer.parseInt(options.getOrDefault("rounds", String.valueOf(FootprintBenchmark.DEFAULT_ROUNDS))),
+                options.containsKey("levels") ? FootprintBenchmark.levels(options.get("levels"))
+                        : FootprintBenchmark.DEFAULT_LEVELS,
+                Integer.parseInt(options.getOrDefault("level-seconds",
+                        String.valueOf(FootprintBenchmark.DEFAULT_LEVEL_SECONDS))));
+        Path json = reportDir.resolve(baseName + ".json");
+        report.write(json);
+        report.print(System.out);
+        System.out.println("Report written to " + json);
+    }
+
+    static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+            String name = args[i].substring(2);
+            if (name.equals("help") || name.equals("soak")) {
+                options.put(name, "");
+            } else if (i + 1 < args.length) {
+                options.put(name, args[++i]);
+            } else {
+                throw new IllegalArgumentException("Missing value for --" + name);
+            }
+        }
+        return options;
+    }
+}
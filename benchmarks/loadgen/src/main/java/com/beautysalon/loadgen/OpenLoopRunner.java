@@ -0,0 +1,268 @@
+package com.beautysalon.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs a {@link Scenario} open loop: request {@code i} is scheduled at {@code start + i / rate} and
+ * started then on its own virtual thread, however long earlier requests take. The scheduler thread
+ * only waits when {@code maxInFlight} requests are outstanding; those late starts still count from
+ * their scheduled time, so the histograms show the queueing a real client population would see.
+ */
+public final class OpenLoopRunner {
+
+    static final long LATE_START_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final int SETUP_CONCURRENCY = 32;
+
+    /**
+     * @param scheduled  requests scheduled in the measured part of the run
+     * @param lateStarts of those, how many started more than 10 ms after their scheduled time
+     */
+    public record Result(Scenario scenario, LatencyRecorder recorder, long scheduled, long lateStarts,
+                         double maxStartLagMs, double elapsedSeconds) {
+    }
+
+    private record CompiledRequest(String name, String method, Template path, Template body) {
+    }
+
+    private final Scenario scenario;
+    private final HttpClient client;
+    private final ObjectMapper json = new ObjectMapper();
+    private final VariablePools pools;
+    private final Template.Context context;
+    private final List<CompiledRequest> requests = new ArrayList<>();
+    private final int[] cumulativeWeights;
+
+    public OpenLoopRunner(Scenario scenario, HttpClient client) {
+        this(scenario, client, new VariablePools());
+    }
+
+    /**
+     * A runner drawing from {@code pools} filled by another runner's {@link #setup()}, so several
+     * scenarios can share one set of data on the server.
+     */
+    public OpenLoopRunner(Scenario scenario, HttpClient client, VariablePools pools) {
+        this.scenario = scenario;
+        this.client = client;
+        this.pools = pools;
+        this.context = new Template.Context(pools, pools.sequence(), LocalDate.now(), scenario.dateWindowDays());
+        this.cumulativeWeights = new int[scenario.requests().size()];
+        int total = 0;
+        for (Scenario.RequestSpec spec : scenario.requests()) {
+            requests.add(new CompiledRequest(spec.name(), spec.method(),
+                    Template.compile(spec.path()), Template.compile(spec.body())));
+            total += spec.weight();
+            cumulativeWeights[requests.size() - 1] = total;
+        }
+    }
+
+    /**
+     * A client that runs its callbacks on virtual threads and keeps HTTP/1.1 connections alive, as
+     * browsers and the frontend talk to the backends.
+     */
+    public static HttpClient newClient(Scenario scenario) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(scenario.timeoutMs()))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    /**
+     * Send the setup requests, each step's repetitions concurrently and the steps in order, and
+     * capture the values later requests draw from.
+     *
+     * @throws IllegalStateException when a setup request does not succeed
+     */
+    public void setup() throws InterruptedException {
+        for (Scenario.SetupStep step : scenario.setup()) {
+            Template path = Template.compile(step.path());
+            Template body = Template.compile(step.body());
+            Semaphore permits = new Semaphore(SETUP_CONCURRENCY);
+            List<Future<?>> results = new ArrayList<>();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < step.repeat(); i++) {
+                    permits.acquire();
+                    results.add(executor.submit(() -> {
+                        try {
+                            setupRequest(step, path, body);
+                            return null;
+                        } finally {
+                            permits.release();
+                        }
+                    }));
+                }
+            }
+            for (Future<?> result : results) {
+                try {
+                    result.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Setup step '" + step.name() + "' failed: "
+                            + e.getCause().getMessage(), e.getCause());
+                }
+            }
+        }
+    }
+
+    public Result run(HistogramLogWriter log) throws InterruptedException {
+        return runWith(newRecorder(log));
+    }
+
+    /**
+     * A recorder for {@link #runWith(LatencyRecorder)}, for callers that watch the latencies while the run goes on.
+     */
+    public LatencyRecorder newRecorder(HistogramLogWriter log) {
+        return new LatencyRecorder(requests.stream().map(CompiledRequest::name).toList(), log);
+    }
+
+    public Result runWith(LatencyRecorder recorder) throws InterruptedException {
+        long periodNanos = Math.max(1, Math.round(TimeUnit.SECONDS.toNanos(1) / scenario.rate()));
+        long start = System.nanoTime();
+        long measuredFrom = start + TimeUnit.SECONDS.toNanos(scenario.warmupSeconds());
+        long end = measuredFrom + TimeUnit.SECONDS.toNanos(scenario.durationSeconds());
+        Semaphore inFlight = new Semaphore(scenario.maxInFlight());
+        AtomicLong second = new AtomicLong();
+        long scheduled = 0;
+        long lateStarts = 0;
+        long maxLagNanos = 0;
+
+        ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor();
+        ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            ticker.schedule(() -> recorder.start(System.currentTimeMillis()),
+                    measuredFrom - System.nanoTime(), TimeUnit.NANOSECONDS);
+            ticker.scheduleAtFixedRate(() -> recorder.interval(second.incrementAndGet()),
+                    measuredFrom + TimeUnit.SECONDS.toNanos(1) - System.nanoTime(),
+                    TimeUnit.SECONDS.toNanos(1), TimeUnit.NANOSECONDS);
+
+            for (long i = 0; ; i++) {
+                long intended = start + i * periodNanos;
+                if (intended >= end) {
+                    break;
+                }
+                parkUntil(intended);
+                inFlight.acquire();
+                boolean measured = intended >= measuredFrom;
+                if (measured) {
+                    long lag = System.nanoTime() - intended;
+                    scheduled++;
+                    maxLagNanos = Math.max(maxLagNanos, lag);
+                    if (lag > LATE_START_NANOS) {
+                        lateStarts++;
+                    }
+                }
+                CompiledRequest request = pick();
+                workers.execute(() -> {
+                    try {
+                        send(request, intended, measured ? recorder : null);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+            workers.shutdown();
+            workers.awaitTermination(scenario.timeoutMs() + 5_000L, TimeUnit.MILLISECONDS);
+        } finally {
+            workers.shutdownNow();
+            ticker.shutdownNow();
+            ticker.awaitTermination(5, TimeUnit.SECONDS);
+        }
+        // the requests that completed after the last tick
+        recorder.interval(second.incrementAndGet());
+        double elapsedSeconds = (System.nanoTime() - measuredFrom) / 1e9;
+        return new Result(scenario, recorder, scheduled, lateStarts, maxLagNanos / 1e6, elapsedSeconds);
+    }
+
+    private void send(CompiledRequest request, long intended, LatencyRecorder recorder) {
+        String error;
+        long sent = System.nanoTime();
+        try {
+            HttpResponse<Void> response = client.send(httpRequest(request.method(),
+                    request.path().render(context), request.body().render(context)),
+                    HttpResponse.BodyHandlers.discarding());
+            error = response.statusCode() >= 400 ? "HTTP " + response.statusCode() : null;
+        } catch (IOException | RuntimeException e) {
+            error = e.getClass().getSimpleName();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            error = e.getClass().getSimpleName();
+        }
+        if (recorder != null) {
+            recorder.record(request.name(), intended, sent, System.nanoTime(), error);
+        }
+    }
+
+    private void setupRequest(Scenario.SetupStep step, Template path, Template body)
+            throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(httpRequest(step.method(), path.render(context), body.render(context)),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException(step.method() + " " + response.uri() + " returned "
+                    + response.statusCode() + ": " + response.body());
+        }
+        if (step.capture().isEmpty()) {
+            return;
+        }
+        JsonNode node = json.readTree(response.body());
+        step.capture().forEach((pool, field) -> {
+            JsonNode value = node.get(field);
+            if (value == null || value.isNull()) {
+                throw new IllegalStateException("Response of " + response.uri() + " has no field '" + field + "'");
+            }
+            pools.add(pool, value.asText());
+        });
+    }
+
+    private HttpRequest httpRequest(String method, String path, String body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(scenario.baseUrl() + path))
+                .timeout(Duration.ofMillis(scenario.timeoutMs()));
+        if (body == null) {
+            return builder.method(method, HttpRequest.BodyPublishers.noBody()).build();
+        }
+        return builder.header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private CompiledRequest pick() {
+        int draw = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (draw < cumulativeWeights[i]) {
+                return requests.get(i);
+            }
+        }
+        throw new IllegalStateException("unreachable");
+    }
+
+    VariablePools pools() {
+        return pools;
+    }
+
+    private static void parkUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
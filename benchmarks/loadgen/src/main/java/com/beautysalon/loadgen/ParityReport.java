@@ -0,0 +1,73 @@
+package com.beautysalon.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Outcome of a {@link ParitySuite} run: for every workload, each backend's full {@link Report} and
+ * its process usage. Written as JSON, and as a Markdown table with the backends side by side.
+ */
+public record ParityReport(String suite, Instant startedAt, List<WorkloadResult> workloads) {
+
+    /**
+     * @param resources {@code null} when the backend's process was not known
+     */
+    public record BackendResult(String backend, Report report, ProcessSampler.Usage resources) {
+    }
+
+    public record WorkloadResult(String workload, String description, List<BackendResult> backends) {
+    }
+
+    public void write(Path json, Path markdown) throws IOException {
+        new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(json.toFile(), this);
+        Files.writeString(markdown, markdown());
+    }
+
+    public void print(PrintStream out) {
+        out.print(markdown());
+    }
+
+    String markdown() {
+        StringBuilder out = new StringBuilder();
+        out.append("# ").append(suite).append(" (").append(startedAt).append(")\n\n");
+        out.append("Response times in ms, corrected for coordinated omission. CPU in cores and ms per request, RSS in MB.\n");
+        for (WorkloadResult workload : workloads) {
+            out.append("\n## ").append(workload.workload()).append("\n\n");
+            if (workload.description() != null) {
+                out.append(workload.description().strip()).append("\n\n");
+            }
+            out.append("| Backend | Target req/s | Achieved req/s | Errors | p50 | p90 | p99 | p99.9 | Max"
+                    + " | CPU cores | CPU ms/req | RSS mean | RSS peak |\n");
+            out.append("|---|---:|---:|---:|---:|---:|---:|---:|---:|---:|---:|---:|---:|\n");
+            for (BackendResult result : workload.backends()) {
+                Report report = result.report();
+                Report.Latency latency = report.responseTime();
+                ProcessSampler.Usage usage = result.resources();
+                out.append(String.format(Locale.ROOT, "| %s | %.0f | %.1f | %d | %.2f | %.2f | %.2f | %.2f | %.2f | %s | %s | %s | %s |%n",
+                        result.backend(), report.targetRate(), report.achievedRate(), report.errors(),
+                        latency.p50(), latency.p90(), latency.p99(), latency.p999(), latency.max(),
+                        usage == null ? "-" : format(usage.cpuCores()),
+                        usage == null ? "-" : format(usage.cpuMsPerRequest()),
+                        usage == null ? "-" : format(usage.rssMeanMb()),
+                        usage == null ? "-" : format(usage.rssPeakMb())));
+            }
+        }
+        return out.toString();
+    }
+
+    private static String format(Double value) {
+        return value == null ? "-" : String.format(Locale.ROOT, "%.2f", value);
+    }
+}
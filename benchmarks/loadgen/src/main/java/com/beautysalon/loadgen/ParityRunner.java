@@ -0,0 +1,146 @@
+package com.beautysalon.loadgen;
+
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a {@link ParitySuite}: for each backend in turn, start it if the suite says how, seed it with
+ * the suite's setup unless it serves a pre-loaded dataset, then run every workload against it while sampling its CPU and RSS. Backends run
+ * one after another on the same machine and data, so the only difference between their numbers is
+ * the backend.
+ */
+public final class ParityRunner {
+
+    static final Duration READY_TIMEOUT = Duration.ofMinutes(2);
+    private static final long READY_POLL_MILLIS = 500;
+
+    private final ParitySuite suite;
+    private final Path reportDir;
+    private final String baseName;
+
+    public ParityRunner(ParitySuite suite, Path reportDir, String baseName) {
+        this.suite = suite;
+        this.reportDir = reportDir;
+        this.baseName = baseName;
+    }
+
+    public ParityReport run() throws IOException, InterruptedException {
+        Instant startedAt = Instant.now();
+        Map<String, List<ParityReport.BackendResult>> results = new LinkedHashMap<>();
+        suite.workloads().forEach(workload -> results.put(workload.name(), new ArrayList<>()));
+
+        for (ParitySuite.Backend backend : suite.backends()) {
+            Process process = start(backend);
+            try {
+                Long pid = process != null ? Long.valueOf(process.pid()) : backend.pid();
+                Scenario setup = suite.setupScenario(backend);
+                HttpClient client = OpenLoopRunner.newClient(setup);
+                awaitReady(backend, client, process);
+                VariablePools pools = new VariablePools();
+                if (backend.pools() != null) {
+                    System.out.printf("Using the dataset of %s from %s%n", backend.name(), backend.pools());
+                    pools.addAll(Path.of(backend.pools()));
+                } else {
+                    System.out.printf("Seeding %s at %s%n", backend.name(), backend.baseUrl());
+                    new OpenLoopRunner(setup, client, pools).setup();
+                }
+                for (ParitySuite.Workload workload : suite.workloads()) {
+                    results.get(workload.name()).add(runWorkload(backend, workload, client, pools, pid));
+                }
+            } finally {
+                stop(process);
+            }
+        }
+
+        List<ParityReport.WorkloadResult> workloads = new ArrayList<>();
+        for (ParitySuite.Workload workload : suite.workloads()) {
+            workloads.add(new ParityReport.WorkloadResult(workload.name(), workload.description(),
+                    results.get(workload.name())));
+        }
+        return new ParityReport(suite.name(), startedAt, workloads);
+    }
+
+    private ParityReport.BackendResult runWorkload(ParitySuite.Backend backend, ParitySuite.Workload workload,
+                                                   HttpClient client, VariablePools pools, Long pid)
+            throws IOException, InterruptedException {
+        Scenario scenario = suite.scenario(backend, workload);
+        System.out.printf("Running %s on %s: %.0f req/s for %d s%n",
+                workload.name(), backend.name(), scenario.rate(), scenario.durationSeconds());
+        HistogramLogWriter log = new HistogramLogWriter(
+                reportDir.resolve(baseName + "-" + workload.name() + "-" + backend.name() + ".hlog").toFile());
+        ProcessSampler sampler = pid != null ? new ProcessSampler(pid) : null;
+        try {
+            OpenLoopRunner.Result result = new OpenLoopRunner(scenario, client, pools).run(log);
+            Report report = Report.of(result);
+            long from = report.startedAt().toEpochMilli();
+            long to = from + TimeUnit.SECONDS.toMillis(scenario.durationSeconds());
+            ProcessSampler.Usage usage = sampler == null ? null
+                    : sampler.usage(from, to, report.completed()).orElse(null);
+            return new ParityReport.BackendResult(backend.name(), report, usage);
+        } finally {
+            log.close();
+            if (sampler != null) {
+                sampler.close();
+            }
+        }
+    }
+
+    private Process start(ParitySuite.Backend backend) throws IOException {
+        if (backend.command().isEmpty()) {
+            return null;
+        }
+        System.out.printf("Starting %s: %s%n", backend.name(), String.join(" ", backend.command()));
+        return new ProcessBuilder(backend.command())
+                .redirectErrorStream(true)
+                .redirectOutput(reportDir.resolve(baseName + "-" + backend.name() + ".log").toFile())
+                .start();
+    }
+
+    /**
+     * Poll the backend until it answers at all; a health status other than UP is fine, since storage
+     * or cache indicators may legitimately be degraded under the {@code inmem} profile.
+     */
+    private static void awaitReady(ParitySuite.Backend backend, HttpClient client, Process process)
+            throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(backend.baseUrl() + backend.readyPath()))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        long deadline = System.nanoTime() + READY_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (process != null && !process.isAlive()) {
+                throw new IllegalStateException(backend.name() + " exited with " + process.exitValue()
+                        + " before it was ready");
+            }
+            try {
+                client.send(request, HttpResponse.BodyHandlers.discarding());
+                return;
+            } catch (IOException e) {
+                Thread.sleep(READY_POLL_MILLIS);
+            }
+        }
+        throw new IllegalStateException(backend.name() + " not ready at " + request.uri() + " after " + READY_TIMEOUT);
+    }
+
+    static void stop(Process process) throws InterruptedException {
+        if (process == null) {
+            return;
+        }
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+}
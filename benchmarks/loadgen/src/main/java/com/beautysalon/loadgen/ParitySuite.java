@@ -0,0 +1,125 @@
+package com.beautysalon.loadgen;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The same logical workloads run against every backend, read from YAML. Requests are written once;
+ * where the backends' APIs differ, paths and bodies use {@code ${var.NAME}} and each backend supplies
+ * its value, e.g. lowercase vs uppercase statuses or how an appointment slot is sent. Variable values
+ * may contain {@link Template} placeholders themselves.
+ */
+public record ParitySuite(
+        String name,
+        int durationSeconds,
+        int warmupSeconds,
+        int timeoutMs,
+        int maxInFlight,
+        int dateWindowDays,
+        List<Backend> backends,
+        List<Scenario.SetupStep> setup,
+        List<Workload> workloads) {
+
+    private static final ObjectMapper YAML = new ObjectMapper(new YAMLFactory())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private static final Pattern VARIABLE = Pattern.compile("\\$\\{var\\.([A-Za-z0-9_-]+)}");
+
+    public ParitySuite {
+        if (name == null || name.isBlank()) {
+            name = "parity";
+        }
+        backends = backends == null ? List.of() : List.copyOf(backends);
+        setup = setup == null ? List.of() : List.copyOf(setup);
+        workloads = workloads == null ? List.of() : List.copyOf(workloads);
+        if (backends.isEmpty() || workloads.isEmpty()) {
+            throw new IllegalArgumentException("Suite " + name + " needs backends and workloads");
+        }
+    }
+
+    /**
+     * A backend under test. With a {@code command} the suite starts it before its workloads and stops
+     * it afterwards, so backends never compete for the machine; without one it must already run at
+     * {@code baseUrl}, and its CPU and RSS are only reported when {@code pid} is given.
+     *
+     * @param readyPath polled after start until the backend answers, with any status
+     * @param pools     pools file of a dataset already loaded for this backend; when given, the suite's setup
+     *                  is skipped for it and requests draw from the file's pools instead
+     */
+    public record Backend(String name, String baseUrl, List<String> command, String readyPath, Long pid,
+                          Map<String, String> variables, String pools) {
+
+        public Backend {
+            command = command == null ? List.of() : List.copyOf(command);
+            if (readyPath == null || readyPath.isBlank()) {
+                readyPath = "/actuator/health";
+            }
+            variables = variables == null ? Map.of() : Map.copyOf(variables);
+        }
+    }
+
+    /**
+     * One logical workload. {@code durationSeconds} and {@code warmupSeconds} fall back to the suite's.
+     */
+    public record Workload(String name, String description, double rate, Integer durationSeconds,
+                           Integer warmupSeconds, List<Scenario.RequestSpec> requests) {
+    }
+
+    public static ParitySuite load(Path file) throws IOException {
+        return YAML.readValue(file.toFile(), ParitySuite.class);
+    }
+
+    /**
+     * The suite's setup as a scenario for {@code backend}; only its setup steps are meant to run.
+     */
+    public Scenario setupScenario(Backend backend) {
+        return scenario(backend, workloads.get(0), setup);
+    }
+
+    public Scenario scenario(Backend backend, Workload workload) {
+        return scenario(backend, workload, List.of());
+    }
+
+    private Scenario scenario(Backend backend, Workload workload, List<Scenario.SetupStep> steps) {
+        return new Scenario(
+                name + "-" + workload.name() + "-" + backend.name(),
+                backend.baseUrl(),
+                workload.rate(),
+                workload.durationSeconds() != null ? workload.durationSeconds() : durationSeconds,
+                workload.warmupSeconds() != null ? workload.warmupSeconds() : warmupSeconds,
+                timeoutMs,
+                maxInFlight,
+                dateWindowDays,
+                steps.stream().map(step -> new Scenario.SetupStep(step.name(), step.method(),
+                        resolve(step.path(), backend), resolve(step.body(), backend), step.repeat(),
+                        step.capture())).toList(),
+                workload.requests().stream().map(request -> new Scenario.RequestSpec(request.name(),
+                        request.method(), resolve(request.path(), backend), resolve(request.body(), backend),
+                        request.weight())).toList());
+    }
+
+    static String resolve(String text, Backend backend) {
+        if (text == null) {
+            return null;
+        }
+        Matcher matcher = VARIABLE.matcher(text);
+        StringBuilder out = new StringBuilder();
+        while (matcher.find()) {
+            String value = backend.variables().get(matcher.group(1));
+            if (value == null) {
+                throw new IllegalArgumentException("Backend " + backend.name() + " has no variable '"
+                        + matcher.group(1) + "'");
+            }
+            matcher.appendReplacement(out, Matcher.quoteReplacement(value));
+        }
+        matcher.appendTail(out);
+        return out.toString();
+    }
+}
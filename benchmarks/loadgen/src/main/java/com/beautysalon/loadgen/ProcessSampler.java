@@ -0,0 +1,120 @@
+package com.beautysalon.loadgen;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples a server process's CPU time and resident set size while it is under load, so CPU per
+ * request and memory can be put next to the latencies. CPU time comes from {@link ProcessHandle};
+ * RSS from {@code /proc/<pid>/status}, so it is only known on Linux.
+ */
+public final class ProcessSampler implements AutoCloseable {
+
+    static final long SAMPLE_INTERVAL_MILLIS = 250;
+    private static final double BYTES_PER_MB = 1024.0 * 1024.0;
+
+    record Sample(long epochMillis, long cpuNanos, long rssBytes) {
+    }
+
+    /**
+     * The process's footprint over a measured window. {@code cpuCores} is CPU time over wall time, so
+     * 1.0 is one core kept busy; RSS values are {@code null} where RSS cannot be read.
+     */
+    public record Usage(double cpuCores, double cpuMsPerRequest, Double rssMeanMb, Double rssPeakMb) {
+    }
+
+    private final long pid;
+    private final List<Sample> samples = new ArrayList<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    public ProcessSampler(long pid) {
+        this.pid = pid;
+        scheduler.scheduleAtFixedRate(this::sample, 0, SAMPLE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Usage between two wall-clock instants, from the samples nearest inside the window.
+     *
+     * @param requests requests completed in the window
+     * @return empty when fewer than two samples fall in the window
+     */
+    public Optional<Usage> usage(long fromEpochMillis, long toEpochMillis, long requests) {
+        List<Sample> window;
+        synchronized (samples) {
+            window = samples.stream()
+                    .filter(s -> s.epochMillis() >= fromEpochMillis && s.epochMillis() <= toEpochMillis)
+                    .toList();
+        }
+        return usage(window, requests, toEpochMillis - fromEpochMillis);
+    }
+
+    static Optional<Usage> usage(List<Sample> window, long requests, long windowMillis) {
+        if (window.size() < 2) {
+            return Optional.empty();
+        }
+        Sample first = window.get(0);
+        Sample last = window.get(window.size() - 1);
+        double cpuNanos = last.cpuNanos() - first.cpuNanos();
+        double wallNanos = TimeUnit.MILLISECONDS.toNanos(last.epochMillis() - first.epochMillis());
+        double cpuCores = wallNanos == 0 ? 0.0 : cpuNanos / wallNanos;
+        // the samples cover a little less than the window the requests were counted in, so scale the rate
+        double cpuMsPerRequest = requests == 0 ? 0.0 : cpuCores * windowMillis / requests;
+        List<Long> rss = window.stream().map(Sample::rssBytes).filter(bytes -> bytes >= 0).toList();
+        Double rssMean = rss.isEmpty() ? null : rss.stream().mapToLong(Long::longValue).average().orElse(0) / BYTES_PER_MB;
+        Double rssPeak = rss.isEmpty() ? null : rss.stream().mapToLong(Long::longValue).max().orElse(0) / BYTES_PER_MB;
+        return Optional.of(new Usage(cpuCores, cpuMsPerRequest, rssMean, rssPeak));
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private void sample() {
+        Optional<Duration> cpu = ProcessHandle.of(pid).flatMap(handle -> handle.info().totalCpuDuration());
+        if (cpu.isEmpty()) {
+            return;
+        }
+        Sample sample = new Sample(System.currentTimeMillis(), cpu.get().toNanos(), rss(pid));
+        synchronized (samples) {
+            samples.add(sample);
+        }
+    }
+
+    /**
+     * @return the resident set size in bytes, or -1 where {@code /proc} is not available
+     */
+    static long rss(long pid) {
+        long kilobytes = status(pid, "VmRSS:");
+        return kilobytes < 0 ? -1 : kilobytes * 1024;
+    }
+
+    /**
+     * @return the number of threads, JVM-internal ones included, or -1 where {@code /proc} is not available
+     */
+    static long threads(long pid) {
+        return status(pid, "Threads:");
+    }
+
+    private static long status(long pid, String field) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", Long.toString(pid), "status"))) {
+                if (line.startsWith(field)) {
+                    String[] fields = line.trim().split("\\s+");
+                    return Long.parseLong(fields[1]);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // not Linux, or the process is gone
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,151 @@
+package com.beautysalon.loadgen;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * One HTTP/1.1 keep-alive connection, kept by the caller for as long as it wants. {@link java.net.http.HttpClient}
+ * pools and closes connections as it sees fit, so it cannot hold a given number of connections open on
+ * the server; this client sends bare {@code GET}s and reads just enough of each response to find its end.
+ */
+final class RawHttpConnection implements AutoCloseable {
+
+    private static final int TIMEOUT_MILLIS = 10_000;
+
+    private final Socket socket;
+    private final String host;
+    private final InputStream in;
+    private final OutputStream out;
+    private boolean open = true;
+
+    RawHttpConnection(URI baseUrl) throws IOException {
+        int port = baseUrl.getPort() > 0 ? baseUrl.getPort() : 80;
+        socket = new Socket();
+        socket.setTcpNoDelay(true);
+        socket.connect(new InetSocketAddress(baseUrl.getHost(), port), TIMEOUT_MILLIS);
+        socket.setSoTimeout(TIMEOUT_MILLIS);
+        host = baseUrl.getHost() + ":" + port;
+        in = new BufferedInputStream(socket.getInputStream());
+        out = socket.getOutputStream();
+    }
+
+    RawHttpConnection(InputStream in, OutputStream out) {
+        this.socket = null;
+        this.host = "localhost";
+        this.in = in;
+        this.out = out;
+    }
+
+    /**
+     * @return the response status
+     * @throws IOException when the server closed the connection or answered garbage
+     */
+    int get(String path) throws IOException {
+        if (!open) {
+            throw new IOException("Connection closed by the server");
+        }
+        out.write(("GET " + path + " HTTP/1.1\r\nHost: " + host + "\r\nAccept: application/json\r\n\r\n")
+                .getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+        return readResponse();
+    }
+
+    boolean isOpen() {
+        return open;
+    }
+
+    private int readResponse() throws IOException {
+        String statusLine = readLine();
+        String[] parts = statusLine.split(" ", 3);
+        if (parts.length < 2 || !parts[0].startsWith("HTTP/1.")) {
+            throw new IOException("Not an HTTP response: " + statusLine);
+        }
+        int status = Integer.parseInt(parts[1]);
+        long contentLength = -1;
+        boolean chunked = false;
+        for (String header = readLine(); !header.isEmpty(); header = readLine()) {
+            int colon = header.indexOf(':');
+            if (colon < 0) {
+                continue;
+            }
+            String name = header.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+            String value = header.substring(colon + 1).trim().toLowerCase(Locale.ROOT);
+            switch (name) {
+                case "content-length" -> contentLength = Long.parseLong(value);
+                case "transfer-encoding" -> chunked = value.contains("chunked");
+                case "connection" -> open &= !value.contains("close");
+                default -> {
+                }
+            }
+        }
+        if (chunked) {
+            for (long size = chunkSize(); size > 0; size = chunkSize()) {
+                skip(size);
+                readLine();
+            }
+            // trailers end with an empty line
+            while (!readLine().isEmpty()) {
+                // ignore
+            }
+        } else if (contentLength > 0) {
+            skip(contentLength);
+        } else if (contentLength < 0 && status >= 200 && status != 204 && status != 304) {
+            // no length: the body ends when the server closes the connection
+            in.transferTo(OutputStream.nullOutputStream());
+            open = false;
+        }
+        return status;
+    }
+
+    private long chunkSize() throws IOException {
+        String line = readLine();
+        int extension = line.indexOf(';');
+        return Long.parseLong((extension >= 0 ? line.substring(0, extension) : line).trim(), 16);
+    }
+
+    private void skip(long bytes) throws IOException {
+        long remaining = bytes;
+        while (remaining > 0) {
+            long skipped = in.skip(remaining);
+            if (skipped <= 0) {
+                if (in.read() < 0) {
+                    throw new EOFException("Response ended " + remaining + " bytes early");
+                }
+                skipped = 1;
+            }
+            remaining -= skipped;
+        }
+    }
+
+    private String readLine() throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream(64);
+        int b;
+        while ((b = in.read()) != '\n') {
+            if (b < 0) {
+                open = false;
+                throw new EOFException("Connection closed by the server");
+            }
+            if (b != '\r') {
+                line.write(b);
+            }
+        }
+        return line.toString(StandardCharsets.US_ASCII);
+    }
+
+    @Override
+    public void close() throws IOException {
+        open = false;
+        if (socket != null) {
+            socket.close();
+        }
+    }
+}
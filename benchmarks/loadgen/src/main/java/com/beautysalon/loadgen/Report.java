@@ -0,0 +1,111 @@
+package com.beautysalon.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The machine-readable outcome of a run, written as JSON next to the run's histogram log. Latencies
+ * are in milliseconds; {@code responseTime} is corrected for coordinated omission, {@code serviceTime}
+ * is not and is only there to show how much the correction matters.
+ */
+public record Report(
+        String scenario,
+        String baseUrl,
+        Instant startedAt,
+        double targetRate,
+        int durationSeconds,
+        int warmupSeconds,
+        long scheduled,
+        long completed,
+        long errors,
+        double achievedRate,
+        long lateStarts,
+        double maxStartLagMs,
+        Latency responseTime,
+        Latency serviceTime,
+        Map<String, Long> errorsByCause,
+        List<EndpointReport> endpoints,
+        List<LatencyRecorder.TimelinePoint> timeline) {
+
+    public record Latency(double mean, double p50, double p90, double p99, double p999, double max) {
+
+        static Latency of(Histogram histogram) {
+            return new Latency(
+                    histogram.getMean() / 1000.0,
+                    LatencyRecorder.millis(histogram.getValueAtPercentile(50)),
+                    LatencyRecorder.millis(histogram.getValueAtPercentile(90)),
+                    LatencyRecorder.millis(histogram.getValueAtPercentile(99)),
+                    LatencyRecorder.millis(histogram.getValueAtPercentile(99.9)),
+                    LatencyRecorder.millis(histogram.getMaxValue()));
+        }
+    }
+
+    public record EndpointReport(String name, long requests, long errors, Latency responseTime, Latency serviceTime) {
+    }
+
+    public static Report of(OpenLoopRunner.Result result) {
+        LatencyRecorder recorder = result.recorder();
+        Scenario scenario = result.scenario();
+        List<EndpointReport> endpoints = new ArrayList<>();
+        for (LatencyRecorder.Endpoint endpoint : recorder.endpoints()) {
+            endpoints.add(new EndpointReport(endpoint.name, endpoint.responseTotal.getTotalCount(),
+                    endpoint.errors.sum(), Latency.of(endpoint.responseTotal), Latency.of(endpoint.serviceTotal)));
+        }
+        long completed = recorder.responseTotal().getTotalCount();
+        return new Report(
+                scenario.name(),
+                scenario.baseUrl(),
+                Instant.ofEpochMilli(recorder.startMillis()),
+                scenario.rate(),
+                scenario.durationSeconds(),
+                scenario.warmupSeconds(),
+                result.scheduled(),
+                completed,
+                recorder.errors(),
+                completed / Math.max(scenario.durationSeconds(), result.elapsedSeconds()),
+                result.lateStarts(),
+                result.maxStartLagMs(),
+                Latency.of(recorder.responseTotal()),
+                Latency.of(recorder.serviceTotal()),
+                recorder.errorsByCause(),
+                endpoints,
+                recorder.timeline());
+    }
+
+    public void write(Path file) throws IOException {
+        new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(file.toFile(), this);
+    }
+
+    public void print(PrintStream out) {
+        out.printf(Locale.ROOT, "%s against %s: %.0f req/s for %d s%n", scenario, baseUrl, targetRate, durationSeconds);
+        out.printf(Locale.ROOT, "  scheduled %d, completed %d, errors %d, achieved %.1f req/s, late starts %d (max lag %.1f ms)%n",
+                scheduled, completed, errors, achievedRate, lateStarts, maxStartLagMs);
+        out.printf(Locale.ROOT, "  %-32s %8s %8s %9s %9s %9s %9s %9s%n",
+                "endpoint (response time, ms)", "requests", "errors", "p50", "p90", "p99", "p99.9", "max");
+        for (EndpointReport endpoint : endpoints) {
+            printRow(out, endpoint.name(), endpoint.requests(), endpoint.errors(), endpoint.responseTime());
+        }
+        printRow(out, "all", completed, errors, responseTime);
+        printRow(out, "all, service time (uncorrected)", completed, errors, serviceTime);
+        errorsByCause.forEach((cause, count) -> out.printf(Locale.ROOT, "  error %s: %d%n", cause, count));
+    }
+
+    private static void printRow(PrintStream out, String name, long requests, long errors, Latency latency) {
+        out.printf(Locale.ROOT, "  %-32s %8d %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, requests, errors, latency.p50(), latency.p90(), latency.p99(), latency.p999(), latency.max());
+    }
+}
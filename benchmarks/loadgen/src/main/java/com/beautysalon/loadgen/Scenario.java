@@ -0,0 +1,109 @@
+package com.beautysalon.loadgen;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A load test read from YAML: where to send requests, at which arrival rate for how long, the setup
+ * requests that create the data to query, and the weighted request mix. Paths and bodies are
+ * {@link Template templates}; values captured by the setup steps are drawn from named pools.
+ *
+ * @param rate           requests per second, started on schedule whatever the response times
+ * @param maxInFlight    requests allowed in flight at once; past it starts are delayed, and the delay
+ *                       counts in the response time because it is measured from the intended start
+ * @param dateWindowDays {@code ${date}} and friends pick a day in this many days from today
+ */
+public record Scenario(
+        String name,
+        String baseUrl,
+        double rate,
+        int durationSeconds,
+        int warmupSeconds,
+        int timeoutMs,
+        int maxInFlight,
+        int dateWindowDays,
+        List<SetupStep> setup,
+        List<RequestSpec> requests) {
+
+    private static final ObjectMapper YAML = new ObjectMapper(new YAMLFactory())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    public Scenario {
+        if (name == null || name.isBlank()) {
+            name = "scenario";
+        }
+        if (baseUrl == null || baseUrl.isBlank()) {
+            baseUrl = "http://localhost:8080";
+        }
+        if (timeoutMs <= 0) {
+            timeoutMs = 5_000;
+        }
+        if (maxInFlight <= 0) {
+            maxInFlight = 1_000;
+        }
+        if (dateWindowDays <= 0) {
+            dateWindowDays = 7;
+        }
+        setup = setup == null ? List.of() : List.copyOf(setup);
+        requests = requests == null ? List.of() : List.copyOf(requests);
+        if (rate <= 0) {
+            throw new IllegalArgumentException("rate must be positive");
+        }
+        if (durationSeconds <= 0) {
+            throw new IllegalArgumentException("durationSeconds must be positive");
+        }
+        if (warmupSeconds < 0) {
+            throw new IllegalArgumentException("warmupSeconds must not be negative");
+        }
+        if (requests.isEmpty()) {
+            throw new IllegalArgumentException("Scenario " + name + " has no requests");
+        }
+    }
+
+    /**
+     * Requests sent once, in order, before the measured run. Each response's {@code capture} fields
+     * are added to the pool of the same name, e.g. {@code capture: {customers: id}}.
+     */
+    public record SetupStep(String name, String method, String path, String body, int repeat,
+                            Map<String, String> capture) {
+
+        public SetupStep {
+            method = method == null ? "POST" : method.toUpperCase();
+            repeat = Math.max(1, repeat);
+            capture = capture == null ? Map.of() : Map.copyOf(capture);
+        }
+    }
+
+    /**
+     * One entry of the mix; it is picked with probability {@code weight} over the sum of all weights.
+     */
+    public record RequestSpec(String name, String method, String path, String body, int weight) {
+
+        public RequestSpec {
+            method = method == null ? "GET" : method.toUpperCase();
+            weight = Math.max(1, weight);
+            if (name == null || name.isBlank()) {
+                name = method + " " + path;
+            }
+        }
+    }
+
+    public static Scenario load(Path file) throws IOException {
+        return YAML.readValue(file.toFile(), Scenario.class);
+    }
+
+    public Scenario withOverrides(String baseUrl, Double rate, Integer durationSeconds, Integer warmupSeconds) {
+        return new Scenario(name,
+                baseUrl != null ? baseUrl : this.baseUrl,
+                rate != null ? rate : this.rate,
+                durationSeconds != null ? durationSeconds : this.durationSeconds,
+                warmupSeconds != null ? warmupSeconds : this.warmupSeconds,
+                timeoutMs, maxInFlight, dateWindowDays, setup, requests);
+    }
+}
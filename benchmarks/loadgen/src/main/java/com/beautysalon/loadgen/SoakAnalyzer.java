@@ -0,0 +1,236 @@
+package com.beautysalon.loadgen;
+
+import org.apache.commons.math3.distribution.NormalDistribution;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Decides whether a soak run leaked or drifted. Each series left after the settle period is tested for a
+ * monotonic upward trend with the Mann-Kendall test (one-sided, corrected for ties) and its rate estimated with
+ * Sen's slope, the median of the slopes between all pairs of samples; both only use ranks, so GC sawtooth and
+ * latency spikes do not carry them. A series fails when the trend is significant and the growth it projects
+ * over the analyzed span exceeds both a tolerance relative to the series' start and an absolute floor: samples
+ * taken a minute apart are autocorrelated, so significance alone would flag harmless creep.
+ */
+public final class SoakAnalyzer {
+
+    /** Fewer samples than this after the settle period cannot show a trend. */
+    static final int MIN_SAMPLES = 8;
+    /** Longer series are averaged down to this many points, which keeps the pairwise statistics cheap. */
+    static final int MAX_POINTS = 500;
+    private static final NormalDistribution NORMAL = new NormalDistribution();
+
+    /**
+     * The series a soak run watches. Resources are held to the growth tolerance, latencies to the drift
+     * tolerance.
+     *
+     * @param floor growth below this, in {@code unit}, never fails
+     */
+    public enum Metric {
+        HEAP_LIVE("heap after GC", "MB", 4, false, SoakMonitor.Sample::heapLiveMb),
+        METER_SERIES("meter series", "series", 10, false, sample -> toDouble(sample.meterSeries())),
+        THREADS("live threads", "threads", 5, false, sample -> toDouble(sample.threads())),
+        DIRECT_MEMORY("direct buffers", "MB", 1, false, SoakMonitor.Sample::directMb),
+        RSS("RSS", "MB", 16, false, SoakMonitor.Sample::rssMb),
+        P50("p50", "ms", 1, true, SoakMonitor.Sample::p50Ms),
+        P99("p99", "ms", 2, true, SoakMonitor.Sample::p99Ms);
+
+        private final String label;
+        private final String unit;
+        private final double floor;
+        private final boolean latency;
+        private final Function<SoakMonitor.Sample, Double> value;
+
+        Metric(String label, String unit, double floor, boolean latency, Function<SoakMonitor.Sample, Double> value) {
+            this.label = label;
+            this.unit = unit;
+            this.floor = floor;
+            this.latency = latency;
+            this.value = value;
+        }
+
+        public String label() {
+            return label;
+        }
+
+        public String unit() {
+            return unit;
+        }
+
+        public boolean latency() {
+            return latency;
+        }
+
+        private static Double toDouble(Long value) {
+            return value == null ? null : value.doubleValue();
+        }
+    }
+
+    public enum Verdict {
+        OK,
+        /** A resource grew steadily beyond the tolerance. */
+        GROWING,
+        /** A latency percentile crept up beyond the tolerance. */
+        DRIFTING,
+        /** Too few samples to tell; does not fail the run. */
+        INSUFFICIENT
+    }
+
+    /**
+     * @param maxGrowthPercent       growth of a resource over the analyzed span that still passes
+     * @param maxLatencyDriftPercent growth of a latency percentile that still passes
+     * @param alpha                  significance level of the trend test
+     */
+    public record Thresholds(double maxGrowthPercent, double maxLatencyDriftPercent, double alpha) {
+    }
+
+    /**
+     * @param baseline         median of the first quarter of the analyzed samples
+     * @param end              median of the last quarter
+     * @param slopePerHour     Sen's slope, in {@code unit} per hour
+     * @param projectedChange  the slope times the analyzed span
+     * @param changePercent    {@code projectedChange} relative to {@code baseline}; {@code null} when that is 0
+     * @param pValue           of the one-sided Mann-Kendall test for an upward trend
+     */
+    public record Trend(
+            Metric metric,
+            String unit,
+            int samples,
+            double baseline,
+            double end,
+            double slopePerHour,
+            double projectedChange,
+            Double changePercent,
+            double pValue,
+            Verdict verdict) {
+
+        public boolean failed() {
+            return verdict == Verdict.GROWING || verdict == Verdict.DRIFTING;
+        }
+    }
+
+    private SoakAnalyzer() {
+    }
+
+    /**
+     * The trend of every metric over the samples taken after {@code settleSeconds}.
+     */
+    public static List<Trend> analyze(List<SoakMonitor.Sample> samples, long settleSeconds, Thresholds thresholds) {
+        List<Trend> trends = new ArrayList<>();
+        for (Metric metric : Metric.values()) {
+            List<double[]> points = samples.stream()
+                    .filter(sample -> sample.elapsedSeconds() >= settleSeconds)
+                    .filter(sample -> metric.value.apply(sample) != null)
+                    .map(sample -> new double[] {sample.elapsedSeconds(), metric.value.apply(sample)})
+                    .toList();
+            double[] seconds = points.stream().mapToDouble(point -> point[0]).toArray();
+            double[] values = points.stream().mapToDouble(point -> point[1]).toArray();
+            double tolerance = metric.latency ? thresholds.maxLatencyDriftPercent() : thresholds.maxGrowthPercent();
+            trends.add(trend(metric, seconds, values, tolerance, thresholds.alpha()));
+        }
+        return trends;
+    }
+
+    static Trend trend(Metric metric, double[] seconds, double[] values, double tolerancePercent, double alpha) {
+        int n = values.length;
+        if (n < MIN_SAMPLES) {
+            double last = n == 0 ? 0 : values[n - 1];
+            return new Trend(metric, metric.unit, n, n == 0 ? 0 : values[0], last, 0, 0, null, 1,
+                    Verdict.INSUFFICIENT);
+        }
+        double baseline = median(Arrays.copyOfRange(values, 0, Math.max(1, n / 4)));
+        double end = median(Arrays.copyOfRange(values, n - Math.max(1, n / 4), n));
+        double[][] reduced = downsample(seconds, values, MAX_POINTS);
+        double slope = senSlope(reduced[0], reduced[1]);
+        double projected = slope * (seconds[n - 1] - seconds[0]);
+        double pValue = mannKendallPValue(reduced[1]);
+        double allowed = Math.max(baseline * tolerancePercent / 100, metric.floor);
+        boolean failed = pValue < alpha && projected > allowed;
+        Verdict verdict = !failed ? Verdict.OK : metric.latency ? Verdict.DRIFTING : Verdict.GROWING;
+        return new Trend(metric, metric.unit, n, baseline, end, slope * 3600, projected,
+                baseline == 0 ? null : projected / baseline * 100, pValue, verdict);
+    }
+
+    /**
+     * The one-sided p-value of the Mann-Kendall test for an upward trend, from the normal approximation of
+     * {@code S} with the variance corrected for tied values and a continuity correction.
+     */
+    static double mannKendallPValue(double[] values) {
+        int n = values.length;
+        long s = 0;
+        for (int i = 0; i < n - 1; i++) {
+            for (int j = i + 1; j < n; j++) {
+                s += (long) Math.signum(values[j] - values[i]);
+            }
+        }
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        double ties = 0;
+        for (int i = 0; i < n; ) {
+            int j = i;
+            while (j < n && sorted[j] == sorted[i]) {
+                j++;
+            }
+            long t = j - i;
+            ties += t * (t - 1) * (2 * t + 5);
+            i = j;
+        }
+        double variance = ((double) n * (n - 1) * (2 * n + 5) - ties) / 18;
+        if (variance <= 0) {
+            return 1;
+        }
+        double z = s > 0 ? (s - 1) / Math.sqrt(variance) : s < 0 ? (s + 1) / Math.sqrt(variance) : 0;
+        return 1 - NORMAL.cumulativeProbability(z);
+    }
+
+    /**
+     * Sen's slope: the median of {@code (values[j] - values[i]) / (seconds[j] - seconds[i])} over all pairs.
+     */
+    static double senSlope(double[] seconds, double[] values) {
+        int n = values.length;
+        double[] slopes = new double[n * (n - 1) / 2];
+        int count = 0;
+        for (int i = 0; i < n - 1; i++) {
+            for (int j = i + 1; j < n; j++) {
+                double dt = seconds[j] - seconds[i];
+                if (dt > 0) {
+                    slopes[count++] = (values[j] - values[i]) / dt;
+                }
+            }
+        }
+        return count == 0 ? 0 : median(Arrays.copyOf(slopes, count));
+    }
+
+    /**
+     * Averages consecutive samples so at most {@code maxPoints} are left.
+     */
+    static double[][] downsample(double[] seconds, double[] values, int maxPoints) {
+        int n = values.length;
+        if (n <= maxPoints) {
+            return new double[][] {seconds, values};
+        }
+        double[] reducedSeconds = new double[maxPoints];
+        double[] reducedValues = new double[maxPoints];
+        for (int bucket = 0; bucket < maxPoints; bucket++) {
+            int from = (int) ((long) bucket * n / maxPoints);
+            int to = (int) ((long) (bucket + 1) * n / maxPoints);
+            for (int i = from; i < to; i++) {
+                reducedSeconds[bucket] += seconds[i];
+                reducedValues[bucket] += values[i];
+            }
+            reducedSeconds[bucket] /= to - from;
+            reducedValues[bucket] /= to - from;
+        }
+        return new double[][] {reducedSeconds, reducedValues};
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+}
@@ -0,0 +1,176 @@
+package com.beautysalon.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples a backend every {@code sampleSeconds} while a soak run goes on: what the heap holds after
+ * garbage collection, how many meter series it exports, its live threads, direct buffers and, when its pid
+ * is known, its RSS, next to the latency percentiles of the requests completed since the previous sample.
+ * <p>
+ * Heap after GC is Micrometer's {@code jvm.gc.live.data.size}, the old generation after the last major or
+ * concurrent collection, so sampling does not force collections that would disturb the latencies. The meter
+ * series are the non-comment lines of {@code /actuator/prometheus}: a tag that takes unbounded values shows
+ * up there as a growing count. Values that cannot be read are {@code null}.
+ */
+public final class SoakMonitor implements AutoCloseable {
+
+    static final String LIVE_HEAP_METRIC = "/actuator/metrics/jvm.gc.live.data.size";
+    static final String HEAP_USED_METRIC = "/actuator/metrics/jvm.memory.used?tag=area:heap";
+    static final String THREADS_METRIC = "/actuator/metrics/jvm.threads.live";
+    static final String PROMETHEUS = "/actuator/prometheus";
+    private static final double BYTES_PER_MB = 1024.0 * 1024.0;
+    private static final double MICROS_PER_MS = 1000.0;
+
+    /**
+     * One sample.
+     *
+     * @param elapsedSeconds since the monitor started, warmup included
+     * @param heapLiveMb     heap after the last major collection; {@code null} before the first one
+     * @param heapUsedMb     heap in use right now, garbage included; for reference only
+     * @param requests       requests completed since the previous sample
+     * @param p50Ms          of the requests since the previous sample; {@code null} when there were none
+     */
+    public record Sample(
+            long elapsedSeconds,
+            Double heapLiveMb,
+            Double heapUsedMb,
+            Long meterSeries,
+            Long threads,
+            Double directMb,
+            Double rssMb,
+            long requests,
+            long errors,
+            Double p50Ms,
+            Double p99Ms) {
+    }
+
+    private final LatencyRecorder recorder;
+    private final URI managementUrl;
+    private final Long pid;
+    private final ObjectMapper json = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+    private final List<Sample> samples = new ArrayList<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final long startNanos = System.nanoTime();
+
+    /**
+     * @param managementUrl where the actuator endpoints are served, if on a port of their own
+     * @param pid           of the backend for its RSS, or {@code null} when it runs elsewhere
+     */
+    public SoakMonitor(LatencyRecorder recorder, String managementUrl, Long pid, int sampleSeconds) {
+        this.recorder = recorder;
+        this.managementUrl = URI.create(managementUrl);
+        this.pid = pid;
+        scheduler.scheduleAtFixedRate(this::sample, sampleSeconds, sampleSeconds, TimeUnit.SECONDS);
+    }
+
+    public List<Sample> samples() {
+        synchronized (samples) {
+            return List.copyOf(samples);
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private void sample() {
+        long elapsed = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startNanos);
+        LatencyRecorder.Window window = recorder.takeWindow();
+        Histogram latencies = window.responseTime();
+        long requests = latencies.getTotalCount();
+        Double heapLive = mb(metric(LIVE_HEAP_METRIC));
+        Long threads = metric(THREADS_METRIC);
+        long rss = pid == null ? -1 : ProcessSampler.rss(pid);
+        Sample sample = new Sample(elapsed,
+                heapLive == null || heapLive == 0 ? null : heapLive,
+                mb(metric(HEAP_USED_METRIC)),
+                meterSeries(),
+                threads,
+                mb(metric(FootprintBenchmark.DIRECT_MEMORY_METRIC)),
+                rss < 0 ? null : rss / BYTES_PER_MB,
+                requests,
+                window.errors(),
+                requests == 0 ? null : latencies.getValueAtPercentile(50) / MICROS_PER_MS,
+                requests == 0 ? null : latencies.getValueAtPercentile(99) / MICROS_PER_MS);
+        synchronized (samples) {
+            samples.add(sample);
+        }
+        System.out.printf(Locale.ROOT, "  %6d s  heap after GC %s MB, %s series, %s threads, p99 %s ms%n", elapsed,
+                format(sample.heapLiveMb()), format(sample.meterSeries()), format(sample.threads()),
+                format(sample.p99Ms()));
+    }
+
+    private Long metric(String path) {
+        try {
+            HttpResponse<String> response = get(path);
+            if (response.statusCode() != 200) {
+                return null;
+            }
+            JsonNode value = json.readTree(response.body()).path("measurements").path(0).path("value");
+            return value.isNumber() ? value.asLong() : null;
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private Long meterSeries() {
+        try {
+            HttpResponse<String> response = get(PROMETHEUS);
+            return response.statusCode() == 200 ? countSeries(response.body()) : null;
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(managementUrl.resolve(path))
+                .timeout(Duration.ofSeconds(10))
+                .build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Counts the series in a Prometheus text exposition: every line that is neither blank nor a
+     * {@code # HELP} or {@code # TYPE} comment.
+     */
+    static long countSeries(String exposition) {
+        return exposition.lines().filter(line -> !line.isBlank() && !line.startsWith("#")).count();
+    }
+
+    private static Double mb(Long bytes) {
+        return bytes == null ? null : bytes / BYTES_PER_MB;
+    }
+
+    private static String format(Double value) {
+        return value == null ? "n/a" : String.format(Locale.ROOT, "%.1f", value);
+    }
+
+    private static String format(Long value) {
+        return value == null ? "n/a" : value.toString();
+    }
+}
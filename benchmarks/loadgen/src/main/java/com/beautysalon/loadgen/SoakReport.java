@@ -0,0 +1,66 @@
+package com.beautysalon.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The outcome of a soak run: every sample the {@link SoakMonitor} took and the {@link SoakAnalyzer} verdict
+ * per series. The latencies of the run as a whole are in the scenario report written next to it.
+ *
+ * @param settleSeconds the samples before this are left out of the trends
+ */
+public record SoakReport(
+        String scenario,
+        String baseUrl,
+        Instant startedAt,
+        int durationSeconds,
+        int sampleSeconds,
+        long settleSeconds,
+        SoakAnalyzer.Thresholds thresholds,
+        List<SoakMonitor.Sample> samples,
+        List<SoakAnalyzer.Trend> trends,
+        boolean passed) {
+
+    public static SoakReport of(Scenario scenario, Instant startedAt, int sampleSeconds, long settleSeconds,
+                                SoakAnalyzer.Thresholds thresholds, List<SoakMonitor.Sample> samples) {
+        List<SoakAnalyzer.Trend> trends = SoakAnalyzer.analyze(samples, settleSeconds, thresholds);
+        return new SoakReport(scenario.name(), scenario.baseUrl(), startedAt, scenario.durationSeconds(),
+                sampleSeconds, settleSeconds, thresholds, samples, trends,
+                trends.stream().noneMatch(SoakAnalyzer.Trend::failed));
+    }
+
+    public void write(Path file) throws IOException {
+        new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(file.toFile(), this);
+    }
+
+    public void print(PrintStream out) {
+        out.printf(Locale.ROOT, "Soak %s: %d s, %d samples, trends after %d s%n", scenario, durationSeconds,
+                samples.size(), settleSeconds);
+        out.printf(Locale.ROOT, "  %-16s %8s %12s %12s %14s %9s %9s  %s%n", "series", "samples", "start", "end",
+                "slope/h", "change", "p-value", "verdict");
+        for (SoakAnalyzer.Trend trend : trends) {
+            out.printf(Locale.ROOT, "  %-16s %8d %9.2f %-2s %9.2f %-2s %11.3f %-2s %9s %9.4f  %s%n",
+                    trend.metric().label(), trend.samples(), trend.baseline(), shortUnit(trend.unit()), trend.end(),
+                    shortUnit(trend.unit()), trend.slopePerHour(), shortUnit(trend.unit()),
+                    trend.changePercent() == null ? "n/a"
+                            : String.format(Locale.ROOT, "%+.1f%%", trend.changePercent()),
+                    trend.pValue(), trend.verdict());
+        }
+        out.println(passed ? "  PASSED" : "  FAILED: steady growth or latency drift, see the trends above");
+    }
+
+    private static String shortUnit(String unit) {
+        return unit.equals("series") || unit.equals("threads") ? "" : unit;
+    }
+}
@@ -0,0 +1,203 @@
+package com.beautysalon.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Cold-starts a backend a number of times and measures each start from the outside and from the inside.
+ * From the outside: time from launch until the port answers, until the application reports ready, and until
+ * the first API request has its response. From the inside: the backend's {@code /actuator/startupprofile}
+ * (time to ready since JVM start, classes loaded, slowest beans), kept whole in the report. The process is
+ * stopped after each run, so every run pays for JVM start, class loading and the Cassandra handshake again;
+ * the data stays, so migrations are only applied by the first run against an empty keyspace.
+ */
+public final class StartupBenchmark {
+
+    static final String PROFILE_PATH = "/actuator/startupprofile";
+    private static final long POLL_MILLIS = 20;
+    private static final int TOP_BEANS = 10;
+
+    /**
+     * One cold start. Times with {@code launch} in their name are measured by the benchmark from process
+     * launch; the others are the backend's own numbers.
+     */
+    public record Run(
+            int run,
+            double launchToListeningMs,
+            double launchToReadyMs,
+            double launchToFirstApiResponseMs,
+            double firstApiRequestMs,
+            int firstApiStatus,
+            double readySinceJvmStartMs,
+            double springReadyMs,
+            long classesAtReady,
+            long classesAfterFirstApiRequest,
+            JsonNode profile) {
+    }
+
+    public record StartupReport(
+            String name,
+            List<String> command,
+            String baseUrl,
+            String apiPath,
+            Instant startedAt,
+            List<Run> runs) {
+
+        public void write(Path file) throws IOException {
+            new ObjectMapper()
+                    .findAndRegisterModules()
+                    .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                    .enable(SerializationFeature.INDENT_OUTPUT)
+                    .writeValue(file.toFile(), this);
+        }
+
+        public void print(PrintStream out) {
+            out.printf(Locale.ROOT, "%s, %d cold starts (median, min, max):%n", name, runs.size());
+            printRow(out, "launch to listening (ms)", Run::launchToListeningMs);
+            printRow(out, "launch to ready (ms)", Run::launchToReadyMs);
+            printRow(out, "launch to first API response (ms)", Run::launchToFirstApiResponseMs);
+            printRow(out, "first API request (ms)", Run::firstApiRequestMs);
+            printRow(out, "ready since JVM start (ms)", Run::readySinceJvmStartMs);
+            printRow(out, "SpringApplication.run (ms)", Run::springReadyMs);
+            printRow(out, "classes loaded at ready", Run::classesAtReady);
+            printRow(out, "classes after first API request", Run::classesAfterFirstApiRequest);
+            if (!runs.isEmpty()) {
+                out.println("  slowest beans of the last run (self ms):");
+                for (JsonNode bean : runs.get(runs.size() - 1).profile().path("slowestBeans")) {
+                    out.printf(Locale.ROOT, "    %-48s %9.1f%n", bean.path("name").asText(),
+                            bean.path("selfMs").asDouble());
+                }
+            }
+        }
+
+        private void printRow(PrintStream out, String label, ToDoubleFunction<Run> value) {
+            double[] values = runs.stream().mapToDouble(value).sorted().toArray();
+            if (values.length == 0) {
+                return;
+            }
+            out.printf(Locale.ROOT, "  %-34s %9.1f %9.1f %9.1f%n", label, median(values), values[0],
+                    values[values.length - 1]);
+        }
+
+        static double median(double[] sorted) {
+            int middle = sorted.length / 2;
+            return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+        }
+    }
+
+    private final String name;
+    private final List<String> command;
+    private final String baseUrl;
+    private final String apiPath;
+    private final Path reportDir;
+    private final String baseName;
+    private final ObjectMapper json = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    public StartupBenchmark(String name, List<String> command, String baseUrl, String apiPath, Path reportDir,
+                            String baseName) {
+        this.name = name;
+        this.command = List.copyOf(command);
+        this.baseUrl = baseUrl;
+        this.apiPath = apiPath;
+        this.reportDir = reportDir;
+        this.baseName = baseName;
+    }
+
+    static List<String> split(String commandLine) {
+        return Arrays.stream(commandLine.trim().split("\\s+")).filter(part -> !part.isEmpty()).toList();
+    }
+
+    public StartupReport run(int runs) throws IOException, InterruptedException {
+        Instant startedAt = Instant.now();
+        List<Run> results = new ArrayList<>();
+        for (int i = 1; i <= runs; i++) {
+            System.out.printf("Cold start %d of %d: %s%n", i, runs, String.join(" ", command));
+            Run run = coldStart(i);
+            System.out.printf(Locale.ROOT, "  ready %.0f ms after launch, first API response after %.0f ms%n",
+                    run.launchToReadyMs(), run.launchToFirstApiResponseMs());
+            results.add(run);
+        }
+        return new StartupReport(name, command, baseUrl, apiPath, startedAt, results);
+    }
+
+    private Run coldStart(int number) throws IOException, InterruptedException {
+        long launched = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(reportDir.resolve(baseName + "-run" + number + ".log").toFile())
+                .start();
+        try {
+            HttpRequest profileRequest = HttpRequest.newBuilder(URI.create(baseUrl + PROFILE_PATH))
+                    .timeout(Duration.ofSeconds(5))
+                    .build();
+            Double listeningMs = null;
+            long deadline = launched + ParityRunner.READY_TIMEOUT.toNanos();
+            while (true) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(name + " exited with " + process.exitValue()
+                            + " before it was ready; see its log in " + reportDir);
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException(name + " not ready at " + profileRequest.uri() + " after "
+                            + ParityRunner.READY_TIMEOUT);
+                }
+                try {
+                    HttpResponse<String> response = client.send(profileRequest, HttpResponse.BodyHandlers.ofString());
+                    if (listeningMs == null) {
+                        listeningMs = millisSince(launched);
+                    }
+                    if (response.statusCode() == 200 && json.readTree(response.body()).path("ready").isObject()) {
+                        break;
+                    }
+                } catch (IOException e) {
+                    // not listening yet
+                }
+                Thread.sleep(POLL_MILLIS);
+            }
+            double readyMs = millisSince(launched);
+
+            long sent = System.nanoTime();
+            HttpResponse<Void> first = client.send(HttpRequest.newBuilder(URI.create(baseUrl + apiPath))
+                    .timeout(Duration.ofSeconds(30))
+                    .build(), HttpResponse.BodyHandlers.discarding());
+            double firstApiMs = millisSince(sent);
+            double firstResponseMs = millisSince(launched);
+
+            JsonNode profile = json.readTree(client.send(HttpRequest.newBuilder(
+                            URI.create(baseUrl + PROFILE_PATH + "?top=" + TOP_BEANS)).build(),
+                    HttpResponse.BodyHandlers.ofString()).body());
+            return new Run(number, listeningMs, readyMs, firstResponseMs, firstApiMs, first.statusCode(),
+                    profile.path("ready").path("sinceJvmStartMs").asDouble(),
+                    profile.path("ready").path("timeTakenMs").asDouble(),
+                    profile.path("ready").path("classesLoaded").asLong(),
+                    profile.path("firstApiRequest").path("classesLoaded").asLong(),
+                    profile);
+        } finally {
+            ParityRunner.stop(process);
+        }
+    }
+
+    private static double millisSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000.0;
+    }
+}
@@ -0,0 +1,123 @@
+package com.beautysalon.loadgen;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A path or body with placeholders, parsed once when the scenario is loaded so rendering on the
+ * request path is a walk over prepared parts:
+ * <ul>
+ *   <li>{@code ${seq}}: a number unique across the run, for unique emails and names</li>
+ *   <li>{@code ${pool.NAME}}: a random value captured into pool {@code NAME} by the setup</li>
+ *   <li>{@code ${date}}, {@code ${time}}, {@code ${datetime}}: a random day in the scenario's date window,
+ *       a random full hour of the opening hours (09 to 17), and both as an ISO local date-time</li>
+ *   <li>{@code ${pick:a|b|c}}: one of the listed values</li>
+ * </ul>
+ */
+public final class Template {
+
+    static final int OPENING_HOUR = 9;
+    static final int CLOSING_HOUR = 18;
+
+    /**
+     * What the placeholders draw from: the captured pools, the run's sequence and the date window.
+     */
+    public record Context(VariablePools pools, AtomicLong sequence, LocalDate firstDay, int days) {
+    }
+
+    private interface Part {
+        void append(StringBuilder out, Context context);
+    }
+
+    private final String source;
+    private final List<Part> parts;
+
+    private Template(String source, List<Part> parts) {
+        this.source = source;
+        this.parts = parts;
+    }
+
+    public static Template compile(String source) {
+        List<Part> parts = new ArrayList<>();
+        if (source == null) {
+            return new Template(null, parts);
+        }
+        int from = 0;
+        while (from < source.length()) {
+            int open = source.indexOf("${", from);
+            if (open < 0) {
+                parts.add(literal(source.substring(from)));
+                break;
+            }
+            int close = source.indexOf('}', open);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder in: " + source);
+            }
+            if (open > from) {
+                parts.add(literal(source.substring(from, open)));
+            }
+            parts.add(placeholder(source.substring(open + 2, close)));
+            from = close + 1;
+        }
+        return new Template(source, List.copyOf(parts));
+    }
+
+    /**
+     * @return the rendered text, or {@code null} for a template compiled from {@code null}
+     */
+    public String render(Context context) {
+        if (source == null) {
+            return null;
+        }
+        StringBuilder out = new StringBuilder(source.length() + 32);
+        for (Part part : parts) {
+            part.append(out, context);
+        }
+        return out.toString();
+    }
+
+    public String source() {
+        return source;
+    }
+
+    private static Part literal(String text) {
+        return (out, context) -> out.append(text);
+    }
+
+    private static Part placeholder(String expression) {
+        if (expression.equals("seq")) {
+            return (out, context) -> out.append(context.sequence().incrementAndGet());
+        }
+        if (expression.equals("date")) {
+            return (out, context) -> out.append(randomDay(context));
+        }
+        if (expression.equals("time")) {
+            return (out, context) -> out.append(randomTime());
+        }
+        if (expression.equals("datetime")) {
+            return (out, context) -> out.append(LocalDateTime.of(randomDay(context), randomTime()));
+        }
+        if (expression.startsWith("pool.") && expression.length() > "pool.".length()) {
+            String pool = expression.substring("pool.".length());
+            return (out, context) -> out.append(context.pools().pick(pool));
+        }
+        if (expression.startsWith("pick:")) {
+            String[] choices = expression.substring("pick:".length()).split("\\|");
+            return (out, context) -> out.append(choices[ThreadLocalRandom.current().nextInt(choices.length)]);
+        }
+        throw new IllegalArgumentException("Unknown placeholder: ${" + expression + "}");
+    }
+
+    private static LocalDate randomDay(Context context) {
+        return context.firstDay().plusDays(ThreadLocalRandom.current().nextInt(context.days()));
+    }
+
+    private static LocalTime randomTime() {
+        return LocalTime.of(ThreadLocalRandom.current().nextInt(OPENING_HOUR, CLOSING_HOUR), 0);
+    }
+}
@@ -0,0 +1,62 @@
+package com.beautysalon.loadgen;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Values captured from setup responses, by pool name. Filled before the run starts and only read
+ * during it, so a copy-on-write list per pool costs nothing on the request path. The {@code ${seq}}
+ * counter lives here too, so runners sharing the pools never repeat a value.
+ */
+public final class VariablePools {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final Map<String, List<String>> pools = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public void add(String pool, String value) {
+        pools.computeIfAbsent(pool, name -> new CopyOnWriteArrayList<>()).add(value);
+    }
+
+    /**
+     * Add the values of a pools file: a JSON object of pool names to arrays of values, as the data
+     * generator writes them for a loaded dataset.
+     */
+    public void addAll(Path file) throws IOException {
+        Map<String, List<String>> values = JSON.readValue(file.toFile(), new TypeReference<>() {
+        });
+        values.forEach((pool, list) -> pools.computeIfAbsent(pool, name -> new CopyOnWriteArrayList<>()).addAll(list));
+    }
+
+    public AtomicLong sequence() {
+        return sequence;
+    }
+
+    public int size(String pool) {
+        List<String> values = pools.get(pool);
+        return values == null ? 0 : values.size();
+    }
+
+    /**
+     * A uniformly random value of the pool.
+     *
+     * @throws IllegalStateException when the pool is empty, which means the setup did not fill it
+     */
+    public String pick(String pool) {
+        List<String> values = pools.get(pool);
+        if (values == null || values.isEmpty()) {
+            throw new IllegalStateException("Pool '" + pool + "' is empty; capture it in a setup step");
+        }
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+}
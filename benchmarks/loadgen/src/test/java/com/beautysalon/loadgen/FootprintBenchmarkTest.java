@@ -0,0 +1,79 @@
+package com.beautysalon.loadgen;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FootprintBenchmarkTest {
+
+    @Test
+    void get_ShouldReadResponsesBackToBackOnOneConnection() throws IOException {
+        String responses = "HTTP/1.1 200 OK\r\nContent-Type: application/json\r\nContent-Length: 2\r\n\r\n[]"
+                + "HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n4\r\n[{}]\r\n3;ext=1\r\n, 1\r\n0\r\n\r\n"
+                + "HTTP/1.1 404 Not Found\r\nContent-Length: 0\r\nConnection: close\r\n\r\n";
+        ByteArrayOutputStream sent = new ByteArrayOutputStream();
+        RawHttpConnection connection = new RawHttpConnection(
+                new ByteArrayInputStream(responses.getBytes(StandardCharsets.US_ASCII)), sent);
+
+        assertEquals(200, connection.get("/api/services"));
+        assertEquals(200, connection.get("/api/services"));
+        assertTrue(connection.isOpen());
+        assertEquals(404, connection.get("/missing"));
+        assertFalse(connection.isOpen());
+        assertThrows(IOException.class, () -> connection.get("/api/services"));
+        assertTrue(sent.toString(StandardCharsets.US_ASCII).startsWith("GET /api/services HTTP/1.1\r\nHost: "));
+    }
+
+    @Test
+    void get_ShouldFailWhenServerClosedIdleConnection() {
+        RawHttpConnection connection = new RawHttpConnection(new ByteArrayInputStream(new byte[0]),
+                new ByteArrayOutputStream());
+
+        assertThrows(EOFException.class, () -> connection.get("/api/services"));
+        assertFalse(connection.isOpen());
+    }
+
+    @Test
+    void parseHistogram_ShouldSumClassesAcrossModulesAndReturnTotal() throws IOException {
+        String histogram = """
+                12345:
+                 num     #instances         #bytes  class name (module)
+                -------------------------------------------------------
+                   1:         20000        1900000  [B (java.base@21.0.1)
+                   2:          1000          48000  java.lang.String (java.base@21.0.1)
+                   3:            10            400  org.apache.tomcat.util.net.NioEndpoint$NioSocketWrapper
+                Total         21010        1948400
+                """;
+        Map<String, Long> classes = new HashMap<>();
+
+        assertEquals(1948400, FootprintBenchmark.parseHistogram(histogram, classes));
+        assertEquals(1900000L, classes.get("[B"));
+        assertEquals(400L, classes.get("org.apache.tomcat.util.net.NioEndpoint$NioSocketWrapper"));
+        assertThrows(IOException.class, () -> FootprintBenchmark.parseHistogram("12345:\nno such pid", classes));
+    }
+
+    @Test
+    void topGrowth_ShouldRankGrowthPerConnection() {
+        Map<String, Double> top = FootprintBenchmark.topGrowth(
+                Map.of("[B", 1000L, "java.lang.String", 500L, "shrunk", 900L),
+                Map.of("[B", 17000L, "java.lang.String", 700L, "shrunk", 100L, "new", 1000L), 100, 2);
+
+        assertEquals(List.of("[B", "new"), List.copyOf(top.keySet()));
+        assertEquals(160.0, top.get("[B"));
+        assertEquals(10.0, top.get("new"));
+    }
+
+    @Test
+    void levels_ShouldParseCommaSeparatedConcurrency() {
+        assertEquals(List.of(1, 16, 256), FootprintBenchmark.levels("1, 16,256"));
+    }
+}
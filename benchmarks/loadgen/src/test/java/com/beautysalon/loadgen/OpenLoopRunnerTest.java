@@ -0,0 +1,126 @@
+package com.beautysalon.loadgen;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpenLoopRunnerTest {
+
+    private static final int STALL_AT_REQUEST = 50;
+    private static final long STALL_MILLIS = 500;
+
+    static {
+        // without it, keep-alive responses wait out the client's delayed ACK, about 40 ms each
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private HttpServer server;
+    private final AtomicInteger reads = new AtomicInteger();
+    private final AtomicInteger created = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/things", this::handle);
+        server.setExecutor(Executors.newSingleThreadExecutor());
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void run_ShouldChargeStallToQueuedRequestsFromTheirScheduledStart() throws Exception {
+        // Arrange: one request in flight at a time, so a stall holds back everything scheduled behind it
+        Scenario scenario = scenario(100, 2, 1, List.of(new Scenario.RequestSpec("read", "GET", "/things/1", null, 1)));
+        OpenLoopRunner runner = new OpenLoopRunner(scenario, OpenLoopRunner.newClient(scenario));
+
+        // Act
+        OpenLoopRunner.Result result = runner.run(null);
+
+        // Assert
+        Histogram response = result.recorder().responseTotal();
+        Histogram service = result.recorder().serviceTotal();
+        assertTrue(result.scheduled() >= 195 && result.scheduled() <= 200, "scheduled " + result.scheduled());
+        assertEquals(result.scheduled(), response.getTotalCount());
+        assertTrue(response.getMaxValue() >= 450_000, "stalled request counts its full wait");
+        assertTrue(service.getValueAtPercentile(90) < 50_000, "service time hides the queueing");
+        assertTrue(response.getValueAtPercentile(90) > 100_000, "response time shows the queueing");
+        assertTrue(result.lateStarts() >= 30, "late starts " + result.lateStarts());
+        assertEquals(0, result.recorder().errors());
+    }
+
+    @Test
+    void setup_ShouldCapturePoolsAndRunRecordsErrorsByCause() throws Exception {
+        // Arrange
+        Scenario scenario = new Scenario("test", "http://127.0.0.1:" + server.getAddress().getPort(), 50, 1, 0, 2_000,
+                100, 1,
+                List.of(new Scenario.SetupStep("things", "POST", "/things", "{\"n\": ${seq}}", 5, Map.of("things", "id"))),
+                List.of(new Scenario.RequestSpec("read", "GET", "/things/${pool.things}", null, 1),
+                        new Scenario.RequestSpec("missing", "GET", "/things/missing", null, 1)));
+        OpenLoopRunner runner = new OpenLoopRunner(scenario, OpenLoopRunner.newClient(scenario));
+
+        // Act
+        runner.setup();
+        OpenLoopRunner.Result result = runner.run(null);
+
+        // Assert
+        assertEquals(5, created.get());
+        assertEquals(5, runner.pools().size("things"));
+        Report report = Report.of(result);
+        assertEquals(List.of("read", "missing"), report.endpoints().stream().map(Report.EndpointReport::name).toList());
+        Report.EndpointReport missing = report.endpoints().get(1);
+        assertEquals(missing.requests(), missing.errors());
+        assertEquals(0, report.endpoints().get(0).errors());
+        assertEquals(Map.of("HTTP 404", missing.errors()), report.errorsByCause());
+        assertEquals(report.completed(), report.timeline().stream().mapToLong(LatencyRecorder.TimelinePoint::requests).sum());
+    }
+
+    private Scenario scenario(double rate, int durationSeconds, int maxInFlight, List<Scenario.RequestSpec> requests) {
+        return new Scenario("test", "http://127.0.0.1:" + server.getAddress().getPort(), rate, durationSeconds, 0,
+                5_000, maxInFlight, 1, List.of(), requests);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        String path = exchange.getRequestURI().getPath();
+        if (exchange.getRequestMethod().equals("POST")) {
+            respond(exchange, 201, "{\"id\": \"thing-" + created.incrementAndGet() + "\"}");
+        } else if (path.endsWith("/missing")) {
+            respond(exchange, 404, "");
+        } else {
+            if (reads.incrementAndGet() == STALL_AT_REQUEST) {
+                try {
+                    Thread.sleep(STALL_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            respond(exchange, 200, "{}");
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            exchange.getResponseBody().write(bytes);
+        }
+        exchange.close();
+    }
+}
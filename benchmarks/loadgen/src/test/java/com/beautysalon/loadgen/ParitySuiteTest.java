@@ -0,0 +1,78 @@
+package com.beautysalon.loadgen;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParitySuiteTest {
+
+    private static final ParitySuite.Backend BLOCKING = new ParitySuite.Backend("blocking", "http://localhost:8080",
+            null, null, null, Map.of("status", "scheduled", "slot", "\"date\": \"${date}\""), null);
+    private static final ParitySuite.Backend REACTIVE = new ParitySuite.Backend("reactive", "http://localhost:8085",
+            null, null, null, Map.of("status", "SCHEDULED", "slot", "\"date\": \"${datetime}\""), null);
+
+    @Test
+    void scenario_ShouldResolveEachBackendsVariables() {
+        ParitySuite suite = new ParitySuite("parity", 30, 10, 0, 0, 0, List.of(BLOCKING, REACTIVE),
+                List.of(new Scenario.SetupStep("book", "POST", "/api/appointments", "{${var.slot}}", 2, null)),
+                List.of(new ParitySuite.Workload("by-status", null, 50, 5, null,
+                        List.of(new Scenario.RequestSpec("by status", null, "/api/appointments/status/${var.status}", null, 1)))));
+
+        Scenario blocking = suite.scenario(BLOCKING, suite.workloads().get(0));
+        Scenario reactive = suite.scenario(REACTIVE, suite.workloads().get(0));
+
+        assertEquals("parity-by-status-blocking", blocking.name());
+        assertEquals("/api/appointments/status/scheduled", blocking.requests().get(0).path());
+        assertEquals("/api/appointments/status/SCHEDULED", reactive.requests().get(0).path());
+        assertEquals("http://localhost:8085", reactive.baseUrl());
+        assertEquals(5, blocking.durationSeconds());
+        assertEquals(10, blocking.warmupSeconds());
+        assertTrue(blocking.setup().isEmpty());
+        assertEquals("{\"date\": \"${datetime}\"}", suite.setupScenario(REACTIVE).setup().get(0).body());
+    }
+
+    @Test
+    void resolve_ShouldRejectUndefinedVariable() {
+        assertThrows(IllegalArgumentException.class, () -> ParitySuite.resolve("/api/${var.missing}", BLOCKING));
+        assertEquals("/api/${seq}", ParitySuite.resolve("/api/${seq}", BLOCKING));
+    }
+
+    @Test
+    void load_ShouldReadShippedSuiteForBothBackends() throws IOException {
+        ParitySuite suite = ParitySuite.load(Path.of("scenarios/parity.yml"));
+
+        assertEquals(List.of("blocking", "reactive"), suite.backends().stream().map(ParitySuite.Backend::name).toList());
+        assertEquals(List.of("read-heavy-catalog", "booking-burst", "customer-search", "large-list"),
+                suite.workloads().stream().map(ParitySuite.Workload::name).toList());
+        for (ParitySuite.Backend backend : suite.backends()) {
+            Scenario setup = suite.setupScenario(backend);
+            setup.setup().forEach(step -> Template.compile(step.body()));
+            for (ParitySuite.Workload workload : suite.workloads()) {
+                suite.scenario(backend, workload).requests().forEach(request -> {
+                    Template.compile(request.path());
+                    Template.compile(request.body());
+                });
+            }
+        }
+    }
+
+    @Test
+    void usage_ShouldDeriveCoresAndCpuPerRequestFromSamples() {
+        List<ProcessSampler.Sample> samples = List.of(
+                new ProcessSampler.Sample(1_000, 0, 100L << 20),
+                new ProcessSampler.Sample(2_000, 500_000_000L, 300L << 20));
+
+        ProcessSampler.Usage usage = ProcessSampler.usage(samples, 100, 1_000).orElseThrow();
+
+        assertEquals(0.5, usage.cpuCores(), 1e-9);
+        assertEquals(5.0, usage.cpuMsPerRequest(), 1e-9);
+        assertEquals(200.0, usage.rssMeanMb(), 1e-9);
+        assertEquals(300.0, usage.rssPeakMb(), 1e-9);
+        assertTrue(ProcessSampler.usage(samples.subList(0, 1), 100, 1_000).isEmpty());
+    }
+}
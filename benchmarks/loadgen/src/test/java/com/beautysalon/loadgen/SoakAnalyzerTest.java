@@ -0,0 +1,161 @@
+package com.beautysalon.loadgen;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntToDoubleFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SoakAnalyzerTest {
+
+    private static final SoakAnalyzer.Thresholds THRESHOLDS = new SoakAnalyzer.Thresholds(10, 20, 0.01);
+    private static final int SAMPLES = 240;
+    private static final int SAMPLE_SECONDS = 60;
+
+    @Test
+    void trend_ShouldPassFlatNoisyHeap() {
+        Random random = new Random(1);
+        SoakAnalyzer.Trend trend = trend(SoakAnalyzer.Metric.HEAP_LIVE, i -> 120 + random.nextGaussian() * 3);
+
+        assertEquals(SoakAnalyzer.Verdict.OK, trend.verdict());
+        assertFalse(trend.failed());
+        assertEquals(120, trend.baseline(), 2);
+    }
+
+    @Test
+    void trend_ShouldFailSteadilyGrowingHeap() {
+        Random random = new Random(2);
+        // 120 MB growing 10 MB an hour under 3 MB of noise: 33% over four hours
+        SoakAnalyzer.Trend trend = trend(SoakAnalyzer.Metric.HEAP_LIVE,
+                i -> 120 + i * 10.0 / 60 + random.nextGaussian() * 3);
+
+        assertEquals(SoakAnalyzer.Verdict.GROWING, trend.verdict());
+        assertEquals(10, trend.slopePerHour(), 1);
+        assertEquals(40, trend.projectedChange(), 4);
+        assertTrue(trend.pValue() < 1e-6);
+    }
+
+    @Test
+    void trend_ShouldPassSignificantGrowthWithinTolerance() {
+        // one more series every 40 minutes is a real trend, but 6 series in four hours is under the floor
+        SoakAnalyzer.Trend trend = trend(SoakAnalyzer.Metric.METER_SERIES, i -> 900 + i / 40);
+
+        assertTrue(trend.pValue() < 0.01);
+        assertEquals(SoakAnalyzer.Verdict.OK, trend.verdict());
+    }
+
+    @Test
+    void trend_ShouldFailUnboundedMeterSeries() {
+        // a tag taking a new value every few minutes
+        SoakAnalyzer.Trend trend = trend(SoakAnalyzer.Metric.METER_SERIES, i -> 900 + i / 2);
+
+        assertEquals(SoakAnalyzer.Verdict.GROWING, trend.verdict());
+        assertEquals(13.3, trend.changePercent(), 0.5);
+    }
+
+    @Test
+    void trend_ShouldReportLatencyDrift() {
+        Random random = new Random(3);
+        SoakAnalyzer.Trend drifting = trend(SoakAnalyzer.Metric.P99,
+                i -> 20 + i * 0.05 + Math.abs(random.nextGaussian()) * 4);
+        SoakAnalyzer.Trend spiky = trend(SoakAnalyzer.Metric.P99,
+                i -> i % 30 == 0 ? 400 : 20 + Math.abs(random.nextGaussian()) * 4);
+
+        assertEquals(SoakAnalyzer.Verdict.DRIFTING, drifting.verdict());
+        assertEquals(SoakAnalyzer.Verdict.OK, spiky.verdict());
+    }
+
+    @Test
+    void trend_ShouldBeInsufficientWithFewSamples() {
+        SoakAnalyzer.Trend trend = SoakAnalyzer.trend(SoakAnalyzer.Metric.THREADS, new double[] {60, 120, 180},
+                new double[] {40, 80, 160}, 10, 0.01);
+
+        assertEquals(SoakAnalyzer.Verdict.INSUFFICIENT, trend.verdict());
+        assertFalse(trend.failed());
+    }
+
+    @Test
+    void trend_ShouldNotReportPercentOfZeroBaseline() {
+        SoakAnalyzer.Trend trend = trend(SoakAnalyzer.Metric.DIRECT_MEMORY, i -> i < 60 ? 0 : i * 0.01);
+
+        assertNull(trend.changePercent());
+        assertEquals(SoakAnalyzer.Verdict.GROWING, trend.verdict());
+    }
+
+    @Test
+    void mannKendallPValue_ShouldHandleTiesAndDirection() {
+        assertEquals(1, SoakAnalyzer.mannKendallPValue(new double[] {5, 5, 5, 5, 5, 5, 5, 5}));
+        assertTrue(SoakAnalyzer.mannKendallPValue(new double[] {1, 2, 3, 4, 5, 6, 7, 8}) < 0.001);
+        assertTrue(SoakAnalyzer.mannKendallPValue(new double[] {8, 7, 6, 5, 4, 3, 2, 1}) > 0.999);
+    }
+
+    @Test
+    void senSlope_ShouldIgnoreOutliers() {
+        double[] seconds = {0, 1, 2, 3, 4, 5, 6};
+        double[] values = {0, 2, 4, 100, 8, 10, 12};
+
+        assertEquals(2, SoakAnalyzer.senSlope(seconds, values), 1e-9);
+    }
+
+    @Test
+    void downsample_ShouldAverageConsecutiveSamples() {
+        double[][] reduced = SoakAnalyzer.downsample(new double[] {0, 1, 2, 3, 4, 5}, new double[] {1, 3, 5, 7, 9, 11}, 3);
+
+        assertArrayEquals(new double[] {0.5, 2.5, 4.5}, reduced[0]);
+        assertArrayEquals(new double[] {2, 6, 10}, reduced[1]);
+    }
+
+    @Test
+    void analyze_ShouldSkipSettlePeriodAndMissingValues() {
+        List<SoakMonitor.Sample> samples = new ArrayList<>();
+        for (int i = 1; i <= SAMPLES; i++) {
+            // heap fills up during the first 30 minutes, then stays put; RSS is never known
+            double heap = Math.min(i, 30) * 4.0;
+            samples.add(new SoakMonitor.Sample(i * SAMPLE_SECONDS, heap, heap * 2, 900L, 40L, 1.0, null, 6000, 0,
+                    2.0, 9.0));
+        }
+
+        List<SoakAnalyzer.Trend> settled = SoakAnalyzer.analyze(samples, 30 * SAMPLE_SECONDS, THRESHOLDS);
+        List<SoakAnalyzer.Trend> unsettled = SoakAnalyzer.analyze(samples, 0, THRESHOLDS);
+
+        assertEquals(SoakAnalyzer.Metric.values().length, settled.size());
+        assertTrue(settled.stream().noneMatch(SoakAnalyzer.Trend::failed));
+        assertEquals(SoakAnalyzer.Verdict.INSUFFICIENT, find(settled, SoakAnalyzer.Metric.RSS).verdict());
+        assertEquals(SAMPLES - 29, find(settled, SoakAnalyzer.Metric.HEAP_LIVE).samples());
+        // a ramp that levels off is not a trend, even when the settle period is too short to hide it
+        assertEquals(SAMPLES, find(unsettled, SoakAnalyzer.Metric.HEAP_LIVE).samples());
+        assertEquals(SoakAnalyzer.Verdict.OK, find(unsettled, SoakAnalyzer.Metric.HEAP_LIVE).verdict());
+    }
+
+    @Test
+    void countSeries_ShouldSkipCommentsAndBlankLines() {
+        String exposition = """
+                # HELP errors_total Errors
+                # TYPE errors_total counter
+                errors_total{type="cache_stats"} 2.0
+                errors_total{type="health_check"} 1.0
+
+                jvm_threads_live_threads 40.0
+                """;
+
+        assertEquals(3, SoakMonitor.countSeries(exposition));
+    }
+
+    private static SoakAnalyzer.Trend trend(SoakAnalyzer.Metric metric, IntToDoubleFunction value) {
+        double[] seconds = new double[SAMPLES];
+        double[] values = new double[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            seconds[i] = (i + 1) * SAMPLE_SECONDS;
+            values[i] = value.applyAsDouble(i);
+        }
+        double tolerance = metric.latency() ? THRESHOLDS.maxLatencyDriftPercent() : THRESHOLDS.maxGrowthPercent();
+        return SoakAnalyzer.trend(metric, seconds, values, tolerance, THRESHOLDS.alpha());
+    }
+
+    private static SoakAnalyzer.Trend find(List<SoakAnalyzer.Trend> trends, SoakAnalyzer.Metric metric) {
+        return trends.stream().filter(trend -> trend.metric() == metric).findFirst().orElseThrow();
+    }
+}
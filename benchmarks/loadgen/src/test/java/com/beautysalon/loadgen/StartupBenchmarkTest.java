@@ -0,0 +1,23 @@
+package com.beautysalon.loadgen;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StartupBenchmarkTest {
+
+    @Test
+    void split_ShouldSeparateCommandOnWhitespace() {
+        assertEquals(List.of("java", "-Xmx512m", "-jar", "backend.jar", "--server.port=18080"),
+                StartupBenchmark.split("  java -Xmx512m   -jar backend.jar\t--server.port=18080 "));
+    }
+
+    @Test
+    void median_ShouldAverageMiddlePairOfEvenRuns() {
+        assertEquals(2.0, StartupBenchmark.StartupReport.median(new double[]{2.0}));
+        assertEquals(3.0, StartupBenchmark.StartupReport.median(new double[]{1.0, 2.0, 4.0, 9.0}));
+        assertEquals(4.0, StartupBenchmark.StartupReport.median(new double[]{1.0, 4.0, 9.0}));
+    }
+}
@@ -0,0 +1,96 @@
+package com.beautysalon.loadgen;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TemplateTest {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2026, 3, 2);
+
+    private VariablePools pools;
+    private Template.Context context;
+
+    @BeforeEach
+    void setUp() {
+        pools = new VariablePools();
+        context = new Template.Context(pools, new AtomicLong(), FIRST_DAY, 3);
+    }
+
+    @Test
+    void render_ShouldReplaceSequenceAndPoolValues() {
+        pools.add("customers", "c-1");
+        Template template = Template.compile("/api/customers/${pool.customers}?n=${seq}&m=${seq}");
+
+        assertEquals("/api/customers/c-1?n=1&m=2", template.render(context));
+        assertEquals("/api/customers/c-1?n=3&m=4", template.render(context));
+    }
+
+    @Test
+    void render_ShouldKeepDatesInsideWindowAndOpeningHours() {
+        Template template = Template.compile("${datetime}");
+
+        for (int i = 0; i < 200; i++) {
+            LocalDateTime value = LocalDateTime.parse(template.render(context));
+            assertFalse(value.toLocalDate().isBefore(FIRST_DAY));
+            assertTrue(value.toLocalDate().isBefore(FIRST_DAY.plusDays(3)));
+            assertTrue(value.getHour() >= Template.OPENING_HOUR && value.getHour() < Template.CLOSING_HOUR);
+            assertEquals(0, value.getMinute());
+        }
+        LocalTime.parse(Template.compile("${time}").render(context));
+        LocalDate.parse(Template.compile("${date}").render(context));
+    }
+
+    @Test
+    void render_ShouldPickOneOfTheChoices() {
+        Template template = Template.compile("status/${pick:scheduled|confirmed}");
+
+        for (int i = 0; i < 50; i++) {
+            String value = template.render(context);
+            assertTrue(value.equals("status/scheduled") || value.equals("status/confirmed"), value);
+        }
+    }
+
+    @Test
+    void render_ShouldReturnLiteralTextAndNullUnchanged() {
+        assertEquals("/api/staff/active", Template.compile("/api/staff/active").render(context));
+        assertNull(Template.compile(null).render(context));
+    }
+
+    @Test
+    void compile_ShouldRejectUnknownAndUnclosedPlaceholders() {
+        assertThrows(IllegalArgumentException.class, () -> Template.compile("/api/${nope}"));
+        assertThrows(IllegalArgumentException.class, () -> Template.compile("/api/${seq"));
+    }
+
+    @Test
+    void render_ShouldFailOnEmptyPool() {
+        Template template = Template.compile("/api/appointments/${pool.appointments}");
+
+        assertThrows(IllegalStateException.class, () -> template.render(context));
+    }
+
+    @Test
+    void render_ShouldDrawFromPoolsFile(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("pools.json");
+        Files.writeString(file, "{\"customers\": [\"c-1\", \"c-2\"], \"staff\": [\"s-1\"]}");
+        pools.addAll(file);
+        Template template = Template.compile("/api/appointments/date/2026-03-02/staff/${pool.staff}?c=${pool.customers}");
+
+        assertEquals(2, pools.size("customers"));
+        for (int i = 0; i < 20; i++) {
+            String value = template.render(context);
+            assertTrue(value.endsWith("/staff/s-1?c=c-1") || value.endsWith("/staff/s-1?c=c-2"), value);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.beautysalon.regression;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Parameter;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * What the goals share: the result files of the current run, the store and the commit they belong to.
+ */
+abstract class AbstractResultsMojo extends AbstractMojo {
+
+    /**
+     * JMH JSON results, load generator reports or parity reports of the current run.
+     */
+    @Parameter(property = "perf.results", required = true)
+    List<File> results;
+
+    /**
+     * Where the per-commit result files are kept.
+     */
+    @Parameter(property = "perf.store", defaultValue = "${project.basedir}/../results")
+    File storeDirectory;
+
+    /**
+     * The commit the results belong to; {@code HEAD} of the work tree by default.
+     */
+    @Parameter(property = "perf.commit")
+    String commit;
+
+    @Parameter(defaultValue = "${project.basedir}", readonly = true)
+    File workTree;
+
+    @Parameter(property = "perf.skip", defaultValue = "false")
+    boolean skip;
+
+    List<Metric> readResults() throws MojoExecutionException {
+        ResultImporter importer = new ResultImporter();
+        List<Metric> metrics = new ArrayList<>();
+        for (File file : results) {
+            try {
+                List<Metric> read = importer.read(file.toPath());
+                getLog().info("Read " + read.size() + " metrics from " + file);
+                metrics.addAll(read);
+            } catch (IOException | IllegalArgumentException e) {
+                throw new MojoExecutionException("Cannot read benchmark results from " + file + ": " + e.getMessage(), e);
+            }
+        }
+        return metrics;
+    }
+
+    String currentCommit() throws MojoExecutionException {
+        if (commit != null && !commit.isBlank()) {
+            return commit.trim();
+        }
+        String head = Git.head(workTree.toPath());
+        if (head == null) {
+            throw new MojoExecutionException("Cannot tell the current commit; set -Dperf.commit");
+        }
+        return head;
+    }
+
+    ResultStore store() {
+        return new ResultStore(storeDirectory.toPath());
+    }
+}
@@ -0,0 +1,164 @@
+package com.beautysalon.regression;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Compares the current results with the baseline commit's and fails the build when a throughput
+ * or latency metric got significantly worse by more than the tolerance, or when a baseline metric is
+ * missing from the current results. The baseline is the nearest first-parent ancestor with stored
+ * results unless {@code perf.baseline} names one.
+ */
+@Mojo(name = "check", defaultPhase = LifecyclePhase.VERIFY, threadSafe = true, requiresProject = false)
+public class CheckMojo extends AbstractResultsMojo {
+
+    /**
+     * Smallest relative change, in percent, that counts as a regression.
+     */
+    @Parameter(property = "perf.tolerance", defaultValue = "5")
+    double tolerancePercent;
+
+    /**
+     * Confidence level of the intervals.
+     */
+    @Parameter(property = "perf.confidence", defaultValue = "0.95")
+    double confidence;
+
+    /**
+     * Commit to compare with instead of the nearest ancestor with results.
+     */
+    @Parameter(property = "perf.baseline")
+    String baseline;
+
+    @Parameter(property = "perf.failOnRegression", defaultValue = "true")
+    boolean failOnRegression;
+
+    /**
+     * Fail when a metric of the baseline is not in the current results, e.g. a benchmark that was
+     * renamed, removed or no longer runs. Set to {@code false} when checking a deliberate subset.
+     */
+    @Parameter(property = "perf.failOnMissing", defaultValue = "true")
+    boolean failOnMissing;
+
+    /**
+     * Where the comparison is written as JSON.
+     */
+    @Parameter(property = "perf.report", defaultValue = "${project.build.directory}/perf-comparison.json")
+    File reportFile;
+
+    record ComparisonReport(String commit, String baseline, double tolerancePercent, double confidence,
+                            List<RegressionComparator.Comparison> comparisons) {
+    }
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        if (skip) {
+            getLog().info("Skipping benchmark regression check");
+            return;
+        }
+        List<Metric> metrics = readResults();
+        String commit = currentCommit();
+        Optional<Snapshot> base;
+        try {
+            base = baseline != null && !baseline.isBlank()
+                    ? store().load(baseline.trim())
+                    : store().baseline(commit, Git.history(workTree.toPath()));
+        } catch (IOException e) {
+            throw new MojoExecutionException("Cannot read " + storeDirectory + ": " + e.getMessage(), e);
+        }
+        if (base.isEmpty()) {
+            if (baseline != null && !baseline.isBlank()) {
+                throw new MojoExecutionException("No results stored for baseline " + baseline + " in " + storeDirectory);
+            }
+            getLog().warn("No baseline results in " + storeDirectory + "; nothing to compare " + commit + " with");
+            return;
+        }
+
+        List<RegressionComparator.Comparison> comparisons =
+                new RegressionComparator(tolerancePercent, confidence).compare(base.get(), metrics);
+        getLog().info(String.format(Locale.ROOT, "Comparing %s with baseline %s (tolerance %.1f%%, confidence %.0f%%)",
+                commit, base.get().commit(), tolerancePercent, confidence * 100));
+        comparisons.forEach(this::log);
+        writeReport(new ComparisonReport(commit, base.get().commit(), tolerancePercent, confidence, comparisons));
+
+        List<String> failures = new ArrayList<>();
+        List<String> regressions = names(comparisons, RegressionComparator.Verdict.REGRESSION);
+        if (!regressions.isEmpty()) {
+            String message = regressions.size() + " benchmark metric(s) regressed beyond " + tolerancePercent
+                    + "%: " + String.join(", ", regressions);
+            if (failOnRegression) {
+                failures.add(message);
+            } else {
+                getLog().warn(message);
+            }
+        }
+        List<String> missing = names(comparisons, RegressionComparator.Verdict.MISSING);
+        if (!missing.isEmpty()) {
+            String message = missing.size() + " baseline metric(s) missing from the current results: "
+                    + String.join(", ", missing);
+            if (failOnMissing) {
+                failures.add(message);
+            } else {
+                getLog().warn(message);
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw new MojoFailureException(String.join("; ", failures));
+        }
+    }
+
+    private static List<String> names(List<RegressionComparator.Comparison> comparisons, RegressionComparator.Verdict verdict) {
+        return comparisons.stream()
+                .filter(c -> c.verdict() == verdict)
+                .map(RegressionComparator.Comparison::name)
+                .toList();
+    }
+
+    private void log(RegressionComparator.Comparison c) {
+        if (c.verdict() == RegressionComparator.Verdict.NEW) {
+            getLog().info(String.format(Locale.ROOT, "  %-11s %s: %.3f +/- %.3f %s",
+                    c.verdict(), c.name(), c.current(), c.currentError(), c.unit()));
+            return;
+        }
+        if (c.verdict() == RegressionComparator.Verdict.MISSING) {
+            String line = String.format(Locale.ROOT, "  %-11s %s: %.3f +/- %.3f %s, not in the current results",
+                    c.verdict(), c.name(), c.baseline(), c.baselineError(), c.unit());
+            if (failOnMissing) {
+                getLog().error(line);
+            } else {
+                getLog().warn(line);
+            }
+            return;
+        }
+        String line = String.format(Locale.ROOT, "  %-11s %s: %.3f +/- %.3f -> %.3f +/- %.3f %s, %+.1f%% [%+.1f%%, %+.1f%%]",
+                c.verdict(), c.name(), c.baseline(), c.baselineError(), c.current(), c.currentError(), c.unit(),
+                c.changePercent(), c.changeLowPercent(), c.changeHighPercent());
+        if (c.verdict() == RegressionComparator.Verdict.REGRESSION) {
+            getLog().error(line);
+        } else {
+            getLog().info(line);
+        }
+    }
+
+    private void writeReport(ComparisonReport report) throws MojoExecutionException {
+        try {
+            Files.createDirectories(reportFile.toPath().toAbsolutePath().getParent());
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(reportFile, report);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Cannot write " + reportFile + ": " + e.getMessage(), e);
+        }
+    }
+}
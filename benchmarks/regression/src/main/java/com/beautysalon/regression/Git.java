@@ -0,0 +1,59 @@
+package com.beautysalon.regression;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The little of git the goals need, through the {@code git} command. Outside a work tree, or without
+ * git, the answers are empty and the goals fall back to explicit parameters.
+ */
+final class Git {
+
+    static final int HISTORY_DEPTH = 200;
+
+    private Git() {
+    }
+
+    /**
+     * @return the full id of {@code HEAD}, or {@code null}
+     */
+    static String head(Path workTree) {
+        List<String> lines = run(workTree, "git", "rev-parse", "HEAD");
+        return lines.isEmpty() ? null : lines.get(0);
+    }
+
+    /**
+     * Ancestors of {@code HEAD} along first parents, newest first, {@code HEAD} included.
+     */
+    static List<String> history(Path workTree) {
+        return run(workTree, "git", "rev-list", "--first-parent", "--max-count=" + HISTORY_DEPTH, "HEAD");
+    }
+
+    private static List<String> run(Path workTree, String... command) {
+        try {
+            Process process = new ProcessBuilder(command)
+                    .directory(workTree.toFile())
+                    .redirectError(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            String output;
+            try (InputStream out = process.getInputStream()) {
+                output = new String(out.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            if (!process.waitFor(30, TimeUnit.SECONDS) || process.exitValue() != 0) {
+                process.destroyForcibly();
+                return List.of();
+            }
+            return Arrays.stream(output.split("\\R")).map(String::trim).filter(line -> !line.isEmpty()).toList();
+        } catch (IOException e) {
+            return List.of();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.beautysalon.regression;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.List;
+
+/**
+ * One measured quantity of a benchmark run with its raw samples, e.g. the per-iteration scores of a
+ * JMH benchmark or the per-second p99 of a load test. Comparisons are made on the samples' mean, so
+ * the spread between samples is what decides whether a change is significant.
+ *
+ * @param higherIsBetter {@code true} for throughput, {@code false} for times and latencies
+ */
+public record Metric(String name, String unit, boolean higherIsBetter, List<Double> samples) {
+
+    public Metric {
+        samples = List.copyOf(samples);
+        if (samples.isEmpty()) {
+            throw new IllegalArgumentException("Metric " + name + " has no samples");
+        }
+    }
+
+    @JsonIgnore
+    public int count() {
+        return samples.size();
+    }
+
+    @JsonIgnore
+    public double mean() {
+        return samples.stream().mapToDouble(Double::doubleValue).average().orElse(Double.NaN);
+    }
+
+    /**
+     * Sample variance, with Bessel's correction; 0 for a single sample.
+     */
+    @JsonIgnore
+    public double variance() {
+        if (samples.size() < 2) {
+            return 0.0;
+        }
+        double mean = mean();
+        double sum = 0.0;
+        for (double sample : samples) {
+            sum += (sample - mean) * (sample - mean);
+        }
+        return sum / (samples.size() - 1);
+    }
+}
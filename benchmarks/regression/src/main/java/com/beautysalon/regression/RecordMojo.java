@@ -0,0 +1,34 @@
+package com.beautysalon.regression;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Stores the current results under the current commit, merging them with results recorded for it
+ * before, so later commits can be checked against them.
+ */
+@Mojo(name = "record", defaultPhase = LifecyclePhase.VERIFY, threadSafe = true, requiresProject = false)
+public class RecordMojo extends AbstractResultsMojo {
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if (skip) {
+            getLog().info("Skipping benchmark result recording");
+            return;
+        }
+        List<Metric> metrics = readResults();
+        String commit = currentCommit();
+        try {
+            Snapshot snapshot = store().record(commit, metrics, Instant.now());
+            getLog().info("Recorded " + metrics.size() + " metrics for " + commit + " (" + snapshot.metrics().size()
+                    + " in total) in " + storeDirectory);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Cannot write to " + storeDirectory + ": " + e.getMessage(), e);
+        }
+    }
+}
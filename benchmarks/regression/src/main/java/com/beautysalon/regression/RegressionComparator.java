@@ -0,0 +1,129 @@
+package com.beautysalon.regression;
+
+import org.apache.commons.math3.distribution.TDistribution;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares current metrics with a baseline snapshot. The difference of the means gets a Welch
+ * confidence interval, which allows unequal variances and sample counts. A metric regresses when
+ * that interval excludes zero on the worse side <em>and</em> the change is larger than the tolerance,
+ * so noise alone does not fail a build, and neither does a real but negligible slowdown.
+ * Metrics with a single sample on either side have no interval, and only the tolerance applies.
+ * Baseline metrics that the current run did not produce are reported as {@link Verdict#MISSING},
+ * so a benchmark that stopped running cannot pass unnoticed.
+ */
+public final class RegressionComparator {
+
+    public enum Verdict {
+        REGRESSION, IMPROVEMENT, UNCHANGED, NEW, MISSING
+    }
+
+    /**
+     * Means are in the metric's unit, with the half width of their confidence interval; changes are
+     * relative to the baseline mean, in percent, with the interval of the change. The baseline is null
+     * for {@link Verdict#NEW} metrics and the current mean for {@link Verdict#MISSING} ones.
+     */
+    public record Comparison(String name, String unit, boolean higherIsBetter,
+                             Double baseline, Double baselineError, Double current, Double currentError,
+                             Double changePercent, Double changeLowPercent, Double changeHighPercent,
+                             boolean significant, Verdict verdict) {
+    }
+
+    private final double tolerancePercent;
+    private final double confidence;
+
+    /**
+     * @param tolerancePercent smallest relative change, in percent, that can fail the build
+     * @param confidence       confidence level of the intervals, e.g. 0.95
+     */
+    public RegressionComparator(double tolerancePercent, double confidence) {
+        if (tolerancePercent < 0) {
+            throw new IllegalArgumentException("tolerancePercent must not be negative");
+        }
+        if (confidence <= 0 || confidence >= 1) {
+            throw new IllegalArgumentException("confidence must be between 0 and 1");
+        }
+        this.tolerancePercent = tolerancePercent;
+        this.confidence = confidence;
+    }
+
+    public List<Comparison> compare(Snapshot baseline, List<Metric> current) {
+        Map<String, Metric> baselineByName = new LinkedHashMap<>();
+        if (baseline != null) {
+            baseline.metrics().forEach(metric -> baselineByName.put(metric.name(), metric));
+        }
+        List<Comparison> comparisons = new ArrayList<>();
+        for (Metric metric : current) {
+            Metric before = baselineByName.remove(metric.name());
+            comparisons.add(before == null ? added(metric) : compare(before, metric));
+        }
+        baselineByName.values().forEach(metric -> comparisons.add(missing(metric)));
+        return comparisons;
+    }
+
+    Comparison compare(Metric baseline, Metric current) {
+        double base = baseline.mean();
+        double now = current.mean();
+        double difference = now - base;
+        double halfWidth = 0.0;
+        if (baseline.count() > 1 && current.count() > 1) {
+            double baseTerm = baseline.variance() / baseline.count();
+            double currentTerm = current.variance() / current.count();
+            double standardError = Math.sqrt(baseTerm + currentTerm);
+            if (standardError > 0) {
+                // Welch-Satterthwaite degrees of freedom
+                double degrees = Math.pow(baseTerm + currentTerm, 2)
+                        / (baseTerm * baseTerm / (baseline.count() - 1) + currentTerm * currentTerm / (current.count() - 1));
+                halfWidth = quantile(degrees) * standardError;
+            }
+        }
+        double low = difference - halfWidth;
+        double high = difference + halfWidth;
+        boolean significant = low > 0 || high < 0;
+
+        double changePercent = percent(difference, base);
+        double worsePercent = current.higherIsBetter() ? -changePercent : changePercent;
+        Verdict verdict = Verdict.UNCHANGED;
+        if (significant && Math.abs(changePercent) > tolerancePercent) {
+            verdict = worsePercent > 0 ? Verdict.REGRESSION : Verdict.IMPROVEMENT;
+        }
+        return new Comparison(current.name(), current.unit(), current.higherIsBetter(),
+                base, error(baseline), now, error(current),
+                changePercent, percent(low, base), percent(high, base), significant, verdict);
+    }
+
+    private Comparison added(Metric metric) {
+        return new Comparison(metric.name(), metric.unit(), metric.higherIsBetter(), null, null,
+                metric.mean(), error(metric), null, null, null, false, Verdict.NEW);
+    }
+
+    private Comparison missing(Metric metric) {
+        return new Comparison(metric.name(), metric.unit(), metric.higherIsBetter(), metric.mean(), error(metric),
+                null, null, null, null, null, false, Verdict.MISSING);
+    }
+
+    /**
+     * Half width of the confidence interval of the metric's mean.
+     */
+    private double error(Metric metric) {
+        if (metric.count() < 2) {
+            return 0.0;
+        }
+        return quantile(metric.count() - 1) * Math.sqrt(metric.variance() / metric.count());
+    }
+
+    private double quantile(double degreesOfFreedom) {
+        return new TDistribution(degreesOfFreedom).inverseCumulativeProbability(0.5 + confidence / 2);
+    }
+
+    private static double percent(double difference, double base) {
+        if (base == 0) {
+            return difference == 0 ? 0.0 : Math.copySign(100.0, difference);
+        }
+        return difference / Math.abs(base) * 100.0;
+    }
+}
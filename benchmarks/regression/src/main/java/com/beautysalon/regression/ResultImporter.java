@@ -0,0 +1,208 @@
+package com.beautysalon.regression;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Turns the files the benchmark tools write into {@link Metric}s:
+ * <ul>
+ *   <li>JMH JSON results ({@code jmh-result.json}): one metric per benchmark, mode and parameter set,
+ *       sampled by the measurement iterations of all forks</li>
+ *   <li>load generator reports: throughput, p50 and p99 of the scenario, sampled per second</li>
+ *   <li>parity reports: the same for every workload and backend</li>
+ *   <li>startup reports ({@code loadgen.jar --startup}): time to ready, to the first API response and of the
+ *       first API request, and classes loaded at ready, sampled per cold start</li>
+ *   <li>entity footprint results ({@code EntityFootprint}): deep size and cache entry size of each entity</li>
+ *   <li>connection footprint reports ({@code loadgen.jar --footprint}): heap, direct memory and RSS per idle
+ *       connection, sampled per round, and RSS and live heap at each concurrency level</li>
+ * </ul>
+ */
+public final class ResultImporter {
+
+    static final String JMH_PREFIX = "jmh:";
+    static final String LOAD_PREFIX = "load:";
+    static final String STARTUP_PREFIX = "startup:";
+    static final String FOOTPRINT_PREFIX = "footprint:";
+
+    private final ObjectMapper json = new ObjectMapper();
+
+    public List<Metric> read(Path file) throws IOException {
+        JsonNode root = json.readTree(file.toFile());
+        if (root == null) {
+            throw new IllegalArgumentException(file + " is empty");
+        }
+        if (root.isArray() && (root.isEmpty() || root.get(0).has("primaryMetric"))) {
+            return jmh(root);
+        }
+        if (root.has("timeline") && root.has("responseTime")) {
+            return loadReport(root);
+        }
+        if (root.has("workloads") && root.get("workloads").isArray()) {
+            List<Metric> metrics = new ArrayList<>();
+            for (JsonNode workload : root.get("workloads")) {
+                for (JsonNode backend : workload.path("backends")) {
+                    metrics.addAll(loadReport(backend.get("report")));
+                }
+            }
+            return metrics;
+        }
+        if (root.has("runs") && root.has("command")) {
+            return startupReport(root);
+        }
+        if (root.has("entities") && root.has("referenceBytes")) {
+            return entityFootprint(root);
+        }
+        if (root.has("idle") && root.has("levels")) {
+            return connectionFootprint(root);
+        }
+        throw new IllegalArgumentException(file + " is not a JMH result, load generator, startup or footprint report");
+    }
+
+    private static List<Metric> jmh(JsonNode results) {
+        List<Metric> metrics = new ArrayList<>();
+        for (JsonNode result : results) {
+            JsonNode primary = result.get("primaryMetric");
+            String mode = result.path("mode").asText();
+            List<Double> samples = new ArrayList<>();
+            for (JsonNode fork : primary.path("rawData")) {
+                fork.forEach(iteration -> samples.add(iteration.asDouble()));
+            }
+            if (samples.isEmpty()) {
+                samples.add(primary.get("score").asDouble());
+            }
+            metrics.add(new Metric(JMH_PREFIX + benchmarkName(result) + "[" + mode + "]" + params(result),
+                    primary.path("scoreUnit").asText(), mode.equals("thrpt"), samples));
+        }
+        return metrics;
+    }
+
+    /**
+     * Class and method of the benchmark, without the package.
+     */
+    private static String benchmarkName(JsonNode result) {
+        String benchmark = result.get("benchmark").asText();
+        int method = benchmark.lastIndexOf('.');
+        int type = method > 0 ? benchmark.lastIndexOf('.', method - 1) : -1;
+        return benchmark.substring(type + 1);
+    }
+
+    private static String params(JsonNode result) {
+        JsonNode params = result.get("params");
+        if (params == null || params.isEmpty()) {
+            return "";
+        }
+        Map<String, String> sorted = new TreeMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            sorted.put(field.getKey(), field.getValue().asText());
+        }
+        return sorted.toString();
+    }
+
+    /**
+     * The last timeline second only holds the requests that completed after the run stopped sending,
+     * so it is left out.
+     */
+    private static List<Metric> loadReport(JsonNode report) {
+        List<JsonNode> seconds = new ArrayList<>();
+        report.get("timeline").forEach(seconds::add);
+        if (seconds.size() > 2) {
+            seconds = seconds.subList(0, seconds.size() - 1);
+        }
+        List<Double> throughput = new ArrayList<>();
+        List<Double> p50 = new ArrayList<>();
+        List<Double> p99 = new ArrayList<>();
+        for (JsonNode second : seconds) {
+            throughput.add(second.get("requests").asDouble());
+            if (second.get("requests").asLong() > 0) {
+                p50.add(second.get("p50Ms").asDouble());
+                p99.add(second.get("p99Ms").asDouble());
+            }
+        }
+        String prefix = LOAD_PREFIX + report.get("scenario").asText() + ":";
+        List<Metric> metrics = new ArrayList<>();
+        if (!throughput.isEmpty()) {
+            metrics.add(new Metric(prefix + "throughput", "req/s", true, throughput));
+        }
+        if (!p50.isEmpty()) {
+            metrics.add(new Metric(prefix + "p50", "ms", false, p50));
+            metrics.add(new Metric(prefix + "p99", "ms", false, p99));
+        }
+        return metrics;
+    }
+
+    private static List<Metric> startupReport(JsonNode report) {
+        String prefix = STARTUP_PREFIX + report.get("name").asText() + ":";
+        List<Metric> metrics = new ArrayList<>();
+        addStartupMetric(metrics, report, prefix + "ready", "ms", "launchToReadyMs");
+        addStartupMetric(metrics, report, prefix + "first-api-response", "ms", "launchToFirstApiResponseMs");
+        addStartupMetric(metrics, report, prefix + "first-api-request", "ms", "firstApiRequestMs");
+        addStartupMetric(metrics, report, prefix + "classes", "classes", "classesAtReady");
+        return metrics;
+    }
+
+    private static void addStartupMetric(List<Metric> metrics, JsonNode report, String name, String unit, String field) {
+        List<Double> samples = new ArrayList<>();
+        report.get("runs").forEach(run -> samples.add(run.get(field).asDouble()));
+        if (!samples.isEmpty()) {
+            metrics.add(new Metric(name, unit, false, samples));
+        }
+    }
+
+    private static List<Metric> entityFootprint(JsonNode report) {
+        List<Metric> metrics = new ArrayList<>();
+        for (JsonNode entity : report.get("entities")) {
+            String prefix = FOOTPRINT_PREFIX + "entity:" + entity.get("name").asText() + ":";
+            metrics.add(new Metric(prefix + "deep", "B", false, List.of(entity.get("deepBytes").asDouble())));
+            metrics.add(new Metric(prefix + "cache-entry", "B", false,
+                    List.of(entity.get("cacheEntryBytes").asDouble())));
+        }
+        return metrics;
+    }
+
+    /**
+     * Fields that are {@code null} because the backend or platform could not report them are left out.
+     */
+    private static List<Metric> connectionFootprint(JsonNode report) {
+        String prefix = FOOTPRINT_PREFIX + report.get("name").asText() + ":";
+        List<Metric> metrics = new ArrayList<>();
+        addFootprintMetric(metrics, report.get("idle"), prefix + "idle-heap-per-connection", "B",
+                "heapBytesPerConnection");
+        addFootprintMetric(metrics, report.get("idle"), prefix + "idle-direct-per-connection", "B",
+                "directBytesPerConnection");
+        addFootprintMetric(metrics, report.get("idle"), prefix + "idle-rss-per-connection", "B",
+                "rssBytesPerConnection");
+        for (JsonNode level : report.get("levels")) {
+            String concurrency = "@" + level.get("concurrency").asText();
+            if (level.path("rssMeanMb").isNumber()) {
+                metrics.add(new Metric(prefix + "rss" + concurrency, "MB", false,
+                        List.of(level.get("rssMeanMb").asDouble())));
+            }
+            metrics.add(new Metric(prefix + "heap" + concurrency, "MB", false,
+                    List.of(level.path("atEnd").path("heapLiveBytes").asDouble() / (1024.0 * 1024.0))));
+        }
+        return metrics;
+    }
+
+    private static void addFootprintMetric(List<Metric> metrics, JsonNode rounds, String name, String unit,
+                                           String field) {
+        List<Double> samples = new ArrayList<>();
+        rounds.forEach(round -> {
+            if (round.path(field).isNumber()) {
+                samples.add(round.get(field).asDouble());
+            }
+        });
+        if (!samples.isEmpty()) {
+            metrics.add(new Metric(name, unit, false, samples));
+        }
+    }
+}
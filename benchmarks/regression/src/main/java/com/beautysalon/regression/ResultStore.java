@@ -0,0 +1,96 @@
+package com.beautysalon.regression;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Benchmark results by commit, one {@code <commit>.json} {@link Snapshot} per commit in a directory
+ * meant to be committed with the code, so baselines travel with the history they describe.
+ */
+public final class ResultStore {
+
+    private static final String SUFFIX = ".json";
+
+    private final Path directory;
+    private final ObjectMapper json = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+    public ResultStore(Path directory) {
+        this.directory = directory;
+    }
+
+    public Optional<Snapshot> load(String commit) throws IOException {
+        Path file = file(commit);
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        return Optional.of(json.readValue(file.toFile(), Snapshot.class));
+    }
+
+    /**
+     * Add {@code metrics} to the commit's snapshot, replacing earlier metrics of the same name.
+     */
+    public Snapshot record(String commit, List<Metric> metrics, Instant at) throws IOException {
+        Snapshot snapshot = load(commit).orElse(new Snapshot(commit, at, List.of())).merge(metrics, at);
+        Files.createDirectories(directory);
+        json.writeValue(file(commit).toFile(), snapshot);
+        return snapshot;
+    }
+
+    /**
+     * The baseline for {@code commit}: the nearest commit of {@code history} (newest first) that has
+     * results, or, without history, the most recently recorded other commit.
+     */
+    public Optional<Snapshot> baseline(String commit, List<String> history) throws IOException {
+        for (String candidate : history) {
+            if (!candidate.equals(commit)) {
+                Optional<Snapshot> snapshot = load(candidate);
+                if (snapshot.isPresent()) {
+                    return snapshot;
+                }
+            }
+        }
+        if (!history.isEmpty()) {
+            return Optional.empty();
+        }
+        List<Snapshot> others = new ArrayList<>();
+        for (String stored : commits()) {
+            if (!stored.equals(commit)) {
+                load(stored).ifPresent(others::add);
+            }
+        }
+        return others.stream().max(Comparator.comparing(Snapshot::recordedAt));
+    }
+
+    public List<String> commits() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(SUFFIX))
+                    .map(name -> name.substring(0, name.length() - SUFFIX.length()))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path file(String commit) {
+        if (commit.isBlank() || commit.contains("/") || commit.contains("\\") || commit.startsWith(".")) {
+            throw new IllegalArgumentException("Not a commit id: " + commit);
+        }
+        return directory.resolve(commit + SUFFIX);
+    }
+}
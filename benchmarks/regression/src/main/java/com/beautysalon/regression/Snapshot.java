@@ -0,0 +1,28 @@
+package com.beautysalon.regression;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * All metrics recorded for one commit: the content of one file of the {@link ResultStore}.
+ */
+public record Snapshot(String commit, Instant recordedAt, List<Metric> metrics) {
+
+    public Snapshot {
+        metrics = List.copyOf(metrics);
+    }
+
+    /**
+     * This snapshot with {@code added} metrics replacing those of the same name, so re-running one
+     * benchmark for a commit updates it without dropping the others.
+     */
+    public Snapshot merge(List<Metric> added, Instant at) {
+        Map<String, Metric> byName = new LinkedHashMap<>();
+        metrics.forEach(metric -> byName.put(metric.name(), metric));
+        added.forEach(metric -> byName.put(metric.name(), metric));
+        return new Snapshot(commit, at, new ArrayList<>(byName.values()));
+    }
+}
@@ -0,0 +1,62 @@
+package com.beautysalon.regression;
+
+import org.apache.maven.plugin.MojoFailureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CheckMojoTest {
+
+    @TempDir
+    Path dir;
+
+    private CheckMojo mojo;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path report = Path.of(getClass().getResource("/loadgen-report.json").toURI());
+        // the baseline had the same scenario plus a metric the current run no longer produces
+        List<Metric> baseline = new ArrayList<>(new ResultImporter().read(report));
+        baseline.add(new Metric("jmh:RemovedBenchmark.search[avgt]", "ns/op", false, List.of(100.0, 101.0)));
+        new ResultStore(dir.resolve("results")).record("base", baseline, Instant.EPOCH);
+
+        mojo = new CheckMojo();
+        mojo.results = List.of(report.toFile());
+        mojo.storeDirectory = dir.resolve("results").toFile();
+        mojo.commit = "head";
+        mojo.baseline = "base";
+        mojo.tolerancePercent = 5;
+        mojo.confidence = 0.95;
+        mojo.failOnRegression = true;
+        mojo.failOnMissing = true;
+        mojo.reportFile = dir.resolve("perf-comparison.json").toFile();
+    }
+
+    @Test
+    void execute_ShouldFailWhenBaselineMetricIsMissing() {
+        MojoFailureException failure = assertThrows(MojoFailureException.class, mojo::execute);
+
+        assertTrue(failure.getMessage().contains("1 baseline metric(s) missing"));
+        assertTrue(failure.getMessage().contains("jmh:RemovedBenchmark.search[avgt]"));
+        assertTrue(Files.exists(mojo.reportFile.toPath()));
+    }
+
+    @Test
+    void execute_ShouldOnlyWarnAboutMissingMetricsWhenAllowed() throws Exception {
+        mojo.failOnMissing = false;
+
+        mojo.execute();
+
+        File report = mojo.reportFile;
+        assertTrue(Files.readString(report.toPath()).contains("\"verdict\" : \"MISSING\""));
+    }
+}
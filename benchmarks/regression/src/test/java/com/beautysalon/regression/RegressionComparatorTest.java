@@ -0,0 +1,127 @@
+package com.beautysalon.regression;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RegressionComparatorTest {
+
+    private final RegressionComparator comparator = new RegressionComparator(5.0, 0.95);
+
+    @Test
+    void compare_ShouldFlagSignificantSlowdownBeyondTolerance() {
+        Metric before = latency(100, 101, 99, 100, 102, 98);
+        Metric after = latency(120, 121, 119, 120, 122, 118);
+
+        RegressionComparator.Comparison comparison = comparator.compare(before, after);
+
+        assertEquals(RegressionComparator.Verdict.REGRESSION, comparison.verdict());
+        assertTrue(comparison.significant());
+        assertEquals(20.0, comparison.changePercent(), 1e-9);
+        assertTrue(comparison.changeLowPercent() > 0 && comparison.changeLowPercent() < 20.0);
+        assertTrue(comparison.changeHighPercent() > 20.0);
+    }
+
+    @Test
+    void compare_ShouldTreatLowerThroughputAsRegressionAndHigherAsImprovement() {
+        Metric before = throughput(1000, 1010, 990, 1005, 995);
+        Metric lower = throughput(800, 810, 790, 805, 795);
+        Metric higher = throughput(1200, 1210, 1190, 1205, 1195);
+
+        assertEquals(RegressionComparator.Verdict.REGRESSION, comparator.compare(before, lower).verdict());
+        assertEquals(RegressionComparator.Verdict.IMPROVEMENT, comparator.compare(before, higher).verdict());
+    }
+
+    @Test
+    void compare_ShouldNotFlagLargeChangeHiddenInNoise() {
+        Metric before = latency(100, 40, 160, 70, 130);
+        Metric after = latency(115, 50, 180, 80, 150);
+
+        RegressionComparator.Comparison comparison = comparator.compare(before, after);
+
+        assertFalse(comparison.significant());
+        assertEquals(RegressionComparator.Verdict.UNCHANGED, comparison.verdict());
+        assertTrue(comparison.changeLowPercent() < 0 && comparison.changeHighPercent() > 0);
+    }
+
+    @Test
+    void compare_ShouldNotFlagSignificantChangeWithinTolerance() {
+        Metric before = latency(100.0, 100.1, 99.9, 100.0);
+        Metric after = latency(103.0, 103.1, 102.9, 103.0);
+
+        RegressionComparator.Comparison comparison = comparator.compare(before, after);
+
+        assertTrue(comparison.significant());
+        assertEquals(RegressionComparator.Verdict.UNCHANGED, comparison.verdict());
+    }
+
+    @Test
+    void compare_ShouldFallBackToToleranceForSingleSamples() {
+        assertEquals(RegressionComparator.Verdict.REGRESSION, comparator.compare(latency(100), latency(110)).verdict());
+        assertEquals(RegressionComparator.Verdict.UNCHANGED, comparator.compare(latency(100), latency(104)).verdict());
+    }
+
+    @Test
+    void compare_ShouldReportMetricsMissingFromBaselineAsNew() {
+        Snapshot baseline = new Snapshot("abc", Instant.EPOCH, List.of(latency(1, 2)));
+
+        List<RegressionComparator.Comparison> comparisons = comparator.compare(baseline,
+                List.of(new Metric("other", "ms", false, List.of(5.0, 6.0))));
+
+        assertEquals(2, comparisons.size());
+        assertEquals(RegressionComparator.Verdict.NEW, comparisons.get(0).verdict());
+        assertNull(comparisons.get(0).baseline());
+        assertEquals(RegressionComparator.Verdict.MISSING, comparisons.get(1).verdict());
+    }
+
+    @Test
+    void compare_ShouldReportBaselineMetricsMissingFromCurrentRunAsMissing() {
+        Metric gone = new Metric("gone", "ops/s", true, List.of(900.0, 1100.0));
+        Snapshot baseline = new Snapshot("abc", Instant.EPOCH, List.of(latency(1, 2), gone));
+
+        List<RegressionComparator.Comparison> comparisons = comparator.compare(baseline, List.of(latency(1, 2)));
+
+        assertEquals(2, comparisons.size());
+        assertEquals(RegressionComparator.Verdict.UNCHANGED, comparisons.get(0).verdict());
+        RegressionComparator.Comparison missing = comparisons.get(1);
+        assertEquals("gone", missing.name());
+        assertEquals(RegressionComparator.Verdict.MISSING, missing.verdict());
+        assertEquals(1000.0, missing.baseline(), 1e-9);
+        assertTrue(missing.higherIsBetter());
+        assertNull(missing.current());
+        assertNull(missing.changePercent());
+        assertFalse(missing.significant());
+    }
+
+    @Test
+    void compare_ShouldReportEveryBaselineMetricAsMissingForEmptyRun() {
+        Snapshot baseline = new Snapshot("abc", Instant.EPOCH, List.of(latency(1, 2), throughput(5, 6)));
+
+        List<RegressionComparator.Comparison> comparisons = comparator.compare(baseline, List.of());
+
+        assertEquals(List.of("latency", "throughput"),
+                comparisons.stream().map(RegressionComparator.Comparison::name).toList());
+        assertTrue(comparisons.stream().allMatch(c -> c.verdict() == RegressionComparator.Verdict.MISSING));
+    }
+
+    @Test
+    void constructor_ShouldRejectInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new RegressionComparator(-1, 0.95));
+        assertThrows(IllegalArgumentException.class, () -> new RegressionComparator(5, 1.0));
+    }
+
+    private static Metric latency(double... samples) {
+        return new Metric("latency", "ms", false, boxed(samples));
+    }
+
+    private static Metric throughput(double... samples) {
+        return new Metric("throughput", "ops/s", true, boxed(samples));
+    }
+
+    private static List<Double> boxed(double... samples) {
+        return java.util.Arrays.stream(samples).boxed().toList();
+    }
+}
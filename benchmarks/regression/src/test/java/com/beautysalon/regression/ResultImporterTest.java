@@ -0,0 +1,123 @@
+package com.beautysalon.regression;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultImporterTest {
+
+    private final ResultImporter importer = new ResultImporter();
+
+    @Test
+    void read_ShouldTakeJmhIterationsOfAllForksAsSamples() throws Exception {
+        List<Metric> metrics = importer.read(resource("jmh-result.json"));
+
+        assertEquals(2, metrics.size());
+        Metric first = metrics.get(0);
+        assertEquals("jmh:ReactiveModelBenchmark.createAppointment[avgt]", first.name());
+        assertEquals("ns/op", first.unit());
+        assertFalse(first.higherIsBetter());
+        assertEquals(6, first.count());
+        assertEquals(478.0596627393863, first.mean(), 1e-6);
+        assertTrue(metrics.get(1).name().endsWith("[avgt]{entity=customer, size=1000}"));
+    }
+
+    @Test
+    void read_ShouldSampleLoadReportPerSecondWithoutDrainSecond() throws Exception {
+        List<Metric> metrics = importer.read(resource("loadgen-report.json"));
+
+        assertEquals(List.of("load:blocking-mixed:throughput", "load:blocking-mixed:p50", "load:blocking-mixed:p99"),
+                metrics.stream().map(Metric::name).toList());
+        assertEquals(List.of(40.0, 39.0, 40.0), metrics.get(0).samples());
+        assertTrue(metrics.get(0).higherIsBetter());
+        assertEquals(List.of(24.1, 29.3, 26.5), metrics.get(2).samples());
+        assertFalse(metrics.get(2).higherIsBetter());
+    }
+
+    @Test
+    void read_ShouldImportEveryBackendOfParityReport(@TempDir Path dir) throws Exception {
+        String report = Files.readString(resource("loadgen-report.json"));
+        Path parity = dir.resolve("parity.json");
+        Files.writeString(parity, """
+                {"suite": "parity", "workloads": [{"workload": "w", "backends": [
+                  {"backend": "blocking", "report": %s},
+                  {"backend": "reactive", "report": %s}]}]}
+                """.formatted(report, report.replace("blocking-mixed", "reactive-mixed")));
+
+        List<Metric> metrics = importer.read(parity);
+
+        assertEquals(6, metrics.size());
+        assertEquals("load:reactive-mixed:throughput", metrics.get(3).name());
+    }
+
+    @Test
+    void read_ShouldSampleStartupReportPerColdStart(@TempDir Path dir) throws Exception {
+        Path startup = dir.resolve("startup.json");
+        Files.writeString(startup, """
+                {"name": "blocking", "command": ["java", "-jar", "backend.jar"], "runs": [
+                  {"launchToReadyMs": 9100.0, "launchToFirstApiResponseMs": 9600.0, "firstApiRequestMs": 310.5,
+                   "classesAtReady": 14694, "profile": {}},
+                  {"launchToReadyMs": 8900.0, "launchToFirstApiResponseMs": 9300.0, "firstApiRequestMs": 290.5,
+                   "classesAtReady": 14690, "profile": {}}]}
+                """);
+
+        List<Metric> metrics = importer.read(startup);
+
+        assertEquals(List.of("startup:blocking:ready", "startup:blocking:first-api-response",
+                "startup:blocking:first-api-request", "startup:blocking:classes"),
+                metrics.stream().map(Metric::name).toList());
+        assertEquals(List.of(9100.0, 8900.0), metrics.get(0).samples());
+        assertTrue(metrics.stream().noneMatch(Metric::higherIsBetter));
+        assertEquals("classes", metrics.get(3).unit());
+    }
+
+    @Test
+    void read_ShouldImportEntityAndConnectionFootprints(@TempDir Path dir) throws Exception {
+        Path entities = dir.resolve("footprint-entities.json");
+        Files.writeString(entities, """
+                {"vm": "OpenJDK 64-Bit Server VM 21", "referenceBytes": 4, "objectAlignment": 8, "entries": 100,
+                 "entities": [{"name": "blocking Customer", "shallowBytes": 40, "deepBytes": 352.0,
+                               "cacheEntryBytes": 390.5}]}
+                """);
+        Path connections = dir.resolve("footprint-tomcat.json");
+        Files.writeString(connections, """
+                {"name": "tomcat", "command": ["java"], "baseline": {"heapLiveBytes": 30000000},
+                 "idle": [{"round": 1, "heapBytesPerConnection": 18384.0, "directBytesPerConnection": null,
+                           "rssBytesPerConnection": 13185.0},
+                          {"round": 2, "heapBytesPerConnection": 18390.0, "directBytesPerConnection": null,
+                           "rssBytesPerConnection": 13000.0}],
+                 "levels": [{"concurrency": 64, "rssMeanMb": 402.5, "atEnd": {"heapLiveBytes": 33554432}}]}
+                """);
+
+        List<Metric> entityMetrics = importer.read(entities);
+        List<Metric> connectionMetrics = importer.read(connections);
+
+        assertEquals(List.of("footprint:entity:blocking Customer:deep", "footprint:entity:blocking Customer:cache-entry"),
+                entityMetrics.stream().map(Metric::name).toList());
+        assertEquals(List.of("footprint:tomcat:idle-heap-per-connection", "footprint:tomcat:idle-rss-per-connection",
+                "footprint:tomcat:rss@64", "footprint:tomcat:heap@64"),
+                connectionMetrics.stream().map(Metric::name).toList());
+        assertEquals(List.of(18384.0, 18390.0), connectionMetrics.get(0).samples());
+        assertEquals(List.of(32.0), connectionMetrics.get(3).samples());
+        assertTrue(connectionMetrics.stream().noneMatch(Metric::higherIsBetter));
+    }
+
+    @Test
+    void read_ShouldRejectUnknownFormat(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("other.json");
+        Files.writeString(file, "{\"hello\": 1}");
+
+        assertThrows(IllegalArgumentException.class, () -> importer.read(file));
+    }
+
+    private static Path resource(String name) throws URISyntaxException {
+        return Path.of(ResultImporterTest.class.getResource("/" + name).toURI());
+    }
+}
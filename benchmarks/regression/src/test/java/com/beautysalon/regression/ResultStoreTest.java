@@ -0,0 +1,62 @@
+package com.beautysalon.regression;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void record_ShouldMergeMetricsOfSameCommit() throws Exception {
+        ResultStore store = new ResultStore(dir);
+
+        store.record("c1", List.of(metric("a", 1), metric("b", 2)), Instant.EPOCH);
+        store.record("c1", List.of(metric("b", 3), metric("c", 4)), Instant.EPOCH.plusSeconds(1));
+
+        Snapshot snapshot = store.load("c1").orElseThrow();
+        assertEquals(List.of("a", "b", "c"), snapshot.metrics().stream().map(Metric::name).toList());
+        assertEquals(List.of(3.0), snapshot.metrics().get(1).samples());
+        assertEquals(Instant.EPOCH.plusSeconds(1), snapshot.recordedAt());
+        assertEquals(List.of("c1"), store.commits());
+    }
+
+    @Test
+    void baseline_ShouldPickNearestAncestorWithResults() throws Exception {
+        ResultStore store = new ResultStore(dir);
+        store.record("c1", List.of(metric("a", 1)), Instant.EPOCH);
+        store.record("c3", List.of(metric("a", 3)), Instant.EPOCH.plusSeconds(5));
+
+        assertEquals("c1", store.baseline("c4", List.of("c4", "c2", "c1")).orElseThrow().commit());
+        assertEquals("c3", store.baseline("c4", List.of("c4", "c3", "c1")).orElseThrow().commit());
+        assertTrue(store.baseline("c4", List.of("c4", "c2")).isEmpty());
+    }
+
+    @Test
+    void baseline_ShouldUseLatestOtherSnapshotWithoutHistory() throws Exception {
+        ResultStore store = new ResultStore(dir);
+        store.record("old", List.of(metric("a", 1)), Instant.EPOCH);
+        store.record("new", List.of(metric("a", 2)), Instant.EPOCH.plusSeconds(5));
+        store.record("head", List.of(metric("a", 3)), Instant.EPOCH.plusSeconds(10));
+
+        assertEquals("new", store.baseline("head", List.of()).orElseThrow().commit());
+    }
+
+    @Test
+    void load_ShouldRejectPathLikeCommit() {
+        ResultStore store = new ResultStore(dir);
+
+        assertThrows(IllegalArgumentException.class, () -> store.load("../secrets"));
+    }
+
+    private static Metric metric(String name, double value) {
+        return new Metric(name, "ms", false, List.of(value));
+    }
+}
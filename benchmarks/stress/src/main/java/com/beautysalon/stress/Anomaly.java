@@ -0,0 +1,20 @@
+package com.beautysalon.stress;
+
+import java.util.List;
+
+/**
+ * A concrete way a history broke the sequential model, with the calls that show it.
+ */
+public record Anomaly(Type type, String key, String description, List<Op> ops) {
+
+    public enum Type {
+        /** A read returned a value that had been overwritten or deleted before the read was sent. */
+        STALE_READ,
+        /** An acknowledged write was undone: it is missing from the final state, or raced another write and both won. */
+        LOST_UPDATE,
+        /** A slot ended up with more than one active booking. */
+        DOUBLE_BOOKING,
+        /** The checker found no valid order, but none of the rules above names the cause. */
+        NOT_LINEARIZABLE
+    }
+}
@@ -0,0 +1,151 @@
+package com.beautysalon.stress;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Explains violations in the terms they matter in. The linearizability check says whether a key's history
+ * is correct; these rules look for the specific patterns behind the usual failures. Each rule only reports
+ * what holds in every possible execution, so ops with unknown outcomes never superseded anything.
+ */
+final class AnomalyRules {
+
+    private AnomalyRules() {
+    }
+
+    /**
+     * Customers: a read served a name that an acknowledged write had replaced, or a customer that had been
+     * deleted, before the read was sent. When a final read by id does that, the newer write is lost.
+     * Written names are unique, so the write a read saw is known.
+     */
+    static List<Anomaly> customer(String key, List<Op> ops) {
+        List<Anomaly> anomalies = new ArrayList<>();
+        Map<String, Op> writesByValue = new HashMap<>();
+        List<Op> acknowledgedWrites = new ArrayList<>();
+        List<Op> deletes = new ArrayList<>();
+        for (Op op : ops) {
+            if (op.kind() == Op.Kind.CREATE || op.kind() == Op.Kind.WRITE) {
+                writesByValue.put(op.input(), op);
+                if (op.outcome() == Op.Outcome.OK && (op.kind() == Op.Kind.CREATE || Op.OK.equals(op.output()))) {
+                    acknowledgedWrites.add(op);
+                }
+            } else if (op.kind() == Op.Kind.DELETE && op.outcome() == Op.Outcome.OK && Op.OK.equals(op.output())) {
+                deletes.add(op);
+            }
+        }
+        for (Op read : ops) {
+            boolean isRead = read.kind() == Op.Kind.READ || read.kind() == Op.Kind.READ_BY_EMAIL;
+            if (!isRead || read.outcome() != Op.Outcome.OK || read.output() == null) {
+                continue;
+            }
+            String path = read.kind() == Op.Kind.READ ? "by id" : "by email";
+            Optional<Op> deleted = deletes.stream().filter(delete -> delete.precedes(read)).findFirst();
+            if (deleted.isPresent()) {
+                anomalies.add(new Anomaly(Anomaly.Type.STALE_READ, key,
+                        "read " + path + " served the customer after it was deleted", List.of(deleted.get(), read)));
+                continue;
+            }
+            Op source = writesByValue.get(read.output());
+            if (source == null) {
+                continue;
+            }
+            acknowledgedWrites.stream()
+                    .filter(newer -> source.precedes(newer) && newer.precedes(read))
+                    .max(Comparator.comparingLong(Op::completeNanos))
+                    .ifPresent(newer -> {
+                        boolean lost = read.isFinal() && read.kind() == Op.Kind.READ;
+                        anomalies.add(new Anomaly(lost ? Anomaly.Type.LOST_UPDATE : Anomaly.Type.STALE_READ, key,
+                                (lost ? "after all clients stopped, " : "") + "read " + path + " returned '"
+                                        + read.output() + "' although '" + newer.input()
+                                        + "' was acknowledged later and before the read",
+                                List.of(source, newer, read)));
+                    });
+        }
+        return anomalies;
+    }
+
+    /**
+     * Appointments: statuses only move forward, so every status is left at most once. Two applied transitions
+     * out of the same status mean one overwrote the other; a read of a status that an acknowledged transition
+     * had already left is stale.
+     */
+    static List<Anomaly> appointmentStatus(String key, List<Op> ops) {
+        List<Anomaly> anomalies = new ArrayList<>();
+        Map<String, Op> appliedFrom = new HashMap<>();
+        for (Op op : ops) {
+            if (op.kind() != Op.Kind.TRANSITION || op.outcome() != Op.Outcome.OK || !Op.APPLIED.equals(op.output())) {
+                continue;
+            }
+            String from = op.input().split(">", 2)[0];
+            Op earlier = appliedFrom.putIfAbsent(from, op);
+            if (earlier != null) {
+                anomalies.add(new Anomaly(Anomaly.Type.LOST_UPDATE, key,
+                        "two transitions out of '" + from + "' both applied", List.of(earlier, op)));
+            }
+        }
+        for (Op read : ops) {
+            if (read.kind() != Op.Kind.READ || read.outcome() != Op.Outcome.OK || read.output() == null) {
+                continue;
+            }
+            Op left = appliedFrom.get(read.output());
+            if (left != null && left.precedes(read)) {
+                anomalies.add(new Anomaly(Anomaly.Type.STALE_READ, key, "read returned '" + read.output()
+                        + "' after the transition out of it was acknowledged", List.of(left, read)));
+            }
+        }
+        return anomalies;
+    }
+
+    /**
+     * Slots: two acknowledged bookings that were both active at once, i.e. the later one was acknowledged
+     * before a cancellation of either was sent. Each booking is paired with the availability check its client
+     * made right before it; when that check was sent after the other booking had been acknowledged, it read
+     * stale availability, otherwise the two check-then-book sequences raced.
+     */
+    static List<Anomaly> slot(String key, List<Op> ops) {
+        Map<String, Long> cancelledAt = new HashMap<>();
+        for (Op op : ops) {
+            if (op.kind() == Op.Kind.CANCEL && op.outcome() == Op.Outcome.OK && Op.APPLIED.equals(op.output())) {
+                cancelledAt.merge(op.input(), op.invokeNanos(), Math::min);
+            }
+        }
+        List<Op> bookings = ops.stream()
+                .filter(op -> op.kind() == Op.Kind.BOOK && op.outcome() == Op.Outcome.OK)
+                .sorted(Comparator.comparingLong(Op::completeNanos))
+                .toList();
+        List<Anomaly> anomalies = new ArrayList<>();
+        for (int i = 1; i < bookings.size(); i++) {
+            Op later = bookings.get(i);
+            long laterCancelled = cancelledAt.getOrDefault(later.output(), Long.MAX_VALUE);
+            if (later.completeNanos() >= laterCancelled) {
+                continue;
+            }
+            Optional<Op> taken = bookings.subList(0, i).stream()
+                    .filter(first -> later.completeNanos() < cancelledAt.getOrDefault(first.output(), Long.MAX_VALUE))
+                    .findFirst();
+            if (taken.isEmpty()) {
+                continue;
+            }
+            Op first = taken.get();
+            Optional<Op> check = ops.stream()
+                    .filter(op -> op.kind() == Op.Kind.CHECK_SLOT && op.client() == later.client()
+                            && op.invokeNanos() < later.invokeNanos())
+                    .max(Comparator.comparingLong(Op::invokeNanos));
+            String cause = check.isPresent() && first.precedes(check.get())
+                    ? "its availability check was sent after booking " + first.output()
+                      + " was acknowledged and still saw the slot free"
+                    : "its availability check and booking raced booking " + first.output();
+            List<Op> evidence = new ArrayList<>();
+            evidence.add(first);
+            check.ifPresent(evidence::add);
+            evidence.add(later);
+            anomalies.add(new Anomaly(Anomaly.Type.DOUBLE_BOOKING, key,
+                    "booking " + later.output() + " was accepted into a taken slot: " + cause, evidence));
+        }
+        return anomalies;
+    }
+}
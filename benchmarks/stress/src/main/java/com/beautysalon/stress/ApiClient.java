@@ -0,0 +1,90 @@
+package com.beautysalon.stress;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * Minimal JSON-over-HTTP access to the backend. A call that times out or fails on the connection comes back
+ * with status {@link #NO_RESPONSE}; like a 5xx, its effect on the server is unknown. A response without a
+ * body has a missing node as body, so lookups on it yield empty values.
+ */
+public final class ApiClient {
+
+    public static final int NO_RESPONSE = -1;
+
+    public record Response(int status, JsonNode body) {
+
+        public boolean unknown() {
+            return status == NO_RESPONSE || status >= 500;
+        }
+    }
+
+    private final String baseUrl;
+    private final Duration timeout;
+    private final ObjectMapper json = new ObjectMapper();
+    private final HttpClient client;
+
+    public ApiClient(String baseUrl, Duration timeout) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.timeout = timeout;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    public ObjectMapper json() {
+        return json;
+    }
+
+    public Response get(String path) throws InterruptedException {
+        return send(request(path).GET());
+    }
+
+    public Response delete(String path) throws InterruptedException {
+        return send(request(path).DELETE());
+    }
+
+    public Response post(String path, Object body) throws InterruptedException {
+        return send(request(path).POST(bodyOf(body)));
+    }
+
+    public Response put(String path, Object body) throws InterruptedException {
+        return send(request(path).PUT(bodyOf(body)));
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+    }
+
+    private HttpRequest.BodyPublisher bodyOf(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofString(json.writeValueAsString(body));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot serialize " + body, e);
+        }
+    }
+
+    private Response send(HttpRequest.Builder request) throws InterruptedException {
+        try {
+            HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            String body = response.body();
+            return new Response(response.statusCode(),
+                    body == null || body.isBlank() ? json.missingNode() : json.readTree(body));
+        } catch (IOException e) {
+            return new Response(NO_RESPONSE, json.missingNode());
+        }
+    }
+}
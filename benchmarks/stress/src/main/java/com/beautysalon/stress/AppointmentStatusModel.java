@@ -0,0 +1,44 @@
+package com.beautysalon.stress;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * An appointment's status, changed only through conditional transitions: a transition from {@code expected}
+ * applies exactly when the appointment is in {@code expected}, and otherwise reports the current status.
+ * Two transitions from the same status can therefore never both apply.
+ */
+public final class AppointmentStatusModel implements Model<Optional<String>> {
+
+    @Override
+    public Optional<String> initial() {
+        return Optional.empty();
+    }
+
+    @Override
+    public Set<Optional<String>> step(Optional<String> state, Op op) {
+        boolean unknown = op.outcome() == Op.Outcome.UNKNOWN;
+        return switch (op.kind()) {
+            case CREATE -> state.isEmpty()
+                    ? (unknown ? Model.either(state, Optional.of(op.input())) : Set.of(Optional.of(op.input())))
+                    : Set.of();
+            case READ -> unknown || state.equals(Optional.ofNullable(op.output())) ? Set.of(state) : Set.of();
+            case TRANSITION -> {
+                String[] transition = op.input().split(">", 2);
+                boolean applies = state.isPresent() && state.get().equals(transition[0]);
+                if (unknown) {
+                    yield applies ? Model.either(state, Optional.of(transition[1])) : Set.of(state);
+                }
+                if (Op.APPLIED.equals(op.output())) {
+                    yield applies ? Set.of(Optional.of(transition[1])) : Set.of();
+                }
+                if (Op.ABSENT.equals(op.output())) {
+                    yield state.isEmpty() ? Set.of(state) : Set.of();
+                }
+                String current = op.output().substring(Op.CONFLICT_PREFIX.length());
+                yield !applies && state.equals(Optional.of(current)) ? Set.of(state) : Set.of();
+            }
+            default -> throw new IllegalArgumentException("Not an appointment status call: " + op);
+        };
+    }
+}
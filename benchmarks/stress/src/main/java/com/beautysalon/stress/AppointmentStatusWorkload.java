@@ -0,0 +1,132 @@
+package com.beautysalon.stress;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Clients move appointments through their lifecycle with conditional transitions, each expecting the status
+ * it last read, while others read the status. Statuses only move forward, so an appointment soon reaches a
+ * terminal status; clients keep creating appointments and work on the newest few, which keeps every
+ * appointment contended while it is still moving.
+ */
+public final class AppointmentStatusWorkload implements Workload {
+
+    private static final String SCHEDULED = "scheduled";
+    private static final Map<String, List<String>> NEXT = Map.of(
+            SCHEDULED, List.of("confirmed", "cancelled", "no_show"),
+            "confirmed", List.of("in_progress", "cancelled", "no_show"),
+            "in_progress", List.of("completed", "cancelled"));
+    private static final double CREATE = 0.05;
+    private static final double READ = 0.45;
+
+    private final int active;
+    private final LocalDate date;
+    private final List<String> ids = new CopyOnWriteArrayList<>();
+    private final Map<String, String> lastRead = new ConcurrentHashMap<>();
+
+    public AppointmentStatusWorkload(int active, LocalDate date) {
+        this.active = active;
+        this.date = date;
+    }
+
+    @Override
+    public String name() {
+        return "appointments";
+    }
+
+    @Override
+    public Model<?> model() {
+        return new AppointmentStatusModel();
+    }
+
+    @Override
+    public void setup(ApiClient api, History history) throws InterruptedException {
+        for (int i = 0; i < active; i++) {
+            create(api, history, Op.SETUP);
+        }
+    }
+
+    @Override
+    public void step(ApiClient api, History history, int client, SplittableRandom random) throws InterruptedException {
+        double dice = random.nextDouble();
+        if (dice < CREATE) {
+            create(api, history, client);
+            return;
+        }
+        String id = ids.get(ids.size() - 1 - random.nextInt(Math.min(active, ids.size())));
+        String expected = lastRead.getOrDefault(client + "/" + id, SCHEDULED);
+        List<String> targets = NEXT.get(expected);
+        if (dice < CREATE + READ || targets == null) {
+            read(api, history, client, id);
+            return;
+        }
+        String target = targets.get(random.nextInt(targets.size()));
+        long invoked = history.now();
+        ApiClient.Response response = api.post("/api/appointments/" + id + "/transitions",
+                Map.of("status", target, "expectedStatus", expected));
+        String output = switch (response.status()) {
+            case 200 -> Op.APPLIED;
+            case 404 -> Op.ABSENT;
+            case 409 -> Op.CONFLICT_PREFIX + response.body().path("status").asText();
+            default -> null;
+        };
+        history.record(client, id, Op.Kind.TRANSITION, expected + ">" + target, output,
+                Workload.outcomeOf(response), invoked);
+        if (Op.APPLIED.equals(output)) {
+            lastRead.put(client + "/" + id, target);
+        } else if (output != null && output.startsWith(Op.CONFLICT_PREFIX)) {
+            lastRead.put(client + "/" + id, output.substring(Op.CONFLICT_PREFIX.length()));
+        }
+    }
+
+    @Override
+    public void finish(ApiClient api, History history) throws InterruptedException {
+        for (String id : ids) {
+            read(api, history, Op.FINAL, id);
+        }
+    }
+
+    @Override
+    public List<Anomaly> anomalies(String key, List<Op> ops) {
+        return AnomalyRules.appointmentStatus(key, ops);
+    }
+
+    private void create(ApiClient api, History history, int client) throws InterruptedException {
+        Map<String, Object> appointment = new LinkedHashMap<>();
+        appointment.put("customerId", UUID.randomUUID());
+        appointment.put("staffId", UUID.randomUUID());
+        appointment.put("serviceId", UUID.randomUUID());
+        appointment.put("appointmentDate", date.toString());
+        appointment.put("appointmentTime", LocalTime.of(10, 0).toString());
+        appointment.put("status", SCHEDULED);
+        appointment.put("totalPrice", 100);
+        long invoked = history.now();
+        ApiClient.Response response = api.post("/api/appointments", appointment);
+        if (response.status() != 201) {
+            if (client == Op.SETUP) {
+                throw new IllegalStateException("Creating an appointment answered " + response.status());
+            }
+            return;
+        }
+        String id = response.body().get("id").asText();
+        history.record(client, id, Op.Kind.CREATE, SCHEDULED, Op.OK, Op.Outcome.OK, invoked);
+        ids.add(id);
+    }
+
+    private void read(ApiClient api, History history, int client, String id) throws InterruptedException {
+        long invoked = history.now();
+        ApiClient.Response response = api.get("/api/appointments/" + id);
+        String status = response.status() == 200 ? response.body().path("status").asText() : null;
+        history.record(client, id, Op.Kind.READ, null, status, Workload.outcomeOf(response), invoked);
+        if (status != null && client != Op.FINAL) {
+            lastRead.put(client + "/" + id, status);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.beautysalon.stress;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Clients book a few slots the way the booking screen does: list the staff member's appointments for the day,
+ * and book the slot only if no active appointment holds it. Now and then a client cancels one of its own
+ * bookings, which frees the slot again. The specification is that a slot never holds two active bookings.
+ * The API has no atomic booking, so any double booking found here shows what check-then-book lets through.
+ */
+public final class BookingWorkload implements Workload {
+
+    private static final double CANCEL = 0.15;
+    private static final String CANCELLED = "cancelled";
+
+    private record Slot(String key, String staffId, LocalTime time) {
+    }
+
+    private final LocalDate date;
+    private final List<Slot> slots = new ArrayList<>();
+    private final Map<Integer, List<Booking>> bookingsByClient = new ConcurrentHashMap<>();
+
+    private record Booking(Slot slot, String id) {
+    }
+
+    public BookingWorkload(int staff, int slotsPerStaff, LocalDate date) {
+        this.date = date;
+        for (int s = 0; s < staff; s++) {
+            String staffId = UUID.randomUUID().toString();
+            for (int t = 0; t < slotsPerStaff; t++) {
+                LocalTime time = LocalTime.of(9, 0).plusMinutes(30L * t);
+                slots.add(new Slot(staffId + "@" + date + "T" + time, staffId, time));
+            }
+        }
+    }
+
+    @Override
+    public String name() {
+        return "bookings";
+    }
+
+    @Override
+    public Model<?> model() {
+        return new SlotModel();
+    }
+
+    @Override
+    public void setup(ApiClient api, History history) {
+        // fresh staff ids, so every slot starts free
+    }
+
+    @Override
+    public void step(ApiClient api, History history, int client, SplittableRandom random) throws InterruptedException {
+        List<Booking> mine = bookingsByClient.computeIfAbsent(client, c -> new ArrayList<>());
+        if (!mine.isEmpty() && random.nextDouble() < CANCEL) {
+            Booking booking = mine.remove(random.nextInt(mine.size()));
+            long invoked = history.now();
+            ApiClient.Response response = api.post("/api/appointments/" + booking.id() + "/transitions",
+                    Map.of("status", CANCELLED, "expectedStatus", "scheduled"));
+            String output = switch (response.status()) {
+                case 200 -> Op.APPLIED;
+                case 404 -> Op.ABSENT;
+                default -> Op.CONFLICT_PREFIX + response.body().path("status").asText();
+            };
+            history.record(client, booking.slot().key(), Op.Kind.CANCEL, booking.id(), output,
+                    Workload.outcomeOf(response), invoked);
+            return;
+        }
+        Slot slot = slots.get(random.nextInt(slots.size()));
+        if (!check(api, history, client, slot)) {
+            return;
+        }
+        Map<String, Object> appointment = new LinkedHashMap<>();
+        appointment.put("customerId", UUID.randomUUID());
+        appointment.put("staffId", slot.staffId());
+        appointment.put("serviceId", UUID.randomUUID());
+        appointment.put("appointmentDate", date.toString());
+        appointment.put("appointmentTime", slot.time().toString());
+        appointment.put("status", "scheduled");
+        appointment.put("totalPrice", 100);
+        long invoked = history.now();
+        ApiClient.Response response = api.post("/api/appointments", appointment);
+        String id = response.status() == 201 ? response.body().get("id").asText() : null;
+        history.record(client, slot.key(), Op.Kind.BOOK, null, id,
+                response.status() == 409 ? Op.Outcome.FAIL : Workload.outcomeOf(response), invoked);
+        if (id != null) {
+            mine.add(new Booking(slot, id));
+        }
+    }
+
+    @Override
+    public void finish(ApiClient api, History history) throws InterruptedException {
+        for (Slot slot : slots) {
+            check(api, history, Op.FINAL, slot);
+        }
+    }
+
+    @Override
+    public List<Anomaly> anomalies(String key, List<Op> ops) {
+        return AnomalyRules.slot(key, ops);
+    }
+
+    /**
+     * Record whether the slot is free, as the booking screen would see it.
+     */
+    private boolean check(ApiClient api, History history, int client, Slot slot) throws InterruptedException {
+        long invoked = history.now();
+        ApiClient.Response response = api.get("/api/appointments/date/" + date + "/staff/" + slot.staffId());
+        boolean free = false;
+        if (response.status() == 200) {
+            free = true;
+            for (JsonNode appointment : response.body()) {
+                if (LocalTime.parse(appointment.path("appointmentTime").asText()).equals(slot.time())
+                        && !CANCELLED.equals(appointment.path("status").asText())) {
+                    free = false;
+                }
+            }
+        }
+        history.record(client, slot.key(), Op.Kind.CHECK_SLOT, null, response.status() == 200
+                ? (free ? Op.FREE : Op.TAKEN) : null, Workload.outcomeOf(response), invoked);
+        return free;
+    }
+}
@@ -0,0 +1,43 @@
+package com.beautysalon.stress;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A customer as a register holding its name, or empty once deleted (and before it was created). Reads by id
+ * and by email must both see the latest name: the specification has no cache.
+ */
+public final class CustomerModel implements Model<Optional<String>> {
+
+    @Override
+    public Optional<String> initial() {
+        return Optional.empty();
+    }
+
+    @Override
+    public Set<Optional<String>> step(Optional<String> state, Op op) {
+        boolean unknown = op.outcome() == Op.Outcome.UNKNOWN;
+        return switch (op.kind()) {
+            case CREATE -> state.isEmpty()
+                    ? (unknown ? Model.either(state, Optional.of(op.input())) : Set.of(Optional.of(op.input())))
+                    : Set.of();
+            case READ, READ_BY_EMAIL -> unknown || state.equals(Optional.ofNullable(op.output())) ? Set.of(state) : Set.of();
+            case WRITE -> {
+                if (unknown) {
+                    yield state.isPresent() ? Model.either(state, Optional.of(op.input())) : Set.of(state);
+                }
+                if (Op.OK.equals(op.output())) {
+                    yield state.isPresent() ? Set.of(Optional.of(op.input())) : Set.of();
+                }
+                yield state.isEmpty() ? Set.of(state) : Set.of();
+            }
+            case DELETE -> {
+                if (unknown) {
+                    yield Model.either(state, Optional.empty());
+                }
+                yield state.isPresent() == Op.OK.equals(op.output()) ? Set.of(Optional.empty()) : Set.of();
+            }
+            default -> throw new IllegalArgumentException("Not a customer call: " + op);
+        };
+    }
+}
@@ -0,0 +1,111 @@
+package com.beautysalon.stress;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Clients read, rename and occasionally delete a handful of customers. Reads go by id and by email, which are
+ * cached under different keys, so a rename that refreshes one cache entry but not the other shows up as a
+ * stale read. Every rename writes a name no other call writes, so each read can be traced to its write.
+ */
+public final class CustomerWorkload implements Workload {
+
+    private static final double READ_BY_ID = 0.40;
+    private static final double READ_BY_EMAIL = 0.20;
+    private static final double DELETE = 0.01;
+
+    private final String run;
+    private final int keys;
+    private final Map<String, String> emails = new LinkedHashMap<>();
+    private final List<String> ids = new ArrayList<>();
+
+    public CustomerWorkload(String run, int keys) {
+        this.run = run;
+        this.keys = keys;
+    }
+
+    @Override
+    public String name() {
+        return "customers";
+    }
+
+    @Override
+    public Model<?> model() {
+        return new CustomerModel();
+    }
+
+    @Override
+    public void setup(ApiClient api, History history) throws InterruptedException {
+        for (int i = 0; i < keys; i++) {
+            String email = "stress-" + run + "-" + i + "@example.com";
+            String name = "stress " + run + " c" + i + " v0";
+            long invoked = history.now();
+            ApiClient.Response response = api.post("/api/customers", body(name, email));
+            if (response.status() != 201) {
+                throw new IllegalStateException("Creating a customer answered " + response.status());
+            }
+            String id = response.body().get("id").asText();
+            history.record(Op.SETUP, id, Op.Kind.CREATE, name, Op.OK, Op.Outcome.OK, invoked);
+            emails.put(id, email);
+            ids.add(id);
+        }
+    }
+
+    @Override
+    public void step(ApiClient api, History history, int client, SplittableRandom random) throws InterruptedException {
+        String id = ids.get(random.nextInt(ids.size()));
+        double dice = random.nextDouble();
+        if (dice < READ_BY_ID) {
+            read(api, history, client, id);
+        } else if (dice < READ_BY_ID + READ_BY_EMAIL) {
+            readByEmail(api, history, client, id);
+        } else if (dice < READ_BY_ID + READ_BY_EMAIL + DELETE) {
+            long invoked = history.now();
+            ApiClient.Response response = api.delete("/api/customers/" + id);
+            history.record(client, id, Op.Kind.DELETE, null, response.status() == 404 ? Op.ABSENT : Op.OK,
+                    Workload.outcomeOf(response), invoked);
+        } else {
+            String name = "stress " + run + " client" + client + " " + Long.toHexString(random.nextLong());
+            long invoked = history.now();
+            ApiClient.Response response = api.put("/api/customers/" + id, body(name, emails.get(id)));
+            history.record(client, id, Op.Kind.WRITE, name, response.status() == 404 ? Op.ABSENT : Op.OK,
+                    Workload.outcomeOf(response), invoked);
+        }
+    }
+
+    @Override
+    public void finish(ApiClient api, History history) throws InterruptedException {
+        for (String id : ids) {
+            read(api, history, Op.FINAL, id);
+            readByEmail(api, history, Op.FINAL, id);
+        }
+    }
+
+    @Override
+    public List<Anomaly> anomalies(String key, List<Op> ops) {
+        return AnomalyRules.customer(key, ops);
+    }
+
+    private static void read(ApiClient api, History history, int client, String id) throws InterruptedException {
+        long invoked = history.now();
+        ApiClient.Response response = api.get("/api/customers/" + id);
+        history.record(client, id, Op.Kind.READ, null,
+                response.status() == 200 ? response.body().path("name").asText() : null,
+                Workload.outcomeOf(response), invoked);
+    }
+
+    private void readByEmail(ApiClient api, History history, int client, String id) throws InterruptedException {
+        long invoked = history.now();
+        ApiClient.Response response = api.get("/api/customers/email/" + emails.get(id));
+        history.record(client, id, Op.Kind.READ_BY_EMAIL, null,
+                response.status() == 200 ? response.body().path("name").asText() : null,
+                Workload.outcomeOf(response), invoked);
+    }
+
+    private static Map<String, Object> body(String name, String email) {
+        return Map.of("name", name, "email", email, "phone", "11999990000", "address", "Rua do Teste, 100");
+    }
+}
@@ -0,0 +1,50 @@
+package com.beautysalon.stress;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Collects the calls of all clients. A client takes the invoke time with {@link #now()} right before sending
+ * and hands the finished call to {@link #record}, so the interval of every call contains the moment the
+ * server acted on it.
+ */
+public final class History {
+
+    private final long startNanos = System.nanoTime();
+    private final AtomicInteger indexes = new AtomicInteger();
+    private final ConcurrentLinkedQueue<Op> ops = new ConcurrentLinkedQueue<>();
+
+    public long now() {
+        return System.nanoTime() - startNanos;
+    }
+
+    public Op record(int client, String key, Op.Kind kind, String input, String output, Op.Outcome outcome,
+                     long invokeNanos) {
+        Op op = new Op(indexes.getAndIncrement(), client, key, kind, input, output, outcome, invokeNanos, now());
+        ops.add(op);
+        return op;
+    }
+
+    public List<Op> ops() {
+        List<Op> sorted = new ArrayList<>(ops);
+        sorted.sort(Comparator.comparingInt(Op::index));
+        return sorted;
+    }
+
+    /**
+     * The calls per key, in invoke order, without the ones that were definitely rejected.
+     */
+    public Map<String, List<Op>> byKey() {
+        Map<String, List<Op>> byKey = new LinkedHashMap<>();
+        ops().stream()
+                .filter(op -> op.outcome() != Op.Outcome.FAIL)
+                .sorted(Comparator.comparingLong(Op::invokeNanos))
+                .forEach(op -> byKey.computeIfAbsent(op.key(), key -> new ArrayList<>()).add(op));
+        return byKey;
+    }
+}
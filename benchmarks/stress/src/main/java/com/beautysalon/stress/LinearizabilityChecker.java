@@ -0,0 +1,154 @@
+package com.beautysalon.stress;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Decides whether the history of one key is linearizable with respect to a {@link Model}, using the
+ * Wing &amp; Gong search with Lowe's memoization (as in Knossos and Porcupine). Calls and returns are kept in
+ * one list ordered by time. The search repeatedly picks a call whose return has not been passed yet, applies
+ * it to the model and removes it from the list, backtracking when it reaches a return whose call could not be
+ * linearized. Configurations already explored (set of linearized calls and model state) are cached, which
+ * keeps typical histories near linear. The state is the set of states a nondeterministic model can be in, so
+ * calls with unknown outcomes need no extra branching.
+ */
+public final class LinearizabilityChecker {
+
+    public enum Verdict {
+        LINEARIZABLE,
+        NOT_LINEARIZABLE,
+        /** The search gave up after its step budget. */
+        UNKNOWN
+    }
+
+    /**
+     * @param linearized the longest prefix of calls the search could linearize, in linearization order; when
+     *                   the verdict is {@code NOT_LINEARIZABLE} the violation involves the next call to return
+     */
+    public record Result(Verdict verdict, List<Op> linearized) {
+    }
+
+    private record Configuration(BitSet linearized, Set<?> states) {
+    }
+
+    private record Frame(int call, Set<Object> states) {
+    }
+
+    private final long maxSteps;
+
+    public LinearizabilityChecker(long maxSteps) {
+        this.maxSteps = maxSteps;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <S> Result check(Model<S> model, List<Op> history) {
+        int n = history.size();
+        // nodes 0..n-1 are calls, n..2n-1 returns, 2n is the head
+        long[] times = new long[2 * n];
+        Integer[] order = new Integer[2 * n];
+        for (int i = 0; i < n; i++) {
+            times[i] = history.get(i).invokeNanos();
+            times[n + i] = history.get(i).effectiveCompleteNanos();
+            order[i] = i;
+            order[n + i] = n + i;
+        }
+        // a call and a return at the same instant may be concurrent, so calls go first
+        Arrays.sort(order, Comparator.<Integer>comparingLong(node -> times[node])
+                .thenComparingInt(node -> node < n ? 0 : 1));
+        int head = 2 * n;
+        int[] next = new int[2 * n + 1];
+        int[] prev = new int[2 * n + 1];
+        int previous = head;
+        for (int node : order) {
+            next[previous] = node;
+            prev[node] = previous;
+            previous = node;
+        }
+        next[previous] = -1;
+
+        Set<Object> states = new HashSet<>();
+        states.add(model.initial());
+        BitSet linearized = new BitSet(n);
+        Set<Configuration> cache = new HashSet<>();
+        Deque<Frame> calls = new ArrayDeque<>();
+        List<Integer> longest = List.of();
+        long steps = 0;
+        int entry = next[head];
+        while (next[head] != -1) {
+            if (++steps > maxSteps) {
+                return new Result(Verdict.UNKNOWN, ops(history, longest));
+            }
+            if (entry != -1 && entry < n) {
+                Set<Object> after = new HashSet<>();
+                for (Object state : states) {
+                    after.addAll(((Model<Object>) model).step(state, history.get(entry)));
+                }
+                if (!after.isEmpty()) {
+                    BitSet withCall = (BitSet) linearized.clone();
+                    withCall.set(entry);
+                    if (cache.add(new Configuration(withCall, after))) {
+                        calls.push(new Frame(entry, states));
+                        states = after;
+                        linearized = withCall;
+                        lift(entry, n, next, prev);
+                        if (calls.size() > longest.size()) {
+                            longest = calls.stream().map(Frame::call).toList().reversed();
+                        }
+                        entry = next[head];
+                        continue;
+                    }
+                }
+                entry = next[entry];
+            } else {
+                if (calls.isEmpty()) {
+                    return new Result(Verdict.NOT_LINEARIZABLE, ops(history, longest));
+                }
+                Frame frame = calls.pop();
+                states = frame.states();
+                linearized = (BitSet) linearized.clone();
+                linearized.clear(frame.call());
+                unlift(frame.call(), n, next, prev);
+                entry = next[frame.call()];
+            }
+        }
+        return new Result(Verdict.LINEARIZABLE, ops(history, longest));
+    }
+
+    /** Take a call and its return out of the list; they keep their links so {@link #unlift} can put them back. */
+    private static void lift(int call, int n, int[] next, int[] prev) {
+        unlink(call, next, prev);
+        unlink(n + call, next, prev);
+    }
+
+    private static void unlift(int call, int n, int[] next, int[] prev) {
+        relink(n + call, next, prev);
+        relink(call, next, prev);
+    }
+
+    private static void unlink(int node, int[] next, int[] prev) {
+        next[prev[node]] = next[node];
+        if (next[node] != -1) {
+            prev[next[node]] = prev[node];
+        }
+    }
+
+    private static void relink(int node, int[] next, int[] prev) {
+        next[prev[node]] = node;
+        if (next[node] != -1) {
+            prev[next[node]] = node;
+        }
+    }
+
+    private static List<Op> ops(List<Op> history, List<Integer> indexes) {
+        List<Op> ops = new ArrayList<>();
+        indexes.forEach(index -> ops.add(history.get(index)));
+        return ops;
+    }
+}
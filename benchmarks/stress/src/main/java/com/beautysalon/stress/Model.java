@@ -0,0 +1,27 @@
+package com.beautysalon.stress;
+
+import java.util.Set;
+
+/**
+ * The sequential specification of one key: how a single-threaded, cache-free implementation would answer
+ * each call. A history is correct when its calls can be put in an order that respects their real-time order
+ * and in which every call gets the answer it actually got from this model.
+ *
+ * @param <S> the state of one key; must have value equality
+ */
+public interface Model<S> {
+
+    S initial();
+
+    /**
+     * The states the key can be in after {@code op} was applied to {@code state} and answered as recorded,
+     * or none when this model could not have given that answer. An op with an unknown outcome may not have
+     * happened at all, so it also yields {@code state} itself.
+     */
+    Set<S> step(S state, Op op);
+
+    /** {@code a} or {@code b}, for calls that may or may not have taken effect. */
+    static <S> Set<S> either(S a, S b) {
+        return a.equals(b) ? Set.of(a) : Set.of(a, b);
+    }
+}
@@ -0,0 +1,80 @@
+package com.beautysalon.stress;
+
+/**
+ * One call a client made against the API, as it looked from the client: what it asked for, what came back
+ * and when it was sent and answered, in nanoseconds since the history started. An {@link Outcome#UNKNOWN}
+ * call (timeout, 5xx, dropped connection) may or may not have taken effect, so it is treated as still open
+ * at the end of the history. Calls made to create the keys have {@code client} {@link #SETUP}, final reads
+ * taken after all clients stopped {@link #FINAL}.
+ *
+ * @param key    what the call is about: a customer or appointment id, or a staff slot
+ * @param input  the value written, the requested transition ({@code expected>target}) or booking
+ * @param output the value read, or what the API answered, see {@link Kind}
+ */
+public record Op(
+        int index,
+        int client,
+        String key,
+        Kind kind,
+        String input,
+        String output,
+        Outcome outcome,
+        long invokeNanos,
+        long completeNanos) {
+
+    public static final int FINAL = -1;
+    public static final int SETUP = -2;
+
+    /**
+     * The outputs per kind: reads give the value or {@code null} when absent, writes and deletes give
+     * {@link #OK} or {@link #ABSENT}, transitions {@link #APPLIED}, {@code conflict:<current status>} or
+     * {@link #ABSENT}, slot checks {@link #FREE} or {@link #TAKEN}, bookings the appointment id.
+     */
+    public enum Kind {
+        CREATE,
+        READ,
+        READ_BY_EMAIL,
+        WRITE,
+        DELETE,
+        TRANSITION,
+        CHECK_SLOT,
+        BOOK,
+        CANCEL
+    }
+
+    public enum Outcome {
+        OK,
+        /** Definitely rejected without effect, e.g. a 400; left out of the checks. */
+        FAIL,
+        UNKNOWN
+    }
+
+    public static final String OK = "ok";
+    public static final String ABSENT = "absent";
+    public static final String APPLIED = "applied";
+    public static final String CONFLICT_PREFIX = "conflict:";
+    public static final String FREE = "free";
+    public static final String TAKEN = "taken";
+
+    public boolean isFinal() {
+        return client == FINAL;
+    }
+
+    /** When the call stopped being able to take effect; never, for an unknown outcome. */
+    public long effectiveCompleteNanos() {
+        return outcome == Outcome.UNKNOWN ? Long.MAX_VALUE : completeNanos;
+    }
+
+    /** {@code a} finished before {@code b} was sent, so every correct execution orders them that way. */
+    public boolean precedes(Op other) {
+        return effectiveCompleteNanos() < other.invokeNanos;
+    }
+
+    @Override
+    public String toString() {
+        String client = isFinal() ? "final" : this.client == SETUP ? "setup" : "client " + this.client;
+        return String.format("#%d %s %s %s%s -> %s%s [%.3f ms, %.3f ms]", index, client, kind, key,
+                input == null ? "" : " " + input, output, outcome == Outcome.OK ? "" : " (" + outcome + ")",
+                invokeNanos / 1e6, outcome == Outcome.UNKNOWN ? Double.POSITIVE_INFINITY : completeNanos / 1e6);
+    }
+}
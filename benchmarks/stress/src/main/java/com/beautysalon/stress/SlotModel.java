@@ -0,0 +1,42 @@
+package com.beautysalon.stress;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A staff member's time slot, holding the ids of its active bookings. A booking is only accepted into a free
+ * slot, so the set never holds more than one id; cancelling a booking frees the slot again.
+ */
+public final class SlotModel implements Model<Set<String>> {
+
+    /** Stands for the booking a call with an unknown outcome may have made. */
+    static final String UNKNOWN_BOOKING = "?";
+
+    @Override
+    public Set<String> initial() {
+        return Set.of();
+    }
+
+    @Override
+    public Set<Set<String>> step(Set<String> state, Op op) {
+        boolean unknown = op.outcome() == Op.Outcome.UNKNOWN;
+        return switch (op.kind()) {
+            case CHECK_SLOT -> unknown || state.isEmpty() == Op.FREE.equals(op.output()) ? Set.of(state) : Set.of();
+            case BOOK -> {
+                if (!state.isEmpty()) {
+                    yield unknown ? Set.of(state) : Set.of();
+                }
+                yield unknown ? Model.either(state, Set.of(UNKNOWN_BOOKING)) : Set.of(Set.of(op.output()));
+            }
+            case CANCEL -> {
+                Set<String> without = new HashSet<>(state);
+                boolean booked = without.remove(op.input());
+                if (unknown) {
+                    yield Model.either(state, Set.copyOf(without));
+                }
+                yield booked == Op.APPLIED.equals(op.output()) ? Set.of(Set.copyOf(without)) : Set.of();
+            }
+            default -> throw new IllegalArgumentException("Not a slot call: " + op);
+        };
+    }
+}
@@ -0,0 +1,110 @@
+package com.beautysalon.stress;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.Set;
+
+/**
+ * Entry point of {@code stress.jar}:
+ * <pre>
+ * java -jar stress.jar [--base-url URL] [--workloads customers,appointments,bookings] [--clients N]
+ *                      [--ops N] [--keys N] [--staff N] [--slots N] [--seed N] [--max-steps N]
+ *                      [--timeout-ms N] [--report-dir DIR]
+ * </pre>
+ * Runs each workload against a running backend with {@code --clients} concurrent clients making {@code --ops}
+ * calls each, checks every key's history and writes {@code report.json} plus one {@code <workload>.jsonl}
+ * history per workload. Exits with 1 when any workload has a violation. Appointments are made on a random
+ * day a few years ahead, so runs do not see each other's or real bookings.
+ */
+public final class StressHarness {
+
+    static final int DEFAULT_CLIENTS = 16;
+    static final int DEFAULT_OPS = 200;
+    static final int DEFAULT_KEYS = 8;
+    static final long DEFAULT_MAX_STEPS = 5_000_000;
+    private static final int FIRST_YEAR_AHEAD = 5;
+    private static final int DAYS_TO_PICK_FROM = 3650;
+    private static final Set<String> FLAGS = Set.of("help");
+
+    private StressHarness() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, String> options = parse(args);
+        if (options.containsKey("help")) {
+            System.out.println("Usage: java -jar stress.jar [--base-url URL] [--workloads customers,appointments,bookings]"
+                    + " [--clients N] [--ops N] [--keys N] [--staff N] [--slots N] [--seed N] [--max-steps N]"
+                    + " [--timeout-ms N] [--report-dir DIR]");
+            return;
+        }
+        String baseUrl = options.getOrDefault("base-url", "http://localhost:8080");
+        long seed = options.containsKey("seed") ? Long.parseLong(options.get("seed")) : System.nanoTime();
+        int clients = intOption(options, "clients", DEFAULT_CLIENTS);
+        int keys = intOption(options, "keys", DEFAULT_KEYS);
+        ApiClient api = new ApiClient(baseUrl, Duration.ofMillis(intOption(options, "timeout-ms", 5000)));
+        StressRunner runner = new StressRunner(api, clients, intOption(options, "ops", DEFAULT_OPS), seed,
+                options.containsKey("max-steps") ? Long.parseLong(options.get("max-steps")) : DEFAULT_MAX_STEPS);
+        Path reportDir = Path.of(options.getOrDefault("report-dir", "stress-results"));
+        Files.createDirectories(reportDir);
+
+        Instant startedAt = Instant.now();
+        List<StressReport.WorkloadResult> results = new ArrayList<>();
+        for (String name : options.getOrDefault("workloads", "customers,appointments,bookings").split(",")) {
+            Workload workload = workload(name.trim(), options, keys, seed);
+            System.out.printf("Running %s with %d clients against %s%n", workload.name(), clients, baseUrl);
+            StressRunner.Outcome outcome = runner.run(workload);
+            StressReport.writeHistory(outcome.history(), reportDir.resolve(workload.name() + ".jsonl"));
+            results.add(outcome.result());
+        }
+        StressReport report = new StressReport(baseUrl, startedAt, seed, results);
+        report.write(reportDir.resolve("report.json"));
+        report.print(System.out);
+        System.out.println("Report written to " + reportDir.resolve("report.json"));
+        if (!report.passed()) {
+            System.exit(1);
+        }
+    }
+
+    static Workload workload(String name, Map<String, String> options, int keys, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        LocalDate date = LocalDate.now().plusYears(FIRST_YEAR_AHEAD).plusDays(random.nextInt(DAYS_TO_PICK_FROM));
+        return switch (name) {
+            case "customers" -> new CustomerWorkload(Long.toString(seed & 0xffffffL, 36), keys);
+            case "appointments" -> new AppointmentStatusWorkload(keys, date);
+            case "bookings" -> new BookingWorkload(intOption(options, "staff", 2), intOption(options, "slots", keys),
+                    date.plusDays(1));
+            default -> throw new IllegalArgumentException("Unknown workload: " + name);
+        };
+    }
+
+    private static int intOption(Map<String, String> options, String name, int fallback) {
+        return options.containsKey(name) ? Integer.parseInt(options.get(name)) : fallback;
+    }
+
+    static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+            String name = args[i].substring(2);
+            if (FLAGS.contains(name)) {
+                options.put(name, "");
+            } else if (i + 1 < args.length) {
+                options.put(name, args[++i]);
+            } else {
+                throw new IllegalArgumentException("Missing value for --" + name);
+            }
+        }
+        return options;
+    }
+}
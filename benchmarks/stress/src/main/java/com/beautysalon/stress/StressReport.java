@@ -0,0 +1,103 @@
+package com.beautysalon.stress;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The verdict of a stress run per workload: how many keys passed the linearizability check, how many
+ * anomalies of each kind were found, and the first few of each kind with the calls that show them.
+ */
+public record StressReport(String baseUrl, Instant startedAt, long seed, List<WorkloadResult> workloads) {
+
+    static final int EXAMPLES_PER_TYPE = 5;
+
+    public record WorkloadResult(
+            String workload,
+            int clients,
+            long ops,
+            long unknownOps,
+            long failedOps,
+            double opsPerSecond,
+            Map<LinearizabilityChecker.Verdict, Integer> keys,
+            Map<Anomaly.Type, Integer> anomalies,
+            List<Example> examples) {
+
+        static WorkloadResult of(String workload, int clients, long ops, long unknownOps, long failedOps,
+                                 double opsPerSecond, Map<LinearizabilityChecker.Verdict, Integer> keys,
+                                 List<Anomaly> anomalies) {
+            Map<Anomaly.Type, Integer> counts = new EnumMap<>(Anomaly.Type.class);
+            List<Example> examples = new java.util.ArrayList<>();
+            for (Anomaly anomaly : anomalies) {
+                int seen = counts.merge(anomaly.type(), 1, Integer::sum);
+                if (seen <= EXAMPLES_PER_TYPE) {
+                    examples.add(new Example(anomaly.type(), anomaly.key(), anomaly.description(),
+                            anomaly.ops().stream().limit(Example.MAX_OPS).map(Op::toString).toList()));
+                }
+            }
+            return new WorkloadResult(workload, clients, ops, unknownOps, failedOps, opsPerSecond, keys, counts,
+                    examples);
+        }
+
+        public boolean passed() {
+            return anomalies.isEmpty() && keys.getOrDefault(LinearizabilityChecker.Verdict.NOT_LINEARIZABLE, 0) == 0;
+        }
+    }
+
+    public record Example(Anomaly.Type type, String key, String description, List<String> ops) {
+
+        static final int MAX_OPS = 20;
+    }
+
+    public boolean passed() {
+        return workloads.stream().allMatch(WorkloadResult::passed);
+    }
+
+    public void write(Path file) throws IOException {
+        new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(file.toFile(), this);
+    }
+
+    /**
+     * The full history, one call per line, for replaying the check or digging into a violation.
+     */
+    public static void writeHistory(History history, Path file) throws IOException {
+        ObjectMapper json = new ObjectMapper();
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            for (Op op : history.ops()) {
+                writer.write(json.writeValueAsString(op));
+                writer.write('\n');
+            }
+        }
+    }
+
+    public void print(PrintStream out) {
+        out.printf(Locale.ROOT, "Stress run against %s (seed %d)%n", baseUrl, seed);
+        for (WorkloadResult result : workloads) {
+            out.printf(Locale.ROOT, "  %-13s %s: %d clients, %d calls (%.0f/s), %d unknown, %d rejected%n",
+                    result.workload(), result.passed() ? "PASS" : "FAIL", result.clients(), result.ops(),
+                    result.opsPerSecond(), result.unknownOps(), result.failedOps());
+            out.printf(Locale.ROOT, "    keys: %s%n", result.keys());
+            if (!result.anomalies().isEmpty()) {
+                out.printf(Locale.ROOT, "    anomalies: %s%n", result.anomalies());
+            }
+            for (Example example : result.examples()) {
+                out.printf(Locale.ROOT, "    %s on %s: %s%n", example.type(), example.key(), example.description());
+                example.ops().forEach(op -> out.println("      " + op));
+            }
+        }
+    }
+}
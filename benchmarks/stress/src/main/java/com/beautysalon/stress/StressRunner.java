@@ -0,0 +1,87 @@
+package com.beautysalon.stress;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs a {@link Workload}: creates its keys, lets the clients loose at the same moment, takes the final reads
+ * once they are all done and checks the history key by key.
+ */
+public final class StressRunner {
+
+    private final ApiClient api;
+    private final int clients;
+    private final int opsPerClient;
+    private final long seed;
+    private final LinearizabilityChecker checker;
+
+    public StressRunner(ApiClient api, int clients, int opsPerClient, long seed, long maxCheckSteps) {
+        this.api = api;
+        this.clients = clients;
+        this.opsPerClient = opsPerClient;
+        this.seed = seed;
+        this.checker = new LinearizabilityChecker(maxCheckSteps);
+    }
+
+    public record Outcome(StressReport.WorkloadResult result, History history) {
+    }
+
+    public Outcome run(Workload workload) throws InterruptedException {
+        History history = new History();
+        workload.setup(api, history);
+        SplittableRandom seeds = new SplittableRandom(seed);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        List<Thread> threads = new ArrayList<>();
+        long started = System.nanoTime();
+        for (int client = 0; client < clients; client++) {
+            int id = client;
+            SplittableRandom random = seeds.split();
+            threads.add(Thread.ofVirtual().name("stress-" + workload.name() + "-" + id).start(() -> {
+                try {
+                    for (int i = 0; i < opsPerClient && failure.get() == null; i++) {
+                        workload.step(api, history, id, random);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        workload.finish(api, history);
+        return new Outcome(check(workload, history, seconds), history);
+    }
+
+    StressReport.WorkloadResult check(Workload workload, History history, double seconds) {
+        List<Op> ops = history.ops();
+        Map<LinearizabilityChecker.Verdict, Integer> verdicts = new EnumMap<>(LinearizabilityChecker.Verdict.class);
+        List<Anomaly> anomalies = new ArrayList<>();
+        history.byKey().forEach((key, keyOps) -> {
+            LinearizabilityChecker.Result result = checker.check(workload.model(), keyOps);
+            verdicts.merge(result.verdict(), 1, Integer::sum);
+            List<Anomaly> named = workload.anomalies(key, keyOps);
+            anomalies.addAll(named);
+            if (result.verdict() == LinearizabilityChecker.Verdict.NOT_LINEARIZABLE && named.isEmpty()) {
+                List<Op> prefix = result.linearized();
+                anomalies.add(new Anomaly(Anomaly.Type.NOT_LINEARIZABLE, key,
+                        "no valid order exists; the longest valid prefix has " + prefix.size() + " of "
+                                + keyOps.size() + " calls", keyOps));
+            }
+        });
+        long unknown = ops.stream().filter(op -> op.outcome() == Op.Outcome.UNKNOWN).count();
+        long failed = ops.stream().filter(op -> op.outcome() == Op.Outcome.FAIL).count();
+        return StressReport.WorkloadResult.of(workload.name(), clients, ops.size(), unknown, failed,
+                ops.size() / Math.max(seconds, 0.001), verdicts, anomalies);
+    }
+}
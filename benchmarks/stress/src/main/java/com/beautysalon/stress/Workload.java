@@ -0,0 +1,33 @@
+package com.beautysalon.stress;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * One concurrent scenario: which keys it creates, what each client call does, the sequential model its keys
+ * must follow and the rules that name violations. Calls must be recorded in the {@link History}, with the
+ * invoke time taken before the request is sent.
+ */
+public interface Workload {
+
+    String name();
+
+    Model<?> model();
+
+    void setup(ApiClient api, History history) throws InterruptedException;
+
+    void step(ApiClient api, History history, int client, SplittableRandom random) throws InterruptedException;
+
+    /** Read every key once more after all clients stopped. */
+    void finish(ApiClient api, History history) throws InterruptedException;
+
+    List<Anomaly> anomalies(String key, List<Op> ops);
+
+    static Op.Outcome outcomeOf(ApiClient.Response response) {
+        if (response.unknown()) {
+            return Op.Outcome.UNKNOWN;
+        }
+        return response.status() >= 400 && response.status() != 404 && response.status() != 409
+                ? Op.Outcome.FAIL : Op.Outcome.OK;
+    }
+}
@@ -0,0 +1,105 @@
+package com.beautysalon.stress;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.beautysalon.stress.LinearizabilityCheckerTest.ok;
+import static com.beautysalon.stress.LinearizabilityCheckerTest.op;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnomalyRulesTest {
+
+    @Test
+    void customer_ShouldReportAStaleReadByEmail() {
+        Op create = ok(Op.SETUP, Op.Kind.CREATE, "a", Op.OK, 0, 1);
+        Op write = ok(1, Op.Kind.WRITE, "b", Op.OK, 2, 3);
+        Op read = ok(2, Op.Kind.READ_BY_EMAIL, null, "a", 4, 5);
+
+        List<Anomaly> anomalies = AnomalyRules.customer("k", List.of(create, write, read));
+
+        assertEquals(1, anomalies.size());
+        assertEquals(Anomaly.Type.STALE_READ, anomalies.get(0).type());
+        assertEquals(List.of(create, write, read), anomalies.get(0).ops());
+    }
+
+    @Test
+    void customer_ShouldReportALostUpdateWhenTheFinalReadIsStale() {
+        List<Anomaly> anomalies = AnomalyRules.customer("k", List.of(
+                ok(Op.SETUP, Op.Kind.CREATE, "a", Op.OK, 0, 1),
+                ok(1, Op.Kind.WRITE, "b", Op.OK, 2, 4),
+                ok(2, Op.Kind.WRITE, "c", Op.OK, 5, 6),
+                ok(Op.FINAL, Op.Kind.READ, null, "b", 7, 8)));
+
+        assertEquals(List.of(Anomaly.Type.LOST_UPDATE), anomalies.stream().map(Anomaly::type).toList());
+    }
+
+    @Test
+    void customer_ShouldReportAReadAfterDelete() {
+        List<Anomaly> anomalies = AnomalyRules.customer("k", List.of(
+                ok(Op.SETUP, Op.Kind.CREATE, "a", Op.OK, 0, 1),
+                ok(1, Op.Kind.DELETE, null, Op.OK, 2, 3),
+                ok(2, Op.Kind.READ, null, "a", 4, 5)));
+
+        assertEquals(List.of(Anomaly.Type.STALE_READ), anomalies.stream().map(Anomaly::type).toList());
+    }
+
+    @Test
+    void customer_ShouldNotBlameReadsForUnknownOrConcurrentWrites() {
+        List<Anomaly> anomalies = AnomalyRules.customer("k", List.of(
+                ok(Op.SETUP, Op.Kind.CREATE, "a", Op.OK, 0, 1),
+                op(1, Op.Kind.WRITE, "b", null, Op.Outcome.UNKNOWN, 2, 3),
+                ok(2, Op.Kind.WRITE, "c", Op.OK, 4, 8),
+                ok(3, Op.Kind.READ, null, "a", 5, 6)));
+
+        assertTrue(anomalies.isEmpty());
+    }
+
+    @Test
+    void appointmentStatus_ShouldReportLostUpdatesAndStaleReads() {
+        List<Anomaly> anomalies = AnomalyRules.appointmentStatus("k", List.of(
+                ok(Op.SETUP, Op.Kind.CREATE, "scheduled", Op.OK, 0, 1),
+                ok(1, Op.Kind.TRANSITION, "scheduled>confirmed", Op.APPLIED, 2, 4),
+                ok(2, Op.Kind.TRANSITION, "scheduled>cancelled", Op.APPLIED, 3, 5),
+                ok(3, Op.Kind.READ, null, "scheduled", 6, 7)));
+
+        assertEquals(List.of(Anomaly.Type.LOST_UPDATE, Anomaly.Type.STALE_READ),
+                anomalies.stream().map(Anomaly::type).toList());
+    }
+
+    @Test
+    void slot_ShouldTellAStaleCheckFromARace() {
+        Op first = ok(1, Op.Kind.BOOK, null, "x", 2, 4);
+        Op racingCheck = ok(2, Op.Kind.CHECK_SLOT, null, Op.FREE, 1, 3);
+        Op racing = ok(2, Op.Kind.BOOK, null, "y", 3, 6);
+        Op staleCheck = ok(3, Op.Kind.CHECK_SLOT, null, Op.FREE, 5, 7);
+        Op stale = ok(3, Op.Kind.BOOK, null, "z", 8, 9);
+
+        List<Anomaly> anomalies = AnomalyRules.slot("k", List.of(racingCheck, first, racing, staleCheck, stale));
+
+        assertEquals(2, anomalies.size());
+        assertTrue(anomalies.stream().allMatch(anomaly -> anomaly.type() == Anomaly.Type.DOUBLE_BOOKING));
+        assertTrue(anomalies.get(0).description().contains("raced"));
+        assertTrue(anomalies.get(1).description().contains("still saw the slot free"));
+        assertEquals(List.of(first, staleCheck, stale), anomalies.get(1).ops());
+    }
+
+    @Test
+    void slot_ShouldReportADoubleBookingThatWasCancelledLater() {
+        List<Anomaly> anomalies = AnomalyRules.slot("k", List.of(
+                ok(1, Op.Kind.BOOK, null, "x", 0, 2),
+                ok(2, Op.Kind.BOOK, null, "y", 1, 3),
+                ok(2, Op.Kind.CANCEL, "y", Op.APPLIED, 4, 5),
+                ok(1, Op.Kind.CANCEL, "x", Op.APPLIED, 6, 7)));
+
+        assertEquals(List.of(Anomaly.Type.DOUBLE_BOOKING), anomalies.stream().map(Anomaly::type).toList());
+    }
+
+    @Test
+    void slot_ShouldIgnoreCancelledBookings() {
+        assertTrue(AnomalyRules.slot("k", List.of(
+                ok(1, Op.Kind.BOOK, null, "x", 0, 1),
+                ok(1, Op.Kind.CANCEL, "x", Op.APPLIED, 2, 3),
+                ok(2, Op.Kind.BOOK, null, "y", 4, 5))).isEmpty());
+    }
+}
@@ -0,0 +1,131 @@
+package com.beautysalon.stress;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LinearizabilityCheckerTest {
+
+    private final LinearizabilityChecker checker = new LinearizabilityChecker(1_000_000);
+
+    static Op op(int client, Op.Kind kind, String input, String output, Op.Outcome outcome, long invoke, long complete) {
+        return new Op((int) (invoke * 1000 + complete), client, "k", kind, input, output, outcome, invoke, complete);
+    }
+
+    static Op ok(int client, Op.Kind kind, String input, String output, long invoke, long complete) {
+        return op(client, kind, input, output, Op.Outcome.OK, invoke, complete);
+    }
+
+    @Test
+    void check_ShouldNotLetReadsGoBackInTime() {
+        List<Op> history = List.of(
+                ok(Op.SETUP, Op.Kind.CREATE, "a", Op.OK, 0, 1),
+                ok(1, Op.Kind.WRITE, "b", Op.OK, 2, 10),
+                ok(2, Op.Kind.READ, null, "b", 3, 4),
+                ok(3, Op.Kind.READ, null, "a", 5, 6));
+
+        // the second read may not see the older name once the first saw the newer one
+        assertEquals(LinearizabilityChecker.Verdict.NOT_LINEARIZABLE,
+                checker.check(new CustomerModel(), history).verdict());
+        assertEquals(LinearizabilityChecker.Verdict.LINEARIZABLE,
+                checker.check(new CustomerModel(), history.subList(0, 3)).verdict());
+    }
+
+    @Test
+    void check_ShouldRejectAReadOfAReplacedName() {
+        List<Op> history = List.of(
+                ok(Op.SETUP, Op.Kind.CREATE, "a", Op.OK, 0, 1),
+                ok(1, Op.Kind.WRITE, "b", Op.OK, 2, 3),
+                ok(2, Op.Kind.READ_BY_EMAIL, null, "a", 4, 5));
+
+        LinearizabilityChecker.Result result = checker.check(new CustomerModel(), history);
+
+        assertEquals(LinearizabilityChecker.Verdict.NOT_LINEARIZABLE, result.verdict());
+        assertEquals(history.subList(0, 2), result.linearized());
+    }
+
+    @Test
+    void check_ShouldLetAnUnknownWriteTakeEffectLateOrNever() {
+        Op create = ok(Op.SETUP, Op.Kind.CREATE, "a", Op.OK, 0, 1);
+        Op unknown = op(1, Op.Kind.WRITE, "b", null, Op.Outcome.UNKNOWN, 2, 3);
+
+        assertEquals(LinearizabilityChecker.Verdict.LINEARIZABLE, checker.check(new CustomerModel(),
+                List.of(create, unknown, ok(2, Op.Kind.READ, null, "a", 4, 5), ok(2, Op.Kind.READ, null, "b", 6, 7)))
+                .verdict());
+        assertEquals(LinearizabilityChecker.Verdict.LINEARIZABLE, checker.check(new CustomerModel(),
+                List.of(create, unknown, ok(2, Op.Kind.READ, null, "a", 4, 5))).verdict());
+        assertEquals(LinearizabilityChecker.Verdict.NOT_LINEARIZABLE, checker.check(new CustomerModel(),
+                List.of(create, unknown, ok(2, Op.Kind.READ, null, "b", 4, 5), ok(2, Op.Kind.READ, null, "a", 6, 7)))
+                .verdict());
+    }
+
+    @Test
+    void check_ShouldRejectTwoBookingsOfOneSlot() {
+        List<Op> history = List.of(
+                ok(1, Op.Kind.CHECK_SLOT, null, Op.FREE, 0, 2),
+                ok(2, Op.Kind.CHECK_SLOT, null, Op.FREE, 1, 3),
+                ok(1, Op.Kind.BOOK, null, "x", 4, 6),
+                ok(2, Op.Kind.BOOK, null, "y", 5, 7));
+
+        assertEquals(LinearizabilityChecker.Verdict.NOT_LINEARIZABLE,
+                checker.check(new SlotModel(), history).verdict());
+    }
+
+    @Test
+    void check_ShouldAcceptABookingAfterACancellation() {
+        List<Op> history = List.of(
+                ok(1, Op.Kind.BOOK, null, "x", 0, 2),
+                ok(2, Op.Kind.CHECK_SLOT, null, Op.TAKEN, 3, 4),
+                ok(1, Op.Kind.CANCEL, "x", Op.APPLIED, 5, 9),
+                ok(2, Op.Kind.CHECK_SLOT, null, Op.FREE, 6, 7),
+                ok(2, Op.Kind.BOOK, null, "y", 8, 10));
+
+        assertEquals(LinearizabilityChecker.Verdict.LINEARIZABLE, checker.check(new SlotModel(), history).verdict());
+    }
+
+    @Test
+    void check_ShouldRejectTwoAppliedTransitionsFromOneStatus() {
+        Op create = ok(Op.SETUP, Op.Kind.CREATE, "scheduled", Op.OK, 0, 1);
+        Op confirm = ok(1, Op.Kind.TRANSITION, "scheduled>confirmed", Op.APPLIED, 2, 5);
+        Op cancel = ok(2, Op.Kind.TRANSITION, "scheduled>cancelled", Op.APPLIED, 3, 6);
+        Op conflict = ok(2, Op.Kind.TRANSITION, "scheduled>cancelled", Op.CONFLICT_PREFIX + "confirmed", 3, 6);
+
+        assertEquals(LinearizabilityChecker.Verdict.NOT_LINEARIZABLE,
+                checker.check(new AppointmentStatusModel(), List.of(create, confirm, cancel)).verdict());
+        assertEquals(LinearizabilityChecker.Verdict.LINEARIZABLE,
+                checker.check(new AppointmentStatusModel(), List.of(create, confirm, conflict)).verdict());
+    }
+
+    @Test
+    void check_ShouldStayFastOnLongConcurrentHistories() {
+        List<Op> history = new ArrayList<>();
+        history.add(ok(Op.SETUP, Op.Kind.CREATE, "v0", Op.OK, 0, 1));
+        // eight clients with overlapping writes and reads that always see the latest completed write
+        for (int round = 1; round <= 500; round++) {
+            long t = round * 10L;
+            for (int client = 0; client < 4; client++) {
+                history.add(ok(client, Op.Kind.READ, null, "v" + (round - 1), t + client, t + 5));
+            }
+            history.add(ok(4, Op.Kind.WRITE, "v" + round, Op.OK, t + 6, t + 8));
+            for (int client = 5; client < 8; client++) {
+                history.add(op(client, Op.Kind.READ, null, null, Op.Outcome.UNKNOWN, t + client, t + 9));
+            }
+        }
+
+        assertEquals(LinearizabilityChecker.Verdict.LINEARIZABLE, checker.check(new CustomerModel(), history).verdict());
+    }
+
+    @Test
+    void check_ShouldGiveUpAfterItsStepBudget() {
+        List<Op> history = List.of(
+                ok(Op.SETUP, Op.Kind.CREATE, "a", Op.OK, 0, 1),
+                ok(1, Op.Kind.WRITE, "b", Op.OK, 2, 3),
+                ok(2, Op.Kind.READ, null, "a", 4, 5));
+
+        assertEquals(LinearizabilityChecker.Verdict.UNKNOWN,
+                new LinearizabilityChecker(2).check(new CustomerModel(), history).verdict());
+    }
+}